@@ -0,0 +1,4455 @@
+/*
+ * AbstractIF97.java
+ *
+ * This file is part of IF97.
+ *
+ * IF97 is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option)
+ * any later version.
+ *
+ * IF97 is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with IF97. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Copyright 2009-2022 Hummeling Engineering BV (www.hummeling.com)
+ */
+package com.hummeling.if97;
+
+import com.hummeling.if97.IF97.*;
+import static com.hummeling.if97.IF97.*;
+import static java.lang.StrictMath.*;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.function.DoubleBinaryOperator;
+
+/**
+ * Property methods of IF97 objects, shared by {@link IF97}, whose settings
+ * can be changed by its setters, &amp; {@link ImmutableIF97}, built by
+ * {@link IF97#builder()}, whose settings can't. Both read their settings from
+ * an immutable snapshot, which the setters of the former replace.
+ *
+ * @author Ralph Hummeling
+ * (<a href="https://www.hummeling.com">www.hummeling.com</a>)
+ */
+public abstract class AbstractIF97 {
+
+    AbstractIF97() {
+    }
+
+    /**
+     * Prandtl number.
+     *
+     * @param enthalpy specific enthalpy
+     * @param entropy specific entropy
+     * @return Prandtl number
+     * @throws OutOfRangeException out-of-range exception
+     */
+    public double PrandtlHS(double enthalpy, double entropy) throws OutOfRangeException {
+
+        double h = convertToDefault(settings().UNIT_SYSTEM.SPECIFIC_ENTHALPY, enthalpy),
+                s = convertToDefault(settings().UNIT_SYSTEM.SPECIFIC_ENTROPY, entropy);
+
+        try {
+            Region region = resolve(Region.getRegionHS(h, s, settings().VALIDATION));
+
+            double p = region.pressureHS(h, s),
+                    T = region.temperatureHS(h, s);
+
+            return Calculate.PrandtlPT(p, T);
+
+        } catch (OutOfRangeException e) {
+            return outOfRange(e);
+        }
+    }
+
+    /**
+     * Prandtl number.
+     *
+     * @param pressure absolute pressure
+     * @param enthalpy specific enthalpy
+     * @return Prandtl number
+     * @throws OutOfRangeException out-of-range exception
+     */
+    public double PrandtlPH(double pressure, double enthalpy) throws OutOfRangeException {
+
+        double p = convertToDefault(settings().UNIT_SYSTEM.PRESSURE, pressure),
+                h = convertToDefault(settings().UNIT_SYSTEM.SPECIFIC_ENTHALPY, enthalpy);
+
+        try {
+            return Calculate.PrandtlPH(settings().REGION4, p, h);
+
+        } catch (OutOfRangeException e) {
+            return outOfRange(e);
+        }
+    }
+
+    /**
+     * Prandtl number.
+     *
+     * @param pressure absolute pressure
+     * @param entropy specific entropy
+     * @return Prandtl number
+     * @throws OutOfRangeException out-of-range exception
+     */
+    public double PrandtlPS(double pressure, double entropy) throws OutOfRangeException {
+
+        double p = convertToDefault(settings().UNIT_SYSTEM.PRESSURE, pressure),
+                s = convertToDefault(settings().UNIT_SYSTEM.SPECIFIC_ENTROPY, entropy);
+
+        try {
+            double T = resolve(Region.getRegionPS(p, s, settings().VALIDATION)).temperaturePS(p, s);
+
+            return Calculate.PrandtlPT(p, T);
+
+        } catch (OutOfRangeException e) {
+            return outOfRange(e);
+        }
+    }
+
+    /**
+     * Prandtl number.
+     *
+     * @param pressure absolute pressure
+     * @param temperature temperature
+     * @return Prandtl number
+     * @throws OutOfRangeException out-of-range exception
+     */
+    public double PrandtlPT(double pressure, double temperature) throws OutOfRangeException {
+
+        double p = convertToDefault(settings().UNIT_SYSTEM.PRESSURE, pressure),
+                T = convertToDefault(settings().UNIT_SYSTEM.TEMPERATURE, temperature);
+
+        try {
+            return Calculate.PrandtlPT(p, T);
+
+        } catch (OutOfRangeException e) {
+            return outOfRange(e);
+        }
+    }
+
+    /**
+     * Adaptive interpolation table as a function of pressure &amp; specific
+     * enthalpy, for workloads concentrated on parts of the (p, h) plane. The
+     * table only builds interpolation cells where queries land, see
+     * {@link AdaptiveTable}. Its values are in the current unit system, and
+     * evaluated with the current settings.
+     *
+     * @param output temperature, specific volume, density, specific entropy,
+     * or specific isobaric heat capacity
+     * @param tolerance relative interpolation tolerance [-]
+     * @return adaptive table
+     * @throws IllegalArgumentException if the output quantity isn't available
+     * or the tolerance isn't positive
+     */
+    public AdaptiveTable adaptiveTablePH(Quantity output, double tolerance) {
+        return new AdaptiveTable(toBuilder(), output, tolerance);
+    }
+
+    /**
+     * Specific enthalpy after adiabatic mixing of two streams at the given
+     * pressure.
+     *
+     * @param pressure absolute pressure
+     * @param mass1 mass (flow) of the first stream
+     * @param enthalpy1 specific enthalpy of the first stream
+     * @param mass2 mass (flow) of the second stream, in the same unit
+     * @param enthalpy2 specific enthalpy of the second stream
+     * @return outlet specific enthalpy
+     * @throws OutOfRangeException out-of-range exception
+     */
+    public double adiabaticMix(double pressure, double mass1, double enthalpy1, double mass2, double enthalpy2) throws OutOfRangeException {
+        return adiabaticMix(pressure, mass1, enthalpy1, mass2, enthalpy2, null);
+    }
+
+    /**
+     * Specific enthalpy after adiabatic mixing of two streams at the given
+     * pressure, optionally filling the outlet state.
+     *
+     * @param pressure absolute pressure
+     * @param mass1 mass (flow) of the first stream
+     * @param enthalpy1 specific enthalpy of the first stream
+     * @param mass2 mass (flow) of the second stream, in the same unit
+     * @param enthalpy2 specific enthalpy of the second stream
+     * @param outlet outlet state to fill, may be null
+     * @return outlet specific enthalpy
+     * @throws OutOfRangeException out-of-range exception
+     */
+    public double adiabaticMix(double pressure, double mass1, double enthalpy1, double mass2, double enthalpy2, ProcessState outlet) throws OutOfRangeException {
+
+        if (!(mass1 + mass2 > 0)) {
+            throw new IllegalArgumentException("Total mass should be positive: " + (mass1 + mass2));
+        }
+        double p = convertToDefault(settings().UNIT_SYSTEM.PRESSURE, pressure),
+                h1 = convertToDefault(settings().UNIT_SYSTEM.SPECIFIC_ENTHALPY, enthalpy1),
+                h2 = convertToDefault(settings().UNIT_SYSTEM.SPECIFIC_ENTHALPY, enthalpy2),
+                h;
+
+        try {
+            h = ProcessSteps.outlet(p, (mass1 * h1 + mass2 * h2) / (mass1 + mass2), settings(), outlet);
+
+        } catch (OutOfRangeException e) {
+            return outOfRange(e);
+        }
+        return convertFromDefault(settings().UNIT_SYSTEM.SPECIFIC_ENTHALPY, h);
+    }
+
+    /**
+     * Request coalescer, merges single-point requests from concurrent threads
+     * into batches evaluated on a worker thread, see
+     * {@link RequestCoalescer}. Its values are in the current unit system,
+     * and evaluated with the current settings.
+     *
+     * @param window time a batch stays open after its first request
+     * @param unit time unit of the window
+     * @param batchSize maximum batch size
+     * @return request coalescer, close it when done
+     * @throws IllegalArgumentException if the window is negative or the batch
+     * size isn't positive
+     */
+    public RequestCoalescer coalescer(long window, TimeUnit unit, int batchSize) {
+        return new RequestCoalescer(toBuilder(), window, unit, batchSize);
+    }
+
+    /**
+     * Isothermal compressibility as a function of specific enthalpy &amp;
+     * specific entropy.
+     *
+     * @param enthalpy specific enthalpy
+     * @param entropy specific entropy
+     * @return isothermal compressibility
+     * @throws OutOfRangeException out-of-range exception
+     */
+    public double compressibilityHS(double enthalpy, double entropy) throws OutOfRangeException {
+
+        double h = convertToDefault(settings().UNIT_SYSTEM.SPECIFIC_ENTHALPY, enthalpy),
+                s = convertToDefault(settings().UNIT_SYSTEM.SPECIFIC_ENTROPY, entropy),
+                kappaT;
+
+        try {
+            Region region = resolve(Region.getRegionHS(h, s, settings().VALIDATION));
+
+            double p = region.pressureHS(h, s),
+                    T = region.temperatureHS(h, s);
+
+            kappaT = region.isothermalCompressibilityPT(p, T);
+
+        } catch (OutOfRangeException e) {
+            return outOfRange(e);
+        }
+        return convertFromDefault(settings().UNIT_SYSTEM.COMPRESSIBILITY, kappaT);
+    }
+
+    /**
+     * Isothermal compressibility as a function of pressure &amp; specific
+     * enthalpy.
+     *
+     * @param pressure absolute pressure
+     * @param enthalpy specific enthalpy
+     * @return isothermal compressibility
+     * @throws OutOfRangeException out-of-range exception
+     */
+    public double compressibilityPH(double pressure, double enthalpy) throws OutOfRangeException {
+
+        double p = convertToDefault(settings().UNIT_SYSTEM.PRESSURE, pressure),
+                h = convertToDefault(settings().UNIT_SYSTEM.SPECIFIC_ENTHALPY, enthalpy),
+                kappaT;
+
+        try {
+            Region region = resolve(Region.getRegionPH(p, h, settings().VALIDATION));
+
+            if (region instanceof Region4) {
+                kappaT = settings().REGION4.isothermalCompressibilityPH(p, h);
+
+            } else {
+                double T = region.temperaturePH(p, h);
+
+                kappaT = region.isothermalCompressibilityPT(p, T);
+            }
+        } catch (OutOfRangeException e) {
+            return outOfRange(e);
+        }
+        return convertFromDefault(settings().UNIT_SYSTEM.COMPRESSIBILITY, kappaT);
+    }
+
+    /**
+     * Isothermal compressibility as a function of pressure &amp; specific
+     * entropy.
+     *
+     * @param pressure absolute pressure
+     * @param entropy specific entropy
+     * @return isothermal compressibility
+     * @throws OutOfRangeException out-of-range exception
+     */
+    public double compressibilityPS(double pressure, double entropy) throws OutOfRangeException {
+
+        double p = convertToDefault(settings().UNIT_SYSTEM.PRESSURE, pressure),
+                s = convertToDefault(settings().UNIT_SYSTEM.SPECIFIC_ENTROPY, entropy),
+                kappaT;
+
+        try {
+            Region region = resolve(Region.getRegionPS(p, s, settings().VALIDATION));
+
+            double T = region.temperaturePS(p, s);
+
+            kappaT = region.isothermalCompressibilityPT(p, T);
+
+        } catch (OutOfRangeException e) {
+            return outOfRange(e);
+        }
+        return convertFromDefault(settings().UNIT_SYSTEM.COMPRESSIBILITY, kappaT);
+    }
+
+    /**
+     * Isothermal compressibility as a function of pressure &amp; temperature.
+     *
+     * @param pressure absolute pressure
+     * @param temperature temperature
+     * @return isothermal compressibility
+     * @throws OutOfRangeException out-of-range exception
+     */
+    public double compressibilityPT(double pressure, double temperature) throws OutOfRangeException {
+
+        double p = convertToDefault(settings().UNIT_SYSTEM.PRESSURE, pressure),
+                T = convertToDefault(settings().UNIT_SYSTEM.TEMPERATURE, temperature),
+                kappaT;
+
+        try {
+            kappaT = resolve(Region.getRegionPT(p, T, settings().VALIDATION)).isothermalCompressibilityPT(p, T);
+
+        } catch (OutOfRangeException e) {
+            return outOfRange(e);
+        }
+        return convertFromDefault(settings().UNIT_SYSTEM.COMPRESSIBILITY, kappaT);
+    }
+
+    /**
+     * Compression factor (real-gas factor) as a function of pressure &amp;
+     * temperature.
+     *
+     * @param pressure absolute pressure
+     * @param temperature temperature
+     * @return compression factor
+     * @throws OutOfRangeException out-of-range exception
+     */
+    public double compressionFactorPT(double pressure, double temperature) throws OutOfRangeException {
+
+        double p = convertToDefault(settings().UNIT_SYSTEM.PRESSURE, pressure),
+                T = convertToDefault(settings().UNIT_SYSTEM.TEMPERATURE, temperature);
+
+        try {
+            return 1e3 * p * resolve(Region.getRegionPT(p, T, settings().VALIDATION)).specificVolumePT(p, T) / (R * T);
+
+        } catch (OutOfRangeException e) {
+            return outOfRange(e);
+        }
+    }
+
+//    public double convertToDefault(IF97.Quantity quantity, double value) {
+//
+//        switch (quantity) {
+//            case T:
+//                return convertToDefault(settings().UNIT_SYSTEM.TEMPERATURE, value);
+//
+//            case f:
+//            case g:
+//            case u:
+//                return convertToDefault(settings().UNIT_SYSTEM.SPECIFIC_ENERGY, value);
+//
+//            case h:
+//                return convertToDefault(settings().UNIT_SYSTEM.SPECIFIC_ENTHALPY, value);
+//
+//            case lambda:
+//                return convertToDefault(settings().UNIT_SYSTEM.THERMAL_CONDUCTIVITY, value);
+//
+//            case lambdaL:
+//                return convertToDefault(settings().UNIT_SYSTEM.WAVELENGTH, value);
+//
+//            case p:
+//                return convertToDefault(settings().UNIT_SYSTEM.PRESSURE, value);
+//
+//            case rho:
+//                return convertToDefault(settings().UNIT_SYSTEM.DENSITY, value);
+//
+//            case s:
+//                return convertToDefault(settings().UNIT_SYSTEM.SPECIFIC_ENTROPY, value);
+//
+//            case v:
+//                return convertToDefault(settings().UNIT_SYSTEM.SPECIFIC_VOLUME, value);
+//
+//            case x:
+//                return value;
+//
+//            default:
+//                throw new IllegalArgumentException("No conversion available for: " + quantity);
+//        }
+//    }
+    /**
+     * Density as a function of specific enthalpy &amp; specific entropy.
+     *
+     * <p>
+     * This is a convenience method which simply calls
+     * <code>1.0 / specificVolumeHS(enthalpy, entropy)</code>.
+     *
+     * @param enthalpy specific enthalpy
+     * @param entropy specific entropy
+     * @return density
+     * @throws OutOfRangeException out-of-range exception
+     * @see #specificVolumeHS(double, double)
+     */
+    public double densityHS(double enthalpy, double entropy) throws OutOfRangeException {
+        return 1 / specificVolumeHS(enthalpy, entropy);
+    }
+
+    /**
+     * Density as a function of pressure &amp; specific enthalpy.
+     *
+     * <p>
+     * This is a convenience method which simply calls
+     * <code>1.0 / specificVolumePH(pressure, enthalpy)</code>.
+     *
+     * @param pressure absolute pressure
+     * @param enthalpy specific enthalpy
+     * @return density
+     * @throws OutOfRangeException out-of-range exception
+     * @see #specificVolumePH(double, double)
+     */
+    public double densityPH(double pressure, double enthalpy) throws OutOfRangeException {
+        return 1 / specificVolumePH(pressure, enthalpy);
+    }
+
+    /**
+     * Density as a function of pressure &amp; specific enthalpy.
+     *
+     * <p>
+     * This is a convenience method which simply calls
+     * <code>1.0 / specificVolumePH(pressure, enthalpy, hint)</code>.
+     *
+     * @param pressure absolute pressure
+     * @param enthalpy specific enthalpy
+     * @param hint region hint, see {@link RegionHint}
+     * @return density
+     * @throws OutOfRangeException out-of-range exception
+     * @see #specificVolumePH(double, double, RegionHint)
+     */
+    public double densityPH(double pressure, double enthalpy, RegionHint hint) throws OutOfRangeException {
+        return 1 / specificVolumePH(pressure, enthalpy, hint);
+    }
+
+    /**
+     * Density as a function of pressure &amp; specific entropy.
+     *
+     * <p>
+     * This is a convenience method which simply calls
+     * <code>1.0 / specificVolumePS(pressure, entropy)</code>.
+     *
+     * @param pressure absolute pressure
+     * @param entropy specific entropy
+     * @return density
+     * @throws OutOfRangeException out-of-range exception
+     * @see #specificVolumePS(double, double)
+     */
+    public double densityPS(double pressure, double entropy) throws OutOfRangeException {
+        return 1 / specificVolumePS(pressure, entropy);
+    }
+
+    /**
+     * Density as a function of pressure &amp; temperature.
+     *
+     * <p>
+     * This is a convenience method which simply calls
+     * <code>1.0 / specificVolumePT(pressure, temperature)</code>.
+     *
+     * @param pressure absolute pressure
+     * @param temperature temperature
+     * @return density
+     * @throws OutOfRangeException out-of-range exception
+     * @see #specificVolumePT(double, double)
+     */
+    public double densityPT(double pressure, double temperature) throws OutOfRangeException {
+        return 1 / specificVolumePT(pressure, temperature);
+    }
+
+    /**
+     * Density as a function of pressure &amp; temperature.
+     *
+     * <p>
+     * This is a convenience method which simply calls
+     * <code>1.0 / specificVolumePT(pressure, temperature, hint)</code>.
+     *
+     * @param pressure absolute pressure
+     * @param temperature temperature
+     * @param hint region hint, see {@link RegionHint}
+     * @return density
+     * @throws OutOfRangeException out-of-range exception
+     * @see #specificVolumePT(double, double, RegionHint)
+     */
+    public double densityPT(double pressure, double temperature, RegionHint hint) throws OutOfRangeException {
+        return 1 / specificVolumePT(pressure, temperature, hint);
+    }
+
+    /**
+     * Density as a function of pressure &amp; vapour fraction.
+     *
+     * <p>
+     * This is a convenience method which simply calls
+     * <code>1.0 / specificVolumePX(pressure, vapour fraction)</code>.
+     *
+     * @param pressure absolute pressure
+     * @param vapourFraction vapour fraction
+     * @return density
+     * @throws OutOfRangeException out-of-range exception
+     * @see #specificVolumePX(double, double)
+     */
+    public double densityPX(double pressure, double vapourFraction) throws OutOfRangeException {
+        return 1 / specificVolumePX(pressure, vapourFraction);
+    }
+
+    /**
+     * Density as a function of temperature &amp; vapour fraction.
+     *
+     * <p>
+     * This is a convenience method which simply calls
+     * <code>1.0 / specificVolumeTX(temperature, vapour fraction)</code>.
+     *
+     * @param temperature temperature
+     * @param vapourFraction vapour fraction
+     * @return density
+     * @throws OutOfRangeException out-of-range exception
+     * @see #specificVolumeTX(double, double)
+     */
+    public double densityTX(double temperature, double vapourFraction) throws OutOfRangeException {
+        return 1 / specificVolumeTX(temperature, vapourFraction);
+    }
+
+    /**
+     * Diagram generator using the common fork/join pool, see
+     * {@link DiagramGenerator}. Its isoline values &amp; points are in the
+     * current unit system, and evaluated with the current settings.
+     *
+     * @param diagram diagram controlling the point density
+     * @param tolerance deviation tolerance relative to the diagram size
+     * @return diagram generator
+     * @throws IllegalArgumentException if the tolerance isn't positive
+     */
+    public DiagramGenerator diagramGenerator(DiagramGenerator.Diagram diagram, double tolerance) {
+        return new DiagramGenerator(toBuilder(), diagram, tolerance, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Dielectric constant as a function of specific enthalpy and specific
+     * entropy.
+     *
+     * @param enthalpy specific enthalpy
+     * @param entropy specific entropy
+     * @return dielectric constant [-]
+     * @throws OutOfRangeException out-of-range exception
+     * @see #dielectricConstantRhoT(double, double)
+     */
+    public double dielectricConstantHS(double enthalpy, double entropy) throws OutOfRangeException {
+
+        double h = convertToDefault(settings().UNIT_SYSTEM.SPECIFIC_ENTHALPY, enthalpy),
+                s = convertToDefault(settings().UNIT_SYSTEM.SPECIFIC_ENTROPY, entropy);
+
+        try {
+            Region region = resolve(Region.getRegionHS(h, s, settings().VALIDATION));
+
+            double v = region.specificVolumeHS(h, s),
+                    T = region.temperatureHS(h, s);
+
+            return Calculate.dielectricConstantRhoT(1 / v, T);
+
+        } catch (OutOfRangeException e) {
+            return outOfRange(e);
+        }
+    }
+
+    /**
+     * Dielectric constant as a function of pressure and specific enthalpy.
+     *
+     * @param pressure absolute pressure
+     * @param enthalpy specific enthalpy
+     * @return dielectric constant [-]
+     * @throws OutOfRangeException out-of-range exception
+     * @see #dielectricConstantRhoT(double, double)
+     */
+    public double dielectricConstantPH(double pressure, double enthalpy) throws OutOfRangeException {
+
+        double p = convertToDefault(settings().UNIT_SYSTEM.PRESSURE, pressure),
+                h = convertToDefault(settings().UNIT_SYSTEM.SPECIFIC_ENTHALPY, enthalpy);
+
+        try {
+            Region region = resolve(Region.getRegionPH(p, h, settings().VALIDATION));
+
+            double v = region.specificVolumePH(p, h),
+                    T = region.temperaturePH(p, h);
+
+            return Calculate.dielectricConstantRhoT(1 / v, T);
+
+        } catch (OutOfRangeException e) {
+            return outOfRange(e);
+        }
+    }
+
+    /**
+     * Dielectric constant as a function of pressure and specific entropy.
+     *
+     * @param pressure absolute pressure
+     * @param entropy specific entropy
+     * @return dielectric constant [-]
+     * @throws OutOfRangeException out-of-range exception
+     * @see #dielectricConstantRhoT(double, double)
+     */
+    public double dielectricConstantPS(double pressure, double entropy) throws OutOfRangeException {
+
+        double p = convertToDefault(settings().UNIT_SYSTEM.PRESSURE, pressure),
+                s = convertToDefault(settings().UNIT_SYSTEM.SPECIFIC_ENTROPY, entropy);
+
+        try {
+            Region region = resolve(Region.getRegionPS(p, s, settings().VALIDATION));
+
+            double v = region.specificVolumePS(p, s),
+                    T = region.temperaturePS(p, s);
+
+            return Calculate.dielectricConstantRhoT(1 / v, T);
+
+        } catch (OutOfRangeException e) {
+            return outOfRange(e);
+        }
+    }
+
+    /**
+     * Dielectric constant as a function of pressure and temperature.
+     *
+     * @param pressure absolute pressure
+     * @param temperature temperature
+     * @return dielectric constant [-]
+     * @throws OutOfRangeException out-of-range exception
+     * @see #dielectricConstantRhoT(double, double)
+     */
+    public double dielectricConstantPT(double pressure, double temperature) throws OutOfRangeException {
+
+        double p = convertToDefault(settings().UNIT_SYSTEM.PRESSURE, pressure),
+                T = convertToDefault(settings().UNIT_SYSTEM.TEMPERATURE, temperature);
+
+        try {
+            double v = resolve(Region.getRegionPT(p, T, settings().VALIDATION)).specificVolumePT(p, T);
+
+            return Calculate.dielectricConstantRhoT(1 / v, T);
+
+        } catch (OutOfRangeException e) {
+            return outOfRange(e);
+        }
+    }
+
+    /**
+     * Dielectric constant (relative static dielectric constant or relative
+     * static permittivity) as a function of density and temperature.
+     *
+     * @param density density
+     * @param temperature temperature
+     * @return dielectric constant [-]
+     * @throws OutOfRangeException out-of-range exception
+     */
+    public double dielectricConstantRhoT(double density, double temperature) throws OutOfRangeException {
+
+        double rho = convertToDefault(settings().UNIT_SYSTEM.DENSITY, density),
+                T = convertToDefault(settings().UNIT_SYSTEM.TEMPERATURE, temperature);
+
+        try {
+            return Calculate.dielectricConstantRhoT(rho, T);
+
+        } catch (OutOfRangeException e) {
+            return outOfRange(e);
+        }
+    }
+
+    /**
+     * Returns a dual-number function for the given output quantity of the
+     * given input quantities, in this object's current unit system: forward-mode
+     * automatic differentiation, see {@link Dual}. The output gets the value
+     * and, by the chain rule, the tangent from those of the inputs, in a
+     * single evaluation of the underlying free energy &amp; its derivatives.
+     * Like {@link #function(Quantity, Quantity, Quantity)}, unit conversion
+     * factors are taken once and inputs may be given in either order.
+     *
+     * <p>
+     * Available input combinations are (p, T), (p, h), (p, s), (h, s), (p, x)
+     * &amp; (T, x), with outputs p, T, v, &rho;, h, s, u, g, cp, cv, w and x
+     * (not for (p, T)). In the two-phase region cp, cv &amp; w are not
+     * available. The derivatives are those of the basic equations, in the
+     * two-phase region along the saturation line; for (p, h), (p, s) &amp;
+     * (h, s) the state follows from the backward equations. Functions throw
+     * {@link OutOfRangeException} regardless of the validation level.</p>
+     *
+     * <p>
+     * Evaluation doesn't allocate; the output may be one of the inputs. All
+     * three dual numbers should have the same number of directions.</p>
+     *
+     * @param output output quantity
+     * @param input1 first input quantity
+     * @param input2 second input quantity
+     * @return dual-number function of the input quantities
+     * @throws IllegalArgumentException if no such function is available
+     */
+    public DualFunction dualFunction(Quantity output, Quantity input1, Quantity input2) {
+
+        Settings settings = settings();
+        Calculate.Partials function = Calculate.partials(settings, output, input1, input2);
+        boolean swap = function == null;
+
+        if (swap) {
+            function = Calculate.partials(settings, output, input2, input1);
+        }
+        if (function == null) {
+            throw new IllegalArgumentException("No dual function available for " + output + "(" + input1 + ", " + input2 + ").");
+        }
+        final Calculate.Partials f = function;
+        final UnitSystem unitSystem = settings.UNIT_SYSTEM;
+        final double[] x1 = unitSystem.getConversion(input1),
+                x2 = unitSystem.getConversion(input2),
+                y = unitSystem.getConversion(output);
+        final double a1 = x1[0], b1 = x1[1], a2 = x2[0], b2 = x2[1], a = y[0], b = y[1];
+
+        if (swap) {
+            return (value1, value2, out) -> {
+                try {
+                    f.apply(value2.getValue() * a2 + b2, value1.getValue() * a1 + b1, out);
+
+                } catch (OutOfRangeException e) {
+                    throw e.convertFromDefault(unitSystem);
+                }
+                out.chain((out.getValue() - b) / a, out.partial2 * a1 / a, value1, out.partial1 * a2 / a, value2);
+            };
+        }
+        return (value1, value2, out) -> {
+            try {
+                f.apply(value1.getValue() * a1 + b1, value2.getValue() * a2 + b2, out);
+
+            } catch (OutOfRangeException e) {
+                throw e.convertFromDefault(unitSystem);
+            }
+            out.chain((out.getValue() - b) / a, out.partial1 * a1 / a, value1, out.partial2 * a2 / a, value2);
+        };
+    }
+
+    /**
+     * Dynamic viscosity as a function of specific enthalpy &amp; specific
+     * entropy.
+     *
+     * @param enthalpy specific enthalpy
+     * @param entropy specific entropy
+     * @return dynamic viscosity
+     * @throws OutOfRangeException out-of-range exception
+     * @see #dynamicViscosityRhoT(double, double)
+     */
+    public double dynamicViscosityHS(double enthalpy, double entropy) throws OutOfRangeException {
+
+        double h = convertToDefault(settings().UNIT_SYSTEM.SPECIFIC_ENTHALPY, enthalpy),
+                s = convertToDefault(settings().UNIT_SYSTEM.SPECIFIC_ENTROPY, entropy),
+                eta;
+
+        try {
+            Region region = resolve(Region.getRegionHS(h, s, settings().VALIDATION));
+
+            double v = region.specificVolumeHS(h, s),
+                    T = region.temperatureHS(h, s);
+
+            eta = Calculate.dynamicViscosityRhoT(1 / v, T);
+
+        } catch (OutOfRangeException e) {
+            return outOfRange(e);
+        }
+        return convertFromDefault(settings().UNIT_SYSTEM.DYNAMIC_VISCOSITY, eta);
+    }
+
+    /**
+     * Dynamic viscosity as a function of pressure &amp; specific enthalpy.
+     *
+     * @param pressure absolute pressure
+     * @param enthalpy specific enthalpy
+     * @return dynamic viscosity
+     * @throws OutOfRangeException out-of-range exception
+     * @see #dynamicViscosityRhoT(double, double)
+     */
+    public double dynamicViscosityPH(double pressure, double enthalpy) throws OutOfRangeException {
+
+        double p = convertToDefault(settings().UNIT_SYSTEM.PRESSURE, pressure),
+                h = convertToDefault(settings().UNIT_SYSTEM.SPECIFIC_ENTHALPY, enthalpy),
+                eta;
+
+        try {
+            Region region = resolve(Region.getRegionPH(p, h, settings().VALIDATION));
+
+            double v = region.specificVolumePH(p, h),
+                    T = region.temperaturePH(p, h);
+
+            eta = Calculate.dynamicViscosityRhoT(1 / v, T);
+
+        } catch (OutOfRangeException e) {
+            return outOfRange(e);
+        }
+        return convertFromDefault(settings().UNIT_SYSTEM.DYNAMIC_VISCOSITY, eta);
+    }
+
+    /**
+     * Dynamic viscosity as a function of pressure &amp; specific entropy.
+     *
+     * @param pressure absolute pressure
+     * @param entropy specific entropy
+     * @return dynamic viscosity
+     * @throws OutOfRangeException out-of-range exception
+     * @see #dynamicViscosityRhoT(double, double)
+     */
+    public double dynamicViscosityPS(double pressure, double entropy) throws OutOfRangeException {
+
+        double p = convertToDefault(settings().UNIT_SYSTEM.PRESSURE, pressure),
+                s = convertToDefault(settings().UNIT_SYSTEM.SPECIFIC_ENTROPY, entropy),
+                eta;
+
+        try {
+            Region region = resolve(Region.getRegionPS(p, s, settings().VALIDATION));
+
+            double v = region.specificVolumePS(p, s),
+                    T = region.temperaturePS(p, s);
+
+            eta = Calculate.dynamicViscosityRhoT(1 / v, T);
+
+        } catch (OutOfRangeException e) {
+            return outOfRange(e);
+        }
+        return convertFromDefault(settings().UNIT_SYSTEM.DYNAMIC_VISCOSITY, eta);
+    }
+
+    /**
+     * Dynamic viscosity as a function of pressure &amp; temperature.
+     *
+     * @param pressure absolute pressure
+     * @param temperature temperature
+     * @return dynamic viscosity
+     * @throws OutOfRangeException out-of-range exception
+     * @see #dynamicViscosityRhoT(double, double)
+     */
+    public double dynamicViscosityPT(double pressure, double temperature) throws OutOfRangeException {
+
+        double p = convertToDefault(settings().UNIT_SYSTEM.PRESSURE, pressure),
+                T = convertToDefault(settings().UNIT_SYSTEM.TEMPERATURE, temperature),
+                eta;
+
+        try {
+            double v = resolve(Region.getRegionPT(p, T, settings().VALIDATION)).specificVolumePT(p, T);
+
+            eta = Calculate.dynamicViscosityRhoT(1 / v, T);
+
+        } catch (OutOfRangeException e) {
+            return outOfRange(e);
+        }
+        return convertFromDefault(settings().UNIT_SYSTEM.DYNAMIC_VISCOSITY, eta);
+    }
+
+    /**
+     * Dynamic viscosity as a function of density &amp; temperature.
+     *
+     * @param density density
+     * @param temperature temperature
+     * @return dynamic viscosity
+     * @throws OutOfRangeException out-of-range exception
+     */
+    public double dynamicViscosityRhoT(double density, double temperature) throws OutOfRangeException {
+
+        double rho = convertToDefault(settings().UNIT_SYSTEM.DENSITY, density),
+                T = convertToDefault(settings().UNIT_SYSTEM.TEMPERATURE, temperature),
+                eta;
+
+        try {
+            eta = Calculate.dynamicViscosityRhoT(rho, T);
+
+        } catch (OutOfRangeException e) {
+            return outOfRange(e);
+        }
+        return convertFromDefault(settings().UNIT_SYSTEM.DYNAMIC_VISCOSITY, eta);
+    }
+
+    /**
+     * Returns a function for the given output quantity of the given input
+     * quantities, in this object's current unit system. Unit conversion
+     * factors &amp; the other settings are taken once, changing them
+     * afterwards doesn't affect the returned function. Inputs may be given in
+     * either order, e.g.
+     * <code>function(Quantity.h, Quantity.p, Quantity.T)</code> returns
+     * <code>(p, T) -&gt; h</code>.
+     *
+     * <p>
+     * Available input combinations are (p, T), (p, h), (p, s), (h, s), (p, x),
+     * (T, x), (T, s), and (&rho;, T), with the same outputs as the
+     * corresponding methods of this class. Functions apply this object's
+     * settings, e.g. its validation level &amp; precision profile, and throw
+     * {@link OutOfRangeException} just like those methods.</p>
+     *
+     * @param output output quantity
+     * @param input1 first input quantity
+     * @param input2 second input quantity
+     * @return function of the input quantities
+     * @throws IllegalArgumentException if no such function is available
+     */
+    public DoubleBinaryOperator function(Quantity output, Quantity input1, Quantity input2) {
+
+        Settings settings = settings();
+        AbstractIF97 calculator = new ImmutableIF97(new Settings(toBuilder().unitSystem(UnitSystem.DEFAULT)));
+        DoubleBinaryOperator function = Calculate.function(calculator, output, input1, input2);
+        boolean swap = function == null;
+
+        if (swap) {
+            function = Calculate.function(calculator, output, input2, input1);
+        }
+        if (function == null) {
+            throw new IllegalArgumentException("No function available for " + output + "(" + input1 + ", " + input2 + ").");
+        }
+        final DoubleBinaryOperator f = function;
+        final UnitSystem unitSystem = settings.UNIT_SYSTEM;
+        final double[] x1 = unitSystem.getConversion(input1),
+                x2 = unitSystem.getConversion(input2),
+                y = unitSystem.getConversion(output);
+        final double a1 = x1[0], b1 = x1[1], a2 = x2[0], b2 = x2[1], a = y[0], b = y[1];
+
+        if (swap) {
+            return (value1, value2) -> {
+                try {
+                    return (f.applyAsDouble(value2 * a2 + b2, value1 * a1 + b1) - b) / a;
+
+                } catch (OutOfRangeException e) {
+                    throw e.convertFromDefault(unitSystem);
+                }
+            };
+        }
+        return (value1, value2) -> {
+            try {
+                return (f.applyAsDouble(value1 * a1 + b1, value2 * a2 + b2) - b) / a;
+
+            } catch (OutOfRangeException e) {
+                throw e.convertFromDefault(unitSystem);
+            }
+        };
+    }
+
+    /**
+     * Hinted variant of {@link #function(Quantity, Quantity, Quantity)}, in
+     * this object's unit system, for callers that have looked up the region
+     * already, e.g. to count or sort states by region. Only available for
+     * outputs with a hinted method &amp; inputs in their order.
+     *
+     * @param output output quantity
+     * @param input1 first input quantity
+     * @param input2 second input quantity
+     * @return function of the input quantities &amp; region, null if not
+     * available
+     */
+    HintedFunction hintedFunction(Quantity output, Quantity input1, Quantity input2) {
+
+        switch (output.name() + '(' + input1.name() + ',' + input2.name() + ')') {
+            case "v(p,T)":
+                return this::specificVolumePT;
+            case "rho(p,T)":
+                return this::densityPT;
+            case "h(p,T)":
+                return this::specificEnthalpyPT;
+            case "s(p,T)":
+                return this::specificEntropyPT;
+            case "u(p,T)":
+                return this::specificInternalEnergyPT;
+            case "cp(p,T)":
+                return this::isobaricHeatCapacityPT;
+            case "w(p,T)":
+                return this::speedOfSoundPT;
+            case "T(p,h)":
+                return this::temperaturePH;
+            case "v(p,h)":
+                return this::specificVolumePH;
+            case "rho(p,h)":
+                return this::densityPH;
+            case "s(p,h)":
+                return this::specificEntropyPH;
+            case "cp(p,h)":
+                return this::isobaricHeatCapacityPH;
+            case "T(p,s)":
+                return this::temperaturePS;
+            case "h(p,s)":
+                return this::specificEnthalpyPS;
+            case "v(p,s)":
+                return this::specificVolumePS;
+            case "p(h,s)":
+                return this::pressureHS;
+            case "T(h,s)":
+                return this::temperatureHS;
+            default:
+                return null;
+        }
+    }
+
+    public String getRegionPT(double pressure, double temperature) throws OutOfRangeException {
+
+        double p = IF97.convertToDefault(settings().UNIT_SYSTEM.PRESSURE, pressure),
+                T = IF97.convertToDefault(settings().UNIT_SYSTEM.TEMPERATURE, temperature);
+
+        try {
+            return Region.getRegionPT(p, T, settings().VALIDATION).getName();
+
+        } catch (OutOfRangeException e) {
+            throw e.convertFromDefault(settings().UNIT_SYSTEM);
+        }
+    }
+
+    /**
+     * Gets the unit system.
+     *
+     * @return unit system
+     */
+    public final UnitSystem getUnitSystem() {
+        return settings().UNIT_SYSTEM;
+    }
+
+    /**
+     * Property map over a pressure-temperature grid, e.g. for compressor and
+     * turbine performance maps. Pressure- and temperature-dependent factors of
+     * the region 1, 2 &amp; 5 equations are evaluated once per grid row and
+     * column respectively, instead of once per grid point.
+     *
+     * @param output specific volume, density, specific enthalpy, entropy,
+     * internal energy, Gibbs free energy, specific isobaric &amp; isochoric
+     * heat capacity, or speed of sound
+     * @param pressures grid pressures
+     * @param temperatures grid temperatures
+     * @param out values, row-major, i.e. the value at pressures[i] &amp;
+     * temperatures[j] is stored at out[i * temperatures.length + j]
+     * @throws OutOfRangeException out-of-range exception
+     * @throws IllegalArgumentException if the output quantity isn't available
+     * or the output array is too short
+     */
+    public void gridPT(Quantity output, double[] pressures, double[] temperatures, double[] out) throws OutOfRangeException {
+
+        double[] p = new double[pressures.length],
+                T = new double[temperatures.length],
+                conversion = settings().UNIT_SYSTEM.getConversion(output);
+
+        for (int i = 0; i < p.length; i++) {
+            p[i] = convertToDefault(settings().UNIT_SYSTEM.PRESSURE, pressures[i]);
+        }
+        for (int j = 0; j < T.length; j++) {
+            T[j] = convertToDefault(settings().UNIT_SYSTEM.TEMPERATURE, temperatures[j]);
+        }
+        try {
+            Region.gridPT(output, p, T, out);
+
+        } catch (OutOfRangeException e) {
+            throw e.convertFromDefault(settings().UNIT_SYSTEM);
+        }
+        for (int k = 0, n = p.length * T.length; k < n; k++) {
+            out[k] = convertFromDefault(conversion, out[k]);
+        }
+    }
+
+    /**
+     * Returns whether saturation properties above 16.5292 MPa are computed in
+     * a fixed number of steps.
+     *
+     * @return true if latency is bounded
+     * @see IF97#setBoundedLatency(boolean)
+     */
+    public boolean isBoundedLatency() {
+        return settings().REGION4.isBounded();
+    }
+
+    /**
+     * Returns the precision profile of the iterative solvers.
+     *
+     * @return precision profile
+     * @see IF97#setPrecisionProfile(PrecisionProfile)
+     */
+    public PrecisionProfile getPrecisionProfile() {
+        return settings().PRECISION;
+    }
+
+    /**
+     * Returns the relative tolerance of the truncated residual series.
+     *
+     * @return relative tolerance, 0 if all terms are evaluated
+     * @see IF97#setResidualTolerance(double)
+     */
+    public double getResidualTolerance() {
+        return settings().RESIDUAL_TOLERANCE;
+    }
+
+    /**
+     * Returns the shadow sampler checking this object's backward equations.
+     *
+     * @return shadow sampler, null if not sampled
+     * @see IF97#setShadowSampler(ShadowSampler)
+     */
+    public ShadowSampler getShadowSampler() {
+        return settings().SAMPLER;
+    }
+
+    /**
+     * Returns how thoroughly inputs are validated.
+     *
+     * @return validation level
+     * @see IF97#setValidationLevel(ValidationLevel)
+     */
+    public ValidationLevel getValidationLevel() {
+        return settings().VALIDATION;
+    }
+
+    /**
+     * Returns whether region hints are verified.
+     *
+     * @return true if region hints are verified
+     * @see IF97#setVerifyRegionHints(boolean)
+     */
+    public boolean isVerifyRegionHints() {
+        return settings().VERIFY_REGION_HINTS;
+    }
+
+    /**
+     * Heat capacity ratio as a function of specific enthalpy &amp; specific
+     * entropy.
+     *
+     * @param enthalpy specific enthalpy
+     * @param entropy specific entropy
+     * @return heat capacity ratio
+     * @throws OutOfRangeException out-of-range exception
+     * @see #heatCapacityRatioPT(double, double)
+     */
+    public double heatCapacityRatioHS(double enthalpy, double entropy) throws OutOfRangeException {
+
+        double h = convertToDefault(settings().UNIT_SYSTEM.SPECIFIC_ENTHALPY, enthalpy),
+                s = convertToDefault(settings().UNIT_SYSTEM.SPECIFIC_ENTROPY, entropy);
+
+        try {
+            Region region = resolve(Region.getRegionHS(h, s, settings().VALIDATION));
+
+            double p = region.pressureHS(h, s),
+                    T = region.temperatureHS(h, s);
+
+            return region.heatCapacityRatioPT(p, T);
+
+        } catch (OutOfRangeException e) {
+            return outOfRange(e);
+        }
+    }
+
+    /**
+     * Heat capacity ratio as a function of pressure &amp; specific enthalpy.
+     *
+     * @param pressure absolute pressure
+     * @param enthalpy specific enthalpy
+     * @return heat capacity ratio
+     * @throws OutOfRangeException out-of-range exception
+     * @see #heatCapacityRatioPT(double, double)
+     */
+    public double heatCapacityRatioPH(double pressure, double enthalpy) throws OutOfRangeException {
+
+        double p = convertToDefault(settings().UNIT_SYSTEM.PRESSURE, pressure),
+                h = convertToDefault(settings().UNIT_SYSTEM.SPECIFIC_ENTHALPY, enthalpy);
+
+        try {
+            Region region = resolve(Region.getRegionPH(p, h, settings().VALIDATION));
+
+            double T = region.temperaturePH(p, h);
+
+            return region.heatCapacityRatioPT(p, T);
+
+        } catch (OutOfRangeException e) {
+            return outOfRange(e);
+        }
+    }
+
+    /**
+     * Heat capacity ratio as a function of pressure &amp; specific entropy.
+     *
+     * @param pressure absolute pressure
+     * @param entropy specific entropy
+     * @return heat capacity ratio
+     * @throws OutOfRangeException out-of-range exception
+     * @see #heatCapacityRatioPT(double, double)
+     */
+    public double heatCapacityRatioPS(double pressure, double entropy) throws OutOfRangeException {
+
+        double p = convertToDefault(settings().UNIT_SYSTEM.PRESSURE, pressure),
+                s = convertToDefault(settings().UNIT_SYSTEM.SPECIFIC_ENTROPY, entropy);
+
+        try {
+            Region region = resolve(Region.getRegionPS(p, s, settings().VALIDATION));
+
+            double T = region.temperaturePS(p, s);
+
+            return region.heatCapacityRatioPT(p, T);
+
+        } catch (OutOfRangeException e) {
+            return outOfRange(e);
+        }
+    }
+
+    /**
+     * Heat capacity ratio as a function of pressure &amp; temperature.
+     *
+     * @param pressure absolute pressure
+     * @param temperature temperature
+     * @return heat capacity ratio
+     * @throws OutOfRangeException out-of-range exception
+     */
+    public double heatCapacityRatioPT(double pressure, double temperature) throws OutOfRangeException {
+
+        double p = convertToDefault(settings().UNIT_SYSTEM.PRESSURE, pressure),
+                T = convertToDefault(settings().UNIT_SYSTEM.TEMPERATURE, temperature);
+
+        try {
+            return resolve(Region.getRegionPT(p, T, settings().VALIDATION)).heatCapacityRatioPT(p, T);
+
+        } catch (OutOfRangeException e) {
+            return outOfRange(e);
+        }
+    }
+
+    /**
+     * Isobar evaluator for repeated evaluation at the given pressure, with all
+     * pressure-dependent terms computed once.
+     *
+     * @param pressure absolute pressure
+     * @return isobar evaluator in this object's unit system
+     * @throws OutOfRangeException out-of-range exception
+     */
+    public IsobarEvaluator isobar(double pressure) throws OutOfRangeException {
+
+        double p = convertToDefault(settings().UNIT_SYSTEM.PRESSURE, pressure);
+
+        try {
+            return new IsobarEvaluator(settings(), p);
+
+        } catch (OutOfRangeException e) {
+            throw e.convertFromDefault(settings().UNIT_SYSTEM);
+        }
+    }
+
+    /**
+     * Outlet specific enthalpy of a compression, e.g. in a pump, with the
+     * given isentropic efficiency: h2 = h1 + (h2s - h1) / eta, where h2s is
+     * the outlet specific enthalpy at the inlet specific entropy.
+     *
+     * @param inletPressure inlet absolute pressure
+     * @param inletEnthalpy inlet specific enthalpy
+     * @param outletPressure outlet absolute pressure
+     * @param efficiency isentropic efficiency [-]
+     * @return outlet specific enthalpy
+     * @throws OutOfRangeException out-of-range exception
+     */
+    public double isentropicCompression(double inletPressure, double inletEnthalpy, double outletPressure, double efficiency) throws OutOfRangeException {
+        return isentropic(inletPressure, inletEnthalpy, outletPressure, efficiency, true, null);
+    }
+
+    /**
+     * Outlet specific enthalpy of a compression, optionally filling the outlet
+     * state, see {@link #isentropicCompression(double, double, double, double)}.
+     *
+     * @param inletPressure inlet absolute pressure
+     * @param inletEnthalpy inlet specific enthalpy
+     * @param outletPressure outlet absolute pressure
+     * @param efficiency isentropic efficiency [-]
+     * @param outlet outlet state to fill, may be null
+     * @return outlet specific enthalpy
+     * @throws OutOfRangeException out-of-range exception
+     */
+    public double isentropicCompression(double inletPressure, double inletEnthalpy, double outletPressure, double efficiency, ProcessState outlet) throws OutOfRangeException {
+        return isentropic(inletPressure, inletEnthalpy, outletPressure, efficiency, true, outlet);
+    }
+
+    /**
+     * Outlet specific enthalpy of an expansion, e.g. in a turbine, with the
+     * given isentropic efficiency: h2 = h1 - eta (h1 - h2s), where h2s is the
+     * outlet specific enthalpy at the inlet specific entropy.
+     *
+     * <p>
+     * Equivalent to the chain specificEntropyPH(p1, h1),
+     * specificEnthalpyPS(p2, s1), but the saturation properties at the outlet
+     * pressure are evaluated once and shared by both outlet region selections
+     * &amp; the two-phase properties.</p>
+     *
+     * @param inletPressure inlet absolute pressure
+     * @param inletEnthalpy inlet specific enthalpy
+     * @param outletPressure outlet absolute pressure
+     * @param efficiency isentropic efficiency [-]
+     * @return outlet specific enthalpy
+     * @throws OutOfRangeException out-of-range exception
+     */
+    public double isentropicExpansion(double inletPressure, double inletEnthalpy, double outletPressure, double efficiency) throws OutOfRangeException {
+        return isentropic(inletPressure, inletEnthalpy, outletPressure, efficiency, false, null);
+    }
+
+    /**
+     * Outlet specific enthalpy of an expansion, optionally filling the outlet
+     * state, see {@link #isentropicExpansion(double, double, double, double)}.
+     *
+     * @param inletPressure inlet absolute pressure
+     * @param inletEnthalpy inlet specific enthalpy
+     * @param outletPressure outlet absolute pressure
+     * @param efficiency isentropic efficiency [-]
+     * @param outlet outlet state to fill, may be null
+     * @return outlet specific enthalpy
+     * @throws OutOfRangeException out-of-range exception
+     */
+    public double isentropicExpansion(double inletPressure, double inletEnthalpy, double outletPressure, double efficiency, ProcessState outlet) throws OutOfRangeException {
+        return isentropic(inletPressure, inletEnthalpy, outletPressure, efficiency, false, outlet);
+    }
+
+    private double isentropic(double inletPressure, double inletEnthalpy, double outletPressure, double efficiency, boolean compression, ProcessState outlet) throws OutOfRangeException {
+
+        double p1 = convertToDefault(settings().UNIT_SYSTEM.PRESSURE, inletPressure),
+                h1 = convertToDefault(settings().UNIT_SYSTEM.SPECIFIC_ENTHALPY, inletEnthalpy),
+                p2 = convertToDefault(settings().UNIT_SYSTEM.PRESSURE, outletPressure),
+                h2;
+
+        try {
+            h2 = ProcessSteps.isentropic(p1, h1, p2, efficiency, compression, settings(), outlet);
+
+        } catch (OutOfRangeException e) {
+            return outOfRange(e);
+        }
+        return convertFromDefault(settings().UNIT_SYSTEM.SPECIFIC_ENTHALPY, h2);
+    }
+
+    /**
+     * Isentropic exponent as a function of specific enthalpy &amp; specific
+     * entropy.
+     *
+     * @param enthalpy specific enthalpy
+     * @param entropy specific entropy
+     * @return isentropic exponent
+     * @throws OutOfRangeException out-of-range exception
+     * @see #isentropicExponentPT(double, double)
+     */
+    public double isentropicExponentHS(double enthalpy, double entropy) throws OutOfRangeException {
+
+        double h = convertToDefault(settings().UNIT_SYSTEM.SPECIFIC_ENTHALPY, enthalpy),
+                s = convertToDefault(settings().UNIT_SYSTEM.SPECIFIC_ENTROPY, entropy);
+
+        try {
+            Region region = resolve(Region.getRegionHS(h, s, settings().VALIDATION));
+
+            double p = region.pressureHS(h, s),
+                    T = region.temperatureHS(h, s);
+
+            return region.isentropicExponentPT(p, T);
+
+        } catch (OutOfRangeException e) {
+            return outOfRange(e);
+        }
+    }
+
+    /**
+     * Isentropic exponent as a function of pressure &amp; specific enthalpy.
+     *
+     * @param pressure absolute pressure
+     * @param enthalpy specific enthalpy
+     * @return isentropic exponent
+     * @throws OutOfRangeException out-of-range exception
+     * @see #isentropicExponentPT(double, double)
+     */
+    public double isentropicExponentPH(double pressure, double enthalpy) throws OutOfRangeException {
+
+        double p = convertToDefault(settings().UNIT_SYSTEM.PRESSURE, pressure),
+                h = convertToDefault(settings().UNIT_SYSTEM.SPECIFIC_ENTHALPY, enthalpy);
+
+        try {
+            Region region = resolve(Region.getRegionPH(p, h, settings().VALIDATION));
+
+            double T = region.temperaturePH(p, h);
+
+            return region.isentropicExponentPT(p, T);
+
+        } catch (OutOfRangeException e) {
+            return outOfRange(e);
+        }
+    }
+
+    /**
+     * Isentropic exponent as a function of pressure &amp; specific entropy.
+     *
+     * @param pressure absolute pressure
+     * @param entropy specific entropy
+     * @return isentropic exponent
+     * @throws OutOfRangeException out-of-range exception
+     * @see #isentropicExponentPT(double, double)
+     */
+    public double isentropicExponentPS(double pressure, double entropy) throws OutOfRangeException {
+
+        double p = convertToDefault(settings().UNIT_SYSTEM.PRESSURE, pressure),
+                s = convertToDefault(settings().UNIT_SYSTEM.SPECIFIC_ENTROPY, entropy);
+
+        try {
+            Region region = resolve(Region.getRegionPS(p, s, settings().VALIDATION));
+
+            double T = region.temperaturePS(p, s);
+
+            return region.isentropicExponentPT(p, T);
+
+        } catch (OutOfRangeException e) {
+            return outOfRange(e);
+        }
+    }
+
+    /**
+     * Isentropic exponent as a function of pressure &amp; temperature.
+     *
+     * @param pressure absolute pressure
+     * @param temperature temperature
+     * @return isentropic exponent
+     * @throws OutOfRangeException out-of-range exception
+     */
+    public double isentropicExponentPT(double pressure, double temperature) throws OutOfRangeException {
+
+        double p = convertToDefault(settings().UNIT_SYSTEM.PRESSURE, pressure),
+                T = convertToDefault(settings().UNIT_SYSTEM.TEMPERATURE, temperature);
+
+        try {
+            return resolve(Region.getRegionPT(p, T, settings().VALIDATION)).isentropicExponentPT(p, T);
+
+        } catch (OutOfRangeException e) {
+            return outOfRange(e);
+        }
+    }
+
+    /**
+     * Isobaric cubic expansion coefficient as a function of specific enthalpy
+     * &amp; specific entropy.
+     *
+     * @param enthalpy specific enthalpy
+     * @param entropy specific entropy
+     * @return isobaric cubic expansion coefficient
+     * @throws OutOfRangeException out-of-range exception
+     * @see #isobaricCubicExpansionCoefficientPT(double, double)
+     */
+    public double isobaricCubicExpansionCoefficientHS(double enthalpy, double entropy) throws OutOfRangeException {
+
+        double h = convertToDefault(settings().UNIT_SYSTEM.SPECIFIC_ENTHALPY, enthalpy),
+                s = convertToDefault(settings().UNIT_SYSTEM.SPECIFIC_ENTROPY, entropy),
+                alphaV;
+
+        try {
+            Region region = resolve(Region.getRegionHS(h, s, settings().VALIDATION));
+
+            double p = region.pressureHS(h, s),
+                    T = region.temperatureHS(h, s);
+
+            alphaV = region.isobaricCubicExpansionCoefficientPT(p, T);
+
+        } catch (OutOfRangeException e) {
+            return outOfRange(e);
+        }
+        return convertFromDefault(settings().UNIT_SYSTEM.ISOBARIC_CUBIC_EXPANSION_COEFFICIENT, alphaV);
+    }
+
+    /**
+     * Isobaric cubic expansion coefficient as a function of pressure &amp;
+     * specific enthalpy.
+     *
+     * @param pressure absolute pressure
+     * @param enthalpy specific enthalpy
+     * @return isobaric cubic expansion coefficient
+     * @throws OutOfRangeException out-of-range exception
+     * @see #isobaricCubicExpansionCoefficientPT(double, double)
+     */
+    public double isobaricCubicExpansionCoefficientPH(double pressure, double enthalpy) throws OutOfRangeException {
+
+        double p = convertToDefault(settings().UNIT_SYSTEM.PRESSURE, pressure),
+                h = convertToDefault(settings().UNIT_SYSTEM.SPECIFIC_ENTHALPY, enthalpy),
+                alphaV;
+
+        try {
+            Region region = resolve(Region.getRegionPH(p, h, settings().VALIDATION));
+
+            if (region instanceof Region4) {
+                alphaV = settings().REGION4.isobaricCubicExpansionCoefficientPH(p, h);
+
+            } else {
+                double T = region.temperaturePH(p, h);
+
+                alphaV = region.isobaricCubicExpansionCoefficientPT(p, T);
+            }
+        } catch (OutOfRangeException e) {
+            return outOfRange(e);
+        }
+        return convertFromDefault(settings().UNIT_SYSTEM.ISOBARIC_CUBIC_EXPANSION_COEFFICIENT, alphaV);
+    }
+
+    /**
+     * Isobaric cubic expansion coefficient as a function of pressure &amp;
+     * specific entropy.
+     *
+     * @param pressure absolute pressure
+     * @param entropy specific entropy
+     * @return isobaric cubic expansion coefficient
+     * @throws OutOfRangeException out-of-range exception
+     * @see #isobaricCubicExpansionCoefficientPT(double, double)
+     */
+    public double isobaricCubicExpansionCoefficientPS(double pressure, double entropy) throws OutOfRangeException {
+
+        double p = convertToDefault(settings().UNIT_SYSTEM.PRESSURE, pressure),
+                s = convertToDefault(settings().UNIT_SYSTEM.SPECIFIC_ENTROPY, entropy),
+                alphaV;
+
+        try {
+            Region region = resolve(Region.getRegionPS(p, s, settings().VALIDATION));
+
+            double T = region.temperaturePS(p, s);
+
+            alphaV = region.isobaricCubicExpansionCoefficientPT(p, T);
+
+        } catch (OutOfRangeException e) {
+            return outOfRange(e);
+        }
+        return convertFromDefault(settings().UNIT_SYSTEM.ISOBARIC_CUBIC_EXPANSION_COEFFICIENT, alphaV);
+    }
+
+    /**
+     * Isobaric cubic expansion coefficient as a function of pressure &amp;
+     * temperature.
+     *
+     * @param pressure absolute pressure
+     * @param temperature temperature
+     * @return isobaric cubic expansion coefficient
+     * @throws OutOfRangeException out-of-range exception
+     */
+    public double isobaricCubicExpansionCoefficientPT(double pressure, double temperature) throws OutOfRangeException {
+
+        double p = convertToDefault(settings().UNIT_SYSTEM.PRESSURE, pressure),
+                T = convertToDefault(settings().UNIT_SYSTEM.TEMPERATURE, temperature),
+                alphaV;
+
+        try {
+            alphaV = resolve(Region.getRegionPT(p, T, settings().VALIDATION)).isobaricCubicExpansionCoefficientPT(p, T);
+
+        } catch (OutOfRangeException e) {
+            return outOfRange(e);
+        }
+        return convertFromDefault(settings().UNIT_SYSTEM.ISOBARIC_CUBIC_EXPANSION_COEFFICIENT, alphaV);
+    }
+
+    /**
+     * Isobaric cubic expansion coefficient as a function of pressure &amp;
+     * vapour fraction.
+     *
+     * @param pressure absolute pressure
+     * @param vapourFraction vapour fraction
+     * @return isobaric cubic expansion coefficient
+     * @throws OutOfRangeException out-of-range exception
+     * @see #isobaricCubicExpansionCoefficientPH(double, double)
+     */
+    public double isobaricCubicExpansionCoefficientPX(double pressure, double vapourFraction) {
+
+        double p = convertToDefault(settings().UNIT_SYSTEM.PRESSURE, pressure);
+
+        try {
+            checkP(p);
+
+        } catch (OutOfRangeException e) {
+            return outOfRange(e);
+        }
+        double h = settings().REGION4.specificEnthalpyPX(p, vapourFraction),
+                alphaV = settings().REGION4.isobaricCubicExpansionCoefficientPH(p, h);
+
+        return convertFromDefault(settings().UNIT_SYSTEM.ISOBARIC_CUBIC_EXPANSION_COEFFICIENT, alphaV);
+    }
+
+    /**
+     * Isobaric cubic expansion coefficient as a function of temperature &amp;
+     * vapour fraction.
+     *
+     * @param temperature temperature
+     * @param vapourFraction vapour fraction
+     * @return isobaric cubic expansion coefficient
+     * @throws OutOfRangeException out-of-range exception
+     * @see #isobaricCubicExpansionCoefficientPH(double, double)
+     */
+    public double isobaricCubicExpansionCoefficientTX(double temperature, double vapourFraction) {
+
+        double T = convertToDefault(settings().UNIT_SYSTEM.TEMPERATURE, temperature);
+
+        try {
+            checkT(T);
+
+        } catch (OutOfRangeException e) {
+            return outOfRange(e);
+        }
+        double p = settings().REGION4.saturationPressureT(T),
+                h = settings().REGION4.specificEnthalpyPX(p, vapourFraction),
+                alphaV = settings().REGION4.isobaricCubicExpansionCoefficientPH(p, h);
+
+        return convertFromDefault(settings().UNIT_SYSTEM.ISOBARIC_CUBIC_EXPANSION_COEFFICIENT, alphaV);
+    }
+
+    /**
+     * Specific enthalpy after isobaric heating (or cooling, for negative
+     * heat).
+     *
+     * @param pressure absolute pressure
+     * @param enthalpy inlet specific enthalpy
+     * @param heat heat added per unit mass, in the specific enthalpy unit
+     * @return outlet specific enthalpy
+     * @throws OutOfRangeException out-of-range exception
+     */
+    public double isobaricHeat(double pressure, double enthalpy, double heat) throws OutOfRangeException {
+        return isobaricHeat(pressure, enthalpy, heat, null);
+    }
+
+    /**
+     * Specific enthalpy after isobaric heating (or cooling, for negative
+     * heat), optionally filling the outlet state.
+     *
+     * @param pressure absolute pressure
+     * @param enthalpy inlet specific enthalpy
+     * @param heat heat added per unit mass, in the specific enthalpy unit
+     * @param outlet outlet state to fill, may be null
+     * @return outlet specific enthalpy
+     * @throws OutOfRangeException out-of-range exception
+     */
+    public double isobaricHeat(double pressure, double enthalpy, double heat, ProcessState outlet) throws OutOfRangeException {
+
+        double p = convertToDefault(settings().UNIT_SYSTEM.PRESSURE, pressure),
+                h = convertToDefault(settings().UNIT_SYSTEM.SPECIFIC_ENTHALPY, enthalpy),
+                q = heat * settings().UNIT_SYSTEM.SPECIFIC_ENTHALPY[0];
+
+        try {
+            h = ProcessSteps.outlet(p, h + q, settings(), outlet);
+
+        } catch (OutOfRangeException e) {
+            return outOfRange(e);
+        }
+        return convertFromDefault(settings().UNIT_SYSTEM.SPECIFIC_ENTHALPY, h);
+    }
+
+    /**
+     * Specific isobaric heat capacity as a function of specific enthalpy &amp;
+     * specific entropy.
+     *
+     * @param enthalpy specific enthalpy
+     * @param entropy specific entropy
+     * @return specific isobaric heat capacity
+     * @throws OutOfRangeException out-of-range exception
+     * @see #isobaricHeatCapacityPT(double, double)
+     */
+    public double isobaricHeatCapacityHS(double enthalpy, double entropy) throws OutOfRangeException {
+
+        double h = convertToDefault(settings().UNIT_SYSTEM.SPECIFIC_ENTHALPY, enthalpy),
+                s = convertToDefault(settings().UNIT_SYSTEM.SPECIFIC_ENTROPY, entropy),
+                cp;
+
+        try {
+            Region region = resolve(Region.getRegionHS(h, s, settings().VALIDATION));
+
+            double p = region.pressureHS(h, s),
+                    T = region.temperatureHS(h, s);
+
+            cp = region.specificIsobaricHeatCapacityPT(p, T);
+
+        } catch (OutOfRangeException e) {
+            return outOfRange(e);
+        }
+        return convertFromDefault(settings().UNIT_SYSTEM.SPECIFIC_HEAT_CAPACITY, cp);
+    }
+
+    /**
+     * Specific isobaric heat capacity as a function of pressure &amp; specific
+     * enthalpy.
+     *
+     * @param pressure absolute pressure
+     * @param enthalpy specific enthalpy
+     * @return specific isobaric heat capacity
+     * @throws OutOfRangeException out-of-range exception
+     * @see #isobaricHeatCapacityPT(double, double)
+     */
+    public double isobaricHeatCapacityPH(double pressure, double enthalpy) throws OutOfRangeException {
+
+        double p = convertToDefault(settings().UNIT_SYSTEM.PRESSURE, pressure),
+                h = convertToDefault(settings().UNIT_SYSTEM.SPECIFIC_ENTHALPY, enthalpy),
+                cp;
+
+        try {
+            Region region = resolve(Region.getRegionPH(p, h, settings().VALIDATION));
+
+            if (region instanceof Region4) {
+                cp = settings().REGION4.specificIsobaricHeatCapacityPH(p, h);
+
+            } else {
+                double T = region.temperaturePH(p, h);
+
+                cp = region.specificIsobaricHeatCapacityPT(p, T);
+            }
+        } catch (OutOfRangeException e) {
+            return outOfRange(e);
+        }
+        return convertFromDefault(settings().UNIT_SYSTEM.SPECIFIC_HEAT_CAPACITY, cp);
+    }
+
+    /**
+     * Specific isobaric heat capacity as a function of pressure &amp; specific
+     * enthalpy.
+     *
+     * @param pressure absolute pressure
+     * @param enthalpy specific enthalpy
+     * @param hint region hint, see {@link RegionHint}
+     * @return specific isobaric heat capacity
+     * @throws OutOfRangeException out-of-range exception
+     * @see #isobaricHeatCapacityPT(double, double)
+     */
+    public double isobaricHeatCapacityPH(double pressure, double enthalpy, RegionHint hint) throws OutOfRangeException {
+
+        double p = convertToDefault(settings().UNIT_SYSTEM.PRESSURE, pressure),
+                h = convertToDefault(settings().UNIT_SYSTEM.SPECIFIC_ENTHALPY, enthalpy),
+                cp;
+
+        try {
+            Region region = resolve(Region.getRegionPH(p, h, hint, settings().VERIFY_REGION_HINTS));
+
+            if (region instanceof Region4) {
+                cp = settings().REGION4.specificIsobaricHeatCapacityPH(p, h);
+
+            } else {
+                double T = region.temperaturePH(p, h);
+
+                cp = region.specificIsobaricHeatCapacityPT(p, T);
+            }
+        } catch (OutOfRangeException e) {
+            return outOfRange(e);
+        }
+        return convertFromDefault(settings().UNIT_SYSTEM.SPECIFIC_HEAT_CAPACITY, cp);
+    }
+
+    /**
+     * Specific isobaric heat capacity as a function of pressure &amp; specific
+     * entropy.
+     *
+     * @param pressure absolute pressure
+     * @param entropy specific entropy
+     * @return specific isobaric heat capacity
+     * @throws OutOfRangeException out-of-range exception
+     * @see #isobaricHeatCapacityPT(double, double)
+     */
+    public double isobaricHeatCapacityPS(double pressure, double entropy) throws OutOfRangeException {
+
+        double p = convertToDefault(settings().UNIT_SYSTEM.PRESSURE, pressure),
+                s = convertToDefault(settings().UNIT_SYSTEM.SPECIFIC_ENTROPY, entropy),
+                cp;
+
+        try {
+            Region region = resolve(Region.getRegionPS(p, s, settings().VALIDATION));
+
+            double T = region.temperaturePS(p, s);
+
+            cp = region.specificIsobaricHeatCapacityPT(p, T);
+
+        } catch (OutOfRangeException e) {
+            return outOfRange(e);
+        }
+        return convertFromDefault(settings().UNIT_SYSTEM.SPECIFIC_HEAT_CAPACITY, cp);
+    }
+
+    /**
+     * Specific isobaric heat capacity as a function of pressure &amp;
+     * temperature.
+     *
+     * @param pressure absolute pressure
+     * @param temperature temperature
+     * @return specific isobaric heat capacity
+     * @throws OutOfRangeException out-of-range exception
+     */
+    public double isobaricHeatCapacityPT(double pressure, double temperature) throws OutOfRangeException {
+
+        double p = convertToDefault(settings().UNIT_SYSTEM.PRESSURE, pressure),
+                T = convertToDefault(settings().UNIT_SYSTEM.TEMPERATURE, temperature),
+                cp;
+
+        try {
+            cp = resolve(Region.getRegionPT(p, T, settings().VALIDATION)).specificIsobaricHeatCapacityPT(p, T);
+
+        } catch (OutOfRangeException e) {
+            return outOfRange(e);
+        }
+        return convertFromDefault(settings().UNIT_SYSTEM.SPECIFIC_HEAT_CAPACITY, cp);
+    }
+
+    /**
+     * Specific isobaric heat capacity as a function of pressure &amp;
+     * temperature.
+     *
+     * @param pressure absolute pressure
+     * @param temperature temperature
+     * @param hint region hint, see {@link RegionHint}
+     * @return specific isobaric heat capacity
+     * @throws OutOfRangeException out-of-range exception
+     */
+    public double isobaricHeatCapacityPT(double pressure, double temperature, RegionHint hint) throws OutOfRangeException {
+
+        double p = convertToDefault(settings().UNIT_SYSTEM.PRESSURE, pressure),
+                T = convertToDefault(settings().UNIT_SYSTEM.TEMPERATURE, temperature),
+                cp;
+
+        try {
+            cp = resolve(Region.getRegionPT(p, T, hint, settings().VERIFY_REGION_HINTS)).specificIsobaricHeatCapacityPT(p, T);
+
+        } catch (OutOfRangeException e) {
+            return outOfRange(e);
+        }
+        return convertFromDefault(settings().UNIT_SYSTEM.SPECIFIC_HEAT_CAPACITY, cp);
+    }
+
+    /**
+     * Specific isochoric heat capacity as a function of specific enthalpy &amp;
+     * specific entropy.
+     *
+     * @param enthalpy specific enthalpy
+     * @param entropy specific entropy
+     * @return specific isochoric heat capacity
+     * @throws OutOfRangeException out-of-range exception
+     * @see #isochoricHeatCapacityPT(double, double)
+     */
+    public double isochoricHeatCapacityHS(double enthalpy, double entropy) throws OutOfRangeException {
+
+        double h = convertToDefault(settings().UNIT_SYSTEM.SPECIFIC_ENTHALPY, enthalpy),
+                s = convertToDefault(settings().UNIT_SYSTEM.SPECIFIC_ENTROPY, entropy),
+                cv;
+
+        try {
+            Region region = resolve(Region.getRegionHS(h, s, settings().VALIDATION));
+
+            double p = region.pressureHS(h, s),
+                    T = region.temperatureHS(h, s);
+
+            cv = region.specificIsochoricHeatCapacityPT(p, T);
+
+        } catch (OutOfRangeException e) {
+            return outOfRange(e);
+        }
+        return convertFromDefault(settings().UNIT_SYSTEM.SPECIFIC_HEAT_CAPACITY, cv);
+    }
+
+    /**
+     * Specific isochoric heat capacity as a function of pressure &amp; specific
+     * enthalpy.
+     *
+     * @param pressure absolute pressure
+     * @param enthalpy specific enthalpy
+     * @return specific isochoric heat capacity
+     * @throws OutOfRangeException out-of-range exception
+     * @see #isochoricHeatCapacityPT(double, double)
+     */
+    public double isochoricHeatCapacityPH(double pressure, double enthalpy) throws OutOfRangeException {
+
+        double p = convertToDefault(settings().UNIT_SYSTEM.PRESSURE, pressure),
+                h = convertToDefault(settings().UNIT_SYSTEM.SPECIFIC_ENTHALPY, enthalpy),
+                cv;
+
+        try {
+            Region region = resolve(Region.getRegionPH(p, h, settings().VALIDATION));
+
+            if (region instanceof Region4) {
+                cv = settings().REGION4.specificIsochoricHeatCapacityPH(p, h);
+
+            } else {
+                double T = region.temperaturePH(p, h);
+
+                cv = region.specificIsochoricHeatCapacityPT(p, T);
+            }
+        } catch (OutOfRangeException e) {
+            return outOfRange(e);
+        }
+        return convertFromDefault(settings().UNIT_SYSTEM.SPECIFIC_HEAT_CAPACITY, cv);
+    }
+
+    /**
+     * Specific isochoric heat capacity as a function of pressure &amp; specific
+     * entropy.
+     *
+     * @param pressure absolute pressure
+     * @param entropy specific entropy
+     * @return specific isochoric heat capacity
+     * @throws OutOfRangeException out-of-range exception
+     * @see #isochoricHeatCapacityPT(double, double)
+     */
+    public double isochoricHeatCapacityPS(double pressure, double entropy) throws OutOfRangeException {
+
+        double p = convertToDefault(settings().UNIT_SYSTEM.PRESSURE, pressure),
+                s = convertToDefault(settings().UNIT_SYSTEM.SPECIFIC_ENTROPY, entropy),
+                cv;
+
+        try {
+            Region region = resolve(Region.getRegionPS(p, s, settings().VALIDATION));
+
+            double T = region.temperaturePS(p, s);
+
+            cv = region.specificIsochoricHeatCapacityPT(p, T);
+
+        } catch (OutOfRangeException e) {
+            return outOfRange(e);
+        }
+        return convertFromDefault(settings().UNIT_SYSTEM.SPECIFIC_HEAT_CAPACITY, cv);
+    }
+
+    /**
+     * Specific isochoric heat capacity as a function of pressure &amp;
+     * temperature.
+     *
+     * @param pressure absolute pressure
+     * @param temperature temperature
+     * @return specific isochoric heat capacity
+     * @throws OutOfRangeException out-of-range exception
+     */
+    public double isochoricHeatCapacityPT(double pressure, double temperature) throws OutOfRangeException {
+
+        double p = convertToDefault(settings().UNIT_SYSTEM.PRESSURE, pressure),
+                T = convertToDefault(settings().UNIT_SYSTEM.TEMPERATURE, temperature),
+                cv;
+
+        try {
+            cv = resolve(Region.getRegionPT(p, T, settings().VALIDATION)).specificIsochoricHeatCapacityPT(p, T);
+
+        } catch (OutOfRangeException e) {
+            return outOfRange(e);
+        }
+        return convertFromDefault(settings().UNIT_SYSTEM.SPECIFIC_HEAT_CAPACITY, cv);
+    }
+
+    /**
+     * Kinematic viscosity as a function of specific enthalpy &amp; specific
+     * entropy.
+     *
+     * @param enthalpy specific enthalpy
+     * @param entropy specific entropy
+     * @return kinematic viscosity
+     * @throws OutOfRangeException out-of-range exception
+     * @see #kinematicViscosityRhoT(double, double)
+     */
+    public double kinematicViscosityHS(double enthalpy, double entropy) throws OutOfRangeException {
+
+        double h = convertToDefault(settings().UNIT_SYSTEM.SPECIFIC_ENTHALPY, enthalpy),
+                s = convertToDefault(settings().UNIT_SYSTEM.SPECIFIC_ENTROPY, entropy),
+                nu;
+
+        try {
+            Region region = resolve(Region.getRegionHS(h, s, settings().VALIDATION));
+
+            double v = region.specificVolumeHS(h, s),
+                    T = region.temperatureHS(h, s);
+
+            nu = Calculate.dynamicViscosityRhoT(1 / v, T) * v;
+
+        } catch (OutOfRangeException e) {
+            return outOfRange(e);
+        }
+        return convertFromDefault(settings().UNIT_SYSTEM.DYNAMIC_VISCOSITY, nu);
+    }
+
+    /**
+     * Kinematic viscosity as a function of pressure &amp; specific enthalpy.
+     *
+     * @param pressure absolute pressure
+     * @param enthalpy specific enthalpy
+     * @return kinematic viscosity
+     * @throws OutOfRangeException out-of-range exception
+     * @see #kinematicViscosityRhoT(double, double)
+     */
+    public double kinematicViscosityPH(double pressure, double enthalpy) throws OutOfRangeException {
+
+        double p = convertToDefault(settings().UNIT_SYSTEM.PRESSURE, pressure),
+                h = convertToDefault(settings().UNIT_SYSTEM.SPECIFIC_ENTHALPY, enthalpy),
+                nu;
+
+        try {
+            Region region = resolve(Region.getRegionPH(p, h, settings().VALIDATION));
+
+            double v = region.specificVolumePH(p, h),
+                    T = region.temperaturePH(p, h);
+
+            nu = Calculate.dynamicViscosityRhoT(1 / v, T) * v;
+
+        } catch (OutOfRangeException e) {
+            return outOfRange(e);
+        }
+        return convertFromDefault(settings().UNIT_SYSTEM.KINEMATIC_VISCOSITY, nu);
+    }
+
+    /**
+     * Kinematic viscosity as a function of pressure &amp; specific entropy.
+     *
+     * @param pressure absolute pressure
+     * @param entropy specific entropy
+     * @return kinematic viscosity
+     * @throws OutOfRangeException out-of-range exception
+     * @see #kinematicViscosityRhoT(double, double)
+     */
+    public double kinematicViscosityPS(double pressure, double entropy) throws OutOfRangeException {
+
+        double p = convertToDefault(settings().UNIT_SYSTEM.PRESSURE, pressure),
+                s = convertToDefault(settings().UNIT_SYSTEM.SPECIFIC_ENTROPY, entropy),
+                nu;
+
+        try {
+            Region region = resolve(Region.getRegionPS(p, s, settings().VALIDATION));
+
+            double v = region.specificVolumePS(p, s),
+                    T = region.temperaturePS(p, s);
+
+            nu = Calculate.dynamicViscosityRhoT(1 / v, T) * v;
+
+        } catch (OutOfRangeException e) {
+            return outOfRange(e);
+        }
+        return convertFromDefault(settings().UNIT_SYSTEM.DYNAMIC_VISCOSITY, nu);
+    }
+
+    /**
+     * Kinematic viscosity as a function of pressure &amp; temperature.
+     *
+     * @param pressure absolute pressure
+     * @param temperature temperature
+     * @return kinematic viscosity
+     * @throws OutOfRangeException out-of-range exception
+     * @see #kinematicViscosityRhoT(double, double)
+     */
+    public double kinematicViscosityPT(double pressure, double temperature) throws OutOfRangeException {
+
+        double p = convertToDefault(settings().UNIT_SYSTEM.PRESSURE, pressure),
+                T = convertToDefault(settings().UNIT_SYSTEM.TEMPERATURE, temperature),
+                nu;
+
+        try {
+            double v = resolve(Region.getRegionPT(p, T, settings().VALIDATION)).specificVolumePT(p, T);
+
+            nu = Calculate.dynamicViscosityRhoT(1 / v, T) * v;
+
+        } catch (OutOfRangeException e) {
+            return outOfRange(e);
+        }
+        return convertFromDefault(settings().UNIT_SYSTEM.KINEMATIC_VISCOSITY, nu);
+    }
+
+    /**
+     * Kinematic viscosity as a function of density &amp; temperature.
+     *
+     * @param density density
+     * @param temperature temperature
+     * @return kinematic viscosity
+     * @throws OutOfRangeException out-of-range exception
+     */
+    public double kinematicViscosityRhoT(double density, double temperature) throws OutOfRangeException {
+
+        double rho = convertToDefault(settings().UNIT_SYSTEM.DENSITY, density),
+                T = convertToDefault(settings().UNIT_SYSTEM.TEMPERATURE, temperature),
+                nu;
+
+        try {
+            nu = Calculate.dynamicViscosityRhoT(rho, T) / rho;
+
+        } catch (OutOfRangeException e) {
+            return outOfRange(e);
+        }
+        return convertFromDefault(settings().UNIT_SYSTEM.KINEMATIC_VISCOSITY, nu);
+    }
+
+    /**
+     * Partial derivative of z with respect to x for constant y in SI units, as
+     * a function of pressure and specific enthalpy.
+     *
+     * <p>
+     * (<sup>&part;z</sup>/<sub>&part;x</sub>)<sub>y</sub>(p, h)
+     * </p>
+     *
+     * @param pressure absolute pressure
+     * @param enthalpy specific enthalpy
+     * @param x any {@link Quantity} part of the set returned by
+     * {@link Quantity#getPartialDerivatives()}
+     * @param y any {@link Quantity} part of the set returned by
+     * {@link Quantity#getPartialDerivatives()}
+     * @param z any {@link Quantity} part of the set returned by
+     * {@link Quantity#getPartialDerivatives()}
+     * @return partial derivative [SI units]
+     * @throws OutOfRangeException out-of-range exception
+     * @see Quantity#getPartialDerivatives()
+     */
+    public double partialDerivativePH(double pressure, double enthalpy, Quantity x, Quantity y, Quantity z) throws OutOfRangeException {
+
+        if (!PARTIAL_DERIVATIVE_QUANTITIES.contains(x)) {
+            throw new IllegalArgumentException("Partial derivative with respect to " + x + " is not supported, see IF97.Quantity.getPartialDerivatives() for supported quantities.");
+
+        } else if (!PARTIAL_DERIVATIVE_QUANTITIES.contains(y)) {
+            throw new IllegalArgumentException("Partial derivative for constant " + y + " is not supported, see IF97.Quantity.getPartialDerivatives() for supported quantities.");
+
+        } else if (!PARTIAL_DERIVATIVE_QUANTITIES.contains(z)) {
+            throw new IllegalArgumentException("Partial derivative of " + z + " is not supported, see IF97.Quantity.getPartialDerivatives() for supported quantities.");
+        }
+        double p = convertToDefault(settings().UNIT_SYSTEM.PRESSURE, pressure),
+                h = convertToDefault(settings().UNIT_SYSTEM.SPECIFIC_ENTHALPY, enthalpy);
+
+        try {
+            Region region = resolve(Region.getRegionPH(p, h, settings().VALIDATION));
+            double T = region.temperaturePH(p, h);
+
+            if (region instanceof Region3) {
+                double v = region.specificVolumePH(p, h);
+                return Calculate.partialDerivativeRhoT(1 / v, T, x, y, z);
+
+            } else if (region instanceof Region4) {
+                return settings().REGION4.partialDerivativePH(p, h, x, y, z); // incomplete implementation
+
+            } else {
+                return Calculate.partialDerivativePT(region, p, T, x, y, z);
+            }
+        } catch (OutOfRangeException e) {
+            return outOfRange(e);
+        }
+    }
+
+    /**
+     * Gets the partial derivative of z with respect to x for constant y in SI
+     * units, as a function of pressure and temperature.
+     *
+     * <p>
+     * (<sup>&part;z</sup>/<sub>&part;x</sub>)<sub>y</sub>(p, T)
+     * </p>
+     *
+     * Note that this method is not suitable for the saturated region as
+     * pressure and temperature are coupled. Preferably, use
+     * {@link #partialDerivativePH(double, double, com.hummeling.if97.IF97.Quantity, com.hummeling.if97.IF97.Quantity, com.hummeling.if97.IF97.Quantity)}
+     * instead.
+     *
+     * @param pressure absolute pressure
+     * @param temperature temperature
+     * @param x any {@link Quantity} part of the set returned by
+     * {@link Quantity#getPartialDerivatives()}
+     * @param y any {@link Quantity} part of the set returned by
+     * {@link Quantity#getPartialDerivatives()}
+     * @param z any {@link Quantity} part of the set returned by
+     * {@link Quantity#getPartialDerivatives()}
+     * @return partial derivative [SI units]
+     * @throws OutOfRangeException out-of-range exception
+     * @see Quantity#getPartialDerivatives()
+     * @see #partialDerivativePH(double, double,
+     * com.hummeling.if97.IF97.Quantity, com.hummeling.if97.IF97.Quantity,
+     * com.hummeling.if97.IF97.Quantity)
+     */
+    public double partialDerivativePT(double pressure, double temperature, Quantity x, Quantity y, Quantity z) throws OutOfRangeException {
+
+        if (!PARTIAL_DERIVATIVE_QUANTITIES.contains(x)) {
+            throw new IllegalArgumentException("Partial derivative with respect to " + x + " is not supported, see IF97.Quantity.getPartialDerivatives() for supported quantities.");
+
+        } else if (!PARTIAL_DERIVATIVE_QUANTITIES.contains(y)) {
+            throw new IllegalArgumentException("Partial derivative for constant " + y + " is not supported, see IF97.Quantity.getPartialDerivatives() for supported quantities.");
+
+        } else if (!PARTIAL_DERIVATIVE_QUANTITIES.contains(z)) {
+            throw new IllegalArgumentException("Partial derivative of " + z + " is not supported, see IF97.Quantity.getPartialDerivatives() for supported quantities.");
+        }
+        double p = convertToDefault(settings().UNIT_SYSTEM.PRESSURE, pressure),
+                T = convertToDefault(settings().UNIT_SYSTEM.TEMPERATURE, temperature);
+
+        try {
+            Region region = resolve(Region.getRegionPT(p, T, settings().VALIDATION));
+
+            if (region instanceof Region3) {
+                double v = region.specificVolumePT(p, T);
+
+                return Calculate.partialDerivativeRhoT(1 / v, T, x, y, z);
+            }
+            return Calculate.partialDerivativePT(region, p, T, x, y, z);
+
+        } catch (OutOfRangeException e) {
+            return outOfRange(e);
+        }
+    }
+
+    /**
+     * Gets the partial derivative of z with respect to x for constant y in SI
+     * units, as a function of density and temperature, valid in region 3 only!
+     *
+     * <p>
+     * (<sup>&part;z</sup>/<sub>&part;x</sub>)<sub>y</sub>(&rho;, T)
+     * </p>
+     * Preferably, use
+     * {@link #partialDerivativePH(double, double, com.hummeling.if97.IF97.Quantity, com.hummeling.if97.IF97.Quantity, com.hummeling.if97.IF97.Quantity)}
+     * instead.
+     *
+     * @param density density
+     * @param temperature temperature
+     * @param x any {@link Quantity} part of the set returned by
+     * {@link Quantity#getPartialDerivatives()}
+     * @param y any {@link Quantity} part of the set returned by
+     * {@link Quantity#getPartialDerivatives()}
+     * @param z any {@link Quantity} part of the set returned by
+     * {@link Quantity#getPartialDerivatives()}
+     * @return partial derivative [SI units]
+     * @throws OutOfRangeException out-of-range exception
+     * @see Quantity#getPartialDerivatives()
+     * @see #partialDerivativePH(double, double,
+     * com.hummeling.if97.IF97.Quantity, com.hummeling.if97.IF97.Quantity,
+     * com.hummeling.if97.IF97.Quantity)
+     */
+    public double partialDerivativeRhoT(double density, double temperature, Quantity x, Quantity y, Quantity z) throws OutOfRangeException {
+
+        double rho = convertToDefault(settings().UNIT_SYSTEM.DENSITY, density),
+                T = convertToDefault(settings().UNIT_SYSTEM.TEMPERATURE, temperature);
+
+        try {
+            return Calculate.partialDerivativeRhoT(rho, T, x, y, z);
+
+        } catch (OutOfRangeException e) {
+            return outOfRange(e);
+        }
+    }
+
+    /**
+     * Pressure as a function of specific enthalpy &amp; specific entropy.
+     *
+     * @param enthalpy specific enthalpy
+     * @param entropy specific entropy
+     * @return pressure
+     * @throws OutOfRangeException out-of-range exception
+     */
+    public double pressureHS(double enthalpy, double entropy) throws OutOfRangeException {
+
+        double h = convertToDefault(settings().UNIT_SYSTEM.SPECIFIC_ENTHALPY, enthalpy),
+                s = convertToDefault(settings().UNIT_SYSTEM.SPECIFIC_ENTROPY, entropy),
+                p;
+
+        try {
+            Region region = resolve(Region.getRegionHS(h, s, settings().VALIDATION));
+
+            p = region.pressureHS(h, s);
+
+            if (settings().SAMPLER != null) {
+                settings().SAMPLER.sample(ShadowSampler.Check.PRESSURE_HS, region, h, s, p);
+            }
+        } catch (OutOfRangeException e) {
+            return outOfRange(e);
+        }
+        return convertFromDefault(settings().UNIT_SYSTEM.PRESSURE, p);
+    }
+
+    /**
+     * Pressure as a function of specific enthalpy &amp; specific entropy.
+     *
+     * @param enthalpy specific enthalpy
+     * @param entropy specific entropy
+     * @param hint region hint, see {@link RegionHint}
+     * @return pressure
+     * @throws OutOfRangeException out-of-range exception
+     */
+    public double pressureHS(double enthalpy, double entropy, RegionHint hint) throws OutOfRangeException {
+
+        double h = convertToDefault(settings().UNIT_SYSTEM.SPECIFIC_ENTHALPY, enthalpy),
+                s = convertToDefault(settings().UNIT_SYSTEM.SPECIFIC_ENTROPY, entropy),
+                p;
+
+        try {
+            Region region = resolve(Region.getRegionHS(h, s, hint, settings().VERIFY_REGION_HINTS));
+
+            p = region.pressureHS(h, s);
+
+            if (settings().SAMPLER != null) {
+                settings().SAMPLER.sample(ShadowSampler.Check.PRESSURE_HS, region, h, s, p);
+            }
+        } catch (OutOfRangeException e) {
+            return outOfRange(e);
+        }
+        return convertFromDefault(settings().UNIT_SYSTEM.PRESSURE, p);
+    }
+
+    /**
+     * Refractive index as a function of specific enthalpy, specific entropy
+     * &amp; wave length.
+     *
+     * @param enthalpy specific enthalpy
+     * @param entropy specific entropy
+     * @param wavelength wavelength
+     * @return refractive index [-]
+     * @throws OutOfRangeException out-of-range exception
+     */
+    public double refractiveIndexHSLambda(double enthalpy, double entropy, double wavelength) throws OutOfRangeException {
+
+        double h = convertToDefault(settings().UNIT_SYSTEM.SPECIFIC_ENTHALPY, enthalpy),
+                s = convertToDefault(settings().UNIT_SYSTEM.SPECIFIC_ENTROPY, entropy),
+                lambda = convertToDefault(settings().UNIT_SYSTEM.WAVELENGTH, wavelength);
+
+        try {
+            Region region = resolve(Region.getRegionHS(h, s, settings().VALIDATION));
+
+            double v = region.specificVolumeHS(h, s),
+                    T = region.temperatureHS(h, s);
+
+            return Calculate.refractiveIndexRhoTLambda(1 / v, T, lambda);
+
+        } catch (OutOfRangeException e) {
+            return outOfRange(e);
+        }
+    }
+
+    /**
+     * Refractive index as a function of pressure, specific enthalpy &amp; wave
+     * length.
+     *
+     * @param pressure absolute pressure
+     * @param enthalpy specific enthalpy
+     * @param wavelength wavelength
+     * @return refractive index [-]
+     * @throws OutOfRangeException out-of-range exception
+     */
+    public double refractiveIndexPHLambda(double pressure, double enthalpy, double wavelength) throws OutOfRangeException {
+
+        double p = convertToDefault(settings().UNIT_SYSTEM.PRESSURE, pressure),
+                h = convertToDefault(settings().UNIT_SYSTEM.SPECIFIC_ENTHALPY, enthalpy),
+                lambda = convertToDefault(settings().UNIT_SYSTEM.WAVELENGTH, wavelength);
+
+        try {
+            Region region = resolve(Region.getRegionPH(p, h, settings().VALIDATION));
+
+            double v = region.specificVolumePH(p, h),
+                    T = region.temperaturePH(p, h);
+
+            return Calculate.refractiveIndexRhoTLambda(1 / v, T, lambda);
+
+        } catch (OutOfRangeException e) {
+            return outOfRange(e);
+        }
+    }
+
+    /**
+     * Refractive index as a function of pressure, specific entropy &amp; wave
+     * length.
+     *
+     * @param pressure absolute pressure
+     * @param entropy specific entropy
+     * @param wavelength wavelength
+     * @return refractive index [-]
+     * @throws OutOfRangeException out-of-range exception
+     */
+    public double refractiveIndexPSLambda(double pressure, double entropy, double wavelength) throws OutOfRangeException {
+
+        double p = convertToDefault(settings().UNIT_SYSTEM.PRESSURE, pressure),
+                s = convertToDefault(settings().UNIT_SYSTEM.SPECIFIC_ENTROPY, entropy),
+                lambda = convertToDefault(settings().UNIT_SYSTEM.WAVELENGTH, wavelength);
+
+        try {
+            Region region = resolve(Region.getRegionPS(p, s, settings().VALIDATION));
+
+            double v = region.specificVolumePS(p, s),
+                    T = region.temperaturePS(p, s);
+
+            return Calculate.refractiveIndexRhoTLambda(1 / v, T, lambda);
+
+        } catch (OutOfRangeException e) {
+            return outOfRange(e);
+        }
+    }
+
+    /**
+     * Refractive index as a function of pressure, temperature &amp; wave
+     * length.
+     *
+     * @param pressure absolute pressure
+     * @param temperature temperature
+     * @param wavelength wavelength
+     * @return refractive index [-]
+     * @throws OutOfRangeException out-of-range exception
+     */
+    public double refractiveIndexPTLambda(double pressure, double temperature, double wavelength) throws OutOfRangeException {
+
+        double p = convertToDefault(settings().UNIT_SYSTEM.PRESSURE, pressure),
+                T = convertToDefault(settings().UNIT_SYSTEM.TEMPERATURE, temperature),
+                lambda = convertToDefault(settings().UNIT_SYSTEM.WAVELENGTH, wavelength);
+
+        try {
+            double v = resolve(Region.getRegionPT(p, T, settings().VALIDATION)).specificVolumePT(p, T);
+
+            return Calculate.refractiveIndexRhoTLambda(1 / v, T, lambda);
+
+        } catch (OutOfRangeException e) {
+            return outOfRange(e);
+        }
+    }
+
+    /**
+     * Refractive index as a function of density, temperature &amp; wave length.
+     *
+     * @param density density
+     * @param temperature temperature
+     * @param waveLength wave length
+     * @return refractive index [-]
+     * @throws OutOfRangeException out-of-range exception
+     */
+    public double refractiveIndexRhoTLambda(double density, double temperature, double waveLength) throws OutOfRangeException {
+
+        double rho = convertToDefault(settings().UNIT_SYSTEM.DENSITY, density),
+                T = convertToDefault(settings().UNIT_SYSTEM.TEMPERATURE, temperature),
+                lambda = convertToDefault(settings().UNIT_SYSTEM.WAVELENGTH, waveLength);
+
+        try {
+            return Calculate.refractiveIndexRhoTLambda(rho, T, lambda);
+
+        } catch (OutOfRangeException e) {
+            return outOfRange(e);
+        }
+    }
+
+    /**
+     * Checks pressure against the saturation line's limits.
+     */
+    private void checkP(double pressure) throws OutOfRangeException {
+        settings().REGION4.checkP(pressure);
+    }
+
+    /**
+     * Checks temperature against the saturation line's limits.
+     */
+    private void checkT(double temperature) throws OutOfRangeException {
+        settings().REGION4.checkT(temperature);
+    }
+
+    /**
+     * Checks (h, s) against the two-phase envelope, or only its entropy
+     * limits below full validation.
+     */
+    private void checkHS(double enthalpy, double entropy) throws OutOfRangeException {
+
+        if (settings().VALIDATION == ValidationLevel.FULL) {
+            settings().REGION4.checkHS(enthalpy, entropy);
+
+        } else {
+            settings().REGION4.checkS(entropy);
+        }
+    }
+
+    /**
+     * Handles an out-of-range input of a method returning a double.
+     *
+     * @param e out-of-range exception (default units)
+     * @return NaN if validation is off
+     * @throws OutOfRangeException the exception in this object's unit system
+     * otherwise
+     */
+    private double outOfRange(OutOfRangeException e) throws OutOfRangeException {
+
+        if (settings().VALIDATION == ValidationLevel.NONE) {
+            return Double.NaN;
+        }
+        throw e.convertFromDefault(settings().UNIT_SYSTEM);
+    }
+
+    /**
+     * Region as selected by the region boundaries, with regions 2, 4 &amp; 5
+     * being the ones of this object.
+     */
+    private Region resolve(Region region) {
+        return settings().resolve(region);
+    }
+
+    /**
+     * Saturation state as a function of pressure, holding saturation
+     * temperature and saturated liquid &amp; vapour properties, computed once,
+     * see {@link SaturationState}.
+     *
+     * @param pressure absolute pressure
+     * @return saturation state in this object's unit system
+     * @throws OutOfRangeException out-of-range exception
+     */
+    public SaturationState saturationAtP(double pressure) throws OutOfRangeException {
+
+        double p = convertToDefault(settings().UNIT_SYSTEM.PRESSURE, pressure);
+
+        try {
+            checkP(p);
+
+            return new SaturationState(settings().UNIT_SYSTEM, settings().REGION4, p, settings().REGION4.saturationTemperatureP(p));
+
+        } catch (OutOfRangeException e) {
+            throw e.convertFromDefault(settings().UNIT_SYSTEM);
+        }
+    }
+
+    /**
+     * Saturation state as a function of temperature, holding saturation
+     * pressure and saturated liquid &amp; vapour properties, computed once,
+     * see {@link SaturationState}.
+     *
+     * @param temperature temperature
+     * @return saturation state in this object's unit system
+     * @throws OutOfRangeException out-of-range exception
+     */
+    public SaturationState saturationAtT(double temperature) throws OutOfRangeException {
+
+        double T = convertToDefault(settings().UNIT_SYSTEM.TEMPERATURE, temperature);
+
+        try {
+            checkT(T);
+
+            return new SaturationState(settings().UNIT_SYSTEM, settings().REGION4, settings().REGION4.saturationPressureT(T), T);
+
+        } catch (OutOfRangeException e) {
+            throw e.convertFromDefault(settings().UNIT_SYSTEM);
+        }
+    }
+
+    /**
+     * Saturation pressure as a function of specific enthalpy &amp; specific
+     * entropy.
+     *
+     * @param enthalpy specific enthalpy
+     * @param entropy specific entropy
+     * @return saturation pressure
+     * @throws OutOfRangeException out-of-range exception
+     */
+    public double saturationPressureHS(double enthalpy, double entropy) throws OutOfRangeException {
+
+        double h = convertToDefault(settings().UNIT_SYSTEM.SPECIFIC_ENTHALPY, enthalpy),
+                s = convertToDefault(settings().UNIT_SYSTEM.SPECIFIC_ENTROPY, entropy),
+                p;
+
+        try {
+            checkHS(h, s);
+
+            p = settings().REGION4.pressureHS(h, s);
+
+            if (p < p0) {
+                throw new OutOfRangeException(Quantity.p, p, p0);
+            }
+        } catch (OutOfRangeException e) {
+            return outOfRange(e);
+        }
+        return convertFromDefault(settings().UNIT_SYSTEM.PRESSURE, p);
+    }
+
+    /**
+     * Saturation pressure as a function of temperature.
+     *
+     * @param temperature saturation temperature
+     * @return saturation pressure
+     * @throws OutOfRangeException out-of-range exception
+     */
+    public double saturationPressureT(double temperature) throws OutOfRangeException {
+
+        double T = convertToDefault(settings().UNIT_SYSTEM.TEMPERATURE, temperature),
+                p;
+
+        try {
+            checkT(T);
+
+            p = settings().REGION4.saturationPressureT(T);
+
+        } catch (OutOfRangeException e) {
+            return outOfRange(e);
+        }
+        return convertFromDefault(settings().UNIT_SYSTEM.PRESSURE, p);
+    }
+
+    /**
+     * Saturation temperature as a function of specific enthalpy &amp; specific
+     * entropy.
+     *
+     * @param enthalpy specific enthalpy
+     * @param entropy specific entropy
+     * @return saturation temperature
+     * @throws OutOfRangeException out-of-range exception
+     */
+    public double saturationTemperatureHS(double enthalpy, double entropy) throws OutOfRangeException {
+
+        double h = convertToDefault(settings().UNIT_SYSTEM.SPECIFIC_ENTHALPY, enthalpy),
+                s = convertToDefault(settings().UNIT_SYSTEM.SPECIFIC_ENTROPY, entropy),
+                T;
+
+        try {
+            checkHS(h, s);
+
+            T = settings().REGION4.temperatureHS(h, s);
+
+        } catch (OutOfRangeException e) {
+            return outOfRange(e);
+        }
+        return convertFromDefault(settings().UNIT_SYSTEM.TEMPERATURE, T);
+    }
+
+    /**
+     * Saturation temperature as a function of pressure.
+     *
+     * @param pressure saturation pressure
+     * @return saturation temperature
+     * @throws OutOfRangeException out-of-range exception
+     */
+    public double saturationTemperatureP(double pressure) throws OutOfRangeException {
+
+        double p = convertToDefault(settings().UNIT_SYSTEM.PRESSURE, pressure),
+                T;
+
+        try {
+            checkP(p);
+
+            T = settings().REGION4.saturationTemperatureP(p);
+
+        } catch (OutOfRangeException e) {
+            return outOfRange(e);
+        }
+        return convertFromDefault(settings().UNIT_SYSTEM.TEMPERATURE, T);
+    }
+
+    /**
+     * Specific enthalpy as a function of pressure &amp; specific entropy.
+     *
+     * @param pressure absolute pressure
+     * @param entropy specific entropy
+     * @return specific enthalpy
+     * @throws OutOfRangeException out-of-range exception
+     */
+    public double specificEnthalpyPS(double pressure, double entropy) throws OutOfRangeException {
+
+        double p = convertToDefault(settings().UNIT_SYSTEM.PRESSURE, pressure),
+                s = convertToDefault(settings().UNIT_SYSTEM.SPECIFIC_ENTROPY, entropy),
+                h;
+
+        try {
+            h = resolve(Region.getRegionPS(p, s, settings().VALIDATION)).specificEnthalpyPS(p, s);
+
+        } catch (OutOfRangeException e) {
+            return outOfRange(e);
+        }
+        return convertFromDefault(settings().UNIT_SYSTEM.SPECIFIC_ENTHALPY, h);
+    }
+
+    /**
+     * Specific enthalpy as a function of pressure &amp; specific entropy.
+     *
+     * @param pressure absolute pressure
+     * @param entropy specific entropy
+     * @param hint region hint, see {@link RegionHint}
+     * @return specific enthalpy
+     * @throws OutOfRangeException out-of-range exception
+     */
+    public double specificEnthalpyPS(double pressure, double entropy, RegionHint hint) throws OutOfRangeException {
+
+        double p = convertToDefault(settings().UNIT_SYSTEM.PRESSURE, pressure),
+                s = convertToDefault(settings().UNIT_SYSTEM.SPECIFIC_ENTROPY, entropy),
+                h;
+
+        try {
+            h = resolve(Region.getRegionPS(p, s, hint, settings().VERIFY_REGION_HINTS)).specificEnthalpyPS(p, s);
+
+        } catch (OutOfRangeException e) {
+            return outOfRange(e);
+        }
+        return convertFromDefault(settings().UNIT_SYSTEM.SPECIFIC_ENTHALPY, h);
+    }
+
+    /**
+     * Specific enthalpy as a function of pressure &amp; temperature.
+     *
+     * @param pressure absolute pressure
+     * @param temperature temperature
+     * @return specific enthalpy
+     * @throws OutOfRangeException out-of-range exception
+     */
+    public double specificEnthalpyPT(double pressure, double temperature) throws OutOfRangeException {
+
+        double p = convertToDefault(settings().UNIT_SYSTEM.PRESSURE, pressure),
+                T = convertToDefault(settings().UNIT_SYSTEM.TEMPERATURE, temperature),
+                h;
+
+        try {
+            h = resolve(Region.getRegionPT(p, T, settings().VALIDATION)).specificEnthalpyPT(p, T);
+
+        } catch (OutOfRangeException e) {
+            return outOfRange(e);
+        }
+        return convertFromDefault(settings().UNIT_SYSTEM.SPECIFIC_ENTHALPY, h);
+    }
+
+    /**
+     * Specific enthalpy as a function of pressure &amp; temperature.
+     *
+     * @param pressure absolute pressure
+     * @param temperature temperature
+     * @param hint region hint, see {@link RegionHint}
+     * @return specific enthalpy
+     * @throws OutOfRangeException out-of-range exception
+     */
+    public double specificEnthalpyPT(double pressure, double temperature, RegionHint hint) throws OutOfRangeException {
+
+        double p = convertToDefault(settings().UNIT_SYSTEM.PRESSURE, pressure),
+                T = convertToDefault(settings().UNIT_SYSTEM.TEMPERATURE, temperature),
+                h;
+
+        try {
+            h = resolve(Region.getRegionPT(p, T, hint, settings().VERIFY_REGION_HINTS)).specificEnthalpyPT(p, T);
+
+        } catch (OutOfRangeException e) {
+            return outOfRange(e);
+        }
+        return convertFromDefault(settings().UNIT_SYSTEM.SPECIFIC_ENTHALPY, h);
+    }
+
+    /**
+     * Specific enthalpy as a function of pressure &amp; vapour fraction.
+     *
+     * @param pressure absolute pressure
+     * @param vapourFraction vapour fraction [-]
+     * @return specific enthalpy
+     * @throws OutOfRangeException out-of-range exception
+     */
+    public double specificEnthalpyPX(double pressure, double vapourFraction) throws OutOfRangeException {
+
+        double p = convertToDefault(settings().UNIT_SYSTEM.PRESSURE, pressure),
+                h;
+
+        try {
+            checkP(p);
+
+            h = settings().REGION4.specificEnthalpyPX(p, vapourFraction);
+
+        } catch (OutOfRangeException e) {
+            return outOfRange(e);
+        }
+        return convertFromDefault(settings().UNIT_SYSTEM.SPECIFIC_ENTHALPY, h);
+    }
+
+    /**
+     * Specific enthalpy as a function of pressure for saturated liquid.
+     *
+     * @param pressure saturation pressure
+     * @return specific enthalpy
+     * @throws OutOfRangeException out-of-range exception
+     * @see #specificEnthalpyPX(double, double)
+     */
+    public double specificEnthalpySaturatedLiquidP(double pressure) throws OutOfRangeException {
+
+        double p = convertToDefault(settings().UNIT_SYSTEM.PRESSURE, pressure),
+                h;
+
+        try {
+            checkP(p);
+
+            h = settings().REGION4.specificEnthalpySaturatedLiquidP(p);
+
+        } catch (OutOfRangeException e) {
+            return outOfRange(e);
+        }
+        return convertFromDefault(settings().UNIT_SYSTEM.SPECIFIC_ENTHALPY, h);
+    }
+
+    /**
+     * Specific enthalpy as a function of temperature for saturated liquid.
+     *
+     * @param temperature saturation temperature
+     * @return specific enthalpy
+     * @throws OutOfRangeException out-of-range exception
+     * @see #specificEnthalpyTX(double, double)
+     */
+    public double specificEnthalpySaturatedLiquidT(double temperature) throws OutOfRangeException {
+
+        double T = convertToDefault(settings().UNIT_SYSTEM.TEMPERATURE, temperature),
+                h;
+
+        try {
+            checkT(T);
+
+            h = settings().REGION4.specificEnthalpySaturatedLiquidP(settings().REGION4.saturationPressureT(T));
+
+        } catch (OutOfRangeException e) {
+            return outOfRange(e);
+        }
+        return convertFromDefault(settings().UNIT_SYSTEM.SPECIFIC_ENTHALPY, h);
+    }
+
+    /**
+     * Specific enthalpy as a function of pressure for saturated vapour.
+     *
+     * @param pressure saturation pressure
+     * @return specific enthalpy
+     * @throws OutOfRangeException out-of-range exception
+     * @see #specificEnthalpyPX(double, double)
+     */
+    public double specificEnthalpySaturatedVapourP(double pressure) throws OutOfRangeException {
+
+        double p = convertToDefault(settings().UNIT_SYSTEM.PRESSURE, pressure),
+                h;
+
+        try {
+            checkP(p);
+
+            h = settings().REGION4.specificEnthalpySaturatedVapourP(p);
+
+        } catch (OutOfRangeException e) {
+            return outOfRange(e);
+        }
+        return convertFromDefault(settings().UNIT_SYSTEM.SPECIFIC_ENTHALPY, h);
+    }
+
+    /**
+     * Specific enthalpy as a function of temperature for saturated vapour.
+     *
+     * @param temperature saturation temperature
+     * @return specific enthalpy
+     * @throws OutOfRangeException out-of-range exception
+     * @see #specificEnthalpyTX(double, double)
+     */
+    public double specificEnthalpySaturatedVapourT(double temperature) throws OutOfRangeException {
+
+        double T = convertToDefault(settings().UNIT_SYSTEM.TEMPERATURE, temperature),
+                h;
+
+        try {
+            checkT(T);
+
+            h = settings().REGION4.specificEnthalpySaturatedVapourP(settings().REGION4.saturationPressureT(T));
+
+        } catch (OutOfRangeException e) {
+            return outOfRange(e);
+        }
+        return convertFromDefault(settings().UNIT_SYSTEM.SPECIFIC_ENTHALPY, h);
+    }
+
+    /**
+     * Specific enthalpy as a function of temperature &amp; vapour fraction.
+     *
+     * @param temperature temperature
+     * @param vapourFraction vapour fraction [-]
+     * @return specific enthalpy
+     * @throws OutOfRangeException out-of-range exception
+     */
+    public double specificEnthalpyTX(double temperature, double vapourFraction) throws OutOfRangeException {
+
+        double T = convertToDefault(settings().UNIT_SYSTEM.TEMPERATURE, temperature),
+                h;
+
+        try {
+            checkT(T);
+
+            h = settings().REGION4.specificEnthalpyPX(settings().REGION4.saturationPressureT(T), vapourFraction);
+
+        } catch (OutOfRangeException e) {
+            return outOfRange(e);
+        }
+        return convertFromDefault(settings().UNIT_SYSTEM.SPECIFIC_ENTHALPY, h);
+    }
+
+    /**
+     * Specific entropy as a function of pressure &amp; specific enthalpy.
+     *
+     * @param pressure absolute pressure
+     * @param enthalpy specific enthalpy
+     * @return specific entropy
+     * @throws OutOfRangeException out-of-range exception
+     */
+    public double specificEntropyPH(double pressure, double enthalpy) throws OutOfRangeException {
+
+        double p = convertToDefault(settings().UNIT_SYSTEM.PRESSURE, pressure),
+                h = convertToDefault(settings().UNIT_SYSTEM.SPECIFIC_ENTHALPY, enthalpy),
+                s;
+
+        try {
+            Region region = resolve(Region.getRegionPH(p, h, settings().VALIDATION));
+
+            if (region instanceof Region4) {
+                s = settings().REGION4.specificEntropyPH(p, h);
+
+            } else {
+                double T = region.temperaturePH(p, h);
+
+                s = region.specificEntropyPT(p, T);
+            }
+        } catch (OutOfRangeException e) {
+            return outOfRange(e);
+        }
+        return convertFromDefault(settings().UNIT_SYSTEM.SPECIFIC_ENTROPY, s);
+    }
+
+    /**
+     * Specific entropy as a function of pressure &amp; specific enthalpy.
+     *
+     * @param pressure absolute pressure
+     * @param enthalpy specific enthalpy
+     * @param hint region hint, see {@link RegionHint}
+     * @return specific entropy
+     * @throws OutOfRangeException out-of-range exception
+     */
+    public double specificEntropyPH(double pressure, double enthalpy, RegionHint hint) throws OutOfRangeException {
+
+        double p = convertToDefault(settings().UNIT_SYSTEM.PRESSURE, pressure),
+                h = convertToDefault(settings().UNIT_SYSTEM.SPECIFIC_ENTHALPY, enthalpy),
+                s;
+
+        try {
+            Region region = resolve(Region.getRegionPH(p, h, hint, settings().VERIFY_REGION_HINTS));
+
+            if (region instanceof Region4) {
+                s = settings().REGION4.specificEntropyPH(p, h);
+
+            } else {
+                double T = region.temperaturePH(p, h);
+
+                s = region.specificEntropyPT(p, T);
+            }
+        } catch (OutOfRangeException e) {
+            return outOfRange(e);
+        }
+        return convertFromDefault(settings().UNIT_SYSTEM.SPECIFIC_ENTROPY, s);
+    }
+
+    /**
+     * Specific entropy as a function of pressure &amp; temperature.
+     *
+     * @param pressure absolute pressure
+     * @param temperature temperature
+     * @return specific entropy
+     * @throws OutOfRangeException out-of-range exception
+     */
+    public double specificEntropyPT(double pressure, double temperature) throws OutOfRangeException {
+
+        double p = convertToDefault(settings().UNIT_SYSTEM.PRESSURE, pressure),
+                T = convertToDefault(settings().UNIT_SYSTEM.TEMPERATURE, temperature),
+                s;
+
+        try {
+            s = resolve(Region.getRegionPT(p, T, settings().VALIDATION)).specificEntropyPT(p, T);
+
+        } catch (OutOfRangeException e) {
+            return outOfRange(e);
+        }
+
+        return convertFromDefault(settings().UNIT_SYSTEM.SPECIFIC_ENTROPY, s);
+    }
+
+    /**
+     * Specific entropy as a function of pressure &amp; temperature.
+     *
+     * @param pressure absolute pressure
+     * @param temperature temperature
+     * @param hint region hint, see {@link RegionHint}
+     * @return specific entropy
+     * @throws OutOfRangeException out-of-range exception
+     */
+    public double specificEntropyPT(double pressure, double temperature, RegionHint hint) throws OutOfRangeException {
+
+        double p = convertToDefault(settings().UNIT_SYSTEM.PRESSURE, pressure),
+                T = convertToDefault(settings().UNIT_SYSTEM.TEMPERATURE, temperature),
+                s;
+
+        try {
+            s = resolve(Region.getRegionPT(p, T, hint, settings().VERIFY_REGION_HINTS)).specificEntropyPT(p, T);
+
+        } catch (OutOfRangeException e) {
+            return outOfRange(e);
+        }
+
+        return convertFromDefault(settings().UNIT_SYSTEM.SPECIFIC_ENTROPY, s);
+    }
+
+    /**
+     * Specific entropy as a function of pressure &amp; vapour fraction.
+     *
+     * @param pressure absolute pressure
+     * @param vapourFraction vapour fraction [-]
+     * @return specific entropy
+     * @throws OutOfRangeException out-of-range exception
+     */
+    public double specificEntropyPX(double pressure, double vapourFraction) throws OutOfRangeException {
+
+        double p = convertToDefault(settings().UNIT_SYSTEM.PRESSURE, pressure),
+                s;
+
+        try {
+            checkP(p);
+
+            s = settings().REGION4.specificEntropyPX(p, vapourFraction);
+
+        } catch (OutOfRangeException e) {
+            return outOfRange(e);
+        }
+        return convertFromDefault(settings().UNIT_SYSTEM.SPECIFIC_ENTROPY, s);
+    }
+
+    /**
+     * Specific entropy as a function of pressure for saturated liquid.
+     *
+     * @param pressure saturation pressure
+     * @return specific entropy
+     * @throws OutOfRangeException out-of-range exception
+     * @see #specificEntropyPX(double, double)
+     */
+    public double specificEntropySaturatedLiquidP(double pressure) throws OutOfRangeException {
+
+        double p = convertToDefault(settings().UNIT_SYSTEM.PRESSURE, pressure),
+                s;
+
+        try {
+            checkP(p);
+
+            s = settings().REGION4.specificEntropySaturatedLiquidP(p);
+
+        } catch (OutOfRangeException e) {
+            return outOfRange(e);
+        }
+        return convertFromDefault(settings().UNIT_SYSTEM.SPECIFIC_ENTROPY, s);
+    }
+
+    /**
+     * Specific entropy as a function of temperature for saturated liquid.
+     *
+     * @param temperature saturation temperature
+     * @return specific entropy
+     * @throws OutOfRangeException out-of-range exception
+     * @see #specificEntropyTX(double, double)
+     */
+    public double specificEntropySaturatedLiquidT(double temperature) throws OutOfRangeException {
+
+        double T = convertToDefault(settings().UNIT_SYSTEM.TEMPERATURE, temperature),
+                s;
+
+        try {
+            checkT(T);
+
+            s = settings().REGION4.specificEntropySaturatedLiquidP(settings().REGION4.saturationPressureT(T));
+
+        } catch (OutOfRangeException e) {
+            return outOfRange(e);
+        }
+        return convertFromDefault(settings().UNIT_SYSTEM.SPECIFIC_ENTROPY, s);
+    }
+
+    /**
+     * Specific entropy as a function of pressure for saturated vapour.
+     *
+     * @param pressure saturation pressure
+     * @return specific entropy
+     * @throws OutOfRangeException out-of-range exception
+     * @see #specificEntropyPX(double, double)
+     */
+    public double specificEntropySaturatedVapourP(double pressure) throws OutOfRangeException {
+
+        double p = convertToDefault(settings().UNIT_SYSTEM.PRESSURE, pressure),
+                s;
+
+        try {
+            checkP(p);
+
+            s = settings().REGION4.specificEntropySaturatedVapourP(p);
+
+        } catch (OutOfRangeException e) {
+            return outOfRange(e);
+        }
+        return convertFromDefault(settings().UNIT_SYSTEM.SPECIFIC_ENTROPY, s);
+    }
+
+    /**
+     * Specific entropy as a function of temperature for saturated vapour.
+     *
+     * @param temperature saturation temperature
+     * @return specific entropy
+     * @throws OutOfRangeException out-of-range exception
+     * @see #specificEntropyTX(double, double)
+     */
+    public double specificEntropySaturatedVapourT(double temperature) throws OutOfRangeException {
+
+        double T = convertToDefault(settings().UNIT_SYSTEM.TEMPERATURE, temperature),
+                s;
+
+        try {
+            checkT(T);
+
+            s = settings().REGION4.specificEntropySaturatedVapourP(settings().REGION4.saturationPressureT(T));
+
+        } catch (OutOfRangeException e) {
+            return outOfRange(e);
+        }
+        return convertFromDefault(settings().UNIT_SYSTEM.SPECIFIC_ENTROPY, s);
+    }
+
+    /**
+     * Specific entropy as a function of temperature &amp; vapour fraction.
+     *
+     * @param temperature temperature
+     * @param vapourFraction vapour fraction [-]
+     * @return specific entropy
+     * @throws OutOfRangeException out-of-range exception
+     */
+    public double specificEntropyTX(double temperature, double vapourFraction) throws OutOfRangeException {
+
+        double T = convertToDefault(settings().UNIT_SYSTEM.TEMPERATURE, temperature),
+                s;
+
+        try {
+            checkT(T);
+
+            s = settings().REGION4.specificEntropyPX(settings().REGION4.saturationPressureT(T), vapourFraction);
+
+        } catch (OutOfRangeException e) {
+            return outOfRange(e);
+        }
+        return convertFromDefault(settings().UNIT_SYSTEM.SPECIFIC_ENTROPY, s);
+    }
+
+    /**
+     * Specific Gibbs free energy as a function of pressure &amp; temperature.
+     *
+     * @param pressure absolute pressure
+     * @param temperature temperature
+     * @return specific Gibbs free energy
+     * @throws OutOfRangeException out-of-range exception
+     */
+    public double specificGibbsFreeEnergyPT(double pressure, double temperature) throws OutOfRangeException {
+
+        double p = convertToDefault(settings().UNIT_SYSTEM.PRESSURE, pressure),
+                T = convertToDefault(settings().UNIT_SYSTEM.TEMPERATURE, temperature),
+                g;
+
+        try {
+            g = resolve(Region.getRegionPT(p, T, settings().VALIDATION)).specificGibbsFreeEnergyPT(p, T);
+
+        } catch (OutOfRangeException e) {
+            return outOfRange(e);
+        }
+        return convertFromDefault(settings().UNIT_SYSTEM.SPECIFIC_ENERGY, g);
+    }
+
+    /**
+     * Specific internal energy as a function of specific enthalpy &amp;
+     * specific entropy.
+     *
+     * @param enthalpy specific enthalpy
+     * @param entropy specific entropy
+     * @return specific internal energy
+     * @throws OutOfRangeException out-of-range exception
+     * @see #specificInternalEnergyPT(double, double)
+     */
+    public double specificInternalEnergyHS(double enthalpy, double entropy) throws OutOfRangeException {
+
+        double h = convertToDefault(settings().UNIT_SYSTEM.SPECIFIC_ENTHALPY, enthalpy),
+                s = convertToDefault(settings().UNIT_SYSTEM.SPECIFIC_ENTROPY, entropy),
+                u;
+
+        try {
+            Region region = resolve(Region.getRegionHS(h, s, settings().VALIDATION));
+
+            double p = region.pressureHS(h, s),
+                    T = region.temperatureHS(h, s);
+
+            u = region.specificInternalEnergyPT(p, T);
+
+        } catch (OutOfRangeException e) {
+            return outOfRange(e);
+        }
+        return convertFromDefault(settings().UNIT_SYSTEM.SPECIFIC_ENERGY, u);
+    }
+
+    /**
+     * Specific internal energy as a function of pressure &amp; specific
+     * enthalpy.
+     *
+     * @param pressure absolute pressure
+     * @param enthalpy specific enthalpy
+     * @return specific internal energy
+     * @throws OutOfRangeException out-of-range exception
+     * @see #specificInternalEnergyPT(double, double)
+     */
+    public double specificInternalEnergyPH(double pressure, double enthalpy) throws OutOfRangeException {
+
+        double p = convertToDefault(settings().UNIT_SYSTEM.PRESSURE, pressure),
+                h = convertToDefault(settings().UNIT_SYSTEM.SPECIFIC_ENTHALPY, enthalpy),
+                u;
+
+        try {
+            Region region = resolve(Region.getRegionPH(p, h, settings().VALIDATION));
+
+            if (region instanceof Region4) {
+                u = settings().REGION4.specificInternalEnergyPH(p, h);
+
+            } else {
+                double T = region.temperaturePH(p, h);
+
+                u = region.specificInternalEnergyPT(p, T);
+            }
+        } catch (OutOfRangeException e) {
+            return outOfRange(e);
+        }
+        return convertFromDefault(settings().UNIT_SYSTEM.SPECIFIC_ENERGY, u);
+    }
+
+    /**
+     * Specific internal energy as a function of pressure &amp; specific
+     * entropy.
+     *
+     * @param pressure absolute pressure
+     * @param entropy specific entropy
+     * @return specific internal energy
+     * @throws OutOfRangeException out-of-range exception
+     * @see #specificInternalEnergyPT(double, double)
+     */
+    public double specificInternalEnergyPS(double pressure, double entropy) throws OutOfRangeException {
+
+        double p = convertToDefault(settings().UNIT_SYSTEM.PRESSURE, pressure),
+                s = convertToDefault(settings().UNIT_SYSTEM.SPECIFIC_ENTROPY, entropy),
+                u;
+
+        try {
+            Region region = resolve(Region.getRegionPS(p, s, settings().VALIDATION));
+
+            double T = region.temperaturePS(p, s);
+
+            u = region.specificInternalEnergyPT(p, T);
+
+        } catch (OutOfRangeException e) {
+            return outOfRange(e);
+        }
+        return convertFromDefault(settings().UNIT_SYSTEM.SPECIFIC_ENERGY, u);
+    }
+
+    /**
+     * Specific internal energy as a function of pressure &amp; temperature.
+     *
+     * @param pressure absolute pressure
+     * @param temperature temperature
+     * @return specific internal energy
+     * @throws OutOfRangeException out-of-range exception
+     */
+    public double specificInternalEnergyPT(double pressure, double temperature) throws OutOfRangeException {
+
+        double p = convertToDefault(settings().UNIT_SYSTEM.PRESSURE, pressure),
+                T = convertToDefault(settings().UNIT_SYSTEM.TEMPERATURE, temperature),
+                u;
+
+        try {
+            u = resolve(Region.getRegionPT(p, T, settings().VALIDATION)).specificInternalEnergyPT(p, T);
+
+        } catch (OutOfRangeException e) {
+            return outOfRange(e);
+        }
+        return convertFromDefault(settings().UNIT_SYSTEM.SPECIFIC_ENERGY, u);
+    }
+
+    /**
+     * Specific internal energy as a function of pressure &amp; temperature.
+     *
+     * @param pressure absolute pressure
+     * @param temperature temperature
+     * @param hint region hint, see {@link RegionHint}
+     * @return specific internal energy
+     * @throws OutOfRangeException out-of-range exception
+     */
+    public double specificInternalEnergyPT(double pressure, double temperature, RegionHint hint) throws OutOfRangeException {
+
+        double p = convertToDefault(settings().UNIT_SYSTEM.PRESSURE, pressure),
+                T = convertToDefault(settings().UNIT_SYSTEM.TEMPERATURE, temperature),
+                u;
+
+        try {
+            u = resolve(Region.getRegionPT(p, T, hint, settings().VERIFY_REGION_HINTS)).specificInternalEnergyPT(p, T);
+
+        } catch (OutOfRangeException e) {
+            return outOfRange(e);
+        }
+        return convertFromDefault(settings().UNIT_SYSTEM.SPECIFIC_ENERGY, u);
+    }
+
+    /**
+     * Specific internal energy as a function of pressure &amp; vapour fraction.
+     *
+     * @param pressure absolute pressure
+     * @param vapourFraction vapour fraction [-]
+     * @return specific internal energy
+     * @throws OutOfRangeException out-of-range exception
+     */
+    public double specificInternalEnergyPX(double pressure, double vapourFraction) throws OutOfRangeException {
+
+        double p = convertToDefault(settings().UNIT_SYSTEM.PRESSURE, pressure),
+                v;
+
+        try {
+            checkP(p);
+
+            v = settings().REGION4.specificInternalEnergyPX(p, vapourFraction);
+
+        } catch (OutOfRangeException e) {
+            return outOfRange(e);
+        }
+        return convertFromDefault(settings().UNIT_SYSTEM.SPECIFIC_VOLUME, v);
+    }
+
+    /**
+     * Specific internal energy as a function of pressure for saturated liquid.
+     *
+     * @param pressure saturation pressure
+     * @return specific internal energy
+     * @throws OutOfRangeException out-of-range exception
+     * @see #specificInternalEnergyPX(double, double)
+     */
+    public double specificInternalEnergySaturatedLiquidP(double pressure) throws OutOfRangeException {
+
+        double p = convertToDefault(settings().UNIT_SYSTEM.PRESSURE, pressure),
+                s;
+
+        try {
+            checkP(p);
+
+            s = settings().REGION4.specificInternalEnergySaturatedLiquidP(p);
+
+        } catch (OutOfRangeException e) {
+            return outOfRange(e);
+        }
+        return convertFromDefault(settings().UNIT_SYSTEM.SPECIFIC_ENTROPY, s);
+    }
+
+    /**
+     * Specific internal energy as a function of temperature for saturated
+     * liquid.
+     *
+     * @param temperature saturation temperature
+     * @return specific internal energy
+     * @throws OutOfRangeException out-of-range exception
+     * @see #specificInternalEnergyTX(double, double)
+     */
+    public double specificInternalEnergySaturatedLiquidT(double temperature) throws OutOfRangeException {
+
+        double T = convertToDefault(settings().UNIT_SYSTEM.TEMPERATURE, temperature),
+                s;
+
+        try {
+            checkT(T);
+
+            s = settings().REGION4.specificInternalEnergySaturatedLiquidP(settings().REGION4.saturationPressureT(T));
+
+        } catch (OutOfRangeException e) {
+            return outOfRange(e);
+        }
+        return convertFromDefault(settings().UNIT_SYSTEM.SPECIFIC_ENTROPY, s);
+    }
+
+    /**
+     * Specific internal energy as a function of pressure for saturated vapour.
+     *
+     * @param pressure saturation pressure
+     * @return specific internal energy
+     * @throws OutOfRangeException out-of-range exception
+     * @see #specificInternalEnergyPX(double, double)
+     */
+    public double specificInternalEnergySaturatedVapourP(double pressure) throws OutOfRangeException {
+
+        double p = convertToDefault(settings().UNIT_SYSTEM.PRESSURE, pressure),
+                s;
+
+        try {
+            checkP(p);
+
+            s = settings().REGION4.specificInternalEnergySaturatedVapourP(p);
+
+        } catch (OutOfRangeException e) {
+            return outOfRange(e);
+        }
+        return convertFromDefault(settings().UNIT_SYSTEM.SPECIFIC_ENTROPY, s);
+    }
+
+    /**
+     * Specific internal energy as a function of temperature for saturated
+     * vapour.
+     *
+     * @param temperature saturation temperature
+     * @return specific internal energy
+     * @throws OutOfRangeException out-of-range exception
+     * @see #specificInternalEnergyTX(double, double)
+     */
+    public double specificInternalEnergySaturatedVapourT(double temperature) throws OutOfRangeException {
+
+        double T = convertToDefault(settings().UNIT_SYSTEM.TEMPERATURE, temperature),
+                s;
+
+        try {
+            checkT(T);
+
+            s = settings().REGION4.specificInternalEnergySaturatedVapourP(settings().REGION4.saturationPressureT(T));
+
+        } catch (OutOfRangeException e) {
+            return outOfRange(e);
+        }
+        return convertFromDefault(settings().UNIT_SYSTEM.SPECIFIC_ENTROPY, s);
+    }
+
+    /**
+     * Specific internal energy as a function of temperature &amp; vapour
+     * fraction.
+     *
+     * @param temperature temperature
+     * @param vapourFraction vapour fraction [-]
+     * @return specific internal energy
+     * @throws OutOfRangeException out-of-range exception
+     */
+    public double specificInternalEnergyTX(double temperature, double vapourFraction) throws OutOfRangeException {
+
+        double T = convertToDefault(settings().UNIT_SYSTEM.TEMPERATURE, temperature),
+                v;
+
+        try {
+            checkT(T);
+
+            v = settings().REGION4.specificInternalEnergyPX(settings().REGION4.saturationPressureT(T), vapourFraction);
+
+        } catch (OutOfRangeException e) {
+            return outOfRange(e);
+        }
+        return convertFromDefault(settings().UNIT_SYSTEM.SPECIFIC_VOLUME, v);
+    }
+
+    /**
+     * Specific volume as a function of specific enthalpy &amp; specific
+     * entropy.
+     *
+     * @param enthalpy specific enthalpy
+     * @param entropy specific entropy
+     * @return specific volume
+     * @throws OutOfRangeException out-of-range exception
+     */
+    public double specificVolumeHS(double enthalpy, double entropy) throws OutOfRangeException {
+
+        double h = convertToDefault(settings().UNIT_SYSTEM.SPECIFIC_ENTHALPY, enthalpy),
+                s = convertToDefault(settings().UNIT_SYSTEM.SPECIFIC_ENTROPY, entropy),
+                v;
+
+        try {
+            v = resolve(Region.getRegionHS(h, s, settings().VALIDATION)).specificVolumeHS(h, s);
+
+        } catch (OutOfRangeException e) {
+            return outOfRange(e);
+        }
+        return convertFromDefault(settings().UNIT_SYSTEM.SPECIFIC_VOLUME, v);
+    }
+
+    /**
+     * Specific volume as a function of pressure &amp; specific enthalpy.
+     *
+     * @param pressure absolute pressure
+     * @param enthalpy specific enthalpy
+     * @return specific volume
+     * @throws OutOfRangeException out-of-range exception
+     */
+    public double specificVolumePH(double pressure, double enthalpy) throws OutOfRangeException {
+
+        double p = convertToDefault(settings().UNIT_SYSTEM.PRESSURE, pressure),
+                h = convertToDefault(settings().UNIT_SYSTEM.SPECIFIC_ENTHALPY, enthalpy),
+                v;
+
+        try {
+            v = resolve(Region.getRegionPH(p, h, settings().VALIDATION)).specificVolumePH(p, h);
+
+        } catch (OutOfRangeException e) {
+            return outOfRange(e);
+        }
+        return convertFromDefault(settings().UNIT_SYSTEM.SPECIFIC_VOLUME, v);
+    }
+
+    /**
+     * Specific volume as a function of pressure &amp; specific enthalpy.
+     *
+     * @param pressure absolute pressure
+     * @param enthalpy specific enthalpy
+     * @param hint region hint, see {@link RegionHint}
+     * @return specific volume
+     * @throws OutOfRangeException out-of-range exception
+     */
+    public double specificVolumePH(double pressure, double enthalpy, RegionHint hint) throws OutOfRangeException {
+
+        double p = convertToDefault(settings().UNIT_SYSTEM.PRESSURE, pressure),
+                h = convertToDefault(settings().UNIT_SYSTEM.SPECIFIC_ENTHALPY, enthalpy),
+                v;
+
+        try {
+            v = resolve(Region.getRegionPH(p, h, hint, settings().VERIFY_REGION_HINTS)).specificVolumePH(p, h);
+
+        } catch (OutOfRangeException e) {
+            return outOfRange(e);
+        }
+        return convertFromDefault(settings().UNIT_SYSTEM.SPECIFIC_VOLUME, v);
+    }
+
+    /**
+     * Specific volume as a function of pressure &amp; specific entropy.
+     *
+     * @param pressure absolute pressure
+     * @param entropy specific entropy
+     * @return specific volume
+     * @throws OutOfRangeException out-of-range exception
+     */
+    public double specificVolumePS(double pressure, double entropy) throws OutOfRangeException {
+
+        double p = convertToDefault(settings().UNIT_SYSTEM.PRESSURE, pressure),
+                s = convertToDefault(settings().UNIT_SYSTEM.SPECIFIC_ENTROPY, entropy),
+                v;
+
+        try {
+            v = resolve(Region.getRegionPS(p, s, settings().VALIDATION)).specificVolumePS(p, s);
+
+        } catch (OutOfRangeException e) {
+            return outOfRange(e);
+        }
+        return convertFromDefault(settings().UNIT_SYSTEM.SPECIFIC_VOLUME, v);
+    }
+
+    /**
+     * Specific volume as a function of pressure &amp; specific entropy.
+     *
+     * @param pressure absolute pressure
+     * @param entropy specific entropy
+     * @param hint region hint, see {@link RegionHint}
+     * @return specific volume
+     * @throws OutOfRangeException out-of-range exception
+     */
+    public double specificVolumePS(double pressure, double entropy, RegionHint hint) throws OutOfRangeException {
+
+        double p = convertToDefault(settings().UNIT_SYSTEM.PRESSURE, pressure),
+                s = convertToDefault(settings().UNIT_SYSTEM.SPECIFIC_ENTROPY, entropy),
+                v;
+
+        try {
+            v = resolve(Region.getRegionPS(p, s, hint, settings().VERIFY_REGION_HINTS)).specificVolumePS(p, s);
+
+        } catch (OutOfRangeException e) {
+            return outOfRange(e);
+        }
+        return convertFromDefault(settings().UNIT_SYSTEM.SPECIFIC_VOLUME, v);
+    }
+
+    /**
+     * Specific volume as a function of pressure &amp; temperature.
+     *
+     * @param pressure absolute pressure
+     * @param temperature temperature
+     * @return specific volume
+     * @throws OutOfRangeException out-of-range exception
+     */
+    public double specificVolumePT(double pressure, double temperature) throws OutOfRangeException {
+
+        double p = convertToDefault(settings().UNIT_SYSTEM.PRESSURE, pressure),
+                T = convertToDefault(settings().UNIT_SYSTEM.TEMPERATURE, temperature),
+                v;
+
+        try {
+            v = resolve(Region.getRegionPT(p, T, settings().VALIDATION)).specificVolumePT(p, T);
+
+        } catch (OutOfRangeException e) {
+            return outOfRange(e);
+        }
+        return convertFromDefault(settings().UNIT_SYSTEM.SPECIFIC_VOLUME, v);
+    }
+
+    /**
+     * Specific volume as a function of pressure &amp; temperature.
+     *
+     * @param pressure absolute pressure
+     * @param temperature temperature
+     * @param hint region hint, see {@link RegionHint}
+     * @return specific volume
+     * @throws OutOfRangeException out-of-range exception
+     */
+    public double specificVolumePT(double pressure, double temperature, RegionHint hint) throws OutOfRangeException {
+
+        double p = convertToDefault(settings().UNIT_SYSTEM.PRESSURE, pressure),
+                T = convertToDefault(settings().UNIT_SYSTEM.TEMPERATURE, temperature),
+                v;
+
+        try {
+            v = resolve(Region.getRegionPT(p, T, hint, settings().VERIFY_REGION_HINTS)).specificVolumePT(p, T);
+
+        } catch (OutOfRangeException e) {
+            return outOfRange(e);
+        }
+        return convertFromDefault(settings().UNIT_SYSTEM.SPECIFIC_VOLUME, v);
+    }
+
+    /**
+     * Specific volume as a function of pressure &amp; vapour fraction.
+     *
+     * @param pressure absolute pressure
+     * @param vapourFraction vapour fraction [-]
+     * @return specific volume
+     * @throws OutOfRangeException out-of-range exception
+     */
+    public double specificVolumePX(double pressure, double vapourFraction) throws OutOfRangeException {
+
+        double p = convertToDefault(settings().UNIT_SYSTEM.PRESSURE, pressure),
+                v;
+
+        try {
+            checkP(p);
+
+            v = settings().REGION4.specificVolumePX(p, vapourFraction);
+
+        } catch (OutOfRangeException e) {
+            return outOfRange(e);
+        }
+        return convertFromDefault(settings().UNIT_SYSTEM.SPECIFIC_VOLUME, v);
+    }
+
+    /**
+     * Specific volume as a function of pressure for saturated liquid.
+     *
+     * @param pressure absolute pressure
+     * @return specific volume
+     * @throws OutOfRangeException out-of-range exception
+     */
+    public double specificVolumeSaturatedLiquidP(double pressure) throws OutOfRangeException {
+
+        double p = convertToDefault(settings().UNIT_SYSTEM.PRESSURE, pressure),
+                v;
+
+        try {
+            checkP(p);
+
+            v = settings().REGION4.specificVolumeSaturatedLiquidP(p);
+
+        } catch (OutOfRangeException e) {
+            return outOfRange(e);
+        }
+        return convertFromDefault(settings().UNIT_SYSTEM.SPECIFIC_VOLUME, v);
+    }
+
+    /**
+     * Specific volume as a function of temperature for saturated liquid.
+     *
+     * @param temperature temperature
+     * @return specific volume
+     * @throws OutOfRangeException out-of-range exception
+     */
+    public double specificVolumeSaturatedLiquidT(double temperature) throws OutOfRangeException {
+
+        double T = convertToDefault(settings().UNIT_SYSTEM.TEMPERATURE, temperature),
+                v;
+
+        try {
+            checkT(T);
+
+            v = settings().REGION4.specificVolumeSaturatedLiquidP(settings().REGION4.saturationPressureT(T));
+
+        } catch (OutOfRangeException e) {
+            return outOfRange(e);
+        }
+        return convertFromDefault(settings().UNIT_SYSTEM.SPECIFIC_VOLUME, v);
+    }
+
+    /**
+     * Specific volume as a function of pressure for saturated vapour.
+     *
+     * @param pressure absolute pressure
+     * @return specific volume
+     * @throws OutOfRangeException out-of-range exception
+     */
+    public double specificVolumeSaturatedVapourP(double pressure) throws OutOfRangeException {
+
+        double p = convertToDefault(settings().UNIT_SYSTEM.PRESSURE, pressure),
+                v;
+
+        try {
+            checkP(p);
+
+            v = settings().REGION4.specificVolumeSaturatedVapourP(p);
+
+        } catch (OutOfRangeException e) {
+            return outOfRange(e);
+        }
+        return convertFromDefault(settings().UNIT_SYSTEM.SPECIFIC_VOLUME, v);
+    }
+
+    /**
+     * Specific volume as a function of temperature for saturated vapour.
+     *
+     * @param temperature temperature
+     * @return specific volume
+     * @throws OutOfRangeException out-of-range exception
+     */
+    public double specificVolumeSaturatedVapourT(double temperature) throws OutOfRangeException {
+
+        double T = convertToDefault(settings().UNIT_SYSTEM.TEMPERATURE, temperature),
+                v;
+
+        try {
+            checkT(T);
+
+            v = settings().REGION4.specificVolumeSaturatedVapourP(settings().REGION4.saturationPressureT(T));
+
+        } catch (OutOfRangeException e) {
+            return outOfRange(e);
+        }
+        return convertFromDefault(settings().UNIT_SYSTEM.SPECIFIC_VOLUME, v);
+    }
+
+    /**
+     * Specific volume as a function of temperature &amp; vapour fraction.
+     *
+     * @param temperature temperature
+     * @param vapourFraction vapour fraction [-]
+     * @return specific volume
+     * @throws OutOfRangeException out-of-range exception
+     */
+    public double specificVolumeTX(double temperature, double vapourFraction) throws OutOfRangeException {
+
+        double T = convertToDefault(settings().UNIT_SYSTEM.TEMPERATURE, temperature),
+                v;
+
+        try {
+            checkT(T);
+
+            v = settings().REGION4.specificVolumePX(settings().REGION4.saturationPressureT(T), vapourFraction);
+
+        } catch (OutOfRangeException e) {
+            return outOfRange(e);
+        }
+        return convertFromDefault(settings().UNIT_SYSTEM.SPECIFIC_VOLUME, v);
+    }
+
+    /**
+     * Speed of sound as a function of specific enthalpy &amp; specific entropy.
+     *
+     * @param enthalpy specific enthalpy
+     * @param entropy specific entropy
+     * @return speed of sound
+     * @throws OutOfRangeException out-of-range exception
+     * @see #speedOfSoundPT(double, double)
+     */
+    public double speedOfSoundHS(double enthalpy, double entropy) throws OutOfRangeException {
+
+        double h = convertToDefault(settings().UNIT_SYSTEM.SPECIFIC_ENTHALPY, enthalpy),
+                s = convertToDefault(settings().UNIT_SYSTEM.SPECIFIC_ENTROPY, entropy),
+                w;
+
+        try {
+            Region region = resolve(Region.getRegionHS(h, s, settings().VALIDATION));
+
+            double p = region.pressureHS(h, s),
+                    T = region.temperatureHS(h, s);
+
+            w = region.speedOfSoundPT(p, T);
+
+        } catch (OutOfRangeException e) {
+            return outOfRange(e);
+        }
+        return convertFromDefault(settings().UNIT_SYSTEM.SPEED_OF_SOUND, w);
+    }
+
+    /**
+     * Speed of sound as a function of pressure &amp; specific enthalpy.
+     *
+     * @param pressure absolute pressure
+     * @param enthalpy specific enthalpy
+     * @return speed of sound
+     * @throws OutOfRangeException out-of-range exception
+     * @see #speedOfSoundPT(double, double)
+     */
+    public double speedOfSoundPH(double pressure, double enthalpy) throws OutOfRangeException {
+
+        double p = convertToDefault(settings().UNIT_SYSTEM.PRESSURE, pressure),
+                h = convertToDefault(settings().UNIT_SYSTEM.SPECIFIC_ENTHALPY, enthalpy),
+                w;
+
+        try {
+            Region region = resolve(Region.getRegionPH(p, h, settings().VALIDATION));
+
+            if (region instanceof Region4) {
+                w = settings().REGION4.speedOfSoundPH(p, h);
+            } else {
+                double T = region.temperaturePH(p, h);
+                w = region.speedOfSoundPT(p, T);
+            }
+        } catch (OutOfRangeException e) {
+            return outOfRange(e);
+        }
+        return convertFromDefault(settings().UNIT_SYSTEM.SPEED_OF_SOUND, w);
+    }
+
+    /**
+     * Speed of sound as a function of pressure &amp; specific entropy.
+     *
+     * @param pressure absolute pressure
+     * @param entropy specific entropy
+     * @return speed of sound
+     * @throws OutOfRangeException out-of-range exception
+     * @see #speedOfSoundPT(double, double)
+     */
+    public double speedOfSoundPS(double pressure, double entropy) throws OutOfRangeException {
+
+        double p = convertToDefault(settings().UNIT_SYSTEM.PRESSURE, pressure),
+                s = convertToDefault(settings().UNIT_SYSTEM.SPECIFIC_ENTROPY, entropy),
+                w;
+
+        try {
+            Region region = resolve(Region.getRegionPS(p, s, settings().VALIDATION));
+
+            double T = region.temperaturePS(p, s);
+
+            w = region.speedOfSoundPT(p, T);
+
+        } catch (OutOfRangeException e) {
+            return outOfRange(e);
+        }
+        return convertFromDefault(settings().UNIT_SYSTEM.SPEED_OF_SOUND, w);
+    }
+
+    /**
+     * Speed of sound as a function of pressure &amp; temperature.
+     *
+     * @param pressure absolute pressure
+     * @param temperature temperature
+     * @return speed of sound
+     * @throws OutOfRangeException out-of-range exception
+     */
+    public double speedOfSoundPT(double pressure, double temperature) throws OutOfRangeException {
+
+        double p = convertToDefault(settings().UNIT_SYSTEM.PRESSURE, pressure),
+                T = convertToDefault(settings().UNIT_SYSTEM.TEMPERATURE, temperature),
+                w;
+
+        try {
+            w = resolve(Region.getRegionPT(p, T, settings().VALIDATION)).speedOfSoundPT(p, T);
+
+        } catch (OutOfRangeException e) {
+            return outOfRange(e);
+        }
+        return convertFromDefault(settings().UNIT_SYSTEM.SPEED_OF_SOUND, w);
+    }
+
+    /**
+     * Speed of sound as a function of pressure &amp; temperature.
+     *
+     * @param pressure absolute pressure
+     * @param temperature temperature
+     * @param hint region hint, see {@link RegionHint}
+     * @return speed of sound
+     * @throws OutOfRangeException out-of-range exception
+     */
+    public double speedOfSoundPT(double pressure, double temperature, RegionHint hint) throws OutOfRangeException {
+
+        double p = convertToDefault(settings().UNIT_SYSTEM.PRESSURE, pressure),
+                T = convertToDefault(settings().UNIT_SYSTEM.TEMPERATURE, temperature),
+                w;
+
+        try {
+            w = resolve(Region.getRegionPT(p, T, hint, settings().VERIFY_REGION_HINTS)).speedOfSoundPT(p, T);
+
+        } catch (OutOfRangeException e) {
+            return outOfRange(e);
+        }
+        return convertFromDefault(settings().UNIT_SYSTEM.SPEED_OF_SOUND, w);
+    }
+
+    /**
+     * Column-oriented, off-heap store of the given number of states as a
+     * function of the given input quantities, with output columns updated in
+     * place &amp; only for states whose inputs changed, see
+     * {@link StateBlock}. It evaluates with the current settings, e.g. its
+     * values are in the current unit system.
+     *
+     * @param input1 first input quantity
+     * @param input2 second input quantity
+     * @param size number of states
+     * @return state block
+     * @throws IllegalArgumentException if the input quantities are equal or
+     * the size is negative or too large
+     */
+    public StateBlock stateBlock(Quantity input1, Quantity input2, int size) {
+        return new StateBlock(toBuilder(), input1, input2, size);
+    }
+
+    /**
+     * Surface tension as a function of pressure.
+     *
+     * @param pressure absolute pressure
+     * @return surface tension
+     * @throws OutOfRangeException out-of-range exception
+     */
+    public double surfaceTensionP(double pressure) throws OutOfRangeException {
+
+        double p = convertToDefault(settings().UNIT_SYSTEM.PRESSURE, pressure),
+                sigma;
+
+        try {
+            checkP(p);
+
+            sigma = settings().REGION4.surfaceTensionT(settings().REGION4.saturationTemperatureP(p));
+
+        } catch (OutOfRangeException e) {
+            return outOfRange(e);
+        }
+        return convertFromDefault(settings().UNIT_SYSTEM.SURFACE_TENSION, sigma);
+    }
+
+    /**
+     * Surface tension as a function of temperature.
+     *
+     * @param temperature temperature
+     * @return surface tension
+     * @throws OutOfRangeException out-of-range exception
+     */
+    public double surfaceTensionT(double temperature) throws OutOfRangeException {
+
+        double T = convertToDefault(settings().UNIT_SYSTEM.TEMPERATURE, temperature),
+                sigma;
+
+        try {
+            checkT(T);
+
+            sigma = settings().REGION4.surfaceTensionT(T);
+
+        } catch (OutOfRangeException e) {
+            return outOfRange(e);
+        }
+        return convertFromDefault(settings().UNIT_SYSTEM.SURFACE_TENSION, sigma);
+    }
+
+    /**
+     * Temperature. [IF97 Supplementary Release S04]
+     *
+     * @param enthalpy specific enthalpy
+     * @param entropy specific entropy
+     * @return temperature
+     * @throws OutOfRangeException out-of-range exception
+     */
+    public double temperatureHS(double enthalpy, double entropy) throws OutOfRangeException {
+
+        double h = convertToDefault(settings().UNIT_SYSTEM.SPECIFIC_ENTHALPY, enthalpy),
+                s = convertToDefault(settings().UNIT_SYSTEM.SPECIFIC_ENTROPY, entropy),
+                T;
+
+        try {
+            T = resolve(Region.getRegionHS(h, s, settings().VALIDATION)).temperatureHS(h, s);
+
+        } catch (OutOfRangeException e) {
+            return outOfRange(e);
+        }
+        return convertFromDefault(settings().UNIT_SYSTEM.TEMPERATURE, T);
+    }
+
+    /**
+     * Temperature. [IF97 Supplementary Release S04]
+     *
+     * @param enthalpy specific enthalpy
+     * @param entropy specific entropy
+     * @param hint region hint, see {@link RegionHint}
+     * @return temperature
+     * @throws OutOfRangeException out-of-range exception
+     */
+    public double temperatureHS(double enthalpy, double entropy, RegionHint hint) throws OutOfRangeException {
+
+        double h = convertToDefault(settings().UNIT_SYSTEM.SPECIFIC_ENTHALPY, enthalpy),
+                s = convertToDefault(settings().UNIT_SYSTEM.SPECIFIC_ENTROPY, entropy),
+                T;
+
+        try {
+            T = resolve(Region.getRegionHS(h, s, hint, settings().VERIFY_REGION_HINTS)).temperatureHS(h, s);
+
+        } catch (OutOfRangeException e) {
+            return outOfRange(e);
+        }
+        return convertFromDefault(settings().UNIT_SYSTEM.TEMPERATURE, T);
+    }
+
+    /**
+     * Temperature.
+     *
+     * @param pressure absolute pressure [MPa]
+     * @param enthalpy specific enthalpy [kJ/(kg)]
+     * @return temperature [K]
+     * @throws OutOfRangeException out-of-range exception
+     */
+    public double temperaturePH(double pressure, double enthalpy) throws OutOfRangeException {
+
+        double p = convertToDefault(settings().UNIT_SYSTEM.PRESSURE, pressure),
+                h = convertToDefault(settings().UNIT_SYSTEM.SPECIFIC_ENTHALPY, enthalpy),
+                T;
+
+        try {
+            Region region = resolve(Region.getRegionPH(p, h, settings().VALIDATION));
+
+            T = region.temperaturePH(p, h);
+
+            if (settings().SAMPLER != null) {
+                settings().SAMPLER.sample(ShadowSampler.Check.TEMPERATURE_PH, region, p, h, T);
+            }
+        } catch (OutOfRangeException e) {
+            return outOfRange(e);
+        }
+        return convertFromDefault(settings().UNIT_SYSTEM.TEMPERATURE, T);
+    }
+
+    /**
+     * Temperature.
+     *
+     * @param pressure absolute pressure [MPa]
+     * @param enthalpy specific enthalpy [kJ/(kg)]
+     * @param hint region hint, see {@link RegionHint}
+     * @return temperature [K]
+     * @throws OutOfRangeException out-of-range exception
+     */
+    public double temperaturePH(double pressure, double enthalpy, RegionHint hint) throws OutOfRangeException {
+
+        double p = convertToDefault(settings().UNIT_SYSTEM.PRESSURE, pressure),
+                h = convertToDefault(settings().UNIT_SYSTEM.SPECIFIC_ENTHALPY, enthalpy),
+                T;
+
+        try {
+            Region region = resolve(Region.getRegionPH(p, h, hint, settings().VERIFY_REGION_HINTS));
+
+            T = region.temperaturePH(p, h);
+
+            if (settings().SAMPLER != null) {
+                settings().SAMPLER.sample(ShadowSampler.Check.TEMPERATURE_PH, region, p, h, T);
+            }
+        } catch (OutOfRangeException e) {
+            return outOfRange(e);
+        }
+        return convertFromDefault(settings().UNIT_SYSTEM.TEMPERATURE, T);
+    }
+
+    /**
+     * Temperature.
+     *
+     * @param pressure absolute pressure
+     * @param entropy specific entropy
+     * @return temperature
+     * @throws OutOfRangeException out-of-range exception
+     */
+    public double temperaturePS(double pressure, double entropy) throws OutOfRangeException {
+
+        double p = convertToDefault(settings().UNIT_SYSTEM.PRESSURE, pressure),
+                s = convertToDefault(settings().UNIT_SYSTEM.SPECIFIC_ENTROPY, entropy),
+                T;
+
+        try {
+            Region region = resolve(Region.getRegionPS(p, s, settings().VALIDATION));
+
+            T = region.temperaturePS(p, s);
+
+            if (settings().SAMPLER != null) {
+                settings().SAMPLER.sample(ShadowSampler.Check.TEMPERATURE_PS, region, p, s, T);
+            }
+        } catch (OutOfRangeException e) {
+            return outOfRange(e);
+        }
+        return convertFromDefault(settings().UNIT_SYSTEM.TEMPERATURE, T);
+    }
+
+    /**
+     * Temperature.
+     *
+     * @param pressure absolute pressure
+     * @param entropy specific entropy
+     * @param hint region hint, see {@link RegionHint}
+     * @return temperature
+     * @throws OutOfRangeException out-of-range exception
+     */
+    public double temperaturePS(double pressure, double entropy, RegionHint hint) throws OutOfRangeException {
+
+        double p = convertToDefault(settings().UNIT_SYSTEM.PRESSURE, pressure),
+                s = convertToDefault(settings().UNIT_SYSTEM.SPECIFIC_ENTROPY, entropy),
+                T;
+
+        try {
+            Region region = resolve(Region.getRegionPS(p, s, hint, settings().VERIFY_REGION_HINTS));
+
+            T = region.temperaturePS(p, s);
+
+            if (settings().SAMPLER != null) {
+                settings().SAMPLER.sample(ShadowSampler.Check.TEMPERATURE_PS, region, p, s, T);
+            }
+        } catch (OutOfRangeException e) {
+            return outOfRange(e);
+        }
+        return convertFromDefault(settings().UNIT_SYSTEM.TEMPERATURE, T);
+    }
+
+    /**
+     * Thermal conductivity as a function of specific enthalpy &amp; specific
+     * entropy.
+     *
+     * @param enthalpy specific enthalpy
+     * @param entropy specific entropy
+     * @return thermal conductivity
+     * @throws OutOfRangeException out-of-range exception
+     * @see #thermalConductivityRhoT(double, double)
+     */
+    public double thermalConductivityHS(double enthalpy, double entropy) throws OutOfRangeException {
+
+        double h = convertToDefault(settings().UNIT_SYSTEM.SPECIFIC_ENTHALPY, enthalpy),
+                s = convertToDefault(settings().UNIT_SYSTEM.SPECIFIC_ENTROPY, entropy),
+                lambda;
+
+        try {
+            Region region = resolve(Region.getRegionHS(h, s, settings().VALIDATION));
+            double rho = 1 / region.specificVolumeHS(h, s),
+                    T = region.temperatureHS(h, s);
+            lambda = Calculate.thermalConductivityRhoT(rho, T);
+
+        } catch (OutOfRangeException e) {
+            return outOfRange(e);
+        }
+        return convertFromDefault(settings().UNIT_SYSTEM.THERMAL_CONDUCTIVITY, lambda);
+    }
+
+    /**
+     * Thermal conductivity as a function of pressure &amp; specific enthalpy.
+     *
+     * @param pressure absolute pressure
+     * @param enthalpy specific enthalpy
+     * @return thermal conductivity
+     * @throws OutOfRangeException out-of-range exception
+     * @see #thermalConductivityRhoT(double, double)
+     */
+    public double thermalConductivityPH(double pressure, double enthalpy) throws OutOfRangeException {
+
+        double p = convertToDefault(settings().UNIT_SYSTEM.PRESSURE, pressure),
+                h = convertToDefault(settings().UNIT_SYSTEM.SPECIFIC_ENTHALPY, enthalpy),
+                lambda;
+
+        try {
+            Region region = resolve(Region.getRegionPH(p, h, settings().VALIDATION));
+            double rho = 1 / region.specificVolumePH(p, h),
+                    T = region.temperaturePH(p, h);
+            lambda = Calculate.thermalConductivityRhoT(rho, T);
+
+        } catch (OutOfRangeException e) {
+            return outOfRange(e);
+        }
+        return convertFromDefault(settings().UNIT_SYSTEM.THERMAL_CONDUCTIVITY, lambda);
+    }
+
+    /**
+     * Thermal conductivity as a function of pressure &amp; specific entropy.
+     *
+     * @param pressure absolute pressure
+     * @param entropy specific entropy
+     * @return thermal conductivity
+     * @throws OutOfRangeException out-of-range exception
+     * @see #thermalConductivityRhoT(double, double)
+     */
+    public double thermalConductivityPS(double pressure, double entropy) throws OutOfRangeException {
+
+        double p = convertToDefault(settings().UNIT_SYSTEM.PRESSURE, pressure),
+                s = convertToDefault(settings().UNIT_SYSTEM.SPECIFIC_ENTROPY, entropy),
+                lambda;
+
+        try {
+            Region region = resolve(Region.getRegionPS(p, s, settings().VALIDATION));
+            double rho = 1 / region.specificVolumePS(p, s),
+                    T = region.temperaturePS(p, s);
+            lambda = Calculate.thermalConductivityRhoT(rho, T);
+
+        } catch (OutOfRangeException e) {
+            return outOfRange(e);
+        }
+        return convertFromDefault(settings().UNIT_SYSTEM.THERMAL_CONDUCTIVITY, lambda);
+    }
+
+    /**
+     * Thermal conductivity as a function of pressure &amp; temperature.
+     *
+     * Note that is method is not accurate in the two-phase region.
+     *
+     * @param pressure absolute pressure
+     * @param temperature temperature
+     * @return thermal conductivity
+     * @throws OutOfRangeException out-of-range exception
+     * @see #thermalConductivityRhoT(double, double)
+     */
+    public double thermalConductivityPT(double pressure, double temperature) throws OutOfRangeException {
+
+        double p = convertToDefault(settings().UNIT_SYSTEM.PRESSURE, pressure),
+                T = convertToDefault(settings().UNIT_SYSTEM.TEMPERATURE, temperature),
+                lambda;
+
+        try {
+            double rho = 1 / resolve(Region.getRegionPT(p, T, settings().VALIDATION)).specificVolumePT(p, T);
+            lambda = Calculate.thermalConductivityRhoT(rho, T);
+
+        } catch (OutOfRangeException e) {
+            return outOfRange(e);
+        }
+        return convertFromDefault(settings().UNIT_SYSTEM.THERMAL_CONDUCTIVITY, lambda);
+    }
+
+    /**
+     * Thermal conductivity as a function of density &amp; temperature.
+     *
+     * @param density density
+     * @param temperature temperature
+     * @return thermal conductivity
+     * @throws OutOfRangeException out-of-range exception
+     */
+    public double thermalConductivityRhoT(double density, double temperature) throws OutOfRangeException {
+
+        double rho = convertToDefault(settings().UNIT_SYSTEM.DENSITY, density),
+                T = convertToDefault(settings().UNIT_SYSTEM.TEMPERATURE, temperature),
+                lambda;
+
+        try {
+            lambda = Calculate.thermalConductivityRhoT(rho, T);
+
+        } catch (OutOfRangeException e) {
+            return outOfRange(e);
+        }
+        return convertFromDefault(settings().UNIT_SYSTEM.THERMAL_CONDUCTIVITY, lambda);
+    }
+
+    /**
+     * Thermal diffusivity as a function of specific enthalpy &amp; specific
+     * entropy.
+     *
+     * @param enthalpy specific enthalpy
+     * @param entropy specific entropy
+     * @return thermal diffusivity
+     * @throws OutOfRangeException out-of-range exception
+     */
+    public double thermalDiffusivityHS(double enthalpy, double entropy) throws OutOfRangeException {
+
+        double h = convertToDefault(settings().UNIT_SYSTEM.SPECIFIC_ENTHALPY, enthalpy),
+                s = convertToDefault(settings().UNIT_SYSTEM.SPECIFIC_ENTROPY, entropy),
+                kappa;
+
+        try {
+            double p = resolve(Region.getRegionHS(h, s, settings().VALIDATION)).pressureHS(h, s);
+            kappa = Calculate.thermalDiffusivityPH(settings().REGION4, p, h);
+
+        } catch (OutOfRangeException e) {
+            return outOfRange(e);
+        }
+        return convertFromDefault(settings().UNIT_SYSTEM.THERMAL_DIFFUSIVITY, kappa);
+    }
+
+    /**
+     * Thermal diffusivity as a function of pressure &amp; specific enthalpy.
+     *
+     * @param pressure absolute pressure
+     * @param enthalpy specific enthalpy
+     * @return thermal diffusivity
+     * @throws OutOfRangeException out-of-range exception
+     */
+    public double thermalDiffusivityPH(double pressure, double enthalpy) throws OutOfRangeException {
+
+        double p = convertToDefault(settings().UNIT_SYSTEM.PRESSURE, pressure),
+                h = convertToDefault(settings().UNIT_SYSTEM.SPECIFIC_ENTHALPY, enthalpy),
+                kappa;
+
+        try {
+            kappa = Calculate.thermalDiffusivityPH(settings().REGION4, p, h);
+
+        } catch (OutOfRangeException e) {
+            return outOfRange(e);
+        }
+        return convertFromDefault(settings().UNIT_SYSTEM.THERMAL_DIFFUSIVITY, kappa);
+    }
+
+    /**
+     * Thermal diffusivity as a function of pressure &amp; specific entropy.
+     *
+     * @param pressure absolute pressure
+     * @param entropy specific entropy
+     * @return thermal diffusivity
+     * @throws OutOfRangeException out-of-range exception
+     */
+    public double thermalDiffusivityPS(double pressure, double entropy) throws OutOfRangeException {
+
+        double p = convertToDefault(settings().UNIT_SYSTEM.PRESSURE, pressure),
+                s = convertToDefault(settings().UNIT_SYSTEM.SPECIFIC_ENTROPY, entropy),
+                kappa;
+
+        try {
+            double h = resolve(Region.getRegionPS(p, s, settings().VALIDATION)).specificEnthalpyPS(p, s);
+            kappa = Calculate.thermalDiffusivityPH(settings().REGION4, p, h);
+
+        } catch (OutOfRangeException e) {
+            return outOfRange(e);
+        }
+        return convertFromDefault(settings().UNIT_SYSTEM.THERMAL_DIFFUSIVITY, kappa);
+    }
+
+    /**
+     * Thermal diffusivity as a function of pressure &amp; temperature.
+     *
+     * Note that is method is not accurate in the two-phase region.
+     *
+     * @param pressure absolute pressure
+     * @param temperature temperature
+     * @return thermal diffusivity
+     * @throws OutOfRangeException out-of-range exception
+     */
+    public double thermalDiffusivityPT(double pressure, double temperature) throws OutOfRangeException {
+
+        double p = convertToDefault(settings().UNIT_SYSTEM.PRESSURE, pressure),
+                T = convertToDefault(settings().UNIT_SYSTEM.TEMPERATURE, temperature),
+                kappa;
+
+        try {
+            double h = resolve(Region.getRegionPT(p, T, settings().VALIDATION)).specificEnthalpyPT(p, T);
+            kappa = Calculate.thermalDiffusivityPH(settings().REGION4, p, h);
+
+        } catch (OutOfRangeException e) {
+            return outOfRange(e);
+        }
+        return convertFromDefault(settings().UNIT_SYSTEM.THERMAL_DIFFUSIVITY, kappa);
+    }
+
+    /**
+     * Specific enthalpy after throttling (isenthalpic expansion), i.e. the
+     * inlet specific enthalpy, range checked at the outlet pressure.
+     *
+     * @param inletPressure inlet absolute pressure
+     * @param enthalpy specific enthalpy
+     * @param outletPressure outlet absolute pressure
+     * @return outlet specific enthalpy
+     * @throws OutOfRangeException out-of-range exception
+     */
+    public double throttle(double inletPressure, double enthalpy, double outletPressure) throws OutOfRangeException {
+        return throttle(inletPressure, enthalpy, outletPressure, null);
+    }
+
+    /**
+     * Specific enthalpy after throttling (isenthalpic expansion), optionally
+     * filling the outlet state, e.g. for its temperature &amp; vapour
+     * fraction.
+     *
+     * @param inletPressure inlet absolute pressure
+     * @param enthalpy specific enthalpy
+     * @param outletPressure outlet absolute pressure
+     * @param outlet outlet state to fill, may be null
+     * @return outlet specific enthalpy
+     * @throws OutOfRangeException out-of-range exception
+     */
+    public double throttle(double inletPressure, double enthalpy, double outletPressure, ProcessState outlet) throws OutOfRangeException {
+
+        double p1 = convertToDefault(settings().UNIT_SYSTEM.PRESSURE, inletPressure),
+                h = convertToDefault(settings().UNIT_SYSTEM.SPECIFIC_ENTHALPY, enthalpy),
+                p2 = convertToDefault(settings().UNIT_SYSTEM.PRESSURE, outletPressure);
+
+        try {
+            resolve(Region.getRegionPH(p1, h, settings().VALIDATION));
+            ProcessSteps.outlet(p2, h, settings(), outlet);
+
+        } catch (OutOfRangeException e) {
+            return outOfRange(e);
+        }
+        return enthalpy;
+    }
+
+    /**
+     * Builder with this object's unit system &amp; settings, e.g. to build
+     * an immutable object from a configured one.
+     *
+     * @return builder
+     */
+    public Builder toBuilder() {
+        return builder()
+                .unitSystem(settings().UNIT_SYSTEM)
+                .boundedLatency(isBoundedLatency())
+                .precisionProfile(settings().PRECISION)
+                .residualTolerance(settings().RESIDUAL_TOLERANCE)
+                .shadowSampler(settings().SAMPLER)
+                .validationLevel(settings().VALIDATION)
+                .verifyRegionHints(settings().VERIFY_REGION_HINTS);
+    }
+
+    /**
+     * Vapour fraction as a function of specific enthalpy &amp; specific
+     * entropy.
+     *
+     * @param enthalpy specific enthalpy
+     * @param entropy specific entropy
+     * @return vapour fraction [-]
+     * @throws OutOfRangeException out-of-range exception
+     */
+    public double vapourFractionHS(double enthalpy, double entropy) throws OutOfRangeException {
+
+        double h = convertToDefault(settings().UNIT_SYSTEM.SPECIFIC_ENTHALPY, enthalpy),
+                s = convertToDefault(settings().UNIT_SYSTEM.SPECIFIC_ENTROPY, entropy);
+
+        try {
+            return settings().REGION4.vapourFractionHS(h, s);
+
+        } catch (OutOfRangeException e) {
+            return outOfRange(e);
+        }
+    }
+
+    /**
+     * Vapour fraction as a function of pressure &amp; specific enthalpy.
+     *
+     * @param pressure absolute pressure
+     * @param enthalpy specific enthalpy
+     * @return vapour fraction [-]
+     * @throws OutOfRangeException out-of-range exception
+     * @see #vapourFractionHS(double, double)
+     */
+    public double vapourFractionPH(double pressure, double enthalpy) throws OutOfRangeException {
+
+        double p = convertToDefault(settings().UNIT_SYSTEM.PRESSURE, pressure),
+                h = convertToDefault(settings().UNIT_SYSTEM.SPECIFIC_ENTHALPY, enthalpy);
+
+        try {
+            return settings().REGION4.vapourFractionPH(p, h);
+
+        } catch (OutOfRangeException e) {
+            return outOfRange(e);
+        }
+    }
+
+    /**
+     * Vapour fraction as a function of pressure &amp; specific entropy.
+     *
+     * @param pressure absolute pressure
+     * @param entropy specific entropy
+     * @return vapour fraction [-]
+     * @throws OutOfRangeException out-of-range exception
+     * @see #vapourFractionHS(double, double)
+     */
+    public double vapourFractionPS(double pressure, double entropy) throws OutOfRangeException {
+
+        double p = convertToDefault(settings().UNIT_SYSTEM.PRESSURE, pressure),
+                s = convertToDefault(settings().UNIT_SYSTEM.SPECIFIC_ENTROPY, entropy);
+
+        try {
+            return settings().REGION4.vapourFractionPS(p, s);
+
+        } catch (OutOfRangeException e) {
+            return outOfRange(e);
+        }
+    }
+
+    /**
+     * Vapour fraction as a function of temperature &amp; specific entropy.
+     *
+     * This method only returns values in the two-phase region.
+     *
+     * @param temperature temperature
+     * @param entropy specific entropy
+     * @return vapour fraction [-]
+     * @throws OutOfRangeException out-of-range exception
+     * @see #vapourFractionHS(double, double)
+     */
+    public double vapourFractionTS(double temperature, double entropy) throws OutOfRangeException {
+
+        double T = convertToDefault(settings().UNIT_SYSTEM.TEMPERATURE, temperature),
+                s = convertToDefault(settings().UNIT_SYSTEM.SPECIFIC_ENTROPY, entropy);
+
+        try {
+            return settings().REGION4.vapourFractionTS(T, s);
+
+        } catch (OutOfRangeException e) {
+            return outOfRange(e);
+        }
+    }
+
+    /**
+     * Current settings, read at the start of each method.
+     *
+     * @return settings
+     */
+    abstract Settings settings();
+}
@@ -0,0 +1,441 @@
+/*
+ * AdaptiveTable.java
+ *
+ * This file is part of IF97.
+ *
+ * IF97 is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option)
+ * any later version.
+ *
+ * IF97 is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with IF97. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Copyright 2009-2022 Hummeling Engineering BV (www.hummeling.com)
+ */
+package com.hummeling.if97;
+
+import com.hummeling.if97.IF97.Quantity;
+import com.hummeling.if97.IF97.RegionHint;
+import com.hummeling.if97.IF97.UnitSystem;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Adaptive interpolation table as a function of pressure &amp; specific
+ * enthalpy, built lazily from the queries it receives.
+ *
+ * <p>
+ * The (p, h) plane is covered by a quadtree. Cells are only created along the
+ * paths of actual queries: a cell gets a bicubic (Hermite) interpolant from
+ * exact values &amp; derivatives at its corners once the interpolant
+ * reproduces the exact equations within the relative tolerance at nine
+ * interior check points, otherwise it is split into four. Cells are only
+ * accepted when all corner &amp; check points lie in the same region, and all
+ * exact evaluations of a cell use that region's equations, so interpolants
+ * never span a region boundary. A boundary may still cut a corner of a cell
+ * between those points, so each query is checked against the nearest
+ * boundary of the cell's region before its interpolant is used, and evaluated
+ * exactly when it lies beyond. Cells that remain split at the maximum depth,
+ * i.e. those straddling a boundary, are evaluated exactly as well.</p>
+ *
+ * <p>
+ * Instances are safe for use by concurrent threads. Reads are lock-free,
+ * cells are built outside of any lock and published by compare-and-set; when
+ * two threads build the same cell, one result is kept.</p>
+ *
+ * @author Ralph Hummeling
+ * (<a href="https://www.hummeling.com">www.hummeling.com</a>)
+ * @see IF97#adaptiveTablePH(IF97.Quantity, double)
+ */
+public final class AdaptiveTable {
+
+    private static final int MIN_DEPTH = 2, MAX_DEPTH = 20;
+    private static final double STEP = 1e-3; // relative finite-difference step
+    private static final double[][] M = {
+        {1, 0, 0, 0},
+        {0, 0, 1, 0},
+        {-3, 3, -2, -1},
+        {2, -2, 1, 1}};
+    private static final double[][] CHECKS = {
+        {0.5, 0}, {0, 0.5}, {0.5, 0.5}, {1, 0.5}, {0.5, 1},
+        {0.25, 0.25}, {0.75, 0.25}, {0.25, 0.75}, {0.75, 0.75}};
+    private static final Object EXACT = new Object();
+    private final UnitSystem UNIT_SYSTEM;
+    private final Quantity OUTPUT;
+    private final double TOLERANCE;
+    private final ImmutableIF97 HINTED, LOOKUP;
+    private final Cell ROOT;
+    private final AtomicInteger PATCHES = new AtomicInteger();
+
+    /**
+     * Creates an empty table.
+     *
+     * @param settings unit system of the arguments &amp; values, and settings
+     * of the exact evaluations
+     * @param output temperature, specific volume, density, specific entropy,
+     * or specific isobaric heat capacity
+     * @param tolerance relative interpolation tolerance [-]
+     */
+    AdaptiveTable(IF97.Builder settings, Quantity output, double tolerance) {
+
+        switch (output) {
+            case T:
+            case v:
+            case rho:
+            case s:
+            case cp:
+                break;
+
+            default:
+                throw new IllegalArgumentException("Quantity " + output + " is not available for adaptive tables.");
+        }
+        if (!(tolerance > 0)) {
+            throw new IllegalArgumentException("Tolerance should be positive: " + tolerance);
+        }
+        UNIT_SYSTEM = settings.build().getUnitSystem();
+        OUTPUT = output;
+        TOLERANCE = tolerance;
+        LOOKUP = settings.unitSystem(UnitSystem.DEFAULT).build();
+        HINTED = settings.verifyRegionHints(false).build();
+        ROOT = new Cell(0, Region.p132, -100, 4400, 0, MIN_DEPTH);
+    }
+
+    /**
+     * Bicubic coefficients from corner values &amp; derivatives in unit
+     * square coordinates.
+     */
+    private static double[] coefficients(double[][] F) {
+
+        double[][] MF = new double[4][4];
+        double[] out = new double[16];
+
+        for (int i = 0; i < 4; i++) {
+            for (int j = 0; j < 4; j++) {
+                for (int k = 0; k < 4; k++) {
+                    MF[i][j] += M[i][k] * F[k][j];
+                }
+            }
+        }
+        for (int i = 0; i < 4; i++) {
+            for (int j = 0; j < 4; j++) {
+                for (int k = 0; k < 4; k++) {
+                    out[4 * i + j] += MF[i][k] * M[j][k];
+                }
+            }
+        }
+        return out;
+    }
+
+    /**
+     * Builds the content of the given cell: a patch, children, or the exact
+     * marker.
+     */
+    private Object build(Cell cell) {
+
+        int target = cell.TARGET;
+
+        if (cell.DEPTH >= target) {
+            RegionHint hint = region(cell);
+
+            if (hint != null) {
+                double[] error = new double[1];
+                Patch patch = fit(cell, hint, error);
+
+                if (patch != null) {
+                    return patch;
+                }
+                /*
+                 Bicubic error scales with the fourth power of the cell size,
+                 skip the levels that won't meet the tolerance anyway.
+                 */
+                double levels = Math.log(error[0] / TOLERANCE) / Math.log(16);
+
+                target = cell.DEPTH + (levels < 1 ? 1 : (int) Math.min(levels, MAX_DEPTH));
+            }
+            if (cell.DEPTH >= MAX_DEPTH) {
+                return EXACT;
+            }
+        }
+        double pm = (cell.P0 + cell.P1) / 2, hm = (cell.H0 + cell.H1) / 2;
+        int depth = cell.DEPTH + 1;
+
+        target = Math.min(Math.max(target, depth), MAX_DEPTH);
+
+        return new Cell[]{
+            new Cell(cell.P0, pm, cell.H0, hm, depth, target),
+            new Cell(cell.P0, pm, hm, cell.H1, depth, target),
+            new Cell(pm, cell.P1, cell.H0, hm, depth, target),
+            new Cell(pm, cell.P1, hm, cell.H1, depth, target)};
+    }
+
+    /**
+     * Exact value in the given region, default units.
+     */
+    private double exact(RegionHint hint, double p, double h) {
+
+        switch (OUTPUT) {
+            case T:
+                return HINTED.temperaturePH(p, h, hint);
+
+            case v:
+                return HINTED.specificVolumePH(p, h, hint);
+
+            case rho:
+                return HINTED.densityPH(p, h, hint);
+
+            case s:
+                return HINTED.specificEntropyPH(p, h, hint);
+
+            default:
+                return HINTED.isobaricHeatCapacityPH(p, h, hint);
+        }
+    }
+
+    /**
+     * Exact value with region lookup, default units.
+     */
+    private double exact(double p, double h) {
+
+        switch (OUTPUT) {
+            case T:
+                return LOOKUP.temperaturePH(p, h);
+
+            case v:
+                return LOOKUP.specificVolumePH(p, h);
+
+            case rho:
+                return LOOKUP.densityPH(p, h);
+
+            case s:
+                return LOOKUP.specificEntropyPH(p, h);
+
+            default:
+                return LOOKUP.isobaricHeatCapacityPH(p, h);
+        }
+    }
+
+    /**
+     * Fits a bicubic patch to the cell, returns null if the interpolation
+     * error exceeds the tolerance at any check point. The largest relative
+     * error is stored in the given array.
+     */
+    private Patch fit(Cell cell, RegionHint hint, double[] error) {
+
+        double dp = cell.P1 - cell.P0, dh = cell.H1 - cell.H0,
+                ep = STEP * dp, eh = STEP * dh;
+        double[][] F = new double[4][4];
+
+        try {
+            for (int i = 0; i < 2; i++) {
+                for (int j = 0; j < 2; j++) {
+                    double p = cell.P0 + i * dp, h = cell.H0 + j * dh,
+                            fpp = exact(hint, p + ep, h + eh),
+                            fpm = exact(hint, p + ep, h - eh),
+                            fmp = exact(hint, p - ep, h + eh),
+                            fmm = exact(hint, p - ep, h - eh);
+
+                    F[i][j] = exact(hint, p, h);
+                    F[2 + i][j] = (exact(hint, p + ep, h) - exact(hint, p - ep, h)) / (2 * STEP);
+                    F[i][2 + j] = (exact(hint, p, h + eh) - exact(hint, p, h - eh)) / (2 * STEP);
+                    F[2 + i][2 + j] = (fpp - fpm - fmp + fmm) / (4 * STEP * STEP);
+                }
+            }
+            Patch patch = new Patch(coefficients(F), hint);
+
+            for (double[] check : CHECKS) {
+                double f = exact(hint, cell.P0 + check[0] * dp, cell.H0 + check[1] * dh);
+
+                error[0] = Math.max(error[0], Math.abs(patch.value(check[0], check[1]) / f - 1));
+            }
+            return error[0] <= TOLERANCE ? patch : null;
+
+        } catch (IllegalArgumentException | UnsupportedOperationException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Number of interpolation cells built so far.
+     *
+     * @return cell count
+     */
+    public int getCellCount() {
+        return PATCHES.get();
+    }
+
+    /**
+     * Output quantity.
+     *
+     * @return quantity
+     */
+    public Quantity getOutput() {
+        return OUTPUT;
+    }
+
+    /**
+     * Relative interpolation tolerance.
+     *
+     * @return tolerance [-]
+     */
+    public double getTolerance() {
+        return TOLERANCE;
+    }
+
+    /**
+     * Unit system of the arguments &amp; values.
+     *
+     * @return unit system
+     */
+    public UnitSystem getUnitSystem() {
+        return UNIT_SYSTEM;
+    }
+
+    /**
+     * Common region of the corner &amp; check points of the given cell, or
+     * null if they don't share one.
+     */
+    private static RegionHint region(Cell cell) {
+
+        double dp = cell.P1 - cell.P0, dh = cell.H1 - cell.H0;
+        Region region = null;
+
+        try {
+            for (int k = -4; k < CHECKS.length; k++) {
+                double u = k < 0 ? (k + 4) / 2 : CHECKS[k][0],
+                        w = k < 0 ? (k + 4) % 2 : CHECKS[k][1];
+                Region r = Region.getRegionPH(cell.P0 + u * dp, cell.H0 + w * dh);
+
+                if (region == null) {
+                    region = r;
+
+                } else if (r != region) {
+                    return null;
+                }
+            }
+        } catch (OutOfRangeException e) {
+            return null;
+        }
+        return RegionHint.values()[region.NUMBER - 1];
+    }
+
+    @Override
+    public String toString() {
+        return "AdaptiveTable{" + OUTPUT + "(p, h), tolerance=" + TOLERANCE + ", cells=" + PATCHES.get() + "}";
+    }
+
+    /**
+     * Value as a function of pressure &amp; specific enthalpy, interpolated
+     * where the table has (or can build) a cell within tolerance, exact
+     * otherwise.
+     *
+     * @param pressure absolute pressure
+     * @param enthalpy specific enthalpy
+     * @return value
+     * @throws OutOfRangeException out-of-range exception
+     */
+    public double value(double pressure, double enthalpy) throws OutOfRangeException {
+
+        double p = IF97.convertToDefault(UNIT_SYSTEM.PRESSURE, pressure),
+                h = IF97.convertToDefault(UNIT_SYSTEM.SPECIFIC_ENTHALPY, enthalpy),
+                out;
+        Cell cell = ROOT;
+
+        try {
+            if (p < ROOT.P0 || p > ROOT.P1 || h < ROOT.H0 || h > ROOT.H1) {
+                out = exact(p, h);
+
+            } else {
+                while (true) {
+                    Object content = cell.CONTENT.get();
+
+                    if (content == null) {
+                        Object built = build(cell);
+
+                        if (cell.CONTENT.compareAndSet(null, built)) {
+                            if (built instanceof Patch) {
+                                PATCHES.incrementAndGet();
+                            }
+                            content = built;
+
+                        } else {
+                            content = cell.CONTENT.get();
+                        }
+                    }
+                    if (content instanceof Patch) {
+                        Patch patch = (Patch) content;
+
+                        if (Region.isRegionPH(patch.HINT, p, h)) {
+                            out = patch.value((p - cell.P0) / (cell.P1 - cell.P0), (h - cell.H0) / (cell.H1 - cell.H0));
+
+                        } else {
+                            out = exact(p, h);
+                        }
+                        break;
+
+                    } else if (content == EXACT) {
+                        out = exact(p, h);
+                        break;
+                    }
+                    Cell[] children = (Cell[]) content;
+
+                    cell = children[(p < children[2].P0 ? 0 : 2) + (h < children[1].H0 ? 0 : 1)];
+                }
+            }
+        } catch (OutOfRangeException e) {
+            throw e.convertFromDefault(UNIT_SYSTEM);
+        }
+        return IF97.convertFromDefault(UNIT_SYSTEM.getConversion(OUTPUT), out);
+    }
+
+    /**
+     * Quadtree cell, its content is published once: a patch, four children,
+     * or the exact marker. Cells above their target depth are split without
+     * attempting a fit.
+     */
+    private static final class Cell {
+
+        private final double P0, P1, H0, H1;
+        private final int DEPTH, TARGET;
+        private final AtomicReference<Object> CONTENT = new AtomicReference<>();
+
+        private Cell(double p0, double p1, double h0, double h1, int depth, int target) {
+            P0 = p0;
+            P1 = p1;
+            H0 = h0;
+            H1 = h1;
+            DEPTH = depth;
+            TARGET = target;
+        }
+    }
+
+    /**
+     * Bicubic interpolant on the unit square &amp; the region it was fitted
+     * in, immutable.
+     */
+    private static final class Patch {
+
+        private final double[] A;
+        private final RegionHint HINT;
+
+        private Patch(double[] a, RegionHint hint) {
+            A = a;
+            HINT = hint;
+        }
+
+        private double value(double u, double w) {
+
+            double out = 0;
+
+            for (int i = 3; i >= 0; i--) {
+                out = out * u + ((A[4 * i + 3] * w + A[4 * i + 2]) * w + A[4 * i + 1]) * w + A[4 * i];
+            }
+            return out;
+        }
+    }
+}
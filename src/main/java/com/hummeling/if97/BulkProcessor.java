@@ -0,0 +1,466 @@
+/*
+ * BulkProcessor.java
+ *
+ * This file is part of IF97.
+ *
+ * IF97 is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option)
+ * any later version.
+ *
+ * IF97 is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with IF97. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Copyright 2009-2022 Hummeling Engineering BV (www.hummeling.com)
+ */
+package com.hummeling.if97;
+
+import com.hummeling.if97.IF97.HintedFunction;
+import com.hummeling.if97.IF97.Quantity;
+import com.hummeling.if97.IF97.RegionHint;
+import com.hummeling.if97.IF97.UnitSystem;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.Locale;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.DoubleBinaryOperator;
+
+/**
+ * Bulk property calculation over large input files, e.g. plant historian
+ * data, from the command line:
+ * <pre>
+ * java -cp if97.jar com.hummeling.if97.BulkProcessor [options] input output
+ *
+ *   -i, --inputs p,T       input quantities (default p,T)
+ *   -c, --columns 1,2      CSV columns of the inputs, 1-based (default 1,2)
+ *   -d, --delimiter ,      CSV delimiter (default ,)
+ *   -o, --outputs h,s,v    output quantities (required)
+ *   -u, --units DEFAULT    unit system of inputs &amp; outputs (default DEFAULT)
+ *   -b, --binary-input     input is little-endian float64 pairs, not CSV
+ *   -f, --format csv       output format: csv or binary (default csv)
+ *   -t, --threads n        worker threads (default: available processors)
+ * </pre>
+ *
+ * <p>
+ * The input file is memory-mapped in chunks that are parsed &amp; evaluated
+ * in parallel and written in order; at most two chunks per thread are in
+ * flight, so memory use is bounded regardless of the file size. CSV rows
+ * whose input columns aren't numeric (e.g. headers) are skipped, out-of-range
+ * rows yield NaN. Binary input whose size isn't a multiple of 16 bytes is
+ * truncated to whole pairs, the trailing bytes are reported. CSV output holds the inputs followed by the outputs; binary
+ * output consists of one block per chunk: a little-endian int row count
+ * followed by a float64 column per output.</p>
+ *
+ * <p>
+ * On completion, rows per second and the number of rows per region are
+ * reported. The region lookup behind the latter also selects the equations
+ * each row is evaluated with, where available.</p>
+ *
+ * @author Ralph Hummeling
+ * (<a href="https://www.hummeling.com">www.hummeling.com</a>)
+ */
+public final class BulkProcessor {
+
+    private static final int CHUNK = 1 << 23; // bytes
+    private final UnitSystem UNIT_SYSTEM;
+    private final Quantity INPUT1, INPUT2;
+    private final Quantity[] OUTPUTS;
+    private final int COLUMN1, COLUMN2, THREADS;
+    private final byte DELIMITER;
+    private final boolean BINARY_INPUT, BINARY_OUTPUT;
+
+    /**
+     * Bulk processor.
+     *
+     * @param unitSystem unit system of inputs &amp; outputs
+     * @param input1 first input quantity
+     * @param input2 second input quantity
+     * @param column1 first input CSV column, 0-based
+     * @param column2 second input CSV column, 0-based
+     * @param delimiter CSV delimiter
+     * @param outputs output quantities
+     * @param binaryInput whether input is little-endian float64 pairs
+     * @param binaryOutput whether output is binary columnar
+     * @param threads number of worker threads
+     */
+    BulkProcessor(UnitSystem unitSystem, Quantity input1, Quantity input2, int column1, int column2, char delimiter, Quantity[] outputs, boolean binaryInput, boolean binaryOutput, int threads) {
+
+        if (outputs.length == 0) {
+            throw new IllegalArgumentException("No output quantities given.");
+
+        } else if (threads < 1) {
+            throw new IllegalArgumentException("Number of threads should be positive: " + threads);
+        }
+        UNIT_SYSTEM = unitSystem;
+        INPUT1 = input1;
+        INPUT2 = input2;
+        COLUMN1 = column1;
+        COLUMN2 = column2;
+        DELIMITER = (byte) delimiter;
+        OUTPUTS = outputs.clone();
+        BINARY_INPUT = binaryInput;
+        BINARY_OUTPUT = binaryOutput;
+        THREADS = threads;
+    }
+
+    public static void main(String[] args) throws Exception {
+
+        UnitSystem unitSystem = UnitSystem.DEFAULT;
+        Quantity[] inputs = {Quantity.p, Quantity.T}, outputs = {};
+        int[] columns = {1, 2};
+        char delimiter = ',';
+        boolean binaryInput = false, binaryOutput = false;
+        int threads = Runtime.getRuntime().availableProcessors();
+        Path[] files = new Path[2];
+        int file = 0;
+
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case "-i":
+                    case "--inputs":
+                        inputs = quantities(args[++i]);
+                        break;
+
+                    case "-c":
+                    case "--columns":
+                        String[] c = args[++i].split(",");
+
+                        columns = new int[]{Integer.parseInt(c[0].trim()), Integer.parseInt(c[1].trim())};
+                        break;
+
+                    case "-d":
+                    case "--delimiter":
+                        delimiter = args[++i].charAt(0);
+                        break;
+
+                    case "-o":
+                    case "--outputs":
+                        outputs = quantities(args[++i]);
+                        break;
+
+                    case "-u":
+                    case "--units":
+                        unitSystem = UnitSystem.valueOf(args[++i].toUpperCase(Locale.ROOT));
+                        break;
+
+                    case "-b":
+                    case "--binary-input":
+                        binaryInput = true;
+                        break;
+
+                    case "-f":
+                    case "--format":
+                        binaryOutput = args[++i].equalsIgnoreCase("binary");
+                        break;
+
+                    case "-t":
+                    case "--threads":
+                        threads = Integer.parseInt(args[++i]);
+                        break;
+
+                    default:
+                        files[file++] = Paths.get(args[i]);
+                }
+            }
+            if (file != 2 || inputs.length != 2) {
+                throw new IllegalArgumentException("Expected two inputs, an input file and an output file.");
+            }
+            BulkProcessor processor = new BulkProcessor(unitSystem, inputs[0], inputs[1], columns[0] - 1, columns[1] - 1, delimiter, outputs, binaryInput, binaryOutput, threads);
+
+            processor.process(files[0], files[1]).print(System.out);
+
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+            System.err.println("Error: " + e.getMessage());
+            System.err.println("Usage: java -cp if97.jar " + BulkProcessor.class.getName() + " [-i p,T] [-c 1,2] [-d ,] -o h,s,v [-u DEFAULT] [-b] [-f csv|binary] [-t n] input output");
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Processes the given input file into the given output file.
+     *
+     * @param input input file
+     * @param output output file, overwritten
+     * @return summary
+     * @throws IOException on read or write failure
+     * @throws IllegalArgumentException if a function isn't available
+     */
+    Summary process(Path input, Path output) throws IOException {
+
+        IF97 if97 = new IF97(UNIT_SYSTEM);
+        DoubleBinaryOperator[] functions = new DoubleBinaryOperator[OUTPUTS.length];
+        HintedFunction[] hinted = new HintedFunction[OUTPUTS.length];
+        Summary summary = new Summary();
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        Deque<Future<Chunk>> pending = new ArrayDeque<>();
+        long start = System.nanoTime();
+
+        for (int i = 0; i < functions.length; i++) {
+            functions[i] = if97.function(OUTPUTS[i], INPUT1, INPUT2);
+            hinted[i] = if97.hintedFunction(OUTPUTS[i], INPUT1, INPUT2);
+        }
+        try (FileChannel in = FileChannel.open(input, StandardOpenOption.READ);
+                OutputStream out = Files.newOutputStream(output)) {
+            long size = in.size(), position = 0;
+
+            if (BINARY_INPUT) {
+                summary.trailing = size % 16;
+                size -= summary.trailing;
+            }
+
+            if (!BINARY_OUTPUT) {
+                StringBuilder header = new StringBuilder(INPUT1.name()).append(',').append(INPUT2.name());
+
+                for (Quantity quantity : OUTPUTS) {
+                    header.append(',').append(quantity.name());
+                }
+                out.write(header.append('\n').toString().getBytes(StandardCharsets.US_ASCII));
+            }
+            while (position < size) {
+                long length = Math.min(CHUNK, size - position);
+                MappedByteBuffer buffer = in.map(FileChannel.MapMode.READ_ONLY, position, length);
+
+                if (!BINARY_INPUT && position + length < size) {
+                    while (length > 0 && buffer.get((int) length - 1) != '\n') {
+                        length--;
+                    }
+                    if (length == 0) {
+                        throw new IOException("Line exceeds " + CHUNK + " bytes at offset " + position + ".");
+                    }
+                }
+                buffer.limit((int) length);
+                position += length;
+                pending.add(executor.submit(() -> new Chunk(buffer, functions, hinted)));
+
+                if (pending.size() >= 2 * THREADS) {
+                    write(pending.remove(), out, summary);
+                }
+            }
+            while (!pending.isEmpty()) {
+                write(pending.remove(), out, summary);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        summary.seconds = (System.nanoTime() - start) * 1e-9;
+        return summary;
+    }
+
+    private static Quantity[] quantities(String names) {
+
+        String[] split = names.split(",");
+        Quantity[] out = new Quantity[split.length];
+
+        for (int i = 0; i < split.length; i++) {
+            out[i] = Quantity.valueOf(split[i].trim());
+        }
+        return out;
+    }
+
+    private void write(Future<Chunk> future, OutputStream out, Summary summary) throws IOException {
+
+        Chunk chunk;
+
+        try {
+            chunk = future.get();
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException(e);
+
+        } catch (ExecutionException e) {
+            throw new IOException(e.getCause());
+        }
+        out.write(chunk.OUTPUT);
+        summary.rows += chunk.ROWS;
+        summary.skipped += chunk.SKIPPED;
+
+        for (int i = 0; i < summary.regions.length; i++) {
+            summary.regions[i] += chunk.REGIONS[i];
+        }
+    }
+
+    /**
+     * Parsed &amp; evaluated chunk, holds the encoded output.
+     */
+    private final class Chunk {
+
+        private final int ROWS, SKIPPED;
+        private final long[] REGIONS = new long[6];
+        private final byte[] OUTPUT;
+
+        private Chunk(ByteBuffer buffer, DoubleBinaryOperator[] functions, HintedFunction[] hinted) {
+
+            double[] a, b;
+            int rows = 0, skipped = 0;
+
+            if (BINARY_INPUT) {
+                buffer.order(ByteOrder.LITTLE_ENDIAN);
+                a = new double[buffer.remaining() / 16];
+                b = new double[a.length];
+
+                while (buffer.hasRemaining()) {
+                    a[rows] = buffer.getDouble();
+                    b[rows++] = buffer.getDouble();
+                }
+            } else {
+                byte[] line = new byte[256];
+
+                a = new double[256];
+                b = new double[256];
+
+                while (buffer.hasRemaining()) {
+                    int length = 0;
+
+                    for (byte c; buffer.hasRemaining() && (c = buffer.get()) != '\n';) {
+                        if (length == line.length) {
+                            line = Arrays.copyOf(line, 2 * length);
+                        }
+                        line[length++] = c;
+                    }
+                    if (rows == a.length) {
+                        a = Arrays.copyOf(a, 2 * rows);
+                        b = Arrays.copyOf(b, 2 * rows);
+                    }
+                    try {
+                        a[rows] = column(line, length, COLUMN1);
+                        b[rows] = column(line, length, COLUMN2);
+                        rows++;
+
+                    } catch (NumberFormatException e) {
+                        skipped++;
+                    }
+                }
+            }
+            double[] conversion1 = UNIT_SYSTEM.getConversion(INPUT1),
+                    conversion2 = UNIT_SYSTEM.getConversion(INPUT2);
+            double[][] values = new double[functions.length][rows];
+
+            for (int i = 0; i < rows; i++) {
+                RegionHint hint = null;
+
+                try {
+                    Region region = Region.getRegion(INPUT1, INPUT2, IF97.convertToDefault(conversion1, a[i]), IF97.convertToDefault(conversion2, b[i]));
+
+                    if (region != null) {
+                        REGIONS[region.NUMBER]++;
+                        hint = RegionHint.values()[region.NUMBER - 1];
+                    }
+                } catch (OutOfRangeException e) {
+                    REGIONS[0]++;
+                }
+                for (int j = 0; j < functions.length; j++) {
+                    try {
+                        values[j][i] = hint == null || hinted[j] == null ? functions[j].applyAsDouble(a[i], b[i]) : hinted[j].apply(a[i], b[i], hint);
+
+                    } catch (IllegalArgumentException | UnsupportedOperationException e) {
+                        values[j][i] = Double.NaN;
+                    }
+                }
+            }
+            if (BINARY_OUTPUT) {
+                ByteBuffer out = ByteBuffer.allocate(4 + 8 * rows * functions.length).order(ByteOrder.LITTLE_ENDIAN);
+
+                out.putInt(rows);
+
+                for (double[] column : values) {
+                    for (int i = 0; i < rows; i++) {
+                        out.putDouble(column[i]);
+                    }
+                }
+                OUTPUT = out.array();
+
+            } else {
+                StringBuilder out = new StringBuilder(rows * 16 * (2 + functions.length));
+
+                for (int i = 0; i < rows; i++) {
+                    out.append(a[i]).append(',').append(b[i]);
+
+                    for (double[] column : values) {
+                        out.append(',').append(column[i]);
+                    }
+                    out.append('\n');
+                }
+                OUTPUT = out.toString().getBytes(StandardCharsets.US_ASCII);
+            }
+            ROWS = rows;
+            SKIPPED = skipped;
+        }
+
+        /**
+         * Parses the given column of the given line.
+         */
+        private double column(byte[] line, int length, int column) {
+
+            int start = 0;
+
+            for (int i = 0; i < column; i++) {
+                while (start < length && line[start] != DELIMITER) {
+                    start++;
+                }
+                start++;
+            }
+            int end = start;
+
+            while (end < length && line[end] != DELIMITER) {
+                end++;
+            }
+            if (start >= length) {
+                throw new NumberFormatException("Missing column " + (column + 1) + ".");
+            }
+            return Double.parseDouble(new String(line, start, end - start, StandardCharsets.US_ASCII).trim());
+        }
+    }
+
+    /**
+     * Processing summary.
+     */
+    static final class Summary {
+
+        long rows, skipped, trailing;
+        double seconds;
+        /**
+         * Rows per region, index 0 counts out-of-range rows.
+         */
+        final long[] regions = new long[6];
+
+        void print(PrintStream out) {
+
+            out.format(Locale.ROOT, "%d rows in %.3f s (%.0f rows/s), %d skipped%n", rows, seconds, rows / seconds, skipped);
+
+            for (int i = 1; i < regions.length; i++) {
+                if (regions[i] > 0) {
+                    out.format(Locale.ROOT, "region %d: %d%n", i, regions[i]);
+                }
+            }
+            if (regions[0] > 0) {
+                out.format(Locale.ROOT, "out of range: %d%n", regions[0]);
+            }
+            if (trailing > 0) {
+                out.format(Locale.ROOT, "warning: ignored %d trailing bytes, binary input should hold whole float64 pairs%n", trailing);
+            }
+        }
+    }
+}
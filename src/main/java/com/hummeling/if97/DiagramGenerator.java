@@ -0,0 +1,676 @@
+/*
+ * DiagramGenerator.java
+ *
+ * This file is part of IF97.
+ *
+ * IF97 is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option)
+ * any later version.
+ *
+ * IF97 is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with IF97. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Copyright 2009-2022 Hummeling Engineering BV (www.hummeling.com)
+ */
+package com.hummeling.if97;
+
+import com.hummeling.if97.IF97.Quantity;
+import com.hummeling.if97.IF97.UnitSystem;
+import com.hummeling.if97.IF97.ValidationLevel;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.DoubleFunction;
+
+/**
+ * Diagram data generator, generates isolines for Mollier (h-s), T-s &amp;
+ * p-h diagrams and steam tables: the saturation dome, isobars, isotherms,
+ * isenthalps, isentropes &amp; lines of constant vapour fraction.
+ *
+ * <p>
+ * Isolines are sampled adaptively along their arc length: an interval is
+ * halved while its chord is longer than 5% of the diagram or its midpoint
+ * deviates more than the tolerance from the chord, both in diagram
+ * coordinates normalized to the unit square. Point density thus follows the
+ * curvature of the isoline in the chosen diagram; straight parts, e.g.
+ * isobars in the two-phase region of a Mollier diagram, take few points.
+ * Isobars &amp; isotherms below the critical point are traced through the
+ * two-phase region along the vapour fraction, all points are evaluated with
+ * forward equations where available.
+ * Parts outside the range of validity (regions 1 to 4, up to 800 &deg;C) are
+ * left out, their boundaries located by bisection; disconnected branches are
+ * separated by a point of NaN values, which plotting tools draw as a line
+ * break.</p>
+ *
+ * <p>
+ * Isolines are generated in parallel, one task per isoline, on a fork/join
+ * pool. From the command line:</p>
+ * <pre>
+ * java -cp if97.jar com.hummeling.if97.DiagramGenerator [options] [output]
+ *
+ *   -d, --diagram HS       curvature control diagram: HS, TS or PH (default HS)
+ *   -u, --units DEFAULT    unit system of values &amp; output (default DEFAULT)
+ *   -S, --saturation       saturation dome (default if no isolines are given)
+ *   -p, --isobars 1,10     isobar pressures
+ *   -T, --isotherms 400    isotherm temperatures
+ *   -h, --isenthalps 2000  isenthalp specific enthalpies
+ *   -s, --isentropes 6     isentrope specific entropies
+ *   -x, --qualities 0.5    vapour fractions
+ *   -e, --tolerance 0.001  deviation tolerance (default 0.001)
+ * </pre>
+ * <p>
+ * CSV output, to the output file or standard output, holds one row per point:
+ * kind, value, p, T, h, s.</p>
+ *
+ * @author Ralph Hummeling
+ * (<a href="https://www.hummeling.com">www.hummeling.com</a>)
+ */
+public final class DiagramGenerator {
+
+    /**
+     * Default deviation tolerance, relative to the diagram size.
+     */
+    public static final double DEFAULT_TOLERANCE = 1e-3;
+    private static final double MAX_CHORD = 0.05, // relative to the diagram size
+            H_MAX = 4200, S_MAX = 12; // diagram ranges [kJ/kg], [kJ/kg-K]
+    private static final int INITIAL = 16, MAX_DEPTH = 24;
+    private final UnitSystem UNIT_SYSTEM;
+    private final ImmutableIF97 CALCULATOR;
+    private final Region4 REGION4;
+    private final Diagram DIAGRAM;
+    private final double TOLERANCE;
+    private final ForkJoinPool POOL;
+
+    /**
+     * Creates a diagram generator using the common fork/join pool.
+     *
+     * @param unitSystem unit system of isoline values &amp; points
+     * @param diagram diagram controlling the point density
+     * @param tolerance deviation tolerance relative to the diagram size
+     */
+    public DiagramGenerator(UnitSystem unitSystem, Diagram diagram, double tolerance) {
+        this(unitSystem, diagram, tolerance, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Creates a diagram generator.
+     *
+     * @param unitSystem unit system of isoline values &amp; points
+     * @param diagram diagram controlling the point density
+     * @param tolerance deviation tolerance relative to the diagram size
+     * @param pool fork/join pool generating the isolines
+     */
+    public DiagramGenerator(UnitSystem unitSystem, Diagram diagram, double tolerance, ForkJoinPool pool) {
+        this(IF97.builder().unitSystem(unitSystem), diagram, tolerance, pool);
+    }
+
+    /**
+     * Creates a diagram generator evaluating with the given settings, with
+     * full validation as parts out of range are located by it.
+     *
+     * @param settings unit system of isoline values &amp; points, and
+     * settings of the evaluations
+     * @param diagram diagram controlling the point density
+     * @param tolerance deviation tolerance relative to the diagram size
+     * @param pool fork/join pool generating the isolines
+     */
+    DiagramGenerator(IF97.Builder settings, Diagram diagram, double tolerance, ForkJoinPool pool) {
+
+        if (!(tolerance > 0)) {
+            throw new IllegalArgumentException("Tolerance should be positive: " + tolerance);
+        }
+        UNIT_SYSTEM = settings.build().getUnitSystem();
+        CALCULATOR = settings.unitSystem(UnitSystem.DEFAULT).validationLevel(ValidationLevel.FULL).build();
+        REGION4 = CALCULATOR.settings().REGION4;
+        DIAGRAM = diagram;
+        TOLERANCE = tolerance;
+        POOL = pool;
+    }
+
+    private static void add(List<double[]> points, double[] point) {
+
+        if (points.isEmpty() ? point != null : !Arrays.equals(points.get(points.size() - 1), point)) {
+            points.add(point);
+        }
+    }
+
+    /**
+     * Generates a single isoline on the calling thread.
+     *
+     * @param kind isoline kind
+     * @param value isoline value, ignored for the saturation dome
+     * @return isoline
+     * @throws OutOfRangeException if no part of the isoline is in range
+     */
+    public Isoline isoline(Kind kind, double value) throws OutOfRangeException {
+
+        double v = kind.QUANTITY == null ? Double.NaN : IF97.convertToDefault(UNIT_SYSTEM.getConversion(kind.QUANTITY), value);
+        List<double[]> points = new ArrayList<>();
+
+        if (v < kind.MIN) {
+            throw new OutOfRangeException(kind.QUANTITY, v, kind.MIN).convertFromDefault(UNIT_SYSTEM);
+
+        } else if (v > kind.MAX) {
+            throw new OutOfRangeException(kind.QUANTITY, v, kind.MAX).convertFromDefault(UNIT_SYSTEM);
+        }
+        for (Segment segment : segments(kind, v)) {
+            double dt = (segment.END - segment.START) / INITIAL, ta = segment.START;
+            double[] a = segment.state(ta);
+
+            add(points, a);
+
+            for (int i = 1; i <= INITIAL; i++) {
+                double tb = i == INITIAL ? segment.END : segment.START + i * dt;
+                double[] b = segment.state(tb);
+
+                sample(segment, ta, a, tb, b, 0, points);
+                ta = tb;
+                a = b;
+            }
+        }
+        while (!points.isEmpty() && points.get(points.size() - 1) == null) {
+            points.remove(points.size() - 1);
+        }
+        if (points.isEmpty()) {
+            throw new OutOfRangeException(kind.QUANTITY, v, v - kind.MIN < kind.MAX - v ? kind.MIN : kind.MAX).convertFromDefault(UNIT_SYSTEM);
+        }
+        return new Isoline(UNIT_SYSTEM, kind, value, points);
+    }
+
+    /**
+     * Generates isolines of one kind in parallel, out-of-range values are
+     * left out.
+     *
+     * @param kind isoline kind
+     * @param values isoline values
+     * @return isolines, in the order of the values
+     */
+    public List<Isoline> isolines(Kind kind, double... values) {
+
+        Kind[] kinds = new Kind[values.length];
+
+        Arrays.fill(kinds, kind);
+        return isolines(kinds, values);
+    }
+
+    /**
+     * Generates isolines in parallel, out-of-range ones are left out.
+     *
+     * @param kinds isoline kinds
+     * @param values isoline values
+     * @return isolines, in the order of the arguments
+     */
+    List<Isoline> isolines(Kind[] kinds, double[] values) {
+
+        List<ForkJoinTask<Isoline>> tasks = new ArrayList<>(kinds.length);
+        List<Isoline> out = new ArrayList<>(kinds.length);
+
+        for (int i = 0; i < kinds.length; i++) {
+            Kind kind = kinds[i];
+            double value = values[i];
+
+            tasks.add(POOL.submit(() -> {
+                try {
+                    return isoline(kind, value);
+
+                } catch (OutOfRangeException e) {
+                    return null;
+                }
+            }));
+        }
+        for (ForkJoinTask<Isoline> task : tasks) {
+            Isoline isoline = task.join();
+
+            if (isoline != null) {
+                out.add(isoline);
+            }
+        }
+        return out;
+    }
+
+    public static void main(String[] args) throws IOException {
+
+        UnitSystem unitSystem = UnitSystem.DEFAULT;
+        Diagram diagram = Diagram.HS;
+        double tolerance = DEFAULT_TOLERANCE;
+        List<Kind> kinds = new ArrayList<>();
+        List<String> values = new ArrayList<>();
+        String output = null;
+
+        try {
+            for (int i = 0; i < args.length; i++) {
+                Kind kind = null;
+
+                switch (args[i]) {
+                    case "-d":
+                    case "--diagram":
+                        diagram = Diagram.valueOf(args[++i].toUpperCase(Locale.ROOT));
+                        break;
+
+                    case "-u":
+                    case "--units":
+                        unitSystem = UnitSystem.valueOf(args[++i].toUpperCase(Locale.ROOT));
+                        break;
+
+                    case "-e":
+                    case "--tolerance":
+                        tolerance = Double.parseDouble(args[++i]);
+                        break;
+
+                    case "-S":
+                    case "--saturation":
+                        kinds.add(Kind.SATURATION);
+                        values.add("NaN");
+                        break;
+
+                    case "-p":
+                    case "--isobars":
+                        kind = Kind.ISOBAR;
+                        break;
+
+                    case "-T":
+                    case "--isotherms":
+                        kind = Kind.ISOTHERM;
+                        break;
+
+                    case "-h":
+                    case "--isenthalps":
+                        kind = Kind.ISENTHALP;
+                        break;
+
+                    case "-s":
+                    case "--isentropes":
+                        kind = Kind.ISENTROPE;
+                        break;
+
+                    case "-x":
+                    case "--qualities":
+                        kind = Kind.QUALITY;
+                        break;
+
+                    default:
+                        if (output != null) {
+                            throw new IllegalArgumentException("Unexpected argument: " + args[i]);
+                        }
+                        output = args[i];
+                }
+                if (kind != null) {
+                    for (String value : args[++i].split(",")) {
+                        kinds.add(kind);
+                        values.add(value.trim());
+                    }
+                }
+            }
+            if (kinds.isEmpty()) {
+                kinds.add(Kind.SATURATION);
+                values.add("NaN");
+            }
+            double[] v = new double[values.size()];
+
+            for (int i = 0; i < v.length; i++) {
+                v[i] = Double.parseDouble(values.get(i));
+            }
+            List<Isoline> isolines = new DiagramGenerator(unitSystem, diagram, tolerance).isolines(kinds.toArray(new Kind[0]), v);
+
+            if (output == null) {
+                PrintStream out = new PrintStream(System.out, false, "UTF-8");
+
+                writeCSV(isolines, out);
+                out.flush();
+
+            } else {
+                try (Writer out = Files.newBufferedWriter(Paths.get(output), StandardCharsets.UTF_8)) {
+                    writeCSV(isolines, out);
+                }
+            }
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+            System.err.println("Error: " + e.getMessage());
+            System.err.println("Usage: java -cp if97.jar " + DiagramGenerator.class.getName() + " [-d HS|TS|PH] [-u DEFAULT] [-S] [-p 1,10] [-T 400] [-h 2000] [-s 6] [-x 0.5] [-e 0.001] [output]");
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Samples the given interval, appending the points after its start, null
+     * for a break.
+     */
+    private void sample(Segment segment, double ta, double[] a, double tb, double[] b, int depth, List<double[]> points) {
+
+        if (a == null && b == null) {
+            add(points, null);
+            return;
+        }
+        if (depth < MAX_DEPTH) {
+            double tm = 0.5 * (ta + tb);
+            double[] m = segment.state(tm);
+            boolean split = a == null || b == null || m == null;
+
+            if (!split) {
+                double xa = DIAGRAM.x(a), ya = DIAGRAM.y(a),
+                        xb = DIAGRAM.x(b), yb = DIAGRAM.y(b);
+
+                split = Math.hypot(xb - xa, yb - ya) > MAX_CHORD
+                        || Math.hypot(DIAGRAM.x(m) - 0.5 * (xa + xb), DIAGRAM.y(m) - 0.5 * (ya + yb)) > TOLERANCE;
+            }
+            if (split) {
+                sample(segment, ta, a, tm, m, depth + 1, points);
+                sample(segment, tm, m, tb, b, depth + 1, points);
+                return;
+            }
+        }
+        add(points, b);
+    }
+
+    /**
+     * Parameterizations of the given isoline in default units.
+     */
+    private Segment[] segments(Kind kind, double value) {
+
+        double lnP0 = Math.log(IF97.p0), lnP132 = Math.log(Region.p132);
+
+        switch (kind) {
+            case SATURATION:
+                return new Segment[]{
+                    quality(0, IF97.T0, IF97.Tc),
+                    quality(1, IF97.Tc, IF97.T0)};
+
+            case ISOBAR:
+                if (value >= IF97.pc) {
+                    return new Segment[]{new Segment(IF97.T0, Region.T25, false, T -> statePT(value, T))};
+                }
+                double Ts = REGION4.saturationTemperatureP(value);
+                double[] liquidP = state(value, Ts, CALCULATOR.specificEnthalpyPX(value, 0), CALCULATOR.specificEntropyPX(value, 0)),
+                 vapourP = state(value, Ts, CALCULATOR.specificEnthalpyPX(value, 1), CALCULATOR.specificEntropyPX(value, 1));
+
+                return new Segment[]{
+                    new Segment(IF97.T0, Ts, false, T -> T >= Ts ? liquidP : statePT(value, T)),
+                    new Segment(0, 1, false, x -> state(value, Ts, CALCULATOR.specificEnthalpyPX(value, x), CALCULATOR.specificEntropyPX(value, x))),
+                    new Segment(Ts, Region.T25, false, T -> T <= Ts ? vapourP : statePT(value, T))};
+
+            case ISOTHERM:
+                if (value >= IF97.Tc) {
+                    return new Segment[]{new Segment(lnP132, lnP0, true, p -> statePT(p, value))};
+                }
+                double ps = REGION4.saturationPressureT(value),
+                 lnPs = Math.log(ps);
+                double[] liquid = state(ps, value, CALCULATOR.specificEnthalpyTX(value, 0), CALCULATOR.specificEntropyTX(value, 0)),
+                 vapour = state(ps, value, CALCULATOR.specificEnthalpyTX(value, 1), CALCULATOR.specificEntropyTX(value, 1));
+
+                return new Segment[]{
+                    new Segment(lnP132, lnPs, true, p -> p <= ps ? liquid : statePT(p, value)),
+                    new Segment(0, 1, false, x -> state(ps, value, CALCULATOR.specificEnthalpyTX(value, x), CALCULATOR.specificEntropyTX(value, x))),
+                    new Segment(lnPs, lnP0, true, p -> p >= ps ? vapour : statePT(p, value))};
+
+            case ISENTHALP:
+                return new Segment[]{new Segment(lnP132, lnP0, true,
+                    p -> state(p, CALCULATOR.temperaturePH(p, value), value, CALCULATOR.specificEntropyPH(p, value)))};
+
+            case ISENTROPE:
+                return new Segment[]{new Segment(lnP132, lnP0, true,
+                    p -> state(p, CALCULATOR.temperaturePS(p, value), CALCULATOR.specificEnthalpyPS(p, value), value))};
+
+            case QUALITY:
+                return new Segment[]{quality(value, IF97.T0, IF97.Tc)};
+
+            default:
+                throw new IllegalArgumentException("Unsupported isoline kind: " + kind);
+        }
+    }
+
+    private Segment quality(double x, double T1, double T2) {
+        return new Segment(T1, T2, false, T -> T >= IF97.Tc
+                ? state(IF97.pc, IF97.Tc, IF97.hc, IF97.sc)
+                : state(REGION4.saturationPressureT(T), T, CALCULATOR.specificEnthalpyTX(T, x), CALCULATOR.specificEntropyTX(T, x)));
+    }
+
+    private static double[] state(double p, double T, double h, double s) {
+        return new double[]{p, T, h, s};
+    }
+
+    private double[] statePT(double p, double T) {
+        return state(p, T, CALCULATOR.specificEnthalpyPT(p, T), CALCULATOR.specificEntropyPT(p, T));
+    }
+
+    @Override
+    public String toString() {
+        return "DiagramGenerator{" + DIAGRAM + ", tolerance=" + TOLERANCE + ", " + UNIT_SYSTEM + "}";
+    }
+
+    /**
+     * Writes isolines as CSV: a header followed by one row per point, kind,
+     * value, p, T, h, s.
+     *
+     * @param isolines isolines
+     * @param out output
+     * @throws IOException on write failure
+     */
+    public static void writeCSV(List<Isoline> isolines, Appendable out) throws IOException {
+
+        out.append("kind,value,p,T,h,s\n");
+
+        for (Isoline isoline : isolines) {
+            String prefix = isoline.KIND.name() + ',' + isoline.VALUE + ',';
+
+            for (int i = 0; i < isoline.size(); i++) {
+                out.append(prefix)
+                        .append(Double.toString(isoline.P[i])).append(',')
+                        .append(Double.toString(isoline.T[i])).append(',')
+                        .append(Double.toString(isoline.H[i])).append(',')
+                        .append(Double.toString(isoline.S[i])).append('\n');
+            }
+        }
+    }
+
+    /**
+     * Diagram, its axes determine the point density.
+     */
+    public enum Diagram {
+        /**
+         * Mollier diagram: specific enthalpy vs. specific entropy.
+         */
+        HS,
+        /**
+         * Temperature vs. specific entropy.
+         */
+        TS,
+        /**
+         * Pressure (logarithmic) vs. specific enthalpy.
+         */
+        PH;
+
+        private static final double LN_P0 = Math.log(IF97.p0), LN_P132 = Math.log(Region.p132);
+
+        /**
+         * Normalized horizontal coordinate of the given default-unit state.
+         */
+        double x(double[] state) {
+            return this == PH ? state[2] / H_MAX : state[3] / S_MAX;
+        }
+
+        /**
+         * Normalized vertical coordinate of the given default-unit state.
+         */
+        double y(double[] state) {
+
+            switch (this) {
+                case HS:
+                    return state[2] / H_MAX;
+
+                case TS:
+                    return (state[1] - IF97.T0) / (Region.T25 - IF97.T0);
+
+                default:
+                    return (Math.log(state[0]) - LN_P0) / (LN_P132 - LN_P0);
+            }
+        }
+    }
+
+    /**
+     * Isoline: points of pressure, temperature, specific enthalpy &amp;
+     * specific entropy, a point of NaN values separating branches.
+     */
+    public static final class Isoline {
+
+        private final Kind KIND;
+        private final double VALUE;
+        private final double[] P, T, H, S;
+
+        private Isoline(UnitSystem unitSystem, Kind kind, double value, List<double[]> points) {
+
+            int n = points.size();
+
+            KIND = kind;
+            VALUE = value;
+            P = new double[n];
+            T = new double[n];
+            H = new double[n];
+            S = new double[n];
+
+            for (int i = 0; i < n; i++) {
+                double[] point = points.get(i);
+
+                if (point == null) {
+                    P[i] = T[i] = H[i] = S[i] = Double.NaN;
+
+                } else {
+                    P[i] = IF97.convertFromDefault(unitSystem.PRESSURE, point[0]);
+                    T[i] = IF97.convertFromDefault(unitSystem.TEMPERATURE, point[1]);
+                    H[i] = IF97.convertFromDefault(unitSystem.SPECIFIC_ENTHALPY, point[2]);
+                    S[i] = IF97.convertFromDefault(unitSystem.SPECIFIC_ENTROPY, point[3]);
+                }
+            }
+        }
+
+        /**
+         * Point values of the given quantity.
+         *
+         * @param quantity p, T, h or s
+         * @return values (copy)
+         */
+        public double[] get(Quantity quantity) {
+
+            switch (quantity) {
+                case p:
+                    return P.clone();
+
+                case T:
+                    return T.clone();
+
+                case h:
+                    return H.clone();
+
+                case s:
+                    return S.clone();
+
+                default:
+                    throw new IllegalArgumentException("Quantity not available: " + quantity);
+            }
+        }
+
+        public Kind getKind() {
+            return KIND;
+        }
+
+        /**
+         * Isoline value, NaN for the saturation dome.
+         *
+         * @return value
+         */
+        public double getValue() {
+            return VALUE;
+        }
+
+        /**
+         * Number of points, including branch separators.
+         *
+         * @return point count
+         */
+        public int size() {
+            return P.length;
+        }
+
+        @Override
+        public String toString() {
+            return "Isoline{" + KIND + (KIND.QUANTITY == null ? "" : " " + KIND.QUANTITY + "=" + VALUE) + ", " + P.length + " points}";
+        }
+    }
+
+    /**
+     * Isoline kind &amp; the quantity it keeps constant.
+     */
+    public enum Kind {
+        /**
+         * Saturated liquid &amp; vapour lines, joined at the critical point.
+         */
+        SATURATION(null, Double.NaN, Double.NaN),
+        ISOBAR(Quantity.p, IF97.p0, Region.p132),
+        ISOTHERM(Quantity.T, IF97.T0, Region.T25),
+        ISENTHALP(Quantity.h, Region1.INSTANCE.specificEnthalpyPT(IF97.p0, IF97.T0), Region2.INSTANCE.specificEnthalpyPT(IF97.p0, Region.T25)),
+        ISENTROPE(Quantity.s, Region1.INSTANCE.specificEntropyPT(Region.p132, IF97.T0), Region2.INSTANCE.specificEntropyPT(IF97.p0, Region.T25)),
+        /**
+         * Constant vapour fraction.
+         */
+        QUALITY(Quantity.x, 0, 1);
+        final Quantity QUANTITY;
+        /**
+         * Range of valid values [default units].
+         */
+        final double MIN, MAX;
+
+        Kind(Quantity quantity, double min, double max) {
+            QUANTITY = quantity;
+            MIN = min;
+            MAX = max;
+        }
+    }
+
+    /**
+     * Isoline part parameterized on an interval, logarithmically for
+     * pressure; states are null where out of range.
+     */
+    private static final class Segment {
+
+        private final double START, END;
+        private final boolean LOG;
+        private final DoubleFunction<double[]> STATE;
+
+        private Segment(double start, double end, boolean log, DoubleFunction<double[]> state) {
+            START = start;
+            END = end;
+            LOG = log;
+            STATE = state;
+        }
+
+        private double[] state(double t) {
+
+            try {
+                double[] state = STATE.apply(LOG ? Math.exp(t) : t);
+
+                for (double value : state) {
+                    if (Double.isNaN(value)) {
+                        return null;
+                    }
+                }
+                return state;
+
+            } catch (IllegalArgumentException e) {
+                return null;
+            }
+        }
+    }
+}
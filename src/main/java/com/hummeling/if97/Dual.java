@@ -0,0 +1,190 @@
+/*
+ * Dual.java
+ *
+ * This file is part of IF97.
+ *
+ * IF97 is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option)
+ * any later version.
+ *
+ * IF97 is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with IF97. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Copyright 2009-2022 Hummeling Engineering BV (www.hummeling.com)
+ */
+package com.hummeling.if97;
+
+import java.util.Arrays;
+
+/**
+ * Dual number for forward-mode automatic differentiation: a value and its
+ * derivatives (tangent) with respect to a fixed number of directions, e.g. the
+ * parameters of a model upstream of IF97, see
+ * {@link IF97#dualFunction(IF97.Quantity, IF97.Quantity, IF97.Quantity)}.
+ *
+ * <p>
+ * To obtain the gradient of an output with respect to the inputs themselves,
+ * seed each input with its own direction:</p>
+ * <pre>
+ * Dual p = new Dual(2), T = new Dual(2), h = new Dual(2);
+ *
+ * p.set(1, 0); // 1 MPa, direction 0
+ * T.set(500, 1); // 500 K, direction 1
+ * if97.dualFunction(Quantity.h, Quantity.p, Quantity.T).apply(p, T, h);
+ * // h.getTangent(0) = dh/dp, h.getTangent(1) = dh/dT
+ * </pre>
+ *
+ * <p>
+ * Instances are mutable so that they can be reused over many evaluations
+ * without allocation, including the workspace of the evaluation; they are not
+ * thread-safe.</p>
+ *
+ * @author Ralph Hummeling
+ * (<a href="https://www.hummeling.com">www.hummeling.com</a>)
+ */
+public final class Dual {
+
+    private final double[] TANGENT;
+    private double value = Double.NaN;
+    /**
+     * Partial derivatives with respect to the two inputs of the last
+     * evaluation, in default units.
+     */
+    double partial1, partial2;
+    /**
+     * Workspace holding the dimensionless free energy &amp; its derivatives,
+     * see {@link Region#JET_SIZE}.
+     */
+    final double[] JET = new double[Region.JET_SIZE];
+
+    /**
+     * Creates a dual number with the given number of directions, value NaN
+     * and tangent 0.
+     *
+     * @param directions number of directions, not negative
+     * @throws IllegalArgumentException if negative
+     */
+    public Dual(int directions) {
+
+        if (directions < 0) {
+            throw new IllegalArgumentException("Number of directions should not be negative: " + directions);
+        }
+        TANGENT = new double[directions];
+    }
+
+    /**
+     * Creates a dual number with the given value &amp; tangent, the number of
+     * directions being the length of the tangent.
+     *
+     * @param value value
+     * @param tangent derivatives with respect to each direction
+     */
+    public Dual(double value, double... tangent) {
+        this.value = value;
+        TANGENT = tangent.clone();
+    }
+
+    /**
+     * Sets the value &amp; tangent from the given value &amp; partial
+     * derivatives with respect to two inputs, by the chain rule. Tangents of
+     * the inputs are read before this tangent is written, so either input may
+     * be this object.
+     */
+    void chain(double value, double partial1, Dual input1, double partial2, Dual input2) {
+
+        if (input1.TANGENT.length != TANGENT.length || input2.TANGENT.length != TANGENT.length) {
+            throw new IllegalArgumentException("Number of directions should be equal: " + input1.TANGENT.length + ", " + input2.TANGENT.length + ", " + TANGENT.length);
+        }
+        for (int i = 0; i < TANGENT.length; i++) {
+            TANGENT[i] = partial1 * input1.TANGENT[i] + partial2 * input2.TANGENT[i];
+        }
+        this.value = value;
+    }
+
+    /**
+     * Sets value &amp; partial derivatives with respect to the two inputs.
+     */
+    void partials(double value, double partial1, double partial2) {
+        this.value = value;
+        this.partial1 = partial1;
+        this.partial2 = partial2;
+    }
+
+    /**
+     * Transforms the partial derivatives with respect to inputs (a, b) into
+     * those with respect to (a, y), given the partial derivatives of y with
+     * respect to (a, b).
+     *
+     * @param ya dy/da
+     * @param yb dy/db
+     */
+    void substitute(double ya, double yb) {
+        partial1 -= partial2 * ya / yb;
+        partial2 /= yb;
+    }
+
+    public int getDirections() {
+        return TANGENT.length;
+    }
+
+    /**
+     * Derivative with respect to the given direction.
+     *
+     * @param direction direction, 0 to {@link #getDirections()} - 1
+     * @return derivative
+     */
+    public double getTangent(int direction) {
+        return TANGENT[direction];
+    }
+
+    public double getValue() {
+        return value;
+    }
+
+    /**
+     * Sets the value, with tangent 0, i.e. a constant.
+     *
+     * @param value value
+     */
+    public void set(double value) {
+        this.value = value;
+        Arrays.fill(TANGENT, 0);
+    }
+
+    /**
+     * Sets the value, with tangent 1 for the given direction and 0 for the
+     * others, i.e. an independent variable.
+     *
+     * @param value value
+     * @param direction direction, 0 to {@link #getDirections()} - 1
+     */
+    public void set(double value, int direction) {
+        set(value);
+        TANGENT[direction] = 1;
+    }
+
+    /**
+     * Sets the derivative with respect to the given direction.
+     *
+     * @param direction direction, 0 to {@link #getDirections()} - 1
+     * @param derivative derivative
+     */
+    public void setTangent(int direction, double derivative) {
+        TANGENT[direction] = derivative;
+    }
+
+    public void setValue(double value) {
+        this.value = value;
+    }
+
+    @Override
+    public String toString() {
+        return "Dual{" + value + ", " + Arrays.toString(TANGENT) + "}";
+    }
+}
@@ -22,6 +22,8 @@ package com.hummeling.if97;
 
 import static java.lang.StrictMath.*;
 import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.function.DoubleBinaryOperator;
 
 /**
  * <p>
@@ -34,6 +36,17 @@ import java.util.*;
  * {@link UnitSystem} for options.</p>
  *
  * <p>
+ * Instances created by a constructor can be reconfigured by their setters and
+ * should not be shared between threads while doing so. {@link #builder()}
+ * builds {@link ImmutableIF97} objects instead, which have the same property
+ * methods but no setters: their settings are held in a final field, and all
+ * other state they read, the region equations &amp; their coefficients, is
+ * immutable and initialized statically. An immutable object can therefore be
+ * used by any number of threads concurrently without locking. Objects returned
+ * by its methods, e.g. tables &amp; coalescers, document their own thread
+ * safety.</p>
+ *
+ * <p>
  * Properties are generally available as functions of three quantity
  * combinations: pressure &amp; temperature (p, T), pressure &amp; specific
  * enthalpy (p, h), and specific enthalpy &amp; specific entropy (h, s).</p>
@@ -48,7 +61,7 @@ import java.util.*;
  * @author Ralph Hummeling
  * (<a href="https://www.hummeling.com">www.hummeling.com</a>)
  */
-public class IF97 {
+public class IF97 extends AbstractIF97 {
 
     /**
      * Specific gas constant of ordinary water [kJ/kg-K].
@@ -63,7 +76,11 @@ public class IF97 {
      */
     public static final double M = 18.015257;
     public static final double T0 = 273.15; //TODO Check with book (it states 273.16 somewhere)
-    public static final double p0 = Region.REGION4.saturationPressureT(T0);
+    /**
+     * Saturation pressure at T0 [MPa], precomputed from the region 4
+     * saturation-pressure equation.
+     */
+    public static final double p0 = 6.112126774443448E-4;
     /**
      * Critical pressure [MPa].
      */
@@ -83,7 +100,7 @@ public class IF97 {
     /**
      * Critical entropy [kJ/kg-K].
      */
-    public static final double sc = Region.REGION3.specificEntropyRhoT(rhoc, Tc);
+    public static final double sc = 4.412021482236347; // region 3 entropy at (rhoc, Tc)
     /**
      * British thermal unit acc. International standard ISO 31-4 on Quantities
      * and units—Part 4: Heat, Appendix A [kJ]
@@ -98,7 +115,7 @@ public class IF97 {
      */
     public static final double lb = 0.45359237;
     private static final double ft, ft2, ft3, hr, in, in2, lbf, psi, Ra;
-    private static final Collection<Quantity> PARTIAL_DERIVATIVE_QUANTITIES;
+    static final Collection<Quantity> PARTIAL_DERIVATIVE_QUANTITIES;
 
     static {
         ft = 0.3048; // foot [m]
@@ -113,7 +130,7 @@ public class IF97 {
         PARTIAL_DERIVATIVE_QUANTITIES = Quantity.getPartialDerivatives();
     }
 
-    private UnitSystem UNIT_SYSTEM;
+    private Settings SETTINGS;
 
     /**
      * Instantiate an IF97 object with the default unit system.
@@ -128,232 +145,18 @@ public class IF97 {
      * @param unitSystem unit system
      */
     public IF97(UnitSystem unitSystem) {
-        setUnitSystem(unitSystem);
-    }
-
-    /**
-     * Prandtl number.
-     *
-     * @param enthalpy specific enthalpy
-     * @param entropy specific entropy
-     * @return Prandtl number
-     * @throws OutOfRangeException out-of-range exception
-     */
-    public double PrandtlHS(double enthalpy, double entropy) throws OutOfRangeException {
-
-        double h = convertToDefault(UNIT_SYSTEM.SPECIFIC_ENTHALPY, enthalpy),
-                s = convertToDefault(UNIT_SYSTEM.SPECIFIC_ENTROPY, entropy);
-
-        try {
-            Region region = Region.getRegionHS(h, s);
-
-            double p = region.pressureHS(h, s),
-                    T = region.temperatureHS(h, s);
-
-            return Calculate.PrandtlPT(p, T);
-
-        } catch (OutOfRangeException e) {
-            throw e.convertFromDefault(UNIT_SYSTEM);
-        }
-    }
-
-    /**
-     * Prandtl number.
-     *
-     * @param pressure absolute pressure
-     * @param enthalpy specific enthalpy
-     * @return Prandtl number
-     * @throws OutOfRangeException out-of-range exception
-     */
-    public double PrandtlPH(double pressure, double enthalpy) throws OutOfRangeException {
-
-        double p = convertToDefault(UNIT_SYSTEM.PRESSURE, pressure),
-                h = convertToDefault(UNIT_SYSTEM.SPECIFIC_ENTHALPY, enthalpy);
-
-        try {
-            return Calculate.PrandtlPH(p, h);
-
-        } catch (OutOfRangeException e) {
-            throw e.convertFromDefault(UNIT_SYSTEM);
-        }
-    }
-
-    /**
-     * Prandtl number.
-     *
-     * @param pressure absolute pressure
-     * @param entropy specific entropy
-     * @return Prandtl number
-     * @throws OutOfRangeException out-of-range exception
-     */
-    public double PrandtlPS(double pressure, double entropy) throws OutOfRangeException {
-
-        double p = convertToDefault(UNIT_SYSTEM.PRESSURE, pressure),
-                s = convertToDefault(UNIT_SYSTEM.SPECIFIC_ENTROPY, entropy);
-
-        try {
-            double T = Region.getRegionPS(p, s).temperaturePS(p, s);
-
-            return Calculate.PrandtlPT(p, T);
-
-        } catch (OutOfRangeException e) {
-            throw e.convertFromDefault(UNIT_SYSTEM);
-        }
-    }
-
-    /**
-     * Prandtl number.
-     *
-     * @param pressure absolute pressure
-     * @param temperature temperature
-     * @return Prandtl number
-     * @throws OutOfRangeException out-of-range exception
-     */
-    public double PrandtlPT(double pressure, double temperature) throws OutOfRangeException {
-
-        double p = convertToDefault(UNIT_SYSTEM.PRESSURE, pressure),
-                T = convertToDefault(UNIT_SYSTEM.TEMPERATURE, temperature);
-
-        try {
-            return Calculate.PrandtlPT(p, T);
-
-        } catch (OutOfRangeException e) {
-            throw e.convertFromDefault(UNIT_SYSTEM);
-        }
-    }
-
-    /**
-     * Isothermal compressibility as a function of specific enthalpy &amp;
-     * specific entropy.
-     *
-     * @param enthalpy specific enthalpy
-     * @param entropy specific entropy
-     * @return isothermal compressibility
-     * @throws OutOfRangeException out-of-range exception
-     */
-    public double compressibilityHS(double enthalpy, double entropy) throws OutOfRangeException {
-
-        double h = convertToDefault(UNIT_SYSTEM.SPECIFIC_ENTHALPY, enthalpy),
-                s = convertToDefault(UNIT_SYSTEM.SPECIFIC_ENTROPY, entropy),
-                kappaT;
-
-        try {
-            Region region = Region.getRegionHS(h, s);
-
-            double p = region.pressureHS(h, s),
-                    T = region.temperatureHS(h, s);
-
-            kappaT = region.isothermalCompressibilityPT(p, T);
-
-        } catch (OutOfRangeException e) {
-            throw e.convertFromDefault(UNIT_SYSTEM);
-        }
-        return convertFromDefault(UNIT_SYSTEM.COMPRESSIBILITY, kappaT);
-    }
-
-    /**
-     * Isothermal compressibility as a function of pressure &amp; specific
-     * enthalpy.
-     *
-     * @param pressure absolute pressure
-     * @param enthalpy specific enthalpy
-     * @return isothermal compressibility
-     * @throws OutOfRangeException out-of-range exception
-     */
-    public double compressibilityPH(double pressure, double enthalpy) throws OutOfRangeException {
-
-        double p = convertToDefault(UNIT_SYSTEM.PRESSURE, pressure),
-                h = convertToDefault(UNIT_SYSTEM.SPECIFIC_ENTHALPY, enthalpy),
-                kappaT;
-
-        try {
-            Region region = Region.getRegionPH(p, h);
-
-            if (region instanceof Region4) {
-                kappaT = Region.REGION4.isothermalCompressibilityPH(p, h);
-
-            } else {
-                double T = region.temperaturePH(p, h);
-
-                kappaT = region.isothermalCompressibilityPT(p, T);
-            }
-        } catch (OutOfRangeException e) {
-            throw e.convertFromDefault(UNIT_SYSTEM);
-        }
-        return convertFromDefault(UNIT_SYSTEM.COMPRESSIBILITY, kappaT);
-    }
-
-    /**
-     * Isothermal compressibility as a function of pressure &amp; specific
-     * entropy.
-     *
-     * @param pressure absolute pressure
-     * @param entropy specific entropy
-     * @return isothermal compressibility
-     * @throws OutOfRangeException out-of-range exception
-     */
-    public double compressibilityPS(double pressure, double entropy) throws OutOfRangeException {
-
-        double p = convertToDefault(UNIT_SYSTEM.PRESSURE, pressure),
-                s = convertToDefault(UNIT_SYSTEM.SPECIFIC_ENTROPY, entropy),
-                kappaT;
-
-        try {
-            Region region = Region.getRegionPS(p, s);
-
-            double T = region.temperaturePS(p, s);
-
-            kappaT = region.isothermalCompressibilityPT(p, T);
-
-        } catch (OutOfRangeException e) {
-            throw e.convertFromDefault(UNIT_SYSTEM);
-        }
-        return convertFromDefault(UNIT_SYSTEM.COMPRESSIBILITY, kappaT);
+        SETTINGS = new Settings(builder().unitSystem(unitSystem));
     }
 
     /**
-     * Isothermal compressibility as a function of pressure &amp; temperature.
+     * Builder of immutable IF97 objects, with the default unit system &amp;
+     * settings unless set otherwise.
      *
-     * @param pressure absolute pressure
-     * @param temperature temperature
-     * @return isothermal compressibility
-     * @throws OutOfRangeException out-of-range exception
+     * @return builder
+     * @see #toBuilder()
      */
-    public double compressibilityPT(double pressure, double temperature) throws OutOfRangeException {
-
-        double p = convertToDefault(UNIT_SYSTEM.PRESSURE, pressure),
-                T = convertToDefault(UNIT_SYSTEM.TEMPERATURE, temperature),
-                kappaT;
-
-        try {
-            kappaT = Region.getRegionPT(p, T).isothermalCompressibilityPT(p, T);
-
-        } catch (OutOfRangeException e) {
-            throw e.convertFromDefault(UNIT_SYSTEM);
-        }
-        return convertFromDefault(UNIT_SYSTEM.COMPRESSIBILITY, kappaT);
-    }
-
-    /**
-     * Compression factor (real-gas factor) as a function of pressure &amp;
-     * temperature.
-     *
-     * @param pressure absolute pressure
-     * @param temperature temperature
-     * @return compression factor
-     * @throws OutOfRangeException out-of-range exception
-     */
-    public double compressionFactorPT(double pressure, double temperature) throws OutOfRangeException {
-
-        double p = convertToDefault(UNIT_SYSTEM.PRESSURE, pressure),
-                T = convertToDefault(UNIT_SYSTEM.TEMPERATURE, temperature);
-
-        try {
-            return 1e3 * p * Region.getRegionPT(p, T).specificVolumePT(p, T) / (R * T);
-
-        } catch (OutOfRangeException e) {
-            throw e.convertFromDefault(UNIT_SYSTEM);
-        }
+    public static Builder builder() {
+        return new Builder();
     }
 
     public static double convertFromDefault(UnitSystem unitSystem, IF97.Quantity quantity, double value) {
@@ -404,3061 +207,663 @@ public class IF97 {
         return value * quantity[0] + quantity[1];
     }
 
-//    public double convertToDefault(IF97.Quantity quantity, double value) {
-//
-//        switch (quantity) {
-//            case T:
-//                return convertToDefault(UNIT_SYSTEM.TEMPERATURE, value);
-//
-//            case f:
-//            case g:
-//            case u:
-//                return convertToDefault(UNIT_SYSTEM.SPECIFIC_ENERGY, value);
-//
-//            case h:
-//                return convertToDefault(UNIT_SYSTEM.SPECIFIC_ENTHALPY, value);
-//
-//            case lambda:
-//                return convertToDefault(UNIT_SYSTEM.THERMAL_CONDUCTIVITY, value);
-//
-//            case lambdaL:
-//                return convertToDefault(UNIT_SYSTEM.WAVELENGTH, value);
-//
-//            case p:
-//                return convertToDefault(UNIT_SYSTEM.PRESSURE, value);
-//
-//            case rho:
-//                return convertToDefault(UNIT_SYSTEM.DENSITY, value);
-//
-//            case s:
-//                return convertToDefault(UNIT_SYSTEM.SPECIFIC_ENTROPY, value);
-//
-//            case v:
-//                return convertToDefault(UNIT_SYSTEM.SPECIFIC_VOLUME, value);
-//
-//            case x:
-//                return value;
-//
-//            default:
-//                throw new IllegalArgumentException("No conversion available for: " + quantity);
-//        }
-//    }
-    /**
-     * Density as a function of specific enthalpy &amp; specific entropy.
-     *
-     * <p>
-     * This is a convenience method which simply calls
-     * <code>1.0 / specificVolumeHS(enthalpy, entropy)</code>.
-     *
-     * @param enthalpy specific enthalpy
-     * @param entropy specific entropy
-     * @return density
-     * @throws OutOfRangeException out-of-range exception
-     * @see #specificVolumeHS(double, double)
-     */
-    public double densityHS(double enthalpy, double entropy) throws OutOfRangeException {
-        return 1 / specificVolumeHS(enthalpy, entropy);
-    }
-
-    /**
-     * Density as a function of pressure &amp; specific enthalpy.
-     *
-     * <p>
-     * This is a convenience method which simply calls
-     * <code>1.0 / specificVolumePH(pressure, enthalpy)</code>.
-     *
-     * @param pressure absolute pressure
-     * @param enthalpy specific enthalpy
-     * @return density
-     * @throws OutOfRangeException out-of-range exception
-     * @see #specificVolumePH(double, double)
-     */
-    public double densityPH(double pressure, double enthalpy) throws OutOfRangeException {
-        return 1 / specificVolumePH(pressure, enthalpy);
-    }
-
-    /**
-     * Density as a function of pressure &amp; specific entropy.
-     *
-     * <p>
-     * This is a convenience method which simply calls
-     * <code>1.0 / specificVolumePS(pressure, entropy)</code>.
-     *
-     * @param pressure absolute pressure
-     * @param entropy specific entropy
-     * @return density
-     * @throws OutOfRangeException out-of-range exception
-     * @see #specificVolumePS(double, double)
-     */
-    public double densityPS(double pressure, double entropy) throws OutOfRangeException {
-        return 1 / specificVolumePS(pressure, entropy);
-    }
-
-    /**
-     * Density as a function of pressure &amp; temperature.
-     *
-     * <p>
-     * This is a convenience method which simply calls
-     * <code>1.0 / specificVolumePT(pressure, temperature)</code>.
-     *
-     * @param pressure absolute pressure
-     * @param temperature temperature
-     * @return density
-     * @throws OutOfRangeException out-of-range exception
-     * @see #specificVolumePT(double, double)
-     */
-    public double densityPT(double pressure, double temperature) throws OutOfRangeException {
-        return 1 / specificVolumePT(pressure, temperature);
-    }
-
-    /**
-     * Density as a function of pressure &amp; vapour fraction.
-     *
-     * <p>
-     * This is a convenience method which simply calls
-     * <code>1.0 / specificVolumePX(pressure, vapour fraction)</code>.
-     *
-     * @param pressure absolute pressure
-     * @param vapourFraction vapour fraction
-     * @return density
-     * @throws OutOfRangeException out-of-range exception
-     * @see #specificVolumePX(double, double)
-     */
-    public double densityPX(double pressure, double vapourFraction) throws OutOfRangeException {
-        return 1 / specificVolumePX(pressure, vapourFraction);
-    }
-
-    /**
-     * Density as a function of temperature &amp; vapour fraction.
-     *
-     * <p>
-     * This is a convenience method which simply calls
-     * <code>1.0 / specificVolumeTX(temperature, vapour fraction)</code>.
-     *
-     * @param temperature temperature
-     * @param vapourFraction vapour fraction
-     * @return density
-     * @throws OutOfRangeException out-of-range exception
-     * @see #specificVolumeTX(double, double)
-     */
-    public double densityTX(double temperature, double vapourFraction) throws OutOfRangeException {
-        return 1 / specificVolumeTX(temperature, vapourFraction);
-    }
-
-    /**
-     * Dielectric constant as a function of specific enthalpy and specific
-     * entropy.
-     *
-     * @param enthalpy specific enthalpy
-     * @param entropy specific entropy
-     * @return dielectric constant [-]
-     * @throws OutOfRangeException out-of-range exception
-     * @see #dielectricConstantRhoT(double, double)
-     */
-    public double dielectricConstantHS(double enthalpy, double entropy) throws OutOfRangeException {
-
-        double h = convertToDefault(UNIT_SYSTEM.SPECIFIC_ENTHALPY, enthalpy),
-                s = convertToDefault(UNIT_SYSTEM.SPECIFIC_ENTROPY, entropy);
-
-        try {
-            Region region = Region.getRegionHS(h, s);
-
-            double v = region.specificVolumeHS(h, s),
-                    T = region.temperatureHS(h, s);
-
-            return Calculate.dielectricConstantRhoT(1 / v, T);
-
-        } catch (OutOfRangeException e) {
-            throw e.convertFromDefault(UNIT_SYSTEM);
-        }
-    }
-
-    /**
-     * Dielectric constant as a function of pressure and specific enthalpy.
-     *
-     * @param pressure absolute pressure
-     * @param enthalpy specific enthalpy
-     * @return dielectric constant [-]
-     * @throws OutOfRangeException out-of-range exception
-     * @see #dielectricConstantRhoT(double, double)
-     */
-    public double dielectricConstantPH(double pressure, double enthalpy) throws OutOfRangeException {
-
-        double p = convertToDefault(UNIT_SYSTEM.PRESSURE, pressure),
-                h = convertToDefault(UNIT_SYSTEM.SPECIFIC_ENTHALPY, enthalpy);
-
-        try {
-            Region region = Region.getRegionPH(p, h);
-
-            double v = region.specificVolumePH(p, h),
-                    T = region.temperaturePH(p, h);
-
-            return Calculate.dielectricConstantRhoT(1 / v, T);
-
-        } catch (OutOfRangeException e) {
-            throw e.convertFromDefault(UNIT_SYSTEM);
-        }
-    }
-
-    /**
-     * Dielectric constant as a function of pressure and specific entropy.
-     *
-     * @param pressure absolute pressure
-     * @param entropy specific entropy
-     * @return dielectric constant [-]
-     * @throws OutOfRangeException out-of-range exception
-     * @see #dielectricConstantRhoT(double, double)
-     */
-    public double dielectricConstantPS(double pressure, double entropy) throws OutOfRangeException {
-
-        double p = convertToDefault(UNIT_SYSTEM.PRESSURE, pressure),
-                s = convertToDefault(UNIT_SYSTEM.SPECIFIC_ENTROPY, entropy);
-
-        try {
-            Region region = Region.getRegionPS(p, s);
-
-            double v = region.specificVolumePS(p, s),
-                    T = region.temperaturePS(p, s);
-
-            return Calculate.dielectricConstantRhoT(1 / v, T);
-
-        } catch (OutOfRangeException e) {
-            throw e.convertFromDefault(UNIT_SYSTEM);
-        }
-    }
-
-    /**
-     * Dielectric constant as a function of pressure and temperature.
-     *
-     * @param pressure absolute pressure
-     * @param temperature temperature
-     * @return dielectric constant [-]
-     * @throws OutOfRangeException out-of-range exception
-     * @see #dielectricConstantRhoT(double, double)
-     */
-    public double dielectricConstantPT(double pressure, double temperature) throws OutOfRangeException {
-
-        double p = convertToDefault(UNIT_SYSTEM.PRESSURE, pressure),
-                T = convertToDefault(UNIT_SYSTEM.TEMPERATURE, temperature);
-
-        try {
-            double v = Region.getRegionPT(p, T).specificVolumePT(p, T);
-
-            return Calculate.dielectricConstantRhoT(1 / v, T);
-
-        } catch (OutOfRangeException e) {
-            throw e.convertFromDefault(UNIT_SYSTEM);
-        }
-    }
-
-    /**
-     * Dielectric constant (relative static dielectric constant or relative
-     * static permittivity) as a function of density and temperature.
-     *
-     * @param density density
-     * @param temperature temperature
-     * @return dielectric constant [-]
-     * @throws OutOfRangeException out-of-range exception
-     */
-    public double dielectricConstantRhoT(double density, double temperature) throws OutOfRangeException {
-
-        double rho = convertToDefault(UNIT_SYSTEM.DENSITY, density),
-                T = convertToDefault(UNIT_SYSTEM.TEMPERATURE, temperature);
-
-        try {
-            return Calculate.dielectricConstantRhoT(rho, T);
-
-        } catch (OutOfRangeException e) {
-            throw e.convertFromDefault(UNIT_SYSTEM);
-        }
-    }
-
-    /**
-     * Dynamic viscosity as a function of specific enthalpy &amp; specific
-     * entropy.
-     *
-     * @param enthalpy specific enthalpy
-     * @param entropy specific entropy
-     * @return dynamic viscosity
-     * @throws OutOfRangeException out-of-range exception
-     * @see #dynamicViscosityRhoT(double, double)
-     */
-    public double dynamicViscosityHS(double enthalpy, double entropy) throws OutOfRangeException {
-
-        double h = convertToDefault(UNIT_SYSTEM.SPECIFIC_ENTHALPY, enthalpy),
-                s = convertToDefault(UNIT_SYSTEM.SPECIFIC_ENTROPY, entropy),
-                eta;
-
-        try {
-            Region region = Region.getRegionHS(h, s);
-
-            double v = region.specificVolumeHS(h, s),
-                    T = region.temperatureHS(h, s);
-
-            eta = Calculate.dynamicViscosityRhoT(1 / v, T);
-
-        } catch (OutOfRangeException e) {
-            throw e.convertFromDefault(UNIT_SYSTEM);
-        }
-        return convertFromDefault(UNIT_SYSTEM.DYNAMIC_VISCOSITY, eta);
-    }
-
-    /**
-     * Dynamic viscosity as a function of pressure &amp; specific enthalpy.
-     *
-     * @param pressure absolute pressure
-     * @param enthalpy specific enthalpy
-     * @return dynamic viscosity
-     * @throws OutOfRangeException out-of-range exception
-     * @see #dynamicViscosityRhoT(double, double)
-     */
-    public double dynamicViscosityPH(double pressure, double enthalpy) throws OutOfRangeException {
-
-        double p = convertToDefault(UNIT_SYSTEM.PRESSURE, pressure),
-                h = convertToDefault(UNIT_SYSTEM.SPECIFIC_ENTHALPY, enthalpy),
-                eta;
-
-        try {
-            Region region = Region.getRegionPH(p, h);
-
-            double v = region.specificVolumePH(p, h),
-                    T = region.temperaturePH(p, h);
-
-            eta = Calculate.dynamicViscosityRhoT(1 / v, T);
-
-        } catch (OutOfRangeException e) {
-            throw e.convertFromDefault(UNIT_SYSTEM);
-        }
-        return convertFromDefault(UNIT_SYSTEM.DYNAMIC_VISCOSITY, eta);
-    }
-
-    /**
-     * Dynamic viscosity as a function of pressure &amp; specific entropy.
-     *
-     * @param pressure absolute pressure
-     * @param entropy specific entropy
-     * @return dynamic viscosity
-     * @throws OutOfRangeException out-of-range exception
-     * @see #dynamicViscosityRhoT(double, double)
-     */
-    public double dynamicViscosityPS(double pressure, double entropy) throws OutOfRangeException {
-
-        double p = convertToDefault(UNIT_SYSTEM.PRESSURE, pressure),
-                s = convertToDefault(UNIT_SYSTEM.SPECIFIC_ENTROPY, entropy),
-                eta;
-
-        try {
-            Region region = Region.getRegionPS(p, s);
-
-            double v = region.specificVolumePS(p, s),
-                    T = region.temperaturePS(p, s);
-
-            eta = Calculate.dynamicViscosityRhoT(1 / v, T);
-
-        } catch (OutOfRangeException e) {
-            throw e.convertFromDefault(UNIT_SYSTEM);
-        }
-        return convertFromDefault(UNIT_SYSTEM.DYNAMIC_VISCOSITY, eta);
-    }
-
-    /**
-     * Dynamic viscosity as a function of pressure &amp; temperature.
-     *
-     * @param pressure absolute pressure
-     * @param temperature temperature
-     * @return dynamic viscosity
-     * @throws OutOfRangeException out-of-range exception
-     * @see #dynamicViscosityRhoT(double, double)
-     */
-    public double dynamicViscosityPT(double pressure, double temperature) throws OutOfRangeException {
-
-        double p = convertToDefault(UNIT_SYSTEM.PRESSURE, pressure),
-                T = convertToDefault(UNIT_SYSTEM.TEMPERATURE, temperature),
-                eta;
-
-        try {
-            double v = Region.getRegionPT(p, T).specificVolumePT(p, T);
-
-            eta = Calculate.dynamicViscosityRhoT(1 / v, T);
-
-        } catch (OutOfRangeException e) {
-            throw e.convertFromDefault(UNIT_SYSTEM);
-        }
-        return convertFromDefault(UNIT_SYSTEM.DYNAMIC_VISCOSITY, eta);
-    }
-
-    /**
-     * Dynamic viscosity as a function of density &amp; temperature.
-     *
-     * @param density density
-     * @param temperature temperature
-     * @return dynamic viscosity
-     * @throws OutOfRangeException out-of-range exception
-     */
-    public double dynamicViscosityRhoT(double density, double temperature) throws OutOfRangeException {
-
-        double rho = convertToDefault(UNIT_SYSTEM.DENSITY, density),
-                T = convertToDefault(UNIT_SYSTEM.TEMPERATURE, temperature),
-                eta;
-
-        try {
-            eta = Calculate.dynamicViscosityRhoT(rho, T);
-
-        } catch (OutOfRangeException e) {
-            throw e.convertFromDefault(UNIT_SYSTEM);
-        }
-        return convertFromDefault(UNIT_SYSTEM.DYNAMIC_VISCOSITY, eta);
-    }
-
-    public String getRegionPT(double pressure, double temperature) throws OutOfRangeException {
-
-        double p = IF97.convertToDefault(UNIT_SYSTEM.PRESSURE, pressure),
-                T = IF97.convertToDefault(UNIT_SYSTEM.TEMPERATURE, temperature);
-
-        try {
-            return Region.getRegionPT(p, T).getName();
-
-        } catch (OutOfRangeException e) {
-            throw e.convertFromDefault(UNIT_SYSTEM);
-        }
-    }
-
     /**
-     * Gets the unit system.
+     * Sets whether region hints are verified. When enabled, a hinted state is
+     * checked against the boundary nearest to the hinted region only, if that
+     * check fails the region is determined as usual. When disabled (default),
+     * the hinted region's equations are used without any checks.
      *
-     * @return unit system
+     * @param verify whether to verify region hints
+     * @see RegionHint
      */
-    public final UnitSystem getUnitSystem() {
-        return UNIT_SYSTEM;
+    public void setVerifyRegionHints(boolean verify) {
+        SETTINGS = new Settings(toBuilder().verifyRegionHints(verify));
     }
 
     /**
-     * Heat capacity ratio as a function of specific enthalpy &amp; specific
-     * entropy.
+     * Sets whether saturation properties above 16.5292 MPa, where the region
+     * 3 &amp; 4 equations are solved iteratively, are computed in a fixed
+     * number of steps. When enabled, every method of this object does a
+     * bounded amount of floating-point work: those solvers start from
+     * tabulated initial guesses and take three safeguarded Newton steps,
+     * without bracket scans or tolerance checks, to within 1e-9 kJ/kg
+     * &amp; 1e-11 m&sup3;/kg of the converged result. When disabled (default),
+     * they iterate to a tolerance, taking up to hundreds of evaluations near
+     * the critical point.
      *
-     * @param enthalpy specific enthalpy
-     * @param entropy specific entropy
-     * @return heat capacity ratio
-     * @throws OutOfRangeException out-of-range exception
-     * @see #heatCapacityRatioPT(double, double)
+     * @param bounded whether to bound the latency
      */
-    public double heatCapacityRatioHS(double enthalpy, double entropy) throws OutOfRangeException {
-
-        double h = convertToDefault(UNIT_SYSTEM.SPECIFIC_ENTHALPY, enthalpy),
-                s = convertToDefault(UNIT_SYSTEM.SPECIFIC_ENTROPY, entropy);
-
-        try {
-            Region region = Region.getRegionHS(h, s);
-
-            double p = region.pressureHS(h, s),
-                    T = region.temperatureHS(h, s);
-
-            return region.heatCapacityRatioPT(p, T);
-
-        } catch (OutOfRangeException e) {
-            throw e.convertFromDefault(UNIT_SYSTEM);
-        }
+    public void setBoundedLatency(boolean bounded) {
+        SETTINGS = new Settings(toBuilder().boundedLatency(bounded));
     }
 
     /**
-     * Heat capacity ratio as a function of pressure &amp; specific enthalpy.
+     * Sets the tolerance &amp; iteration budget of the iterative solvers,
+     * {@link PrecisionProfile#ENGINEERING} by default: the saturation
+     * properties above 16.5292 MPa, including the scan bracketing the
+     * saturated vapour volume &amp; the Newton steps taken when latency is
+     * bounded. A coarser profile trades accuracy for speed in screening
+     * studies, a finer one the other way around for reference calculations.
+     * Region boundaries &amp; non-iterative equations are not affected.
      *
-     * @param pressure absolute pressure
-     * @param enthalpy specific enthalpy
-     * @return heat capacity ratio
-     * @throws OutOfRangeException out-of-range exception
-     * @see #heatCapacityRatioPT(double, double)
+     * @param profile precision profile
+     * @see #setBoundedLatency(boolean)
      */
-    public double heatCapacityRatioPH(double pressure, double enthalpy) throws OutOfRangeException {
-
-        double p = convertToDefault(UNIT_SYSTEM.PRESSURE, pressure),
-                h = convertToDefault(UNIT_SYSTEM.SPECIFIC_ENTHALPY, enthalpy);
-
-        try {
-            Region region = Region.getRegionPH(p, h);
-
-            double T = region.temperaturePH(p, h);
-
-            return region.heatCapacityRatioPT(p, T);
-
-        } catch (OutOfRangeException e) {
-            throw e.convertFromDefault(UNIT_SYSTEM);
-        }
+    public void setPrecisionProfile(PrecisionProfile profile) {
+        SETTINGS = new Settings(toBuilder().precisionProfile(profile));
     }
 
     /**
-     * Heat capacity ratio as a function of pressure &amp; specific entropy.
+     * Sets the relative tolerance to which the residual parts of the region 2
+     * &amp; 5 Gibbs free energy equations are evaluated below 1 MPa. At low
+     * pressure these contribute little next to the ideal-gas parts, so a
+     * positive tolerance lets the (p, T) properties leave out the terms whose
+     * magnitude is provably bounded by that tolerance relative to the
+     * ideal-gas part, e.g. about three quarters of the region 2 terms at
+     * condenser pressures for a tolerance of 1e-9. Properties follow to within
+     * a small multiple of the tolerance. Region boundaries &amp; backward
+     * equations are not affected.
      *
-     * @param pressure absolute pressure
-     * @param entropy specific entropy
-     * @return heat capacity ratio
-     * @throws OutOfRangeException out-of-range exception
-     * @see #heatCapacityRatioPT(double, double)
+     * @param tolerance relative tolerance, 0 (default) to evaluate all terms
      */
-    public double heatCapacityRatioPS(double pressure, double entropy) throws OutOfRangeException {
-
-        double p = convertToDefault(UNIT_SYSTEM.PRESSURE, pressure),
-                s = convertToDefault(UNIT_SYSTEM.SPECIFIC_ENTROPY, entropy);
-
-        try {
-            Region region = Region.getRegionPS(p, s);
-
-            double T = region.temperaturePS(p, s);
-
-            return region.heatCapacityRatioPT(p, T);
-
-        } catch (OutOfRangeException e) {
-            throw e.convertFromDefault(UNIT_SYSTEM);
-        }
-    }
-
-    /**
-     * Heat capacity ratio as a function of pressure &amp; temperature.
-     *
-     * @param pressure absolute pressure
-     * @param temperature temperature
-     * @return heat capacity ratio
-     * @throws OutOfRangeException out-of-range exception
-     */
-    public double heatCapacityRatioPT(double pressure, double temperature) throws OutOfRangeException {
-
-        double p = convertToDefault(UNIT_SYSTEM.PRESSURE, pressure),
-                T = convertToDefault(UNIT_SYSTEM.TEMPERATURE, temperature);
-
-        try {
-            return Region.getRegionPT(p, T).heatCapacityRatioPT(p, T);
-
-        } catch (OutOfRangeException e) {
-            throw e.convertFromDefault(UNIT_SYSTEM);
-        }
-    }
-
-    /**
-     * Isentropic exponent as a function of specific enthalpy &amp; specific
-     * entropy.
-     *
-     * @param enthalpy specific enthalpy
-     * @param entropy specific entropy
-     * @return isentropic exponent
-     * @throws OutOfRangeException out-of-range exception
-     * @see #isentropicExponentPT(double, double)
-     */
-    public double isentropicExponentHS(double enthalpy, double entropy) throws OutOfRangeException {
-
-        double h = convertToDefault(UNIT_SYSTEM.SPECIFIC_ENTHALPY, enthalpy),
-                s = convertToDefault(UNIT_SYSTEM.SPECIFIC_ENTROPY, entropy);
-
-        try {
-            Region region = Region.getRegionHS(h, s);
-
-            double p = region.pressureHS(h, s),
-                    T = region.temperatureHS(h, s);
-
-            return region.isentropicExponentPT(p, T);
-
-        } catch (OutOfRangeException e) {
-            throw e.convertFromDefault(UNIT_SYSTEM);
-        }
-    }
-
-    /**
-     * Isentropic exponent as a function of pressure &amp; specific enthalpy.
-     *
-     * @param pressure absolute pressure
-     * @param enthalpy specific enthalpy
-     * @return isentropic exponent
-     * @throws OutOfRangeException out-of-range exception
-     * @see #isentropicExponentPT(double, double)
-     */
-    public double isentropicExponentPH(double pressure, double enthalpy) throws OutOfRangeException {
-
-        double p = convertToDefault(UNIT_SYSTEM.PRESSURE, pressure),
-                h = convertToDefault(UNIT_SYSTEM.SPECIFIC_ENTHALPY, enthalpy);
-
-        try {
-            Region region = Region.getRegionPH(p, h);
-
-            double T = region.temperaturePH(p, h);
-
-            return region.isentropicExponentPT(p, T);
-
-        } catch (OutOfRangeException e) {
-            throw e.convertFromDefault(UNIT_SYSTEM);
-        }
-    }
-
-    /**
-     * Isentropic exponent as a function of pressure &amp; specific entropy.
-     *
-     * @param pressure absolute pressure
-     * @param entropy specific entropy
-     * @return isentropic exponent
-     * @throws OutOfRangeException out-of-range exception
-     * @see #isentropicExponentPT(double, double)
-     */
-    public double isentropicExponentPS(double pressure, double entropy) throws OutOfRangeException {
-
-        double p = convertToDefault(UNIT_SYSTEM.PRESSURE, pressure),
-                s = convertToDefault(UNIT_SYSTEM.SPECIFIC_ENTROPY, entropy);
-
-        try {
-            Region region = Region.getRegionPS(p, s);
-
-            double T = region.temperaturePS(p, s);
-
-            return region.isentropicExponentPT(p, T);
-
-        } catch (OutOfRangeException e) {
-            throw e.convertFromDefault(UNIT_SYSTEM);
-        }
-    }
-
-    /**
-     * Isentropic exponent as a function of pressure &amp; temperature.
-     *
-     * @param pressure absolute pressure
-     * @param temperature temperature
-     * @return isentropic exponent
-     * @throws OutOfRangeException out-of-range exception
-     */
-    public double isentropicExponentPT(double pressure, double temperature) throws OutOfRangeException {
-
-        double p = convertToDefault(UNIT_SYSTEM.PRESSURE, pressure),
-                T = convertToDefault(UNIT_SYSTEM.TEMPERATURE, temperature);
-
-        try {
-            return Region.getRegionPT(p, T).isentropicExponentPT(p, T);
-
-        } catch (OutOfRangeException e) {
-            throw e.convertFromDefault(UNIT_SYSTEM);
-        }
-    }
-
-    /**
-     * Isobaric cubic expansion coefficient as a function of specific enthalpy
-     * &amp; specific entropy.
-     *
-     * @param enthalpy specific enthalpy
-     * @param entropy specific entropy
-     * @return isobaric cubic expansion coefficient
-     * @throws OutOfRangeException out-of-range exception
-     * @see #isobaricCubicExpansionCoefficientPT(double, double)
-     */
-    public double isobaricCubicExpansionCoefficientHS(double enthalpy, double entropy) throws OutOfRangeException {
-
-        double h = convertToDefault(UNIT_SYSTEM.SPECIFIC_ENTHALPY, enthalpy),
-                s = convertToDefault(UNIT_SYSTEM.SPECIFIC_ENTROPY, entropy),
-                alphaV;
-
-        try {
-            Region region = Region.getRegionHS(h, s);
-
-            double p = region.pressureHS(h, s),
-                    T = region.temperatureHS(h, s);
-
-            alphaV = region.isobaricCubicExpansionCoefficientPT(p, T);
-
-        } catch (OutOfRangeException e) {
-            throw e.convertFromDefault(UNIT_SYSTEM);
-        }
-        return convertFromDefault(UNIT_SYSTEM.ISOBARIC_CUBIC_EXPANSION_COEFFICIENT, alphaV);
-    }
-
-    /**
-     * Isobaric cubic expansion coefficient as a function of pressure &amp;
-     * specific enthalpy.
-     *
-     * @param pressure absolute pressure
-     * @param enthalpy specific enthalpy
-     * @return isobaric cubic expansion coefficient
-     * @throws OutOfRangeException out-of-range exception
-     * @see #isobaricCubicExpansionCoefficientPT(double, double)
-     */
-    public double isobaricCubicExpansionCoefficientPH(double pressure, double enthalpy) throws OutOfRangeException {
-
-        double p = convertToDefault(UNIT_SYSTEM.PRESSURE, pressure),
-                h = convertToDefault(UNIT_SYSTEM.SPECIFIC_ENTHALPY, enthalpy),
-                alphaV;
-
-        try {
-            Region region = Region.getRegionPH(p, h);
-
-            if (region instanceof Region4) {
-                alphaV = Region.REGION4.isobaricCubicExpansionCoefficientPH(p, h);
-
-            } else {
-                double T = region.temperaturePH(p, h);
-
-                alphaV = region.isobaricCubicExpansionCoefficientPT(p, T);
-            }
-        } catch (OutOfRangeException e) {
-            throw e.convertFromDefault(UNIT_SYSTEM);
-        }
-        return convertFromDefault(UNIT_SYSTEM.ISOBARIC_CUBIC_EXPANSION_COEFFICIENT, alphaV);
-    }
-
-    /**
-     * Isobaric cubic expansion coefficient as a function of pressure &amp;
-     * specific entropy.
-     *
-     * @param pressure absolute pressure
-     * @param entropy specific entropy
-     * @return isobaric cubic expansion coefficient
-     * @throws OutOfRangeException out-of-range exception
-     * @see #isobaricCubicExpansionCoefficientPT(double, double)
-     */
-    public double isobaricCubicExpansionCoefficientPS(double pressure, double entropy) throws OutOfRangeException {
-
-        double p = convertToDefault(UNIT_SYSTEM.PRESSURE, pressure),
-                s = convertToDefault(UNIT_SYSTEM.SPECIFIC_ENTROPY, entropy),
-                alphaV;
-
-        try {
-            Region region = Region.getRegionPS(p, s);
-
-            double T = region.temperaturePS(p, s);
-
-            alphaV = region.isobaricCubicExpansionCoefficientPT(p, T);
-
-        } catch (OutOfRangeException e) {
-            throw e.convertFromDefault(UNIT_SYSTEM);
-        }
-        return convertFromDefault(UNIT_SYSTEM.ISOBARIC_CUBIC_EXPANSION_COEFFICIENT, alphaV);
-    }
-
-    /**
-     * Isobaric cubic expansion coefficient as a function of pressure &amp;
-     * temperature.
-     *
-     * @param pressure absolute pressure
-     * @param temperature temperature
-     * @return isobaric cubic expansion coefficient
-     * @throws OutOfRangeException out-of-range exception
-     */
-    public double isobaricCubicExpansionCoefficientPT(double pressure, double temperature) throws OutOfRangeException {
-
-        double p = convertToDefault(UNIT_SYSTEM.PRESSURE, pressure),
-                T = convertToDefault(UNIT_SYSTEM.TEMPERATURE, temperature),
-                alphaV;
-
-        try {
-            alphaV = Region.getRegionPT(p, T).isobaricCubicExpansionCoefficientPT(p, T);
-
-        } catch (OutOfRangeException e) {
-            throw e.convertFromDefault(UNIT_SYSTEM);
-        }
-        return convertFromDefault(UNIT_SYSTEM.ISOBARIC_CUBIC_EXPANSION_COEFFICIENT, alphaV);
-    }
-
-    /**
-     * Isobaric cubic expansion coefficient as a function of pressure &amp;
-     * vapour fraction.
-     *
-     * @param pressure absolute pressure
-     * @param vapourFraction vapour fraction
-     * @return isobaric cubic expansion coefficient
-     * @throws OutOfRangeException out-of-range exception
-     * @see #isobaricCubicExpansionCoefficientPH(double, double)
-     */
-    public double isobaricCubicExpansionCoefficientPX(double pressure, double vapourFraction) {
-
-        double p = convertToDefault(UNIT_SYSTEM.PRESSURE, pressure);
-
-        try {
-            Region.REGION4.checkP(p);
-
-        } catch (OutOfRangeException e) {
-            throw e.convertFromDefault(UNIT_SYSTEM);
-        }
-        double h = Region.REGION4.specificEnthalpyPX(p, vapourFraction),
-                alphaV = Region.REGION4.isobaricCubicExpansionCoefficientPH(p, h);
-
-        return convertFromDefault(UNIT_SYSTEM.ISOBARIC_CUBIC_EXPANSION_COEFFICIENT, alphaV);
-    }
-
-    /**
-     * Isobaric cubic expansion coefficient as a function of temperature &amp;
-     * vapour fraction.
-     *
-     * @param temperature temperature
-     * @param vapourFraction vapour fraction
-     * @return isobaric cubic expansion coefficient
-     * @throws OutOfRangeException out-of-range exception
-     * @see #isobaricCubicExpansionCoefficientPH(double, double)
-     */
-    public double isobaricCubicExpansionCoefficientTX(double temperature, double vapourFraction) {
-
-        double T = convertToDefault(UNIT_SYSTEM.TEMPERATURE, temperature);
-
-        try {
-            Region.REGION4.checkT(T);
-
-        } catch (OutOfRangeException e) {
-            throw e.convertFromDefault(UNIT_SYSTEM);
-        }
-        double p = Region.REGION4.saturationPressureT(T),
-                h = Region.REGION4.specificEnthalpyPX(p, vapourFraction),
-                alphaV = Region.REGION4.isobaricCubicExpansionCoefficientPH(p, h);
-
-        return convertFromDefault(UNIT_SYSTEM.ISOBARIC_CUBIC_EXPANSION_COEFFICIENT, alphaV);
-    }
-
-    /**
-     * Specific isobaric heat capacity as a function of specific enthalpy &amp;
-     * specific entropy.
-     *
-     * @param enthalpy specific enthalpy
-     * @param entropy specific entropy
-     * @return specific isobaric heat capacity
-     * @throws OutOfRangeException out-of-range exception
-     * @see #isobaricHeatCapacityPT(double, double)
-     */
-    public double isobaricHeatCapacityHS(double enthalpy, double entropy) throws OutOfRangeException {
-
-        double h = convertToDefault(UNIT_SYSTEM.SPECIFIC_ENTHALPY, enthalpy),
-                s = convertToDefault(UNIT_SYSTEM.SPECIFIC_ENTROPY, entropy),
-                cp;
-
-        try {
-            Region region = Region.getRegionHS(h, s);
-
-            double p = region.pressureHS(h, s),
-                    T = region.temperatureHS(h, s);
-
-            cp = region.specificIsobaricHeatCapacityPT(p, T);
-
-        } catch (OutOfRangeException e) {
-            throw e.convertFromDefault(UNIT_SYSTEM);
-        }
-        return convertFromDefault(UNIT_SYSTEM.SPECIFIC_HEAT_CAPACITY, cp);
-    }
-
-    /**
-     * Specific isobaric heat capacity as a function of pressure &amp; specific
-     * enthalpy.
-     *
-     * @param pressure absolute pressure
-     * @param enthalpy specific enthalpy
-     * @return specific isobaric heat capacity
-     * @throws OutOfRangeException out-of-range exception
-     * @see #isobaricHeatCapacityPT(double, double)
-     */
-    public double isobaricHeatCapacityPH(double pressure, double enthalpy) throws OutOfRangeException {
-
-        double p = convertToDefault(UNIT_SYSTEM.PRESSURE, pressure),
-                h = convertToDefault(UNIT_SYSTEM.SPECIFIC_ENTHALPY, enthalpy),
-                cp;
-
-        try {
-            Region region = Region.getRegionPH(p, h);
-
-            if (region instanceof Region4) {
-                cp = Region.REGION4.specificIsobaricHeatCapacityPH(p, h);
-
-            } else {
-                double T = region.temperaturePH(p, h);
-
-                cp = region.specificIsobaricHeatCapacityPT(p, T);
-            }
-        } catch (OutOfRangeException e) {
-            throw e.convertFromDefault(UNIT_SYSTEM);
-        }
-        return convertFromDefault(UNIT_SYSTEM.SPECIFIC_HEAT_CAPACITY, cp);
-    }
-
-    /**
-     * Specific isobaric heat capacity as a function of pressure &amp; specific
-     * entropy.
-     *
-     * @param pressure absolute pressure
-     * @param entropy specific entropy
-     * @return specific isobaric heat capacity
-     * @throws OutOfRangeException out-of-range exception
-     * @see #isobaricHeatCapacityPT(double, double)
-     */
-    public double isobaricHeatCapacityPS(double pressure, double entropy) throws OutOfRangeException {
-
-        double p = convertToDefault(UNIT_SYSTEM.PRESSURE, pressure),
-                s = convertToDefault(UNIT_SYSTEM.SPECIFIC_ENTROPY, entropy),
-                cp;
-
-        try {
-            Region region = Region.getRegionPS(p, s);
-
-            double T = region.temperaturePS(p, s);
-
-            cp = region.specificIsobaricHeatCapacityPT(p, T);
-
-        } catch (OutOfRangeException e) {
-            throw e.convertFromDefault(UNIT_SYSTEM);
-        }
-        return convertFromDefault(UNIT_SYSTEM.SPECIFIC_HEAT_CAPACITY, cp);
-    }
-
-    /**
-     * Specific isobaric heat capacity as a function of pressure &amp;
-     * temperature.
-     *
-     * @param pressure absolute pressure
-     * @param temperature temperature
-     * @return specific isobaric heat capacity
-     * @throws OutOfRangeException out-of-range exception
-     */
-    public double isobaricHeatCapacityPT(double pressure, double temperature) throws OutOfRangeException {
-
-        double p = convertToDefault(UNIT_SYSTEM.PRESSURE, pressure),
-                T = convertToDefault(UNIT_SYSTEM.TEMPERATURE, temperature),
-                cp;
-
-        try {
-            cp = Region.getRegionPT(p, T).specificIsobaricHeatCapacityPT(p, T);
-
-        } catch (OutOfRangeException e) {
-            throw e.convertFromDefault(UNIT_SYSTEM);
-        }
-        return convertFromDefault(UNIT_SYSTEM.SPECIFIC_HEAT_CAPACITY, cp);
-    }
-
-    /**
-     * Specific isochoric heat capacity as a function of specific enthalpy &amp;
-     * specific entropy.
-     *
-     * @param enthalpy specific enthalpy
-     * @param entropy specific entropy
-     * @return specific isochoric heat capacity
-     * @throws OutOfRangeException out-of-range exception
-     * @see #isochoricHeatCapacityPT(double, double)
-     */
-    public double isochoricHeatCapacityHS(double enthalpy, double entropy) throws OutOfRangeException {
-
-        double h = convertToDefault(UNIT_SYSTEM.SPECIFIC_ENTHALPY, enthalpy),
-                s = convertToDefault(UNIT_SYSTEM.SPECIFIC_ENTROPY, entropy),
-                cv;
-
-        try {
-            Region region = Region.getRegionHS(h, s);
-
-            double p = region.pressureHS(h, s),
-                    T = region.temperatureHS(h, s);
-
-            cv = region.specificIsochoricHeatCapacityPT(p, T);
-
-        } catch (OutOfRangeException e) {
-            throw e.convertFromDefault(UNIT_SYSTEM);
-        }
-        return convertFromDefault(UNIT_SYSTEM.SPECIFIC_HEAT_CAPACITY, cv);
-    }
-
-    /**
-     * Specific isochoric heat capacity as a function of pressure &amp; specific
-     * enthalpy.
-     *
-     * @param pressure absolute pressure
-     * @param enthalpy specific enthalpy
-     * @return specific isochoric heat capacity
-     * @throws OutOfRangeException out-of-range exception
-     * @see #isochoricHeatCapacityPT(double, double)
-     */
-    public double isochoricHeatCapacityPH(double pressure, double enthalpy) throws OutOfRangeException {
-
-        double p = convertToDefault(UNIT_SYSTEM.PRESSURE, pressure),
-                h = convertToDefault(UNIT_SYSTEM.SPECIFIC_ENTHALPY, enthalpy),
-                cv;
-
-        try {
-            Region region = Region.getRegionPH(p, h);
-
-            if (region instanceof Region4) {
-                cv = Region.REGION4.specificIsochoricHeatCapacityPH(p, h);
-
-            } else {
-                double T = region.temperaturePH(p, h);
-
-                cv = region.specificIsochoricHeatCapacityPT(p, T);
-            }
-        } catch (OutOfRangeException e) {
-            throw e.convertFromDefault(UNIT_SYSTEM);
-        }
-        return convertFromDefault(UNIT_SYSTEM.SPECIFIC_HEAT_CAPACITY, cv);
-    }
-
-    /**
-     * Specific isochoric heat capacity as a function of pressure &amp; specific
-     * entropy.
-     *
-     * @param pressure absolute pressure
-     * @param entropy specific entropy
-     * @return specific isochoric heat capacity
-     * @throws OutOfRangeException out-of-range exception
-     * @see #isochoricHeatCapacityPT(double, double)
-     */
-    public double isochoricHeatCapacityPS(double pressure, double entropy) throws OutOfRangeException {
-
-        double p = convertToDefault(UNIT_SYSTEM.PRESSURE, pressure),
-                s = convertToDefault(UNIT_SYSTEM.SPECIFIC_ENTROPY, entropy),
-                cv;
-
-        try {
-            Region region = Region.getRegionPS(p, s);
-
-            double T = region.temperaturePS(p, s);
-
-            cv = region.specificIsochoricHeatCapacityPT(p, T);
-
-        } catch (OutOfRangeException e) {
-            throw e.convertFromDefault(UNIT_SYSTEM);
-        }
-        return convertFromDefault(UNIT_SYSTEM.SPECIFIC_HEAT_CAPACITY, cv);
-    }
-
-    /**
-     * Specific isochoric heat capacity as a function of pressure &amp;
-     * temperature.
-     *
-     * @param pressure absolute pressure
-     * @param temperature temperature
-     * @return specific isochoric heat capacity
-     * @throws OutOfRangeException out-of-range exception
-     */
-    public double isochoricHeatCapacityPT(double pressure, double temperature) throws OutOfRangeException {
-
-        double p = convertToDefault(UNIT_SYSTEM.PRESSURE, pressure),
-                T = convertToDefault(UNIT_SYSTEM.TEMPERATURE, temperature),
-                cv;
-
-        try {
-            cv = Region.getRegionPT(p, T).specificIsochoricHeatCapacityPT(p, T);
-
-        } catch (OutOfRangeException e) {
-            throw e.convertFromDefault(UNIT_SYSTEM);
-        }
-        return convertFromDefault(UNIT_SYSTEM.SPECIFIC_HEAT_CAPACITY, cv);
-    }
-
-    /**
-     * Kinematic viscosity as a function of specific enthalpy &amp; specific
-     * entropy.
-     *
-     * @param enthalpy specific enthalpy
-     * @param entropy specific entropy
-     * @return kinematic viscosity
-     * @throws OutOfRangeException out-of-range exception
-     * @see #kinematicViscosityRhoT(double, double)
-     */
-    public double kinematicViscosityHS(double enthalpy, double entropy) throws OutOfRangeException {
-
-        double h = convertToDefault(UNIT_SYSTEM.SPECIFIC_ENTHALPY, enthalpy),
-                s = convertToDefault(UNIT_SYSTEM.SPECIFIC_ENTROPY, entropy),
-                nu;
-
-        try {
-            Region region = Region.getRegionHS(h, s);
-
-            double v = region.specificVolumeHS(h, s),
-                    T = region.temperatureHS(h, s);
-
-            nu = Calculate.dynamicViscosityRhoT(1 / v, T) * v;
-
-        } catch (OutOfRangeException e) {
-            throw e.convertFromDefault(UNIT_SYSTEM);
-        }
-        return convertFromDefault(UNIT_SYSTEM.DYNAMIC_VISCOSITY, nu);
-    }
-
-    /**
-     * Kinematic viscosity as a function of pressure &amp; specific enthalpy.
-     *
-     * @param pressure absolute pressure
-     * @param enthalpy specific enthalpy
-     * @return kinematic viscosity
-     * @throws OutOfRangeException out-of-range exception
-     * @see #kinematicViscosityRhoT(double, double)
-     */
-    public double kinematicViscosityPH(double pressure, double enthalpy) throws OutOfRangeException {
-
-        double p = convertToDefault(UNIT_SYSTEM.PRESSURE, pressure),
-                h = convertToDefault(UNIT_SYSTEM.SPECIFIC_ENTHALPY, enthalpy),
-                nu;
-
-        try {
-            Region region = Region.getRegionPH(p, h);
-
-            double v = region.specificVolumePH(p, h),
-                    T = region.temperaturePH(p, h);
-
-            nu = Calculate.dynamicViscosityRhoT(1 / v, T) * v;
-
-        } catch (OutOfRangeException e) {
-            throw e.convertFromDefault(UNIT_SYSTEM);
-        }
-        return convertFromDefault(UNIT_SYSTEM.KINEMATIC_VISCOSITY, nu);
-    }
-
-    /**
-     * Kinematic viscosity as a function of pressure &amp; specific entropy.
-     *
-     * @param pressure absolute pressure
-     * @param entropy specific entropy
-     * @return kinematic viscosity
-     * @throws OutOfRangeException out-of-range exception
-     * @see #kinematicViscosityRhoT(double, double)
-     */
-    public double kinematicViscosityPS(double pressure, double entropy) throws OutOfRangeException {
-
-        double p = convertToDefault(UNIT_SYSTEM.PRESSURE, pressure),
-                s = convertToDefault(UNIT_SYSTEM.SPECIFIC_ENTROPY, entropy),
-                nu;
-
-        try {
-            Region region = Region.getRegionPS(p, s);
-
-            double v = region.specificVolumePS(p, s),
-                    T = region.temperaturePS(p, s);
-
-            nu = Calculate.dynamicViscosityRhoT(1 / v, T) * v;
-
-        } catch (OutOfRangeException e) {
-            throw e.convertFromDefault(UNIT_SYSTEM);
-        }
-        return convertFromDefault(UNIT_SYSTEM.DYNAMIC_VISCOSITY, nu);
-    }
-
-    /**
-     * Kinematic viscosity as a function of pressure &amp; temperature.
-     *
-     * @param pressure absolute pressure
-     * @param temperature temperature
-     * @return kinematic viscosity
-     * @throws OutOfRangeException out-of-range exception
-     * @see #kinematicViscosityRhoT(double, double)
-     */
-    public double kinematicViscosityPT(double pressure, double temperature) throws OutOfRangeException {
-
-        double p = convertToDefault(UNIT_SYSTEM.PRESSURE, pressure),
-                T = convertToDefault(UNIT_SYSTEM.TEMPERATURE, temperature),
-                nu;
-
-        try {
-            double v = Region.getRegionPT(p, T).specificVolumePT(p, T);
-
-            nu = Calculate.dynamicViscosityRhoT(1 / v, T) * v;
-
-        } catch (OutOfRangeException e) {
-            throw e.convertFromDefault(UNIT_SYSTEM);
-        }
-        return convertFromDefault(UNIT_SYSTEM.KINEMATIC_VISCOSITY, nu);
-    }
-
-    /**
-     * Kinematic viscosity as a function of density &amp; temperature.
-     *
-     * @param density density
-     * @param temperature temperature
-     * @return kinematic viscosity
-     * @throws OutOfRangeException out-of-range exception
-     */
-    public double kinematicViscosityRhoT(double density, double temperature) throws OutOfRangeException {
-
-        double rho = convertToDefault(UNIT_SYSTEM.DENSITY, density),
-                T = convertToDefault(UNIT_SYSTEM.TEMPERATURE, temperature),
-                nu;
-
-        try {
-            nu = Calculate.dynamicViscosityRhoT(rho, T) / rho;
-
-        } catch (OutOfRangeException e) {
-            throw e.convertFromDefault(UNIT_SYSTEM);
-        }
-        return convertFromDefault(UNIT_SYSTEM.KINEMATIC_VISCOSITY, nu);
-    }
-
-    /**
-     * Partial derivative of z with respect to x for constant y in SI units, as
-     * a function of pressure and specific enthalpy.
-     *
-     * <p>
-     * (<sup>&part;z</sup>/<sub>&part;x</sub>)<sub>y</sub>(p, h)
-     * </p>
-     *
-     * @param pressure absolute pressure
-     * @param enthalpy specific enthalpy
-     * @param x any {@link Quantity} part of the set returned by
-     * {@link Quantity#getPartialDerivatives()}
-     * @param y any {@link Quantity} part of the set returned by
-     * {@link Quantity#getPartialDerivatives()}
-     * @param z any {@link Quantity} part of the set returned by
-     * {@link Quantity#getPartialDerivatives()}
-     * @return partial derivative [SI units]
-     * @throws OutOfRangeException out-of-range exception
-     * @see Quantity#getPartialDerivatives()
-     */
-    public double partialDerivativePH(double pressure, double enthalpy, Quantity x, Quantity y, Quantity z) throws OutOfRangeException {
-
-        if (!PARTIAL_DERIVATIVE_QUANTITIES.contains(x)) {
-            throw new IllegalArgumentException("Partial derivative with respect to " + x + " is not supported, see IF97.Quantity.getPartialDerivatives() for supported quantities.");
-
-        } else if (!PARTIAL_DERIVATIVE_QUANTITIES.contains(y)) {
-            throw new IllegalArgumentException("Partial derivative for constant " + y + " is not supported, see IF97.Quantity.getPartialDerivatives() for supported quantities.");
-
-        } else if (!PARTIAL_DERIVATIVE_QUANTITIES.contains(z)) {
-            throw new IllegalArgumentException("Partial derivative of " + z + " is not supported, see IF97.Quantity.getPartialDerivatives() for supported quantities.");
-        }
-        double p = convertToDefault(UNIT_SYSTEM.PRESSURE, pressure),
-                h = convertToDefault(UNIT_SYSTEM.SPECIFIC_ENTHALPY, enthalpy);
-
-        try {
-            Region region = Region.getRegionPH(p, h);
-            double T = region.temperaturePH(p, h);
-
-            if (region instanceof Region3) {
-                double v = region.specificVolumePH(p, h);
-                return Calculate.partialDerivativeRhoT(1 / v, T, x, y, z);
-
-            } else if (region instanceof Region4) {
-                return Region.REGION4.partialDerivativePH(p, h, x, y, z); // incomplete implementation
-
-            } else {
-                return Calculate.partialDerivativePT(region, p, T, x, y, z);
-            }
-        } catch (OutOfRangeException e) {
-            throw e.convertFromDefault(UNIT_SYSTEM);
-        }
-    }
-
-    /**
-     * Gets the partial derivative of z with respect to x for constant y in SI
-     * units, as a function of pressure and temperature.
-     *
-     * <p>
-     * (<sup>&part;z</sup>/<sub>&part;x</sub>)<sub>y</sub>(p, T)
-     * </p>
-     *
-     * Note that this method is not suitable for the saturated region as
-     * pressure and temperature are coupled. Preferably, use
-     * {@link #partialDerivativePH(double, double, com.hummeling.if97.IF97.Quantity, com.hummeling.if97.IF97.Quantity, com.hummeling.if97.IF97.Quantity)}
-     * instead.
-     *
-     * @param pressure absolute pressure
-     * @param temperature temperature
-     * @param x any {@link Quantity} part of the set returned by
-     * {@link Quantity#getPartialDerivatives()}
-     * @param y any {@link Quantity} part of the set returned by
-     * {@link Quantity#getPartialDerivatives()}
-     * @param z any {@link Quantity} part of the set returned by
-     * {@link Quantity#getPartialDerivatives()}
-     * @return partial derivative [SI units]
-     * @throws OutOfRangeException out-of-range exception
-     * @see Quantity#getPartialDerivatives()
-     * @see #partialDerivativePH(double, double,
-     * com.hummeling.if97.IF97.Quantity, com.hummeling.if97.IF97.Quantity,
-     * com.hummeling.if97.IF97.Quantity)
-     */
-    public double partialDerivativePT(double pressure, double temperature, Quantity x, Quantity y, Quantity z) throws OutOfRangeException {
-
-        if (!PARTIAL_DERIVATIVE_QUANTITIES.contains(x)) {
-            throw new IllegalArgumentException("Partial derivative with respect to " + x + " is not supported, see IF97.Quantity.getPartialDerivatives() for supported quantities.");
-
-        } else if (!PARTIAL_DERIVATIVE_QUANTITIES.contains(y)) {
-            throw new IllegalArgumentException("Partial derivative for constant " + y + " is not supported, see IF97.Quantity.getPartialDerivatives() for supported quantities.");
-
-        } else if (!PARTIAL_DERIVATIVE_QUANTITIES.contains(z)) {
-            throw new IllegalArgumentException("Partial derivative of " + z + " is not supported, see IF97.Quantity.getPartialDerivatives() for supported quantities.");
-        }
-        double p = convertToDefault(UNIT_SYSTEM.PRESSURE, pressure),
-                T = convertToDefault(UNIT_SYSTEM.TEMPERATURE, temperature);
-
-        try {
-            Region region = Region.getRegionPT(p, T);
-
-            if (region instanceof Region3) {
-                double v = region.specificVolumePT(p, T);
-
-                return Calculate.partialDerivativeRhoT(1 / v, T, x, y, z);
-            }
-            return Calculate.partialDerivativePT(region, p, T, x, y, z);
-
-        } catch (OutOfRangeException e) {
-            throw e.convertFromDefault(UNIT_SYSTEM);
-        }
-    }
-
-    /**
-     * Gets the partial derivative of z with respect to x for constant y in SI
-     * units, as a function of density and temperature, valid in region 3 only!
-     *
-     * <p>
-     * (<sup>&part;z</sup>/<sub>&part;x</sub>)<sub>y</sub>(&rho;, T)
-     * </p>
-     * Preferably, use
-     * {@link #partialDerivativePH(double, double, com.hummeling.if97.IF97.Quantity, com.hummeling.if97.IF97.Quantity, com.hummeling.if97.IF97.Quantity)}
-     * instead.
-     *
-     * @param density density
-     * @param temperature temperature
-     * @param x any {@link Quantity} part of the set returned by
-     * {@link Quantity#getPartialDerivatives()}
-     * @param y any {@link Quantity} part of the set returned by
-     * {@link Quantity#getPartialDerivatives()}
-     * @param z any {@link Quantity} part of the set returned by
-     * {@link Quantity#getPartialDerivatives()}
-     * @return partial derivative [SI units]
-     * @throws OutOfRangeException out-of-range exception
-     * @see Quantity#getPartialDerivatives()
-     * @see #partialDerivativePH(double, double,
-     * com.hummeling.if97.IF97.Quantity, com.hummeling.if97.IF97.Quantity,
-     * com.hummeling.if97.IF97.Quantity)
-     */
-    public double partialDerivativeRhoT(double density, double temperature, Quantity x, Quantity y, Quantity z) throws OutOfRangeException {
-
-        double rho = convertToDefault(UNIT_SYSTEM.DENSITY, density),
-                T = convertToDefault(UNIT_SYSTEM.TEMPERATURE, temperature);
-
-        try {
-            return Calculate.partialDerivativeRhoT(rho, T, x, y, z);
-
-        } catch (OutOfRangeException e) {
-            throw e.convertFromDefault(UNIT_SYSTEM);
-        }
-    }
-
-    /**
-     * Pressure as a function of specific enthalpy &amp; specific entropy.
-     *
-     * @param enthalpy specific enthalpy
-     * @param entropy specific entropy
-     * @return pressure
-     * @throws OutOfRangeException out-of-range exception
-     */
-    public double pressureHS(double enthalpy, double entropy) throws OutOfRangeException {
-
-        double h = convertToDefault(UNIT_SYSTEM.SPECIFIC_ENTHALPY, enthalpy),
-                s = convertToDefault(UNIT_SYSTEM.SPECIFIC_ENTROPY, entropy),
-                p;
-
-        try {
-            p = Region.getRegionHS(h, s).pressureHS(h, s);
-
-        } catch (OutOfRangeException e) {
-            throw e.convertFromDefault(UNIT_SYSTEM);
-        }
-        return convertFromDefault(UNIT_SYSTEM.PRESSURE, p);
-    }
-
-    /**
-     * Refractive index as a function of specific enthalpy, specific entropy
-     * &amp; wave length.
-     *
-     * @param enthalpy specific enthalpy
-     * @param entropy specific entropy
-     * @param wavelength wavelength
-     * @return refractive index [-]
-     * @throws OutOfRangeException out-of-range exception
-     */
-    public double refractiveIndexHSLambda(double enthalpy, double entropy, double wavelength) throws OutOfRangeException {
-
-        double h = convertToDefault(UNIT_SYSTEM.SPECIFIC_ENTHALPY, enthalpy),
-                s = convertToDefault(UNIT_SYSTEM.SPECIFIC_ENTROPY, entropy),
-                lambda = convertToDefault(UNIT_SYSTEM.WAVELENGTH, wavelength);
-
-        try {
-            Region region = Region.getRegionHS(h, s);
-
-            double v = region.specificVolumeHS(h, s),
-                    T = region.temperatureHS(h, s);
-
-            return Calculate.refractiveIndexRhoTLambda(1 / v, T, lambda);
-
-        } catch (OutOfRangeException e) {
-            throw e.convertFromDefault(UNIT_SYSTEM);
-        }
-    }
-
-    /**
-     * Refractive index as a function of pressure, specific enthalpy &amp; wave
-     * length.
-     *
-     * @param pressure absolute pressure
-     * @param enthalpy specific enthalpy
-     * @param wavelength wavelength
-     * @return refractive index [-]
-     * @throws OutOfRangeException out-of-range exception
-     */
-    public double refractiveIndexPHLambda(double pressure, double enthalpy, double wavelength) throws OutOfRangeException {
-
-        double p = convertToDefault(UNIT_SYSTEM.PRESSURE, pressure),
-                h = convertToDefault(UNIT_SYSTEM.SPECIFIC_ENTHALPY, enthalpy),
-                lambda = convertToDefault(UNIT_SYSTEM.WAVELENGTH, wavelength);
-
-        try {
-            Region region = Region.getRegionPH(p, h);
-
-            double v = region.specificVolumePH(p, h),
-                    T = region.temperaturePH(p, h);
-
-            return Calculate.refractiveIndexRhoTLambda(1 / v, T, lambda);
-
-        } catch (OutOfRangeException e) {
-            throw e.convertFromDefault(UNIT_SYSTEM);
-        }
-    }
-
-    /**
-     * Refractive index as a function of pressure, specific entropy &amp; wave
-     * length.
-     *
-     * @param pressure absolute pressure
-     * @param entropy specific entropy
-     * @param wavelength wavelength
-     * @return refractive index [-]
-     * @throws OutOfRangeException out-of-range exception
-     */
-    public double refractiveIndexPSLambda(double pressure, double entropy, double wavelength) throws OutOfRangeException {
-
-        double p = convertToDefault(UNIT_SYSTEM.PRESSURE, pressure),
-                s = convertToDefault(UNIT_SYSTEM.SPECIFIC_ENTROPY, entropy),
-                lambda = convertToDefault(UNIT_SYSTEM.WAVELENGTH, wavelength);
-
-        try {
-            Region region = Region.getRegionPS(p, s);
-
-            double v = region.specificVolumePS(p, s),
-                    T = region.temperaturePS(p, s);
-
-            return Calculate.refractiveIndexRhoTLambda(1 / v, T, lambda);
-
-        } catch (OutOfRangeException e) {
-            throw e.convertFromDefault(UNIT_SYSTEM);
-        }
-    }
-
-    /**
-     * Refractive index as a function of pressure, temperature &amp; wave
-     * length.
-     *
-     * @param pressure absolute pressure
-     * @param temperature temperature
-     * @param wavelength wavelength
-     * @return refractive index [-]
-     * @throws OutOfRangeException out-of-range exception
-     */
-    public double refractiveIndexPTLambda(double pressure, double temperature, double wavelength) throws OutOfRangeException {
-
-        double p = convertToDefault(UNIT_SYSTEM.PRESSURE, pressure),
-                T = convertToDefault(UNIT_SYSTEM.TEMPERATURE, temperature),
-                lambda = convertToDefault(UNIT_SYSTEM.WAVELENGTH, wavelength);
-
-        try {
-            double v = Region.getRegionPT(p, T).specificVolumePT(p, T);
-
-            return Calculate.refractiveIndexRhoTLambda(1 / v, T, lambda);
-
-        } catch (OutOfRangeException e) {
-            throw e.convertFromDefault(UNIT_SYSTEM);
-        }
-    }
-
-    /**
-     * Refractive index as a function of density, temperature &amp; wave length.
-     *
-     * @param density density
-     * @param temperature temperature
-     * @param waveLength wave length
-     * @return refractive index [-]
-     * @throws OutOfRangeException out-of-range exception
-     */
-    public double refractiveIndexRhoTLambda(double density, double temperature, double waveLength) throws OutOfRangeException {
-
-        double rho = convertToDefault(UNIT_SYSTEM.DENSITY, density),
-                T = convertToDefault(UNIT_SYSTEM.TEMPERATURE, temperature),
-                lambda = convertToDefault(UNIT_SYSTEM.WAVELENGTH, waveLength);
-
-        try {
-            return Calculate.refractiveIndexRhoTLambda(rho, T, lambda);
-
-        } catch (OutOfRangeException e) {
-            throw e.convertFromDefault(UNIT_SYSTEM);
-        }
-    }
-
-    /**
-     * Saturation pressure as a function of specific enthalpy &amp; specific
-     * entropy.
-     *
-     * @param enthalpy specific enthalpy
-     * @param entropy specific entropy
-     * @return saturation pressure
-     * @throws OutOfRangeException out-of-range exception
-     */
-    public double saturationPressureHS(double enthalpy, double entropy) throws OutOfRangeException {
-
-        double h = convertToDefault(UNIT_SYSTEM.SPECIFIC_ENTHALPY, enthalpy),
-                s = convertToDefault(UNIT_SYSTEM.SPECIFIC_ENTROPY, entropy),
-                p;
-
-        try {
-            Region.REGION4.checkHS(h, s);
-
-            p = Region.REGION4.pressureHS(h, s);
-
-            if (p < p0) {
-                throw new OutOfRangeException(Quantity.p, p, p0);
-            }
-        } catch (OutOfRangeException e) {
-            throw e.convertFromDefault(UNIT_SYSTEM);
-        }
-        return convertFromDefault(UNIT_SYSTEM.PRESSURE, p);
-    }
-
-    /**
-     * Saturation pressure as a function of temperature.
-     *
-     * @param temperature saturation temperature
-     * @return saturation pressure
-     * @throws OutOfRangeException out-of-range exception
-     */
-    public double saturationPressureT(double temperature) throws OutOfRangeException {
-
-        double T = convertToDefault(UNIT_SYSTEM.TEMPERATURE, temperature),
-                p;
-
-        try {
-            Region.REGION4.checkT(T);
-
-            p = Region.REGION4.saturationPressureT(T);
-
-        } catch (OutOfRangeException e) {
-            throw e.convertFromDefault(UNIT_SYSTEM);
-        }
-        return convertFromDefault(UNIT_SYSTEM.PRESSURE, p);
-    }
-
-    /**
-     * Saturation temperature as a function of specific enthalpy &amp; specific
-     * entropy.
-     *
-     * @param enthalpy specific enthalpy
-     * @param entropy specific entropy
-     * @return saturation temperature
-     * @throws OutOfRangeException out-of-range exception
-     */
-    public double saturationTemperatureHS(double enthalpy, double entropy) throws OutOfRangeException {
-
-        double h = convertToDefault(UNIT_SYSTEM.SPECIFIC_ENTHALPY, enthalpy),
-                s = convertToDefault(UNIT_SYSTEM.SPECIFIC_ENTROPY, entropy),
-                T;
-
-        try {
-            Region.REGION4.checkHS(h, s);
-
-            T = Region.REGION4.temperatureHS(h, s);
-
-        } catch (OutOfRangeException e) {
-            throw e.convertFromDefault(UNIT_SYSTEM);
-        }
-        return convertFromDefault(UNIT_SYSTEM.TEMPERATURE, T);
-    }
-
-    /**
-     * Saturation temperature as a function of pressure.
-     *
-     * @param pressure saturation pressure
-     * @return saturation temperature
-     * @throws OutOfRangeException out-of-range exception
-     */
-    public double saturationTemperatureP(double pressure) throws OutOfRangeException {
-
-        double p = convertToDefault(UNIT_SYSTEM.PRESSURE, pressure),
-                T;
-
-        try {
-            Region.REGION4.checkP(p);
-
-            T = Region.REGION4.saturationTemperatureP(p);
-
-        } catch (OutOfRangeException e) {
-            throw e.convertFromDefault(UNIT_SYSTEM);
-        }
-        return convertFromDefault(UNIT_SYSTEM.TEMPERATURE, T);
-    }
-
-    /**
-     * Sets (changes) the unit system.
-     *
-     * @param unitSystem unit system
-     */
-    public final void setUnitSystem(UnitSystem unitSystem) {
-        UNIT_SYSTEM = unitSystem;
-    }
-
-    /**
-     * Specific enthalpy as a function of pressure &amp; specific entropy.
-     *
-     * @param pressure absolute pressure
-     * @param entropy specific entropy
-     * @return specific enthalpy
-     * @throws OutOfRangeException out-of-range exception
-     */
-    public double specificEnthalpyPS(double pressure, double entropy) throws OutOfRangeException {
-
-        double p = convertToDefault(UNIT_SYSTEM.PRESSURE, pressure),
-                s = convertToDefault(UNIT_SYSTEM.SPECIFIC_ENTROPY, entropy),
-                h;
-
-        try {
-            h = Region.getRegionPS(p, s).specificEnthalpyPS(p, s);
-
-        } catch (OutOfRangeException exception) {
-            throw exception.convertFromDefault(UNIT_SYSTEM);
-        }
-        return convertFromDefault(UNIT_SYSTEM.SPECIFIC_ENTHALPY, h);
-    }
-
-    /**
-     * Specific enthalpy as a function of pressure &amp; temperature.
-     *
-     * @param pressure absolute pressure
-     * @param temperature temperature
-     * @return specific enthalpy
-     * @throws OutOfRangeException out-of-range exception
-     */
-    public double specificEnthalpyPT(double pressure, double temperature) throws OutOfRangeException {
-
-        double p = convertToDefault(UNIT_SYSTEM.PRESSURE, pressure),
-                T = convertToDefault(UNIT_SYSTEM.TEMPERATURE, temperature),
-                h;
-
-        try {
-            h = Region.getRegionPT(p, T).specificEnthalpyPT(p, T);
-
-        } catch (OutOfRangeException e) {
-            throw e.convertFromDefault(UNIT_SYSTEM);
-        }
-        return convertFromDefault(UNIT_SYSTEM.SPECIFIC_ENTHALPY, h);
-    }
-
-    /**
-     * Specific enthalpy as a function of pressure &amp; vapour fraction.
-     *
-     * @param pressure absolute pressure
-     * @param vapourFraction vapour fraction [-]
-     * @return specific enthalpy
-     * @throws OutOfRangeException out-of-range exception
-     */
-    public double specificEnthalpyPX(double pressure, double vapourFraction) throws OutOfRangeException {
-
-        double p = convertToDefault(UNIT_SYSTEM.PRESSURE, pressure),
-                h;
-
-        try {
-            Region.REGION4.checkP(p);
-
-            h = Region.REGION4.specificEnthalpyPX(p, vapourFraction);
-
-        } catch (OutOfRangeException e) {
-            throw e.convertFromDefault(UNIT_SYSTEM);
-        }
-        return convertFromDefault(UNIT_SYSTEM.SPECIFIC_ENTHALPY, h);
-    }
-
-    /**
-     * Specific enthalpy as a function of pressure for saturated liquid.
-     *
-     * @param pressure saturation pressure
-     * @return specific enthalpy
-     * @throws OutOfRangeException out-of-range exception
-     * @see #specificEnthalpyPX(double, double)
-     */
-    public double specificEnthalpySaturatedLiquidP(double pressure) throws OutOfRangeException {
-
-        double p = convertToDefault(UNIT_SYSTEM.PRESSURE, pressure),
-                h;
-
-        try {
-            Region.REGION4.checkP(p);
-
-            h = Region.REGION4.specificEnthalpySaturatedLiquidP(p);
-
-        } catch (OutOfRangeException e) {
-            throw e.convertFromDefault(UNIT_SYSTEM);
-        }
-        return convertFromDefault(UNIT_SYSTEM.SPECIFIC_ENTHALPY, h);
-    }
-
-    /**
-     * Specific enthalpy as a function of temperature for saturated liquid.
-     *
-     * @param temperature saturation temperature
-     * @return specific enthalpy
-     * @throws OutOfRangeException out-of-range exception
-     * @see #specificEnthalpyTX(double, double)
-     */
-    public double specificEnthalpySaturatedLiquidT(double temperature) throws OutOfRangeException {
-
-        double T = convertToDefault(UNIT_SYSTEM.TEMPERATURE, temperature),
-                h;
-
-        try {
-            Region.REGION4.checkT(T);
-
-            h = Region.REGION4.specificEnthalpySaturatedLiquidP(Region.REGION4.saturationPressureT(T));
-
-        } catch (OutOfRangeException e) {
-            throw e.convertFromDefault(UNIT_SYSTEM);
-        }
-        return convertFromDefault(UNIT_SYSTEM.SPECIFIC_ENTHALPY, h);
-    }
-
-    /**
-     * Specific enthalpy as a function of pressure for saturated vapour.
-     *
-     * @param pressure saturation pressure
-     * @return specific enthalpy
-     * @throws OutOfRangeException out-of-range exception
-     * @see #specificEnthalpyPX(double, double)
-     */
-    public double specificEnthalpySaturatedVapourP(double pressure) throws OutOfRangeException {
-
-        double p = convertToDefault(UNIT_SYSTEM.PRESSURE, pressure),
-                h;
-
-        try {
-            Region.REGION4.checkP(p);
-
-            h = Region.REGION4.specificEnthalpySaturatedVapourP(p);
-
-        } catch (OutOfRangeException e) {
-            throw e.convertFromDefault(UNIT_SYSTEM);
-        }
-        return convertFromDefault(UNIT_SYSTEM.SPECIFIC_ENTHALPY, h);
-    }
-
-    /**
-     * Specific enthalpy as a function of temperature for saturated vapour.
-     *
-     * @param temperature saturation temperature
-     * @return specific enthalpy
-     * @throws OutOfRangeException out-of-range exception
-     * @see #specificEnthalpyTX(double, double)
-     */
-    public double specificEnthalpySaturatedVapourT(double temperature) throws OutOfRangeException {
-
-        double T = convertToDefault(UNIT_SYSTEM.TEMPERATURE, temperature),
-                h;
-
-        try {
-            Region.REGION4.checkT(T);
-
-            h = Region.REGION4.specificEnthalpySaturatedVapourP(Region.REGION4.saturationPressureT(T));
-
-        } catch (OutOfRangeException e) {
-            throw e.convertFromDefault(UNIT_SYSTEM);
-        }
-        return convertFromDefault(UNIT_SYSTEM.SPECIFIC_ENTHALPY, h);
-    }
-
-    /**
-     * Specific enthalpy as a function of temperature &amp; vapour fraction.
-     *
-     * @param temperature temperature
-     * @param vapourFraction vapour fraction [-]
-     * @return specific enthalpy
-     * @throws OutOfRangeException out-of-range exception
-     */
-    public double specificEnthalpyTX(double temperature, double vapourFraction) throws OutOfRangeException {
-
-        double T = convertToDefault(UNIT_SYSTEM.TEMPERATURE, temperature),
-                h;
-
-        try {
-            Region.REGION4.checkT(T);
-
-            h = Region.REGION4.specificEnthalpyPX(Region.REGION4.saturationPressureT(T), vapourFraction);
-
-        } catch (OutOfRangeException e) {
-            throw e.convertFromDefault(UNIT_SYSTEM);
-        }
-        return convertFromDefault(UNIT_SYSTEM.SPECIFIC_ENTHALPY, h);
-    }
-
-    /**
-     * Specific entropy as a function of pressure &amp; specific enthalpy.
-     *
-     * @param pressure absolute pressure
-     * @param enthalpy specific enthalpy
-     * @return specific entropy
-     * @throws OutOfRangeException out-of-range exception
-     */
-    public double specificEntropyPH(double pressure, double enthalpy) throws OutOfRangeException {
-
-        double p = convertToDefault(UNIT_SYSTEM.PRESSURE, pressure),
-                h = convertToDefault(UNIT_SYSTEM.SPECIFIC_ENTHALPY, enthalpy),
-                s;
-
-        try {
-            Region region = Region.getRegionPH(p, h);
-
-            if (region instanceof Region4) {
-                s = Region.REGION4.specificEntropyPH(p, h);
-
-            } else {
-                double T = region.temperaturePH(p, h);
-
-                s = region.specificEntropyPT(p, T);
-            }
-        } catch (OutOfRangeException e) {
-            throw e.convertFromDefault(UNIT_SYSTEM);
-        }
-        return convertFromDefault(UNIT_SYSTEM.SPECIFIC_ENTROPY, s);
-    }
-
-    /**
-     * Specific entropy as a function of pressure &amp; temperature.
-     *
-     * @param pressure absolute pressure
-     * @param temperature temperature
-     * @return specific entropy
-     * @throws OutOfRangeException out-of-range exception
-     */
-    public double specificEntropyPT(double pressure, double temperature) throws OutOfRangeException {
-
-        double p = convertToDefault(UNIT_SYSTEM.PRESSURE, pressure),
-                T = convertToDefault(UNIT_SYSTEM.TEMPERATURE, temperature),
-                s;
-
-        try {
-            s = Region.getRegionPT(p, T).specificEntropyPT(p, T);
-
-        } catch (OutOfRangeException e) {
-            throw e.convertFromDefault(UNIT_SYSTEM);
-        }
-
-        return convertFromDefault(UNIT_SYSTEM.SPECIFIC_ENTROPY, s);
-    }
-
-    /**
-     * Specific entropy as a function of pressure &amp; vapour fraction.
-     *
-     * @param pressure absolute pressure
-     * @param vapourFraction vapour fraction [-]
-     * @return specific entropy
-     * @throws OutOfRangeException out-of-range exception
-     */
-    public double specificEntropyPX(double pressure, double vapourFraction) throws OutOfRangeException {
-
-        double p = convertToDefault(UNIT_SYSTEM.PRESSURE, pressure),
-                s;
-
-        try {
-            Region.REGION4.checkP(p);
-
-            s = Region.REGION4.specificEntropyPX(p, vapourFraction);
-
-        } catch (OutOfRangeException e) {
-            throw e.convertFromDefault(UNIT_SYSTEM);
-        }
-        return convertFromDefault(UNIT_SYSTEM.SPECIFIC_ENTROPY, s);
-    }
-
-    /**
-     * Specific entropy as a function of pressure for saturated liquid.
-     *
-     * @param pressure saturation pressure
-     * @return specific entropy
-     * @throws OutOfRangeException out-of-range exception
-     * @see #specificEntropyPX(double, double)
-     */
-    public double specificEntropySaturatedLiquidP(double pressure) throws OutOfRangeException {
-
-        double p = convertToDefault(UNIT_SYSTEM.PRESSURE, pressure),
-                s;
-
-        try {
-            Region.REGION4.checkP(p);
-
-            s = Region.REGION4.specificEntropySaturatedLiquidP(p);
-
-        } catch (OutOfRangeException e) {
-            throw e.convertFromDefault(UNIT_SYSTEM);
-        }
-        return convertFromDefault(UNIT_SYSTEM.SPECIFIC_ENTROPY, s);
-    }
-
-    /**
-     * Specific entropy as a function of temperature for saturated liquid.
-     *
-     * @param temperature saturation temperature
-     * @return specific entropy
-     * @throws OutOfRangeException out-of-range exception
-     * @see #specificEntropyTX(double, double)
-     */
-    public double specificEntropySaturatedLiquidT(double temperature) throws OutOfRangeException {
-
-        double T = convertToDefault(UNIT_SYSTEM.TEMPERATURE, temperature),
-                s;
-
-        try {
-            Region.REGION4.checkT(T);
-
-            s = Region.REGION4.specificEntropySaturatedLiquidP(Region.REGION4.saturationPressureT(T));
-
-        } catch (OutOfRangeException e) {
-            throw e.convertFromDefault(UNIT_SYSTEM);
-        }
-        return convertFromDefault(UNIT_SYSTEM.SPECIFIC_ENTROPY, s);
-    }
-
-    /**
-     * Specific entropy as a function of pressure for saturated vapour.
-     *
-     * @param pressure saturation pressure
-     * @return specific entropy
-     * @throws OutOfRangeException out-of-range exception
-     * @see #specificEntropyPX(double, double)
-     */
-    public double specificEntropySaturatedVapourP(double pressure) throws OutOfRangeException {
-
-        double p = convertToDefault(UNIT_SYSTEM.PRESSURE, pressure),
-                s;
-
-        try {
-            Region.REGION4.checkP(p);
-
-            s = Region.REGION4.specificEntropySaturatedVapourP(p);
-
-        } catch (OutOfRangeException e) {
-            throw e.convertFromDefault(UNIT_SYSTEM);
-        }
-        return convertFromDefault(UNIT_SYSTEM.SPECIFIC_ENTROPY, s);
-    }
-
-    /**
-     * Specific entropy as a function of temperature for saturated vapour.
-     *
-     * @param temperature saturation temperature
-     * @return specific entropy
-     * @throws OutOfRangeException out-of-range exception
-     * @see #specificEntropyTX(double, double)
-     */
-    public double specificEntropySaturatedVapourT(double temperature) throws OutOfRangeException {
-
-        double T = convertToDefault(UNIT_SYSTEM.TEMPERATURE, temperature),
-                s;
-
-        try {
-            Region.REGION4.checkT(T);
-
-            s = Region.REGION4.specificEntropySaturatedVapourP(Region.REGION4.saturationPressureT(T));
-
-        } catch (OutOfRangeException e) {
-            throw e.convertFromDefault(UNIT_SYSTEM);
-        }
-        return convertFromDefault(UNIT_SYSTEM.SPECIFIC_ENTROPY, s);
-    }
-
-    /**
-     * Specific entropy as a function of temperature &amp; vapour fraction.
-     *
-     * @param temperature temperature
-     * @param vapourFraction vapour fraction [-]
-     * @return specific entropy
-     * @throws OutOfRangeException out-of-range exception
-     */
-    public double specificEntropyTX(double temperature, double vapourFraction) throws OutOfRangeException {
-
-        double T = convertToDefault(UNIT_SYSTEM.TEMPERATURE, temperature),
-                s;
-
-        try {
-            Region.REGION4.checkT(T);
-
-            s = Region.REGION4.specificEntropyPX(Region.REGION4.saturationPressureT(T), vapourFraction);
-
-        } catch (OutOfRangeException e) {
-            throw e.convertFromDefault(UNIT_SYSTEM);
-        }
-        return convertFromDefault(UNIT_SYSTEM.SPECIFIC_ENTROPY, s);
-    }
-
-    /**
-     * Specific Gibbs free energy as a function of pressure &amp; temperature.
-     *
-     * @param pressure absolute pressure
-     * @param temperature temperature
-     * @return specific Gibbs free energy
-     * @throws OutOfRangeException out-of-range exception
-     */
-    public double specificGibbsFreeEnergyPT(double pressure, double temperature) throws OutOfRangeException {
-
-        double p = convertToDefault(UNIT_SYSTEM.PRESSURE, pressure),
-                T = convertToDefault(UNIT_SYSTEM.TEMPERATURE, temperature),
-                g;
-
-        try {
-            g = Region.getRegionPT(p, T).specificGibbsFreeEnergyPT(p, T);
-
-        } catch (OutOfRangeException e) {
-            throw e.convertFromDefault(UNIT_SYSTEM);
-        }
-        return convertFromDefault(UNIT_SYSTEM.SPECIFIC_ENERGY, g);
-    }
-
-    /**
-     * Specific internal energy as a function of specific enthalpy &amp;
-     * specific entropy.
-     *
-     * @param enthalpy specific enthalpy
-     * @param entropy specific entropy
-     * @return specific internal energy
-     * @throws OutOfRangeException out-of-range exception
-     * @see #specificInternalEnergyPT(double, double)
-     */
-    public double specificInternalEnergyHS(double enthalpy, double entropy) throws OutOfRangeException {
-
-        double h = convertToDefault(UNIT_SYSTEM.SPECIFIC_ENTHALPY, enthalpy),
-                s = convertToDefault(UNIT_SYSTEM.SPECIFIC_ENTROPY, entropy),
-                u;
-
-        try {
-            Region region = Region.getRegionHS(h, s);
-
-            double p = region.pressureHS(h, s),
-                    T = region.temperatureHS(h, s);
-
-            u = region.specificInternalEnergyPT(p, T);
-
-        } catch (OutOfRangeException e) {
-            throw e.convertFromDefault(UNIT_SYSTEM);
-        }
-        return convertFromDefault(UNIT_SYSTEM.SPECIFIC_ENERGY, u);
-    }
-
-    /**
-     * Specific internal energy as a function of pressure &amp; specific
-     * enthalpy.
-     *
-     * @param pressure absolute pressure
-     * @param enthalpy specific enthalpy
-     * @return specific internal energy
-     * @throws OutOfRangeException out-of-range exception
-     * @see #specificInternalEnergyPT(double, double)
-     */
-    public double specificInternalEnergyPH(double pressure, double enthalpy) throws OutOfRangeException {
-
-        double p = convertToDefault(UNIT_SYSTEM.PRESSURE, pressure),
-                h = convertToDefault(UNIT_SYSTEM.SPECIFIC_ENTHALPY, enthalpy),
-                u;
-
-        try {
-            Region region = Region.getRegionPH(p, h);
-
-            if (region instanceof Region4) {
-                u = Region.REGION4.specificInternalEnergyPH(p, h);
-
-            } else {
-                double T = region.temperaturePH(p, h);
-
-                u = region.specificInternalEnergyPT(p, T);
-            }
-        } catch (OutOfRangeException e) {
-            throw e.convertFromDefault(UNIT_SYSTEM);
-        }
-        return convertFromDefault(UNIT_SYSTEM.SPECIFIC_ENERGY, u);
-    }
-
-    /**
-     * Specific internal energy as a function of pressure &amp; specific
-     * entropy.
-     *
-     * @param pressure absolute pressure
-     * @param entropy specific entropy
-     * @return specific internal energy
-     * @throws OutOfRangeException out-of-range exception
-     * @see #specificInternalEnergyPT(double, double)
-     */
-    public double specificInternalEnergyPS(double pressure, double entropy) throws OutOfRangeException {
-
-        double p = convertToDefault(UNIT_SYSTEM.PRESSURE, pressure),
-                s = convertToDefault(UNIT_SYSTEM.SPECIFIC_ENTROPY, entropy),
-                u;
-
-        try {
-            Region region = Region.getRegionPS(p, s);
-
-            double T = region.temperaturePS(p, s);
-
-            u = region.specificInternalEnergyPT(p, T);
-
-        } catch (OutOfRangeException e) {
-            throw e.convertFromDefault(UNIT_SYSTEM);
-        }
-        return convertFromDefault(UNIT_SYSTEM.SPECIFIC_ENERGY, u);
-    }
-
-    /**
-     * Specific internal energy as a function of pressure &amp; temperature.
-     *
-     * @param pressure absolute pressure
-     * @param temperature temperature
-     * @return specific internal energy
-     * @throws OutOfRangeException out-of-range exception
-     */
-    public double specificInternalEnergyPT(double pressure, double temperature) throws OutOfRangeException {
-
-        double p = convertToDefault(UNIT_SYSTEM.PRESSURE, pressure),
-                T = convertToDefault(UNIT_SYSTEM.TEMPERATURE, temperature),
-                u;
-
-        try {
-            u = Region.getRegionPT(p, T).specificInternalEnergyPT(p, T);
-
-        } catch (OutOfRangeException e) {
-            throw e.convertFromDefault(UNIT_SYSTEM);
-        }
-        return convertFromDefault(UNIT_SYSTEM.SPECIFIC_ENERGY, u);
-    }
-
-    /**
-     * Specific internal energy as a function of pressure &amp; vapour fraction.
-     *
-     * @param pressure absolute pressure
-     * @param vapourFraction vapour fraction [-]
-     * @return specific internal energy
-     * @throws OutOfRangeException out-of-range exception
-     */
-    public double specificInternalEnergyPX(double pressure, double vapourFraction) throws OutOfRangeException {
-
-        double p = convertToDefault(UNIT_SYSTEM.PRESSURE, pressure),
-                v;
-
-        try {
-            Region.REGION4.checkP(p);
-
-            v = Region.REGION4.specificInternalEnergyPX(p, vapourFraction);
-
-        } catch (OutOfRangeException e) {
-            throw e.convertFromDefault(UNIT_SYSTEM);
-        }
-        return convertFromDefault(UNIT_SYSTEM.SPECIFIC_VOLUME, v);
-    }
-
-    /**
-     * Specific internal energy as a function of pressure for saturated liquid.
-     *
-     * @param pressure saturation pressure
-     * @return specific internal energy
-     * @throws OutOfRangeException out-of-range exception
-     * @see #specificInternalEnergyPX(double, double)
-     */
-    public double specificInternalEnergySaturatedLiquidP(double pressure) throws OutOfRangeException {
-
-        double p = convertToDefault(UNIT_SYSTEM.PRESSURE, pressure),
-                s;
-
-        try {
-            Region.REGION4.checkP(p);
-
-            s = Region.REGION4.specificInternalEnergySaturatedLiquidP(p);
-
-        } catch (OutOfRangeException e) {
-            throw e.convertFromDefault(UNIT_SYSTEM);
-        }
-        return convertFromDefault(UNIT_SYSTEM.SPECIFIC_ENTROPY, s);
-    }
-
-    /**
-     * Specific internal energy as a function of temperature for saturated
-     * liquid.
-     *
-     * @param temperature saturation temperature
-     * @return specific internal energy
-     * @throws OutOfRangeException out-of-range exception
-     * @see #specificInternalEnergyTX(double, double)
-     */
-    public double specificInternalEnergySaturatedLiquidT(double temperature) throws OutOfRangeException {
-
-        double T = convertToDefault(UNIT_SYSTEM.TEMPERATURE, temperature),
-                s;
-
-        try {
-            Region.REGION4.checkT(T);
-
-            s = Region.REGION4.specificInternalEnergySaturatedLiquidP(Region.REGION4.saturationPressureT(T));
-
-        } catch (OutOfRangeException e) {
-            throw e.convertFromDefault(UNIT_SYSTEM);
-        }
-        return convertFromDefault(UNIT_SYSTEM.SPECIFIC_ENTROPY, s);
-    }
-
-    /**
-     * Specific internal energy as a function of pressure for saturated vapour.
-     *
-     * @param pressure saturation pressure
-     * @return specific internal energy
-     * @throws OutOfRangeException out-of-range exception
-     * @see #specificInternalEnergyPX(double, double)
-     */
-    public double specificInternalEnergySaturatedVapourP(double pressure) throws OutOfRangeException {
-
-        double p = convertToDefault(UNIT_SYSTEM.PRESSURE, pressure),
-                s;
-
-        try {
-            Region.REGION4.checkP(p);
-
-            s = Region.REGION4.specificInternalEnergySaturatedVapourP(p);
-
-        } catch (OutOfRangeException e) {
-            throw e.convertFromDefault(UNIT_SYSTEM);
-        }
-        return convertFromDefault(UNIT_SYSTEM.SPECIFIC_ENTROPY, s);
-    }
-
-    /**
-     * Specific internal energy as a function of temperature for saturated
-     * vapour.
-     *
-     * @param temperature saturation temperature
-     * @return specific internal energy
-     * @throws OutOfRangeException out-of-range exception
-     * @see #specificInternalEnergyTX(double, double)
-     */
-    public double specificInternalEnergySaturatedVapourT(double temperature) throws OutOfRangeException {
-
-        double T = convertToDefault(UNIT_SYSTEM.TEMPERATURE, temperature),
-                s;
-
-        try {
-            Region.REGION4.checkT(T);
-
-            s = Region.REGION4.specificInternalEnergySaturatedVapourP(Region.REGION4.saturationPressureT(T));
-
-        } catch (OutOfRangeException e) {
-            throw e.convertFromDefault(UNIT_SYSTEM);
-        }
-        return convertFromDefault(UNIT_SYSTEM.SPECIFIC_ENTROPY, s);
-    }
-
-    /**
-     * Specific internal energy as a function of temperature &amp; vapour
-     * fraction.
-     *
-     * @param temperature temperature
-     * @param vapourFraction vapour fraction [-]
-     * @return specific internal energy
-     * @throws OutOfRangeException out-of-range exception
-     */
-    public double specificInternalEnergyTX(double temperature, double vapourFraction) throws OutOfRangeException {
-
-        double T = convertToDefault(UNIT_SYSTEM.TEMPERATURE, temperature),
-                v;
-
-        try {
-            Region.REGION4.checkT(T);
-
-            v = Region.REGION4.specificInternalEnergyPX(Region.REGION4.saturationPressureT(T), vapourFraction);
-
-        } catch (OutOfRangeException e) {
-            throw e.convertFromDefault(UNIT_SYSTEM);
-        }
-        return convertFromDefault(UNIT_SYSTEM.SPECIFIC_VOLUME, v);
-    }
-
-    /**
-     * Specific volume as a function of specific enthalpy &amp; specific
-     * entropy.
-     *
-     * @param enthalpy specific enthalpy
-     * @param entropy specific entropy
-     * @return specific volume
-     * @throws OutOfRangeException out-of-range exception
-     */
-    public double specificVolumeHS(double enthalpy, double entropy) throws OutOfRangeException {
-
-        double h = convertToDefault(UNIT_SYSTEM.SPECIFIC_ENTHALPY, enthalpy),
-                s = convertToDefault(UNIT_SYSTEM.SPECIFIC_ENTROPY, entropy),
-                v;
-
-        try {
-            v = Region.getRegionHS(h, s).specificVolumeHS(h, s);
-
-        } catch (OutOfRangeException e) {
-            throw e.convertFromDefault(UNIT_SYSTEM);
-        }
-        return convertFromDefault(UNIT_SYSTEM.SPECIFIC_VOLUME, v);
-    }
-
-    /**
-     * Specific volume as a function of pressure &amp; specific enthalpy.
-     *
-     * @param pressure absolute pressure
-     * @param enthalpy specific enthalpy
-     * @return specific volume
-     * @throws OutOfRangeException out-of-range exception
-     */
-    public double specificVolumePH(double pressure, double enthalpy) throws OutOfRangeException {
-
-        double p = convertToDefault(UNIT_SYSTEM.PRESSURE, pressure),
-                h = convertToDefault(UNIT_SYSTEM.SPECIFIC_ENTHALPY, enthalpy),
-                v;
-
-        try {
-            v = Region.getRegionPH(p, h).specificVolumePH(p, h);
-
-        } catch (OutOfRangeException e) {
-            throw e.convertFromDefault(UNIT_SYSTEM);
-        }
-        return convertFromDefault(UNIT_SYSTEM.SPECIFIC_VOLUME, v);
-    }
-
-    /**
-     * Specific volume as a function of pressure &amp; specific entropy.
-     *
-     * @param pressure absolute pressure
-     * @param entropy specific entropy
-     * @return specific volume
-     * @throws OutOfRangeException out-of-range exception
-     */
-    public double specificVolumePS(double pressure, double entropy) throws OutOfRangeException {
-
-        double p = convertToDefault(UNIT_SYSTEM.PRESSURE, pressure),
-                s = convertToDefault(UNIT_SYSTEM.SPECIFIC_ENTROPY, entropy),
-                v;
-
-        try {
-            v = Region.getRegionPS(p, s).specificVolumePS(p, s);
-
-        } catch (OutOfRangeException e) {
-            throw e.convertFromDefault(UNIT_SYSTEM);
-        }
-        return convertFromDefault(UNIT_SYSTEM.SPECIFIC_VOLUME, v);
-    }
-
-    /**
-     * Specific volume as a function of pressure &amp; temperature.
-     *
-     * @param pressure absolute pressure
-     * @param temperature temperature
-     * @return specific volume
-     * @throws OutOfRangeException out-of-range exception
-     */
-    public double specificVolumePT(double pressure, double temperature) throws OutOfRangeException {
-
-        double p = convertToDefault(UNIT_SYSTEM.PRESSURE, pressure),
-                T = convertToDefault(UNIT_SYSTEM.TEMPERATURE, temperature),
-                v;
-
-        try {
-            v = Region.getRegionPT(p, T).specificVolumePT(p, T);
-
-        } catch (OutOfRangeException e) {
-            throw e.convertFromDefault(UNIT_SYSTEM);
-        }
-        return convertFromDefault(UNIT_SYSTEM.SPECIFIC_VOLUME, v);
-    }
-
-    /**
-     * Specific volume as a function of pressure &amp; vapour fraction.
-     *
-     * @param pressure absolute pressure
-     * @param vapourFraction vapour fraction [-]
-     * @return specific volume
-     * @throws OutOfRangeException out-of-range exception
-     */
-    public double specificVolumePX(double pressure, double vapourFraction) throws OutOfRangeException {
-
-        double p = convertToDefault(UNIT_SYSTEM.PRESSURE, pressure),
-                v;
-
-        try {
-            Region.REGION4.checkP(p);
-
-            v = Region.REGION4.specificVolumePX(p, vapourFraction);
-
-        } catch (OutOfRangeException e) {
-            throw e.convertFromDefault(UNIT_SYSTEM);
-        }
-        return convertFromDefault(UNIT_SYSTEM.SPECIFIC_VOLUME, v);
-    }
-
-    /**
-     * Specific volume as a function of pressure for saturated liquid.
-     *
-     * @param pressure absolute pressure
-     * @return specific volume
-     * @throws OutOfRangeException out-of-range exception
-     */
-    public double specificVolumeSaturatedLiquidP(double pressure) throws OutOfRangeException {
-
-        double p = convertToDefault(UNIT_SYSTEM.PRESSURE, pressure),
-                v;
-
-        try {
-            Region.REGION4.checkP(p);
-
-            v = Region.REGION4.specificVolumeSaturatedLiquidP(p);
-
-        } catch (OutOfRangeException e) {
-            throw e.convertFromDefault(UNIT_SYSTEM);
-        }
-        return convertFromDefault(UNIT_SYSTEM.SPECIFIC_VOLUME, v);
-    }
-
-    /**
-     * Specific volume as a function of temperature for saturated liquid.
-     *
-     * @param temperature temperature
-     * @return specific volume
-     * @throws OutOfRangeException out-of-range exception
-     */
-    public double specificVolumeSaturatedLiquidT(double temperature) throws OutOfRangeException {
-
-        double T = convertToDefault(UNIT_SYSTEM.TEMPERATURE, temperature),
-                v;
-
-        try {
-            Region.REGION4.checkT(T);
-
-            v = Region.REGION4.specificVolumeSaturatedLiquidP(Region.REGION4.saturationPressureT(T));
-
-        } catch (OutOfRangeException e) {
-            throw e.convertFromDefault(UNIT_SYSTEM);
-        }
-        return convertFromDefault(UNIT_SYSTEM.SPECIFIC_VOLUME, v);
-    }
-
-    /**
-     * Specific volume as a function of pressure for saturated vapour.
-     *
-     * @param pressure absolute pressure
-     * @return specific volume
-     * @throws OutOfRangeException out-of-range exception
-     */
-    public double specificVolumeSaturatedVapourP(double pressure) throws OutOfRangeException {
-
-        double p = convertToDefault(UNIT_SYSTEM.PRESSURE, pressure),
-                v;
-
-        try {
-            Region.REGION4.checkP(p);
-
-            v = Region.REGION4.specificVolumeSaturatedVapourP(p);
-
-        } catch (OutOfRangeException e) {
-            throw e.convertFromDefault(UNIT_SYSTEM);
-        }
-        return convertFromDefault(UNIT_SYSTEM.SPECIFIC_VOLUME, v);
-    }
-
-    /**
-     * Specific volume as a function of temperature for saturated vapour.
-     *
-     * @param temperature temperature
-     * @return specific volume
-     * @throws OutOfRangeException out-of-range exception
-     */
-    public double specificVolumeSaturatedVapourT(double temperature) throws OutOfRangeException {
-
-        double T = convertToDefault(UNIT_SYSTEM.TEMPERATURE, temperature),
-                v;
-
-        try {
-            Region.REGION4.checkT(T);
-
-            v = Region.REGION4.specificVolumeSaturatedVapourP(Region.REGION4.saturationPressureT(T));
-
-        } catch (OutOfRangeException e) {
-            throw e.convertFromDefault(UNIT_SYSTEM);
-        }
-        return convertFromDefault(UNIT_SYSTEM.SPECIFIC_VOLUME, v);
-    }
-
-    /**
-     * Specific volume as a function of temperature &amp; vapour fraction.
-     *
-     * @param temperature temperature
-     * @param vapourFraction vapour fraction [-]
-     * @return specific volume
-     * @throws OutOfRangeException out-of-range exception
-     */
-    public double specificVolumeTX(double temperature, double vapourFraction) throws OutOfRangeException {
-
-        double T = convertToDefault(UNIT_SYSTEM.TEMPERATURE, temperature),
-                v;
-
-        try {
-            Region.REGION4.checkT(T);
-
-            v = Region.REGION4.specificVolumePX(Region.REGION4.saturationPressureT(T), vapourFraction);
-
-        } catch (OutOfRangeException e) {
-            throw e.convertFromDefault(UNIT_SYSTEM);
-        }
-        return convertFromDefault(UNIT_SYSTEM.SPECIFIC_VOLUME, v);
-    }
-
-    /**
-     * Speed of sound as a function of specific enthalpy &amp; specific entropy.
-     *
-     * @param enthalpy specific enthalpy
-     * @param entropy specific entropy
-     * @return speed of sound
-     * @throws OutOfRangeException out-of-range exception
-     * @see #speedOfSoundPT(double, double)
-     */
-    public double speedOfSoundHS(double enthalpy, double entropy) throws OutOfRangeException {
-
-        double h = convertToDefault(UNIT_SYSTEM.SPECIFIC_ENTHALPY, enthalpy),
-                s = convertToDefault(UNIT_SYSTEM.SPECIFIC_ENTROPY, entropy),
-                w;
-
-        try {
-            Region region = Region.getRegionHS(h, s);
-
-            double p = region.pressureHS(h, s),
-                    T = region.temperatureHS(h, s);
-
-            w = region.speedOfSoundPT(p, T);
-
-        } catch (OutOfRangeException e) {
-            throw e.convertFromDefault(UNIT_SYSTEM);
-        }
-        return convertFromDefault(UNIT_SYSTEM.SPEED_OF_SOUND, w);
-    }
-
-    /**
-     * Speed of sound as a function of pressure &amp; specific enthalpy.
-     *
-     * @param pressure absolute pressure
-     * @param enthalpy specific enthalpy
-     * @return speed of sound
-     * @throws OutOfRangeException out-of-range exception
-     * @see #speedOfSoundPT(double, double)
-     */
-    public double speedOfSoundPH(double pressure, double enthalpy) throws OutOfRangeException {
-
-        double p = convertToDefault(UNIT_SYSTEM.PRESSURE, pressure),
-                h = convertToDefault(UNIT_SYSTEM.SPECIFIC_ENTHALPY, enthalpy),
-                w;
-
-        try {
-            Region region = Region.getRegionPH(p, h);
-
-            if (region instanceof Region4) {
-                w = Region.REGION4.speedOfSoundPH(p, h);
-            } else {
-                double T = region.temperaturePH(p, h);
-                w = region.speedOfSoundPT(p, T);
-            }
-        } catch (OutOfRangeException e) {
-            throw e.convertFromDefault(UNIT_SYSTEM);
-        }
-        return convertFromDefault(UNIT_SYSTEM.SPEED_OF_SOUND, w);
-    }
-
-    /**
-     * Speed of sound as a function of pressure &amp; specific entropy.
-     *
-     * @param pressure absolute pressure
-     * @param entropy specific entropy
-     * @return speed of sound
-     * @throws OutOfRangeException out-of-range exception
-     * @see #speedOfSoundPT(double, double)
-     */
-    public double speedOfSoundPS(double pressure, double entropy) throws OutOfRangeException {
-
-        double p = convertToDefault(UNIT_SYSTEM.PRESSURE, pressure),
-                s = convertToDefault(UNIT_SYSTEM.SPECIFIC_ENTROPY, entropy),
-                w;
-
-        try {
-            Region region = Region.getRegionPS(p, s);
-
-            double T = region.temperaturePS(p, s);
-
-            w = region.speedOfSoundPT(p, T);
-
-        } catch (OutOfRangeException e) {
-            throw e.convertFromDefault(UNIT_SYSTEM);
-        }
-        return convertFromDefault(UNIT_SYSTEM.SPEED_OF_SOUND, w);
-    }
-
-    /**
-     * Speed of sound as a function of pressure &amp; temperature.
-     *
-     * @param pressure absolute pressure
-     * @param temperature temperature
-     * @return speed of sound
-     * @throws OutOfRangeException out-of-range exception
-     */
-    public double speedOfSoundPT(double pressure, double temperature) throws OutOfRangeException {
-
-        double p = convertToDefault(UNIT_SYSTEM.PRESSURE, pressure),
-                T = convertToDefault(UNIT_SYSTEM.TEMPERATURE, temperature),
-                w;
-
-        try {
-            w = Region.getRegionPT(p, T).speedOfSoundPT(p, T);
-
-        } catch (OutOfRangeException e) {
-            throw e.convertFromDefault(UNIT_SYSTEM);
-        }
-        return convertFromDefault(UNIT_SYSTEM.SPEED_OF_SOUND, w);
-    }
-
-    /**
-     * Surface tension as a function of pressure.
-     *
-     * @param pressure absolute pressure
-     * @return surface tension
-     * @throws OutOfRangeException out-of-range exception
-     */
-    public double surfaceTensionP(double pressure) throws OutOfRangeException {
-
-        double p = convertToDefault(UNIT_SYSTEM.PRESSURE, pressure),
-                sigma;
-
-        try {
-            Region.REGION4.checkP(p);
-
-            sigma = Region.REGION4.surfaceTensionT(Region.REGION4.saturationTemperatureP(p));
-
-        } catch (OutOfRangeException e) {
-            throw e.convertFromDefault(UNIT_SYSTEM);
-        }
-        return convertFromDefault(UNIT_SYSTEM.SURFACE_TENSION, sigma);
-    }
-
-    /**
-     * Surface tension as a function of temperature.
-     *
-     * @param temperature temperature
-     * @return surface tension
-     * @throws OutOfRangeException out-of-range exception
-     */
-    public double surfaceTensionT(double temperature) throws OutOfRangeException {
-
-        double T = convertToDefault(UNIT_SYSTEM.TEMPERATURE, temperature),
-                sigma;
-
-        try {
-            Region.REGION4.checkT(T);
-
-            sigma = Region.REGION4.surfaceTensionT(T);
-
-        } catch (OutOfRangeException e) {
-            throw e.convertFromDefault(UNIT_SYSTEM);
-        }
-        return convertFromDefault(UNIT_SYSTEM.SURFACE_TENSION, sigma);
-    }
-
-    /**
-     * Temperature. [IF97 Supplementary Release S04]
-     *
-     * @param enthalpy specific enthalpy
-     * @param entropy specific entropy
-     * @return temperature
-     * @throws OutOfRangeException out-of-range exception
-     */
-    public double temperatureHS(double enthalpy, double entropy) throws OutOfRangeException {
-
-        double h = convertToDefault(UNIT_SYSTEM.SPECIFIC_ENTHALPY, enthalpy),
-                s = convertToDefault(UNIT_SYSTEM.SPECIFIC_ENTROPY, entropy),
-                T;
-
-        try {
-            T = Region.getRegionHS(h, s).temperatureHS(h, s);
-
-        } catch (OutOfRangeException e) {
-            throw e.convertFromDefault(UNIT_SYSTEM);
-        }
-        return convertFromDefault(UNIT_SYSTEM.TEMPERATURE, T);
-    }
-
-    /**
-     * Temperature.
-     *
-     * @param pressure absolute pressure [MPa]
-     * @param enthalpy specific enthalpy [kJ/(kg)]
-     * @return temperature [K]
-     * @throws OutOfRangeException out-of-range exception
-     */
-    public double temperaturePH(double pressure, double enthalpy) throws OutOfRangeException {
-
-        double p = convertToDefault(UNIT_SYSTEM.PRESSURE, pressure),
-                h = convertToDefault(UNIT_SYSTEM.SPECIFIC_ENTHALPY, enthalpy),
-                T;
-
-        try {
-            T = Region.getRegionPH(p, h).temperaturePH(p, h);
-
-        } catch (OutOfRangeException e) {
-            throw e.convertFromDefault(UNIT_SYSTEM);
-        }
-        return convertFromDefault(UNIT_SYSTEM.TEMPERATURE, T);
-    }
-
-    /**
-     * Temperature.
-     *
-     * @param pressure absolute pressure
-     * @param entropy specific entropy
-     * @return temperature
-     * @throws OutOfRangeException out-of-range exception
-     */
-    public double temperaturePS(double pressure, double entropy) throws OutOfRangeException {
-
-        double p = convertToDefault(UNIT_SYSTEM.PRESSURE, pressure),
-                s = convertToDefault(UNIT_SYSTEM.SPECIFIC_ENTROPY, entropy),
-                T;
-
-        try {
-            T = Region.getRegionPS(p, s).temperaturePS(p, s);
-
-        } catch (OutOfRangeException e) {
-            throw e.convertFromDefault(UNIT_SYSTEM);
-        }
-        return convertFromDefault(UNIT_SYSTEM.TEMPERATURE, T);
-    }
-
-    /**
-     * Thermal conductivity as a function of specific enthalpy &amp; specific
-     * entropy.
-     *
-     * @param enthalpy specific enthalpy
-     * @param entropy specific entropy
-     * @return thermal conductivity
-     * @throws OutOfRangeException out-of-range exception
-     * @see #thermalConductivityRhoT(double, double)
-     */
-    public double thermalConductivityHS(double enthalpy, double entropy) throws OutOfRangeException {
-
-        double h = convertToDefault(UNIT_SYSTEM.SPECIFIC_ENTHALPY, enthalpy),
-                s = convertToDefault(UNIT_SYSTEM.SPECIFIC_ENTROPY, entropy),
-                lambda;
-
-        try {
-            Region region = Region.getRegionHS(h, s);
-            double rho = 1 / region.specificVolumeHS(h, s),
-                    T = region.temperatureHS(h, s);
-            lambda = Calculate.thermalConductivityRhoT(rho, T);
-
-        } catch (OutOfRangeException e) {
-            throw e.convertFromDefault(UNIT_SYSTEM);
-        }
-        return convertFromDefault(UNIT_SYSTEM.THERMAL_CONDUCTIVITY, lambda);
+    public void setResidualTolerance(double tolerance) {
+        SETTINGS = new Settings(toBuilder().residualTolerance(tolerance));
     }
 
     /**
-     * Thermal conductivity as a function of pressure &amp; specific enthalpy.
+     * Sets the shadow sampler that checks a fraction of this object's
+     * {@link #temperaturePH(double, double)},
+     * {@link #temperaturePS(double, double)} &amp;
+     * {@link #pressureHS(double, double)} calls against the forward
+     * equations in the background, see {@link ShadowSampler}. Calls aren't
+     * sampled by default.
      *
-     * @param pressure absolute pressure
-     * @param enthalpy specific enthalpy
-     * @return thermal conductivity
-     * @throws OutOfRangeException out-of-range exception
-     * @see #thermalConductivityRhoT(double, double)
+     * @param sampler shadow sampler, null to stop sampling
      */
-    public double thermalConductivityPH(double pressure, double enthalpy) throws OutOfRangeException {
-
-        double p = convertToDefault(UNIT_SYSTEM.PRESSURE, pressure),
-                h = convertToDefault(UNIT_SYSTEM.SPECIFIC_ENTHALPY, enthalpy),
-                lambda;
-
-        try {
-            Region region = Region.getRegionPH(p, h);
-            double rho = 1 / region.specificVolumePH(p, h),
-                    T = region.temperaturePH(p, h);
-            lambda = Calculate.thermalConductivityRhoT(rho, T);
-
-        } catch (OutOfRangeException e) {
-            throw e.convertFromDefault(UNIT_SYSTEM);
-        }
-        return convertFromDefault(UNIT_SYSTEM.THERMAL_CONDUCTIVITY, lambda);
+    public void setShadowSampler(ShadowSampler sampler) {
+        SETTINGS = new Settings(toBuilder().shadowSampler(sampler));
     }
 
     /**
-     * Thermal conductivity as a function of pressure &amp; specific entropy.
+     * Sets (changes) the unit system.
      *
-     * @param pressure absolute pressure
-     * @param entropy specific entropy
-     * @return thermal conductivity
-     * @throws OutOfRangeException out-of-range exception
-     * @see #thermalConductivityRhoT(double, double)
+     * @param unitSystem unit system
      */
-    public double thermalConductivityPS(double pressure, double entropy) throws OutOfRangeException {
-
-        double p = convertToDefault(UNIT_SYSTEM.PRESSURE, pressure),
-                s = convertToDefault(UNIT_SYSTEM.SPECIFIC_ENTROPY, entropy),
-                lambda;
-
-        try {
-            Region region = Region.getRegionPS(p, s);
-            double rho = 1 / region.specificVolumePS(p, s),
-                    T = region.temperaturePS(p, s);
-            lambda = Calculate.thermalConductivityRhoT(rho, T);
-
-        } catch (OutOfRangeException e) {
-            throw e.convertFromDefault(UNIT_SYSTEM);
-        }
-        return convertFromDefault(UNIT_SYSTEM.THERMAL_CONDUCTIVITY, lambda);
+    public final void setUnitSystem(UnitSystem unitSystem) {
+        SETTINGS = new Settings(toBuilder().unitSystem(unitSystem));
     }
 
     /**
-     * Thermal conductivity as a function of pressure &amp; temperature.
-     *
-     * Note that is method is not accurate in the two-phase region.
+     * Sets how thoroughly inputs are validated, {@link ValidationLevel#FULL}
+     * by default. Callers that validate their inputs themselves, e.g. by
+     * feeding states from a converged solver, can lower the level to skip the
+     * envelope checks, which for (p, s), (p, h) &amp; (h, s) input evaluate
+     * the region equations on every call.
      *
-     * @param pressure absolute pressure
-     * @param temperature temperature
-     * @return thermal conductivity
-     * @throws OutOfRangeException out-of-range exception
-     * @see #thermalConductivityRhoT(double, double)
+     * @param level validation level
+     * @see ValidationLevel
      */
-    public double thermalConductivityPT(double pressure, double temperature) throws OutOfRangeException {
-
-        double p = convertToDefault(UNIT_SYSTEM.PRESSURE, pressure),
-                T = convertToDefault(UNIT_SYSTEM.TEMPERATURE, temperature),
-                lambda;
-
-        try {
-            double rho = 1 / Region.getRegionPT(p, T).specificVolumePT(p, T);
-            lambda = Calculate.thermalConductivityRhoT(rho, T);
+    public void setValidationLevel(ValidationLevel level) {
+        SETTINGS = new Settings(toBuilder().validationLevel(level));
+    }
 
-        } catch (OutOfRangeException e) {
-            throw e.convertFromDefault(UNIT_SYSTEM);
-        }
-        return convertFromDefault(UNIT_SYSTEM.THERMAL_CONDUCTIVITY, lambda);
+    @Override
+    Settings settings() {
+        return SETTINGS;
     }
 
     /**
-     * Thermal conductivity as a function of density &amp; temperature.
-     *
-     * @param density density
-     * @param temperature temperature
-     * @return thermal conductivity
-     * @throws OutOfRangeException out-of-range exception
+     * Builder of immutable IF97 objects, see {@link IF97#builder()}. Its
+     * settings have the same meaning &amp; defaults as those of the
+     * corresponding setters; a builder can build any number of objects but
+     * is not thread-safe itself.
      */
-    public double thermalConductivityRhoT(double density, double temperature) throws OutOfRangeException {
-
-        double rho = convertToDefault(UNIT_SYSTEM.DENSITY, density),
-                T = convertToDefault(UNIT_SYSTEM.TEMPERATURE, temperature),
-                lambda;
+    public static final class Builder {
 
-        try {
-            lambda = Calculate.thermalConductivityRhoT(rho, T);
+        private UnitSystem unitSystem = UnitSystem.DEFAULT;
+        private boolean boundedLatency, verifyRegionHints;
+        private double residualTolerance;
+        private ValidationLevel validation = ValidationLevel.FULL;
+        private PrecisionProfile precision = PrecisionProfile.ENGINEERING;
+        private ShadowSampler sampler;
 
-        } catch (OutOfRangeException e) {
-            throw e.convertFromDefault(UNIT_SYSTEM);
+        private Builder() {
         }
-        return convertFromDefault(UNIT_SYSTEM.THERMAL_CONDUCTIVITY, lambda);
-    }
 
-    /**
-     * Thermal diffusivity as a function of specific enthalpy &amp; specific
-     * entropy.
-     *
-     * @param enthalpy specific enthalpy
-     * @param entropy specific entropy
-     * @return thermal diffusivity
-     * @throws OutOfRangeException out-of-range exception
-     */
-    public double thermalDiffusivityHS(double enthalpy, double entropy) throws OutOfRangeException {
+        /**
+         * @param bounded whether to bound the latency
+         * @return this builder
+         * @see IF97#setBoundedLatency(boolean)
+         */
+        public Builder boundedLatency(boolean bounded) {
+            boundedLatency = bounded;
+            return this;
+        }
 
-        double h = convertToDefault(UNIT_SYSTEM.SPECIFIC_ENTHALPY, enthalpy),
-                s = convertToDefault(UNIT_SYSTEM.SPECIFIC_ENTROPY, entropy),
-                kappa;
+        /**
+         * Builds an immutable IF97 object with the current settings.
+         *
+         * @return immutable IF97 object
+         */
+        public ImmutableIF97 build() {
+            return new ImmutableIF97(new Settings(this));
+        }
 
-        try {
-            double p = Region.getRegionHS(h, s).pressureHS(h, s);
-            kappa = Calculate.thermalDiffusivityPH(p, h);
+        /**
+         * @param profile precision profile
+         * @return this builder
+         * @throws IllegalArgumentException if the profile is null
+         * @see IF97#setPrecisionProfile(PrecisionProfile)
+         */
+        public Builder precisionProfile(PrecisionProfile profile) {
 
-        } catch (OutOfRangeException e) {
-            throw e.convertFromDefault(UNIT_SYSTEM);
+            if (profile == null) {
+                throw new IllegalArgumentException("Precision profile should not be null");
+            }
+            precision = profile;
+            return this;
         }
-        return convertFromDefault(UNIT_SYSTEM.THERMAL_DIFFUSIVITY, kappa);
-    }
-
-    /**
-     * Thermal diffusivity as a function of pressure &amp; specific enthalpy.
-     *
-     * @param pressure absolute pressure
-     * @param enthalpy specific enthalpy
-     * @return thermal diffusivity
-     * @throws OutOfRangeException out-of-range exception
-     */
-    public double thermalDiffusivityPH(double pressure, double enthalpy) throws OutOfRangeException {
 
-        double p = convertToDefault(UNIT_SYSTEM.PRESSURE, pressure),
-                h = convertToDefault(UNIT_SYSTEM.SPECIFIC_ENTHALPY, enthalpy),
-                kappa;
+        /**
+         * @param tolerance relative tolerance, 0 (default) to evaluate all
+         * terms
+         * @return this builder
+         * @throws IllegalArgumentException if the tolerance is negative
+         * @see IF97#setResidualTolerance(double)
+         */
+        public Builder residualTolerance(double tolerance) {
 
-        try {
-            kappa = Calculate.thermalDiffusivityPH(p, h);
+            if (!(tolerance >= 0)) {
+                throw new IllegalArgumentException("Residual tolerance should not be negative: " + tolerance);
+            }
+            residualTolerance = tolerance;
+            return this;
+        }
 
-        } catch (OutOfRangeException e) {
-            throw e.convertFromDefault(UNIT_SYSTEM);
+        /**
+         * @param sampler shadow sampler, null (default) to not sample
+         * @return this builder
+         * @see IF97#setShadowSampler(ShadowSampler)
+         */
+        public Builder shadowSampler(ShadowSampler sampler) {
+            this.sampler = sampler;
+            return this;
         }
-        return convertFromDefault(UNIT_SYSTEM.THERMAL_DIFFUSIVITY, kappa);
-    }
 
-    /**
-     * Thermal diffusivity as a function of pressure &amp; specific entropy.
-     *
-     * @param pressure absolute pressure
-     * @param entropy specific entropy
-     * @return thermal diffusivity
-     * @throws OutOfRangeException out-of-range exception
-     */
-    public double thermalDiffusivityPS(double pressure, double entropy) throws OutOfRangeException {
+        /**
+         * @param unitSystem unit system
+         * @return this builder
+         * @throws IllegalArgumentException if the unit system is null
+         * @see IF97#setUnitSystem(UnitSystem)
+         */
+        public Builder unitSystem(UnitSystem unitSystem) {
+
+            if (unitSystem == null) {
+                throw new IllegalArgumentException("Unit system should not be null");
+            }
+            this.unitSystem = unitSystem;
+            return this;
+        }
 
-        double p = convertToDefault(UNIT_SYSTEM.PRESSURE, pressure),
-                s = convertToDefault(UNIT_SYSTEM.SPECIFIC_ENTROPY, entropy),
-                kappa;
+        /**
+         * @param level validation level
+         * @return this builder
+         * @throws IllegalArgumentException if the level is null
+         * @see IF97#setValidationLevel(ValidationLevel)
+         */
+        public Builder validationLevel(ValidationLevel level) {
 
-        try {
-            double h = Region.getRegionPS(p, s).specificEnthalpyPS(p, s);
-            kappa = Calculate.thermalDiffusivityPH(p, h);
+            if (level == null) {
+                throw new IllegalArgumentException("Validation level should not be null");
+            }
+            validation = level;
+            return this;
+        }
 
-        } catch (OutOfRangeException e) {
-            throw e.convertFromDefault(UNIT_SYSTEM);
+        /**
+         * @param verify whether to verify region hints
+         * @return this builder
+         * @see IF97#setVerifyRegionHints(boolean)
+         */
+        public Builder verifyRegionHints(boolean verify) {
+            verifyRegionHints = verify;
+            return this;
         }
-        return convertFromDefault(UNIT_SYSTEM.THERMAL_DIFFUSIVITY, kappa);
     }
 
     /**
-     * Thermal diffusivity as a function of pressure &amp; temperature.
-     *
-     * Note that is method is not accurate in the two-phase region.
-     *
-     * @param pressure absolute pressure
-     * @param temperature temperature
-     * @return thermal diffusivity
-     * @throws OutOfRangeException out-of-range exception
+     * Calculate in default units.
      */
-    public double thermalDiffusivityPT(double pressure, double temperature) throws OutOfRangeException {
+    static class Calculate {
 
-        double p = convertToDefault(UNIT_SYSTEM.PRESSURE, pressure),
-                T = convertToDefault(UNIT_SYSTEM.TEMPERATURE, temperature),
-                kappa;
+        /**
+         * Value &amp; partial derivatives with respect to two inputs, in
+         * default units.
+         */
+        @FunctionalInterface
+        interface Partials {
+
+            /**
+             * @param value1 first input
+             * @param value2 second input
+             * @param out value &amp; partial derivatives
+             * @throws OutOfRangeException out-of-range exception
+             */
+            void apply(double value1, double value2, Dual out) throws OutOfRangeException;
+        }
+
+        /**
+         * Returns a function in default units for the given output and input
+         * quantities, or null if not available.
+         *
+         * @param calculator IF97 object in default units, whose settings
+         * apply
+         * @param output output quantity
+         * @param input1 first input quantity
+         * @param input2 second input quantity
+         * @return function or null
+         */
+        static DoubleBinaryOperator function(AbstractIF97 calculator, Quantity output, Quantity input1, Quantity input2) {
+
+            switch (input1.name() + input2.name()) {
+                case "pT":
+                    switch (output) {
+                        case T:
+                            return (p, T) -> T;
+                        case h:
+                            return calculator::specificEnthalpyPT;
+                        case s:
+                            return calculator::specificEntropyPT;
+                        case u:
+                            return calculator::specificInternalEnergyPT;
+                        case g:
+                            return calculator::specificGibbsFreeEnergyPT;
+                        case v:
+                            return calculator::specificVolumePT;
+                        case rho:
+                            return calculator::densityPT;
+                        case cp:
+                            return calculator::isobaricHeatCapacityPT;
+                        case cv:
+                            return calculator::isochoricHeatCapacityPT;
+                        case w:
+                            return calculator::speedOfSoundPT;
+                        case alphav:
+                            return calculator::isobaricCubicExpansionCoefficientPT;
+                        case kappaT:
+                            return calculator::compressibilityPT;
+                        case gamma:
+                            return calculator::isentropicExponentPT;
+                        case Pr:
+                            return calculator::PrandtlPT;
+                        case Z:
+                            return calculator::compressionFactorPT;
+                        case a:
+                        case kappa:
+                            return calculator::thermalDiffusivityPT;
+                        case epsilon:
+                            return calculator::dielectricConstantPT;
+                        case eta:
+                            return calculator::dynamicViscosityPT;
+                        case lambda:
+                            return calculator::thermalConductivityPT;
+                        case nu:
+                            return calculator::kinematicViscosityPT;
+                    }
+                    break;
 
-        try {
-            double h = Region.getRegionPT(p, T).specificEnthalpyPT(p, T);
-            kappa = Calculate.thermalDiffusivityPH(p, h);
+                case "ph":
+                    switch (output) {
+                        case T:
+                            return calculator::temperaturePH;
+                        case v:
+                            return calculator::specificVolumePH;
+                        case rho:
+                            return calculator::densityPH;
+                        case s:
+                            return calculator::specificEntropyPH;
+                        case u:
+                            return calculator::specificInternalEnergyPH;
+                        case cp:
+                            return calculator::isobaricHeatCapacityPH;
+                        case cv:
+                            return calculator::isochoricHeatCapacityPH;
+                        case w:
+                            return calculator::speedOfSoundPH;
+                        case x:
+                            return calculator::vapourFractionPH;
+                        case alphav:
+                            return calculator::isobaricCubicExpansionCoefficientPH;
+                        case kappaT:
+                            return calculator::compressibilityPH;
+                        case gamma:
+                            return calculator::isentropicExponentPH;
+                        case Pr:
+                            return calculator::PrandtlPH;
+                        case a:
+                        case kappa:
+                            return calculator::thermalDiffusivityPH;
+                        case epsilon:
+                            return calculator::dielectricConstantPH;
+                        case eta:
+                            return calculator::dynamicViscosityPH;
+                        case lambda:
+                            return calculator::thermalConductivityPH;
+                        case nu:
+                            return calculator::kinematicViscosityPH;
+                    }
+                    break;
 
-        } catch (OutOfRangeException e) {
-            throw e.convertFromDefault(UNIT_SYSTEM);
-        }
-        return convertFromDefault(UNIT_SYSTEM.THERMAL_DIFFUSIVITY, kappa);
-    }
+                case "ps":
+                    switch (output) {
+                        case T:
+                            return calculator::temperaturePS;
+                        case h:
+                            return calculator::specificEnthalpyPS;
+                        case v:
+                            return calculator::specificVolumePS;
+                        case rho:
+                            return calculator::densityPS;
+                        case u:
+                            return calculator::specificInternalEnergyPS;
+                        case cp:
+                            return calculator::isobaricHeatCapacityPS;
+                        case cv:
+                            return calculator::isochoricHeatCapacityPS;
+                        case w:
+                            return calculator::speedOfSoundPS;
+                        case x:
+                            return calculator::vapourFractionPS;
+                        case alphav:
+                            return calculator::isobaricCubicExpansionCoefficientPS;
+                        case kappaT:
+                            return calculator::compressibilityPS;
+                        case gamma:
+                            return calculator::isentropicExponentPS;
+                        case Pr:
+                            return calculator::PrandtlPS;
+                        case a:
+                        case kappa:
+                            return calculator::thermalDiffusivityPS;
+                        case epsilon:
+                            return calculator::dielectricConstantPS;
+                        case eta:
+                            return calculator::dynamicViscosityPS;
+                        case lambda:
+                            return calculator::thermalConductivityPS;
+                        case nu:
+                            return calculator::kinematicViscosityPS;
+                    }
+                    break;
 
-    /**
-     * Vapour fraction as a function of specific enthalpy &amp; specific
-     * entropy.
-     *
-     * @param enthalpy specific enthalpy
-     * @param entropy specific entropy
-     * @return vapour fraction [-]
-     * @throws OutOfRangeException out-of-range exception
-     */
-    public double vapourFractionHS(double enthalpy, double entropy) throws OutOfRangeException {
+                case "hs":
+                    switch (output) {
+                        case p:
+                            return calculator::pressureHS;
+                        case T:
+                            return calculator::temperatureHS;
+                        case v:
+                            return calculator::specificVolumeHS;
+                        case rho:
+                            return calculator::densityHS;
+                        case u:
+                            return calculator::specificInternalEnergyHS;
+                        case cp:
+                            return calculator::isobaricHeatCapacityHS;
+                        case cv:
+                            return calculator::isochoricHeatCapacityHS;
+                        case w:
+                            return calculator::speedOfSoundHS;
+                        case x:
+                            return calculator::vapourFractionHS;
+                        case alphav:
+                            return calculator::isobaricCubicExpansionCoefficientHS;
+                        case kappaT:
+                            return calculator::compressibilityHS;
+                        case gamma:
+                            return calculator::isentropicExponentHS;
+                        case Pr:
+                            return calculator::PrandtlHS;
+                        case a:
+                        case kappa:
+                            return calculator::thermalDiffusivityHS;
+                        case epsilon:
+                            return calculator::dielectricConstantHS;
+                        case eta:
+                            return calculator::dynamicViscosityHS;
+                        case lambda:
+                            return calculator::thermalConductivityHS;
+                        case nu:
+                            return calculator::kinematicViscosityHS;
+                    }
+                    break;
+
+                case "px":
+                    switch (output) {
+                        case T:
+                            return (p, x) -> calculator.saturationTemperatureP(p);
+                        case h:
+                            return calculator::specificEnthalpyPX;
+                        case s:
+                            return calculator::specificEntropyPX;
+                        case u:
+                            return calculator::specificInternalEnergyPX;
+                        case v:
+                            return calculator::specificVolumePX;
+                        case rho:
+                            return calculator::densityPX;
+                        case alphav:
+                            return calculator::isobaricCubicExpansionCoefficientPX;
+                    }
+                    break;
 
-        double h = convertToDefault(UNIT_SYSTEM.SPECIFIC_ENTHALPY, enthalpy),
-                s = convertToDefault(UNIT_SYSTEM.SPECIFIC_ENTROPY, entropy);
+                case "Tx":
+                    switch (output) {
+                        case p:
+                            return (T, x) -> calculator.saturationPressureT(T);
+                        case h:
+                            return calculator::specificEnthalpyTX;
+                        case s:
+                            return calculator::specificEntropyTX;
+                        case u:
+                            return calculator::specificInternalEnergyTX;
+                        case v:
+                            return calculator::specificVolumeTX;
+                        case rho:
+                            return calculator::densityTX;
+                        case alphav:
+                            return calculator::isobaricCubicExpansionCoefficientTX;
+                    }
+                    break;
 
-        try {
-            return Region.REGION4.vapourFractionHS(h, s);
+                case "Ts":
+                    if (output == Quantity.x) {
+                        return calculator::vapourFractionTS;
+                    }
+                    break;
 
-        } catch (OutOfRangeException e) {
-            throw e.convertFromDefault(UNIT_SYSTEM);
+                case "rhoT":
+                    switch (output) {
+                        case epsilon:
+                            return calculator::dielectricConstantRhoT;
+                        case eta:
+                            return calculator::dynamicViscosityRhoT;
+                        case lambda:
+                            return calculator::thermalConductivityRhoT;
+                        case nu:
+                            return calculator::kinematicViscosityRhoT;
+                    }
+                    break;
+            }
+            return null;
         }
-    }
 
-    /**
-     * Vapour fraction as a function of pressure &amp; specific enthalpy.
-     *
-     * @param pressure absolute pressure
-     * @param enthalpy specific enthalpy
-     * @return vapour fraction [-]
-     * @throws OutOfRangeException out-of-range exception
-     * @see #vapourFractionHS(double, double)
-     */
-    public double vapourFractionPH(double pressure, double enthalpy) throws OutOfRangeException {
+        /**
+         * Returns a function giving the value &amp; partial derivatives of the
+         * given output quantity with respect to the given input quantities,
+         * in default units, or null if not available.
+         *
+         * @param settings settings whose regions apply
+         * @param output output quantity
+         * @param input1 first input quantity
+         * @param input2 second input quantity
+         * @return function or null
+         */
+        static Partials partials(Settings settings, Quantity output, Quantity input1, Quantity input2) {
+
+            switch (output) {
+                case p:
+                case T:
+                case v:
+                case rho:
+                case h:
+                case s:
+                case u:
+                case g:
+                case cp:
+                case cv:
+                case w:
+                case x:
+                    break;
 
-        double p = convertToDefault(UNIT_SYSTEM.PRESSURE, pressure),
-                h = convertToDefault(UNIT_SYSTEM.SPECIFIC_ENTHALPY, enthalpy);
+                default:
+                    return null;
+            }
+            switch (input1.name() + input2.name()) {
+                case "pT":
+                    if (output == Quantity.x) {
+                        return null;
+                    }
+                    break;
+
+                case "ph":
+                case "ps":
+                case "hs":
+                case "px":
+                case "Tx":
+                    break;
 
-        try {
-            return Region.REGION4.vapourFractionPH(p, h);
+                default:
+                    return null;
+            }
+            if (output == input1) {
+                return (value1, value2, out) -> out.partials(value1, 1, 0);
 
-        } catch (OutOfRangeException e) {
-            throw e.convertFromDefault(UNIT_SYSTEM);
+            } else if (output == input2) {
+                return (value1, value2, out) -> out.partials(value2, 0, 1);
+            }
+            switch (input1.name() + input2.name()) {
+                case "pT":
+                    return (p, T, out) -> {
+                        Region region = settings.resolve(Region.getRegionPT(p, T));
+
+                        region.jetPT(p, T, out.JET);
+                        region.partialsPT(output, p, T, out.JET, out);
+                    };
+                case "ph":
+                    return (p, h, out) -> partialsPY(settings.REGION4, output, Quantity.h, p, h, settings.resolve(Region.getRegionPH(p, h)), out);
+
+                case "ps":
+                    return (p, s, out) -> partialsPY(settings.REGION4, output, Quantity.s, p, s, settings.resolve(Region.getRegionPS(p, s)), out);
+
+                case "hs":
+                    return (h, s, out) -> partialsHS(settings, output, h, s, out);
+
+                case "px":
+                    return (p, x, out) -> {
+                        settings.REGION4.checkP(p);
+                        settings.REGION4.partialsPX(output, p, x, out);
+                    };
+                default: // Tx
+                    return (T, x, out) -> {
+                        settings.REGION4.checkT(T);
+
+                        double p = settings.REGION4.saturationPressureT(T),
+                                dT_dp = settings.REGION4.saturationTemperatureDerivativeP(p);
+
+                        settings.REGION4.partialsPX(output, p, x, out);
+                        out.partials(out.getValue(), out.partial1 / dT_dp, out.partial2);
+                    };
+            }
         }
-    }
 
-    /**
-     * Vapour fraction as a function of pressure &amp; specific entropy.
-     *
-     * @param pressure absolute pressure
-     * @param entropy specific entropy
-     * @return vapour fraction [-]
-     * @throws OutOfRangeException out-of-range exception
-     * @see #vapourFractionHS(double, double)
-     */
-    public double vapourFractionPS(double pressure, double entropy) throws OutOfRangeException {
+        /**
+         * Value &amp; partial derivatives with respect to specific enthalpy
+         * &amp; entropy, from those with respect to pressure &amp; specific
+         * enthalpy.
+         */
+        private static void partialsHS(Settings settings, Quantity output, double h, double s, Dual out) throws OutOfRangeException {
+
+            Region region = settings.resolve(Region.getRegionHS(h, s));
+            double p = region.pressureHS(h, s);
 
-        double p = convertToDefault(UNIT_SYSTEM.PRESSURE, pressure),
-                s = convertToDefault(UNIT_SYSTEM.SPECIFIC_ENTROPY, entropy);
+            partialsPY(settings.REGION4, Quantity.s, Quantity.h, p, h, region, out);
 
-        try {
-            return Region.REGION4.vapourFractionPS(p, s);
+            double s_p = out.partial1,
+                    s_h = out.partial2;
 
-        } catch (OutOfRangeException e) {
-            throw e.convertFromDefault(UNIT_SYSTEM);
+            partialsPY(settings.REGION4, output, Quantity.h, p, h, region, out);
+
+            double z_p = out.partial1,
+                    z_h = out.partial2;
+
+            out.partials(out.getValue(), z_h - z_p * s_h / s_p, z_p / s_p);
         }
-    }
 
-    /**
-     * Vapour fraction as a function of temperature &amp; specific entropy.
-     *
-     * This method only returns values in the two-phase region.
-     *
-     * @param temperature temperature
-     * @param entropy specific entropy
-     * @return vapour fraction [-]
-     * @throws OutOfRangeException out-of-range exception
-     * @see #vapourFractionHS(double, double)
-     */
-    public double vapourFractionTS(double temperature, double entropy) throws OutOfRangeException {
+        /**
+         * Value &amp; partial derivatives with respect to pressure &amp;
+         * specific enthalpy or entropy (y), from those with respect to
+         * pressure &amp; temperature, or pressure &amp; vapour fraction in
+         * region 4. The vapour fraction follows from the saturation states in
+         * any region, like {@link IF97#vapourFractionPH(double, double)}.
+         */
+        private static void partialsPY(Region4 region4, Quantity output, Quantity y, double p, double value, Region region, Dual out) {
+
+            if (region.NUMBER == 4 || output == Quantity.x) {
+                if (p > pc) {
+                    out.partials(Double.NaN, Double.NaN, Double.NaN);
+                    return;
+                }
+                region4.partialsPY(output, y, p, value, out);
+                return;
+            }
+            double[] jet = out.JET;
+            double T;
 
-        double T = convertToDefault(UNIT_SYSTEM.TEMPERATURE, temperature),
-                s = convertToDefault(UNIT_SYSTEM.SPECIFIC_ENTROPY, entropy);
+            if (y == Quantity.h) {
+                T = region.temperaturePH(p, value);
+                region.jetPH(p, value, T, jet);
 
-        try {
-            return Region.REGION4.vapourFractionTS(T, s);
+            } else {
+                T = region.temperaturePS(p, value);
+                region.jetPS(p, value, T, jet);
+            }
+            region.partialsPT(y, p, T, jet, out);
 
-        } catch (OutOfRangeException e) {
-            throw e.convertFromDefault(UNIT_SYSTEM);
-        }
-    }
+            double y_p = out.partial1,
+                    y_T = out.partial2;
 
-    /**
-     * Calculate in default units.
-     */
-    static class Calculate {
+            region.partialsPT(output, p, T, jet, out);
+            out.substitute(y_p, y_T);
+        }
 
         /**
          * Prandtl number.
          *
+         * @param region4 region 4 to use for two-phase states
          * @param p pressure [MPa]
          * @param h specific enthalpy [kJ/kg]
          * @return Prandtl number [-]
          * @throws OutOfRangeException out-of-range exception
          */
-        static double PrandtlPH(double p, double h) throws OutOfRangeException {
+        static double PrandtlPH(Region4 region4, double p, double h) throws OutOfRangeException {
 
             Region region = Region.getRegionPH(p, h);
 
+            if (region.NUMBER == 4) {
+                region = region4;
+            }
+
             double cp,
                     rho = 1 / region.specificVolumePH(p, h),
                     T = region.temperaturePH(p, h),
@@ -3466,7 +871,7 @@ public class IF97 {
                     lambda = thermalConductivityRhoT(rho, T) / 1e3;
 
             if (region instanceof Region4) {
-                cp = Region.REGION4.specificIsobaricHeatCapacityPH(p, h);
+                cp = region4.specificIsobaricHeatCapacityPH(p, h);
 
             } else {
                 cp = region.specificIsobaricHeatCapacityPT(p, T);
@@ -3651,11 +1056,11 @@ public class IF97 {
         static double partialDerivativeRhoT(double rho, double T, Quantity x, Quantity y, Quantity z) {
 
             double v = 1 / rho, // [m³/kg]
-                    p = Region.REGION3.pressureRhoT(rho, T) * 1e6, // [Pa]
-                    s = Region.REGION3.specificEntropyRhoT(rho, T) * 1e3, // [J/(kg·K)]]
-                    cv = Region.REGION3.specificIsochoricHeatCapacityRhoT(rho, T) * 1e3, // [J/(kg·K)]
-                    alphap = Region.REGION3.relativePressureCoefficientRhoT(rho, T), // [1/K]
-                    betap = Region.REGION3.isothermalStressCoefficientRhoT(rho, T); // [kg/m³]
+                    p = Region3.INSTANCE.pressureRhoT(rho, T) * 1e6, // [Pa]
+                    s = Region3.INSTANCE.specificEntropyRhoT(rho, T) * 1e3, // [J/(kg·K)]]
+                    cv = Region3.INSTANCE.specificIsochoricHeatCapacityRhoT(rho, T) * 1e3, // [J/(kg·K)]
+                    alphap = Region3.INSTANCE.relativePressureCoefficientRhoT(rho, T), // [1/K]
+                    betap = Region3.INSTANCE.isothermalStressCoefficientRhoT(rho, T); // [kg/m³]
 
             double[] dx = partialDerivativesVT(v, T, x, p, s, cv, alphap, betap),
                     dy = partialDerivativesVT(v, T, y, p, s, cv, alphap, betap),
@@ -3883,17 +1288,21 @@ public class IF97 {
             return sqrt(theta) * Lambda0 + Lambda1 + Lambda2;
         }
 
-        static double thermalDiffusivityPH(double p, double h) {
+        static double thermalDiffusivityPH(Region4 region4, double p, double h) {
 
             Region region = Region.getRegionPH(p, h);
 
+            if (region.NUMBER == 4) {
+                region = region4;
+            }
+
             double rho = 1 / region.specificVolumePH(p, h),
                     T = region.temperaturePH(p, h),
                     lambda = thermalConductivityRhoT(rho, T),
                     cp;
 
             if (region instanceof Region4) {
-                cp = Region.REGION4.specificIsobaricHeatCapacityPH(p, h);
+                cp = region4.specificIsobaricHeatCapacityPH(p, h);
 
             } else {
                 cp = region.specificIsobaricHeatCapacityPT(p, T);
@@ -3902,6 +1311,90 @@ public class IF97 {
         }
     }
 
+    /**
+     * Dual-number function of two inputs, see
+     * {@link IF97#dualFunction(Quantity, Quantity, Quantity)}.
+     */
+    @FunctionalInterface
+    public interface DualFunction {
+
+        /**
+         * Sets the output's value &amp; tangent from the inputs.
+         *
+         * @param input1 first input
+         * @param input2 second input
+         * @param output output, may be one of the inputs
+         * @throws OutOfRangeException out-of-range exception
+         */
+        void apply(Dual input1, Dual input2, Dual output) throws OutOfRangeException;
+    }
+
+    /**
+     * Function of two inputs in a given region, see
+     * {@link AbstractIF97#hintedFunction(Quantity, Quantity, Quantity)}.
+     */
+    @FunctionalInterface
+    interface HintedFunction {
+
+        /**
+         * @param value1 first input
+         * @param value2 second input
+         * @param hint region of the inputs
+         * @return output
+         * @throws OutOfRangeException out-of-range exception
+         */
+        double apply(double value1, double value2, RegionHint hint) throws OutOfRangeException;
+    }
+
+    /**
+     * Tolerance &amp; iteration budgets of the iterative solvers, see
+     * {@link #setPrecisionProfile(PrecisionProfile)}. Tolerances apply to the
+     * residuals of the saturation pressure [MPa] &amp; to the saturated
+     * specific volume [m&sup3;/kg].
+     */
+    public enum PrecisionProfile {
+
+        /**
+         * Tolerance 1e-7, at most 20 iterations starting from the bracket of
+         * the two nearest tabulated roots, 2 Newton steps when latency is
+         * bounded, for quick screening studies.
+         */
+        SCREENING(1e-7, 20, 0.001, 2, true),
+        /**
+         * Tolerance 1e-9, at most 100 iterations, 3 Newton steps when latency
+         * is bounded.
+         */
+        ENGINEERING(1e-9, 100, 0.001, 3, false),
+        /**
+         * Tolerance 1e-12, at most 200 iterations, a bracketing scan of half
+         * the engineering step, 5 Newton steps when latency is bounded, for
+         * reference &amp; certification calculations.
+         */
+        REFERENCE(1e-12, 200, 0.0005, 5, false);
+
+        final double TOLERANCE, BRACKET_STEP;
+        final int ITERATION_LIMIT, BOUNDED_STEPS;
+        final boolean TABULATED_BRACKETS;
+
+        /**
+         * @param tolerance solver tolerance
+         * @param iterationLimit maximum number of solver iterations
+         * @param bracketStep specific volume step of the bracketing scan
+         * [m&sup3;/kg]
+         * @param boundedSteps number of Newton steps when latency is bounded
+         * @param tabulatedBrackets whether the iterative solvers start from
+         * the bracket of the two nearest tabulated roots, rather than from the
+         * full range above 16.5292 MPa or a scan
+         */
+        PrecisionProfile(double tolerance, int iterationLimit, double bracketStep, int boundedSteps, boolean tabulatedBrackets) {
+            TOLERANCE = tolerance;
+            ITERATION_LIMIT = iterationLimit;
+            BRACKET_STEP = bracketStep;
+            BOUNDED_STEPS = boundedSteps;
+            TABULATED_BRACKETS = tabulatedBrackets;
+        }
+    }
+
     /**
      * Quantities as defined by reference given above.
      */
@@ -4054,6 +1547,91 @@ public class IF97 {
         }
     }
 
+    /**
+     * Region hints, for states of which the region (phase) is known in advance.
+     * Hinted methods skip the region lookup and go straight to the hinted
+     * region's equations. The caller is responsible for the hint being correct
+     * unless hint verification is enabled. Hints of regions without equations
+     * for the given input pair, region 4 for pressure &amp; temperature and
+     * region 5 for any pair including enthalpy or entropy, are ignored &amp;
+     * the region is looked up instead.
+     *
+     * @see #setVerifyRegionHints(boolean)
+     */
+    public enum RegionHint {
+
+        /**
+         * Region 1, (compressed) liquid up to 623.15 K.
+         */
+        REGION1,
+        /**
+         * Region 2, (superheated) vapour.
+         */
+        REGION2,
+        /**
+         * Region 3, near-critical states.
+         */
+        REGION3,
+        /**
+         * Region 4, two-phase liquid/vapour mixture.
+         */
+        REGION4,
+        /**
+         * Region 5, high-temperature vapour above 1073.15 K.
+         */
+        REGION5
+    }
+
+    /**
+     * Snapshot of an object's settings &amp; the region instances they
+     * resolve to. Settings never change, setters replace them.
+     */
+    static final class Settings {
+
+        final UnitSystem UNIT_SYSTEM;
+        final Region2 REGION2;
+        final Region4 REGION4;
+        final Region5 REGION5;
+        final double RESIDUAL_TOLERANCE;
+        final boolean VERIFY_REGION_HINTS;
+        final ValidationLevel VALIDATION;
+        final PrecisionProfile PRECISION;
+        final ShadowSampler SAMPLER;
+
+        Settings(Builder builder) {
+            UNIT_SYSTEM = builder.unitSystem;
+            REGION2 = builder.residualTolerance == 0 ? Region2.INSTANCE : new Region2(builder.residualTolerance);
+            REGION4 = Region4.get(builder.boundedLatency, builder.precision);
+            REGION5 = builder.residualTolerance == 0 ? Region5.INSTANCE : new Region5(builder.residualTolerance);
+            RESIDUAL_TOLERANCE = builder.residualTolerance;
+            VERIFY_REGION_HINTS = builder.verifyRegionHints;
+            VALIDATION = builder.validation;
+            PRECISION = builder.precision;
+            SAMPLER = builder.sampler;
+        }
+
+        /**
+         * Region as selected by the region boundaries, with regions 2, 4
+         * &amp; 5 being the ones of these settings.
+         */
+        Region resolve(Region region) {
+
+            switch (region.NUMBER) {
+                case 2:
+                    return REGION2;
+
+                case 4:
+                    return REGION4;
+
+                case 5:
+                    return REGION5;
+
+                default:
+                    return region;
+            }
+        }
+    }
+
     /**
      * See
      * <a href="https://www.if97.software/#unitSystems">www.if97.software</a>
@@ -4138,6 +1716,7 @@ public class IF97 {
                 THERMAL_CONDUCTIVITY,
                 THERMAL_DIFFUSIVITY,
                 WAVELENGTH;
+        private static final double[] DIMENSIONLESS = {1, 0};
         final Map<Quantity, String> UNITS;
 
         /**
@@ -4306,6 +1885,76 @@ public class IF97 {
             }
         }
 
+        /**
+         * Scale and bias values for conversion of the given quantity to the
+         * default unit system.
+         *
+         * @param quantity quantity
+         * @return scale and bias values
+         */
+        double[] getConversion(Quantity quantity) {
+
+            switch (quantity) {
+                case T:
+                    return TEMPERATURE;
+
+                case f:
+                case g:
+                case u:
+                    return SPECIFIC_ENERGY;
+
+                case h:
+                    return SPECIFIC_ENTHALPY;
+
+                case s:
+                    return SPECIFIC_ENTROPY;
+
+                case cp:
+                case cv:
+                    return SPECIFIC_HEAT_CAPACITY;
+
+                case p:
+                    return PRESSURE;
+
+                case rho:
+                    return DENSITY;
+
+                case v:
+                    return SPECIFIC_VOLUME;
+
+                case w:
+                    return SPEED_OF_SOUND;
+
+                case a:
+                case kappa:
+                    return THERMAL_DIFFUSIVITY;
+
+                case alphav:
+                    return ISOBARIC_CUBIC_EXPANSION_COEFFICIENT;
+
+                case eta:
+                    return DYNAMIC_VISCOSITY;
+
+                case kappaT:
+                    return COMPRESSIBILITY;
+
+                case lambda:
+                    return THERMAL_CONDUCTIVITY;
+
+                case lambdaL:
+                    return WAVELENGTH;
+
+                case nu:
+                    return KINEMATIC_VISCOSITY;
+
+                case sigma:
+                    return SURFACE_TENSION;
+
+                default:
+                    return DIMENSIONLESS;
+            }
+        }
+
         public String getLabel(Quantity quantity) {
 
             if (!UNITS.containsKey(quantity)) {
@@ -4335,4 +1984,33 @@ public class IF97 {
             }
         }
     }
+
+    /**
+     * Input validation levels, see {@link #setValidationLevel(ValidationLevel)}.
+     */
+    public enum ValidationLevel {
+
+        /**
+         * All inputs are checked against the range of validity, including the
+         * envelopes that depend on the other input, e.g. the entropy limits at
+         * a given pressure. Out-of-range input throws an
+         * {@link OutOfRangeException}.
+         */
+        FULL,
+        /**
+         * Only the constant limits are checked, i.e. pressure, temperature and
+         * the overall enthalpy &amp; entropy ranges, skipping the envelope
+         * checks that require evaluating region equations. Out-of-range input
+         * throws an {@link OutOfRangeException}.
+         */
+        BOUNDARY_ONLY,
+        /**
+         * The constant limits are checked as with {@link #BOUNDARY_ONLY}, but
+         * methods returning a number return NaN instead of throwing an
+         * {@link OutOfRangeException}. Results for input within the constant
+         * limits but outside the envelopes, e.g. an enthalpy beyond 1073.15 K
+         * at the given pressure, are undefined.
+         */
+        NONE
+    }
 }
@@ -0,0 +1,44 @@
+/*
+ * ImmutableIF97.java
+ *
+ * This file is part of IF97.
+ *
+ * IF97 is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option)
+ * any later version.
+ *
+ * IF97 is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with IF97. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Copyright 2009-2022 Hummeling Engineering BV (www.hummeling.com)
+ */
+package com.hummeling.if97;
+
+/**
+ * IF97 object whose settings can't be changed, built by
+ * {@link IF97#builder()}. Its settings are held in a final field, so once
+ * constructed it can be shared between threads without further
+ * synchronization.
+ *
+ * @author Ralph Hummeling
+ * (<a href="https://www.hummeling.com">www.hummeling.com</a>)
+ */
+public final class ImmutableIF97 extends AbstractIF97 {
+
+    private final IF97.Settings SETTINGS;
+
+    ImmutableIF97(IF97.Settings settings) {
+        SETTINGS = settings;
+    }
+
+    @Override
+    IF97.Settings settings() {
+        return SETTINGS;
+    }
+}
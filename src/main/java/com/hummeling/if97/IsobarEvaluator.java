@@ -0,0 +1,484 @@
+/*
+ * IsobarEvaluator.java
+ *
+ * This file is part of IF97.
+ *
+ * IF97 is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option)
+ * any later version.
+ *
+ * IF97 is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with IF97. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Copyright 2009-2022 Hummeling Engineering BV (www.hummeling.com)
+ */
+package com.hummeling.if97;
+
+import com.hummeling.if97.IF97.Quantity;
+import com.hummeling.if97.IF97.Settings;
+import com.hummeling.if97.IF97.UnitSystem;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+/**
+ * Isobar evaluator, evaluates properties at a fixed pressure.
+ *
+ * <p>
+ * All pressure-dependent work is done once on creation: saturation
+ * temperature and saturated liquid &amp; vapour properties, the region
+ * boundary enthalpies &amp; entropies, and the pressure factors of the region
+ * 1 &amp; 2 Gibbs free energy and backward equations. Subsequent evaluations
+ * as a function of specific enthalpy, specific entropy, or temperature only
+ * evaluate the remaining (non-pressure) terms. Results agree with the
+ * corresponding methods of {@link IF97} to within round-off.</p>
+ *
+ * <p>
+ * Values are in the unit system of the IF97 object this evaluator was
+ * obtained from, see {@link IF97#isobar(double)}. Instances are immutable and
+ * can be shared between threads.</p>
+ *
+ * @author Ralph Hummeling
+ * (<a href="https://www.hummeling.com">www.hummeling.com</a>)
+ */
+public final class IsobarEvaluator {
+
+    private final UnitSystem UNIT_SYSTEM;
+    private final Region4 REGION4;
+    private final Region5 REGION5;
+    private final double P, TS, H25, H13, H23, S_MIN, S_MAX, S13, S23;
+    private final Region1.Isobar REGION1;
+    private final Region2.Isobar REGION2;
+    private final SaturationState SATURATION;
+
+    /**
+     * Creates an isobar evaluator.
+     *
+     * @param settings settings of the IF97 object, providing the unit system
+     * of arguments and results and the regions 2, 4 &amp; 5
+     * @param pressure pressure [MPa]
+     * @throws OutOfRangeException out-of-range exception
+     */
+    IsobarEvaluator(Settings settings, double pressure) throws OutOfRangeException {
+
+        if (pressure < IF97.p0) {
+            throw new OutOfRangeException(Quantity.p, pressure, IF97.p0);
+
+        } else if (pressure > Region.p132) {
+            throw new OutOfRangeException(Quantity.p, pressure, Region.p132);
+        }
+        UNIT_SYSTEM = settings.UNIT_SYSTEM;
+        REGION4 = settings.REGION4;
+        REGION5 = settings.REGION5;
+        P = pressure;
+        REGION1 = Region1.INSTANCE.isobar(pressure);
+        REGION2 = settings.REGION2.isobar(pressure);
+        H25 = REGION2.specificEnthalpyT(Region.T25);
+        S_MIN = REGION1.specificEntropyT(IF97.T0);
+        S_MAX = REGION2.specificEntropyT(Region.T25);
+
+        if (pressure < IF97.pc) {
+            TS = REGION4.saturationTemperatureP(pressure);
+            SATURATION = new SaturationState(UnitSystem.DEFAULT, REGION4, pressure, TS);
+
+        } else {
+            TS = Double.NaN;
+            SATURATION = null;
+        }
+        if (pressure > Region.ps13) {
+            double TB23 = Region.temperatureB23P(pressure);
+
+            H13 = REGION1.specificEnthalpyT(Region.T13);
+            H23 = REGION2.specificEnthalpyT(TB23);
+            S13 = REGION1.specificEntropyT(Region.T13);
+            S23 = REGION2.specificEntropyT(TB23);
+
+        } else {
+            H13 = H23 = S13 = S23 = Double.NaN;
+        }
+    }
+
+    /**
+     * Pressure of this isobar.
+     *
+     * @return pressure
+     */
+    public double getPressure() {
+        return IF97.convertFromDefault(UNIT_SYSTEM.PRESSURE, P);
+    }
+
+    /**
+     * Unit system of arguments and results.
+     *
+     * @return unit system
+     */
+    public UnitSystem getUnitSystem() {
+        return UNIT_SYSTEM;
+    }
+
+    /**
+     * Region number as a function of specific enthalpy, see
+     * {@link Region#getRegionPH(double, double)}.
+     */
+    private int regionH(double h) throws OutOfRangeException {
+
+        if (h > H25) {
+            if (P > Region.p5) {
+                throw new OutOfRangeException(new Quantity[]{Quantity.p, Quantity.h}, new double[]{P, h}, new double[]{Region.p5, H25});
+            }
+            throw new OutOfRangeException(Quantity.h, h, H25);
+        }
+        if (P <= Region.ps13) {
+            return h < SATURATION.liquid(Quantity.h) ? 1 : h > SATURATION.vapour(Quantity.h) ? 2 : 4;
+
+        } else if (Region.hs13 <= h && h <= Region.hs23) {
+            return P > REGION4.saturationPressureB34H(h) * (1 - 4.3e-6) ? 3 : 4;
+        }
+        return h <= H13 ? 1 : h >= H23 ? 2 : 3;
+    }
+
+    /**
+     * Region number as a function of specific entropy, see
+     * {@link Region#getRegionPS(double, double)}.
+     */
+    private int regionS(double s) throws OutOfRangeException {
+
+        if (s < S_MIN) {
+            throw new OutOfRangeException(Quantity.s, s, S_MIN);
+
+        } else if (s > S_MAX) {
+            throw new OutOfRangeException(Quantity.s, s, S_MAX);
+        }
+        if (P <= Region.ps13) {
+            return s < SATURATION.liquid(Quantity.s) ? 1 : s > SATURATION.vapour(Quantity.s) ? 2 : 4;
+
+        } else if (Region.ss13 <= s && s <= Region.ss23 && P < Region.saturationPressure3(s)) {
+            return 4;
+        }
+        return s <= S13 ? 1 : s < S23 ? 3 : 2;
+    }
+
+    /**
+     * Region number as a function of temperature, see
+     * {@link Region#getRegionPT(double, double)}.
+     */
+    private int regionT(double T) throws OutOfRangeException {
+
+        if (T < IF97.T0) {
+            throw new OutOfRangeException(Quantity.T, T, IF97.T0);
+
+        } else if (T > Region.T25 && P > Region.p5) {
+            throw new OutOfRangeException(new Quantity[]{Quantity.p, Quantity.T}, new double[]{P, T}, new double[]{Region.p5, Region.T25});
+
+        } else if (T > Region.T5) {
+            throw new OutOfRangeException(Quantity.T, T, Region.T5);
+        }
+        if (T > Region.T25) {
+            return 5;
+
+        } else if (T > Region.T13) {
+            return P > Region.pressureB23(T) ? 3 : 2;
+        }
+        return P > REGION4.saturationPressureT(T) ? 1 : 2;
+    }
+
+    /**
+     * Property as a function of temperature in region 1, 2, 3, or 5.
+     */
+    private double valuePT(int region, Quantity quantity, double T) {
+
+        switch (region) {
+            case 1:
+                switch (quantity) {
+                    case h:
+                        return REGION1.specificEnthalpyT(T);
+                    case s:
+                        return REGION1.specificEntropyT(T);
+                    case v:
+                        return REGION1.specificVolumeT(T);
+                    case rho:
+                        return 1 / REGION1.specificVolumeT(T);
+                    case cp:
+                        return REGION1.specificIsobaricHeatCapacityT(T);
+                }
+                break;
+
+            case 2:
+                switch (quantity) {
+                    case h:
+                        return REGION2.specificEnthalpyT(T);
+                    case s:
+                        return REGION2.specificEntropyT(T);
+                    case v:
+                        return REGION2.specificVolumeT(T);
+                    case rho:
+                        return 1 / REGION2.specificVolumeT(T);
+                    case cp:
+                        return REGION2.specificIsobaricHeatCapacityT(T);
+                }
+                break;
+
+            default:
+                Region r = region == 3 ? Region3.INSTANCE : REGION5;
+
+                switch (quantity) {
+                    case h:
+                        return r.specificEnthalpyPT(P, T);
+                    case s:
+                        return r.specificEntropyPT(P, T);
+                    case v:
+                        return r.specificVolumePT(P, T);
+                    case rho:
+                        return 1 / r.specificVolumePT(P, T);
+                    case cp:
+                        return r.specificIsobaricHeatCapacityPT(P, T);
+                }
+        }
+        if (quantity == Quantity.T) {
+            return T;
+        }
+        throw new IllegalArgumentException("Quantity " + quantity + " is not available for isobars.");
+    }
+
+    /**
+     * Property in region 4 as a function of vapour fraction.
+     */
+    private double valueX(Quantity quantity, double x) {
+        return quantity == Quantity.T ? TS : SATURATION.valueX(quantity, x);
+    }
+
+    private double valueDefaultH(Quantity quantity, double h) throws OutOfRangeException {
+
+        int region = regionH(h);
+
+        switch (region) {
+            case 1:
+                return quantity == Quantity.h ? h : valuePT(1, quantity, REGION1.temperatureH(h));
+
+            case 2:
+                return quantity == Quantity.h ? h : valuePT(2, quantity, REGION2.temperatureH(h));
+
+            case 3:
+                switch (quantity) {
+                    case h:
+                        return h;
+                    case v:
+                        return Region3.INSTANCE.specificVolumePH(P, h);
+                    case rho:
+                        return 1 / Region3.INSTANCE.specificVolumePH(P, h);
+                    default:
+                        return valuePT(3, quantity, Region3.INSTANCE.temperaturePH(P, h));
+                }
+            default:
+                return valueX(quantity, SATURATION.vapourFraction(Quantity.h, h));
+        }
+    }
+
+    private double valueDefaultS(Quantity quantity, double s) throws OutOfRangeException {
+
+        int region = regionS(s);
+
+        switch (region) {
+            case 1:
+                return quantity == Quantity.s ? s : valuePT(1, quantity, REGION1.temperatureS(s));
+
+            case 2:
+                return quantity == Quantity.s ? s : valuePT(2, quantity, REGION2.temperatureS(s));
+
+            case 3:
+                switch (quantity) {
+                    case s:
+                        return s;
+                    case v:
+                        return Region3.INSTANCE.specificVolumePS(P, s);
+                    case rho:
+                        return 1 / Region3.INSTANCE.specificVolumePS(P, s);
+                    default:
+                        return valuePT(3, quantity, Region3.INSTANCE.temperaturePS(P, s));
+                }
+            default:
+                return valueX(quantity, SATURATION.vapourFraction(Quantity.s, s));
+        }
+    }
+
+    private static void check(Quantity output, Quantity input) {
+
+        switch (input) {
+            case h:
+            case s:
+            case T:
+                break;
+
+            default:
+                throw new IllegalArgumentException("Isobars are available as a function of h, s, or T, not: " + input);
+        }
+        switch (output) {
+            case T:
+            case h:
+            case s:
+            case v:
+            case rho:
+            case cp:
+                break;
+
+            default:
+                throw new IllegalArgumentException("Quantity " + output + " is not available for isobars.");
+        }
+    }
+
+    private double valueDefault(Quantity output, Quantity input, double value) throws OutOfRangeException {
+
+        switch (input) {
+            case h:
+                return valueDefaultH(output, value);
+
+            case s:
+                return valueDefaultS(output, value);
+
+            case T:
+                return valuePT(regionT(value), output, value);
+
+            default:
+                throw new IllegalArgumentException("Isobars are available as a function of h, s, or T, not: " + input);
+        }
+    }
+
+    /**
+     * Property as a function of specific enthalpy, specific entropy, or
+     * temperature along this isobar.
+     *
+     * @param output temperature, specific enthalpy, specific entropy,
+     * specific volume, density, or specific isobaric heat capacity
+     * @param input specific enthalpy, specific entropy, or temperature
+     * @param value input value
+     * @return output value
+     * @throws OutOfRangeException out-of-range exception
+     * @throws IllegalArgumentException if the output or input is not available
+     */
+    public double value(Quantity output, Quantity input, double value) throws OutOfRangeException {
+
+        check(output, input);
+
+        try {
+            double x = IF97.convertToDefault(UNIT_SYSTEM.getConversion(input), value);
+
+            return IF97.convertFromDefault(UNIT_SYSTEM.getConversion(output), valueDefault(output, input, x));
+
+        } catch (OutOfRangeException e) {
+            throw e.convertFromDefault(UNIT_SYSTEM);
+        }
+    }
+
+    /**
+     * Temperature as a function of specific enthalpy.
+     *
+     * @param enthalpy specific enthalpy
+     * @return temperature
+     * @throws OutOfRangeException out-of-range exception
+     */
+    public double temperatureH(double enthalpy) throws OutOfRangeException {
+        return value(Quantity.T, Quantity.h, enthalpy);
+    }
+
+    /**
+     * Specific volume as a function of specific enthalpy.
+     *
+     * @param enthalpy specific enthalpy
+     * @return specific volume
+     * @throws OutOfRangeException out-of-range exception
+     */
+    public double specificVolumeH(double enthalpy) throws OutOfRangeException {
+        return value(Quantity.v, Quantity.h, enthalpy);
+    }
+
+    /**
+     * Specific isobaric heat capacity as a function of specific enthalpy.
+     *
+     * @param enthalpy specific enthalpy
+     * @return specific isobaric heat capacity
+     * @throws OutOfRangeException out-of-range exception
+     */
+    public double isobaricHeatCapacityH(double enthalpy) throws OutOfRangeException {
+        return value(Quantity.cp, Quantity.h, enthalpy);
+    }
+
+    /**
+     * Temperature as a function of specific entropy.
+     *
+     * @param entropy specific entropy
+     * @return temperature
+     * @throws OutOfRangeException out-of-range exception
+     */
+    public double temperatureS(double entropy) throws OutOfRangeException {
+        return value(Quantity.T, Quantity.s, entropy);
+    }
+
+    /**
+     * Specific enthalpy as a function of temperature.
+     *
+     * @param temperature temperature
+     * @return specific enthalpy
+     * @throws OutOfRangeException out-of-range exception
+     */
+    public double specificEnthalpyT(double temperature) throws OutOfRangeException {
+        return value(Quantity.h, Quantity.T, temperature);
+    }
+
+    /**
+     * Streams a property over equidistant input values from <code>from</code>
+     * to <code>to</code> (inclusive) along this isobar.
+     *
+     * @param output output quantity, see
+     * {@link #value(Quantity, Quantity, double)}
+     * @param input specific enthalpy, specific entropy, or temperature
+     * @param from first input value
+     * @param to last input value
+     * @param points number of points, at least 2
+     * @return iterator over output values
+     * @throws IllegalArgumentException if the output or input is not
+     * available, or for less than 2 points
+     */
+    public PrimitiveIterator.OfDouble sweep(Quantity output, Quantity input, double from, double to, int points) {
+
+        if (points < 2) {
+            throw new IllegalArgumentException("At least 2 points required, not: " + points);
+        }
+        double[] x = UNIT_SYSTEM.getConversion(input),
+                y = UNIT_SYSTEM.getConversion(output);
+        double start = IF97.convertToDefault(x, from),
+                step = (IF97.convertToDefault(x, to) - start) / (points - 1);
+
+        check(output, input);
+
+        return new PrimitiveIterator.OfDouble() {
+
+            private int i;
+
+            @Override
+            public boolean hasNext() {
+                return i < points;
+            }
+
+            @Override
+            public double nextDouble() {
+
+                if (i >= points) {
+                    throw new NoSuchElementException();
+                }
+                double value = start + step * i++;
+
+                try {
+                    return IF97.convertFromDefault(y, valueDefault(output, input, value));
+
+                } catch (OutOfRangeException e) {
+                    throw e.convertFromDefault(UNIT_SYSTEM);
+                }
+            }
+        };
+    }
+}
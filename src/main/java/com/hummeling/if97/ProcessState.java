@@ -0,0 +1,140 @@
+/*
+ * ProcessState.java
+ *
+ * This file is part of IF97.
+ *
+ * IF97 is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option)
+ * any later version.
+ *
+ * IF97 is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with IF97. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Copyright 2009-2022 Hummeling Engineering BV (www.hummeling.com)
+ */
+package com.hummeling.if97;
+
+import com.hummeling.if97.IF97.UnitSystem;
+
+/**
+ * Outlet state of a process step, e.g.
+ * {@link IF97#isentropicExpansion(double, double, double, double, ProcessState)},
+ * filled from the intermediates of the step.
+ *
+ * <p>
+ * Instances are mutable so that one can be reused over many steps without
+ * allocation; they are not thread-safe. Values are in the unit system of the
+ * IF97 object that filled the state.</p>
+ *
+ * @author Ralph Hummeling
+ * (<a href="https://www.hummeling.com">www.hummeling.com</a>)
+ */
+public final class ProcessState {
+
+    private UnitSystem unitSystem;
+    private double pressure = Double.NaN,
+            temperature = Double.NaN,
+            enthalpy = Double.NaN,
+            entropy = Double.NaN,
+            volume = Double.NaN,
+            vapourFraction = Double.NaN;
+    private int region;
+
+    /**
+     * Creates an empty state, all values NaN.
+     */
+    public ProcessState() {
+    }
+
+    /**
+     * Fills this state from default-unit values.
+     */
+    void set(UnitSystem unitSystem, int region, double p, double T, double h, double s, double v, double x) {
+        this.unitSystem = unitSystem;
+        this.region = region;
+        pressure = IF97.convertFromDefault(unitSystem.PRESSURE, p);
+        temperature = IF97.convertFromDefault(unitSystem.TEMPERATURE, T);
+        enthalpy = IF97.convertFromDefault(unitSystem.SPECIFIC_ENTHALPY, h);
+        entropy = IF97.convertFromDefault(unitSystem.SPECIFIC_ENTROPY, s);
+        volume = IF97.convertFromDefault(unitSystem.SPECIFIC_VOLUME, v);
+        vapourFraction = x;
+    }
+
+    /**
+     * Fills this state from values in the given unit system, see
+     * {@link StateCodec}.
+     */
+    void restore(UnitSystem unitSystem, int region, double p, double T, double h, double s, double v, double x) {
+        this.unitSystem = unitSystem;
+        this.region = region;
+        pressure = p;
+        temperature = T;
+        enthalpy = h;
+        entropy = s;
+        volume = v;
+        vapourFraction = x;
+    }
+
+    public double getDensity() {
+        return 1 / volume;
+    }
+
+    public double getPressure() {
+        return pressure;
+    }
+
+    /**
+     * IAPWS-IF97 region number of this state.
+     *
+     * @return region number 1 to 5, 0 if not filled
+     */
+    public int getRegion() {
+        return region;
+    }
+
+    public double getSpecificEnthalpy() {
+        return enthalpy;
+    }
+
+    public double getSpecificEntropy() {
+        return entropy;
+    }
+
+    public double getSpecificVolume() {
+        return volume;
+    }
+
+    public double getTemperature() {
+        return temperature;
+    }
+
+    /**
+     * Unit system of the values of this state.
+     *
+     * @return unit system, null if not filled
+     */
+    public UnitSystem getUnitSystem() {
+        return unitSystem;
+    }
+
+    /**
+     * Vapour fraction in the two-phase region (region 4), 0 for liquid
+     * (region 1), 1 for vapour (region 2), NaN in region 3.
+     *
+     * @return vapour fraction [-]
+     */
+    public double getVapourFraction() {
+        return vapourFraction;
+    }
+
+    @Override
+    public String toString() {
+        return "ProcessState{region " + region + ", p=" + pressure + ", T=" + temperature + ", h=" + enthalpy + ", s=" + entropy + ", v=" + volume + ", x=" + vapourFraction + "}";
+    }
+}
@@ -0,0 +1,306 @@
+/*
+ * ProcessSteps.java
+ *
+ * This file is part of IF97.
+ *
+ * IF97 is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option)
+ * any later version.
+ *
+ * IF97 is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with IF97. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Copyright 2009-2022 Hummeling Engineering BV (www.hummeling.com)
+ */
+package com.hummeling.if97;
+
+import com.hummeling.if97.IF97.Quantity;
+import com.hummeling.if97.IF97.Settings;
+import com.hummeling.if97.IF97.ValidationLevel;
+
+/**
+ * Process steps in default units, computed as one chain instead of separate
+ * facade calls.
+ *
+ * <p>
+ * Below 16.5292 MPa the region boundaries at a pressure are the saturated
+ * liquid &amp; vapour states at the saturation temperature. These are
+ * evaluated once per pressure and step, in an {@link Isobar}, and shared by
+ * the region selections (p, s) &amp; (p, h) and the two-phase properties of
+ * the isentropic &amp; actual outlet states. Above that pressure the steps
+ * fall back on the general region selection.</p>
+ *
+ * <p>
+ * All steps use the regions 2 &amp; 4 and the validation level of the given
+ * facade settings.</p>
+ *
+ * @author Ralph Hummeling
+ * (<a href="https://www.hummeling.com">www.hummeling.com</a>)
+ */
+final class ProcessSteps {
+
+    private ProcessSteps() {
+    }
+
+    /**
+     * Specific entropy as a function of pressure &amp; specific enthalpy, see
+     * {@link IF97#specificEntropyPH(double, double)}.
+     */
+    private static double specificEntropyPH(double p, double h, Settings settings) throws OutOfRangeException {
+
+        if (IF97.p0 <= p && p <= Region.ps13) {
+            return new Isobar(p, settings).specificEntropyH(h);
+        }
+        Region region = settings.resolve(Region.getRegionPH(p, h, settings.VALIDATION));
+
+        if (region.NUMBER == 4) {
+            return settings.REGION4.specificEntropyPH(p, h);
+        }
+        return region.specificEntropyPT(p, region.temperaturePH(p, h));
+    }
+
+    /**
+     * Isentropic expansion or compression with the given isentropic
+     * efficiency.
+     *
+     * @param p1 inlet pressure [MPa]
+     * @param h1 inlet specific enthalpy [kJ/kg]
+     * @param p2 outlet pressure [MPa]
+     * @param efficiency isentropic efficiency [-]
+     * @param compression true for compression (h2 = h1 + (h2s - h1) / eta),
+     * false for expansion (h2 = h1 - eta (h1 - h2s))
+     * @param settings facade settings, the outlet state is in its unit system
+     * @param outlet outlet state, null if not required
+     * @return outlet specific enthalpy [kJ/kg]
+     */
+    static double isentropic(double p1, double h1, double p2, double efficiency, boolean compression, Settings settings, ProcessState outlet) throws OutOfRangeException {
+
+        if (!(efficiency > 0)) {
+            throw new IllegalArgumentException("Isentropic efficiency should be positive: " + efficiency);
+        }
+        double s1 = specificEntropyPH(p1, h1, settings), h2s, h2;
+
+        if (IF97.p0 <= p2 && p2 <= Region.ps13) {
+            Isobar isobar = new Isobar(p2, settings);
+
+            h2s = isobar.specificEnthalpyS(s1);
+            h2 = compression ? h1 + (h2s - h1) / efficiency : h1 - efficiency * (h1 - h2s);
+
+            if (outlet != null) {
+                isobar.state(h2, outlet);
+            }
+        } else {
+            h2s = settings.resolve(Region.getRegionPS(p2, s1, settings.VALIDATION)).specificEnthalpyPS(p2, s1);
+            h2 = compression ? h1 + (h2s - h1) / efficiency : h1 - efficiency * (h1 - h2s);
+
+            if (outlet != null) {
+                state(p2, h2, settings, outlet);
+            } else {
+                Region.getRegionPH(p2, h2, settings.VALIDATION); // range check
+            }
+        }
+        return h2;
+    }
+
+    /**
+     * Outlet state at the given pressure &amp; specific enthalpy, range
+     * checked.
+     *
+     * @param p pressure [MPa]
+     * @param h specific enthalpy [kJ/kg]
+     * @param settings facade settings, the outlet state is in its unit system
+     * @param outlet outlet state, null if only the range is to be checked
+     * @return specific enthalpy [kJ/kg]
+     */
+    static double outlet(double p, double h, Settings settings, ProcessState outlet) throws OutOfRangeException {
+
+        if (outlet == null) {
+            Region.getRegionPH(p, h, settings.VALIDATION);
+
+        } else if (IF97.p0 <= p && p <= Region.ps13) {
+            new Isobar(p, settings).state(h, outlet);
+
+        } else {
+            state(p, h, settings, outlet);
+        }
+        return h;
+    }
+
+    /**
+     * Fills the state at the given pressure &amp; specific enthalpy using the
+     * general region selection.
+     */
+    private static void state(double p, double h, Settings settings, ProcessState out) throws OutOfRangeException {
+
+        Region region = settings.resolve(Region.getRegionPH(p, h, settings.VALIDATION));
+        double T, s, v;
+
+        switch (region.NUMBER) {
+            case 3:
+                T = Region3.INSTANCE.temperaturePH(p, h);
+                v = Region3.INSTANCE.specificVolumePH(p, h);
+                s = Region3.INSTANCE.specificEntropyRhoT(1 / v, T);
+                out.set(settings.UNIT_SYSTEM, 3, p, T, h, s, v, Double.NaN);
+                break;
+
+            case 4:
+                Region4 region4 = settings.REGION4;
+                double x = region4.vapourFractionPH(p, h);
+
+                out.set(settings.UNIT_SYSTEM, 4, p, region4.saturationTemperatureP(p), h,
+                        region4.specificEntropyPX(p, x), region4.specificVolumePX(p, x), x);
+                break;
+
+            default:
+                T = region.temperaturePH(p, h);
+                out.set(settings.UNIT_SYSTEM, region.NUMBER, p, T, h,
+                        region.specificEntropyPT(p, T), region.specificVolumePT(p, T), region.NUMBER == 1 ? 0 : 1);
+        }
+    }
+
+    /**
+     * Region boundaries &amp; saturation properties at a pressure below
+     * 16.5292 MPa, evaluated on first use.
+     */
+    private static final class Isobar {
+
+        private final Settings SETTINGS;
+        private final Region2 REGION2;
+        private final double P, TS;
+        private double h25 = Double.NaN,
+                hL = Double.NaN, hV,
+                sL = Double.NaN, sV,
+                vL = Double.NaN, vV;
+
+        private Isobar(double pressure, Settings settings) {
+            SETTINGS = settings;
+            REGION2 = settings.REGION2;
+            P = pressure;
+            TS = settings.REGION4.saturationTemperatureP(pressure);
+        }
+
+        private void enthalpies() {
+
+            if (Double.isNaN(hL)) {
+                hL = Region1.INSTANCE.specificEnthalpyPT(P, TS);
+                hV = REGION2.specificEnthalpyPT(P, TS);
+            }
+        }
+
+        private void entropies() {
+
+            if (Double.isNaN(sL)) {
+                sL = Region1.INSTANCE.specificEntropyPT(P, TS);
+                sV = REGION2.specificEntropyPT(P, TS);
+            }
+        }
+
+        private void volumes() {
+
+            if (Double.isNaN(vL)) {
+                vL = Region1.INSTANCE.specificVolumePT(P, TS);
+                vV = REGION2.specificVolumePT(P, TS);
+            }
+        }
+
+        /**
+         * Region as a function of specific enthalpy, see
+         * {@link Region#getRegionPH(double, double)}.
+         */
+        private int regionH(double h) throws OutOfRangeException {
+
+            enthalpies();
+
+            if (h > hV) {
+                if (SETTINGS.VALIDATION != ValidationLevel.FULL) {
+                    return 2;
+                }
+                if (Double.isNaN(h25)) {
+                    h25 = REGION2.specificEnthalpyPT(P, Region.T25);
+                }
+                if (h > h25) {
+                    throw new OutOfRangeException(Quantity.h, h, h25);
+                }
+                return 2;
+            }
+            return h < hL ? 1 : 4;
+        }
+
+        private double specificEntropyH(double h) throws OutOfRangeException {
+
+            switch (regionH(h)) {
+                case 1:
+                    return Region1.INSTANCE.specificEntropyPT(P, Region1.INSTANCE.temperaturePH(P, h));
+
+                case 2:
+                    return REGION2.specificEntropyPT(P, REGION2.temperaturePH(P, h));
+
+                default:
+                    entropies();
+                    return sL + (h - hL) / (hV - hL) * (sV - sL);
+            }
+        }
+
+        /**
+         * Specific enthalpy as a function of specific entropy, see
+         * {@link Region#getRegionPS(double, double)}.
+         */
+        private double specificEnthalpyS(double s) throws OutOfRangeException {
+
+            entropies();
+
+            if (s < sL) {
+                if (SETTINGS.VALIDATION == ValidationLevel.FULL) {
+                    double sMin = Region1.INSTANCE.specificEntropyPT(P, IF97.T0);
+
+                    if (s < sMin) {
+                        throw new OutOfRangeException(Quantity.s, s, sMin);
+                    }
+                }
+                return Region1.INSTANCE.specificEnthalpyPS(P, s);
+
+            } else if (s > sV) {
+                if (SETTINGS.VALIDATION == ValidationLevel.FULL) {
+                    double sMax = REGION2.specificEntropyPT(P, Region.T25);
+
+                    if (s > sMax) {
+                        throw new OutOfRangeException(Quantity.s, s, sMax);
+                    }
+                }
+                return REGION2.specificEnthalpyPS(P, s);
+            }
+            enthalpies();
+            return hL + (s - sL) / (sV - sL) * (hV - hL);
+        }
+
+        private void state(double h, ProcessState out) throws OutOfRangeException {
+
+            double T;
+
+            switch (regionH(h)) {
+                case 1:
+                    T = Region1.INSTANCE.temperaturePH(P, h);
+                    out.set(SETTINGS.UNIT_SYSTEM, 1, P, T, h, Region1.INSTANCE.specificEntropyPT(P, T), Region1.INSTANCE.specificVolumePT(P, T), 0);
+                    break;
+
+                case 2:
+                    T = REGION2.temperaturePH(P, h);
+                    out.set(SETTINGS.UNIT_SYSTEM, 2, P, T, h, REGION2.specificEntropyPT(P, T), REGION2.specificVolumePT(P, T), 1);
+                    break;
+
+                default:
+                    double x = (h - hL) / (hV - hL);
+
+                    entropies();
+                    volumes();
+                    out.set(SETTINGS.UNIT_SYSTEM, 4, P, TS, h, sL + x * (sV - sL), vL + x * (vV - vL), x);
+            }
+        }
+    }
+}
@@ -0,0 +1,384 @@
+/*
+ * PropertyServer.java
+ *
+ * This file is part of IF97.
+ *
+ * IF97 is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option)
+ * any later version.
+ *
+ * IF97 is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with IF97. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Copyright 2009-2022 Hummeling Engineering BV (www.hummeling.com)
+ */
+package com.hummeling.if97;
+
+import com.hummeling.if97.IF97.Quantity;
+import com.hummeling.if97.IF97.UnitSystem;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.DoubleBinaryOperator;
+
+/**
+ * Local property server, exposes IF97 functions over TCP for non-JVM tools,
+ * avoiding a JVM start (and warm-up) per job.
+ *
+ * <p>
+ * Start it from the command line:</p>
+ * <pre>
+ * java -cp if97.jar com.hummeling.if97.PropertyServer [port [unit system]]
+ * </pre>
+ *
+ * <p>
+ * The protocol is binary, big-endian and framed; every frame starts with an
+ * int holding the number of bytes that follow. A request frame holds:</p>
+ * <ul>
+ * <li>int request id, echoed in the response,</li>
+ * <li>output, first &amp; second input quantity, each as a byte length
+ * followed by the ASCII name of the {@link Quantity}, e.g. 1, 'v', 1, 'p', 1,
+ * 'h',</li>
+ * <li>int number of points n,</li>
+ * <li>n pairs of doubles (first &amp; second input value).</li>
+ * </ul>
+ * <p>
+ * A response frame holds the request id, a status byte and, for status
+ * {@link #OK}, int n followed by n doubles, NaN for out-of-range points. For
+ * status {@link #ERROR}, e.g. for an unavailable function, it holds a UTF-8
+ * message of the remaining frame length. Requests may be pipelined, responses
+ * are sent in request order per connection. Request frames longer than
+ * {@link #MAX_FRAME}, i.e. of more than about {@link #MAX_POINTS} points, are
+ * skipped and answered with status {@link #ERROR}; split larger jobs into
+ * several requests.</p>
+ *
+ * <p>
+ * Each connection is served by its own thread: a virtual thread when running
+ * on Java 21 or later, a pooled platform thread otherwise. Request values are
+ * read from and results written to direct buffers, without intermediate
+ * arrays. The buffers are sized for the largest frame once, and reused by
+ * later connections.</p>
+ *
+ * @author Ralph Hummeling
+ * (<a href="https://www.hummeling.com">www.hummeling.com</a>)
+ */
+public final class PropertyServer implements AutoCloseable {
+
+    /**
+     * Default port.
+     */
+    public static final int DEFAULT_PORT = 9797;
+    /**
+     * Response status.
+     */
+    public static final byte OK = 0, ERROR = 1;
+    /**
+     * Maximum number of points per request.
+     */
+    public static final int MAX_POINTS = 1 << 16;
+    /**
+     * Maximum request frame length [bytes], the points plus room for the
+     * header.
+     */
+    public static final int MAX_FRAME = 16 * MAX_POINTS + 1024;
+    private static final int MAX_RESPONSE = 13 + MAX_FRAME / 2;
+    private final IF97 FACADE;
+    private final ServerSocketChannel SERVER;
+    private final ExecutorService EXECUTOR;
+    private final boolean VIRTUAL;
+    private final Thread ACCEPTOR;
+    private final ConcurrentHashMap<String, DoubleBinaryOperator> FUNCTIONS = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedQueue<ByteBuffer[]> BUFFERS = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Starts a server on the given address.
+     *
+     * @param unitSystem unit system of the input &amp; output values
+     * @param address socket address, port 0 for an ephemeral port
+     * @throws IOException if the address can't be bound
+     */
+    public PropertyServer(UnitSystem unitSystem, InetSocketAddress address) throws IOException {
+
+        ExecutorService executor = virtualThreadExecutor();
+
+        FACADE = new IF97(unitSystem);
+        SERVER = ServerSocketChannel.open();
+        SERVER.bind(address);
+        VIRTUAL = executor != null;
+        EXECUTOR = VIRTUAL ? executor : Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "IF97 property server connection");
+
+            thread.setDaemon(true);
+            return thread;
+        });
+        ACCEPTOR = new Thread(this::accept, "IF97 property server");
+        ACCEPTOR.setDaemon(true);
+        ACCEPTOR.start();
+    }
+
+    /**
+     * Starts a server on the loopback address.
+     *
+     * @param unitSystem unit system of the input &amp; output values
+     * @param port port, 0 for an ephemeral port
+     * @throws IOException if the port can't be bound
+     */
+    public PropertyServer(UnitSystem unitSystem, int port) throws IOException {
+        this(unitSystem, new InetSocketAddress(InetAddress.getLoopbackAddress(), port));
+    }
+
+    private void accept() {
+
+        while (SERVER.isOpen()) {
+            try {
+                SocketChannel channel = SERVER.accept();
+
+                try {
+                    EXECUTOR.execute(() -> serve(channel));
+
+                } catch (RejectedExecutionException e) {
+                    channel.close();
+                }
+            } catch (IOException e) {
+                // closed
+            }
+        }
+    }
+
+    /**
+     * Stops accepting connections and closes the open ones.
+     */
+    @Override
+    public void close() throws IOException {
+
+        SERVER.close();
+        EXECUTOR.shutdownNow();
+
+        try {
+            EXECUTOR.awaitTermination(1, TimeUnit.SECONDS);
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private DoubleBinaryOperator function(String output, String input1, String input2) {
+
+        String key = output + '(' + input1 + ',' + input2 + ')';
+        DoubleBinaryOperator function = FUNCTIONS.get(key);
+
+        if (function == null) {
+            function = FACADE.function(Quantity.valueOf(output), Quantity.valueOf(input1), Quantity.valueOf(input2));
+            FUNCTIONS.put(key, function);
+        }
+        return function;
+    }
+
+    /**
+     * Bound address, e.g. to obtain an ephemeral port.
+     *
+     * @return socket address
+     * @throws IOException if the server is closed
+     */
+    public InetSocketAddress getAddress() throws IOException {
+        return (InetSocketAddress) SERVER.getLocalAddress();
+    }
+
+    /**
+     * Unit system of the input &amp; output values.
+     *
+     * @return unit system
+     */
+    public UnitSystem getUnitSystem() {
+        return FACADE.getUnitSystem();
+    }
+
+    /**
+     * Whether connections are served by virtual threads (Java 21+).
+     *
+     * @return true for virtual threads
+     */
+    public boolean isVirtualThreads() {
+        return VIRTUAL;
+    }
+
+    public static void main(String[] args) throws Exception {
+
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+        UnitSystem unitSystem = args.length > 1 ? UnitSystem.valueOf(args[1]) : UnitSystem.DEFAULT;
+
+        try (PropertyServer server = new PropertyServer(unitSystem, port)) {
+            System.out.println("IF97 property server listening on " + server.getAddress() + " (" + unitSystem + ", " + (server.isVirtualThreads() ? "virtual" : "platform") + " threads)");
+            server.ACCEPTOR.join();
+        }
+    }
+
+    private static void error(ByteBuffer out, int id, String message) {
+
+        byte[] bytes = message.getBytes(StandardCharsets.UTF_8);
+
+        out.clear();
+        out.putInt(0).putInt(id).put(ERROR).put(bytes, 0, Math.min(bytes.length, out.remaining()));
+    }
+
+    private static String name(ByteBuffer buffer) {
+
+        byte[] name = new byte[buffer.get()];
+
+        buffer.get(name);
+        return new String(name, StandardCharsets.US_ASCII);
+    }
+
+    private static void read(SocketChannel channel, ByteBuffer buffer) throws IOException {
+
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                throw new EOFException();
+            }
+        }
+    }
+
+    private void serve(SocketChannel channel) {
+
+        ByteBuffer[] buffers = BUFFERS.poll();
+
+        if (buffers == null) {
+            buffers = new ByteBuffer[]{ByteBuffer.allocateDirect(MAX_FRAME), ByteBuffer.allocateDirect(MAX_RESPONSE)};
+        }
+        ByteBuffer in = buffers[0], out = buffers[1];
+
+        try {
+            while (true) {
+                in.clear().limit(4);
+
+                try {
+                    read(channel, in);
+
+                } catch (EOFException e) {
+                    return; // client done
+                }
+                int length = in.getInt(0);
+
+                if (length < 4) {
+                    return; // not speaking our protocol
+                }
+                if (length > MAX_FRAME) {
+                    in.clear().limit(4);
+                    read(channel, in);
+
+                    int id = in.getInt(0);
+
+                    skip(channel, in, length - 4);
+                    error(out, id, "Frame of " + length + " bytes exceeds " + MAX_FRAME + " bytes, send at most " + MAX_POINTS + " points per request.");
+                    write(channel, out);
+                    continue;
+                }
+                in.clear().limit(length);
+                read(channel, in);
+                in.flip();
+
+                int id = in.getInt();
+
+                out.clear();
+
+                try {
+                    DoubleBinaryOperator function = function(name(in), name(in), name(in));
+                    int n = in.getInt();
+
+                    if (n < 0 || in.remaining() != 16L * n) {
+                        throw new IllegalArgumentException("Expected " + n + " input pairs, got " + in.remaining() + " bytes.");
+                    }
+                    out.putInt(0).putInt(id).put(OK).putInt(n);
+
+                    for (int i = 0; i < n; i++) {
+                        double value;
+
+                        try {
+                            value = function.applyAsDouble(in.getDouble(), in.getDouble());
+
+                        } catch (IllegalArgumentException | UnsupportedOperationException e) {
+                            value = Double.NaN;
+                        }
+                        out.putDouble(value);
+                    }
+                } catch (RuntimeException e) {
+                    error(out, id, String.valueOf(e.getMessage()));
+                }
+                write(channel, out);
+            }
+        } catch (ClosedChannelException e) {
+            // server closed
+        } catch (IOException e) {
+            // connection lost
+        } finally {
+            try {
+                channel.close();
+
+            } catch (IOException e) {
+                // already lost
+            }
+            BUFFERS.offer(buffers);
+        }
+    }
+
+    private static void skip(SocketChannel channel, ByteBuffer buffer, int length) throws IOException {
+
+        while (length > 0) {
+            buffer.clear().limit(Math.min(length, buffer.capacity()));
+            read(channel, buffer);
+            length -= buffer.limit();
+        }
+    }
+
+    /**
+     * Writes the response frame in the given buffer, setting its length.
+     */
+    private static void write(SocketChannel channel, ByteBuffer out) throws IOException {
+
+        out.putInt(0, out.position() - 4);
+        out.flip();
+
+        while (out.hasRemaining()) {
+            channel.write(out);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "PropertyServer{" + (SERVER.isOpen() ? SERVER.socket().getLocalSocketAddress() : "closed") + ", " + getUnitSystem() + "}";
+    }
+
+    /**
+     * Virtual-thread-per-task executor when available (Java 21+), looked up
+     * reflectively to keep Java 8 compatibility.
+     *
+     * @return executor, null if not available
+     */
+    static ExecutorService virtualThreadExecutor() {
+
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return null;
+        }
+    }
+}
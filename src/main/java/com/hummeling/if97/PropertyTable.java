@@ -0,0 +1,704 @@
+/*
+ * PropertyTable.java
+ *
+ * This file is part of IF97.
+ *
+ * IF97 is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option)
+ * any later version.
+ *
+ * IF97 is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with IF97. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Copyright 2009-2022 Hummeling Engineering BV (www.hummeling.com)
+ */
+package com.hummeling.if97;
+
+import com.hummeling.if97.IF97.Quantity;
+import com.hummeling.if97.IF97.UnitSystem;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.FloatBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+
+/**
+ * Precomputed property table, memory-mapped from a file.
+ *
+ * <p>
+ * A table holds IF97 properties, including their partial derivatives with
+ * respect to both grid axes, on a uniform two-dimensional grid of (p, h),
+ * (p, s), or (p, T). Tables are written once using
+ * {@link #generate(Path, Grid, double, double, int, double, double, int, Quantity...)}
+ * and opened read-only using {@link #open(Path, UnitSystem)}. The file is
+ * mapped off-heap, so processes opening the same file share a single copy via
+ * the operating system's page cache and opening a table costs milliseconds
+ * rather than the seconds needed to compute it.</p>
+ *
+ * <p>
+ * Values in between grid nodes are obtained by bicubic Hermite interpolation
+ * of the node values and derivatives. Accuracy reduces in cells crossing the
+ * saturation line, where properties have a kink. Cells with a corner outside
+ * the IAPWS-IF97 range of validity return NaN.</p>
+ *
+ * <p>
+ * Node values are stored in double precision, or in single precision to
+ * halve the size of large tables, see {@link Storage#FLOAT}. Interpolation is
+ * done in double precision in both cases.</p>
+ *
+ * <p>
+ * Instances are immutable and can be shared between threads.</p>
+ *
+ * @author Ralph Hummeling
+ * (<a href="https://www.hummeling.com">www.hummeling.com</a>)
+ */
+public final class PropertyTable {
+
+    /**
+     * IAPWS-IF97 revision the tabulated values are based on.
+     */
+    static final String REVISION = "IAPWS R7-97(2012)";
+    private static final byte[] MAGIC = "IF97TBL\0".getBytes(StandardCharsets.US_ASCII);
+    /**
+     * File format version, the storage of node values is a header field of
+     * its own.
+     */
+    private static final int VERSION = 1;
+    private static final int REVISION_LENGTH = 32, NAME_LENGTH = 8, VALUES_PER_NODE = 3, CHUNK_LENGTH = 1 << 20;
+    /**
+     * Largest table file [bytes], tables are mapped as a single buffer.
+     */
+    private static final long MAX_SIZE = Integer.MAX_VALUE;
+    private static final double DERIVATIVE_STEP = 1e-4; // relative to grid spacing
+    private final Grid GRID;
+    private final Quantity[] QUANTITIES;
+    private final int NX, NY;
+    private final double X_MIN, X_MAX, Y_MIN, Y_MAX, DX, DY;
+    private final double[] X_CONVERSION, Y_CONVERSION;
+    private final double[][] Z_CONVERSIONS;
+    private final Storage STORAGE;
+    private final DoubleBuffer DATA;
+    private final FloatBuffer FLOAT_DATA;
+    private final UnitSystem UNIT_SYSTEM;
+
+    private PropertyTable(Grid grid, Quantity[] quantities, int nx, int ny, double xMin, double xMax, double yMin, double yMax, Storage storage, ByteBuffer data, UnitSystem unitSystem) {
+
+        GRID = grid;
+        QUANTITIES = quantities;
+        NX = nx;
+        NY = ny;
+        X_MIN = xMin;
+        X_MAX = xMax;
+        Y_MIN = yMin;
+        Y_MAX = yMax;
+        DX = (xMax - xMin) / (nx - 1);
+        DY = (yMax - yMin) / (ny - 1);
+        STORAGE = storage;
+        DATA = storage == Storage.DOUBLE ? data.asDoubleBuffer() : null;
+        FLOAT_DATA = storage == Storage.FLOAT ? data.asFloatBuffer() : null;
+        UNIT_SYSTEM = unitSystem;
+        X_CONVERSION = unitSystem.getConversion(grid.X);
+        Y_CONVERSION = unitSystem.getConversion(grid.Y);
+        Z_CONVERSIONS = new double[Quantity.values().length][];
+
+        for (Quantity quantity : quantities) {
+            Z_CONVERSIONS[quantity.ordinal()] = unitSystem.getConversion(quantity);
+        }
+    }
+
+    /**
+     * Tabulates the given quantities on a uniform grid and writes the table to
+     * a file, storing node values in double precision.
+     *
+     * <p>
+     * Axis values are in default units. Nodes outside the range of validity
+     * are stored as NaN.</p>
+     *
+     * @param file table file, overwritten if it exists
+     * @param grid grid quantities
+     * @param xMin lower bound first axis (pressure)
+     * @param xMax upper bound first axis (pressure)
+     * @param nx number of nodes along first axis, at least 2
+     * @param yMin lower bound second axis
+     * @param yMax upper bound second axis
+     * @param ny number of nodes along second axis, at least 2
+     * @param quantities tabulated quantities
+     * @throws IOException when the file cannot be written
+     * @see Grid#isSupported(com.hummeling.if97.IF97.Quantity)
+     */
+    public static void generate(Path file, Grid grid, double xMin, double xMax, int nx, double yMin, double yMax, int ny, Quantity... quantities) throws IOException {
+        generate(file, Storage.DOUBLE, grid, xMin, xMax, nx, yMin, yMax, ny, quantities);
+    }
+
+    /**
+     * Tabulates the given quantities on a uniform grid and writes the table to
+     * a file.
+     *
+     * <p>
+     * Axis values are in default units. Nodes outside the range of validity
+     * are stored as NaN. Node values are written to the file in chunks, so
+     * memory use doesn't grow with the table, which is limited to
+     * {@value Integer#MAX_VALUE} bytes since it's mapped as a single
+     * buffer.</p>
+     *
+     * @param file table file, overwritten if it exists
+     * @param storage precision of stored node values
+     * @param grid grid quantities
+     * @param xMin lower bound first axis (pressure)
+     * @param xMax upper bound first axis (pressure)
+     * @param nx number of nodes along first axis, at least 2
+     * @param yMin lower bound second axis
+     * @param yMax upper bound second axis
+     * @param ny number of nodes along second axis, at least 2
+     * @param quantities tabulated quantities
+     * @throws IOException when the file cannot be written
+     * @see Grid#isSupported(com.hummeling.if97.IF97.Quantity)
+     */
+    public static void generate(Path file, Storage storage, Grid grid, double xMin, double xMax, int nx, double yMin, double yMax, int ny, Quantity... quantities) throws IOException {
+
+        if (nx < 2 || ny < 2) {
+            throw new IllegalArgumentException("Grid should have at least 2 nodes along each axis.");
+
+        } else if (!(xMin < xMax) || !(yMin < yMax)) {
+            throw new IllegalArgumentException("Axis lower bounds should be lower than upper bounds.");
+
+        } else if (quantities.length == 0) {
+            throw new IllegalArgumentException("At least one quantity should be tabulated.");
+        }
+        for (Quantity quantity : quantities) {
+            if (!grid.isSupported(quantity)) {
+                throw new IllegalArgumentException("Quantity " + quantity + " is not supported for grid " + grid + ".");
+            }
+        }
+        int headerLength = headerLength(quantities.length);
+        long size = headerLength + (long) quantities.length * nx * ny * VALUES_PER_NODE * storage.BYTES;
+
+        if (size > MAX_SIZE) {
+            throw new IllegalArgumentException("Table of " + size + " bytes exceeds the maximum of " + MAX_SIZE + " bytes.");
+        }
+        IF97 if97 = new IF97(UnitSystem.DEFAULT);
+        double dx = (xMax - xMin) / (nx - 1),
+                dy = (yMax - yMin) / (ny - 1);
+        ByteBuffer data = ByteBuffer.allocate((int) Math.min(CHUNK_LENGTH, size - headerLength)).order(ByteOrder.LITTLE_ENDIAN);
+        CRC32 crc = new CRC32();
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            channel.position(headerLength);
+
+            for (Quantity quantity : quantities) {
+                for (int i = 0; i < nx; i++) {
+                    for (int j = 0; j < ny; j++) {
+                        double x = xMin + i * dx,
+                                y = yMin + j * dy;
+
+                        if (data.remaining() < VALUES_PER_NODE * storage.BYTES) {
+                            write(channel, data, crc);
+                        }
+                        storage.put(data, grid.evaluate(if97, quantity, x, y));
+                        storage.put(data, derivative(if97, grid, quantity, x, y, dx * DERIVATIVE_STEP, 0));
+                        storage.put(data, derivative(if97, grid, quantity, x, y, 0, dy * DERIVATIVE_STEP));
+                    }
+                }
+            }
+            write(channel, data, crc);
+
+            ByteBuffer header = ByteBuffer.allocate(headerLength).order(ByteOrder.LITTLE_ENDIAN);
+            header.put(MAGIC);
+            header.putInt(VERSION);
+            header.putInt(headerLength);
+            header.put(Arrays.copyOf(REVISION.getBytes(StandardCharsets.US_ASCII), REVISION_LENGTH));
+            header.put(name(grid.name()));
+            header.put(name(storage.name()));
+            header.putInt(nx);
+            header.putInt(ny);
+            header.putInt(quantities.length);
+            header.putDouble(xMin);
+            header.putDouble(xMax);
+            header.putDouble(yMin);
+            header.putDouble(yMax);
+            header.putLong(crc.getValue());
+
+            for (Quantity quantity : quantities) {
+                header.put(name(quantity.name()));
+            }
+            header.rewind();
+
+            for (long position = 0; header.hasRemaining();) {
+                position += channel.write(header, position);
+            }
+        }
+    }
+
+    /**
+     * Central difference derivative of the exact values, one-sided next to the
+     * boundaries of the range of validity.
+     */
+    private static double derivative(AbstractIF97 if97, Grid grid, Quantity quantity, double x, double y, double dx, double dy) {
+
+        double previous = grid.evaluate(if97, quantity, x - dx, y - dy),
+                next = grid.evaluate(if97, quantity, x + dx, y + dy),
+                delta = dx + dy;
+
+        if (!Double.isNaN(previous) && !Double.isNaN(next)) {
+            return (next - previous) / (2 * delta);
+        }
+        double z = grid.evaluate(if97, quantity, x, y);
+
+        if (!Double.isNaN(next)) {
+            return (next - z) / delta;
+
+        } else if (!Double.isNaN(previous)) {
+            return (z - previous) / delta;
+        }
+        return Double.NaN;
+    }
+
+    private static int headerLength(int quantities) {
+
+        int length = MAGIC.length + 2 * Integer.BYTES + REVISION_LENGTH + 2 * NAME_LENGTH + 3 * Integer.BYTES + 4 * Double.BYTES + Long.BYTES + quantities * NAME_LENGTH;
+
+        return (length + Double.BYTES - 1) / Double.BYTES * Double.BYTES; // aligned data
+    }
+
+    /**
+     * Constant name as a fixed-length, zero-padded header field, so that
+     * files don't depend on the order of constants.
+     */
+    private static byte[] name(String name) {
+        return Arrays.copyOf(name.getBytes(StandardCharsets.US_ASCII), NAME_LENGTH);
+    }
+
+    private static String name(ByteBuffer buffer) {
+
+        byte[] name = new byte[NAME_LENGTH];
+        buffer.get(name);
+
+        return new String(name, StandardCharsets.US_ASCII).trim();
+    }
+
+    /**
+     * Opens a table file read-only, using the default unit system.
+     *
+     * @param file table file
+     * @return property table
+     * @throws IOException when the file cannot be read or is corrupt
+     */
+    public static PropertyTable open(Path file) throws IOException {
+        return open(file, UnitSystem.DEFAULT);
+    }
+
+    /**
+     * Opens a table file read-only.
+     *
+     * <p>
+     * The file is memory-mapped, the header and checksum are verified.</p>
+     *
+     * @param file table file
+     * @param unitSystem unit system of arguments and returned values
+     * @return property table
+     * @throws IOException when the file cannot be read or is corrupt
+     */
+    public static PropertyTable open(Path file, UnitSystem unitSystem) throws IOException {
+
+        MappedByteBuffer buffer;
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() > MAX_SIZE) {
+                throw new IOException("Property table exceeds " + MAX_SIZE + " bytes: " + file);
+            }
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+
+        byte[] magic = new byte[MAGIC.length],
+                revision = new byte[REVISION_LENGTH];
+
+        if (buffer.remaining() < headerLength(0)) {
+            throw new IOException("Not an IF97 property table: " + file);
+        }
+        buffer.get(magic);
+
+        if (!Arrays.equals(magic, MAGIC)) {
+            throw new IOException("Not an IF97 property table: " + file);
+        }
+        int version = buffer.getInt(),
+                headerLength = buffer.getInt();
+
+        if (version != VERSION) {
+            throw new IOException("Unsupported property table format version " + version + ": " + file);
+        }
+        buffer.get(revision);
+
+        if (!Arrays.equals(revision, Arrays.copyOf(REVISION.getBytes(StandardCharsets.US_ASCII), REVISION_LENGTH))) {
+            throw new IOException("Property table based on different revision: " + new String(revision, StandardCharsets.US_ASCII).trim());
+        }
+        Grid grid = valueOf(Grid.class, name(buffer));
+        Storage storage = valueOf(Storage.class, name(buffer));
+        int nx = buffer.getInt(),
+                ny = buffer.getInt(),
+                n = buffer.getInt();
+        double xMin = buffer.getDouble(),
+                xMax = buffer.getDouble(),
+                yMin = buffer.getDouble(),
+                yMax = buffer.getDouble();
+        long checksum = buffer.getLong();
+
+        if (grid == null || storage == null || nx < 2 || ny < 2 || n < 1 || headerLength != headerLength(n)) {
+            throw new IOException("Corrupt property table header: " + file);
+        }
+        Quantity[] quantities = new Quantity[n];
+
+        for (int i = 0; i < n; i++) {
+            quantities[i] = valueOf(Quantity.class, name(buffer));
+
+            if (quantities[i] == null || !grid.isSupported(quantities[i])) {
+                throw new IOException("Corrupt property table header: " + file);
+            }
+        }
+        if (buffer.capacity() != headerLength + (long) n * nx * ny * VALUES_PER_NODE * storage.BYTES) {
+            throw new IOException("Truncated property table: " + file);
+        }
+        buffer.position(headerLength);
+
+        ByteBuffer data = buffer.slice().order(ByteOrder.LITTLE_ENDIAN);
+        CRC32 crc = new CRC32();
+        crc.update(data.duplicate());
+
+        if (crc.getValue() != checksum) {
+            throw new IOException("Property table checksum mismatch: " + file);
+        }
+        return new PropertyTable(grid, quantities, nx, ny, xMin, xMax, yMin, yMax, storage, data, unitSystem);
+    }
+
+    /**
+     * Gets the grid quantities.
+     *
+     * @return grid
+     */
+    public Grid getGrid() {
+        return GRID;
+    }
+
+    /**
+     * Gets the tabulated quantities.
+     *
+     * @return quantities
+     */
+    public Quantity[] getQuantities() {
+        return QUANTITIES.clone();
+    }
+
+    /**
+     * Gets the precision of stored node values.
+     *
+     * @return storage
+     */
+    public Storage getStorage() {
+        return STORAGE;
+    }
+
+    /**
+     * Gets the unit system.
+     *
+     * @return unit system
+     */
+    public UnitSystem getUnitSystem() {
+        return UNIT_SYSTEM;
+    }
+
+    private int indexOf(Quantity quantity) {
+
+        for (int i = 0; i < QUANTITIES.length; i++) {
+            if (QUANTITIES[i] == quantity) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException("Quantity " + quantity + " is not tabulated.");
+    }
+
+    /**
+     * Interpolated value of the given quantity.
+     *
+     * @param quantity tabulated quantity
+     * @param x first grid quantity (pressure)
+     * @param y second grid quantity
+     * @return interpolated value
+     * @throws OutOfRangeException when the arguments are outside the table
+     */
+    public double value(Quantity quantity, double x, double y) throws OutOfRangeException {
+
+        int q = indexOf(quantity);
+        double xDefault = IF97.convertToDefault(X_CONVERSION, x),
+                yDefault = IF97.convertToDefault(Y_CONVERSION, y);
+
+        return IF97.convertFromDefault(Z_CONVERSIONS[quantity.ordinal()], interpolate(q, xDefault, yDefault));
+    }
+
+    /**
+     * Constant of the given name, null if unknown.
+     */
+    private static <E extends Enum<E>> E valueOf(Class<E> type, String name) {
+
+        try {
+            return Enum.valueOf(type, name);
+
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Writes the buffered node values, updating the checksum, and clears the
+     * buffer.
+     */
+    private static void write(FileChannel channel, ByteBuffer data, CRC32 crc) throws IOException {
+
+        data.flip();
+        crc.update(data.duplicate());
+
+        while (data.hasRemaining()) {
+            channel.write(data);
+        }
+        data.clear();
+    }
+
+    /**
+     * Bicubic Hermite interpolation in default units, assuming zero cross
+     * derivatives at the nodes.
+     */
+    private double interpolate(int q, double x, double y) throws OutOfRangeException {
+
+        if (x < X_MIN || x > X_MAX) {
+            throw new OutOfRangeException(GRID.X, x, x < X_MIN ? X_MIN : X_MAX).convertFromDefault(UNIT_SYSTEM);
+
+        } else if (y < Y_MIN || y > Y_MAX) {
+            throw new OutOfRangeException(GRID.Y, y, y < Y_MIN ? Y_MIN : Y_MAX).convertFromDefault(UNIT_SYSTEM);
+        }
+        double fx = (x - X_MIN) / DX,
+                fy = (y - Y_MIN) / DY;
+        int i = Math.min((int) fx, NX - 2),
+                j = Math.min((int) fy, NY - 2);
+        double t = fx - i,
+                u = fy - j,
+                t2 = t * t,
+                u2 = u * u;
+        double[] ht = {2 * t2 * t - 3 * t2 + 1, 3 * t2 - 2 * t2 * t, (t2 - 2 * t + 1) * t * DX, (t2 - t) * t * DX},
+                hu = {2 * u2 * u - 3 * u2 + 1, 3 * u2 - 2 * u2 * u, (u2 - 2 * u + 1) * u * DY, (u2 - u) * u * DY};
+        double out = 0;
+
+        for (int a = 0; a < 2; a++) {
+            for (int b = 0; b < 2; b++) {
+                int index = ((q * NX + i + a) * NY + j + b) * VALUES_PER_NODE;
+
+                out += ht[a] * hu[b] * node(index)
+                        + ht[a + 2] * hu[b] * node(index + 1)
+                        + ht[a] * hu[b + 2] * node(index + 2);
+            }
+        }
+        return out;
+    }
+
+    /**
+     * Stored node value, widened to double.
+     */
+    private double node(int index) {
+        return DATA != null ? DATA.get(index) : FLOAT_DATA.get(index);
+    }
+
+    /**
+     * Precision of stored node values, identified by name in the table
+     * header.
+     */
+    public enum Storage {
+
+        /**
+         * Double precision, 24 bytes per node &amp; quantity.
+         */
+        DOUBLE(Double.BYTES),
+        /**
+         * Single precision, 12 bytes per node &amp; quantity.
+         *
+         * <p>
+         * Node values &amp; derivatives are rounded to float, with a relative
+         * error of at most 2<sup>-24</sup> (6.0e-8) each. The Hermite weights
+         * of the corner values sum to 1 and those of the derivatives are at
+         * most 4/27 times the grid spacing, so rounding adds at most</p>
+         * <pre>
+         * 6.0e-8 * (max |z| + 0.3 * (max |dz/dx| * dx + max |dz/dy| * dy))
+         * </pre>
+         * <p>
+         * to the interpolation error of a cell, the maxima taken over its
+         * corners. For temperature in kelvin that is below 1e-4 K &amp; for
+         * specific volume typically about 1e-7 relative, which is well within
+         * the interpolation error against the IF97 equations of any practical
+         * grid, so that error dominates the budget as for double storage.
+         * Tabulated quantities with magnitudes beyond the float range (about
+         * 3.4e38) can't be stored.</p>
+         */
+        FLOAT(Float.BYTES);
+
+        final int BYTES;
+
+        Storage(int bytes) {
+            BYTES = bytes;
+        }
+
+        void put(ByteBuffer data, double value) {
+
+            if (this == DOUBLE) {
+                data.putDouble(value);
+            } else {
+                data.putFloat((float) value);
+            }
+        }
+    }
+
+    /**
+     * Grid quantity pairs.
+     */
+    public enum Grid {
+
+        /**
+         * Pressure &amp; specific enthalpy.
+         */
+        PH(Quantity.p, Quantity.h),
+        /**
+         * Pressure &amp; specific entropy.
+         */
+        PS(Quantity.p, Quantity.s),
+        /**
+         * Pressure &amp; temperature.
+         */
+        PT(Quantity.p, Quantity.T);
+
+        final Quantity X, Y;
+
+        Grid(Quantity x, Quantity y) {
+            X = x;
+            Y = y;
+        }
+
+        /**
+         * Whether the given quantity can be tabulated on this grid.
+         *
+         * @param quantity quantity
+         * @return true when supported
+         */
+        public boolean isSupported(Quantity quantity) {
+
+            switch (quantity) {
+                case T:
+                case h:
+                case s:
+                    return quantity != Y;
+
+                case v:
+                case rho:
+                case u:
+                case cp:
+                case cv:
+                case w:
+                    return true;
+
+                case x:
+                    return this != PT;
+
+                default:
+                    return false;
+            }
+        }
+
+        /**
+         * Evaluates a quantity using the given IF97 instance, returning NaN
+         * outside the range of validity.
+         */
+        double evaluate(AbstractIF97 if97, Quantity quantity, double x, double y) {
+
+            try {
+                switch (this) {
+                    case PH:
+                        switch (quantity) {
+                            case T:
+                                return if97.temperaturePH(x, y);
+                            case s:
+                                return if97.specificEntropyPH(x, y);
+                            case v:
+                                return if97.specificVolumePH(x, y);
+                            case rho:
+                                return if97.densityPH(x, y);
+                            case u:
+                                return if97.specificInternalEnergyPH(x, y);
+                            case cp:
+                                return if97.isobaricHeatCapacityPH(x, y);
+                            case cv:
+                                return if97.isochoricHeatCapacityPH(x, y);
+                            case w:
+                                return if97.speedOfSoundPH(x, y);
+                            case x:
+                                return if97.vapourFractionPH(x, y);
+                        }
+                        break;
+
+                    case PS:
+                        switch (quantity) {
+                            case T:
+                                return if97.temperaturePS(x, y);
+                            case h:
+                                return if97.specificEnthalpyPS(x, y);
+                            case v:
+                                return if97.specificVolumePS(x, y);
+                            case rho:
+                                return if97.densityPS(x, y);
+                            case u:
+                                return if97.specificInternalEnergyPS(x, y);
+                            case cp:
+                                return if97.isobaricHeatCapacityPS(x, y);
+                            case cv:
+                                return if97.isochoricHeatCapacityPS(x, y);
+                            case w:
+                                return if97.speedOfSoundPS(x, y);
+                            case x:
+                                return if97.vapourFractionPS(x, y);
+                        }
+                        break;
+
+                    case PT:
+                        switch (quantity) {
+                            case h:
+                                return if97.specificEnthalpyPT(x, y);
+                            case s:
+                                return if97.specificEntropyPT(x, y);
+                            case v:
+                                return if97.specificVolumePT(x, y);
+                            case rho:
+                                return if97.densityPT(x, y);
+                            case u:
+                                return if97.specificInternalEnergyPT(x, y);
+                            case cp:
+                                return if97.isobaricHeatCapacityPT(x, y);
+                            case cv:
+                                return if97.isochoricHeatCapacityPT(x, y);
+                            case w:
+                                return if97.speedOfSoundPT(x, y);
+                        }
+                        break;
+                }
+            } catch (IllegalArgumentException | UnsupportedOperationException e) {
+                return Double.NaN; // includes out-of-range exceptions
+            }
+            throw new IllegalArgumentException("Quantity " + quantity + " is not supported for grid " + this + ".");
+        }
+    }
+}
@@ -31,42 +31,59 @@ import static java.lang.StrictMath.*;
 abstract class Region {
 
     private final String NAME;
-    static final double ps13, p5, p132, hs13, s2, s2bc, ss13, hs23, ss23, T13, T25, T5;
-    private static final double[] nB23;
-    static final Region REGION1, REGION2;
-    static final Region3 REGION3;
-    static final Region4 REGION4;
-    private static final Region REGION5;
-
-    static {
-        REGION1 = new Region1();
-        REGION2 = new Region2();
-        REGION3 = new Region3();
-        REGION4 = new Region4();
-        REGION5 = new Region5();
-
-        p5 = 50; // upper pressure boundary of region 5 [MPa]
-        p132 = 100; // upper pressure boundary of regions 1, 3, and 2 [MPa]
-        T13 = IF97.T0 + 350; // temperature boundary between region 1 and 3 (623.15 K) [K]
-        T25 = IF97.T0 + 800; // temperature boundary between region 2 and 5 (1073.15 K) [K]
-        T5 = IF97.T0 + 2000; // upper temperature boundary of region 5 (2273.15 K) [K]
-        s2 = REGION2.specificEntropyPT(IF97.p0, IF97.T0);
-        s2bc = 5.85;
-        ps13 = REGION4.saturationPressureT(T13); // (16.529 MPa) [MPa]
-        hs13 = REGION1.specificEnthalpyPT(ps13, T13);
-        ss13 = REGION1.specificEntropyPT(ps13, T13);
-        hs23 = REGION2.specificEnthalpyPT(ps13, T13);
-        ss23 = REGION2.specificEntropyPT(ps13, T13);
-
-        nB23 = new double[]{
-            0.34805185628969e3,
-            -.11671859879975e1,
-            0.10192970039326e-2,
-            0.57254459862746e3,
-            0.13918839778870e2};
-    }
-
-    Region(String name) {
+    /**
+     * Region number, 0 for regions without one.
+     */
+    final int NUMBER;
+    /**
+     * Jet indices: the dimensionless free energy and its partial derivatives
+     * up to third order, with respect to pi (delta in region 3) &amp; tau,
+     * e.g. PPT for d/dpi d/dpi d/dtau, and the density in region 3.
+     */
+    static final int JET = 0,
+            JET_P = 1,
+            JET_PP = 2,
+            JET_PPP = 3,
+            JET_T = 4,
+            JET_TT = 5,
+            JET_TTT = 6,
+            JET_PT = 7,
+            JET_PPT = 8,
+            JET_PTT = 9,
+            JET_RHO = 10,
+            JET_SIZE = 11;
+    /*
+     Boundary constants, derived values are precomputed to avoid region
+     evaluations during class initialization (verified by RegionTest).
+     */
+    static final double p5 = 50, // upper pressure boundary of region 5 [MPa]
+            p132 = 100, // upper pressure boundary of regions 1, 3, and 2 [MPa]
+            T13 = IF97.T0 + 350, // temperature boundary between region 1 and 3 (623.15 K) [K]
+            T25 = IF97.T0 + 800, // temperature boundary between region 2 and 5 (1073.15 K) [K]
+            T5 = IF97.T0 + 2000, // upper temperature boundary of region 5 (2273.15 K) [K]
+            s2 = 9.155759395224399, // region 2 entropy at (p0, T0) [kJ/kg-K]
+            s2bc = 5.85,
+            ps13 = 16.529164252604478, // saturation pressure at T13 [MPa]
+            hs13 = 1670.8582182745927, // region 1 enthalpy at (ps13, T13) [kJ/kg]
+            ss13 = 3.778281339544255, // region 1 entropy at (ps13, T13) [kJ/kg-K]
+            hs23 = 2563.5920038884174, // region 2 enthalpy at (ps13, T13) [kJ/kg]
+            ss23 = 5.210887824930753, // region 2 entropy at (ps13, T13) [kJ/kg-K]
+            h0T0 = -0.041587825987655716, // region 1 enthalpy at (p0, T0) [kJ/kg]
+            h0T25 = 4160.660928250124, // region 2 enthalpy at (p0, T25), maximum of regions 1-4 [kJ/kg]
+            s0T25 = 11.921055068613535, // region 2 entropy at (p0, T25), maximum of regions 1-4 [kJ/kg-K]
+            s132T0 = -0.00858228709261889, // region 1 entropy at (p132, T0) [kJ/kg-K]
+            s132T13 = 3.3977829547018907, // region 1 entropy at (p132, T13) [kJ/kg-K]
+            s132T25 = 6.040483671712382, // region 2 entropy at (p132, T25) [kJ/kg-K]
+            s132B23 = 5.097969028393188; // region 2 entropy at (p132, 863.15 K) [kJ/kg-K]
+    private static final double[] nB23 = {
+        0.34805185628969e3,
+        -.11671859879975e1,
+        0.10192970039326e-2,
+        0.57254459862746e3,
+        0.13918839778870e2};
+
+    Region(int number, String name) {
+        NUMBER = number;
         NAME = name;
     }
 
@@ -74,6 +91,48 @@ abstract class Region {
         return NAME;
     }
 
+    /**
+     * Get region as a function of any supported input pair, in either order.
+     *
+     * @param input1 first input quantity
+     * @param input2 second input quantity
+     * @param value1 first input value (default units)
+     * @param value2 second input value (default units)
+     * @return region, null if there's no region lookup for the input pair
+     * @throws OutOfRangeException out-of-range exception
+     */
+    static Region getRegion(IF97.Quantity input1, IF97.Quantity input2, double value1, double value2) throws OutOfRangeException {
+
+        switch (input1.name() + input2.name()) {
+            case "pT":
+                return getRegionPT(value1, value2);
+
+            case "Tp":
+                return getRegionPT(value2, value1);
+
+            case "ph":
+                return getRegionPH(value1, value2);
+
+            case "hp":
+                return getRegionPH(value2, value1);
+
+            case "ps":
+                return getRegionPS(value1, value2);
+
+            case "sp":
+                return getRegionPS(value2, value1);
+
+            case "hs":
+                return getRegionHS(value1, value2);
+
+            case "sh":
+                return getRegionHS(value2, value1);
+
+            default:
+                return null;
+        }
+    }
+
     /**
      * Get region as a function of specific enthalpy & specific entropy.
      *
@@ -83,6 +142,21 @@ abstract class Region {
      * @throws OutOfRangeException out-of-range exception
      */
     static Region getRegionHS(double enthalpy, double entropy) throws OutOfRangeException {
+        return getRegionHS(enthalpy, entropy, IF97.ValidationLevel.FULL);
+    }
+
+    /**
+     * Get region as a function of specific enthalpy & specific entropy, with
+     * the given validation level.
+     *
+     * @param enthalpy specific enthalpy
+     * @param entropy specific entropy
+     * @param level validation level, below FULL only the constant enthalpy &
+     * entropy limits are checked
+     * @return region
+     * @throws OutOfRangeException out-of-range exception
+     */
+    static Region getRegionHS(double enthalpy, double entropy, IF97.ValidationLevel level) throws OutOfRangeException {
 
         double[] hB23limits = {2.563592004e3, 2.812942061e3},
                 sB23limits = {5.048096828, 5.260578707};
@@ -90,26 +164,31 @@ abstract class Region {
         /*
          Outer boundary Checks
          */
-        double s1 = REGION1.specificEntropyPT(p132, IF97.T0),
-                s2 = REGION2.specificEntropyPT(p132, T25);
+        if (enthalpy < h0T0) {
+            throw new OutOfRangeException(IF97.Quantity.h, enthalpy, h0T0);
+
+        } else if (enthalpy > h0T25) {
+            throw new OutOfRangeException(IF97.Quantity.h, enthalpy, h0T25);
+
+        } else if (entropy < s132T0) {
+            throw new OutOfRangeException(IF97.Quantity.s, entropy, s132T0);
 
-        double[] h1 = {
-            REGION1.specificEnthalpyPT(IF97.p0, IF97.T0),
-            REGION1.specificEnthalpyPT(p132, IF97.T0)};
+        } else if (entropy > s0T25) {
+            throw new OutOfRangeException(IF97.Quantity.s, entropy, s0T25);
 
-        if (enthalpy < h1[0]) {
-            throw new OutOfRangeException(IF97.Quantity.h, enthalpy, h1[0]);
+        } else if (level != IF97.ValidationLevel.FULL) {
+            // skip envelope
 
         } else if (entropy < 4.7516100567e-4) {
-            double p1 = REGION1.pressureHS(enthalpy, entropy);
+            double p1 = Region1.INSTANCE.pressureHS(enthalpy, entropy);
 
-            if (REGION1.temperaturePH(p1, enthalpy) + 0.024 < IF97.T0) {
-                throw new OutOfRangeException(IF97.Quantity.s, entropy, REGION1.specificEntropyPT(p1, IF97.T0));
+            if (Region1.INSTANCE.temperaturePH(p1, enthalpy) + 0.024 < IF97.T0) {
+                throw new OutOfRangeException(IF97.Quantity.s, entropy, Region1.INSTANCE.specificEntropyPT(p1, IF97.T0));
             }
         }
-        if (s1 <= entropy && entropy <= s2) {
-            if (entropy <= REGION1.specificEntropyPT(p132, T13)) {
-                double h1Lim = REGION1.specificEnthalpyPT(p132, REGION1.temperaturePS(p132, entropy));
+        if (level == IF97.ValidationLevel.FULL && s132T0 <= entropy && entropy <= s132T25) {
+            if (entropy <= s132T13) {
+                double h1Lim = Region1.INSTANCE.specificEnthalpyPT(p132, Region1.INSTANCE.temperaturePS(p132, entropy));
 
                 if (enthalpy > h1Lim) {
                     throw new OutOfRangeException(IF97.Quantity.h, enthalpy, h1Lim);
@@ -122,10 +201,10 @@ abstract class Region {
                 //    if (enthalpy > hLim) {
                 //        throw new OutOfRangeException(IF97.Quantity.h, enthalpy, hLim);
                 //    }
-            } else if (entropy <= REGION2.specificEntropyPT(p132, 863.15)) {
-                double rho = 1 / REGION3.specificVolumePS(p132, entropy),
-                        T = REGION3.temperaturePS(p132, entropy),
-                        hLim = REGION3.specificEnthalpyRhoT(rho, T);
+            } else if (entropy <= s132B23) {
+                double rho = 1 / Region3.INSTANCE.specificVolumePS(p132, entropy),
+                        T = Region3.INSTANCE.temperaturePS(p132, entropy),
+                        hLim = Region3.INSTANCE.specificEnthalpyRhoT(rho, T);
 
                 if (enthalpy > hLim) {
                     throw new OutOfRangeException(IF97.Quantity.h, enthalpy, hLim);
@@ -140,40 +219,55 @@ abstract class Region {
         if (entropy <= 3.778281340) {
             // region 1, 3, or 4
             if (enthalpy <= specificEnthalpy1(entropy)) {
-                return REGION4;
+                return Region4.INSTANCE;
 
             } else if (enthalpy > specificEnthalpyB13(entropy)) {
-                return REGION3;
+                return Region3.INSTANCE;
 
             } else {
-                return REGION1;
+                return Region1.INSTANCE;
             }
         } else if (entropy <= IF97.sc) {
             // region 3 or 4
-            return enthalpy > specificEnthalpy3a(entropy) ? REGION3 : REGION4;
+            return enthalpy > specificEnthalpy3a(entropy) ? Region3.INSTANCE : Region4.INSTANCE;
 
         } else if (entropy < s2bc) {
             if (enthalpy <= specificEnthalpy2c3b(entropy)) {
-                return REGION4;
+                return Region4.INSTANCE;
 
             } else if (enthalpy <= hB23limits[0] || entropy <= sB23limits[0]) {
-                return REGION3;
+                return Region3.INSTANCE;
 
             } else if (enthalpy >= hB23limits[1] || entropy >= sB23limits[1]) {
-                return REGION2;
+                return Region2.INSTANCE;
 
             } else if (hB23limits[0] < enthalpy && enthalpy < hB23limits[1] && sB23limits[0] < entropy && entropy < sB23limits[1]) {
-                return REGION2.pressureHS(enthalpy, entropy) > pressureB23(temperatureB23HS(enthalpy, entropy)) ? REGION3 : REGION2;
+                return Region2.INSTANCE.pressureHS(enthalpy, entropy) > pressureB23(temperatureB23HS(enthalpy, entropy)) ? Region3.INSTANCE : Region2.INSTANCE;
             }
         } else if (entropy <= 9.155759395) {
             if (enthalpy <= specificEnthalpy2ab(entropy)) {
-                return REGION4;
+                return Region4.INSTANCE;
             }
         }
-        return REGION2;
+        return Region2.INSTANCE;
     }
 
     static Region getRegionPH(double pressure, double enthalpy) throws OutOfRangeException {
+        return getRegionPH(pressure, enthalpy, IF97.ValidationLevel.FULL);
+    }
+
+    /**
+     * Get region as a function of pressure & specific enthalpy, with the given
+     * validation level.
+     *
+     * @param pressure pressure [MPa]
+     * @param enthalpy specific enthalpy [kJ/kg]
+     * @param level validation level, below FULL only the constant pressure &
+     * enthalpy limits are checked
+     * @return region
+     * @throws OutOfRangeException out-of-range exception
+     */
+    static Region getRegionPH(double pressure, double enthalpy, IF97.ValidationLevel level) throws OutOfRangeException {
 
         /*
          Checks
@@ -183,45 +277,52 @@ abstract class Region {
 
         } else if (pressure > p132) {
             throw new OutOfRangeException(IF97.Quantity.p, pressure, p132);
-        }
-        double h25 = REGION2.specificEnthalpyPT(pressure, T25);
 
+        } else if (enthalpy < h0T0) {
+            throw new OutOfRangeException(IF97.Quantity.h, enthalpy, h0T0);
+
+        } else if (level == IF97.ValidationLevel.FULL) {
+            double h25 = Region2.INSTANCE.specificEnthalpyPT(pressure, T25);
+
+            if (enthalpy > h25) {
+                if (pressure > p5) {
+                    throw new OutOfRangeException(new IF97.Quantity[]{IF97.Quantity.p, IF97.Quantity.h}, new double[]{pressure, enthalpy}, new double[]{p5, h25});
+                }
+                //return Region5.INSTANCE;
+                throw new OutOfRangeException(IF97.Quantity.h, enthalpy, h25);
+            }
+        } else if (enthalpy > h0T25) {
+            throw new OutOfRangeException(IF97.Quantity.h, enthalpy, h0T25);
+        }
 
         /*
          Select Region
          */
-        if (enthalpy > h25) {
-            if (pressure > p5) {
-                throw new OutOfRangeException(new IF97.Quantity[]{IF97.Quantity.p, IF97.Quantity.h}, new double[]{pressure, enthalpy}, new double[]{p5, h25});
-            }
-            //return REGION5;
-            throw new OutOfRangeException(IF97.Quantity.h, enthalpy, h25);
-        }
         if (pressure <= ps13) {
             // region 1, 4, or 2
-            double Ts = REGION4.saturationTemperatureP(pressure);
+            double Ts = Region4.INSTANCE.saturationTemperatureP(pressure);
 
-            if (enthalpy < REGION1.specificEnthalpyPT(pressure, Ts)) {
-                return REGION1;
+            if (enthalpy < Region1.INSTANCE.specificEnthalpyPT(pressure, Ts)) {
+                return Region1.INSTANCE;
 
-            } else if (enthalpy > REGION2.specificEnthalpyPT(pressure, Ts)) {
-                return REGION2;
+            } else if (enthalpy > Region2.INSTANCE.specificEnthalpyPT(pressure, Ts)) {
+                return Region2.INSTANCE;
 
             } else {
-                return REGION4;
+                return Region4.INSTANCE;
             }
         } else if (hs13 <= enthalpy && enthalpy <= hs23) {
             // region 3 or 4
-            return pressure > REGION4.saturationPressureB34H(enthalpy) * (1 - 4.3e-6) ? REGION3 : REGION4;
+            return pressure > Region4.INSTANCE.saturationPressureB34H(enthalpy) * (1 - 4.3e-6) ? Region3.INSTANCE : Region4.INSTANCE;
 
-        } else if (enthalpy <= REGION1.specificEnthalpyPT(pressure, T13)) {
-            return REGION1;
+        } else if (enthalpy <= Region1.INSTANCE.specificEnthalpyPT(pressure, T13)) {
+            return Region1.INSTANCE;
 
-        } else if (enthalpy >= REGION2.specificEnthalpyPT(pressure, temperatureB23P(pressure))) {
-            return REGION2;
+        } else if (enthalpy >= Region2.INSTANCE.specificEnthalpyPT(pressure, temperatureB23P(pressure))) {
+            return Region2.INSTANCE;
 
         } else {
-            return REGION3;
+            return Region3.INSTANCE;
         }
     }
 
@@ -260,6 +361,22 @@ abstract class Region {
      * @throws OutOfRangeException
      */
     static Region getRegionPT(double pressure, double temperature) throws OutOfRangeException {
+        return getRegionPT(pressure, temperature, IF97.ValidationLevel.FULL);
+    }
+
+    /**
+     * Returns the appropriate region, with the given validation level.
+     *
+     * Note that this method never returns region 4, so prevent when possible.
+     *
+     * @param pressure pressure [MPa]
+     * @param temperature temperature [K]
+     * @param level validation level, all (p, T) limits are constant so each
+     * level checks them all
+     * @return region
+     * @throws OutOfRangeException
+     */
+    static Region getRegionPT(double pressure, double temperature, IF97.ValidationLevel level) throws OutOfRangeException {
 
         /*
          Checks
@@ -284,16 +401,16 @@ abstract class Region {
          Select Region
          */
         if (temperature > T25) {
-            return REGION5;
+            return Region5.INSTANCE;
 
         } else if (temperature > T13) {
             if (pressure > pressureB23(temperature)) {
-                return REGION3;
+                return Region3.INSTANCE;
             }
-        } else if (pressure > REGION4.saturationPressureT(temperature)) {
-            return REGION1;
+        } else if (pressure > Region4.INSTANCE.saturationPressureT(temperature)) {
+            return Region1.INSTANCE;
         }
-        return REGION2;
+        return Region2.INSTANCE;
     }
 
     /**
@@ -305,52 +422,733 @@ abstract class Region {
      * @throws OutOfRangeException out-of-range exception
      */
     static Region getRegionPS(double pressure, double entropy) throws OutOfRangeException {
+        return getRegionPS(pressure, entropy, IF97.ValidationLevel.FULL);
+    }
+
+    /**
+     * Get region as a function of pressure & specific entropy, with the given
+     * validation level.
+     *
+     * @param pressure pressure [MPa]
+     * @param entropy specific entropy [kJ/(kg K)]
+     * @param level validation level, below FULL only the constant pressure &
+     * entropy limits are checked
+     * @return region
+     * @throws OutOfRangeException out-of-range exception
+     */
+    static Region getRegionPS(double pressure, double entropy, IF97.ValidationLevel level) throws OutOfRangeException {
 
         /*
          Checks
          */
-        double s1 = REGION1.specificEntropyPT(pressure, IF97.T0),
-                s2 = REGION2.specificEntropyPT(pressure, T25);
-
         if (pressure < IF97.p0) {
             throw new OutOfRangeException(IF97.Quantity.p, pressure, IF97.p0);
 
         } else if (pressure > p132) {
             throw new OutOfRangeException(IF97.Quantity.p, pressure, p132);
 
-        } else if (entropy < s1) {
-            throw new OutOfRangeException(IF97.Quantity.s, entropy, s1);
+        } else if (level == IF97.ValidationLevel.FULL) {
+            double s1 = Region1.INSTANCE.specificEntropyPT(pressure, IF97.T0),
+                    s2 = Region2.INSTANCE.specificEntropyPT(pressure, T25);
+
+            if (entropy < s1) {
+                throw new OutOfRangeException(IF97.Quantity.s, entropy, s1);
+
+            } else if (entropy > s2) {
+                throw new OutOfRangeException(IF97.Quantity.s, entropy, s2);
+            }
+        } else if (entropy < s132T0) {
+            throw new OutOfRangeException(IF97.Quantity.s, entropy, s132T0);
 
-        } else if (entropy > s2) {
-            throw new OutOfRangeException(IF97.Quantity.s, entropy, s2);
+        } else if (entropy > s0T25) {
+            throw new OutOfRangeException(IF97.Quantity.s, entropy, s0T25);
         }
 
         /*
          Select Region
          */
         if (pressure < ps13) {
-            double Tsat = REGION4.saturationTemperatureP(pressure);
+            double Tsat = Region4.INSTANCE.saturationTemperatureP(pressure);
 
-            if (entropy < REGION1.specificEntropyPT(pressure, Tsat)) {
-                return REGION1;
+            if (entropy < Region1.INSTANCE.specificEntropyPT(pressure, Tsat)) {
+                return Region1.INSTANCE;
 
-            } else if (entropy > REGION2.specificEntropyPT(pressure, Tsat)) {
-                return REGION2;
+            } else if (entropy > Region2.INSTANCE.specificEntropyPT(pressure, Tsat)) {
+                return Region2.INSTANCE;
 
             } else {
-                return REGION4;
+                return Region4.INSTANCE;
             }
-        } else if (REGION1.specificEntropyPT(ps13, T13) <= entropy && entropy <= REGION2.specificEntropyPT(ps13, T13) && pressure < saturationPressure3(entropy)) {
-            return REGION4;
+        } else if (ss13 <= entropy && entropy <= ss23 && pressure < saturationPressure3(entropy)) {
+            return Region4.INSTANCE;
 
-        } else if (entropy <= REGION1.specificEntropyPT(pressure, T13)) {
-            return REGION1;
+        } else if (entropy <= Region1.INSTANCE.specificEntropyPT(pressure, T13)) {
+            return Region1.INSTANCE;
 
-        } else if (entropy < REGION2.specificEntropyPT(pressure, temperatureB23P(pressure))) {
-            return REGION3;
+        } else if (entropy < Region2.INSTANCE.specificEntropyPT(pressure, temperatureB23P(pressure))) {
+            return Region3.INSTANCE;
 
         } else {
-            return REGION2;
+            return Region2.INSTANCE;
+        }
+    }
+
+    /**
+     * Tensor-product evaluation of a property over a pressure-temperature grid.
+     *
+     * <p>
+     * In regions 1, 2 &amp; 5 every Gibbs free energy term factorises into a
+     * pressure and a temperature factor. These bases are computed once per
+     * grid row and column respectively (and only for the regions the row or
+     * column actually visits), leaving a sum of products per grid point.
+     * Region boundaries are evaluated once per column. Region 3 points are
+     * evaluated individually.</p>
+     *
+     * @param quantity specific volume, density, specific enthalpy, entropy,
+     * internal energy, Gibbs free energy, specific isobaric &amp; isochoric
+     * heat capacity, or speed of sound
+     * @param pressures grid pressures [MPa]
+     * @param temperatures grid temperatures [K]
+     * @param out values, row-major: out[i * temperatures.length + j] at
+     * (pressures[i], temperatures[j])
+     * @throws OutOfRangeException out-of-range exception
+     */
+    static void gridPT(IF97.Quantity quantity, double[] pressures, double[] temperatures, double[] out) throws OutOfRangeException {
+
+        int m = temperatures.length;
+
+        checkGibbs(quantity);
+
+        if (out.length < pressures.length * m) {
+            throw new IllegalArgumentException("Output array length " + out.length + " is less than grid size " + pressures.length * m + ".");
+        }
+        double[] boundary = new double[m];
+        double[][] tau1 = new double[m][], tau2 = new double[m][], tau5 = new double[m][];
+
+        for (int j = 0; j < m; j++) {
+            double T = temperatures[j];
+
+            if (T > T25 || T < IF97.T0) {
+                boundary[j] = Double.NaN;
+
+            } else if (T > T13) {
+                boundary[j] = pressureB23(T);
+
+            } else {
+                boundary[j] = Region4.INSTANCE.saturationPressureT(T);
+            }
+        }
+        for (int i = 0; i < pressures.length; i++) {
+            double p = pressures[i];
+            double[] pi1 = null, pi2 = null, pi5 = null;
+
+            for (int j = 0, k = i * m; j < m; j++, k++) {
+                double T = temperatures[j];
+
+                if (p <= 0 || p > p132 || T < IF97.T0 || T > T5 || T > T25 && p > p5) {
+                    getRegionPT(p, T); // throws
+                }
+                if (T > T25) {
+                    if (pi5 == null) {
+                        pi5 = Region5.INSTANCE.basisPi(p);
+                    }
+                    if (tau5[j] == null) {
+                        tau5[j] = Region5.INSTANCE.basisTau(T);
+                    }
+                    out[k] = Region5.INSTANCE.valuePT(quantity, p, T, pi5, tau5[j]);
+
+                } else if (p > boundary[j]) {
+                    if (T > T13) {
+                        out[k] = valueGibbs(Region3.INSTANCE, quantity, p, T);
+                        continue;
+                    }
+                    if (pi1 == null) {
+                        pi1 = Region1.INSTANCE.basisPi(p);
+                    }
+                    if (tau1[j] == null) {
+                        tau1[j] = Region1.INSTANCE.basisTau(T);
+                    }
+                    out[k] = Region1.INSTANCE.valuePT(quantity, p, T, pi1, tau1[j]);
+
+                } else {
+                    if (pi2 == null) {
+                        pi2 = Region2.INSTANCE.basisPi(p);
+                    }
+                    if (tau2[j] == null) {
+                        tau2[j] = Region2.INSTANCE.basisTau(T);
+                    }
+                    out[k] = Region2.INSTANCE.valuePT(quantity, p, T, pi2, tau2[j]);
+                }
+            }
+        }
+    }
+
+    /**
+     * Checks whether the given quantity follows from the Gibbs free energy
+     * (derivatives) alone.
+     *
+     * @param quantity quantity
+     * @throws IllegalArgumentException if not
+     */
+    static void checkGibbs(IF97.Quantity quantity) {
+
+        switch (quantity) {
+            case v:
+            case rho:
+            case h:
+            case s:
+            case u:
+            case g:
+            case cp:
+            case cv:
+            case w:
+                return;
+
+            default:
+                throw new IllegalArgumentException("Quantity " + quantity + " is not available for grid evaluation.");
+        }
+    }
+
+    /**
+     * Property as a function of pressure &amp; temperature, for the
+     * quantities accepted by {@link #checkGibbs(IF97.Quantity)}.
+     *
+     * @param region region
+     * @param quantity quantity
+     * @param p pressure [MPa]
+     * @param T temperature [K]
+     * @return value
+     */
+    static double valueGibbs(Region region, IF97.Quantity quantity, double p, double T) {
+
+        switch (quantity) {
+            case v:
+                return region.specificVolumePT(p, T);
+
+            case rho:
+                return 1 / region.specificVolumePT(p, T);
+
+            case h:
+                return region.specificEnthalpyPT(p, T);
+
+            case s:
+                return region.specificEntropyPT(p, T);
+
+            case u:
+                return region.specificInternalEnergyPT(p, T);
+
+            case g:
+                return region.specificGibbsFreeEnergyPT(p, T);
+
+            case cp:
+                return region.specificIsobaricHeatCapacityPT(p, T);
+
+            case cv:
+                return region.specificIsochoricHeatCapacityPT(p, T);
+
+            case w:
+                return region.speedOfSoundPT(p, T);
+
+            default:
+                throw new IllegalArgumentException("Quantity " + quantity + " is not available as a function of pressure & temperature here.");
+        }
+    }
+
+    /**
+     * Property from the dimensionless Gibbs free energy &amp; its
+     * derivatives, for the quantities accepted by
+     * {@link #checkGibbs(IF97.Quantity)}.
+     *
+     * @param quantity quantity
+     * @param pressure pressure [MPa]
+     * @param temperature temperature [K]
+     * @param pi dimensionless pressure
+     * @param tau dimensionless temperature
+     * @param gamma dimensionless Gibbs free energy
+     * @param gammaPi d/dpi gamma
+     * @param gammaPiPi d2/dpi2 gamma
+     * @param gammaTau d/dtau gamma
+     * @param gammaTauTau d2/dtau2 gamma
+     * @param gammaPiTau d/dpi d/dtau gamma
+     * @return value
+     */
+    static double valueGibbs(IF97.Quantity quantity, double pressure, double temperature, double pi, double tau, double gamma, double gammaPi, double gammaPiPi, double gammaTau, double gammaTauTau, double gammaPiTau) {
+
+        double x;
+
+        switch (quantity) {
+            case v:
+                return pi * gammaPi / 1e3 * IF97.R * temperature / pressure;
+
+            case rho:
+                return pressure / (pi * gammaPi / 1e3 * IF97.R * temperature);
+
+            case h:
+                return tau * gammaTau * IF97.R * temperature;
+
+            case s:
+                return (tau * gammaTau - gamma) * IF97.R;
+
+            case u:
+                return (tau * gammaTau - pi * gammaPi) * IF97.R * temperature;
+
+            case g:
+                return gamma * IF97.R * temperature;
+
+            case cp:
+                return -tau * tau * gammaTauTau * IF97.R;
+
+            case cv:
+                x = gammaPi - tau * gammaPiTau;
+
+                return (-tau * tau * gammaTauTau + x * x / gammaPiPi) * IF97.R;
+
+            case w:
+                x = gammaPi - tau * gammaPiTau;
+
+                return sqrt(gammaPi * gammaPi / (x * x / (tau * tau * gammaTauTau) - gammaPiPi) * 1e3 * IF97.R * temperature);
+
+            default:
+                throw new IllegalArgumentException("Quantity " + quantity + " is not available from the Gibbs free energy.");
+        }
+    }
+
+    /**
+     * Fills the jet of a Gibbs free energy of the form ln(pi) + sum n tau^J
+     * (ideal-gas part) + sum n pi^I (tau - offset)^J (residual part), see
+     * {@link #JET_SIZE}. The residual part is always evaluated in full.
+     *
+     * @param Jno ideal-gas terms {J, n}
+     * @param IJnr residual terms {I, J, n}
+     * @param offset tau offset of the residual part
+     * @param pi dimensionless pressure
+     * @param tau dimensionless temperature
+     * @param jet jet
+     */
+    static void jetGibbs(double[][] Jno, double[][] IJnr, double offset, double pi, double tau, double[] jet) {
+
+        double iPi = 1 / pi,
+                iTau = 1 / tau,
+                y = tau - offset,
+                iY = 1 / y,
+                g = log(pi),
+                gP = iPi,
+                gPP = -iPi * iPi,
+                gPPP = 2 * iPi * iPi * iPi,
+                gT = 0,
+                gTT = 0,
+                gTTT = 0,
+                gPT = 0,
+                gPPT = 0,
+                gPTT = 0;
+
+        for (double[] jno : Jno) {
+            double J = jno[0],
+                    b = jno[1] * pow(tau, J),
+                    bT = J * b * iTau,
+                    bTT = (J - 1) * bT * iTau;
+
+            g += b;
+            gT += bT;
+            gTT += bTT;
+            gTTT += (J - 2) * bTT * iTau;
+        }
+        for (double[] ijn : IJnr) {
+            double I = ijn[0],
+                    J = ijn[1],
+                    a = ijn[2] * pow(pi, I),
+                    aP = I * a * iPi,
+                    aPP = (I - 1) * aP * iPi,
+                    b = pow(y, J),
+                    bT = J * b * iY,
+                    bTT = (J - 1) * bT * iY;
+
+            g += a * b;
+            gP += aP * b;
+            gPP += aPP * b;
+            gPPP += (I - 2) * aPP * iPi * b;
+            gT += a * bT;
+            gTT += a * bTT;
+            gTTT += a * (J - 2) * bTT * iY;
+            gPT += aP * bT;
+            gPPT += aPP * bT;
+            gPTT += aP * bTT;
+        }
+        jet[JET] = g;
+        jet[JET_P] = gP;
+        jet[JET_PP] = gPP;
+        jet[JET_PPP] = gPPP;
+        jet[JET_T] = gT;
+        jet[JET_TT] = gTT;
+        jet[JET_TTT] = gTTT;
+        jet[JET_PT] = gPT;
+        jet[JET_PPT] = gPPT;
+        jet[JET_PTT] = gPTT;
+    }
+
+    /**
+     * Property &amp; its partial derivatives with respect to pressure &amp;
+     * temperature from the jet of the dimensionless Gibbs free energy, for
+     * regions 1, 2 &amp; 5.
+     *
+     * @param quantity pressure, temperature, or a quantity accepted by
+     * {@link #checkGibbs(IF97.Quantity)}
+     * @param pRef reference pressure [MPa]
+     * @param Tref reference temperature [K]
+     * @param p pressure [MPa]
+     * @param T temperature [K]
+     * @param jet jet, see {@link #JET_SIZE}
+     * @param out value, d/dp &amp; d/dT [default units]
+     */
+    static void partialsGibbs(IF97.Quantity quantity, double pRef, double Tref, double p, double T, double[] jet, Dual out) {
+
+        double pi = p / pRef,
+                tau = Tref / T,
+                g = jet[JET],
+                gP = jet[JET_P],
+                gPP = jet[JET_PP],
+                gPPP = jet[JET_PPP],
+                gT = jet[JET_T],
+                gTT = jet[JET_TT],
+                gTTT = jet[JET_TTT],
+                gPT = jet[JET_PT],
+                gPPT = jet[JET_PPT],
+                gPTT = jet[JET_PTT],
+                R = IF97.R,
+                RT = R * Tref,
+                value, dPi, dTau, c, x, xPi, xTau;
+
+        switch (quantity) {
+            case p:
+                value = p;
+                dPi = pRef;
+                dTau = 0;
+                break;
+
+            case T:
+                value = T;
+                dPi = 0;
+                dTau = -T / tau;
+                break;
+
+            case v:
+            case rho:
+                c = RT / (1e3 * pRef * tau);
+                value = c * gP;
+                dPi = c * gPP;
+                dTau = c * (gPT - gP / tau);
+
+                if (quantity == IF97.Quantity.rho) {
+                    value = 1 / value;
+                    dPi *= -value * value;
+                    dTau *= -value * value;
+                }
+                break;
+
+            case h:
+                value = RT * gT;
+                dPi = RT * gPT;
+                dTau = RT * gTT;
+                break;
+
+            case s:
+                value = (tau * gT - g) * R;
+                dPi = (tau * gPT - gP) * R;
+                dTau = tau * gTT * R;
+                break;
+
+            case u:
+                value = (gT - pi * gP / tau) * RT;
+                dPi = (gPT - (gP + pi * gPP) / tau) * RT;
+                dTau = (gTT - pi * (gPT - gP / tau) / tau) * RT;
+                break;
+
+            case g:
+                value = g / tau * RT;
+                dPi = gP / tau * RT;
+                dTau = (gT - g / tau) / tau * RT;
+                break;
+
+            case cp:
+                value = -tau * tau * gTT * R;
+                dPi = -tau * tau * gPTT * R;
+                dTau = -tau * (2 * gTT + tau * gTTT) * R;
+                break;
+
+            case cv:
+                x = gP - tau * gPT;
+                xPi = gPP - tau * gPPT;
+                xTau = -tau * gPTT;
+                value = (-tau * tau * gTT + x * x / gPP) * R;
+                dPi = (-tau * tau * gPTT + x * (2 * xPi - x * gPPP / gPP) / gPP) * R;
+                dTau = (-tau * (2 * gTT + tau * gTTT) + x * (2 * xTau - x * gPPT / gPP) / gPP) * R;
+                break;
+
+            case w:
+                x = gP - tau * gPT;
+                xPi = gPP - tau * gPPT;
+                xTau = -tau * gPTT;
+                double a = tau * tau * gTT,
+                        aPi = tau * tau * gPTT,
+                        aTau = tau * (2 * gTT + tau * gTTT),
+                        d = x * x / a - gPP,
+                        dPiD = x * (2 * xPi - x * aPi / a) / a - gPPP,
+                        dTauD = x * (2 * xTau - x * aTau / a) / a - gPPT,
+                        w2 = gP * gP / d,
+                        w2Pi = (2 * gP * gPP - w2 * dPiD) / d,
+                        w2Tau = (2 * gP * gPT - w2 * dTauD) / d;
+
+                c = 1e3 * RT / tau;
+                value = sqrt(c * w2);
+                dPi = c * w2Pi / (2 * value);
+                dTau = c * (w2Tau - w2 / tau) / (2 * value);
+                break;
+
+            default:
+                throw new IllegalArgumentException("Quantity " + quantity + " is not available as a dual number.");
+        }
+        out.partials(value, dPi / pRef, -dTau * tau / T);
+    }
+
+    /**
+     * Get region for the given hint.
+     *
+     * @param hint region hint
+     * @return region
+     */
+    static Region getRegion(IF97.RegionHint hint) {
+
+        switch (hint) {
+            case REGION1:
+                return Region1.INSTANCE;
+
+            case REGION2:
+                return Region2.INSTANCE;
+
+            case REGION3:
+                return Region3.INSTANCE;
+
+            case REGION4:
+                return Region4.INSTANCE;
+
+            default:
+                return Region5.INSTANCE;
+        }
+    }
+
+    /**
+     * Get hinted region as a function of specific enthalpy & specific
+     * entropy. When verifying, pressure is computed with the hinted region's
+     * backward equation and checked against its nearest boundary in the p-h
+     * plane. Region 5 hints are never used, that region has no backward
+     * equations.
+     *
+     * @param enthalpy specific enthalpy [kJ/kg]
+     * @param entropy specific entropy [kJ/(kg K)]
+     * @param hint region hint
+     * @param verify whether to check the nearest boundary of the hinted region
+     * @return hinted region, or the full lookup's region if the hint doesn't
+     * apply or verification fails
+     * @throws OutOfRangeException out-of-range exception
+     */
+    static Region getRegionHS(double enthalpy, double entropy, IF97.RegionHint hint, boolean verify) throws OutOfRangeException {
+
+        if (hint == IF97.RegionHint.REGION5) {
+            return getRegionHS(enthalpy, entropy); // no backward equations
+        }
+        Region region = getRegion(hint);
+
+        if (!verify || isRegionPH(hint, region.pressureHS(enthalpy, entropy), enthalpy)) {
+            return region;
+        }
+        return getRegionHS(enthalpy, entropy);
+    }
+
+    /**
+     * Get hinted region as a function of pressure & specific enthalpy.
+     * Region 5 hints are never used, that region has no backward equations.
+     *
+     * @param pressure pressure [MPa]
+     * @param enthalpy specific enthalpy [kJ/kg]
+     * @param hint region hint
+     * @param verify whether to check the nearest boundary of the hinted region
+     * @return hinted region, or the full lookup's region if the hint doesn't
+     * apply or verification fails
+     * @throws OutOfRangeException out-of-range exception
+     */
+    static Region getRegionPH(double pressure, double enthalpy, IF97.RegionHint hint, boolean verify) throws OutOfRangeException {
+        return hint != IF97.RegionHint.REGION5 && (!verify || isRegionPH(hint, pressure, enthalpy)) ? getRegion(hint) : getRegionPH(pressure, enthalpy);
+    }
+
+    /**
+     * Get hinted region as a function of pressure & specific entropy.
+     * Region 5 hints are never used, that region has no backward equations.
+     *
+     * @param pressure pressure [MPa]
+     * @param entropy specific entropy [kJ/(kg K)]
+     * @param hint region hint
+     * @param verify whether to check the nearest boundary of the hinted region
+     * @return hinted region, or the full lookup's region if the hint doesn't
+     * apply or verification fails
+     * @throws OutOfRangeException out-of-range exception
+     */
+    static Region getRegionPS(double pressure, double entropy, IF97.RegionHint hint, boolean verify) throws OutOfRangeException {
+        return hint != IF97.RegionHint.REGION5 && (!verify || isRegionPS(hint, pressure, entropy)) ? getRegion(hint) : getRegionPS(pressure, entropy);
+    }
+
+    /**
+     * Get hinted region as a function of pressure & temperature. Region 4
+     * hints are never used, two-phase states aren't determined by pressure
+     * & temperature.
+     *
+     * @param pressure pressure [MPa]
+     * @param temperature temperature [K]
+     * @param hint region hint
+     * @param verify whether to check the boundaries of the hinted region
+     * @return hinted region, or the full lookup's region if the hint doesn't
+     * apply or verification fails
+     * @throws OutOfRangeException out-of-range exception
+     */
+    static Region getRegionPT(double pressure, double temperature, IF97.RegionHint hint, boolean verify) throws OutOfRangeException {
+        return hint != IF97.RegionHint.REGION4 && (!verify || isRegionPT(hint, pressure, temperature)) ? getRegion(hint) : getRegionPT(pressure, temperature);
+    }
+
+    /**
+     * Checks whether the given state lies on the hinted side of the nearest
+     * boundary, region 2's upper enthalpy limit (region 5) is not checked.
+     *
+     * @param hint region hint
+     * @param p pressure [MPa]
+     * @param h specific enthalpy [kJ/kg]
+     * @return true if the hint is confirmed
+     */
+    static boolean isRegionPH(IF97.RegionHint hint, double p, double h) {
+
+        if (p < IF97.p0 || p > p132) {
+            return false;
+        }
+        boolean dome = p > ps13 && hs13 <= h && h <= hs23;
+
+        switch (hint) {
+            case REGION1:
+                if (p <= ps13) {
+                    return h < Region1.INSTANCE.specificEnthalpyPT(p, Region4.INSTANCE.saturationTemperatureP(p));
+                }
+                return !dome && h <= Region1.INSTANCE.specificEnthalpyPT(p, T13);
+
+            case REGION2:
+                if (p <= ps13) {
+                    return h > Region2.INSTANCE.specificEnthalpyPT(p, Region4.INSTANCE.saturationTemperatureP(p));
+                }
+                return !dome && h >= Region2.INSTANCE.specificEnthalpyPT(p, temperatureB23P(p));
+
+            case REGION3:
+                if (p <= ps13) {
+                    return false;
+
+                } else if (dome) {
+                    return p > Region4.INSTANCE.saturationPressureB34H(h) * (1 - 4.3e-6);
+
+                } else if (h < IF97.hc) {
+                    return h > Region1.INSTANCE.specificEnthalpyPT(p, T13);
+                }
+                return h < Region2.INSTANCE.specificEnthalpyPT(p, temperatureB23P(p));
+
+            case REGION4:
+                if (p <= ps13) {
+                    double Ts = Region4.INSTANCE.saturationTemperatureP(p);
+
+                    return Region1.INSTANCE.specificEnthalpyPT(p, Ts) <= h && h <= Region2.INSTANCE.specificEnthalpyPT(p, Ts);
+                }
+                return dome && p <= Region4.INSTANCE.saturationPressureB34H(h) * (1 - 4.3e-6);
+
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Checks whether the given state lies on the hinted side of the nearest
+     * boundary, region 2's upper entropy limit (region 5) is not checked.
+     *
+     * @param hint region hint
+     * @param p pressure [MPa]
+     * @param s specific entropy [kJ/(kg K)]
+     * @return true if the hint is confirmed
+     */
+    static boolean isRegionPS(IF97.RegionHint hint, double p, double s) {
+
+        if (p < IF97.p0 || p > p132) {
+            return false;
+        }
+        boolean dome = p >= ps13 && ss13 <= s && s <= ss23 && p < saturationPressure3(s);
+
+        switch (hint) {
+            case REGION1:
+                if (p < ps13) {
+                    return s < Region1.INSTANCE.specificEntropyPT(p, Region4.INSTANCE.saturationTemperatureP(p));
+                }
+                return !dome && s <= Region1.INSTANCE.specificEntropyPT(p, T13);
+
+            case REGION2:
+                if (p < ps13) {
+                    return s > Region2.INSTANCE.specificEntropyPT(p, Region4.INSTANCE.saturationTemperatureP(p));
+                }
+                return !dome && s >= Region2.INSTANCE.specificEntropyPT(p, temperatureB23P(p));
+
+            case REGION3:
+                if (p < ps13 || dome) {
+                    return false;
+
+                } else if (s < IF97.sc) {
+                    return s > Region1.INSTANCE.specificEntropyPT(p, T13);
+                }
+                return s < Region2.INSTANCE.specificEntropyPT(p, temperatureB23P(p));
+
+            case REGION4:
+                if (p < ps13) {
+                    double Ts = Region4.INSTANCE.saturationTemperatureP(p);
+
+                    return Region1.INSTANCE.specificEntropyPT(p, Ts) <= s && s <= Region2.INSTANCE.specificEntropyPT(p, Ts);
+                }
+                return dome;
+
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Checks whether the given state lies within the hinted region.
+     *
+     * @param hint region hint
+     * @param p pressure [MPa]
+     * @param T temperature [K]
+     * @return true if the hint is confirmed
+     */
+    static boolean isRegionPT(IF97.RegionHint hint, double p, double T) {
+
+        if (p <= 0 || p > p132 || T < IF97.T0) {
+            return false;
+        }
+        switch (hint) {
+            case REGION1:
+                return T <= T13 && p > Region4.INSTANCE.saturationPressureT(T);
+
+            case REGION2:
+                if (T > T25) {
+                    return false;
+                }
+                return p <= (T > T13 ? pressureB23(T) : Region4.INSTANCE.saturationPressureT(T));
+
+            case REGION3:
+                return T > T13 && T <= T25 && p > pressureB23(T);
+
+            case REGION5:
+                return T > T25 && T <= T5 && p <= p5;
+
+            default:
+                return false;
         }
     }
 
@@ -414,6 +1212,56 @@ abstract class Region {
      */
     abstract double isothermalCompressibilityPT(double p, double T);
 
+    /**
+     * Fills the jet of the dimensionless free energy at the given state, see
+     * {@link #JET_SIZE}.
+     *
+     * @param p pressure [MPa]
+     * @param T temperature [K]
+     * @param jet jet
+     */
+    abstract void jetPT(double p, double T, double[] jet);
+
+    /**
+     * Fills the jet at the given pressure &amp; specific enthalpy, with the
+     * temperature from the backward equation.
+     *
+     * @param p pressure [MPa]
+     * @param h specific enthalpy [kJ/kg]
+     * @param T temperature [K]
+     * @param jet jet
+     */
+    void jetPH(double p, double h, double T, double[] jet) {
+        jetPT(p, T, jet);
+    }
+
+    /**
+     * Fills the jet at the given pressure &amp; specific entropy, with the
+     * temperature from the backward equation.
+     *
+     * @param p pressure [MPa]
+     * @param s specific entropy [kJ/kg-K]
+     * @param T temperature [K]
+     * @param jet jet
+     */
+    void jetPS(double p, double s, double T, double[] jet) {
+        jetPT(p, T, jet);
+    }
+
+    /**
+     * Property &amp; its partial derivatives with respect to pressure &amp;
+     * temperature, from the jet filled for the same state.
+     *
+     * @param quantity pressure, temperature, specific volume, density,
+     * specific enthalpy, entropy, internal energy, Gibbs free energy, specific
+     * isobaric &amp; isochoric heat capacity, or speed of sound
+     * @param p pressure [MPa]
+     * @param T temperature [K]
+     * @param jet jet
+     * @param out value, d/dp &amp; d/dT [default units]
+     */
+    abstract void partialsPT(IF97.Quantity quantity, double p, double T, double[] jet, Dual out);
+
     /**
      * Isothermal compressibility.
      *
@@ -31,12 +31,17 @@ import static java.lang.StrictMath.*;
  */
 public final class Region1 extends Region {
 
+    /**
+     * Shared instance, created on first use of this region.
+     */
+    static final Region1 INSTANCE = new Region1();
+
     private final double Tref, pRef;
     private final double[][] IJnPT, IJnHS, IJnPH, IJnPS;
 
     Region1() {
 
-        super("Region 1");
+        super(1, "Region 1");
 
         Tref = 1386;
         pRef = 16.53;
@@ -288,6 +293,62 @@ public final class Region1 extends Region {
         return -pi * gammaPiPi(pi, tau) / gammaPi(pi, tau) / pressure;
     }
 
+    @Override
+    void jetPT(double pressure, double temperature, double[] jet) {
+
+        double x0 = 7.1 - pressure / pRef,
+                x1 = Tref / temperature - 1.222,
+                iX0 = 1 / x0,
+                iX1 = 1 / x1,
+                g = 0,
+                gP = 0,
+                gPP = 0,
+                gPPP = 0,
+                gT = 0,
+                gTT = 0,
+                gTTT = 0,
+                gPT = 0,
+                gPPT = 0,
+                gPTT = 0;
+
+        for (double[] ijn : IJnPT) {
+            double I = ijn[0],
+                    J = ijn[1],
+                    a = ijn[2] * pow(x0, I),
+                    aP = -I * a * iX0, // d/dpi (7.1 - pi) = -1
+                    aPP = -(I - 1) * aP * iX0,
+                    b = pow(x1, J),
+                    bT = J * b * iX1,
+                    bTT = (J - 1) * bT * iX1;
+
+            g += a * b;
+            gP += aP * b;
+            gPP += aPP * b;
+            gPPP -= (I - 2) * aPP * iX0 * b;
+            gT += a * bT;
+            gTT += a * bTT;
+            gTTT += a * (J - 2) * bTT * iX1;
+            gPT += aP * bT;
+            gPPT += aPP * bT;
+            gPTT += aP * bTT;
+        }
+        jet[JET] = g;
+        jet[JET_P] = gP;
+        jet[JET_PP] = gPP;
+        jet[JET_PPP] = gPPP;
+        jet[JET_T] = gT;
+        jet[JET_TT] = gTT;
+        jet[JET_TTT] = gTTT;
+        jet[JET_PT] = gPT;
+        jet[JET_PPT] = gPPT;
+        jet[JET_PTT] = gPTT;
+    }
+
+    @Override
+    void partialsPT(Quantity quantity, double pressure, double temperature, double[] jet, Dual out) {
+        partialsGibbs(quantity, pRef, Tref, pressure, temperature, jet, out);
+    }
+
     @Override
     double pressureHS(double enthalpy, double entropy) {
 
@@ -403,4 +464,185 @@ public final class Region1 extends Region {
         }
         return out;
     }
+
+    /**
+     * Pressure basis of the Gibbs free energy terms, for tensor-product
+     * evaluation with {@link #basisTau(double)}: n&middot;x<sup>I</sup> and
+     * its first &amp; second derivative with respect to pi.
+     *
+     * @param pressure pressure [MPa]
+     * @return pressure basis
+     */
+    double[] basisPi(double pressure) {
+
+        int n = IJnPT.length;
+        double x = 7.1 - pressure / pRef;
+        double[] out = new double[3 * n];
+
+        for (int k = 0; k < n; k++) {
+            double I = IJnPT[k][0], N = IJnPT[k][2];
+
+            out[k] = N * pow(x, I);
+            out[n + k] = -N * I * pow(x, I - 1);
+            out[2 * n + k] = N * I * (I - 1) * pow(x, I - 2);
+        }
+        return out;
+    }
+
+    /**
+     * Temperature basis of the Gibbs free energy terms, for tensor-product
+     * evaluation with {@link #basisPi(double)}: y<sup>J</sup> and its first
+     * &amp; second derivative with respect to tau.
+     *
+     * @param temperature temperature [K]
+     * @return temperature basis
+     */
+    double[] basisTau(double temperature) {
+
+        int n = IJnPT.length;
+        double y = Tref / temperature - 1.222;
+        double[] out = new double[3 * n];
+
+        for (int k = 0; k < n; k++) {
+            double J = IJnPT[k][1];
+
+            out[k] = pow(y, J);
+            out[n + k] = J * pow(y, J - 1);
+            out[2 * n + k] = J * (J - 1) * pow(y, J - 2);
+        }
+        return out;
+    }
+
+    /**
+     * Property from precomputed pressure &amp; temperature bases, requires no
+     * further power evaluations.
+     *
+     * @param quantity output quantity
+     * @param pressure pressure [MPa]
+     * @param temperature temperature [K]
+     * @param basisPi pressure basis, see {@link #basisPi(double)}
+     * @param basisTau temperature basis, see {@link #basisTau(double)}
+     * @return value
+     */
+    double valuePT(Quantity quantity, double pressure, double temperature, double[] basisPi, double[] basisTau) {
+
+        int n = IJnPT.length;
+        double gamma = 0, gammaPi = 0, gammaPiPi = 0, gammaTau = 0, gammaTauTau = 0, gammaPiTau = 0;
+
+        for (int k = 0; k < n; k++) {
+            double a = basisPi[k], aPi = basisPi[n + k], b = basisTau[k], bTau = basisTau[n + k];
+
+            gamma += a * b;
+            gammaPi += aPi * b;
+            gammaPiPi += basisPi[2 * n + k] * b;
+            gammaTau += a * bTau;
+            gammaTauTau += a * basisTau[2 * n + k];
+            gammaPiTau += aPi * bTau;
+        }
+        return valueGibbs(quantity, pressure, temperature, pressure / pRef, Tref / temperature, gamma, gammaPi, gammaPiPi, gammaTau, gammaTauTau, gammaPiTau);
+    }
+
+    /**
+     * Isobar with all pressure-dependent factors precomputed, for repeated
+     * evaluation at constant pressure.
+     *
+     * @param pressure pressure [MPa]
+     * @return isobar
+     */
+    Isobar isobar(double pressure) {
+        return new Isobar(pressure);
+    }
+
+    /**
+     * Region 1 at constant pressure, the pressure factors of the Gibbs free
+     * energy and backward equation terms are evaluated once.
+     */
+    final class Isobar {
+
+        private final double P;
+        private final double[] G, G_PI, PH, PS;
+
+        private Isobar(double pressure) {
+
+            double x = 7.1 - pressure / pRef;
+
+            P = pressure;
+            G = new double[IJnPT.length];
+            G_PI = new double[IJnPT.length];
+            PH = new double[IJnPH.length];
+            PS = new double[IJnPS.length];
+
+            for (int i = 0; i < IJnPT.length; i++) {
+                G[i] = IJnPT[i][2] * pow(x, IJnPT[i][0]);
+                G_PI[i] = -IJnPT[i][2] * IJnPT[i][0] * pow(x, IJnPT[i][0] - 1);
+            }
+            for (int i = 0; i < IJnPH.length; i++) {
+                PH[i] = IJnPH[i][2] * pow(pressure, IJnPH[i][0]);
+            }
+            for (int i = 0; i < IJnPS.length; i++) {
+                PS[i] = IJnPS[i][2] * pow(pressure, IJnPS[i][0]);
+            }
+        }
+
+        double specificEnthalpyT(double temperature) {
+
+            double tau = Tref / temperature, y = tau - 1.222, gammaTau = 0;
+
+            for (int i = 0; i < G.length; i++) {
+                gammaTau += G[i] * IJnPT[i][1] * pow(y, IJnPT[i][1] - 1);
+            }
+            return tau * gammaTau * R * temperature;
+        }
+
+        double specificEntropyT(double temperature) {
+
+            double tau = Tref / temperature, y = tau - 1.222, gamma = 0, gammaTau = 0;
+
+            for (int i = 0; i < G.length; i++) {
+                gamma += G[i] * pow(y, IJnPT[i][1]);
+                gammaTau += G[i] * IJnPT[i][1] * pow(y, IJnPT[i][1] - 1);
+            }
+            return (tau * gammaTau - gamma) * R;
+        }
+
+        double specificIsobaricHeatCapacityT(double temperature) {
+
+            double tau = Tref / temperature, y = tau - 1.222, gammaTauTau = 0;
+
+            for (int i = 0; i < G.length; i++) {
+                gammaTauTau += G[i] * IJnPT[i][1] * (IJnPT[i][1] - 1) * pow(y, IJnPT[i][1] - 2);
+            }
+            return -tau * tau * gammaTauTau * R;
+        }
+
+        double specificVolumeT(double temperature) {
+
+            double y = Tref / temperature - 1.222, gammaPi = 0;
+
+            for (int i = 0; i < G_PI.length; i++) {
+                gammaPi += G_PI[i] * pow(y, IJnPT[i][1]);
+            }
+            return P / pRef * gammaPi / 1e3 * R * temperature / P;
+        }
+
+        double temperatureH(double enthalpy) {
+
+            double out = 0, x = enthalpy / 2500 + 1;
+
+            for (int i = 0; i < PH.length; i++) {
+                out += PH[i] * pow(x, IJnPH[i][1]);
+            }
+            return out;
+        }
+
+        double temperatureS(double entropy) {
+
+            double out = 0;
+
+            for (int i = 0; i < PS.length; i++) {
+                out += PS[i] * pow(entropy + 2, IJnPS[i][1]);
+            }
+            return out;
+        }
+    }
 }
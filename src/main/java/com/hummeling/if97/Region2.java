@@ -31,12 +31,36 @@ import static java.lang.StrictMath.*;
  */
 class Region2 extends Region {
 
+    /**
+     * Shared instance, created on first use of this region.
+     */
+    static final Region2 INSTANCE = new Region2();
+
     final double Tref, pRef;
     private final double[][] Jno, IJnr, IJn2aHS, IJn2bHS, IJn2cHS, IJn2aPH, IJn2aPS, IJn2bPH, IJn2bPS, IJn2cPH, IJn2cPS;
+    private final ResidualSeries SERIES;
 
-    Region2(String... name) {
+    Region2() {
+        this(2, "Region 2", 0);
+    }
 
-        super(name.length == 0 ? "Region 2" : name[0]);
+    /**
+     * Region 2 evaluating the residual part with error-bounded truncation
+     * below 1 MPa, see {@link ResidualSeries}.
+     *
+     * @param tolerance relative tolerance, 0 to evaluate all terms
+     */
+    Region2(double tolerance) {
+        this(2, "Region 2", tolerance);
+    }
+
+    Region2(int number, String name) {
+        this(number, name, 0);
+    }
+
+    private Region2(int number, String name, double tolerance) {
+
+        super(number, name);
 
         Tref = 540;
         pRef = 1;
@@ -411,6 +435,7 @@ class Region2 extends Region {
             {7, 3, -0.20874278181886e-10},
             {7, 4, 0.10162166825089e-9},
             {7, 5, -0.16429828281347e-9}};
+        SERIES = tolerance > 0 ? new ResidualSeries(IJnr, 0.5, Tref / T25, Tref / T0, this::gammaOTau, this::gammaOTauTau, tolerance) : null;
     }
 
     private double enthalpy2bc(double pressure) {
@@ -515,6 +540,9 @@ class Region2 extends Region {
      */
     private double gammaR(double pi, double tau) {
 
+        if (SERIES != null) {
+            return SERIES.value(ResidualSeries.GAMMA, pi, tau);
+        }
         double out = 0;
 
         for (double[] ijnr : IJnr) {
@@ -532,6 +560,9 @@ class Region2 extends Region {
      */
     private double gammaRPi(double pi, double tau) {
 
+        if (SERIES != null) {
+            return SERIES.value(ResidualSeries.PI, pi, tau);
+        }
         double out = 0;
 
         for (double[] ijnr : IJnr) {
@@ -549,6 +580,9 @@ class Region2 extends Region {
      */
     private double gammaRPiPi(double pi, double tau) {
 
+        if (SERIES != null) {
+            return SERIES.value(ResidualSeries.PI_PI, pi, tau);
+        }
         double out = 0;
 
         for (double[] ijnr : IJnr) {
@@ -566,6 +600,9 @@ class Region2 extends Region {
      */
     private double gammaRPiTau(double pi, double tau) {
 
+        if (SERIES != null) {
+            return SERIES.value(ResidualSeries.PI_TAU, pi, tau);
+        }
         double out = 0;
 
         for (double[] ijnr : IJnr) {
@@ -583,6 +620,9 @@ class Region2 extends Region {
      */
     private double gammaRTau(double pi, double tau) {
 
+        if (SERIES != null) {
+            return SERIES.value(ResidualSeries.TAU, pi, tau);
+        }
         double out = 0;
 
         for (double[] ijnr : IJnr) {
@@ -600,6 +640,9 @@ class Region2 extends Region {
      */
     private double gammaRTauTau(double pi, double tau) {
 
+        if (SERIES != null) {
+            return SERIES.value(ResidualSeries.TAU_TAU, pi, tau);
+        }
         double out = 0;
 
         for (double[] ijnr : IJnr) {
@@ -608,6 +651,98 @@ class Region2 extends Region {
         return out;
     }
 
+    /**
+     * Pressure basis of the Gibbs free energy terms, for tensor-product
+     * evaluation with {@link #basisTau(double)}: n&middot;pi<sup>I</sup> and
+     * its first &amp; second derivative with respect to pi, followed by the
+     * ideal-gas part.
+     *
+     * @param pressure pressure [MPa]
+     * @return pressure basis
+     */
+    double[] basisPi(double pressure) {
+
+        int n = IJnr.length;
+        double pi = pressure / pRef;
+        double[] out = new double[3 * n + 3];
+
+        for (int k = 0; k < n; k++) {
+            double I = IJnr[k][0], N = IJnr[k][2];
+
+            out[k] = N * pow(pi, I);
+            out[n + k] = N * I * pow(pi, I - 1);
+            out[2 * n + k] = N * I * (I - 1) * pow(pi, I - 2);
+        }
+        out[3 * n] = log(pi);
+        out[3 * n + 1] = 1 / pi;
+        out[3 * n + 2] = -1 / (pi * pi);
+        return out;
+    }
+
+    /**
+     * Temperature basis of the Gibbs free energy terms, for tensor-product
+     * evaluation with {@link #basisPi(double)}: (tau &minus; 0.5)<sup>J</sup> and its
+     * first &amp; second derivative with respect to tau, followed by the
+     * ideal-gas part.
+     *
+     * @param temperature temperature [K]
+     * @return temperature basis
+     */
+    double[] basisTau(double temperature) {
+
+        int n = IJnr.length;
+        double tau = Tref / temperature, y = tau - 0.5;
+        double[] out = new double[3 * n + 3];
+
+        for (int k = 0; k < n; k++) {
+            double J = IJnr[k][1];
+
+            out[k] = pow(y, J);
+            out[n + k] = J * pow(y, J - 1);
+            out[2 * n + k] = J * (J - 1) * pow(y, J - 2);
+        }
+        for (double[] jno : Jno) {
+            out[3 * n] += jno[1] * pow(tau, jno[0]);
+            out[3 * n + 1] += jno[1] * jno[0] * pow(tau, jno[0] - 1);
+            out[3 * n + 2] += jno[1] * jno[0] * (jno[0] - 1) * pow(tau, jno[0] - 2);
+        }
+        return out;
+    }
+
+    /**
+     * Property from precomputed pressure &amp; temperature bases, requires no
+     * further power evaluations.
+     *
+     * @param quantity output quantity
+     * @param pressure pressure [MPa]
+     * @param temperature temperature [K]
+     * @param basisPi pressure basis, see {@link #basisPi(double)}
+     * @param basisTau temperature basis, see {@link #basisTau(double)}
+     * @return value
+     */
+    double valuePT(Quantity quantity, double pressure, double temperature, double[] basisPi, double[] basisTau) {
+
+        int n = IJnr.length;
+        double gamma = basisPi[3 * n] + basisTau[3 * n],
+                gammaPi = basisPi[3 * n + 1],
+                gammaPiPi = basisPi[3 * n + 2],
+                gammaTau = basisTau[3 * n + 1],
+                gammaTauTau = basisTau[3 * n + 2],
+                gammaPiTau = 0;
+
+        for (int k = 0; k < n; k++) {
+            double a = basisPi[k], aPi = basisPi[n + k], b = basisTau[k], bTau = basisTau[n + k];
+
+            gamma += a * b;
+            gammaPi += aPi * b;
+            gammaPiPi += basisPi[2 * n + k] * b;
+            gammaTau += a * bTau;
+            gammaTauTau += a * basisTau[2 * n + k];
+            gammaPiTau += aPi * bTau;
+        }
+        return valueGibbs(quantity, pressure, temperature, pressure / pRef, Tref / temperature, gamma, gammaPi, gammaPiPi, gammaTau, gammaTauTau, gammaPiTau);
+    }
+
     private SubRegion getSubRegionPH(double pressure, double enthalpy) {
 
         return pressure > 4 ? (enthalpy < enthalpy2bc(pressure) ? SubRegion.C : SubRegion.B) : SubRegion.A;
@@ -660,6 +795,16 @@ class Region2 extends Region {
         return (1 - pi * pi * gammaRPiPi(pi, tau)) / (1 + pi * gammaRPi(pi, tau)) / pressure;
     }
 
+    @Override
+    void jetPT(double pressure, double temperature, double[] jet) {
+        jetGibbs(Jno, IJnr, 0.5, pressure / pRef, Tref / temperature, jet);
+    }
+
+    @Override
+    void partialsPT(Quantity quantity, double pressure, double temperature, double[] jet, Dual out) {
+        partialsGibbs(quantity, pRef, Tref, pressure, temperature, jet, out);
+    }
+
     @Override
     /*
      * Pressure as a function of density & temperature.
@@ -934,4 +1079,154 @@ class Region2 extends Region {
 
         A, B, C;
     }
+
+    /**
+     * Isobar with all pressure-dependent factors precomputed, for repeated
+     * evaluation at constant pressure.
+     *
+     * @param pressure pressure [MPa]
+     * @return isobar
+     */
+    Isobar isobar(double pressure) {
+        return new Isobar(pressure);
+    }
+
+    /**
+     * Region 2 at constant pressure, the pressure factors of the Gibbs free
+     * energy and backward equation terms are evaluated once.
+     */
+    final class Isobar {
+
+        private final double P, PI, LN_PI, H_BC;
+        private final double[] GR, GR_PI, PH, PH_BC, PS, PS_BC;
+        private final double[][] IJN_PH, IJN_PH_BC, IJN_PS, IJN_PS_BC;
+
+        private Isobar(double pressure) {
+
+            P = pressure;
+            PI = pressure / pRef;
+            LN_PI = log(PI);
+            GR = new double[IJnr.length];
+            GR_PI = new double[IJnr.length];
+
+            for (int i = 0; i < IJnr.length; i++) {
+                GR[i] = IJnr[i][2] * pow(PI, IJnr[i][0]);
+                GR_PI[i] = IJnr[i][2] * IJnr[i][0] * pow(PI, IJnr[i][0] - 1);
+            }
+            if (pressure > 4) {
+                /*
+                 Subregions 2b & 2c
+                 */
+                H_BC = enthalpy2bc(pressure);
+                IJN_PH = IJn2bPH;
+                IJN_PH_BC = IJn2cPH;
+                IJN_PS = IJn2bPS;
+                IJN_PS_BC = IJn2cPS;
+                PH = factors(IJN_PH, pressure - 2);
+                PH_BC = factors(IJN_PH_BC, pressure + 25);
+
+            } else {
+                /*
+                 Subregion 2a
+                 */
+                H_BC = Double.NaN;
+                IJN_PH = IJn2aPH;
+                IJN_PH_BC = null;
+                IJN_PS = IJn2aPS;
+                IJN_PS_BC = null;
+                PH = factors(IJN_PH, pressure);
+                PH_BC = null;
+            }
+            PS = factors(IJN_PS, pressure);
+            PS_BC = IJN_PS_BC == null ? null : factors(IJN_PS_BC, pressure);
+        }
+
+        private double[] factors(double[][] IJn, double x) {
+
+            double[] out = new double[IJn.length];
+
+            for (int i = 0; i < IJn.length; i++) {
+                out[i] = IJn[i][2] * pow(x, IJn[i][0]);
+            }
+            return out;
+        }
+
+        private double sum(double[] factors, double[][] IJn, double y) {
+
+            double out = 0;
+
+            for (int i = 0; i < factors.length; i++) {
+                out += factors[i] * pow(y, IJn[i][1]);
+            }
+            return out;
+        }
+
+        double specificEnthalpyT(double temperature) {
+
+            double tau = Tref / temperature, y = tau - 0.5, gammaRTau = 0;
+
+            for (int i = 0; i < GR.length; i++) {
+                gammaRTau += GR[i] * IJnr[i][1] * pow(y, IJnr[i][1] - 1);
+            }
+            return tau * (gammaOTau(tau) + gammaRTau) * R * temperature;
+        }
+
+        double specificEntropyT(double temperature) {
+
+            double tau = Tref / temperature, y = tau - 0.5, gammaR = 0, gammaRTau = 0, gammaO = LN_PI;
+
+            for (int i = 0; i < GR.length; i++) {
+                gammaR += GR[i] * pow(y, IJnr[i][1]);
+                gammaRTau += GR[i] * IJnr[i][1] * pow(y, IJnr[i][1] - 1);
+            }
+            for (double[] jno : Jno) {
+                gammaO += jno[1] * pow(tau, jno[0]);
+            }
+            return (tau * (gammaOTau(tau) + gammaRTau) - (gammaO + gammaR)) * R;
+        }
+
+        double specificIsobaricHeatCapacityT(double temperature) {
+
+            double tau = Tref / temperature, y = tau - 0.5, gammaRTauTau = 0;
+
+            for (int i = 0; i < GR.length; i++) {
+                gammaRTauTau += GR[i] * IJnr[i][1] * (IJnr[i][1] - 1) * pow(y, IJnr[i][1] - 2);
+            }
+            return -tau * tau * (gammaOTauTau(tau) + gammaRTauTau) * R;
+        }
+
+        double specificVolumeT(double temperature) {
+
+            double y = Tref / temperature - 0.5, gammaRPi = 0;
+
+            for (int i = 0; i < GR_PI.length; i++) {
+                gammaRPi += GR_PI[i] * pow(y, IJnr[i][1]);
+            }
+            return PI * (1 / PI + gammaRPi) / 1e3 * R * temperature / P;
+        }
+
+        double temperatureH(double enthalpy) {
+
+            double eta = enthalpy / 2000;
+
+            if (PH_BC == null) {
+                return sum(PH, IJN_PH, eta - 2.1);
+
+            } else if (enthalpy < H_BC) {
+                return sum(PH_BC, IJN_PH_BC, eta - 1.8);
+            }
+            return sum(PH, IJN_PH, eta - 2.6);
+        }
+
+        double temperatureS(double entropy) {
+
+            if (PS_BC == null) {
+                return sum(PS, IJN_PS, entropy / 2 - 2);
+
+            } else if (entropy < 5.85) {
+                return sum(PS_BC, IJN_PS_BC, 2 - entropy / 2.9251);
+            }
+            return sum(PS, IJN_PS, 10 - entropy / 0.7853);
+        }
+    }
 }
@@ -32,10 +32,21 @@ import static java.lang.StrictMath.*;
 class Region2Meta extends Region2 {
 
     private final double[][] Jno, IJnr;
+    private final ResidualSeries SERIES;
 
     Region2Meta() {
+        this(0);
+    }
 
-        super("Region 2 metastable-vapour");
+    /**
+     * Region 2 metastable-vapour evaluating the residual part with
+     * error-bounded truncation, see {@link ResidualSeries}.
+     *
+     * @param tolerance relative tolerance, 0 to evaluate all terms
+     */
+    Region2Meta(double tolerance) {
+
+        super(0, "Region 2 metastable-vapour");
 
         Jno = new double[][]{
             {0, -00.96937268393049e1},
@@ -61,6 +72,7 @@ class Region2Meta extends Region2 {
             {4, 10, -.79238375446139e-2},
             {5, 9, -0.22888160778447e-3},
             {5, 10, -.26456501482810e-2}};
+        SERIES = tolerance > 0 ? new ResidualSeries(IJnr, 0.5, Tref / T25, Tref / T0, this::gammaOTau, this::gammaOTauTau, tolerance) : null;
     }
 
     /**
@@ -153,6 +165,9 @@ class Region2Meta extends Region2 {
      */
     private double gammaR(double pi, double tau) {
 
+        if (SERIES != null) {
+            return SERIES.value(ResidualSeries.GAMMA, pi, tau);
+        }
         double out = 0;
 
         for (double[] ijnr : IJnr) {
@@ -170,6 +185,9 @@ class Region2Meta extends Region2 {
      */
     private double gammaRPi(double pi, double tau) {
 
+        if (SERIES != null) {
+            return SERIES.value(ResidualSeries.PI, pi, tau);
+        }
         double out = 0;
 
         for (double[] ijnr : IJnr) {
@@ -187,6 +205,9 @@ class Region2Meta extends Region2 {
      */
     private double gammaRPiPi(double pi, double tau) {
 
+        if (SERIES != null) {
+            return SERIES.value(ResidualSeries.PI_PI, pi, tau);
+        }
         double out = 0;
 
         for (double[] ijnr : IJnr) {
@@ -204,6 +225,9 @@ class Region2Meta extends Region2 {
      */
     private double gammaRPiTau(double pi, double tau) {
 
+        if (SERIES != null) {
+            return SERIES.value(ResidualSeries.PI_TAU, pi, tau);
+        }
         double out = 0;
 
         for (double[] ijnr : IJnr) {
@@ -221,6 +245,9 @@ class Region2Meta extends Region2 {
      */
     private double gammaRTau(double pi, double tau) {
 
+        if (SERIES != null) {
+            return SERIES.value(ResidualSeries.TAU, pi, tau);
+        }
         double out = 0;
 
         for (double[] ijnr : IJnr) {
@@ -238,6 +265,9 @@ class Region2Meta extends Region2 {
      */
     private double gammaRTauTau(double pi, double tau) {
 
+        if (SERIES != null) {
+            return SERIES.value(ResidualSeries.TAU_TAU, pi, tau);
+        }
         double out = 0;
 
         for (double[] ijnr : IJnr) {
@@ -264,6 +294,11 @@ class Region2Meta extends Region2 {
         return (1 - pi * pi * gammaRPiPi(pi, tau)) / (1 + pi * gammaRPi(pi, tau)) / pressure;
     }
 
+    @Override
+    void jetPT(double pressure, double temperature, double[] jet) {
+        jetGibbs(Jno, IJnr, 0.5, pressure / pRef, Tref / temperature, jet);
+    }
+
     @Override
     double specificEnthalpyPT(double pressure, double temperature) {
 
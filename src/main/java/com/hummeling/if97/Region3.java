@@ -32,12 +32,17 @@ import static java.lang.StrictMath.*;
  */
 final class Region3 extends Region {
 
+    /**
+     * Shared instance, created on first use of this region.
+     */
+    static final Region3 INSTANCE = new Region3();
+
     private final double rhoRef, n1;
     private final double[][] IJnPi, IJnOmegaA, IJnOmegaB, IJnOa, IJnOb, IJnPiA, IJnPiB, IJnThetaA, IJnThetaB, IJnTa, IJnTb;
 
     Region3() {
 
-        super("Region 3");
+        super(3, "Region 3");
 
         rhoRef = 322;
         n1 = 0.10658070028513e1;
@@ -724,6 +729,197 @@ final class Region3 extends Region {
         return rho * (2 + delta * phiDeltaDelta(delta, tau) / phiDelta(delta, tau));
     }
 
+    @Override
+    void jetPH(double pressure, double enthalpy, double temperature, double[] jet) {
+        jetRhoT(1 / specificVolumePH(pressure, enthalpy), temperature, jet);
+    }
+
+    @Override
+    void jetPS(double pressure, double entropy, double temperature, double[] jet) {
+        jetRhoT(1 / specificVolumePS(pressure, entropy), temperature, jet);
+    }
+
+    @Override
+    void jetPT(double pressure, double temperature, double[] jet) {
+        jetRhoT(1 / specificVolumePT(pressure, temperature), temperature, jet);
+    }
+
+    /**
+     * Fills the jet of the dimensionless Helmholtz free energy, see
+     * {@link #JET_SIZE}.
+     *
+     * @param density density [kg/m&sup3;]
+     * @param temperature temperature [K]
+     * @param jet jet
+     */
+    void jetRhoT(double density, double temperature, double[] jet) {
+
+        double delta = density / rhoc,
+                tau = Tc / temperature,
+                iDelta = 1 / delta,
+                iTau = 1 / tau,
+                f = n1 * log(delta),
+                fD = n1 * iDelta,
+                fDD = -fD * iDelta,
+                fDDD = -2 * fDD * iDelta,
+                fT = 0,
+                fTT = 0,
+                fTTT = 0,
+                fDT = 0,
+                fDDT = 0,
+                fDTT = 0;
+
+        for (double[] ijn : IJnPi) {
+            double I = ijn[0],
+                    J = ijn[1],
+                    a = ijn[2] * pow(delta, I),
+                    aD = I * a * iDelta,
+                    aDD = (I - 1) * aD * iDelta,
+                    b = pow(tau, J),
+                    bT = J * b * iTau,
+                    bTT = (J - 1) * bT * iTau;
+
+            f += a * b;
+            fD += aD * b;
+            fDD += aDD * b;
+            fDDD += (I - 2) * aDD * iDelta * b;
+            fT += a * bT;
+            fTT += a * bTT;
+            fTTT += a * (J - 2) * bTT * iTau;
+            fDT += aD * bT;
+            fDDT += aDD * bT;
+            fDTT += aD * bTT;
+        }
+        jet[JET] = f;
+        jet[JET_P] = fD;
+        jet[JET_PP] = fDD;
+        jet[JET_PPP] = fDDD;
+        jet[JET_T] = fT;
+        jet[JET_TT] = fTT;
+        jet[JET_TTT] = fTTT;
+        jet[JET_PT] = fDT;
+        jet[JET_PPT] = fDDT;
+        jet[JET_PTT] = fDTT;
+        jet[JET_RHO] = density;
+    }
+
+    /**
+     * Property &amp; its partial derivatives with respect to pressure &amp;
+     * temperature from the jet of the dimensionless Helmholtz free energy:
+     * the derivatives with respect to density &amp; temperature are
+     * transformed using those of the pressure.
+     */
+    @Override
+    void partialsPT(Quantity quantity, double pressure, double temperature, double[] jet, Dual out) {
+
+        double rho = jet[JET_RHO],
+                delta = rho / rhoc,
+                tau = Tc / temperature,
+                f = jet[JET],
+                fD = jet[JET_P],
+                fDD = jet[JET_PP],
+                fDDD = jet[JET_PPP],
+                fT = jet[JET_T],
+                fTT = jet[JET_TT],
+                fTTT = jet[JET_TTT],
+                fDT = jet[JET_PT],
+                fDDT = jet[JET_PPT],
+                fDTT = jet[JET_PTT],
+                RT = R * Tc,
+                c = rhoc * RT / (1e3 * tau),
+                pDelta = c * (2 * delta * fD + delta * delta * fDD),
+                pTau = c * delta * delta * (fDT - fD / tau),
+                value, dDelta, dTau, y, yDelta, yTau, z, zDelta, zTau;
+
+        switch (quantity) {
+            case p:
+                value = pressure;
+                dDelta = pDelta;
+                dTau = pTau;
+                break;
+
+            case T:
+                value = temperature;
+                dDelta = 0;
+                dTau = -temperature / tau;
+                break;
+
+            case v:
+                value = 1 / rho;
+                dDelta = -value / delta;
+                dTau = 0;
+                break;
+
+            case rho:
+                value = rho;
+                dDelta = rhoc;
+                dTau = 0;
+                break;
+
+            case h:
+                value = (fT + delta * fD / tau) * RT;
+                dDelta = (fDT + (fD + delta * fDD) / tau) * RT;
+                dTau = (fTT + delta * (fDT - fD / tau) / tau) * RT;
+                break;
+
+            case s:
+                value = (tau * fT - f) * R;
+                dDelta = (tau * fDT - fD) * R;
+                dTau = tau * fTT * R;
+                break;
+
+            case u:
+                value = fT * RT;
+                dDelta = fDT * RT;
+                dTau = fTT * RT;
+                break;
+
+            case g:
+                value = (f + delta * fD) / tau * RT;
+                dDelta = (2 * fD + delta * fDD) / tau * RT;
+                dTau = (fT + delta * fDT - (f + delta * fD) / tau) / tau * RT;
+                break;
+
+            case cv:
+                value = -tau * tau * fTT * R;
+                dDelta = -tau * tau * fDTT * R;
+                dTau = -tau * (2 * fTT + tau * fTTT) * R;
+                break;
+
+            case cp:
+            case w:
+                y = delta * (fD - tau * fDT);
+                yDelta = fD + delta * fDD - tau * (fDT + delta * fDDT);
+                yTau = -delta * tau * fDTT;
+                z = delta * (2 * fD + delta * fDD);
+                zDelta = 2 * fD + delta * (4 * fDD + delta * fDDD);
+                zTau = delta * (2 * fDT + delta * fDDT);
+
+                if (quantity == Quantity.cp) {
+                    value = (-tau * tau * fTT + y * y / z) * R;
+                    dDelta = (-tau * tau * fDTT + y * (2 * yDelta - y * zDelta / z) / z) * R;
+                    dTau = (-tau * (2 * fTT + tau * fTTT) + y * (2 * yTau - y * zTau / z) / z) * R;
+                    break;
+                }
+                double a = tau * tau * fTT,
+                        aDelta = tau * tau * fDTT,
+                        aTau = tau * (2 * fTT + tau * fTTT),
+                        e = z - y * y / a,
+                        eDelta = zDelta - y * (2 * yDelta - y * aDelta / a) / a,
+                        eTau = zTau - y * (2 * yTau - y * aTau / a) / a;
+
+                c = 1e3 * RT / tau;
+                value = sqrt(c * e);
+                dDelta = c * eDelta / (2 * value);
+                dTau = c * (eTau - e / tau) / (2 * value);
+                break;
+
+            default:
+                throw new IllegalArgumentException("Quantity " + quantity + " is not available as a dual number.");
+        }
+        out.partials(value, dDelta / pDelta, -(dTau - dDelta * pTau / pDelta) * tau / temperature);
+    }
+
     @Override
     double pressureHS(double h, double s) {
 
@@ -801,7 +997,7 @@ final class Region3 extends Region {
                 delta = rho / rhoc,
                 tau = Tc / temperature;
 
-        return phi(delta, tau) * R * temperature + pressure / rho;
+        return phi(delta, tau) * R * temperature + 1e3 * pressure / rho;
     }
 
     @Override
@@ -910,8 +1106,8 @@ final class Region3 extends Region {
                 p3cd = 19.00881189,
                 theta,
                 logPi = log(pi),
-                ps643 = REGION4.saturationPressureT(643.15),
-                Ts = REGION4.saturationTemperatureP(p);
+                ps643 = Region4.INSTANCE.saturationPressureT(643.15),
+                Ts = Region4.INSTANCE.saturationTemperatureP(p);
         double[][] In;
 
         /*
@@ -33,19 +33,115 @@ import static java.lang.StrictMath.*;
  */
 final class Region4 extends Region {
 
+    /**
+     * Shared instance, created on first use of this region.
+     */
+    static final Region4 INSTANCE = new Region4();
+    /**
+     * Shared instance solving the saturation properties above 16.5292 MPa in a
+     * fixed number of steps, see {@link IF97#setBoundedLatency(boolean)}.
+     */
+    static final Region4 BOUNDED_LATENCY = new Region4(true);
+    /**
+     * Number of intervals of the initial guess tables.
+     */
+    private static final int NODES = 32;
+    /**
+     * Maximum of the boundary equation B34H [MPa] and its specific enthalpy
+     * [kJ/kg]. Up to pc the bounded-latency solver returns this enthalpy for
+     * both phases, since the boundary equation has no root there.
+     */
+    private static final double pB34max = 22.063956112411226, hB34max = 2087.2350409493083;
+    /**
+     * Saturated liquid &amp; vapour specific enthalpy [kJ/kg], roots of B34H,
+     * at NODES + 1 pressures from pB34max down to ps13, equidistant in
+     * sqrt(pB34max - p).
+     */
+    private static final double[] H_LIQUID = {
+        2087.2350409493083, 2065.89472618093, 2046.5313644102525, 2029.073021283495,
+        2013.1835338278502, 1998.5116628310348, 1984.7672912574358, 1971.7265048894815,
+        1959.2189050425463, 1947.1140589820238, 1935.310796796888, 1923.7294074070942,
+        1912.306057828731, 1900.9887884405762, 1889.734604377631, 1878.5073350611942,
+        1867.2760436147228, 1856.0138399077928, 1844.696994905678, 1833.3042790187164,
+        1821.8164610490617, 1810.2159136588311, 1798.4862811300068, 1786.6121786599315,
+        1774.5789099419817, 1762.3722085732047, 1749.9780233162478, 1737.3823703168855,
+        1724.5712606953198, 1711.5306767994844, 1698.2465193095868, 1684.7043967200548,
+        1670.8891138328927}, H_VAPOUR = {
+        2087.2350409493083, 2109.970170431706, 2132.891362748457, 2154.9243434338377,
+        2175.637383943149, 2195.056829961838, 2213.3660923873867, 2230.759541846108,
+        2247.4010028293123, 2263.4204519671675, 2278.9201555550853, 2293.9812505138425,
+        2308.668771509593, 2323.035171488843, 2337.1228057865374, 2350.965803981381,
+        2364.5916081780424, 2378.022320287815, 2391.2759010952614, 2404.3672039950116,
+        2417.3088032145106, 2430.111583555956, 2442.7850865024984, 2455.3376443459574,
+        2467.776368337224, 2480.1070788992274, 2492.334267786099, 2504.4611575124263,
+        2516.489868183333, 2528.4216150205584, 2540.2567447355077, 2551.994282799469,
+        2563.630518213102};
+    /**
+     * Saturated liquid &amp; vapour specific volume [m&sup3;/kg], roots of the
+     * region 3 equation at the saturation temperature, at NODES + 1 pressures
+     * from pc down to ps13, equidistant in sqrt(pc - p).
+     */
+    private static final double[] V_LIQUID = {
+        0.003103871642716944, 0.0029838855385675503, 0.002878279724188611, 0.002786845765226603,
+        0.0027070951303975665, 0.0026365945676822483, 0.00257340305794792, 0.002516061342583943,
+        0.0024634816145271627, 0.0024148442438155036, 0.0023695209735814264, 0.0023270213697871613,
+        0.0022869559619533427, 0.002249010667561927, 0.0022129287432901563, 0.002178497791280789,
+        0.0021455402158816785, 0.002113906083587167, 0.002083467691964387, 0.0020541153782098467,
+        0.0020257542428728193, 0.0019983015596563673, 0.001971684706245651, 0.0019458394951120078,
+        0.0019207088140188542, 0.0018962415078863414, 0.0018723914494921884, 0.0018491167579947547,
+        0.0018263791326168927, 0.001804143274843508, 0.001782376376628844, 0.0017610476546911758,
+        0.0017401279121268837}, V_VAPOUR = {
+        0.003103871642716944, 0.003237834960975708, 0.0033769984597135077, 0.0035161189485456313,
+        0.0036523746488139443, 0.003785454273616851, 0.003916126980398272, 0.004045433494932202,
+        0.004174381333922981, 0.004303862528809882, 0.004434649949927117, 0.004567416750538298,
+        0.004702759825515322, 0.004841221354137478, 0.004983307040748791, 0.005129501164793869,
+        0.005280278985573584, 0.005436117113671635, 0.005597502406957413, 0.005764939866308202,
+        0.005938959925671136, 0.006120125465208957, 0.006309038827121935, 0.006506349081056004,
+        0.006712759767968901, 0.006929037346688233, 0.007156020575020777, 0.00739463107686502,
+        0.007645885378529248, 0.007910908742866304, 0.008190951190736658, 0.008487406179064894,
+        0.008801832507945747};
+    private final boolean BOUNDED, TABULATED_BRACKETS;
+    /**
+     * Number of safeguarded Newton steps taken by the bounded-latency solvers.
+     */
+    private final int BOUNDED_STEPS;
     private final int ITERATION_LIMIT;
-    private final double Tref, pRef, TOLERANCE;
+    private final double Tref, pRef, TOLERANCE, BRACKET_STEP;
+    private final PrecisionProfile PROFILE;
     private final double[] n;
     private final double[][] IJnH, IJnS, IJnHS;
 
     Region4() {
+        this(false);
+    }
 
-        super("Region 4");
+    /**
+     * @param bounded whether saturation properties above 16.5292 MPa are
+     * solved in a fixed number of steps
+     */
+    Region4(boolean bounded) {
+        this(bounded, PrecisionProfile.ENGINEERING);
+    }
+
+    /**
+     * @param bounded whether saturation properties above 16.5292 MPa are
+     * solved in a fixed number of steps
+     * @param profile tolerance &amp; iteration budget of those solvers
+     */
+    Region4(boolean bounded, PrecisionProfile profile) {
+
+        super(4, "Region 4");
+
+        BOUNDED = bounded;
+        PROFILE = profile;
 
         Tref = 1;
         pRef = 1;
-        ITERATION_LIMIT = 100;
-        TOLERANCE = 1e-9;
+        ITERATION_LIMIT = profile.ITERATION_LIMIT;
+        TOLERANCE = profile.TOLERANCE;
+        BRACKET_STEP = profile.BRACKET_STEP;
+        TABULATED_BRACKETS = profile.TABULATED_BRACKETS;
+        BOUNDED_STEPS = profile.BOUNDED_STEPS;
         n = new double[]{
             00.11670521452767e4,
             -0.72421316703206e6,
@@ -134,13 +230,9 @@ final class Region4 extends Region {
 
     void checkHS(double enthalpy, double entropy) throws OutOfRangeException {
 
-        if (entropy < ss23) {
-            throw new OutOfRangeException(Quantity.s, entropy, ss23);
+        checkS(entropy);
 
-        } else if (entropy > s2) {
-            throw new OutOfRangeException(Quantity.s, entropy, s2);
-
-        } else if (entropy <= IF97.sc) {
+        if (entropy <= IF97.sc) {
             double h3a = specificEnthalpy3a(entropy);
 
             if (enthalpy > h3a) {
@@ -161,6 +253,19 @@ final class Region4 extends Region {
         }
     }
 
+    /**
+     * Checks the constant entropy limits of {@link #checkHS(double, double)}.
+     */
+    void checkS(double entropy) throws OutOfRangeException {
+
+        if (entropy < ss23) {
+            throw new OutOfRangeException(Quantity.s, entropy, ss23);
+
+        } else if (entropy > s2) {
+            throw new OutOfRangeException(Quantity.s, entropy, s2);
+        }
+    }
+
     void checkP(double pressure) throws OutOfRangeException {
 
         if (pressure < p0) {
@@ -183,8 +288,8 @@ final class Region4 extends Region {
 
     private double[] densitiesRegion3(double pressure, double[] enthalpies) {
         return new double[]{
-            1 / REGION3.specificVolumePH(pressure, enthalpies[0]),
-            1 / REGION3.specificVolumePH(pressure, enthalpies[1])};
+            1 / Region3.INSTANCE.specificVolumePH(pressure, enthalpies[0]),
+            1 / Region3.INSTANCE.specificVolumePH(pressure, enthalpies[1])};
     }
 
     /**
@@ -234,10 +339,10 @@ final class Region4 extends Region {
             /*
              Regions 1 & 2
              */
-            dz_dp_T[0] = IF97.Calculate.partialDerivativePT(Region.REGION1, pressure, T, Quantity.p, Quantity.T, z); // [SI]
-            dz_dp_T[1] = IF97.Calculate.partialDerivativePT(Region.REGION2, pressure, T, Quantity.p, Quantity.T, z); // [SI]
-            dz_dT_p[0] = IF97.Calculate.partialDerivativePT(Region.REGION1, pressure, T, Quantity.T, Quantity.p, z); // [SI]
-            dz_dT_p[1] = IF97.Calculate.partialDerivativePT(Region.REGION2, pressure, T, Quantity.T, Quantity.p, z); // [SI]
+            dz_dp_T[0] = IF97.Calculate.partialDerivativePT(Region1.INSTANCE, pressure, T, Quantity.p, Quantity.T, z); // [SI]
+            dz_dp_T[1] = IF97.Calculate.partialDerivativePT(Region2.INSTANCE, pressure, T, Quantity.p, Quantity.T, z); // [SI]
+            dz_dT_p[0] = IF97.Calculate.partialDerivativePT(Region1.INSTANCE, pressure, T, Quantity.T, Quantity.p, z); // [SI]
+            dz_dT_p[1] = IF97.Calculate.partialDerivativePT(Region2.INSTANCE, pressure, T, Quantity.T, Quantity.p, z); // [SI]
         }
         switch (pT) {
             case p:
@@ -255,11 +360,216 @@ final class Region4 extends Region {
         }
     }
 
+    /**
+     * Sets the initial bracket of the saturated specific enthalpy solvers to
+     * the two nearest values of the given table, for pressure &lt; pB34max.
+     *
+     * @param pressure absolute pressure [MPa]
+     * @param table initial guess table, H_LIQUID or H_VAPOUR
+     * @param h bracket [kJ/kg], lower &amp; upper bound
+     * @param dp B34H residual at the bracket [MPa]
+     */
+    private void bracketB34H(double pressure, double[] table, double[] h, double[] dp) {
+
+        double x = NODES * sqrt((pB34max - pressure) / (pB34max - ps13));
+        int k = min((int) x, NODES - 1);
+
+        h[0] = min(table[k], table[k + 1]);
+        h[1] = max(table[k], table[k + 1]);
+        dp[0] = saturationPressureB34H(h[0]) - pressure;
+        dp[1] = saturationPressureB34H(h[1]) - pressure;
+    }
+
+    /**
+     * Region 3 specific volume at the given pressure &amp; saturation
+     * temperature by Van Wijngaarden/Dekker/Brent root finding [Numerical
+     * Recipes, 3rd ed, 2007], from the given bracket.
+     *
+     * @param pressure absolute pressure [MPa]
+     * @param Ts saturation temperature [K]
+     * @param v bracket [m&sup3;/kg], lower &amp; upper bound, then work space
+     * @param dp region 3 pressure residual at the bracket [MPa], then work
+     * space
+     * @return specific volume [m&sup3;/kg]
+     */
+    private double rootRegion3(double pressure, double Ts, double[] v, double[] dp) {
+
+        v[2] = v[1];
+        dp[2] = dp[1];
+
+        for (int i = 0; i < ITERATION_LIMIT; i++) {
+            if (dp[1] * dp[2] > 0) {
+                v[2] = v[0];
+                dp[2] = dp[0];
+                v[4] = v[3] = v[1] - v[0];
+            }
+            if (abs(dp[2]) < abs(dp[1])) {
+                v[0] = v[1];
+                v[1] = v[2];
+                v[2] = v[0];
+                dp[0] = dp[1];
+                dp[1] = dp[2];
+                dp[2] = dp[0];
+            }
+            double tol1 = 2 * Double.MIN_VALUE * abs(v[1]) + TOLERANCE / 2,
+                    xm = (v[2] - v[1]) / 2;
+
+            if (abs(xm) <= tol1 || dp[1] == 0) {
+                break;
+            }
+            if (abs(v[4]) >= tol1 && abs(dp[0]) > abs(dp[1])) {
+                double s = dp[1] / dp[0], p, q, r;
+
+                if (v[0] == v[2]) {
+                    p = 2 * xm * s;
+                    q = 1 - s;
+                } else {
+                    q = dp[0] / dp[2];
+                    r = dp[1] / dp[2];
+                    p = s * (2 * xm * q * (q - r) - (v[1] - v[0]) * (r - 1));
+                    q = (q - 1) * (r - 1) * (s - 1);
+                }
+                if (p > 0) {
+                    q = -q;
+                }
+                p = abs(p);
+                double min1 = 3 * xm * q - abs(tol1 * q),
+                        min2 = abs(v[4] * q);
+
+                if (2 * p < min(min1, min2)) {
+                    v[4] = v[3];
+                    v[3] = p / q;
+                } else {
+                    v[3] = xm;
+                    v[4] = v[3];
+                }
+            } else {
+                v[3] = xm;
+                v[4] = v[3];
+            }
+            v[0] = v[1];
+            dp[0] = dp[1];
+            v[1] += abs(v[3]) > tol1 ? v[3] : sign(tol1, xm);
+            dp[1] = Region3.INSTANCE.pressureRhoT(1 / v[1], Ts) - pressure;
+        }
+        return v[1];
+    }
+
+    /**
+     * Sets the initial bracket of the saturated specific volume solvers to
+     * the two nearest values of the given table, moved by a node where one
+     * of them lies on the wrong side of the root: a node within rounding of
+     * the pressure, or the critical volume near pc.
+     *
+     * @param pressure absolute pressure [MPa]
+     * @param Ts saturation temperature [K]
+     * @param table initial guess table, V_LIQUID or V_VAPOUR
+     * @param v bracket [m&sup3;/kg], lower &amp; upper bound
+     * @param dp region 3 pressure residual at the bracket [MPa]
+     */
+    private void bracketRegion3(double pressure, double Ts, double[] table, double[] v, double[] dp) {
+
+        double x = NODES * sqrt((pc - pressure) / (pc - ps13));
+        int k = min((int) x, NODES - 1);
+
+        // residual sign on the pc side of the root
+        double sign = table == V_VAPOUR ? 1 : -1;
+
+        v[0] = table[k];
+        v[1] = table[k + 1];
+        dp[0] = Region3.INSTANCE.pressureRhoT(1 / v[0], Ts) - pressure;
+        dp[1] = Region3.INSTANCE.pressureRhoT(1 / v[1], Ts) - pressure;
+
+        while (k + 1 < NODES && sign * dp[1] > 0) {
+            v[0] = v[1];
+            dp[0] = dp[1];
+            v[1] = table[++k + 1];
+            dp[1] = Region3.INSTANCE.pressureRhoT(1 / v[1], Ts) - pressure;
+        }
+        while (k > 0 && sign * dp[0] < 0) {
+            v[1] = v[0];
+            dp[1] = dp[0];
+            v[0] = table[--k];
+            dp[0] = Region3.INSTANCE.pressureRhoT(1 / v[0], Ts) - pressure;
+        }
+        /*
+         Between pc & the first node the critical volume lies between the
+         liquid & unstable roots, the vapour bound then approaches the
+         linear estimate of the root from the critical volume
+         */
+        for (int i = 1; i < ITERATION_LIMIT && sign * dp[0] < 0; i++) {
+            v[0] = table[0] + (table[1] - table[0]) * x * (1 - pow(2, -i));
+            dp[0] = Region3.INSTANCE.pressureRhoT(1 / v[0], Ts) - pressure;
+        }
+        if (sign * dp[0] < 0) {
+            /*
+             Within some 5e-6 MPa of pc the region 3 equation has a single
+             root, below the critical volume
+             */
+            v[0] = V_LIQUID[1];
+            v[1] = table[0];
+            dp[0] = Region3.INSTANCE.pressureRhoT(1 / v[0], Ts) - pressure;
+            dp[1] = Region3.INSTANCE.pressureRhoT(1 / v[1], Ts) - pressure;
+        }
+        if (v[0] > v[1]) {
+            double swap = v[0];
+
+            v[0] = v[1];
+            v[1] = swap;
+            swap = dp[0];
+            dp[0] = dp[1];
+            dp[1] = swap;
+        }
+    }
+
+    /**
+     * Instance with the given settings, the shared instances for the
+     * engineering profile.
+     *
+     * @param bounded whether saturation properties above 16.5292 MPa are
+     * solved in a fixed number of steps
+     * @param profile tolerance &amp; iteration budget of those solvers
+     * @return region 4
+     */
+    static Region4 get(boolean bounded, PrecisionProfile profile) {
+
+        if (profile == PrecisionProfile.ENGINEERING) {
+            return bounded ? BOUNDED_LATENCY : INSTANCE;
+        }
+        return new Region4(bounded, profile);
+    }
+
+    PrecisionProfile getPrecisionProfile() {
+        return PROFILE;
+    }
+
     @Override
     double heatCapacityRatioPT(double pressure, double temperature) {
         return Double.NaN;
     }
 
+    /**
+     * Cubic interpolation in an initial guess table.
+     *
+     * @param table NODES + 1 values at equidistant nodes
+     * @param x position in the table, 0 to NODES
+     * @return interpolated value
+     */
+    private static double interpolate(double[] table, double x) {
+
+        int j = max(0, min((int) x - 1, NODES - 3));
+        double s = x - j;
+
+        return -(s - 1) * (s - 2) * (s - 3) / 6 * table[j]
+                + s * (s - 2) * (s - 3) / 2 * table[j + 1]
+                - s * (s - 1) * (s - 3) / 2 * table[j + 2]
+                + s * (s - 1) * (s - 2) / 6 * table[j + 3];
+    }
+
+    boolean isBounded() {
+        return BOUNDED;
+    }
+
     @Override
     double isentropicExponentPT(double pressure, double temperature) {
         return Double.NaN;
@@ -288,15 +598,15 @@ final class Region4 extends Region {
              */
             double[] h = specificEnthalpiesP(pressure),
                     rho = densitiesRegion3(pressure, h);
-            alpha[0] = REGION3.isobaricCubicExpansionCoefficientRhoT(rho[0], T);
-            alpha[1] = REGION3.isobaricCubicExpansionCoefficientRhoT(rho[1], T);
+            alpha[0] = Region3.INSTANCE.isobaricCubicExpansionCoefficientRhoT(rho[0], T);
+            alpha[1] = Region3.INSTANCE.isobaricCubicExpansionCoefficientRhoT(rho[1], T);
 
         } else {
             /*
              Regions 1 & 2
              */
-            alpha[0] = REGION1.isobaricCubicExpansionCoefficientPT(pressure, T);
-            alpha[1] = REGION2.isobaricCubicExpansionCoefficientPT(pressure, T);
+            alpha[0] = Region1.INSTANCE.isobaricCubicExpansionCoefficientPT(pressure, T);
+            alpha[1] = Region2.INSTANCE.isobaricCubicExpansionCoefficientPT(pressure, T);
         }
         return valueX(vapourFraction, alpha);
     }
@@ -324,19 +634,24 @@ final class Region4 extends Region {
              */
             double[] h = specificEnthalpiesP(pressure),
                     rho = densitiesRegion3(pressure, h);
-            kappaT[0] = REGION3.isothermalCompressibilityRhoT(rho[0], T);
-            kappaT[1] = REGION3.isothermalCompressibilityRhoT(rho[1], T);
+            kappaT[0] = Region3.INSTANCE.isothermalCompressibilityRhoT(rho[0], T);
+            kappaT[1] = Region3.INSTANCE.isothermalCompressibilityRhoT(rho[1], T);
 
         } else {
             /*
              Regions 1 & 2
              */
-            kappaT[0] = REGION1.isothermalCompressibilityPT(pressure, T);
-            kappaT[1] = REGION2.isothermalCompressibilityPT(pressure, T);
+            kappaT[0] = Region1.INSTANCE.isothermalCompressibilityPT(pressure, T);
+            kappaT[1] = Region2.INSTANCE.isothermalCompressibilityPT(pressure, T);
         }
         return valueX(vapourFraction, kappaT);
     }
 
+    @Override
+    void jetPT(double pressure, double temperature, double[] jet) {
+        throw new UnsupportedOperationException("Region 4 states are not determined by pressure & temperature, see Region4.partialsPX().");
+    }
+
     /**
      * Gets the partial derivative of z with respect to p_or_T (pressure or
      * temperature) for constant y in SI units.
@@ -392,6 +707,123 @@ final class Region4 extends Region {
         return dz_dpT[0] + dz * dx_dpT_y + x * (dz_dpT[1] - dz_dpT[0]);
     }
 
+    @Override
+    void partialsPT(Quantity quantity, double pressure, double temperature, double[] jet, Dual out) {
+        throw new UnsupportedOperationException("Region 4 states are not determined by pressure & temperature, see Region4.partialsPX().");
+    }
+
+    /**
+     * Property &amp; its partial derivatives with respect to pressure &amp;
+     * vapour fraction, combining those of saturated liquid &amp; vapour along
+     * the saturation line.
+     *
+     * @param quantity pressure, temperature, specific volume, density,
+     * specific enthalpy, entropy, internal energy, Gibbs free energy, or
+     * vapour fraction
+     * @param pressure saturation pressure [MPa]
+     * @param vapourFraction vapour fraction [-]
+     * @param out value, d/dp &amp; d/dx [default units]
+     */
+    void partialsPX(Quantity quantity, double pressure, double vapourFraction, Dual out) {
+        partialsSaturation(quantity, null, pressure, vapourFraction, out);
+    }
+
+    /**
+     * Property &amp; its partial derivatives with respect to pressure &amp;
+     * specific enthalpy or entropy, with the vapour fraction by the lever
+     * rule.
+     *
+     * @param quantity see {@link #partialsPX(IF97.Quantity, double, double, Dual)}
+     * @param y specific enthalpy or entropy
+     * @param pressure saturation pressure [MPa]
+     * @param value specific enthalpy [kJ/kg] or entropy [kJ/kg-K]
+     * @param out value, d/dp &amp; d/dy [default units]
+     */
+    void partialsPY(Quantity quantity, Quantity y, double pressure, double value, Dual out) {
+        partialsSaturation(quantity, y, pressure, value, out);
+    }
+
+    /**
+     * @param y null for vapour fraction input, else the quantity of the input
+     * @param input vapour fraction or value of y
+     */
+    private void partialsSaturation(Quantity quantity, Quantity y, double pressure, double input, Dual out) {
+
+        switch (quantity) {
+            case cp:
+            case cv:
+            case w:
+                throw new IllegalArgumentException("Quantity " + quantity + " is not available as a dual number in the two-phase region.");
+        }
+        boolean region3 = pressure > ps13;
+        Quantity z = quantity == Quantity.rho ? Quantity.v : quantity; // density isn't linear in vapour fraction
+        double T = saturationTemperatureP(pressure),
+                dT_dp = saturationTemperatureDerivativeP(pressure),
+                zL = 0, zL_p = 0, zL_T = 0, zV = 1, zV_p = 0, zV_T = 0,
+                yL = 0, yL_p = 0, yL_T = 0, yV = 0, yV_p = 0, yV_T = 0;
+        double[] jet = out.JET;
+        Region liquid = region3 ? Region3.INSTANCE : Region1.INSTANCE,
+                vapour = region3 ? Region3.INSTANCE : Region2.INSTANCE;
+
+        /*
+         Saturated liquid
+         */
+        if (region3) {
+            Region3.INSTANCE.jetRhoT(1 / specificVolumeSaturatedLiquidP(pressure), T, jet);
+        } else {
+            liquid.jetPT(pressure, T, jet);
+        }
+        if (quantity != Quantity.x) {
+            liquid.partialsPT(z, pressure, T, jet, out);
+            zL = out.getValue();
+            zL_p = out.partial1;
+            zL_T = out.partial2;
+        }
+        if (y != null) {
+            liquid.partialsPT(y, pressure, T, jet, out);
+            yL = out.getValue();
+            yL_p = out.partial1;
+            yL_T = out.partial2;
+        }
+        /*
+         Saturated vapour
+         */
+        if (region3) {
+            Region3.INSTANCE.jetRhoT(1 / specificVolumeSaturatedVapourP(pressure), T, jet);
+        } else {
+            vapour.jetPT(pressure, T, jet);
+        }
+        if (quantity != Quantity.x) {
+            vapour.partialsPT(z, pressure, T, jet, out);
+            zV = out.getValue();
+            zV_p = out.partial1;
+            zV_T = out.partial2;
+        }
+        if (y != null) {
+            vapour.partialsPT(y, pressure, T, jet, out);
+            yV = out.getValue();
+            yV_p = out.partial1;
+            yV_T = out.partial2;
+        }
+        double x = y == null ? input : (input - yL) / (yV - yL),
+                dzL = zL_p + zL_T * dT_dp,
+                dzV = zV_p + zV_T * dT_dp;
+
+        out.partials(zL + x * (zV - zL), dzL + x * (dzV - dzL), zV - zL);
+
+        if (y != null) {
+            double dyL = yL_p + yL_T * dT_dp,
+                    dyV = yV_p + yV_T * dT_dp;
+
+            out.substitute(dyL + x * (dyV - dyL), yV - yL);
+        }
+        if (quantity == Quantity.rho) {
+            double rho = 1 / out.getValue();
+
+            out.partials(rho, -rho * rho * out.partial1, -rho * rho * out.partial2);
+        }
+    }
+
     /**
      * [IF97 Supplementary Release S04, June 2014]
      *
@@ -444,6 +876,24 @@ final class Region4 extends Region {
         return pi * 22;
     }
 
+    /**
+     * Derivative of {@link #saturationPressureB34H(double)} with respect to
+     * specific enthalpy.
+     *
+     * @param enthalpy specific enthalpy [kJ/kg]
+     * @return dp/dh [MPa kg/kJ]
+     */
+    private double saturationPressureDerivativeB34H(double enthalpy) {
+
+        double eta = enthalpy / 2600, out = 0;
+
+        for (double[] ijn : IJnH) {
+            out += ijn[2] * (ijn[0] * pow(eta - 1.02, ijn[0] - 1) * pow(eta - 0.608, ijn[1])
+                    + ijn[1] * pow(eta - 1.02, ijn[0]) * pow(eta - 0.608, ijn[1] - 1));
+        }
+        return out * 22 / 2600;
+    }
+
     /**
      * Saturation pressure.
      *
@@ -487,6 +937,35 @@ final class Region4 extends Region {
         return (n9plusD - sqrt(n9plusD * n9plusD - 4 * (n[8] + n[9] * D))) / 2 * Tref;
     }
 
+    /**
+     * Derivative of {@link #saturationTemperatureP(double)}.
+     *
+     * @param saturationPressure saturation pressure [MPa]
+     * @return dT/dp [K/MPa]
+     */
+    double saturationTemperatureDerivativeP(double saturationPressure) {
+
+        double beta = pow(saturationPressure / pRef, 0.25),
+                beta2 = beta * beta,
+                E = beta2 + n[2] * beta + n[5],
+                F = n[0] * beta2 + n[3] * beta + n[6],
+                G = n[1] * beta2 + n[4] * beta + n[7],
+                dE = 2 * beta + n[2], // d/dbeta
+                dF = 2 * n[0] * beta + n[3],
+                dG = 2 * n[1] * beta + n[4],
+                Q = sqrt(F * F - 4 * E * G),
+                dQ = (F * dF - 2 * (dE * G + E * dG)) / Q,
+                M = -F - Q,
+                dM = -dF - dQ,
+                D = 2 * G / M,
+                dD = 2 * (dG * M - G * dM) / (M * M),
+                n9plusD = n[9] + D,
+                H = sqrt(n9plusD * n9plusD - 4 * (n[8] + n[9] * D)),
+                dH = dD * (n9plusD - 2 * n[9]) / H;
+
+        return (dD - dH) / 2 * Tref * beta / (4 * saturationPressure);
+    }
+
     /**
      * Method copied from [Numerical Recipes, 2007].
      *
@@ -504,6 +983,42 @@ final class Region4 extends Region {
             specificEnthalpySaturatedVapourP(pressure)};
     }
 
+    /**
+     * Saturated liquid or vapour specific enthalpy for pressure &gt; 16.5292
+     * MPa, in a fixed number of steps: a cubic interpolation in the given
+     * table followed by {@link #BOUNDED_STEPS} Newton steps on B34H, kept
+     * within the bracket of the two nearest table values.
+     *
+     * @param pressure absolute pressure [MPa]
+     * @param table initial guess table, H_LIQUID or H_VAPOUR
+     * @param liquid whether B34H increases with enthalpy in the bracket
+     * @return specific enthalpy [kJ/kg]
+     */
+    private double specificEnthalpyBounded(double pressure, double[] table, boolean liquid) {
+
+        if (pressure >= pB34max) {
+            return hB34max;
+        }
+        double x = NODES * sqrt((pB34max - pressure) / (pB34max - ps13));
+        int k = min((int) x, NODES - 1);
+        double a = min(table[k], table[k + 1]),
+                b = max(table[k], table[k + 1]),
+                h = min(max(interpolate(table, x), a), b);
+
+        for (int i = 0; i < BOUNDED_STEPS; i++) {
+            double dp = saturationPressureB34H(h) - pressure,
+                    next = h - dp / saturationPressureDerivativeB34H(h);
+
+            if ((dp < 0) == liquid) {
+                a = h;
+            } else {
+                b = h;
+            }
+            h = a <= next && next <= b ? next : (a + b) / 2;
+        }
+        return h;
+    }
+
     @Override
     double specificEnthalpyPS(double pressure, double entropy) {
 
@@ -535,7 +1050,8 @@ final class Region4 extends Region {
      * Specific enthalpy saturated liquid.
      *
      * For pressure &gt; 16.5292 MPa the answer is obtained by iteration using
-     * Ridders' root finding algorithm [Numerical Recipes, 3rd ed, 2007].
+     * Ridders' root finding algorithm [Numerical Recipes, 3rd ed, 2007], or
+     * in {@link #BOUNDED_STEPS} Newton steps for the bounded-latency instance.
      *
      * @param pressure absolute pressure [MPa]
      * @return specific enthalpy [kJ/kg]
@@ -546,9 +1062,16 @@ final class Region4 extends Region {
             if (pressure == pc) {
                 return hc;
             }
+            if (BOUNDED) {
+                return specificEnthalpyBounded(pressure, H_LIQUID, true);
+            }
             double[] h = {hs13, hc, Double.NaN, Double.NaN},
                     dp = {ps13 - pressure, pc - pressure, Double.NaN, Double.NaN};
 
+            if (TABULATED_BRACKETS && pressure < pB34max) {
+                bracketB34H(pressure, H_LIQUID, h, dp);
+            }
+
             for (int i = 0; i < ITERATION_LIMIT; i++) {
                 h[2] = (h[0] + h[1]) / 2;
                 dp[2] = saturationPressureB34H(h[2]) - pressure;
@@ -575,7 +1098,7 @@ final class Region4 extends Region {
         } else {
             double Ts = saturationTemperatureP(pressure);
 
-            return REGION1.specificEnthalpyPT(pressure, Ts);
+            return Region1.INSTANCE.specificEnthalpyPT(pressure, Ts);
         }
     }
 
@@ -583,7 +1106,8 @@ final class Region4 extends Region {
      * Specific enthalpy saturated vapour.
      *
      * For pressure &gt; 16.5292 MPa the answer is obtained by iteration using
-     * Ridders' root finding algorithm [Numerical Recipes, 3rd ed, 2007].
+     * Ridders' root finding algorithm [Numerical Recipes, 3rd ed, 2007], or
+     * in {@link #BOUNDED_STEPS} Newton steps for the bounded-latency instance.
      *
      * @param pressure absolute pressure [MPa]
      * @return specific enthalpy [kJ/kg]
@@ -594,9 +1118,16 @@ final class Region4 extends Region {
             if (pressure == pc) {
                 return hc;
             }
+            if (BOUNDED) {
+                return specificEnthalpyBounded(pressure, H_VAPOUR, false);
+            }
             double[] h = {hc, hs23, Double.NaN, Double.NaN},
                     p = {pc - pressure, ps13 - pressure, Double.NaN, Double.NaN};
 
+            if (TABULATED_BRACKETS && pressure < pB34max) {
+                bracketB34H(pressure, H_VAPOUR, h, p);
+            }
+
             for (int i = 0; i < ITERATION_LIMIT; i++) {
                 h[2] = (h[0] + h[1]) / 2;
                 p[2] = saturationPressureB34H(h[2]) - pressure;
@@ -623,7 +1154,7 @@ final class Region4 extends Region {
         } else {
             double Ts = saturationTemperatureP(pressure);
 
-            return REGION2.specificEnthalpyPT(pressure, Ts);
+            return Region2.INSTANCE.specificEnthalpyPT(pressure, Ts);
         }
     }
 
@@ -678,9 +1209,9 @@ final class Region4 extends Region {
         if (pressure > ps13) {
             double v = specificVolumeSaturatedLiquidP(pressure);
 
-            return REGION3.specificEntropyRhoT(1 / v, Ts);
+            return Region3.INSTANCE.specificEntropyRhoT(1 / v, Ts);
         }
-        return REGION1.specificEntropyPT(pressure, Ts);
+        return Region1.INSTANCE.specificEntropyPT(pressure, Ts);
     }
 
     double specificEntropySaturatedVapourP(double pressure) {
@@ -690,9 +1221,9 @@ final class Region4 extends Region {
         if (pressure > ps13) {
             double v = specificVolumeSaturatedVapourP(pressure);
 
-            return REGION3.specificEntropyRhoT(1 / v, Ts);
+            return Region3.INSTANCE.specificEntropyRhoT(1 / v, Ts);
         }
-        return REGION2.specificEntropyPT(pressure, Ts);
+        return Region2.INSTANCE.specificEntropyPT(pressure, Ts);
     }
 
     @Override
@@ -732,9 +1263,9 @@ final class Region4 extends Region {
         if (pressure > ps13) {
             double v = specificVolumeSaturatedLiquidP(pressure);
 
-            return REGION3.specificInternalEnergyRhoT(1 / v, Ts);
+            return Region3.INSTANCE.specificInternalEnergyRhoT(1 / v, Ts);
         }
-        return REGION1.specificInternalEnergyPT(pressure, Ts);
+        return Region1.INSTANCE.specificInternalEnergyPT(pressure, Ts);
     }
 
     double specificInternalEnergySaturatedVapourP(double pressure) {
@@ -744,9 +1275,9 @@ final class Region4 extends Region {
         if (pressure > ps13) {
             double v = specificVolumeSaturatedVapourP(pressure);
 
-            return REGION3.specificInternalEnergyRhoT(1 / v, Ts);
+            return Region3.INSTANCE.specificInternalEnergyRhoT(1 / v, Ts);
         }
-        return REGION2.specificInternalEnergyPT(pressure, Ts);
+        return Region2.INSTANCE.specificInternalEnergyPT(pressure, Ts);
     }
 
     double specificIsobaricHeatCapacityPH(double pressure, double enthalpy) {
@@ -772,15 +1303,15 @@ final class Region4 extends Region {
              */
             double[] h = specificEnthalpiesP(pressure),
                     rho = densitiesRegion3(pressure, h);
-            cp[0] = REGION3.specificIsobaricHeatCapacityRhoT(rho[0], T);
-            cp[1] = REGION3.specificIsobaricHeatCapacityRhoT(rho[1], T);
+            cp[0] = Region3.INSTANCE.specificIsobaricHeatCapacityRhoT(rho[0], T);
+            cp[1] = Region3.INSTANCE.specificIsobaricHeatCapacityRhoT(rho[1], T);
 
         } else {
             /*
              Regions 1 & 2
              */
-            cp[0] = REGION1.specificIsobaricHeatCapacityPT(pressure, T);
-            cp[1] = REGION2.specificIsobaricHeatCapacityPT(pressure, T);
+            cp[0] = Region1.INSTANCE.specificIsobaricHeatCapacityPT(pressure, T);
+            cp[1] = Region2.INSTANCE.specificIsobaricHeatCapacityPT(pressure, T);
         }
         return valueX(vapourFraction, cp);
     }
@@ -808,19 +1339,55 @@ final class Region4 extends Region {
              */
             double[] h = specificEnthalpiesP(pressure),
                     rho = densitiesRegion3(pressure, h);
-            cv[0] = REGION3.specificIsochoricHeatCapacityRhoT(rho[0], T);
-            cv[1] = REGION3.specificIsochoricHeatCapacityRhoT(rho[1], T);
+            cv[0] = Region3.INSTANCE.specificIsochoricHeatCapacityRhoT(rho[0], T);
+            cv[1] = Region3.INSTANCE.specificIsochoricHeatCapacityRhoT(rho[1], T);
 
         } else {
             /*
              Regions 1 & 2
              */
-            cv[0] = REGION1.specificIsochoricHeatCapacityPT(pressure, T);
-            cv[1] = REGION2.specificIsochoricHeatCapacityPT(pressure, T);
+            cv[0] = Region1.INSTANCE.specificIsochoricHeatCapacityPT(pressure, T);
+            cv[1] = Region2.INSTANCE.specificIsochoricHeatCapacityPT(pressure, T);
         }
         return valueX(vapourFraction, cv);
     }
 
+    /**
+     * Saturated liquid or vapour specific volume for pressure &gt; 16.5292
+     * MPa, in a fixed number of steps: a cubic interpolation in the given
+     * table followed by {@link #BOUNDED_STEPS} Newton steps on the region 3
+     * pressure at the saturation temperature, kept within the bracket of the
+     * two nearest table values.
+     *
+     * @param pressure absolute pressure [MPa]
+     * @param Ts saturation temperature [K]
+     * @param table initial guess table, V_LIQUID or V_VAPOUR
+     * @return specific volume [m&sup3;/kg]
+     */
+    private double specificVolumeBounded(double pressure, double Ts, double[] table) {
+
+        double x = NODES * sqrt((pc - pressure) / (pc - ps13));
+        int k = min((int) x, NODES - 1);
+        double a = min(table[k], table[k + 1]),
+                b = max(table[k], table[k + 1]),
+                v = min(max(interpolate(table, x), a), b);
+
+        for (int i = 0; i < BOUNDED_STEPS; i++) {
+            double rho = 1 / v,
+                    dp = Region3.INSTANCE.pressureRhoT(rho, Ts) - pressure,
+                    next = v + dp * v * Region3.INSTANCE.isothermalCompressibilityRhoT(rho, Ts);
+
+            // pressure decreases with volume on both branches
+            if (dp < 0) {
+                b = v;
+            } else {
+                a = v;
+            }
+            v = a <= next && next <= b ? next : (a + b) / 2;
+        }
+        return v;
+    }
+
     @Override
     double specificVolumeHS(double enthalpy, double entropy) {
 
@@ -863,7 +1430,8 @@ final class Region4 extends Region {
      *
      * For pressure &gt; 16.5292 MPa the answer is obtained by iteration using
      * Van Wijngaarden/Dekker/Brent root finding algorithm [Numerical Recipes,
-     * 3rd ed, 2007].
+     * 3rd ed, 2007], or in {@link #BOUNDED_STEPS} Newton steps for the
+     * bounded-latency instance.
      *
      * @param pressure absolute pressure [MPa]
      * @return specific volume [m&sup3;/kg]
@@ -876,71 +1444,19 @@ final class Region4 extends Region {
             if (pressure == pc) {
                 return 1 / rhoc;
             }
-            double[] v = {REGION1.specificVolumePT(ps13, T13), 1 / rhoc, Double.NaN, Double.NaN, Double.NaN},
-                    dp = {REGION3.pressureRhoT(1 / v[0], Ts) - pressure, REGION3.pressureRhoT(rhoc, Ts) - pressure, Double.NaN};
-
-            v[2] = v[1];
-            dp[2] = dp[1];
-
-            for (int i = 0; i < ITERATION_LIMIT; i++) {
-                if (dp[1] * dp[2] > 0) {
-                    v[2] = v[0];
-                    dp[2] = dp[0];
-                    v[4] = v[3] = v[1] - v[0];
-                }
-                if (abs(dp[2]) < abs(dp[1])) {
-                    v[0] = v[1];
-                    v[1] = v[2];
-                    v[2] = v[0];
-                    dp[0] = dp[1];
-                    dp[1] = dp[2];
-                    dp[2] = dp[0];
-                }
-                double tol1 = 2 * Double.MIN_VALUE * abs(v[1]) + TOLERANCE / 2,
-                        xm = (v[2] - v[1]) / 2;
+            if (BOUNDED) {
+                return specificVolumeBounded(pressure, Ts, V_LIQUID);
+            }
+            double[] v = {Region1.INSTANCE.specificVolumePT(ps13, T13), 1 / rhoc, Double.NaN, Double.NaN, Double.NaN},
+                    dp = {Region3.INSTANCE.pressureRhoT(1 / v[0], Ts) - pressure, Region3.INSTANCE.pressureRhoT(rhoc, Ts) - pressure, Double.NaN};
 
-                if (abs(xm) <= tol1 || dp[1] == 0) {
-                    break;
-                }
-                if (abs(v[4]) >= tol1 && abs(dp[0]) > abs(dp[1])) {
-                    double s = dp[1] / dp[0], p, q, r;
-
-                    if (v[0] == v[2]) {
-                        p = 2 * xm * s;
-                        q = 1 - s;
-                    } else {
-                        q = dp[0] / dp[2];
-                        r = dp[1] / dp[2];
-                        p = s * (2 * xm * q * (q - r) - (v[1] - v[0]) * (r - 1));
-                        q = (q - 1) * (r - 1) * (s - 1);
-                    }
-                    if (p > 0) {
-                        q = -q;
-                    }
-                    p = abs(p);
-                    double min1 = 3 * xm * q - abs(tol1 * q),
-                            min2 = abs(v[4] * q);
-
-                    if (2 * p < min(min1, min2)) {
-                        v[4] = v[3];
-                        v[3] = p / q;
-                    } else {
-                        v[3] = xm;
-                        v[4] = v[3];
-                    }
-                } else {
-                    v[3] = xm;
-                    v[4] = v[3];
-                }
-                v[0] = v[1];
-                dp[0] = dp[1];
-                v[1] += abs(v[3]) > tol1 ? v[3] : sign(tol1, xm);
-                dp[1] = REGION3.pressureRhoT(1 / v[1], Ts) - pressure;
+            if (TABULATED_BRACKETS) {
+                bracketRegion3(pressure, Ts, V_LIQUID, v, dp);
             }
-            return v[1];
+            return rootRegion3(pressure, Ts, v, dp);
 
         } else {
-            return REGION1.specificVolumePT(pressure, Ts);
+            return Region1.INSTANCE.specificVolumePT(pressure, Ts);
         }
     }
 
@@ -949,7 +1465,8 @@ final class Region4 extends Region {
      *
      * For pressure &gt; 16.5292 MPa the answer is obtained by iteration using
      * Van Wijngaarden/Dekker/Brent root finding algorithm [Numerical Recipes,
-     * 3rd ed, 2007].
+     * 3rd ed, 2007], or in {@link #BOUNDED_STEPS} Newton steps for the
+     * bounded-latency instance.
      *
      * @param pressure absolute pressure [MPa]
      * @return specific volume [m&sup3;/kg]
@@ -962,82 +1479,43 @@ final class Region4 extends Region {
             if (pressure == pc) {
                 return 1 / rhoc;
             }
-            double[] v = {Double.NaN, REGION2.specificVolumePT(ps13, T13), Double.NaN, Double.NaN, Double.NaN},
-                    dp = {Double.NaN, REGION3.pressureRhoT(1 / v[1], T13) - pressure, Double.NaN};
+            if (BOUNDED) {
+                return specificVolumeBounded(pressure, Ts, V_VAPOUR);
+            }
+            double[] v = {Double.NaN, Region2.INSTANCE.specificVolumePT(ps13, T13), Double.NaN, Double.NaN, Double.NaN},
+                    dp = {Double.NaN, Region3.INSTANCE.pressureRhoT(1 / v[1], Ts) - pressure, Double.NaN};
 
             /*
              Bracket Root
              */
-            for (int i = 0; i < 1000; i++) {
-                v[0] = v[1] - i * 0.001;
-                dp[0] = REGION3.pressureRhoT(1 / v[0], Ts) - pressure;
+            if (TABULATED_BRACKETS) {
+                bracketRegion3(pressure, Ts, V_VAPOUR, v, dp);
 
-                if (dp[0] * dp[1] < 0) {
-                    break;
-                }
-            }
-            v[2] = v[1];
-            dp[2] = dp[1];
+            } else {
+                for (int i = 0, steps = (int) (1 / BRACKET_STEP); i < steps; i++) {
+                    v[0] = v[1] - i * BRACKET_STEP;
+                    dp[0] = Region3.INSTANCE.pressureRhoT(1 / v[0], Ts) - pressure;
 
-            for (int i = 0; i < ITERATION_LIMIT; i++) {
-                if (dp[1] * dp[2] > 0) {
-                    v[2] = v[0];
-                    dp[2] = dp[0];
-                    v[4] = v[3] = v[1] - v[0];
-                }
-                if (abs(dp[2]) < abs(dp[1])) {
-                    v[0] = v[1];
-                    v[1] = v[2];
-                    v[2] = v[0];
-                    dp[0] = dp[1];
-                    dp[1] = dp[2];
-                    dp[2] = dp[0];
-                }
-                double tol1 = 2 * Double.MIN_VALUE * abs(v[1]) + TOLERANCE / 2,
-                        xm = (v[2] - v[1]) / 2;
-
-                if (abs(xm) <= tol1 || dp[1] == 0) {
-                    break;
-                }
-                if (abs(v[4]) >= tol1 && abs(dp[0]) > abs(dp[1])) {
-                    double s = dp[1] / dp[0], p, q, r;
-
-                    if (v[0] == v[2]) {
-                        p = 2 * xm * s;
-                        q = 1 - s;
-                    } else {
-                        q = dp[0] / dp[2];
-                        r = dp[1] / dp[2];
-                        p = s * (2 * xm * q * (q - r) - (v[1] - v[0]) * (r - 1));
-                        q = (q - 1) * (r - 1) * (s - 1);
-                    }
-                    if (p > 0) {
-                        q = -q;
+                    if (dp[0] * dp[1] < 0) {
+                        break;
                     }
-                    p = abs(p);
-                    double min1 = 3 * xm * q - abs(tol1 * q),
-                            min2 = abs(v[4] * q);
-
-                    if (2 * p < min(min1, min2)) {
-                        v[4] = v[3];
-                        v[3] = p / q;
-                    } else {
-                        v[3] = xm;
-                        v[4] = v[3];
-                    }
-                } else {
-                    v[3] = xm;
-                    v[4] = v[3];
                 }
-                v[0] = v[1];
-                dp[0] = dp[1];
-                v[1] += abs(v[3]) > tol1 ? v[3] : sign(tol1, xm);
-                dp[1] = REGION3.pressureRhoT(1 / v[1], Ts) - pressure;
             }
-            return v[1];
+            double vV = rootRegion3(pressure, Ts, v, dp);
+
+            if (!TABULATED_BRACKETS && (vV < 1 / rhoc || Region3.INSTANCE.isothermalCompressibilityRhoT(1 / vV, Ts) < 0)) {
+                /*
+                 Within some 0.05 MPa of pc a scan step spans the vapour &
+                 unstable roots, the scan then brackets the liquid or
+                 unstable root
+                 */
+                bracketRegion3(pressure, Ts, V_VAPOUR, v, dp);
+                vV = rootRegion3(pressure, Ts, v, dp);
+            }
+            return vV;
 
         } else {
-            return REGION2.specificVolumePT(pressure, Ts);
+            return Region2.INSTANCE.specificVolumePT(pressure, Ts);
         }
     }
 
@@ -1070,15 +1548,15 @@ final class Region4 extends Region {
              Region 3
              */
             double[] rho = densitiesRegion3(pressure, h);
-            w[0] = REGION3.speedOfSoundRhoT(rho[0], T);
-            w[1] = REGION3.speedOfSoundRhoT(rho[1], T);
+            w[0] = Region3.INSTANCE.speedOfSoundRhoT(rho[0], T);
+            w[1] = Region3.INSTANCE.speedOfSoundRhoT(rho[1], T);
 
         } else {
             /*
              Regions 1 & 2
              */
-            w[0] = REGION1.speedOfSoundPT(pressure, T);
-            w[1] = REGION2.speedOfSoundPT(pressure, T);
+            w[0] = Region1.INSTANCE.speedOfSoundPT(pressure, T);
+            w[1] = Region2.INSTANCE.speedOfSoundPT(pressure, T);
         }
         return valueX(vapourFraction, w);
     }
@@ -1151,8 +1629,8 @@ final class Region4 extends Region {
             return Double.NaN;
         }
         double[] h = {
-            REGION1.specificEnthalpyPT(ps, Ts),
-            REGION2.specificEnthalpyPT(ps, Ts)};
+            Region1.INSTANCE.specificEnthalpyPT(ps, Ts),
+            Region2.INSTANCE.specificEnthalpyPT(ps, Ts)};
 
         return vapourFraction(enthalpy, h);
     }
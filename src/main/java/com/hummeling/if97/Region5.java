@@ -31,12 +31,28 @@ import static java.lang.StrictMath.*;
  */
 final class Region5 extends Region {
 
+    /**
+     * Shared instance, created on first use of this region.
+     */
+    static final Region5 INSTANCE = new Region5();
+
     final double Tref, pRef;
     final double[][] Jno, IJnr;
+    private final ResidualSeries SERIES;
 
     Region5() {
+        this(0);
+    }
+
+    /**
+     * Region 5 evaluating the residual part with error-bounded truncation
+     * below 1 MPa, see {@link ResidualSeries}.
+     *
+     * @param tolerance relative tolerance, 0 to evaluate all terms
+     */
+    Region5(double tolerance) {
 
-        super("Region 5");
+        super(5, "Region 5");
 
         Tref = 1000;
         pRef = 1;
@@ -54,6 +70,7 @@ final class Region5 extends Region {
             {2, 3, 0.22440037409485e-5},
             {2, 9, -.41163275453471e-5},
             {3, 7, 0.37919454822955e-7}};
+        SERIES = tolerance > 0 ? new ResidualSeries(IJnr, 0, Tref / T5, Tref / T25, this::gammaOTau, this::gammaOTauTau, tolerance) : null;
     }
 
     private double enthalpy2bc(double pressure) {
@@ -155,6 +172,9 @@ final class Region5 extends Region {
      */
     private double gammaR(double pi, double tau) {
 
+        if (SERIES != null) {
+            return SERIES.value(ResidualSeries.GAMMA, pi, tau);
+        }
         double out = 0;
 
         for (double[] ijnr : IJnr) {
@@ -172,6 +192,9 @@ final class Region5 extends Region {
      */
     private double gammaRPi(double pi, double tau) {
 
+        if (SERIES != null) {
+            return SERIES.value(ResidualSeries.PI, pi, tau);
+        }
         double out = 0;
 
         for (double[] ijnr : IJnr) {
@@ -189,6 +212,9 @@ final class Region5 extends Region {
      */
     private double gammaRPiPi(double pi, double tau) {
 
+        if (SERIES != null) {
+            return SERIES.value(ResidualSeries.PI_PI, pi, tau);
+        }
         double out = 0;
 
         for (double[] ijnr : IJnr) {
@@ -206,6 +232,9 @@ final class Region5 extends Region {
      */
     private double gammaRPiTau(double pi, double tau) {
 
+        if (SERIES != null) {
+            return SERIES.value(ResidualSeries.PI_TAU, pi, tau);
+        }
         double out = 0;
 
         for (double[] ijnr : IJnr) {
@@ -223,6 +252,9 @@ final class Region5 extends Region {
      */
     private double gammaRTau(double pi, double tau) {
 
+        if (SERIES != null) {
+            return SERIES.value(ResidualSeries.TAU, pi, tau);
+        }
         double out = 0;
 
         for (double[] ijnr : IJnr) {
@@ -240,6 +272,9 @@ final class Region5 extends Region {
      */
     private double gammaRTauTau(double pi, double tau) {
 
+        if (SERIES != null) {
+            return SERIES.value(ResidualSeries.TAU_TAU, pi, tau);
+        }
         double out = 0;
 
         for (double[] ijnr : IJnr) {
@@ -252,6 +287,98 @@ final class Region5 extends Region {
         return pressure > 4 ? (enthalpy < enthalpy2bc(pressure) ? SubRegion.C : SubRegion.B) : SubRegion.A;
     }
 
+    /**
+     * Pressure basis of the Gibbs free energy terms, for tensor-product
+     * evaluation with {@link #basisTau(double)}: n&middot;pi<sup>I</sup> and
+     * its first &amp; second derivative with respect to pi, followed by the
+     * ideal-gas part.
+     *
+     * @param pressure pressure [MPa]
+     * @return pressure basis
+     */
+    double[] basisPi(double pressure) {
+
+        int n = IJnr.length;
+        double pi = pressure / pRef;
+        double[] out = new double[3 * n + 3];
+
+        for (int k = 0; k < n; k++) {
+            double I = IJnr[k][0], N = IJnr[k][2];
+
+            out[k] = N * pow(pi, I);
+            out[n + k] = N * I * pow(pi, I - 1);
+            out[2 * n + k] = N * I * (I - 1) * pow(pi, I - 2);
+        }
+        out[3 * n] = log(pi);
+        out[3 * n + 1] = 1 / pi;
+        out[3 * n + 2] = -1 / (pi * pi);
+        return out;
+    }
+
+    /**
+     * Temperature basis of the Gibbs free energy terms, for tensor-product
+     * evaluation with {@link #basisPi(double)}: (tau)<sup>J</sup> and its
+     * first &amp; second derivative with respect to tau, followed by the
+     * ideal-gas part.
+     *
+     * @param temperature temperature [K]
+     * @return temperature basis
+     */
+    double[] basisTau(double temperature) {
+
+        int n = IJnr.length;
+        double tau = Tref / temperature, y = tau;
+        double[] out = new double[3 * n + 3];
+
+        for (int k = 0; k < n; k++) {
+            double J = IJnr[k][1];
+
+            out[k] = pow(y, J);
+            out[n + k] = J * pow(y, J - 1);
+            out[2 * n + k] = J * (J - 1) * pow(y, J - 2);
+        }
+        for (double[] jno : Jno) {
+            out[3 * n] += jno[1] * pow(tau, jno[0]);
+            out[3 * n + 1] += jno[1] * jno[0] * pow(tau, jno[0] - 1);
+            out[3 * n + 2] += jno[1] * jno[0] * (jno[0] - 1) * pow(tau, jno[0] - 2);
+        }
+        return out;
+    }
+
+    /**
+     * Property from precomputed pressure &amp; temperature bases, requires no
+     * further power evaluations.
+     *
+     * @param quantity output quantity
+     * @param pressure pressure [MPa]
+     * @param temperature temperature [K]
+     * @param basisPi pressure basis, see {@link #basisPi(double)}
+     * @param basisTau temperature basis, see {@link #basisTau(double)}
+     * @return value
+     */
+    double valuePT(Quantity quantity, double pressure, double temperature, double[] basisPi, double[] basisTau) {
+
+        int n = IJnr.length;
+        double gamma = basisPi[3 * n] + basisTau[3 * n],
+                gammaPi = basisPi[3 * n + 1],
+                gammaPiPi = basisPi[3 * n + 2],
+                gammaTau = basisTau[3 * n + 1],
+                gammaTauTau = basisTau[3 * n + 2],
+                gammaPiTau = 0;
+
+        for (int k = 0; k < n; k++) {
+            double a = basisPi[k], aPi = basisPi[n + k], b = basisTau[k], bTau = basisTau[n + k];
+
+            gamma += a * b;
+            gammaPi += aPi * b;
+            gammaPiPi += basisPi[2 * n + k] * b;
+            gammaTau += a * bTau;
+            gammaTauTau += a * basisTau[2 * n + k];
+            gammaPiTau += aPi * bTau;
+        }
+        return valueGibbs(quantity, pressure, temperature, pressure / pRef, Tref / temperature, gamma, gammaPi, gammaPiPi, gammaTau, gammaTauTau, gammaPiTau);
+    }
+
     @Override
     double heatCapacityRatioPT(double pressure, double temperature) {
 
@@ -293,6 +420,16 @@ final class Region5 extends Region {
         return (1 - pi * pi * gammaRPiPi(pi, tau)) / (1 + pi * gammaRPi(pi, tau)) / pressure;
     }
 
+    @Override
+    void jetPT(double pressure, double temperature, double[] jet) {
+        jetGibbs(Jno, IJnr, 0, pressure / pRef, Tref / temperature, jet);
+    }
+
+    @Override
+    void partialsPT(Quantity quantity, double pressure, double temperature, double[] jet, Dual out) {
+        partialsGibbs(quantity, pRef, Tref, pressure, temperature, jet, out);
+    }
+
     @Override
     double specificEnthalpyPT(double pressure, double temperature) {
 
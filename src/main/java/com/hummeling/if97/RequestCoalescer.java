@@ -0,0 +1,408 @@
+/*
+ * RequestCoalescer.java
+ *
+ * This file is part of IF97.
+ *
+ * IF97 is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option)
+ * any later version.
+ *
+ * IF97 is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with IF97. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Copyright 2009-2022 Hummeling Engineering BV (www.hummeling.com)
+ */
+package com.hummeling.if97;
+
+import com.hummeling.if97.IF97.HintedFunction;
+import com.hummeling.if97.IF97.Quantity;
+import com.hummeling.if97.IF97.RegionHint;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.DoubleBinaryOperator;
+
+/**
+ * Request coalescer, collects single-point requests from concurrent threads
+ * and evaluates them in batches on a worker thread.
+ *
+ * <p>
+ * A batch is closed when it reaches the batch size or when the window has
+ * elapsed since its first request, whichever comes first. A longer window
+ * and larger batch size give larger batches (throughput), a shorter window
+ * lower latency; a zero window only batches requests that are already
+ * queued. Batches are sorted by function and region before evaluation, so
+ * that consecutive evaluations run through the same code, and functions
+ * available with a region hint are evaluated in the region found for
+ * sorting, without a second lookup.</p>
+ *
+ * <p>
+ * Values are in the unit system, and evaluated with the settings, of the IF97
+ * object this coalescer was obtained from. Out-of-range requests complete
+ * exceptionally without
+ * affecting the rest of their batch. Close the coalescer to stop its worker;
+ * requests still queued are evaluated first.</p>
+ *
+ * @author Ralph Hummeling
+ * (<a href="https://www.hummeling.com">www.hummeling.com</a>)
+ * @see IF97#coalescer(long, TimeUnit, int)
+ */
+public final class RequestCoalescer implements AutoCloseable {
+
+    /**
+     * Number of batch size histogram buckets, bucket i counts batches of
+     * 2<sup>i</sup> up to 2<sup>i+1</sup> - 1 requests.
+     */
+    public static final int BUCKETS = 16;
+    private static final Request STOP = new Request(null, 0, 0);
+    private final ImmutableIF97 FACADE;
+    private final long WINDOW;
+    private final int BATCH_SIZE;
+    private final BlockingQueue<Request> QUEUE = new LinkedBlockingQueue<>();
+    private final ConcurrentHashMap<String, Function> FUNCTIONS = new ConcurrentHashMap<>();
+    private final AtomicLong BATCHES = new AtomicLong(), REQUESTS = new AtomicLong(), MAX_BATCH = new AtomicLong();
+    private final AtomicLongArray HISTOGRAM = new AtomicLongArray(BUCKETS);
+    private final Thread WORKER;
+    private volatile boolean closed;
+
+    /**
+     * Creates a coalescer and starts its worker.
+     *
+     * @param settings unit system of the arguments &amp; values, and settings
+     * of the evaluations
+     * @param window batch window
+     * @param unit time unit of the window
+     * @param batchSize maximum batch size
+     */
+    RequestCoalescer(IF97.Builder settings, long window, TimeUnit unit, int batchSize) {
+
+        if (window < 0) {
+            throw new IllegalArgumentException("Window should not be negative: " + window);
+
+        } else if (batchSize < 1) {
+            throw new IllegalArgumentException("Batch size should be positive: " + batchSize);
+        }
+        FACADE = settings.build();
+        WINDOW = unit.toNanos(window);
+        BATCH_SIZE = batchSize;
+        WORKER = new Thread(this::work, "IF97 request coalescer");
+        WORKER.setDaemon(true);
+        WORKER.start();
+    }
+
+    /**
+     * Stops accepting requests, evaluates the ones already queued, and stops
+     * the worker.
+     */
+    @Override
+    public void close() {
+
+        if (closed) {
+            return;
+        }
+        closed = true;
+        QUEUE.add(STOP);
+
+        try {
+            WORKER.join();
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        cancel();
+    }
+
+    /**
+     * Cancels the requests left in the queue.
+     */
+    private void cancel() {
+
+        for (Request request; (request = QUEUE.poll()) != null;) {
+            if (request != STOP) {
+                request.FUTURE.completeExceptionally(new CancellationException("Request coalescer is closed."));
+            }
+        }
+    }
+
+    private void evaluate(List<Request> batch) {
+
+        int size = batch.size();
+        long max;
+
+        BATCHES.incrementAndGet();
+        REQUESTS.addAndGet(size);
+        HISTOGRAM.incrementAndGet(Math.min(31 - Integer.numberOfLeadingZeros(size), BUCKETS - 1));
+
+        do {
+            max = MAX_BATCH.get();
+        } while (size > max && !MAX_BATCH.compareAndSet(max, size));
+
+        for (Request request : batch) {
+            request.region = request.FUNCTION.region(request.VALUE1, request.VALUE2);
+        }
+        batch.sort((a, b) -> a.FUNCTION.ID != b.FUNCTION.ID ? Integer.compare(a.FUNCTION.ID, b.FUNCTION.ID) : Integer.compare(a.region, b.region));
+
+        for (Request request : batch) {
+            if (request.FUTURE.isDone()) {
+                continue;
+            }
+            try {
+                request.FUTURE.complete(request.FUNCTION.apply(request.VALUE1, request.VALUE2, request.region));
+
+            } catch (RuntimeException e) {
+                request.FUTURE.completeExceptionally(e);
+            }
+        }
+    }
+
+    /**
+     * Number of batches formed, counted before evaluation.
+     *
+     * @return batch count
+     */
+    public long getBatchCount() {
+        return BATCHES.get();
+    }
+
+    /**
+     * Batch size histogram, see {@link #BUCKETS}.
+     *
+     * @return histogram (copy)
+     */
+    public long[] getBatchSizeHistogram() {
+
+        long[] out = new long[BUCKETS];
+
+        for (int i = 0; i < BUCKETS; i++) {
+            out[i] = HISTOGRAM.get(i);
+        }
+        return out;
+    }
+
+    /**
+     * Largest batch size so far.
+     *
+     * @return batch size
+     */
+    public long getMaxBatchSize() {
+        return MAX_BATCH.get();
+    }
+
+    /**
+     * Mean batch size so far.
+     *
+     * @return batch size, NaN if no batch has been evaluated
+     */
+    public double getMeanBatchSize() {
+
+        long batches = BATCHES.get();
+
+        return batches == 0 ? Double.NaN : (double) REQUESTS.get() / batches;
+    }
+
+    /**
+     * Number of requests batched, counted before evaluation.
+     *
+     * @return request count
+     */
+    public long getRequestCount() {
+        return REQUESTS.get();
+    }
+
+    /**
+     * Submits a single-point request.
+     *
+     * @param output output quantity
+     * @param input1 first input quantity
+     * @param input2 second input quantity
+     * @param value1 first input value
+     * @param value2 second input value
+     * @return future value
+     * @throws IllegalArgumentException if no function is available for the
+     * given quantities
+     * @throws RejectedExecutionException if this coalescer is closed
+     * @see IF97#function(IF97.Quantity, IF97.Quantity, IF97.Quantity)
+     */
+    public CompletableFuture<Double> submit(Quantity output, Quantity input1, Quantity input2, double value1, double value2) {
+
+        String key = output.name() + '(' + input1.name() + ',' + input2.name() + ')';
+        Function function = FUNCTIONS.get(key);
+
+        if (function == null) {
+            synchronized (FUNCTIONS) {
+                function = FUNCTIONS.computeIfAbsent(key, k -> new Function(FACADE, FUNCTIONS.size(), output, input1, input2));
+            }
+        }
+        Request request = new Request(function, value1, value2);
+
+        if (closed) {
+            throw new RejectedExecutionException("Request coalescer is closed.");
+        }
+        QUEUE.add(request);
+
+        if (closed && QUEUE.remove(request)) {
+            request.FUTURE.completeExceptionally(new CancellationException("Request coalescer is closed."));
+        }
+        return request.FUTURE;
+    }
+
+    /**
+     * Submits a specific volume request.
+     *
+     * @param pressure absolute pressure
+     * @param enthalpy specific enthalpy
+     * @return future specific volume
+     * @see IF97#specificVolumePH(double, double)
+     */
+    public CompletableFuture<Double> specificVolumePH(double pressure, double enthalpy) {
+        return submit(Quantity.v, Quantity.p, Quantity.h, pressure, enthalpy);
+    }
+
+    /**
+     * Submits a specific enthalpy request.
+     *
+     * @param pressure absolute pressure
+     * @param temperature temperature
+     * @return future specific enthalpy
+     * @see IF97#specificEnthalpyPT(double, double)
+     */
+    public CompletableFuture<Double> specificEnthalpyPT(double pressure, double temperature) {
+        return submit(Quantity.h, Quantity.p, Quantity.T, pressure, temperature);
+    }
+
+    /**
+     * Submits a temperature request.
+     *
+     * @param pressure absolute pressure
+     * @param enthalpy specific enthalpy
+     * @return future temperature
+     * @see IF97#temperaturePH(double, double)
+     */
+    public CompletableFuture<Double> temperaturePH(double pressure, double enthalpy) {
+        return submit(Quantity.T, Quantity.p, Quantity.h, pressure, enthalpy);
+    }
+
+    @Override
+    public String toString() {
+        return "RequestCoalescer{window=" + WINDOW + " ns, batch size=" + BATCH_SIZE + ", batches=" + BATCHES.get() + ", requests=" + REQUESTS.get() + "}";
+    }
+
+    private void work() {
+
+        List<Request> batch = new ArrayList<>(BATCH_SIZE);
+        boolean stop = false;
+
+        while (!stop) {
+            try {
+                Request request = QUEUE.take();
+                long end = System.nanoTime() + WINDOW;
+
+                while (request != null) {
+                    if (request == STOP) {
+                        stop = true;
+                        QUEUE.drainTo(batch);
+                        break;
+                    }
+                    batch.add(request);
+
+                    if (batch.size() >= BATCH_SIZE) {
+                        break;
+                    }
+                    request = QUEUE.poll();
+
+                    if (request == null) {
+                        long remaining = end - System.nanoTime();
+
+                        if (remaining > 0) {
+                            request = QUEUE.poll(remaining, TimeUnit.NANOSECONDS);
+                        }
+                    }
+                }
+            } catch (InterruptedException e) {
+                stop = true;
+            }
+            if (!batch.isEmpty()) {
+                evaluate(batch);
+                batch.clear();
+            }
+        }
+        cancel();
+    }
+
+    /**
+     * Function &amp; its region lookup, the latter in default units.
+     */
+    private static final class Function {
+
+        private final int ID;
+        private final Quantity INPUT1, INPUT2;
+        private final DoubleBinaryOperator OPERATOR;
+        private final HintedFunction HINTED;
+        private final double[] CONVERSION1, CONVERSION2;
+
+        private Function(AbstractIF97 if97, int id, Quantity output, Quantity input1, Quantity input2) {
+
+            ID = id;
+            INPUT1 = input1;
+            INPUT2 = input2;
+            OPERATOR = if97.function(output, input1, input2);
+            HINTED = if97.hintedFunction(output, input1, input2);
+            CONVERSION1 = if97.getUnitSystem().getConversion(input1);
+            CONVERSION2 = if97.getUnitSystem().getConversion(input2);
+        }
+
+        /**
+         * Evaluates this function, in the given region if it has a hinted
+         * variant.
+         */
+        private double apply(double value1, double value2, int region) {
+            return HINTED == null || region == 0 ? OPERATOR.applyAsDouble(value1, value2) : HINTED.apply(value1, value2, RegionHint.values()[region - 1]);
+        }
+
+        /**
+         * Region number for sorting, 0 if not applicable.
+         */
+        private int region(double value1, double value2) {
+
+            try {
+                Region region = Region.getRegion(INPUT1, INPUT2, IF97.convertToDefault(CONVERSION1, value1), IF97.convertToDefault(CONVERSION2, value2));
+
+                return region == null ? 0 : region.NUMBER;
+
+            } catch (OutOfRangeException e) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Single-point request, its future is completed by the worker.
+     */
+    private static final class Request {
+
+        private final Function FUNCTION;
+        private final double VALUE1, VALUE2;
+        private final CompletableFuture<Double> FUTURE = new CompletableFuture<>();
+        private int region;
+
+        private Request(Function function, double value1, double value2) {
+            FUNCTION = function;
+            VALUE1 = value1;
+            VALUE2 = value2;
+        }
+    }
+}
@@ -0,0 +1,242 @@
+/*
+ * ResidualSeries.java
+ *
+ * This file is part of IF97.
+ *
+ * IF97 is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option)
+ * any later version.
+ *
+ * IF97 is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with IF97. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Copyright 2009-2022 Hummeling Engineering BV (www.hummeling.com)
+ */
+package com.hummeling.if97;
+
+import java.util.Arrays;
+import java.util.function.DoubleUnaryOperator;
+import static java.lang.StrictMath.*;
+
+/**
+ * Residual part of a Gibbs free energy equation, n&middot;pi<sup>I</sup>
+ * &middot;(tau &minus; offset)<sup>J</sup> summed over the terms, evaluated
+ * with error-bounded truncation.
+ *
+ * <p>
+ * Below pi = 1 the (pi, tau) plane of the region is divided in cells, binary
+ * bands of pi and equidistant bands of |tau &minus; offset|. For every cell
+ * &amp; derivative each term is bounded by its magnitude at the cell's upper
+ * edges, and the terms with the smallest bounds are left out as long as their
+ * sum stays below the tolerance times the magnitude of the ideal-gas
+ * counterpart of the derivative: 1/pi, 1/pi&sup2; &amp; 1/(pi&middot;tau) for
+ * the pi derivatives, and for gamma and its tau derivatives the minimum of
+ * |gamma<sup>o</sup><sub>tau</sub>| &amp; |gamma<sup>o</sup><sub>tautau</sub>|
+ * over the region's temperature range. The remaining terms are precomputed
+ * per cell, so that an evaluation only looks up its cell. At or above pi = 1
+ * or outside the region's temperature range, all terms are evaluated.</p>
+ *
+ * @author Ralph Hummeling
+ * (<a href="https://www.hummeling.com">www.hummeling.com</a>)
+ */
+final class ResidualSeries {
+
+    static final int GAMMA = 0,
+            PI = 1,
+            PI_PI = 2,
+            TAU = 3,
+            TAU_TAU = 4,
+            PI_TAU = 5;
+    private static final int PI_BANDS = 24, // pi down to 2^-24, below which the last band applies
+            Y_BANDS = 16;
+    private static final int[] PI_ORDER = {0, 1, 2, 0, 0, 1},
+            TAU_ORDER = {0, 0, 0, 1, 2, 1};
+    private final double OFFSET, TAU_MIN, TAU_MAX, Y_MAX;
+    private final double[] I, J;
+    private final double[][] C;
+    private final int[] ALL;
+    private final int[][][][] TERMS;
+
+    /**
+     * @param IJn terms {I, J, n}
+     * @param offset tau offset, 0.5 for region 2, 0 for region 5
+     * @param tauMin minimum tau of the region, at least the offset
+     * @param tauMax maximum tau of the region
+     * @param gammaOTau first tau derivative of the ideal-gas part
+     * @param gammaOTauTau second tau derivative of the ideal-gas part
+     * @param tolerance relative tolerance, positive
+     */
+    ResidualSeries(double[][] IJn, double offset, double tauMin, double tauMax, DoubleUnaryOperator gammaOTau, DoubleUnaryOperator gammaOTauTau, double tolerance) {
+
+        if (!(tolerance > 0)) {
+            throw new IllegalArgumentException("Tolerance should be positive: " + tolerance);
+        }
+        int n = IJn.length;
+
+        OFFSET = offset;
+        TAU_MIN = tauMin;
+        TAU_MAX = tauMax;
+        Y_MAX = tauMax - offset;
+        I = new double[n];
+        J = new double[n];
+        C = new double[PI_ORDER.length][n];
+        ALL = new int[n];
+        TERMS = new int[PI_ORDER.length][PI_BANDS][Y_BANDS][];
+
+        for (int k = 0; k < n; k++) {
+            I[k] = IJn[k][0];
+            J[k] = IJn[k][1];
+            ALL[k] = k;
+
+            for (int d = 0; d < PI_ORDER.length; d++) {
+                C[d][k] = IJn[k][2] * factor(I[k], PI_ORDER[d]) * factor(J[k], TAU_ORDER[d]);
+            }
+        }
+        double scaleTau = minimum(gammaOTau, tauMin, tauMax),
+                scaleTauTau = minimum(gammaOTauTau, tauMin, tauMax);
+        double[] bound = new double[n];
+        Integer[] order = new Integer[n];
+
+        for (int d = 0; d < PI_ORDER.length; d++) {
+            for (int a = 0; a < PI_BANDS; a++) {
+                double pi = pow(2, -a); // upper edge
+
+                for (int b = 0; b < Y_BANDS; b++) {
+                    double y = Y_MAX * (b + 1) / Y_BANDS, // upper edge
+                            limit;
+
+                    switch (d) {
+                        case PI:
+                            limit = tolerance / pi;
+                            break;
+
+                        case PI_PI:
+                            limit = tolerance / (pi * pi);
+                            break;
+
+                        case PI_TAU:
+                            limit = tolerance / (pi * (offset + y));
+                            break;
+
+                        case TAU_TAU:
+                            limit = tolerance * scaleTauTau;
+                            break;
+
+                        default:
+                            limit = tolerance * scaleTau;
+                    }
+                    for (int k = 0; k < n; k++) {
+                        bound[k] = C[d][k] == 0 ? 0 : abs(C[d][k]) * pow(pi, I[k] - PI_ORDER[d]) * pow(y, J[k] - TAU_ORDER[d]);
+                        order[k] = k;
+                    }
+                    Arrays.sort(order, (k1, k2) -> Double.compare(bound[k1], bound[k2]));
+
+                    double dropped = 0;
+                    int drop = 0;
+
+                    while (drop < n && dropped + bound[order[drop]] <= limit) {
+                        dropped += bound[order[drop++]];
+                    }
+                    boolean[] keep = new boolean[n];
+
+                    Arrays.fill(keep, true);
+
+                    for (int i = 0; i < drop; i++) {
+                        keep[order[i]] = false;
+                    }
+                    int[] terms = new int[n - drop];
+
+                    for (int k = 0, i = 0; k < n; k++) {
+                        if (keep[k]) {
+                            terms[i++] = k;
+                        }
+                    }
+                    TERMS[d][a][b] = terms;
+                }
+            }
+        }
+    }
+
+    /**
+     * Lower bound of |f| over [a, b], sampled densely with a margin of 1 %,
+     * for the smooth ideal-gas derivatives.
+     */
+    private static double minimum(DoubleUnaryOperator f, double a, double b) {
+
+        double out = Double.POSITIVE_INFINITY;
+
+        for (int i = 0; i <= 1000; i++) {
+            out = min(out, abs(f.applyAsDouble(a + (b - a) * i / 1000)));
+        }
+        return 0.99 * out;
+    }
+
+    /**
+     * @return x, x(x - 1) or 1 for the first, second or no derivative of a
+     * power with exponent x
+     */
+    private static double factor(double x, int order) {
+
+        switch (order) {
+            case 0:
+                return 1;
+
+            case 1:
+                return x;
+
+            default:
+                return x * (x - 1);
+        }
+    }
+
+    /**
+     * Indices of the terms to evaluate, in ascending order.
+     *
+     * @param derivative derivative, e.g. {@link #TAU}
+     * @param pi dimensionless pressure
+     * @param tau dimensionless temperature
+     * @return term indices
+     */
+    int[] terms(int derivative, double pi, double tau) {
+
+        if (!(pi < 1 && TAU_MIN <= tau && tau <= TAU_MAX)) {
+            return ALL;
+        }
+        int a = min(PI_BANDS - 1, -getExponent(pi) - 1),
+                b = min(Y_BANDS - 1, max(0, (int) ceil((tau - OFFSET) / Y_MAX * Y_BANDS) - 1));
+
+        return TERMS[derivative][a][b];
+    }
+
+    /**
+     * Residual part or one of its derivatives, leaving out the terms of which
+     * the sum is bounded by the tolerance times the magnitude of the
+     * ideal-gas counterpart.
+     *
+     * @param derivative derivative, e.g. {@link #TAU}
+     * @param pi dimensionless pressure
+     * @param tau dimensionless temperature
+     * @return value
+     */
+    double value(int derivative, double pi, double tau) {
+
+        double[] c = C[derivative];
+        double y = tau - OFFSET,
+                out = 0;
+        int p = PI_ORDER[derivative],
+                q = TAU_ORDER[derivative];
+
+        for (int k : terms(derivative, pi, tau)) {
+            if (c[k] != 0) {
+                out += c[k] * pow(pi, I[k] - p) * pow(y, J[k] - q);
+            }
+        }
+        return out;
+    }
+}
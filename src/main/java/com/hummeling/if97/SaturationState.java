@@ -0,0 +1,245 @@
+/*
+ * SaturationState.java
+ *
+ * This file is part of IF97.
+ *
+ * IF97 is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option)
+ * any later version.
+ *
+ * IF97 is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with IF97. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Copyright 2009-2022 Hummeling Engineering BV (www.hummeling.com)
+ */
+package com.hummeling.if97;
+
+import com.hummeling.if97.IF97.Quantity;
+import com.hummeling.if97.IF97.UnitSystem;
+
+/**
+ * Saturation state, holds the saturation temperature &amp; pressure and the
+ * properties of saturated liquid and saturated vapour, all computed when the
+ * state is created.
+ *
+ * <p>
+ * Above 16.5292 MPa, the saturated liquid &amp; vapour specific volumes and
+ * enthalpies each require an iteration (see
+ * {@link IF97#specificEnthalpySaturatedLiquidP(double)} and
+ * {@link IF97#specificVolumeSaturatedLiquidP(double)}), these four are done
+ * once per instance and the other properties follow from the iterated
+ * volumes. Quality-dependent properties are subsequently obtained without
+ * further evaluation of the IAPWS-IF97 equations.</p>
+ *
+ * <p>
+ * Values are in the unit system of the IF97 object this state was obtained
+ * from, see {@link IF97#saturationAtP(double)} and
+ * {@link IF97#saturationAtT(double)}. Instances are immutable and can be
+ * shared between threads.</p>
+ *
+ * @author Ralph Hummeling
+ * (<a href="https://www.hummeling.com">www.hummeling.com</a>)
+ */
+public final class SaturationState {
+
+    private static final Quantity[] QUANTITIES = {Quantity.v, Quantity.h, Quantity.s, Quantity.u, Quantity.cp, Quantity.cv, Quantity.w};
+    private final UnitSystem UNIT_SYSTEM;
+    private final double P, T;
+    private final double[] LIQUID, VAPOUR;
+
+    /**
+     * Computes the saturation state at the given pressure.
+     *
+     * @param unitSystem unit system of the resulting values
+     * @param region4 region 4 solving the saturation properties above
+     * 16.5292 MPa
+     * @param pressure saturation pressure [MPa]
+     * @param temperature saturation temperature [K]
+     */
+    SaturationState(UnitSystem unitSystem, Region4 region4, double pressure, double temperature) {
+
+        double Ts = region4.saturationTemperatureP(pressure);
+        double[] liquid = new double[QUANTITIES.length],
+                vapour = new double[QUANTITIES.length];
+
+        if (pressure > Region.ps13) {
+            /*
+             Region 3
+             */
+            double v0 = region4.specificVolumeSaturatedLiquidP(pressure),
+                    v1 = region4.specificVolumeSaturatedVapourP(pressure),
+                    h0 = region4.specificEnthalpySaturatedLiquidP(pressure),
+                    h1 = region4.specificEnthalpySaturatedVapourP(pressure),
+                    rho0 = 1 / v0,
+                    rho1 = 1 / v1;
+
+            liquid[0] = v0;
+            liquid[1] = h0;
+            liquid[2] = Region3.INSTANCE.specificEntropyRhoT(rho0, Ts);
+            liquid[3] = Region3.INSTANCE.specificInternalEnergyRhoT(rho0, Ts);
+            liquid[4] = Region3.INSTANCE.specificIsobaricHeatCapacityRhoT(rho0, Ts);
+            liquid[5] = Region3.INSTANCE.specificIsochoricHeatCapacityRhoT(rho0, Ts);
+            liquid[6] = Region3.INSTANCE.speedOfSoundRhoT(rho0, Ts);
+            vapour[0] = v1;
+            vapour[1] = h1;
+            vapour[2] = Region3.INSTANCE.specificEntropyRhoT(rho1, Ts);
+            vapour[3] = Region3.INSTANCE.specificInternalEnergyRhoT(rho1, Ts);
+            vapour[4] = Region3.INSTANCE.specificIsobaricHeatCapacityRhoT(rho1, Ts);
+            vapour[5] = Region3.INSTANCE.specificIsochoricHeatCapacityRhoT(rho1, Ts);
+            vapour[6] = Region3.INSTANCE.speedOfSoundRhoT(rho1, Ts);
+
+        } else {
+            /*
+             Regions 1 & 2
+             */
+            liquid[0] = Region1.INSTANCE.specificVolumePT(pressure, Ts);
+            liquid[1] = Region1.INSTANCE.specificEnthalpyPT(pressure, Ts);
+            liquid[2] = Region1.INSTANCE.specificEntropyPT(pressure, Ts);
+            liquid[3] = Region1.INSTANCE.specificInternalEnergyPT(pressure, Ts);
+            liquid[4] = Region1.INSTANCE.specificIsobaricHeatCapacityPT(pressure, Ts);
+            liquid[5] = Region1.INSTANCE.specificIsochoricHeatCapacityPT(pressure, Ts);
+            liquid[6] = Region1.INSTANCE.speedOfSoundPT(pressure, Ts);
+            vapour[0] = Region2.INSTANCE.specificVolumePT(pressure, Ts);
+            vapour[1] = Region2.INSTANCE.specificEnthalpyPT(pressure, Ts);
+            vapour[2] = Region2.INSTANCE.specificEntropyPT(pressure, Ts);
+            vapour[3] = Region2.INSTANCE.specificInternalEnergyPT(pressure, Ts);
+            vapour[4] = Region2.INSTANCE.specificIsobaricHeatCapacityPT(pressure, Ts);
+            vapour[5] = Region2.INSTANCE.specificIsochoricHeatCapacityPT(pressure, Ts);
+            vapour[6] = Region2.INSTANCE.speedOfSoundPT(pressure, Ts);
+        }
+        for (int i = 0; i < QUANTITIES.length; i++) {
+            double[] conversion = unitSystem.getConversion(QUANTITIES[i]);
+
+            liquid[i] = IF97.convertFromDefault(conversion, liquid[i]);
+            vapour[i] = IF97.convertFromDefault(conversion, vapour[i]);
+        }
+        UNIT_SYSTEM = unitSystem;
+        P = IF97.convertFromDefault(unitSystem.PRESSURE, pressure);
+        T = IF97.convertFromDefault(unitSystem.TEMPERATURE, temperature);
+        LIQUID = liquid;
+        VAPOUR = vapour;
+    }
+
+    private static int index(Quantity quantity) {
+
+        for (int i = 0; i < QUANTITIES.length; i++) {
+            if (QUANTITIES[i] == quantity) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException("Quantity " + quantity + " is not available for saturation states.");
+    }
+
+    /**
+     * Saturation pressure.
+     *
+     * @return saturation pressure
+     */
+    public double getPressure() {
+        return P;
+    }
+
+    /**
+     * Saturation temperature.
+     *
+     * @return saturation temperature
+     */
+    public double getTemperature() {
+        return T;
+    }
+
+    /**
+     * Unit system of the values of this state.
+     *
+     * @return unit system
+     */
+    public UnitSystem getUnitSystem() {
+        return UNIT_SYSTEM;
+    }
+
+    /**
+     * Saturated liquid property.
+     *
+     * @param quantity specific volume, density, specific enthalpy, specific
+     * entropy, specific internal energy, specific isobaric &amp; isochoric
+     * heat capacity, or speed of sound
+     * @return saturated liquid value
+     * @throws IllegalArgumentException if the quantity is not available
+     */
+    public double liquid(Quantity quantity) {
+        return valueX(quantity, 0);
+    }
+
+    /**
+     * Saturated vapour property.
+     *
+     * @param quantity specific volume, density, specific enthalpy, specific
+     * entropy, specific internal energy, specific isobaric &amp; isochoric
+     * heat capacity, or speed of sound
+     * @return saturated vapour value
+     * @throws IllegalArgumentException if the quantity is not available
+     */
+    public double vapour(Quantity quantity) {
+        return valueX(quantity, 1);
+    }
+
+    /**
+     * Property as a function of vapour fraction, weighted by vapour fraction
+     * like the *PX &amp; *TX methods of {@link IF97}. Density is obtained via
+     * specific volume.
+     *
+     * @param quantity specific volume, density, specific enthalpy, specific
+     * entropy, specific internal energy, specific isobaric &amp; isochoric
+     * heat capacity, or speed of sound
+     * @param vapourFraction vapour fraction [-]
+     * @return value
+     * @throws IllegalArgumentException if the quantity is not available
+     */
+    public double valueX(Quantity quantity, double vapourFraction) {
+
+        if (quantity == Quantity.rho) {
+            double v = IF97.convertToDefault(UNIT_SYSTEM.SPECIFIC_VOLUME, valueX(Quantity.v, vapourFraction));
+
+            return IF97.convertFromDefault(UNIT_SYSTEM.DENSITY, 1 / v);
+        }
+        int i = index(quantity);
+
+        return LIQUID[i] + vapourFraction * (VAPOUR[i] - LIQUID[i]);
+    }
+
+    /**
+     * Vapour fraction as a function of the given property.
+     *
+     * @param quantity specific volume, specific enthalpy, specific entropy, or
+     * specific internal energy
+     * @param value property value
+     * @return vapour fraction [-]
+     * @throws IllegalArgumentException if the quantity is not available
+     */
+    public double vapourFraction(Quantity quantity, double value) {
+
+        switch (quantity) {
+            case v:
+            case h:
+            case s:
+            case u:
+                int i = index(quantity);
+
+                return (value - LIQUID[i]) / (VAPOUR[i] - LIQUID[i]);
+
+            default:
+                throw new IllegalArgumentException("Vapour fraction is not available as a function of " + quantity + ".");
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "SaturationState{p=" + P + ", T=" + T + "}";
+    }
+}
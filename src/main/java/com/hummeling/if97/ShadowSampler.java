@@ -0,0 +1,420 @@
+/*
+ * ShadowSampler.java
+ *
+ * This file is part of IF97.
+ *
+ * IF97 is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option)
+ * any later version.
+ *
+ * IF97 is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with IF97. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Copyright 2009-2022 Hummeling Engineering BV (www.hummeling.com)
+ */
+package com.hummeling.if97;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Shadow sampler, monitors the consistency of the backward equations with the
+ * forward equations in production by checking a random fraction of calls.
+ *
+ * <p>
+ * Attach a sampler to IF97 objects using
+ * {@link IF97#setShadowSampler(ShadowSampler)} or
+ * {@link IF97.Builder#shadowSampler(ShadowSampler)}. On average one in
+ * {@link #getPeriod() period} calls of the sampled methods, see
+ * {@link Check}, hands its arguments &amp; result to a worker thread, which
+ * evaluates the forward equations at the result &amp; accumulates the
+ * deviation from the argument per check &amp; region. The calling thread
+ * only draws a thread-local random number, so the cost of verification is
+ * amortized to near zero for large periods. Samples arriving while the
+ * worker's queue is full are dropped &amp; counted.</p>
+ *
+ * <p>
+ * Deviations are in default units. Two-phase (region 4) states are not
+ * sampled, their temperature &amp; pressure follow from the saturation
+ * equations. In region 3, forward values are evaluated at the density of the
+ * backward specific volume equation, so deviations include that of the
+ * latter. Functions returned by
+ * {@link IF97#function(IF97.Quantity, IF97.Quantity, IF97.Quantity)} are not
+ * sampled.</p>
+ *
+ * <p>
+ * A sampler can be shared by any number of IF97 objects &amp; threads. Close
+ * it to stop its worker; samples still queued are checked first.</p>
+ *
+ * @author Ralph Hummeling
+ * (<a href="https://www.hummeling.com">www.hummeling.com</a>)
+ */
+public final class ShadowSampler implements AutoCloseable {
+
+    /**
+     * Number of regions, accumulators are kept for regions 1 to 5.
+     */
+    public static final int REGIONS = 5;
+    private static final int CAPACITY = 1024;
+    private static final Sample STOP = new Sample(null, null, 0, 0, 0);
+    private final int PERIOD;
+    private final BlockingQueue<Sample> QUEUE = new ArrayBlockingQueue<>(CAPACITY);
+    private final Accumulator[] ACCUMULATORS = new Accumulator[Check.values().length * REGIONS];
+    private final LongAdder DROPPED = new LongAdder();
+    private final Thread WORKER;
+    private volatile boolean closed;
+
+    /**
+     * Creates a sampler and starts its worker.
+     *
+     * @param period average number of calls per sample, 1 to check every call
+     * @throws IllegalArgumentException if the period is not positive
+     */
+    public ShadowSampler(int period) {
+
+        if (period < 1) {
+            throw new IllegalArgumentException("Period should be positive: " + period);
+        }
+        PERIOD = period;
+
+        for (int i = 0; i < ACCUMULATORS.length; i++) {
+            ACCUMULATORS[i] = new Accumulator();
+        }
+        WORKER = new Thread(this::work, "IF97 shadow sampler");
+        WORKER.setDaemon(true);
+        WORKER.start();
+    }
+
+    /**
+     * Stops sampling, checks the samples already queued, and stops the
+     * worker.
+     */
+    @Override
+    public void close() {
+
+        if (closed) {
+            return;
+        }
+        closed = true;
+
+        try {
+            QUEUE.put(STOP);
+            WORKER.join();
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Deviation of the forward equations at the result from the argument, NaN
+     * if not available.
+     *
+     * @param check check
+     * @param region region of the arguments
+     * @param value1 first argument, default units
+     * @param value2 second argument, default units
+     * @param result result, default units
+     * @return deviation, default units
+     */
+    static double deviation(Check check, Region region, double value1, double value2, double result) {
+
+        switch (check) {
+            case TEMPERATURE_PH:
+                if (region.NUMBER == 3) {
+                    double rho = 1 / Region3.INSTANCE.specificVolumePH(value1, value2);
+
+                    return Math.abs(Region3.INSTANCE.specificEnthalpyRhoT(rho, result) - value2);
+                }
+                return Math.abs(region.specificEnthalpyPT(value1, result) - value2);
+
+            case TEMPERATURE_PS:
+                if (region.NUMBER == 3) {
+                    double rho = 1 / Region3.INSTANCE.specificVolumePS(value1, value2);
+
+                    return Math.abs(Region3.INSTANCE.specificEntropyRhoT(rho, result) - value2);
+                }
+                return Math.abs(region.specificEntropyPT(value1, result) - value2);
+
+            default: // PRESSURE_HS
+                double T = region.temperaturePH(result, value1);
+
+                if (region.NUMBER == 3) {
+                    double rho = 1 / Region3.INSTANCE.specificVolumePH(result, value1);
+
+                    return Math.abs(Region3.INSTANCE.specificEntropyRhoT(rho, T) - value2);
+                }
+                return Math.abs(region.specificEntropyPT(result, T) - value2);
+        }
+    }
+
+    /**
+     * Number of samples dropped because the worker's queue was full.
+     *
+     * @return dropped sample count
+     */
+    public long getDroppedCount() {
+        return DROPPED.sum();
+    }
+
+    /**
+     * Average number of calls per sample.
+     *
+     * @return period
+     */
+    public int getPeriod() {
+        return PERIOD;
+    }
+
+    /**
+     * Called by sampled IF97 methods, queues a sample for one in period
+     * calls on average.
+     *
+     * @param check check
+     * @param region region of the arguments
+     * @param value1 first argument, default units
+     * @param value2 second argument, default units
+     * @param result result, default units
+     */
+    void sample(Check check, Region region, double value1, double value2, double result) {
+
+        if (region.NUMBER == 4 || closed || PERIOD > 1 && ThreadLocalRandom.current().nextInt(PERIOD) != 0) {
+            return;
+        }
+        if (!QUEUE.offer(new Sample(check, region, value1, value2, result))) {
+            DROPPED.increment();
+        }
+    }
+
+    /**
+     * Current deviation statistics. Accumulators are read one by one while
+     * the worker may be adding to them, so a snapshot taken while sampling
+     * is consistent per accumulator, not across accumulators.
+     *
+     * @return snapshot
+     */
+    public Snapshot snapshot() {
+        return new Snapshot(ACCUMULATORS, DROPPED.sum());
+    }
+
+    @Override
+    public String toString() {
+        return "ShadowSampler{period=" + PERIOD + ", dropped=" + DROPPED.sum() + "}";
+    }
+
+    private void work() {
+
+        while (true) {
+            Sample sample;
+
+            try {
+                sample = QUEUE.take();
+
+            } catch (InterruptedException e) {
+                return;
+            }
+            if (sample == STOP) {
+                break;
+            }
+            try {
+                double deviation = deviation(sample.CHECK, sample.REGION, sample.VALUE1, sample.VALUE2, sample.RESULT);
+
+                if (!Double.isNaN(deviation)) {
+                    ACCUMULATORS[sample.CHECK.ordinal() * REGIONS + sample.REGION.NUMBER - 1].add(deviation);
+                }
+            } catch (RuntimeException e) {
+                // forward equations not available for this state
+            }
+        }
+        QUEUE.clear();
+    }
+
+    /**
+     * Sampled methods &amp; their round-trip checks.
+     */
+    public enum Check {
+
+        /**
+         * {@link IF97#temperaturePH(double, double)}, deviation |h(p, T) - h|
+         * [kJ/kg].
+         */
+        TEMPERATURE_PH,
+        /**
+         * {@link IF97#temperaturePS(double, double)}, deviation |s(p, T) - s|
+         * [kJ/kg-K].
+         */
+        TEMPERATURE_PS,
+        /**
+         * {@link IF97#pressureHS(double, double)}, deviation |s(p, T(p, h)) -
+         * s| [kJ/kg-K].
+         */
+        PRESSURE_HS;
+    }
+
+    /**
+     * Lock-free deviation accumulator of a check &amp; region.
+     */
+    private static final class Accumulator {
+
+        private final LongAdder COUNT = new LongAdder();
+        private final DoubleAdder SUM = new DoubleAdder();
+        private final AtomicLong MAX = new AtomicLong(); // bits of a non-negative double, ordered as long
+
+        private void add(double deviation) {
+
+            long bits = Double.doubleToLongBits(deviation), max;
+
+            COUNT.increment();
+            SUM.add(deviation);
+
+            do {
+                max = MAX.get();
+            } while (bits > max && !MAX.compareAndSet(max, bits));
+        }
+    }
+
+    /**
+     * Queued call.
+     */
+    private static final class Sample {
+
+        private final Check CHECK;
+        private final Region REGION;
+        private final double VALUE1, VALUE2, RESULT;
+
+        private Sample(Check check, Region region, double value1, double value2, double result) {
+            CHECK = check;
+            REGION = region;
+            VALUE1 = value1;
+            VALUE2 = value2;
+            RESULT = result;
+        }
+    }
+
+    /**
+     * Deviation statistics per check &amp; region, in default units.
+     */
+    public static final class Snapshot {
+
+        private final long[] COUNTS;
+        private final double[] SUMS, MAXIMA;
+        private final long DROPPED_COUNT;
+
+        private Snapshot(Accumulator[] accumulators, long dropped) {
+
+            COUNTS = new long[accumulators.length];
+            SUMS = new double[accumulators.length];
+            MAXIMA = new double[accumulators.length];
+            DROPPED_COUNT = dropped;
+
+            for (int i = 0; i < accumulators.length; i++) {
+                COUNTS[i] = accumulators[i].COUNT.sum();
+                SUMS[i] = accumulators[i].SUM.sum();
+                MAXIMA[i] = Double.longBitsToDouble(accumulators[i].MAX.get());
+            }
+        }
+
+        private static int index(Check check, int region) {
+
+            if (region < 1 || region > REGIONS) {
+                throw new IllegalArgumentException("Region should be 1 to " + REGIONS + ": " + region);
+            }
+            return check.ordinal() * REGIONS + region - 1;
+        }
+
+        /**
+         * Number of checked samples.
+         *
+         * @param check check
+         * @param region region number
+         * @return sample count
+         */
+        public long getCount(Check check, int region) {
+            return COUNTS[index(check, region)];
+        }
+
+        /**
+         * Number of samples dropped because the worker's queue was full.
+         *
+         * @return dropped sample count
+         */
+        public long getDroppedCount() {
+            return DROPPED_COUNT;
+        }
+
+        /**
+         * Largest deviation.
+         *
+         * @param check check
+         * @param region region number
+         * @return deviation, NaN if no sample has been checked
+         */
+        public double getMaxDeviation(Check check, int region) {
+
+            int i = index(check, region);
+
+            return COUNTS[i] == 0 ? Double.NaN : MAXIMA[i];
+        }
+
+        /**
+         * Mean deviation.
+         *
+         * @param check check
+         * @param region region number
+         * @return deviation, NaN if no sample has been checked
+         */
+        public double getMeanDeviation(Check check, int region) {
+
+            int i = index(check, region);
+
+            return COUNTS[i] == 0 ? Double.NaN : SUMS[i] / COUNTS[i];
+        }
+
+        /**
+         * Total number of checked samples.
+         *
+         * @return sample count
+         */
+        public long getTotalCount() {
+
+            long total = 0;
+
+            for (long count : COUNTS) {
+                total += count;
+            }
+            return total;
+        }
+
+        /**
+         * Table of the checks &amp; regions sampled so far.
+         *
+         * @return table
+         */
+        @Override
+        public String toString() {
+
+            StringBuilder out = new StringBuilder(String.format("%-15s %6s %10s %12s %12s%n", "check", "region", "samples", "mean", "max"));
+
+            for (Check check : Check.values()) {
+                for (int region = 1; region <= REGIONS; region++) {
+                    long count = getCount(check, region);
+
+                    if (count > 0) {
+                        out.append(String.format("%-15s %6d %10d %12.3e %12.3e%n", check, region, count, getMeanDeviation(check, region), getMaxDeviation(check, region)));
+                    }
+                }
+            }
+            return out.append("dropped: ").append(DROPPED_COUNT).toString();
+        }
+    }
+}
@@ -0,0 +1,412 @@
+/*
+ * StateBlock.java
+ *
+ * This file is part of IF97.
+ *
+ * IF97 is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option)
+ * any later version.
+ *
+ * IF97 is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with IF97. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Copyright 2009-2022 Hummeling Engineering BV (www.hummeling.com)
+ */
+package com.hummeling.if97;
+
+import com.hummeling.if97.IF97.HintedFunction;
+import com.hummeling.if97.IF97.Quantity;
+import com.hummeling.if97.IF97.RegionHint;
+import com.hummeling.if97.IF97.UnitSystem;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.function.DoubleBinaryOperator;
+
+/**
+ * Column-oriented store of a fixed number of states, e.g. the nodes of a
+ * network model, as a function of two input quantities.
+ *
+ * <p>
+ * Every quantity is held in one contiguous column of doubles in off-heap
+ * memory (a direct, native-order buffer), region codes in a column of bytes,
+ * so millions of states take no objects on the GC heap and are evaluated by
+ * streaming through memory. Input columns are written by the set methods,
+ * output columns are allocated on the first {@link #update(Quantity...)}
+ * requesting them and then filled in place.</p>
+ *
+ * <p>
+ * Each output column &amp; the region column track which of their states are
+ * stale: writing different inputs to a state marks it stale in all of them,
+ * writing equal inputs doesn't. An update only evaluates the stale states of
+ * the requested columns, so after a solver iteration that changed a few
+ * states, only those are recomputed. Out-of-range states get NaN values and
+ * region code 0.</p>
+ *
+ * <p>
+ * The region of a stale state is looked up once per update, output columns
+ * with a hinted method for their inputs take it from the region column
+ * instead of selecting the region again.</p>
+ *
+ * <p>
+ * Instances are not safe for use by concurrent threads.</p>
+ *
+ * @author Ralph Hummeling
+ * (<a href="https://www.hummeling.com">www.hummeling.com</a>)
+ * @see IF97#stateBlock(IF97.Quantity, IF97.Quantity, int)
+ */
+public final class StateBlock {
+
+    private final ImmutableIF97 EVALUATOR;
+    private final Quantity INPUT1, INPUT2;
+    private final int SIZE;
+    private final DoubleBuffer VALUES1, VALUES2;
+    private final ByteBuffer REGIONS;
+    private final long[] STALE_REGIONS;
+    private final Map<Quantity, Column> COLUMNS = new EnumMap<>(Quantity.class);
+
+    /**
+     * Creates a block of states with NaN inputs.
+     *
+     * @param settings settings of the evaluating IF97 object, incl. the unit
+     * system of inputs &amp; outputs
+     * @param input1 first input quantity
+     * @param input2 second input quantity
+     * @param size number of states
+     */
+    StateBlock(IF97.Builder settings, Quantity input1, Quantity input2, int size) {
+
+        if (input1 == input2) {
+            throw new IllegalArgumentException("Input quantities should differ: " + input1);
+
+        } else if (size < 0 || size > Integer.MAX_VALUE / Double.BYTES) {
+            throw new IllegalArgumentException("Size should be 0 to " + Integer.MAX_VALUE / Double.BYTES + ": " + size);
+        }
+        EVALUATOR = settings.build();
+        INPUT1 = input1;
+        INPUT2 = input2;
+        SIZE = size;
+        VALUES1 = column(size);
+        VALUES2 = column(size);
+        REGIONS = ByteBuffer.allocateDirect(size);
+        STALE_REGIONS = stale(size);
+
+        for (int i = 0; i < size; i++) {
+            VALUES1.put(i, Double.NaN);
+            VALUES2.put(i, Double.NaN);
+        }
+    }
+
+    /**
+     * @return direct, native-order column of the given number of doubles
+     */
+    private static DoubleBuffer column(int size) {
+        return ByteBuffer.allocateDirect(size * Double.BYTES).order(ByteOrder.nativeOrder()).asDoubleBuffer();
+    }
+
+    /**
+     * @return bit set with the given number of states marked stale
+     */
+    private static long[] stale(int size) {
+
+        long[] out = new long[(size + 63) >>> 6];
+
+        for (int i = 0; i < size; i++) {
+            out[i >>> 6] |= 1L << i;
+        }
+        return out;
+    }
+
+    /**
+     * Read-only view of the column of the given quantity.
+     *
+     * @param quantity input quantity or updated output quantity
+     * @return column of {@link #size()} values, in the block's unit system
+     * @throws IllegalArgumentException if the block has no such column
+     */
+    public DoubleBuffer column(Quantity quantity) {
+        return values(quantity).asReadOnlyBuffer();
+    }
+
+    /**
+     * Value of the given quantity for the given state, as of the last update
+     * of its column.
+     *
+     * @param quantity input quantity or updated output quantity
+     * @param index state index
+     * @return value, in the block's unit system
+     * @throws IllegalArgumentException if the block has no such column
+     */
+    public double get(Quantity quantity, int index) {
+        return values(quantity).get(index);
+    }
+
+    public Quantity getInput1() {
+        return INPUT1;
+    }
+
+    public Quantity getInput2() {
+        return INPUT2;
+    }
+
+    public UnitSystem getUnitSystem() {
+        return EVALUATOR.getUnitSystem();
+    }
+
+    /**
+     * Region code of the given state, as of the last update: 1 to 5, or 0 if
+     * out of range.
+     *
+     * @param index state index
+     * @return region code
+     */
+    public int region(int index) {
+        return REGIONS.get(index);
+    }
+
+    /**
+     * Read-only view of the region codes, see {@link #region(int)}.
+     *
+     * @return column of {@link #size()} region codes
+     */
+    public ByteBuffer regions() {
+        return REGIONS.asReadOnlyBuffer();
+    }
+
+    /**
+     * Sets the inputs of the given state.
+     *
+     * @param index state index
+     * @param value1 first input value
+     * @param value2 second input value
+     */
+    public void set(int index, double value1, double value2) {
+
+        if (Double.doubleToLongBits(VALUES1.get(index)) == Double.doubleToLongBits(value1)
+                && Double.doubleToLongBits(VALUES2.get(index)) == Double.doubleToLongBits(value2)) {
+            return;
+        }
+        VALUES1.put(index, value1);
+        VALUES2.put(index, value2);
+
+        long bit = 1L << index;
+        int word = index >>> 6;
+
+        STALE_REGIONS[word] |= bit;
+
+        for (Column column : COLUMNS.values()) {
+            column.STALE[word] |= bit;
+        }
+    }
+
+    /**
+     * Sets the inputs of consecutive states.
+     *
+     * @param offset index of the first state
+     * @param values1 first input values
+     * @param values2 second input values, as many as the first
+     */
+    public void set(int offset, double[] values1, double[] values2) {
+
+        if (values1.length != values2.length) {
+            throw new IllegalArgumentException("Input arrays should have equal lengths: " + values1.length + ", " + values2.length);
+        }
+        for (int i = 0; i < values1.length; i++) {
+            set(offset + i, values1[i], values2[i]);
+        }
+    }
+
+    public int size() {
+        return SIZE;
+    }
+
+    /**
+     * Number of states for which the given column is stale, i.e. would be
+     * evaluated by an update.
+     *
+     * @param quantity quantity
+     * @return number of stale states, {@link #size()} for columns that
+     * haven't been updated yet and 0 for the input columns
+     */
+    public int stale(Quantity quantity) {
+
+        if (quantity == INPUT1 || quantity == INPUT2) {
+            return 0;
+        }
+        Column column = COLUMNS.get(quantity);
+
+        return column == null ? SIZE : count(column.STALE);
+    }
+
+    private static int count(long[] bits) {
+
+        int out = 0;
+
+        for (long word : bits) {
+            out += Long.bitCount(word);
+        }
+        return out;
+    }
+
+    /**
+     * Evaluates the stale states of the region column &amp; the columns of
+     * the given output quantities, allocating the latter if needed. Input
+     * quantities are ignored.
+     *
+     * @param outputs output quantities, see
+     * {@link IF97#function(IF97.Quantity, IF97.Quantity, IF97.Quantity)}
+     * @return number of evaluations
+     * @throws IllegalArgumentException if no function is available for one
+     * of the outputs
+     */
+    public int update(Quantity... outputs) {
+
+        Column[] columns = new Column[outputs.length];
+
+        for (int j = 0; j < outputs.length; j++) {
+            Quantity output = outputs[j];
+
+            if (output != INPUT1 && output != INPUT2) {
+                DoubleBinaryOperator function = EVALUATOR.function(output, INPUT1, INPUT2);
+
+                columns[j] = COLUMNS.computeIfAbsent(output, quantity -> new Column(function, EVALUATOR.hintedFunction(quantity, INPUT1, INPUT2), SIZE));
+            }
+        }
+        int evaluations = updateRegions();
+
+        for (Column column : columns) {
+            if (column != null) {
+                evaluations += column.update(VALUES1, VALUES2, REGIONS);
+            }
+        }
+        return evaluations;
+    }
+
+    private int updateRegions() {
+
+        UnitSystem unitSystem = EVALUATOR.getUnitSystem();
+        double[] conversion1 = unitSystem.getConversion(INPUT1),
+                conversion2 = unitSystem.getConversion(INPUT2);
+        int evaluations = 0;
+
+        for (int word = 0; word < STALE_REGIONS.length; word++) {
+            for (long bits = STALE_REGIONS[word]; bits != 0; bits &= bits - 1) {
+                int i = (word << 6) + Long.numberOfTrailingZeros(bits);
+
+                REGIONS.put(i, region(IF97.convertToDefault(conversion1, VALUES1.get(i)), IF97.convertToDefault(conversion2, VALUES2.get(i))));
+                evaluations++;
+            }
+            STALE_REGIONS[word] = 0;
+        }
+        return evaluations;
+    }
+
+    /**
+     * @return region code of the given inputs in default units
+     */
+    private byte region(double value1, double value2) {
+
+        try {
+            switch (INPUT1.name() + INPUT2.name()) {
+                case "px":
+                case "xp":
+                    EVALUATOR.settings().REGION4.checkP(INPUT1 == Quantity.p ? value1 : value2);
+                    break;
+
+                case "Tx":
+                case "xT":
+                    EVALUATOR.settings().REGION4.checkT(INPUT1 == Quantity.T ? value1 : value2);
+                    break;
+
+                default:
+                    Region region = Region.getRegion(INPUT1, INPUT2, value1, value2);
+
+                    return region == null ? 0 : (byte) region.NUMBER;
+            }
+            double x = INPUT1 == Quantity.x ? value1 : value2;
+
+            return 0 <= x && x <= 1 ? (byte) 4 : 0;
+
+        } catch (OutOfRangeException e) {
+            return 0;
+        }
+    }
+
+    private DoubleBuffer values(Quantity quantity) {
+
+        if (quantity == INPUT1) {
+            return VALUES1;
+
+        } else if (quantity == INPUT2) {
+            return VALUES2;
+        }
+        Column column = COLUMNS.get(quantity);
+
+        if (column == null) {
+            throw new IllegalArgumentException("No column for " + quantity + ", update it first.");
+        }
+        return column.VALUES;
+    }
+
+    /**
+     * Output column &amp; its stale states.
+     */
+    private static final class Column {
+
+        final DoubleBinaryOperator FUNCTION;
+        final HintedFunction HINTED;
+        final DoubleBuffer VALUES;
+        final long[] STALE;
+
+        /**
+         * @param function function of the inputs
+         * @param hinted function of the inputs &amp; region, null if not
+         * available
+         * @param size number of states
+         */
+        Column(DoubleBinaryOperator function, HintedFunction hinted, int size) {
+            FUNCTION = function;
+            HINTED = hinted;
+            VALUES = column(size);
+            STALE = stale(size);
+        }
+
+        /**
+         * @param regions up-to-date region codes of the states
+         * @return number of evaluations
+         */
+        int update(DoubleBuffer values1, DoubleBuffer values2, ByteBuffer regions) {
+
+            int evaluations = 0;
+
+            for (int word = 0; word < STALE.length; word++) {
+                for (long bits = STALE[word]; bits != 0; bits &= bits - 1) {
+                    int i = (word << 6) + Long.numberOfTrailingZeros(bits);
+                    int region = regions.get(i);
+                    double value;
+
+                    try {
+                        value = HINTED == null || region == 0
+                                ? FUNCTION.applyAsDouble(values1.get(i), values2.get(i))
+                                : HINTED.apply(values1.get(i), values2.get(i), RegionHint.values()[region - 1]);
+
+                    } catch (IllegalArgumentException | UnsupportedOperationException e) {
+                        value = Double.NaN;
+                    }
+                    VALUES.put(i, value);
+                    evaluations++;
+                }
+                STALE[word] = 0;
+            }
+            return evaluations;
+        }
+    }
+}
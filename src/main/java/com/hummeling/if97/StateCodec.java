@@ -0,0 +1,273 @@
+/*
+ * StateCodec.java
+ *
+ * This file is part of IF97.
+ *
+ * IF97 is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option)
+ * any later version.
+ *
+ * IF97 is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with IF97. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Copyright 2009-2022 Hummeling Engineering BV (www.hummeling.com)
+ */
+package com.hummeling.if97;
+
+import com.hummeling.if97.IF97.UnitSystem;
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Compact binary layout of {@link ProcessState} records, for exchanging
+ * evaluated states between processes &amp; persisting them, encoded into
+ * &amp; decoded from any byte buffer in place, without intermediate objects or
+ * text.
+ *
+ * <p>
+ * A record takes {@value #RECORD_BYTES} bytes, little-endian regardless of
+ * the buffer's byte order:</p>
+ * <pre>
+ * offset size
+ *      0    1  layout version, {@value #VERSION}
+ *      1    1  region number, 0 if not filled
+ *      2    1  unit system id: 0 none, 1 DEFAULT, 2 ENGINEERING, 3 SI, 4 IMPERIAL
+ *      3    1  status flags, bit i set if quantity i below isn't NaN
+ *      4    4  reserved, 0
+ *      8    8  pressure
+ *     16    8  temperature
+ *     24    8  specific enthalpy
+ *     32    8  specific entropy
+ *     40    8  specific volume
+ *     48    8  vapour fraction
+ * </pre>
+ *
+ * <p>
+ * Values are stored in the unit system of the state, as identified by the
+ * record. Decoders reject records of other layout versions, so that a
+ * future layout can be introduced next to this one.</p>
+ *
+ * @author Ralph Hummeling
+ * (<a href="https://www.hummeling.com">www.hummeling.com</a>)
+ */
+public final class StateCodec {
+
+    /**
+     * Layout version written by this codec.
+     */
+    public static final byte VERSION = 1;
+    /**
+     * Size of a record [bytes].
+     */
+    public static final int RECORD_BYTES = 56;
+    /**
+     * Status flags, set if the quantity isn't NaN.
+     */
+    public static final int PRESSURE = 1,
+            TEMPERATURE = 1 << 1,
+            SPECIFIC_ENTHALPY = 1 << 2,
+            SPECIFIC_ENTROPY = 1 << 3,
+            SPECIFIC_VOLUME = 1 << 4,
+            VAPOUR_FRACTION = 1 << 5;
+
+    private StateCodec() {
+    }
+
+    /**
+     * Decodes a record at the buffer's position into the given state, and
+     * advances the position past the record.
+     *
+     * @param in buffer
+     * @param state state to fill
+     * @throws BufferUnderflowException if less than a record remains
+     * @throws IllegalArgumentException if the record's version, region number
+     * or unit system id is unknown, the position is left unchanged
+     */
+    public static void decode(ByteBuffer in, ProcessState state) {
+
+        if (in.remaining() < RECORD_BYTES) {
+            throw new BufferUnderflowException();
+        }
+        int i = in.position();
+        byte version = in.get(i);
+
+        if (version != VERSION) {
+            throw new IllegalArgumentException("Unsupported state record version: " + version);
+        }
+        byte region = in.get(i + 1);
+
+        if (region < 0 || region > 5) {
+            throw new IllegalArgumentException("Unknown region number: " + region);
+        }
+        state.restore(unitSystem(in.get(i + 2)), region,
+                getDouble(in, i + 8), getDouble(in, i + 16), getDouble(in, i + 24),
+                getDouble(in, i + 32), getDouble(in, i + 40), getDouble(in, i + 48));
+        in.position(i + RECORD_BYTES);
+    }
+
+    /**
+     * Decodes consecutive records into the given states.
+     *
+     * @param in buffer
+     * @param states states to fill
+     * @param offset index of the first state
+     * @param length number of records
+     * @throws BufferUnderflowException if less than the given number of
+     * records remains, in which case nothing is decoded
+     * @throws IllegalArgumentException if a record's version, region number
+     * or unit system id is unknown, the position is left at that record
+     */
+    public static void decode(ByteBuffer in, ProcessState[] states, int offset, int length) {
+
+        if (in.remaining() < (long) length * RECORD_BYTES) {
+            throw new BufferUnderflowException();
+        }
+        for (int k = offset, end = offset + length; k < end; k++) {
+            decode(in, states[k]);
+        }
+    }
+
+    /**
+     * Encodes the given state at the buffer's position, and advances the
+     * position past the record.
+     *
+     * @param state state
+     * @param out buffer
+     * @throws BufferOverflowException if less than a record remains
+     */
+    public static void encode(ProcessState state, ByteBuffer out) {
+
+        if (out.remaining() < RECORD_BYTES) {
+            throw new BufferOverflowException();
+        }
+        int i = out.position();
+        double p = state.getPressure(),
+                T = state.getTemperature(),
+                h = state.getSpecificEnthalpy(),
+                s = state.getSpecificEntropy(),
+                v = state.getSpecificVolume(),
+                x = state.getVapourFraction();
+        int flags = (p == p ? PRESSURE : 0)
+                | (T == T ? TEMPERATURE : 0)
+                | (h == h ? SPECIFIC_ENTHALPY : 0)
+                | (s == s ? SPECIFIC_ENTROPY : 0)
+                | (v == v ? SPECIFIC_VOLUME : 0)
+                | (x == x ? VAPOUR_FRACTION : 0);
+        out.put(i, VERSION);
+        out.put(i + 1, (byte) state.getRegion());
+        out.put(i + 2, id(state.getUnitSystem()));
+        out.put(i + 3, (byte) flags);
+        out.putInt(i + 4, 0);
+        putDouble(out, i + 8, p);
+        putDouble(out, i + 16, T);
+        putDouble(out, i + 24, h);
+        putDouble(out, i + 32, s);
+        putDouble(out, i + 40, v);
+        putDouble(out, i + 48, x);
+        out.position(i + RECORD_BYTES);
+    }
+
+    /**
+     * Encodes the given states as consecutive records.
+     *
+     * @param states states
+     * @param offset index of the first state
+     * @param length number of states
+     * @param out buffer
+     * @throws BufferOverflowException if less than the given number of records
+     * remains, in which case nothing is encoded
+     */
+    public static void encode(ProcessState[] states, int offset, int length, ByteBuffer out) {
+
+        if (out.remaining() < (long) length * RECORD_BYTES) {
+            throw new BufferOverflowException();
+        }
+        for (int k = offset, end = offset + length; k < end; k++) {
+            encode(states[k], out);
+        }
+    }
+
+    /**
+     * Status flags of the record at the given index, without decoding it.
+     *
+     * @param in buffer
+     * @param index index of the record's first byte
+     * @return status flags, e.g. {@link #PRESSURE}
+     */
+    public static int flags(ByteBuffer in, int index) {
+        return in.get(index + 3) & 0xff;
+    }
+
+    /**
+     * Little-endian double at the given index, leaving the buffer's byte
+     * order untouched so that it can be shared.
+     */
+    private static double getDouble(ByteBuffer in, int index) {
+
+        long bits = in.getLong(index);
+
+        return Double.longBitsToDouble(in.order() == ByteOrder.LITTLE_ENDIAN ? bits : Long.reverseBytes(bits));
+    }
+
+    /**
+     * Puts a little-endian double at the given index, see
+     * {@link #getDouble(ByteBuffer, int)}.
+     */
+    private static void putDouble(ByteBuffer out, int index, double value) {
+
+        long bits = Double.doubleToRawLongBits(value);
+
+        out.putLong(index, out.order() == ByteOrder.LITTLE_ENDIAN ? bits : Long.reverseBytes(bits));
+    }
+
+    private static byte id(UnitSystem unitSystem) {
+
+        if (unitSystem == null) {
+            return 0;
+        }
+        switch (unitSystem) {
+            case DEFAULT:
+                return 1;
+
+            case ENGINEERING:
+                return 2;
+
+            case SI:
+                return 3;
+
+            default:
+                return 4; // IMPERIAL
+        }
+    }
+
+    private static UnitSystem unitSystem(byte id) {
+
+        switch (id) {
+            case 0:
+                return null;
+
+            case 1:
+                return UnitSystem.DEFAULT;
+
+            case 2:
+                return UnitSystem.ENGINEERING;
+
+            case 3:
+                return UnitSystem.SI;
+
+            case 4:
+                return UnitSystem.IMPERIAL;
+
+            default:
+                throw new IllegalArgumentException("Unknown unit system id: " + id);
+        }
+    }
+}
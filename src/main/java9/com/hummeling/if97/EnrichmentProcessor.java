@@ -0,0 +1,436 @@
+/*
+ * EnrichmentProcessor.java
+ *
+ * This file is part of IF97.
+ *
+ * IF97 is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option)
+ * any later version.
+ *
+ * IF97 is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with IF97. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Copyright 2009-2022 Hummeling Engineering BV (www.hummeling.com)
+ */
+package com.hummeling.if97;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Enrichment processor, adds properties to a live stream of (p, T) frames,
+ * e.g. sensor readings, as a {@link Flow.Processor}.
+ *
+ * <p>
+ * Incoming frames are collected in micro-batches, closed when they reach the
+ * batch size or when the maximum delay has elapsed since their first frame.
+ * Batches are evaluated in parallel on the given executor and emitted in
+ * arrival order. At most buffer size frames are requested from upstream that
+ * haven't been emitted downstream yet, so a slow subscriber slows down the
+ * publisher instead of growing a buffer.</p>
+ *
+ * <p>
+ * Out-of-range frames don't terminate the stream, they are emitted as records
+ * flagged out-of-range, with NaN properties and the error message.</p>
+ *
+ * <p>
+ * Part of the Java 9 layer of the multi-release JAR.</p>
+ *
+ * @author Ralph Hummeling
+ * (<a href="https://www.hummeling.com">www.hummeling.com</a>)
+ * @param <T> frame type
+ */
+public final class EnrichmentProcessor<T> implements Flow.Processor<T, EnrichmentProcessor.Record<T>> {
+
+    private final AbstractIF97 FACADE;
+    private final Executor EXECUTOR;
+    private final int BATCH_SIZE, BUFFER_SIZE;
+    private final Executor FLUSH;
+    private final ToDoubleFunction<? super T> PRESSURE, TEMPERATURE;
+    private final Object LOCK = new Object();
+    private final AtomicInteger WIP = new AtomicInteger();
+    private final ArrayDeque<CompletableFuture<List<Record<T>>>> BATCHES = new ArrayDeque<>();
+    // guarded by LOCK
+    private Flow.Subscription upstream;
+    private Flow.Subscriber<? super Record<T>> downstream;
+    private List<T> batch;
+    private long generation, demand, requested;
+    private int buffered, index;
+    private List<Record<T>> head;
+    private boolean completed, cancelled, terminated;
+    private Throwable error;
+
+    /**
+     * Creates an enrichment processor.
+     *
+     * @param if97 IF97 object, its unit system applies to frames &amp; records
+     * @param executor executor evaluating the batches
+     * @param batchSize maximum batch size
+     * @param bufferSize maximum number of frames requested but not yet
+     * emitted, at least the batch size
+     * @param maxDelay maximum delay of a frame in a partial batch
+     * @param unit time unit of the maximum delay
+     * @param pressure absolute pressure of a frame
+     * @param temperature temperature of a frame
+     */
+    public EnrichmentProcessor(AbstractIF97 if97, Executor executor, int batchSize, int bufferSize, long maxDelay, TimeUnit unit, ToDoubleFunction<? super T> pressure, ToDoubleFunction<? super T> temperature) {
+
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Batch size should be positive: " + batchSize);
+
+        } else if (bufferSize < batchSize) {
+            throw new IllegalArgumentException("Buffer size should be at least the batch size: " + bufferSize);
+
+        } else if (maxDelay < 0) {
+            throw new IllegalArgumentException("Maximum delay should not be negative: " + maxDelay);
+        }
+        FACADE = if97;
+        EXECUTOR = executor;
+        BATCH_SIZE = batchSize;
+        BUFFER_SIZE = bufferSize;
+        FLUSH = CompletableFuture.delayedExecutor(maxDelay, unit, executor);
+        PRESSURE = pressure;
+        TEMPERATURE = temperature;
+        batch = new ArrayList<>(batchSize);
+    }
+
+    /**
+     * Emits records to downstream as far as demanded, completes it when all
+     * is emitted, and requests more frames from upstream as far as the buffer
+     * allows. Serialized, reentrant calls are picked up by the running one.
+     */
+    private void drain() {
+
+        if (WIP.getAndIncrement() != 0) {
+            return;
+        }
+        int missed = 1;
+
+        do {
+            Flow.Subscription subscription;
+            long request = 0;
+
+            while (true) {
+                Flow.Subscriber<? super Record<T>> subscriber;
+                Record<T> record = null;
+                Throwable failure = null;
+                boolean terminate = false;
+
+                synchronized (LOCK) {
+                    subscriber = downstream;
+
+                    if (cancelled || terminated) {
+                        break;
+                    }
+                    if (head == null && !BATCHES.isEmpty() && BATCHES.peek().isDone()) {
+                        head = BATCHES.poll().join();
+                        index = 0;
+                    }
+                    if (head != null && demand > 0) {
+                        record = head.get(index++);
+
+                        if (index == head.size()) {
+                            head = null;
+                        }
+                        demand--;
+                        buffered--;
+
+                    } else if (head == null && completed && BATCHES.isEmpty() && batch.isEmpty() && subscriber != null) {
+                        terminated = terminate = true;
+                        failure = error;
+                    }
+                }
+                if (record != null) {
+                    subscriber.onNext(record);
+
+                } else {
+                    if (terminate) {
+                        if (failure == null) {
+                            subscriber.onComplete();
+                        } else {
+                            subscriber.onError(failure);
+                        }
+                    }
+                    break;
+                }
+            }
+            synchronized (LOCK) {
+                subscription = upstream;
+
+                if (subscription != null && !cancelled && !completed) {
+                    request = BUFFER_SIZE - buffered - requested;
+
+                    if (request > 0) {
+                        requested += request;
+                    }
+                }
+            }
+            if (request > 0) {
+                subscription.request(request);
+            }
+            missed = WIP.addAndGet(-missed);
+        } while (missed != 0);
+    }
+
+    private List<Record<T>> evaluate(List<T> frames) {
+
+        List<Record<T>> records = new ArrayList<>(frames.size());
+
+        for (T frame : frames) {
+            try {
+                double p = PRESSURE.applyAsDouble(frame),
+                        t = TEMPERATURE.applyAsDouble(frame),
+                        h = FACADE.specificEnthalpyPT(p, t);
+
+                records.add(new Record<>(frame, h, FACADE.specificEntropyPT(p, t), FACADE.densityPT(p, t), FACADE.vapourFractionPH(p, h), null));
+
+            } catch (RuntimeException e) {
+                records.add(new Record<>(frame, Double.NaN, Double.NaN, Double.NaN, Double.NaN, String.valueOf(e.getMessage())));
+            }
+        }
+        return records;
+    }
+
+    /**
+     * Submits the current batch for evaluation, if any.
+     */
+    private void flush() {
+
+        if (batch.isEmpty()) {
+            return;
+        }
+        List<T> frames = batch;
+        CompletableFuture<List<Record<T>>> future = CompletableFuture.supplyAsync(() -> evaluate(frames), EXECUTOR);
+
+        batch = new ArrayList<>(BATCH_SIZE);
+        generation++;
+        BATCHES.add(future);
+        future.whenComplete((records, e) -> {
+            if (!Thread.holdsLock(LOCK)) { // else the caller drains
+                drain();
+            }
+        });
+    }
+
+    private void flush(long batchGeneration) {
+
+        synchronized (LOCK) {
+            if (generation == batchGeneration) {
+                flush();
+            }
+        }
+        drain();
+    }
+
+    @Override
+    public void onComplete() {
+
+        synchronized (LOCK) {
+            completed = true;
+            flush();
+        }
+        drain();
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+
+        synchronized (LOCK) {
+            error = throwable;
+            completed = true;
+            flush();
+        }
+        drain();
+    }
+
+    @Override
+    public void onNext(T item) {
+
+        synchronized (LOCK) {
+            if (cancelled || completed) {
+                return;
+            }
+            requested--;
+            buffered++;
+            batch.add(item);
+
+            if (batch.size() >= BATCH_SIZE) {
+                flush();
+
+            } else if (batch.size() == 1) {
+                long batchGeneration = generation;
+
+                FLUSH.execute(() -> flush(batchGeneration));
+            }
+        }
+        drain();
+    }
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+
+        synchronized (LOCK) {
+            if (upstream != null || cancelled) {
+                subscription.cancel();
+                return;
+            }
+            upstream = subscription;
+        }
+        drain();
+    }
+
+    /**
+     * Subscribes the single downstream subscriber, a second one receives
+     * an error.
+     *
+     * @param subscriber subscriber
+     */
+    @Override
+    public void subscribe(Flow.Subscriber<? super Record<T>> subscriber) {
+
+        synchronized (LOCK) {
+            if (downstream != null) {
+                subscriber.onSubscribe(new Flow.Subscription() {
+                    @Override
+                    public void request(long n) {
+                    }
+
+                    @Override
+                    public void cancel() {
+                    }
+                });
+                subscriber.onError(new IllegalStateException("Enrichment processor already has a subscriber."));
+                return;
+            }
+            downstream = subscriber;
+        }
+        subscriber.onSubscribe(new Flow.Subscription() {
+            @Override
+            public void request(long n) {
+
+                Flow.Subscription subscription = null;
+
+                synchronized (LOCK) {
+                    if (n <= 0) {
+                        if (!completed) {
+                            error = new IllegalArgumentException("Request should be positive: " + n);
+                            completed = true;
+                            subscription = upstream;
+                            BATCHES.clear();
+                            batch.clear();
+                            head = null;
+                        }
+                    } else {
+                        demand = demand + n < 0 ? Long.MAX_VALUE : demand + n;
+                    }
+                }
+                if (subscription != null) {
+                    subscription.cancel();
+                }
+                drain();
+            }
+
+            @Override
+            public void cancel() {
+
+                Flow.Subscription subscription;
+
+                synchronized (LOCK) {
+                    cancelled = true;
+                    subscription = upstream;
+                    BATCHES.clear();
+                    batch.clear();
+                    head = null;
+                }
+                if (subscription != null) {
+                    subscription.cancel();
+                }
+            }
+        });
+        drain();
+    }
+
+    @Override
+    public String toString() {
+        return "EnrichmentProcessor{batch size=" + BATCH_SIZE + ", buffer size=" + BUFFER_SIZE + ", " + FACADE.getUnitSystem() + "}";
+    }
+
+    /**
+     * Enriched frame: specific enthalpy, specific entropy, density &amp;
+     * vapour fraction, in the unit system of the processor's IF97 object.
+     *
+     * @param <T> frame type
+     */
+    public static final class Record<T> {
+
+        private final T FRAME;
+        private final double ENTHALPY, ENTROPY, DENSITY, VAPOUR_FRACTION;
+        private final String ERROR;
+
+        private Record(T frame, double enthalpy, double entropy, double density, double vapourFraction, String error) {
+            FRAME = frame;
+            ENTHALPY = enthalpy;
+            ENTROPY = entropy;
+            DENSITY = density;
+            VAPOUR_FRACTION = vapourFraction;
+            ERROR = error;
+        }
+
+        public double getDensity() {
+            return DENSITY;
+        }
+
+        /**
+         * Error message of an out-of-range frame.
+         *
+         * @return message, null if in range
+         */
+        public String getError() {
+            return ERROR;
+        }
+
+        public T getFrame() {
+            return FRAME;
+        }
+
+        public double getSpecificEnthalpy() {
+            return ENTHALPY;
+        }
+
+        public double getSpecificEntropy() {
+            return ENTROPY;
+        }
+
+        /**
+         * Vapour fraction, 0 for compressed liquid, 1 for superheated
+         * vapour, NaN above the critical pressure.
+         *
+         * @return vapour fraction [-]
+         */
+        public double getVapourFraction() {
+            return VAPOUR_FRACTION;
+        }
+
+        public boolean isOutOfRange() {
+            return ERROR != null;
+        }
+
+        @Override
+        public String toString() {
+            return "Record{" + FRAME + (ERROR == null ? ", h=" + ENTHALPY + ", s=" + ENTROPY + ", rho=" + DENSITY + ", x=" + VAPOUR_FRACTION : ", " + ERROR) + "}";
+        }
+    }
+}
@@ -0,0 +1,177 @@
+/*
+ * AdaptiveTableTest.java
+ *
+ * This file is part of IF97.
+ *
+ * IF97 is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option)
+ * any later version.
+ *
+ * IF97 is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with IF97. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Copyright 2009-2022 Hummeling Engineering BV (www.hummeling.com)
+ */
+package com.hummeling.if97;
+
+import com.hummeling.if97.IF97.Quantity;
+import com.hummeling.if97.IF97.UnitSystem;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * Adaptive table tests.
+ *
+ * @author Ralph Hummeling
+ * (<a href="https://www.hummeling.com">www.hummeling.com</a>)
+ */
+public class AdaptiveTableTest {
+
+    static final double TOLERANCE = 1e-8;
+    static IF97 if97;
+
+    @BeforeClass
+    public static void setUpClass() throws Exception {
+        if97 = new IF97();
+    }
+
+    @Test
+    public void testValue() {
+
+        AdaptiveTable table = if97.adaptiveTablePH(Quantity.T, TOLERANCE);
+
+        for (double p = 0.05; p < 100; p *= 1.7) {
+            for (double h = 50; h < 4000; h += 97) {
+                double expected;
+
+                try {
+                    expected = if97.temperaturePH(p, h);
+
+                } catch (OutOfRangeException e) {
+                    continue;
+                }
+                assertEquals(p + ", " + h, expected, table.value(p, h), 2 * TOLERANCE * expected);
+            }
+        }
+    }
+
+    @Test
+    public void testPatches() {
+
+        AdaptiveTable table = if97.adaptiveTablePH(Quantity.v, TOLERANCE);
+        Random random = new Random(97);
+
+        // superheater outlet, well inside region 2
+        for (int i = 0; i < 1000; i++) {
+            double p = 10 + random.nextDouble(), h = 3300 + 50 * random.nextDouble();
+
+            assertEquals(if97.specificVolumePH(p, h), table.value(p, h), 2 * TOLERANCE * if97.specificVolumePH(p, h));
+        }
+        int cells = table.getCellCount();
+
+        assertTrue("cells: " + cells, 0 < cells && cells < 50);
+    }
+
+    @Test
+    public void testBoundary() {
+
+        AdaptiveTable table = if97.adaptiveTablePH(Quantity.s, TOLERANCE);
+        double p = 1, h1 = if97.specificEnthalpySaturatedLiquidP(p), h2 = if97.specificEnthalpySaturatedVapourP(p);
+
+        for (double dh = -1; dh <= 1; dh += 0.125) {
+            for (double h : new double[]{h1 + dh, h2 + dh}) {
+                double expected = if97.specificEntropyPH(p, h);
+
+                assertEquals(h + "", expected, table.value(p, h), 2 * TOLERANCE * expected);
+            }
+        }
+    }
+
+    @Test
+    public void testBoundaryCurves() {
+
+        AdaptiveTable table = if97.adaptiveTablePH(Quantity.cp, 1e-6);
+        Random random = new Random(97);
+
+        // cells are built from random states first, then queried across the saturation & B23 lines
+        for (int i = 0; i < 2000; i++) {
+            double p = 16.6 + 30 * random.nextDouble(), h = 1500 + 1500 * random.nextDouble();
+
+            table.value(p, h);
+        }
+        for (double p = 16.6; p < 50; p += 0.37) {
+            double hB23 = Region2.INSTANCE.specificEnthalpyPT(p, Region.temperatureB23P(p));
+            double[] boundaries = p < IF97.pc
+                    ? new double[]{if97.specificEnthalpySaturatedLiquidP(p), if97.specificEnthalpySaturatedVapourP(p), hB23}
+                    : new double[]{hB23};
+
+            for (double boundary : boundaries) {
+                for (double dh = -0.05; dh <= 0.05; dh += 0.01) {
+                    double h = boundary + dh, expected = if97.isobaricHeatCapacityPH(p, h);
+
+                    assertEquals(p + ", " + h, expected, table.value(p, h), 2e-6 * expected);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testConcurrent() throws Exception {
+
+        AdaptiveTable table = if97.adaptiveTablePH(Quantity.rho, TOLERANCE);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        List<Future<?>> futures = new ArrayList<>();
+
+        try {
+            for (int t = 0; t < 4; t++) {
+                final Random random = new Random(t);
+
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 500; i++) {
+                        double p = 12 + random.nextDouble(), h = 1300 + 100 * random.nextDouble(),
+                                expected = if97.densityPH(p, h);
+
+                        assertEquals(expected, table.value(p, h), 2 * TOLERANCE * expected);
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testUnitSystem() {
+
+        AdaptiveTable table = new IF97(UnitSystem.ENGINEERING).adaptiveTablePH(Quantity.T, TOLERANCE);
+
+        assertEquals(if97.temperaturePH(5, 500) - IF97.T0, table.value(50, 500), 1e-5);
+    }
+
+    @Test(expected = OutOfRangeException.class)
+    public void testOutOfRange() {
+        if97.adaptiveTablePH(Quantity.T, TOLERANCE).value(101, 500);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNotAvailable() {
+        if97.adaptiveTablePH(Quantity.eta, TOLERANCE);
+    }
+}
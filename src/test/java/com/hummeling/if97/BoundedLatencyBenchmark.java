@@ -0,0 +1,129 @@
+/*
+ * BoundedLatencyBenchmark.java
+ *
+ * This file is part of IF97.
+ *
+ * IF97 is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option)
+ * any later version.
+ *
+ * IF97 is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with IF97. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Copyright 2009-2022 Hummeling Engineering BV (www.hummeling.com)
+ */
+package com.hummeling.if97;
+
+import java.util.Arrays;
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * Worst-case latency benchmark of the saturation functions, iterative versus
+ * bounded latency, see {@link IF97#setBoundedLatency(boolean)}.
+ *
+ * <p>
+ * Each function is timed at every point of a dense pressure grid from
+ * 16.5292 MPa, above which the saturation properties are solved for, up to
+ * the critical point, geometrically refined towards pc. The cost of a
+ * point is the fastest of a number of repetitions, which filters out
+ * scheduling &amp; GC noise, so the maximum over the grid is the worst-case
+ * cost of the function. In bounded-latency mode that maximum must stay within
+ * a factor (default 2) of the median, otherwise the benchmark exits with
+ * status 1.</p>
+ *
+ * <p>
+ * Run from the project root after <code>mvn test-compile</code>:</p>
+ * <pre>
+ * java -cp target/classes:target/test-classes com.hummeling.if97.BoundedLatencyBenchmark [factor]
+ * </pre>
+ *
+ * @author Ralph Hummeling
+ * (<a href="https://www.hummeling.com">www.hummeling.com</a>)
+ */
+public class BoundedLatencyBenchmark {
+
+    private static final int POINTS = 2000, REPETITIONS = 15;
+
+    public static void main(String[] args) {
+
+        double factor = args.length > 0 ? Double.parseDouble(args[0]) : 2;
+        double[] p = new double[POINTS];
+
+        for (int i = 0; i < POINTS; i++) {
+            p[i] = i % 2 == 0
+                    ? Region.ps13 + (IF97.pc - Region.ps13) * i / POINTS
+                    : IF97.pc - Math.pow(10, -6 + 6.0 * i / POINTS);
+        }
+        IF97 iterative = new IF97(), bounded = new IF97();
+        boolean pass = true;
+
+        bounded.setBoundedLatency(true);
+
+        for (int run = 0; run < 2; run++) { // warm-up & measure
+            boolean report = run == 1;
+
+            if (report) {
+                System.out.format("%-34s %12s %12s %12s %12s%n", "function [us]", "median", "max", "max/median", "at p [MPa]");
+            }
+            for (IF97 if97 : new IF97[]{iterative, bounded}) {
+                String mode = if97.isBoundedLatency() ? "bounded" : "iterative";
+
+                pass &= measure(mode + " hL(p)", if97::specificEnthalpySaturatedLiquidP, p, factor, report && if97 == bounded, report);
+                pass &= measure(mode + " hV(p)", if97::specificEnthalpySaturatedVapourP, p, factor, report && if97 == bounded, report);
+                pass &= measure(mode + " vL(p)", if97::specificVolumeSaturatedLiquidP, p, factor, report && if97 == bounded, report);
+                pass &= measure(mode + " vV(p)", if97::specificVolumeSaturatedVapourP, p, factor, report && if97 == bounded, report);
+                pass &= measure(mode + " sV(p)", if97::specificEntropySaturatedVapourP, p, factor, report && if97 == bounded, report);
+                pass &= measure(mode + " v(p, x = 0.5)", x -> if97.specificVolumePX(x, 0.5), p, factor, report && if97 == bounded, report);
+                pass &= measure(mode + " isobar(p)", x -> if97.isobar(x).getPressure(), p, factor, report && if97 == bounded, report);
+            }
+        }
+        if (!pass) {
+            System.out.println("FAIL: bounded-latency worst case exceeds " + factor + " times the median");
+            System.exit(1);
+        }
+    }
+
+    /**
+     * @return false if enforced and the worst case exceeds factor times the
+     * median
+     */
+    private static boolean measure(String label, DoubleUnaryOperator function, double[] p, double factor, boolean enforce, boolean report) {
+
+        double[] cost = new double[p.length];
+        double sink = 0;
+
+        for (int i = 0; i < p.length; i++) {
+            long min = Long.MAX_VALUE;
+
+            for (int r = 0; r < REPETITIONS; r++) {
+                long start = System.nanoTime();
+
+                sink += function.applyAsDouble(p[i]);
+                min = Math.min(min, System.nanoTime() - start);
+            }
+            cost[i] = min * 1e-3;
+        }
+        int worst = 0;
+
+        for (int i = 1; i < p.length; i++) {
+            if (cost[i] > cost[worst]) {
+                worst = i;
+            }
+        }
+        double max = cost[worst], pWorst = p[worst];
+
+        Arrays.sort(cost);
+        double median = cost[cost.length / 2];
+
+        if (report) {
+            System.out.format("%-34s %12.2f %12.2f %12.1f %12.7f%s%n", label, median, max, max / median, pWorst, Double.isNaN(sink) ? " (NaN)" : "");
+        }
+        return !enforce || max <= factor * median;
+    }
+}
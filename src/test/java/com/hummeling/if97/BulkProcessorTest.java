@@ -0,0 +1,172 @@
+/*
+ * BulkProcessorTest.java
+ *
+ * This file is part of IF97.
+ *
+ * IF97 is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option)
+ * any later version.
+ *
+ * IF97 is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with IF97. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Copyright 2009-2022 Hummeling Engineering BV (www.hummeling.com)
+ */
+package com.hummeling.if97;
+
+import com.hummeling.if97.IF97.Quantity;
+import com.hummeling.if97.IF97.UnitSystem;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import org.junit.BeforeClass;
+import org.junit.ClassRule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Bulk processor tests.
+ *
+ * @author Ralph Hummeling
+ * (<a href="https://www.hummeling.com">www.hummeling.com</a>)
+ */
+public class BulkProcessorTest {
+
+    @ClassRule
+    public static TemporaryFolder folder = new TemporaryFolder();
+    static final int ROWS = 5000;
+    static IF97 if97;
+    static Path csv;
+
+    @BeforeClass
+    public static void setUpClass() throws Exception {
+
+        if97 = new IF97();
+        csv = folder.newFile("historian.csv").toPath();
+
+        try (PrintWriter writer = new PrintWriter(Files.newBufferedWriter(csv))) {
+            writer.println("time;tag;p;T");
+
+            for (int i = 0; i < ROWS; i++) {
+                writer.println(i + ";PT101;" + (0.1 + i % 100) + ";" + (300 + i % 700));
+            }
+        }
+    }
+
+    private static double pressure(int i) {
+        return 0.1 + i % 100;
+    }
+
+    private static double temperature(int i) {
+        return 300 + i % 700;
+    }
+
+    @Test
+    public void testCSV() throws IOException {
+
+        Path out = folder.newFile("out.csv").toPath();
+        BulkProcessor processor = new BulkProcessor(UnitSystem.DEFAULT, Quantity.p, Quantity.T, 2, 3, ';', new Quantity[]{Quantity.h, Quantity.v}, false, false, 3);
+        BulkProcessor.Summary summary = processor.process(csv, out);
+        List<String> lines = Files.readAllLines(out);
+
+        assertEquals(ROWS, summary.rows);
+        assertEquals(1, summary.skipped);
+        assertEquals("p,T,h,v", lines.get(0));
+        assertEquals(ROWS + 1, lines.size());
+
+        long regions = 0;
+
+        for (long count : summary.regions) {
+            regions += count;
+        }
+        assertEquals(ROWS, regions);
+
+        for (int i = 0; i < ROWS; i++) {
+            String[] values = lines.get(i + 1).split(",");
+            double p = pressure(i), T = temperature(i);
+
+            assertEquals(p, Double.parseDouble(values[0]), 0);
+            assertEquals(T, Double.parseDouble(values[1]), 0);
+
+            try {
+                assertEquals(if97.specificEnthalpyPT(p, T), Double.parseDouble(values[2]), 0);
+                assertEquals(if97.specificVolumePT(p, T), Double.parseDouble(values[3]), 0);
+
+            } catch (OutOfRangeException e) {
+                assertTrue(Double.isNaN(Double.parseDouble(values[2])));
+            }
+        }
+    }
+
+    @Test
+    public void testBinary() throws IOException {
+
+        Path in = folder.newFile("in.bin").toPath(), out = folder.newFile("out.bin").toPath();
+        ByteBuffer buffer = ByteBuffer.allocate(16 * ROWS).order(ByteOrder.LITTLE_ENDIAN);
+
+        for (int i = 0; i < ROWS; i++) {
+            buffer.putDouble(pressure(i) * 10).putDouble(temperature(i) - IF97.T0);
+        }
+        Files.write(in, buffer.array());
+
+        BulkProcessor processor = new BulkProcessor(UnitSystem.ENGINEERING, Quantity.p, Quantity.T, 0, 1, ',', new Quantity[]{Quantity.rho}, true, true, 2);
+
+        assertEquals(ROWS, processor.process(in, out).rows);
+
+        ByteBuffer result = ByteBuffer.wrap(Files.readAllBytes(out)).order(ByteOrder.LITTLE_ENDIAN);
+
+        assertEquals(ROWS, result.getInt());
+
+        IF97 engineering = new IF97(UnitSystem.ENGINEERING);
+
+        for (int i = 0; i < ROWS; i++) {
+            double rho = result.getDouble();
+
+            try {
+                assertEquals(engineering.densityPT(pressure(i) * 10, temperature(i) - IF97.T0), rho, 0);
+
+            } catch (OutOfRangeException e) {
+                assertTrue(Double.isNaN(rho));
+            }
+        }
+    }
+
+    @Test(timeout = 10000)
+    public void testBinaryTrailing() throws IOException {
+
+        Path in = folder.newFile("trailing.bin").toPath(), out = folder.newFile("trailing.out").toPath();
+        ByteBuffer buffer = ByteBuffer.allocate(16 * 3 + 5).order(ByteOrder.LITTLE_ENDIAN);
+
+        buffer.putDouble(1).putDouble(300).putDouble(10).putDouble(700).putDouble(0.1).putDouble(400);
+        Files.write(in, buffer.array());
+
+        BulkProcessor.Summary summary = new BulkProcessor(UnitSystem.DEFAULT, Quantity.p, Quantity.T, 0, 1, ',', new Quantity[]{Quantity.h}, true, true, 1).process(in, out);
+
+        assertEquals(3, summary.rows);
+        assertEquals(5, summary.trailing);
+
+        ByteBuffer result = ByteBuffer.wrap(Files.readAllBytes(out)).order(ByteOrder.LITTLE_ENDIAN);
+
+        assertEquals(3, result.getInt());
+        assertEquals(if97.specificEnthalpyPT(1, 300), result.getDouble(), 0);
+        assertEquals(if97.specificEnthalpyPT(10, 700), result.getDouble(), 0);
+        assertEquals(if97.specificEnthalpyPT(0.1, 400), result.getDouble(), 0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNotAvailable() throws IOException {
+        new BulkProcessor(UnitSystem.DEFAULT, Quantity.p, Quantity.T, 0, 1, ',', new Quantity[]{Quantity.x}, false, false, 1).process(csv, folder.newFile().toPath());
+    }
+}
@@ -0,0 +1,164 @@
+/*
+ * ConcurrencyBenchmark.java
+ *
+ * This file is part of IF97.
+ *
+ * IF97 is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option)
+ * any later version.
+ *
+ * IF97 is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with IF97. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Copyright 2009-2022 Hummeling Engineering BV (www.hummeling.com)
+ */
+package com.hummeling.if97;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.IntFunction;
+
+/**
+ * Contention benchmark, measures the throughput of a mixed (p, T), (p, h)
+ * &amp; (h, s) workload over regions 1 to 4 for an increasing number of
+ * threads, all sharing one immutable IF97 object, see {@link IF97#builder()},
+ * or each using its own object, and reports the speed-up &amp; parallel
+ * efficiency relative to one thread. Without shared mutable state, the shared
+ * object should scale linearly up to the number of cores, like the
+ * per-thread objects.
+ *
+ * <p>
+ * Run from the project root after <code>mvn test-compile</code>:</p>
+ * <pre>
+ * java -cp target/classes:target/test-classes com.hummeling.if97.ConcurrencyBenchmark [seconds per measurement] [maximum threads]
+ * </pre>
+ *
+ * @author Ralph Hummeling
+ * (<a href="https://www.hummeling.com">www.hummeling.com</a>)
+ */
+public class ConcurrencyBenchmark {
+
+    private static final int STATES = 1024;
+
+    public static void main(String[] args) throws Exception {
+
+        double seconds = args.length > 0 ? Double.parseDouble(args[0]) : 1;
+        int cores = Runtime.getRuntime().availableProcessors(),
+                maxThreads = args.length > 1 ? Integer.parseInt(args[1]) : 2 * cores;
+        ImmutableIF97 shared = IF97.builder().build();
+        Random random = new Random(97);
+        double[][] PT = new double[STATES][], PH = new double[STATES][], HS = new double[STATES][];
+
+        for (int i = 0; i < STATES; i++) {
+            double p, T;
+
+            switch (i % 4) {
+                case 0: // region 1
+                    p = 5 + 50 * random.nextDouble();
+                    T = 300 + 200 * random.nextDouble();
+                    break;
+                case 1: // region 2
+                    p = 0.1 + 2 * random.nextDouble();
+                    T = 600 + 400 * random.nextDouble();
+                    break;
+                case 2: // region 3
+                    p = 40 + 50 * random.nextDouble();
+                    T = 650 + 20 * random.nextDouble();
+                    break;
+                default: // region 4
+                    p = 0.01 + 10 * random.nextDouble();
+                    T = Double.NaN;
+            }
+            double x = random.nextDouble(),
+                    h = Double.isNaN(T) ? shared.specificEnthalpyPX(p, x) : shared.specificEnthalpyPT(p, T),
+                    s = Double.isNaN(T) ? shared.specificEntropyPX(p, x) : shared.specificEntropyPT(p, T);
+
+            PT[i] = new double[]{p, Double.isNaN(T) ? shared.saturationTemperatureP(p) + 1 : T};
+            PH[i] = new double[]{p, h};
+            HS[i] = new double[]{h, s};
+        }
+        System.out.format("%d cores%n", cores);
+
+        for (int run = 0; run < 2; run++) { // warm-up & measure
+            boolean report = run == 1;
+
+            if (report) {
+                System.out.format("%7s %16s %9s %10s %16s %9s %10s%n", "threads", "shared [1/ms]", "speed-up", "efficiency", "own [1/ms]", "speed-up", "efficiency");
+            }
+            double shared1 = 0, own1 = 0;
+
+            for (int threads = 1; threads <= maxThreads; threads *= 2) {
+                double sharedRate = throughput(threads, t -> shared, PT, PH, HS, seconds),
+                        ownRate = throughput(threads, t -> IF97.builder().build(), PT, PH, HS, seconds);
+
+                if (threads == 1) {
+                    shared1 = sharedRate;
+                    own1 = ownRate;
+                }
+                if (report) {
+                    System.out.format("%7d %16.1f %8.2fx %9.0f%% %16.1f %8.2fx %9.0f%%%n", threads,
+                            sharedRate, sharedRate / shared1, 100 * sharedRate / shared1 / threads,
+                            ownRate, ownRate / own1, 100 * ownRate / own1 / threads);
+                }
+            }
+        }
+    }
+
+    /**
+     * @return calls per millisecond, summed over all threads
+     */
+    private static double throughput(int threads, IntFunction<ImmutableIF97> instance, double[][] PT, double[][] PH, double[][] HS, double seconds) throws Exception {
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CyclicBarrier start = new CyclicBarrier(threads);
+        List<Future<long[]>> results = new ArrayList<>();
+
+        try {
+            for (int t = 0; t < threads; t++) {
+                ImmutableIF97 if97 = instance.apply(t);
+
+                results.add(executor.submit(() -> {
+                    start.await();
+
+                    long calls = 0, begin = System.nanoTime(), end = begin + (long) (seconds * 1e9);
+                    double sink = 0;
+
+                    while (System.nanoTime() < end) {
+                        for (int i = 0; i < STATES; i++) {
+                            sink += if97.specificEnthalpyPT(PT[i][0], PT[i][1])
+                                    + if97.temperaturePH(PH[i][0], PH[i][1])
+                                    + if97.pressureHS(HS[i][0], HS[i][1]);
+                        }
+                        calls += 3 * STATES;
+                    }
+                    if (Double.isNaN(sink)) {
+                        System.out.println("NaN result, out-of-range state");
+                    }
+                    return new long[]{calls, System.nanoTime() - begin};
+                }));
+            }
+            double rate = 0;
+
+            for (Future<long[]> result : results) {
+                long[] callsNanos = result.get();
+
+                rate += 1e6 * callsNanos[0] / callsNanos[1];
+            }
+            return rate;
+
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
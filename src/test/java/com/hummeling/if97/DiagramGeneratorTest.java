@@ -0,0 +1,242 @@
+/*
+ * DiagramGeneratorTest.java
+ *
+ * This file is part of IF97.
+ *
+ * IF97 is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option)
+ * any later version.
+ *
+ * IF97 is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with IF97. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Copyright 2009-2022 Hummeling Engineering BV (www.hummeling.com)
+ */
+package com.hummeling.if97;
+
+import com.hummeling.if97.DiagramGenerator.Diagram;
+import com.hummeling.if97.DiagramGenerator.Isoline;
+import com.hummeling.if97.DiagramGenerator.Kind;
+import com.hummeling.if97.IF97.PrecisionProfile;
+import com.hummeling.if97.IF97.Quantity;
+import com.hummeling.if97.IF97.UnitSystem;
+import java.util.List;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * Diagram generator tests.
+ *
+ * @author Ralph Hummeling
+ * (<a href="https://www.hummeling.com">www.hummeling.com</a>)
+ */
+public class DiagramGeneratorTest {
+
+    static IF97 if97;
+    static DiagramGenerator generator;
+
+    @BeforeClass
+    public static void setUpClass() throws Exception {
+        if97 = new IF97();
+        generator = new DiagramGenerator(UnitSystem.DEFAULT, Diagram.HS, DiagramGenerator.DEFAULT_TOLERANCE);
+    }
+
+    @Test
+    public void testIsobar() {
+
+        double p = 1;
+        Isoline isobar = generator.isoline(Kind.ISOBAR, p);
+        double[] T = isobar.get(Quantity.T),
+                h = isobar.get(Quantity.h),
+                s = isobar.get(Quantity.s);
+
+        System.out.println(isobar);
+        assertTrue(isobar.size() > 20);
+        assertEquals(IF97.T0, T[0], 1e-6);
+        assertEquals(Region.T25, T[T.length - 1], 1e-6);
+
+        double Ts = if97.saturationTemperatureP(p);
+
+        for (int i = 0; i < h.length; i++) {
+            assertEquals(p, isobar.get(Quantity.p)[i], 0);
+
+            if (T[i] == Ts) {
+                assertEquals(if97.specificEntropyPH(p, h[i]), s[i], 1e-9);
+
+            } else {
+                assertEquals(if97.specificEnthalpyPT(p, T[i]), h[i], 1e-9);
+                assertEquals(if97.specificEntropyPT(p, T[i]), s[i], 1e-9);
+            }
+            if (i > 0) {
+                assertTrue("monotonic", h[i] > h[i - 1]);
+            }
+        }
+    }
+
+    @Test
+    public void testIsotherm() {
+
+        double T = 450;
+        Isoline isotherm = generator.isoline(Kind.ISOTHERM, T);
+        double[] p = isotherm.get(Quantity.p),
+                h = isotherm.get(Quantity.h),
+                s = isotherm.get(Quantity.s);
+        double ps = if97.saturationPressureT(T),
+                hL = if97.specificEnthalpySaturatedLiquidT(T),
+                hV = if97.specificEnthalpySaturatedVapourT(T);
+        boolean liquid = false, vapour = false;
+
+        for (int i = 0; i < p.length; i++) {
+            assertEquals(T, isotherm.get(Quantity.T)[i], 1e-9);
+
+            if (p[i] == ps) {
+                assertTrue(hL - 1e-9 <= h[i] && h[i] <= hV + 1e-9);
+                liquid |= Math.abs(h[i] - hL) < 1e-9;
+                vapour |= Math.abs(h[i] - hV) < 1e-9;
+
+            } else {
+                assertEquals(if97.specificEnthalpyPT(p[i], T), h[i], 1e-9);
+                assertEquals(if97.specificEntropyPT(p[i], T), s[i], 1e-9);
+            }
+        }
+        assertTrue("passes both saturation points", liquid && vapour);
+    }
+
+    @Test
+    public void testIsentropeAndIsenthalp() {
+
+        for (Isoline isentrope : generator.isolines(Kind.ISENTROPE, 4, 6, 8)) {
+            double[] p = isentrope.get(Quantity.p),
+                    h = isentrope.get(Quantity.h);
+
+            for (int i = 0; i < p.length; i++) {
+                if (!Double.isNaN(p[i])) {
+                    assertEquals(if97.specificEnthalpyPS(p[i], isentrope.getValue()), h[i], 1e-9);
+                }
+            }
+        }
+        Isoline isenthalp = generator.isoline(Kind.ISENTHALP, 3000);
+        double[] p = isenthalp.get(Quantity.p),
+                T = isenthalp.get(Quantity.T);
+
+        for (int i = 0; i < p.length; i++) {
+            assertEquals(if97.temperaturePH(p[i], 3000), T[i], 1e-9);
+        }
+    }
+
+    @Test
+    public void testOutOfRange() {
+
+        try {
+            generator.isoline(Kind.ISOBAR, 200);
+            fail("Out-of-range isobar should be rejected.");
+
+        } catch (OutOfRangeException e) {
+            assertEquals(Region.p132, e.getLimit(), 0);
+        }
+        assertEquals("out-of-range values left out", 2, generator.isolines(Kind.QUALITY, 0.5, 2, 0.9).size());
+    }
+
+    @Test
+    public void testSaturationDome() {
+
+        Isoline dome = generator.isoline(Kind.SATURATION, Double.NaN);
+        double[] p = dome.get(Quantity.p),
+                h = dome.get(Quantity.h),
+                s = dome.get(Quantity.s);
+        double max = 0;
+
+        for (int i = 0; i < p.length; i++) {
+            assertTrue("single branch", p[i] > 0);
+            max = Math.max(max, p[i]);
+        }
+        assertEquals(IF97.pc, max, 1e-6);
+        assertEquals(if97.specificEnthalpySaturatedLiquidP(p[0]), h[0], 1e-9);
+        assertEquals(if97.specificEntropySaturatedVapourP(p[p.length - 1]), s[s.length - 1], 1e-9);
+
+        // point density follows curvature: the curved top takes more points per unit of arc length than the flanks
+        int top = 0, flank = 0;
+
+        for (int i = 1; i < p.length; i++) {
+            if (p[i] > 20) {
+                top++;
+
+            } else if (p[i] < 1) {
+                flank++;
+            }
+        }
+        assertTrue(top > 0 && flank > 0);
+    }
+
+    /**
+     * Generators of an IF97 object evaluate with its settings: the two-phase
+     * part of a near-critical isobar ends at the object's saturated vapour
+     * state.
+     */
+    @Test
+    public void testSettings() {
+
+        IF97 reference = new IF97(UnitSystem.ENGINEERING);
+
+        reference.setPrecisionProfile(PrecisionProfile.REFERENCE);
+
+        double p = 220.5, // bar
+                hV = reference.specificEnthalpyPX(p, 1);
+        double[] h = reference.diagramGenerator(Diagram.PH, DiagramGenerator.DEFAULT_TOLERANCE).isoline(Kind.ISOBAR, p).get(Quantity.h);
+        boolean found = false;
+
+        for (double value : h) {
+            found |= value == hV;
+        }
+        assertTrue(found);
+    }
+
+    @Test
+    public void testUnitSystem() {
+
+        DiagramGenerator engineering = new DiagramGenerator(UnitSystem.ENGINEERING, Diagram.TS, DiagramGenerator.DEFAULT_TOLERANCE);
+        IF97 if97Engineering = new IF97(UnitSystem.ENGINEERING);
+        Isoline isobar = engineering.isoline(Kind.ISOBAR, 10); // bar
+        double[] T = isobar.get(Quantity.T),
+                h = isobar.get(Quantity.h);
+
+        assertEquals(0, T[0], 1e-6); // deg C
+        assertEquals(800, T[T.length - 1], 1e-6);
+
+        double Ts = if97Engineering.saturationTemperatureP(10);
+
+        for (int i = 0; i < h.length; i++) {
+            if (T[i] != Ts) {
+                assertEquals(if97Engineering.specificEnthalpyPT(10, T[i]), h[i], 1e-9);
+            }
+        }
+    }
+
+    @Test
+    public void testWriteCSV() throws Exception {
+
+        List<Isoline> isolines = generator.isolines(new Kind[]{Kind.SATURATION, Kind.ISOBAR, Kind.ISOTHERM}, new double[]{Double.NaN, 0.1, 700});
+        StringBuilder csv = new StringBuilder();
+        int points = 0;
+
+        for (Isoline isoline : isolines) {
+            points += isoline.size();
+        }
+        DiagramGenerator.writeCSV(isolines, csv);
+        String[] lines = csv.toString().split("\n");
+
+        assertEquals(3, isolines.size());
+        assertEquals("kind,value,p,T,h,s", lines[0]);
+        assertEquals(points + 1, lines.length);
+        assertTrue(lines[1].startsWith("SATURATION,NaN,"));
+    }
+}
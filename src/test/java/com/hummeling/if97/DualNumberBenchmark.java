@@ -0,0 +1,168 @@
+/*
+ * DualNumberBenchmark.java
+ *
+ * This file is part of IF97.
+ *
+ * IF97 is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option)
+ * any later version.
+ *
+ * IF97 is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with IF97. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Copyright 2009-2022 Hummeling Engineering BV (www.hummeling.com)
+ */
+package com.hummeling.if97;
+
+import com.hummeling.if97.IF97.DualFunction;
+import com.hummeling.if97.IF97.Quantity;
+import java.util.Random;
+import java.util.function.DoubleBinaryOperator;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Dual-number benchmark, times value &amp; gradient of properties by
+ * {@link IF97#dualFunction(Quantity, Quantity, Quantity)} against central
+ * differences of {@link IF97#function(Quantity, Quantity, Quantity)}, five
+ * calls, on states spread over regions 1, 2, 4 &amp; 5, and reports the largest
+ * relative deviation between the two gradients.
+ *
+ * <p>
+ * Run from the project root after <code>mvn test-compile</code>:</p>
+ * <pre>
+ * java -cp target/classes:target/test-classes com.hummeling.if97.DualNumberBenchmark [seconds per measurement]
+ * </pre>
+ *
+ * @author Ralph Hummeling
+ * (<a href="https://www.hummeling.com">www.hummeling.com</a>)
+ */
+public class DualNumberBenchmark {
+
+    private static final int STATES = 4096;
+
+    public static void main(String[] args) {
+
+        double seconds = args.length > 0 ? Double.parseDouble(args[0]) : 1;
+        IF97 if97 = new IF97();
+        Random random = new Random(97);
+        double[][] PT = new double[STATES][], PH = new double[STATES][], PX = new double[STATES][];
+
+        for (int i = 0; i < STATES; i++) {
+            double p, T;
+
+            switch (i % 3) {
+                case 0: // region 1
+                    p = 5 + 50 * random.nextDouble();
+                    T = 300 + 200 * random.nextDouble();
+                    break;
+                case 1: // region 2
+                    p = 0.1 + 2 * random.nextDouble();
+                    T = 600 + 400 * random.nextDouble();
+                    break;
+                default: // region 5
+                    p = 0.1 + 40 * random.nextDouble();
+                    T = 1100 + 900 * random.nextDouble();
+            }
+            PT[i] = new double[]{p, T};
+            PX[i] = new double[]{0.01 + 15 * random.nextDouble(), 0.05 + 0.9 * random.nextDouble()};
+            PH[i] = i % 3 == 2 // region 4 instead of 5
+                    ? new double[]{PX[i][0], if97.specificEnthalpyPX(PX[i][0], PX[i][1])}
+                    : new double[]{p, if97.specificEnthalpyPT(p, T)};
+        }
+        for (int run = 0; run < 2; run++) { // warm-up & measure
+            boolean report = run == 1;
+
+            if (report) {
+                System.out.format("%-28s %12s %12s %10s %9s%n", "function [ns/call]", "dual", "differences", "speed-up", "max dev");
+            }
+            measure(if97, Quantity.h, Quantity.p, Quantity.T, PT, seconds, report);
+            measure(if97, Quantity.s, Quantity.p, Quantity.T, PT, seconds, report);
+            measure(if97, Quantity.v, Quantity.p, Quantity.T, PT, seconds, report);
+            measure(if97, Quantity.cp, Quantity.p, Quantity.T, PT, seconds, report);
+            measure(if97, Quantity.w, Quantity.p, Quantity.T, PT, seconds, report);
+            measure(if97, Quantity.T, Quantity.p, Quantity.h, PH, seconds, report);
+            measure(if97, Quantity.s, Quantity.p, Quantity.h, PH, seconds, report);
+            measure(if97, Quantity.h, Quantity.p, Quantity.x, PX, seconds, report);
+            measure(if97, Quantity.v, Quantity.p, Quantity.x, PX, seconds, report);
+        }
+    }
+
+    private static void measure(IF97 if97, Quantity output, Quantity input1, Quantity input2, double[][] states, double seconds, boolean report) {
+
+        DualFunction dual = if97.dualFunction(output, input1, input2);
+        DoubleBinaryOperator function = if97.function(output, input1, input2);
+        Dual x1 = new Dual(2), x2 = new Dual(2), y = new Dual(2);
+        double[] gradient = new double[3];
+        double deviation = 0;
+
+        for (double[] state : states) {
+            x1.set(state[0], 0);
+            x2.set(state[1], 1);
+            dual.apply(x1, x2, y);
+            differences(function, state, gradient);
+
+            double scale = Math.abs(gradient[1] * state[0]) + Math.abs(gradient[2] * state[1]);
+
+            deviation = Math.max(deviation, Math.max(
+                    Math.abs(y.getTangent(0) - gradient[1]) * Math.abs(state[0]),
+                    Math.abs(y.getTangent(1) - gradient[2]) * Math.abs(state[1])) / scale);
+        }
+        double dualCost = time(states, seconds, state -> {
+            x1.set(state[0], 0);
+            x2.set(state[1], 1);
+            dual.apply(x1, x2, y);
+
+            return y.getValue() + y.getTangent(0) + y.getTangent(1);
+        }),
+                differencesCost = time(states, seconds, state -> {
+                    differences(function, state, gradient);
+
+                    return gradient[0] + gradient[1] + gradient[2];
+                });
+
+        if (report) {
+            System.out.format("%-28s %12.1f %12.1f %9.1fx %9.1e%n", output.name() + "(" + input1.name() + ", " + input2.name() + ")", dualCost, differencesCost, differencesCost / dualCost, deviation);
+        }
+    }
+
+    /**
+     * Value &amp; central differences with relative steps of 1e-6, five
+     * calls.
+     */
+    private static void differences(DoubleBinaryOperator function, double[] state, double[] out) {
+
+        double d1 = 1e-6 * state[0], d2 = 1e-6 * state[1];
+
+        out[0] = function.applyAsDouble(state[0], state[1]);
+        out[1] = (function.applyAsDouble(state[0] + d1, state[1]) - function.applyAsDouble(state[0] - d1, state[1])) / (2 * d1);
+        out[2] = (function.applyAsDouble(state[0], state[1] + d2) - function.applyAsDouble(state[0], state[1] - d2)) / (2 * d2);
+    }
+
+    /**
+     * @return cost [ns/call]
+     */
+    private static double time(double[][] states, double seconds, ToDoubleFunction<double[]> evaluation) {
+
+        long calls = 0, end = System.nanoTime() + (long) (seconds * 1e9), start = System.nanoTime();
+        double sink = 0;
+
+        while (System.nanoTime() < end) {
+            for (double[] state : states) {
+                sink += evaluation.applyAsDouble(state);
+            }
+            calls += states.length;
+        }
+        double elapsed = System.nanoTime() - start;
+
+        if (Double.isNaN(sink)) {
+            System.out.println("NaN result, out-of-range state");
+        }
+        return elapsed / calls;
+    }
+}
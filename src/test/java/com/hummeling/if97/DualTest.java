@@ -0,0 +1,282 @@
+/*
+ * DualTest.java
+ *
+ * This file is part of IF97.
+ *
+ * IF97 is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option)
+ * any later version.
+ *
+ * IF97 is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with IF97. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Copyright 2009-2023 Hummeling Engineering BV (www.hummeling.com)
+ */
+package com.hummeling.if97;
+
+import com.hummeling.if97.IF97.Quantity;
+import com.hummeling.if97.IF97.UnitSystem;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+/**
+ * Dual-number evaluation tests, against central differences of the regular
+ * functions where those derive from the basic equations, otherwise against
+ * thermodynamic identities.
+ *
+ * @author Ralph Hummeling
+ * (<a href="https://www.hummeling.com">www.hummeling.com</a>)
+ */
+public class DualTest {
+
+    private static final Quantity[] OUTPUTS = {Quantity.v, Quantity.rho, Quantity.h, Quantity.s, Quantity.u, Quantity.g, Quantity.cp, Quantity.cv, Quantity.w};
+
+    /**
+     * @return {value, d/dinput1, d/dinput2}
+     */
+    private static double[] gradient(IF97 if97, Quantity output, Quantity input1, double value1, Quantity input2, double value2) {
+
+        Dual x1 = new Dual(2), x2 = new Dual(2), y = new Dual(2);
+
+        x1.set(value1, 0);
+        x2.set(value2, 1);
+        if97.dualFunction(output, input1, input2).apply(x1, x2, y);
+
+        return new double[]{y.getValue(), y.getTangent(0), y.getTangent(1)};
+    }
+
+    /**
+     * Asserts value &amp; gradient to match the regular function and its
+     * central differences.
+     */
+    private static void assertDifferences(IF97 if97, Quantity output, Quantity input1, double value1, Quantity input2, double value2, double tolerance) {
+
+        double[] dual = gradient(if97, output, input1, value1, input2, value2);
+        double d1 = 1e-6 * Math.abs(value1), d2 = 1e-6 * Math.max(Math.abs(value2), 1),
+                value = if97.function(output, input1, input2).applyAsDouble(value1, value2),
+                fd1 = (if97.function(output, input1, input2).applyAsDouble(value1 + d1, value2) - if97.function(output, input1, input2).applyAsDouble(value1 - d1, value2)) / (2 * d1),
+                fd2 = (if97.function(output, input1, input2).applyAsDouble(value1, value2 + d2) - if97.function(output, input1, input2).applyAsDouble(value1, value2 - d2)) / (2 * d2),
+                scale = Math.abs(fd1) * Math.abs(value1) + Math.abs(fd2) * Math.max(Math.abs(value2), 1);
+        String label = output + "(" + input1 + "=" + value1 + ", " + input2 + "=" + value2 + ")";
+
+        assertEquals(label, value, dual[0], 1e-12 * Math.abs(value));
+        assertEquals(label + " d/d" + input1, fd1, dual[1], tolerance * scale / Math.abs(value1));
+        assertEquals(label + " d/d" + input2, fd2, dual[2], tolerance * scale / Math.max(Math.abs(value2), 1));
+    }
+
+    @Test
+    public void testPT() {
+
+        IF97 if97 = new IF97();
+        double[][] states = {
+            {3, 300}, {80, 500}, {50, 620}, // region 1
+            {0.0035, 300}, {30, 700}, {0.1, 1000}, // region 2
+            {0.5, 1500}, {30, 2000}}; // region 5
+
+        for (double[] pT : states) {
+            for (Quantity output : OUTPUTS) {
+                assertDifferences(if97, output, Quantity.p, pT[0], Quantity.T, pT[1], 1e-6);
+            }
+        }
+    }
+
+    /**
+     * Region 3 (p, T) properties follow from the backward density, so the
+     * derivatives are checked by identities instead: dh/dT = cp, ds/dT =
+     * cp/T, ds/dp = -dv/dT, dh/dp = v - T&middot;dv/dT, dg/dp = v &amp;
+     * dg/dT = -s.
+     */
+    @Test
+    public void testPTRegion3() {
+
+        IF97 if97 = new IF97();
+
+        for (double[] pT : new double[][]{{25, 650}, {50, 700}, {100, 760}, {30, 680}}) {
+            double p = pT[0], T = pT[1];
+            double[] v = gradient(if97, Quantity.v, Quantity.p, p, Quantity.T, T),
+                    h = gradient(if97, Quantity.h, Quantity.p, p, Quantity.T, T),
+                    s = gradient(if97, Quantity.s, Quantity.p, p, Quantity.T, T),
+                    g = gradient(if97, Quantity.g, Quantity.p, p, Quantity.T, T),
+                    cp = gradient(if97, Quantity.cp, Quantity.p, p, Quantity.T, T);
+
+            assertEquals(if97.specificVolumePT(p, T), v[0], 1e-12);
+            assertEquals(if97.specificGibbsFreeEnergyPT(p, T), g[0], 1e-6 * Math.abs(g[0])); // p v at the given p, not the equation's
+            assertEquals(h[0] - T * s[0], g[0], 1e-9 * Math.abs(h[0]));
+            assertEquals(if97.specificEnthalpyPT(p, T), h[0], 1e-9);
+            assertEquals(if97.isobaricHeatCapacityPT(p, T), cp[0], 1e-9);
+            assertEquals(cp[0], h[2], 1e-9 * cp[0]);
+            assertEquals(cp[0] / T, s[2], 1e-9 * cp[0] / T);
+            assertEquals(-1e3 * v[2], s[1], 1e-9 * Math.abs(s[1]));
+            assertEquals(1e3 * (v[0] - T * v[2]), h[1], 1e-9 * Math.abs(h[1]));
+            assertEquals(1e3 * v[0], g[1], 1e-9 * 1e3 * v[0]);
+            assertEquals(-s[0], g[2], 1e-9 * s[0]);
+        }
+    }
+
+    /**
+     * Derivatives at given pressure &amp; specific enthalpy or entropy,
+     * checked by dh = T&middot;ds + v&middot;dp.
+     */
+    @Test
+    public void testPHPS() {
+
+        IF97 if97 = new IF97();
+        double[][] pT = {{3, 300}, {0.1, 500}, {25, 650}, {30, 700}, {1, 1000}};
+
+        for (double[] state : pT) {
+            double p = state[0], T = state[1],
+                    h = if97.specificEnthalpyPT(p, T),
+                    s = if97.specificEntropyPT(p, T),
+                    v = if97.specificVolumePT(p, T);
+            double[] sPH = gradient(if97, Quantity.s, Quantity.p, p, Quantity.h, h),
+                    hPS = gradient(if97, Quantity.h, Quantity.p, p, Quantity.s, s),
+                    TPH = gradient(if97, Quantity.T, Quantity.p, p, Quantity.h, h),
+                    cp = gradient(if97, Quantity.cp, Quantity.p, p, Quantity.T, T);
+
+            assertEquals(1 / T, sPH[2], 1e-3 / T);
+            assertEquals(-1e3 * v / T, sPH[1], 1e-3 * 1e3 * v / T);
+            assertEquals(T, hPS[2], 1e-3 * T);
+            assertEquals(1e3 * v, hPS[1], 1e-3 * 1e3 * v);
+            assertEquals(1 / cp[0], TPH[2], 1e-3 / cp[0]);
+        }
+    }
+
+    /**
+     * Derivatives at given specific enthalpy &amp; entropy, checked by dh =
+     * T&middot;ds + v&middot;dp, including the two-phase region where the
+     * saturation-pressure equation matches the Clausius-Clapeyron slope of
+     * the basic equations to within about 1e-5.
+     */
+    @Test
+    public void testHS() {
+
+        IF97 if97 = new IF97();
+        double[][] hs = {{500, 1.5}, {3000, 6}, {3500, 7}, {1800, 4}, {2500, 7}};
+
+        for (double[] state : hs) {
+            double h = state[0], s = state[1];
+            double[] p = gradient(if97, Quantity.p, Quantity.h, h, Quantity.s, s),
+                    T = gradient(if97, Quantity.T, Quantity.h, h, Quantity.s, s),
+                    v = gradient(if97, Quantity.v, Quantity.h, h, Quantity.s, s);
+
+            assertEquals(1 / (1e3 * v[0]), p[1], 1e-4 * p[1]);
+            assertEquals(-T[0] / (1e3 * v[0]), p[2], 1e-4 * Math.abs(p[2]));
+        }
+    }
+
+    @Test
+    public void testPXTX() {
+
+        IF97 if97 = new IF97();
+
+        for (Quantity output : new Quantity[]{Quantity.T, Quantity.v, Quantity.rho, Quantity.h, Quantity.s, Quantity.u}) {
+            for (double p : new double[]{0.01, 0.5, 5, 15}) {
+                for (double x : new double[]{0.1, 0.5, 1}) {
+                    assertDifferences(if97, output, Quantity.p, p, Quantity.x, x, 1e-5);
+                }
+            }
+            for (double T : new double[]{300, 400, 550}) {
+                if (output != Quantity.T) {
+                    assertDifferences(if97, output, Quantity.T, T, Quantity.x, 0.6, 1e-5);
+                }
+            }
+        }
+        double[] rho = gradient(if97, Quantity.rho, Quantity.p, 1, Quantity.x, 0.5);
+
+        assertEquals(if97.densityPX(1, 0.5), rho[0], 1e-12 * rho[0]);
+    }
+
+    @Test
+    public void testChain() {
+
+        IF97 if97 = new IF97();
+        Dual p = new Dual(3, 0.2, 0, 1), T = new Dual(400, 0, 3, -1), h = new Dual(3);
+        double[] dh = gradient(if97, Quantity.h, Quantity.p, 3, Quantity.T, 400);
+
+        if97.dualFunction(Quantity.h, Quantity.p, Quantity.T).apply(p, T, h);
+
+        assertEquals(3, h.getDirections());
+        assertEquals(dh[0], h.getValue(), 0);
+        assertEquals(0.2 * dh[1], h.getTangent(0), 1e-12);
+        assertEquals(3 * dh[2], h.getTangent(1), 1e-12);
+        assertEquals(dh[1] - dh[2], h.getTangent(2), 1e-12);
+
+        // output aliasing an input
+        if97.dualFunction(Quantity.h, Quantity.p, Quantity.T).apply(p, T, p);
+
+        assertEquals(h.getValue(), p.getValue(), 0);
+        assertEquals(h.getTangent(2), p.getTangent(2), 1e-12);
+
+        // swapped inputs
+        Dual s1 = new Dual(2), s2 = new Dual(2), s = new Dual(2);
+
+        s1.set(400, 0);
+        s2.set(3, 1);
+        if97.dualFunction(Quantity.h, Quantity.T, Quantity.p).apply(s1, s2, s);
+
+        assertEquals(dh[2], s.getTangent(0), 1e-12);
+        assertEquals(dh[1], s.getTangent(1), 1e-12);
+    }
+
+    @Test
+    public void testUnitSystem() {
+
+        for (UnitSystem unitSystem : UnitSystem.values()) {
+            IF97 if97 = new IF97(unitSystem);
+            double[] P = unitSystem.getConversion(Quantity.p), T = unitSystem.getConversion(Quantity.T);
+
+            assertDifferences(if97, Quantity.h, Quantity.p, (3 - P[1]) / P[0], Quantity.T, (400 - T[1]) / T[0], 1e-6);
+            assertDifferences(if97, Quantity.s, Quantity.p, (0.5 - P[1]) / P[0], Quantity.x, 0.4, 1e-5);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testDirections() {
+
+        new IF97().dualFunction(Quantity.h, Quantity.p, Quantity.T).apply(new Dual(3, 1), new Dual(400, 1), new Dual(2));
+    }
+
+    @Test
+    public void testUnavailable() {
+
+        IF97 if97 = new IF97();
+
+        for (Quantity[] function : new Quantity[][]{
+            {Quantity.x, Quantity.p, Quantity.T},
+            {Quantity.f, Quantity.p, Quantity.T},
+            {Quantity.h, Quantity.p, Quantity.rho}}) {
+            try {
+                if97.dualFunction(function[0], function[1], function[2]);
+                throw new AssertionError("Expected exception for " + function[0]);
+
+            } catch (IllegalArgumentException e) {
+                assertTrue(e.getMessage().contains("No dual function"));
+            }
+        }
+        Dual p = new Dual(1), x = new Dual(1), cp = new Dual(1);
+
+        p.set(1, 0);
+        x.set(0.5);
+
+        try {
+            if97.dualFunction(Quantity.cp, Quantity.p, Quantity.x).apply(p, x, cp);
+            throw new AssertionError("Expected exception for cp(p, x)");
+
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().contains("two-phase"));
+        }
+    }
+
+    @Test(expected = OutOfRangeException.class)
+    public void testOutOfRange() {
+
+        new IF97().dualFunction(Quantity.h, Quantity.p, Quantity.T).apply(new Dual(200, 1), new Dual(400, 1), new Dual(1));
+    }
+}
@@ -20,7 +20,19 @@
  */
 package com.hummeling.if97;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.DoubleBinaryOperator;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 import org.junit.BeforeClass;
 import org.junit.Test;
 
@@ -156,6 +168,138 @@ public class IF97Test {
         System.out.format("  p=%6.2f bar(a), hG=%6.2f kJ/kg%n", p, hG);
     }
 
+    @Test
+    public void testBoundedLatency() {
+
+        IF97 iterative = new IF97(), bounded = new IF97();
+        double[][] PH = {
+            {17, 1900}, // region 4 above ps13
+            {21.9, 2100},
+            {10, 2000}}; // region 4 below ps13, unaffected
+
+        bounded.setBoundedLatency(true);
+        assertTrue(bounded.isBoundedLatency());
+
+        for (double[] x : PH) {
+            assertEquals(iterative.temperaturePH(x[0], x[1]), bounded.temperaturePH(x[0], x[1]), 0);
+            assertEquals(iterative.vapourFractionPH(x[0], x[1]), bounded.vapourFractionPH(x[0], x[1]), 1e-6);
+            assertEquals(iterative.specificEntropyPH(x[0], x[1]), bounded.specificEntropyPH(x[0], x[1]), 1e-6);
+            assertEquals(iterative.thermalDiffusivityPH(x[0], x[1]), bounded.thermalDiffusivityPH(x[0], x[1]), 1e-9);
+        }
+        assertEquals(iterative.specificVolumeSaturatedVapourP(20), bounded.specificVolumeSaturatedVapourP(20), 1e-9);
+        assertEquals(iterative.saturationAtP(20).vapour(IF97.Quantity.v), bounded.saturationAtP(20).vapour(IF97.Quantity.v), 1e-9);
+
+        bounded.setBoundedLatency(false);
+        assertFalse(bounded.isBoundedLatency());
+        assertEquals(iterative.specificVolumePH(21, 2000), bounded.specificVolumePH(21, 2000), 0);
+    }
+
+    @Test
+    public void testBuilder() {
+
+        IF97 configured = new IF97(IF97.UnitSystem.ENGINEERING);
+        ImmutableIF97 immutable = IF97.builder()
+                        .unitSystem(IF97.UnitSystem.ENGINEERING)
+                        .boundedLatency(true)
+                        .residualTolerance(1e-9)
+                        .validationLevel(IF97.ValidationLevel.BOUNDARY_ONLY)
+                        .verifyRegionHints(true)
+                        .build();
+
+        configured.setBoundedLatency(true);
+        configured.setResidualTolerance(1e-9);
+        configured.setValidationLevel(IF97.ValidationLevel.BOUNDARY_ONLY);
+        configured.setVerifyRegionHints(true);
+
+        assertEquals(IF97.UnitSystem.ENGINEERING, immutable.getUnitSystem());
+        assertTrue(immutable.isBoundedLatency());
+        assertEquals(1e-9, immutable.getResidualTolerance(), 0);
+        assertEquals(IF97.ValidationLevel.BOUNDARY_ONLY, immutable.getValidationLevel());
+        assertTrue(immutable.isVerifyRegionHints());
+        assertEquals(configured.specificEnthalpyPT(0.05, 200), immutable.specificEnthalpyPT(0.05, 200), 0);
+        assertEquals(configured.temperaturePH(170, 1900), immutable.temperaturePH(170, 1900), 0);
+
+        ImmutableIF97 copy = configured.toBuilder().build();
+
+        assertEquals(configured.specificVolumePH(210, 2000), copy.specificVolumePH(210, 2000), 0);
+        assertEquals(if97.specificEnthalpyPT(1, 500), IF97.builder().build().specificEnthalpyPT(1, 500), 0);
+
+        configured.setUnitSystem(IF97.UnitSystem.DEFAULT);
+        configured.setBoundedLatency(false);
+        configured.setResidualTolerance(0);
+
+        assertEquals(IF97.UnitSystem.ENGINEERING, copy.getUnitSystem());
+        assertTrue(copy.isBoundedLatency());
+        assertEquals(1e-9, copy.getResidualTolerance(), 0);
+        assertEquals(IF97.UnitSystem.DEFAULT, configured.getUnitSystem());
+        assertFalse(configured.isBoundedLatency());
+        for (Runnable setting : new Runnable[]{
+            () -> IF97.builder().unitSystem(null),
+            () -> IF97.builder().precisionProfile(null),
+            () -> IF97.builder().residualTolerance(-1),
+            () -> IF97.builder().validationLevel(null)}) {
+            try {
+                setting.run();
+                fail("Invalid setting should be rejected.");
+
+            } catch (IllegalArgumentException e) {
+            }
+        }
+    }
+
+    /**
+     * Stress test: threads share one immutable object, starting at once and
+     * evaluating functions of all input pairs on states in every region, and
+     * should reproduce the single-threaded results exactly.
+     */
+    @Test
+    public void testBuilderConcurrentUse() throws Exception {
+
+        ImmutableIF97 shared = IF97.builder().residualTolerance(1e-9).boundedLatency(true).build();
+        double[][] PT = {{3, 300}, {0.005, 320}, {25, 650}, {20, 2000}},
+                PH = {{3, 500}, {0.005, 2500}, {21, 2000}, {17, 1900}},
+                HS = {{500, 1.5}, {3000, 6}, {2000, 4.3}, {2500, 7}};
+        int threads = 8, rounds = 200;
+        double[] expected = evaluate(shared, PT, PH, HS);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CyclicBarrier start = new CyclicBarrier(threads);
+        List<Future<Boolean>> results = new ArrayList<>();
+
+        try {
+            for (int t = 0; t < threads; t++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+
+                    for (int r = 0; r < rounds; r++) {
+                        if (!Arrays.equals(expected, evaluate(shared, PT, PH, HS))) {
+                            return false;
+                        }
+                    }
+                    return true;
+                }));
+            }
+            for (Future<Boolean> result : results) {
+                assertTrue(result.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static double[] evaluate(AbstractIF97 if97, double[][] PT, double[][] PH, double[][] HS) {
+
+        double[] out = new double[5 * PT.length];
+
+        for (int i = 0, k = 0; i < PT.length; i++) {
+            out[k++] = if97.specificEnthalpyPT(PT[i][0], PT[i][1]);
+            out[k++] = if97.speedOfSoundPT(PT[i][0], PT[i][1]);
+            out[k++] = if97.temperaturePH(PH[i][0], PH[i][1]);
+            out[k++] = if97.specificVolumePH(PH[i][0], PH[i][1]);
+            out[k++] = if97.pressureHS(HS[i][0], HS[i][1]);
+        }
+        return out;
+    }
+
     @Test
     public void testCompressionFactorPT() {
 
@@ -186,6 +330,104 @@ public class IF97Test {
         }
     }
 
+    @Test
+    public void testFunction() {
+
+        IF97 engineering = new IF97(IF97.UnitSystem.ENGINEERING);
+        DoubleBinaryOperator hPT = engineering.function(IF97.Quantity.h, IF97.Quantity.p, IF97.Quantity.T),
+                hTp = engineering.function(IF97.Quantity.h, IF97.Quantity.T, IF97.Quantity.p),
+                TPH = engineering.function(IF97.Quantity.T, IF97.Quantity.p, IF97.Quantity.h),
+                vHS = engineering.function(IF97.Quantity.v, IF97.Quantity.h, IF97.Quantity.s),
+                etaPT = engineering.function(IF97.Quantity.eta, IF97.Quantity.p, IF97.Quantity.T),
+                xPH = engineering.function(IF97.Quantity.x, IF97.Quantity.p, IF97.Quantity.h);
+
+        assertEquals(engineering.specificEnthalpyPT(30, 300), hPT.applyAsDouble(30, 300), 1e-9);
+        assertEquals(engineering.specificEnthalpyPT(30, 300), hTp.applyAsDouble(300, 30), 1e-9);
+        assertEquals(engineering.temperaturePH(10, 2000), TPH.applyAsDouble(10, 2000), 1e-9);
+        assertEquals(engineering.specificVolumeHS(2800, 6.5), vHS.applyAsDouble(2800, 6.5), 1e-12);
+        assertEquals(engineering.dynamicViscosityPT(30, 300), etaPT.applyAsDouble(30, 300), 1e-15);
+        assertEquals(engineering.vapourFractionPH(10, 2000), xPH.applyAsDouble(10, 2000), 1e-12);
+
+        try {
+            hPT.applyAsDouble(1100, 300);
+            fail("Expected out-of-range exception.");
+
+        } catch (OutOfRangeException e) {
+            System.out.println("h(p, T): " + e.getMessage());
+        }
+        IF97 configured = new IF97();
+
+        configured.setBoundedLatency(true);
+        configured.setResidualTolerance(1e-6);
+        configured.setValidationLevel(IF97.ValidationLevel.NONE);
+
+        DoubleBinaryOperator hPT1 = configured.function(IF97.Quantity.h, IF97.Quantity.p, IF97.Quantity.T),
+                hPX = configured.function(IF97.Quantity.h, IF97.Quantity.p, IF97.Quantity.x);
+
+        configured.setValidationLevel(IF97.ValidationLevel.FULL);
+
+        assertEquals(configured.specificEnthalpyPT(0.01, 400), hPT1.applyAsDouble(0.01, 400), 0);
+        assertNotEquals(new IF97().specificEnthalpyPT(0.01, 400), hPT1.applyAsDouble(0.01, 400), 0);
+        assertEquals(configured.specificEnthalpyPX(21, 0.5), hPX.applyAsDouble(21, 0.5), 0);
+        assertTrue(Double.isNaN(hPT1.applyAsDouble(1100, 300))); // not validated, NaN
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testFunctionNotAvailable() {
+        if97.function(IF97.Quantity.p, IF97.Quantity.T, IF97.Quantity.h);
+    }
+
+    @Test
+    public void testGridPT() {
+
+        if97.setUnitSystem(IF97.UnitSystem.DEFAULT);
+
+        double[] p = {0.01, 0.5, 3, 16, 25, 40, 60, 90},
+                T = {275, 300, 400, 500, 600, 640, 660, 700, 900, 1100, 1500, 2200},
+                out = new double[p.length * T.length];
+
+        for (IF97.Quantity quantity : new IF97.Quantity[]{IF97.Quantity.v, IF97.Quantity.rho, IF97.Quantity.h, IF97.Quantity.s, IF97.Quantity.u, IF97.Quantity.g, IF97.Quantity.cp, IF97.Quantity.cv, IF97.Quantity.w}) {
+            DoubleBinaryOperator f = if97.function(quantity, IF97.Quantity.p, IF97.Quantity.T);
+
+            if97.gridPT(quantity, Arrays.copyOf(p, 6), T, out);
+
+            for (int i = 0; i < 6; i++) {
+                for (int j = 0; j < T.length; j++) {
+                    double expected = f.applyAsDouble(p[i], T[j]);
+
+                    assertEquals(quantity + "(" + p[i] + ", " + T[j] + ")", expected, out[i * T.length + j], 1e-11 * Math.abs(expected));
+                }
+            }
+            if97.gridPT(quantity, Arrays.copyOfRange(p, 6, 8), Arrays.copyOf(T, 9), out);
+
+            for (int i = 6; i < 8; i++) {
+                for (int j = 0; j < 9; j++) {
+                    double expected = f.applyAsDouble(p[i], T[j]);
+
+                    assertEquals(quantity + "(" + p[i] + ", " + T[j] + ")", expected, out[(i - 6) * 9 + j], 1e-11 * Math.abs(expected));
+                }
+            }
+        }
+        if97.setUnitSystem(IF97.UnitSystem.ENGINEERING);
+        if97.gridPT(IF97.Quantity.h, new double[]{10}, new double[]{100, 200}, out);
+        assertEquals(if97.specificEnthalpyPT(10, 100), out[0], 1e-9);
+        assertEquals(if97.specificEnthalpyPT(10, 200), out[1], 1e-9);
+
+        try {
+            if97.gridPT(IF97.Quantity.h, new double[]{600}, new double[]{100, 1000}, out);
+            fail("Grid beyond region 5 should not evaluate.");
+
+        } catch (OutOfRangeException e) {
+            assertEquals(600, e.getValue(), 0);
+        }
+        if97.setUnitSystem(IF97.UnitSystem.DEFAULT);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testGridPTNotAvailable() {
+        if97.gridPT(IF97.Quantity.eta, new double[]{1}, new double[]{300}, new double[1]);
+    }
+
     @Test
     public void testHeatCapacityRatioPT() {
 
@@ -254,6 +496,45 @@ public class IF97Test {
         }
     }
 
+    @Test
+    public void testPrecisionProfile() {
+
+        IF97 engineering = new IF97(), profiled = new IF97();
+
+        assertEquals(IF97.PrecisionProfile.ENGINEERING, profiled.getPrecisionProfile());
+
+        for (IF97.PrecisionProfile profile : IF97.PrecisionProfile.values()) {
+            for (boolean bounded : new boolean[]{false, true}) {
+                profiled.setBoundedLatency(bounded);
+                profiled.setPrecisionProfile(profile);
+                engineering.setBoundedLatency(bounded);
+
+                assertEquals(profile, profiled.getPrecisionProfile());
+                assertEquals(bounded, profiled.isBoundedLatency());
+                assertEquals(profile, profiled.toBuilder().build().getPrecisionProfile());
+
+                for (double p = 16.6; p < 21.9; p += 0.3) {
+                    double vL = engineering.specificVolumeSaturatedLiquidP(p),
+                            vV = engineering.specificVolumeSaturatedVapourP(p);
+
+                    assertEquals(engineering.specificEnthalpySaturatedLiquidP(p), profiled.specificEnthalpySaturatedLiquidP(p), 1e-3);
+                    assertEquals(engineering.specificEnthalpySaturatedVapourP(p), profiled.specificEnthalpySaturatedVapourP(p), 1e-3);
+                    assertEquals(vL, profiled.specificVolumeSaturatedLiquidP(p), 1e-4 * vL);
+                    assertEquals(vV, profiled.specificVolumeSaturatedVapourP(p), 1e-4 * vV);
+                }
+            }
+        }
+        assertEquals(IF97.PrecisionProfile.SCREENING, IF97.builder().precisionProfile(IF97.PrecisionProfile.SCREENING).build().getPrecisionProfile());
+
+        try {
+            profiled.setPrecisionProfile(null);
+            fail("Null profile should be rejected.");
+
+        } catch (IllegalArgumentException e) {
+            assertEquals(IF97.PrecisionProfile.REFERENCE, profiled.getPrecisionProfile());
+        }
+    }
+
     @Test
     public void testPressureHS() {
 
@@ -312,6 +593,70 @@ public class IF97Test {
         }
     }
 
+    @Test
+    public void testRegionHint() {
+
+        IF97 hinted = new IF97();
+        double[][] PH = {
+            {3, 500, 1}, // region 1
+            {3, 3000, 2}, // region 2
+            {25, 1800, 3}, // region 3
+            {1, 1500, 4}}; // region 4
+        IF97.RegionHint[] hints = IF97.RegionHint.values();
+
+        for (double[] x : PH) {
+            IF97.RegionHint hint = hints[(int) x[2] - 1];
+
+            assertEquals(if97.temperaturePH(x[0], x[1]), hinted.temperaturePH(x[0], x[1], hint), 0);
+            assertEquals(if97.specificVolumePH(x[0], x[1]), hinted.specificVolumePH(x[0], x[1], hint), 0);
+            assertEquals(if97.specificEntropyPH(x[0], x[1]), hinted.specificEntropyPH(x[0], x[1], hint), 0);
+        }
+        assertEquals(if97.specificEnthalpyPT(3, 500), hinted.specificEnthalpyPT(3, 500, IF97.RegionHint.REGION4), 0); // not applicable, ignored
+        assertEquals(if97.temperaturePH(3, 3000), hinted.temperaturePH(3, 3000, IF97.RegionHint.REGION5), 0);
+        assertEquals(if97.specificVolumePS(3, 7), hinted.specificVolumePS(3, 7, IF97.RegionHint.REGION5), 0);
+        assertEquals(if97.pressureHS(3000, 7), hinted.pressureHS(3000, 7, IF97.RegionHint.REGION5), 0);
+        hinted.setVerifyRegionHints(true);
+
+        for (double[] x : PH) {
+            for (IF97.RegionHint hint : hints) {
+                assertEquals(if97.temperaturePH(x[0], x[1]), hinted.temperaturePH(x[0], x[1], hint), 0);
+            }
+        }
+        assertEquals(if97.specificEnthalpyPT(3, 1200), hinted.specificEnthalpyPT(3, 1200, IF97.RegionHint.REGION5), 0);
+        assertEquals(if97.specificEnthalpyPT(3, 1200), hinted.specificEnthalpyPT(3, 1200, IF97.RegionHint.REGION2), 0);
+        assertEquals(if97.temperaturePS(3, 7), hinted.temperaturePS(3, 7, IF97.RegionHint.REGION1), 0);
+        assertEquals(if97.pressureHS(3000, 7), hinted.pressureHS(3000, 7, IF97.RegionHint.REGION4), 0);
+    }
+
+    @Test
+    public void testResidualTolerance() {
+
+        IF97 exact = new IF97(), truncated = new IF97();
+
+        assertEquals(0, truncated.getResidualTolerance(), 0);
+        truncated.setResidualTolerance(1e-9);
+        assertEquals(1e-9, truncated.getResidualTolerance(), 0);
+
+        double[][] PT = {{0.005, 320}, {0.05, 500}, {0.5, 1500}, {10, 700}};
+
+        for (double[] x : PT) {
+            assertEquals(1, truncated.specificEnthalpyPT(x[0], x[1]) / exact.specificEnthalpyPT(x[0], x[1]), 2e-9);
+            assertEquals(1, truncated.specificVolumePT(x[0], x[1]) / exact.specificVolumePT(x[0], x[1]), 2e-9);
+            assertEquals(1, truncated.speedOfSoundPT(x[0], x[1]) / exact.speedOfSoundPT(x[0], x[1]), 2e-9);
+        }
+        assertEquals(1, truncated.specificEntropyPH(0.005, 2500) / exact.specificEntropyPH(0.005, 2500), 2e-9);
+
+        truncated.setResidualTolerance(0);
+        assertEquals(exact.specificEnthalpyPT(0.005, 320), truncated.specificEnthalpyPT(0.005, 320), 0);
+
+        try {
+            truncated.setResidualTolerance(-1);
+            fail("Negative tolerance should be rejected.");
+
+        } catch (IllegalArgumentException e) {
+        }
+    }
+
     @Test
     public void testSaturationPressureT() {
 
@@ -596,9 +941,9 @@ public class IF97Test {
         }
 
         X = new double[][]{
-            {0.502005554e3, Region.REGION3.pressureRhoT(500, 650), 650}, // region 3
-            {0.383444594e3, Region.REGION3.pressureRhoT(200, 650), 650},
-            {0.760696041e3, Region.REGION3.pressureRhoT(500, 750), 750}};
+            {0.502005554e3, Region3.INSTANCE.pressureRhoT(500, 650), 650}, // region 3
+            {0.383444594e3, Region3.INSTANCE.pressureRhoT(200, 650), 650},
+            {0.760696041e3, Region3.INSTANCE.pressureRhoT(500, 750), 750}};
 
         for (double[] x : X) {
             assertEquals(x[0], if97.speedOfSoundPT(x[1], x[2]), 1e-2);
@@ -724,6 +1069,85 @@ public class IF97Test {
         //System.out.format("PsatT(%.1f F): %f bar%n", Timp, if97.saturationPressureT(Timp) * IF97.psi * 10);
     }
 
+    @Test
+    public void testValidationLevel() {
+
+        IF97 full = new IF97(), validated = new IF97();
+        double[][] PT = {{0.1, 300}, {10, 500}, {25, 650}, {30, 1500}},
+                PH = {{1, 500}, {1, 2000}, {18, 1900}, {25, 2500}, {50, 3500}},
+                PS = {{1, 1.5}, {1, 5}, {18, 4.2}, {25, 5}, {50, 6}},
+                HS = {{500, 1.5}, {2000, 5}, {2400, 4.8}, {3500, 7}};
+
+        assertEquals(IF97.ValidationLevel.FULL, full.getValidationLevel());
+
+        for (IF97.ValidationLevel level : new IF97.ValidationLevel[]{IF97.ValidationLevel.BOUNDARY_ONLY, IF97.ValidationLevel.NONE}) {
+            validated.setValidationLevel(level);
+
+            for (double[] x : PT) {
+                assertEquals(full.specificEnthalpyPT(x[0], x[1]), validated.specificEnthalpyPT(x[0], x[1]), 0);
+            }
+            for (double[] x : PH) {
+                assertEquals(full.temperaturePH(x[0], x[1]), validated.temperaturePH(x[0], x[1]), 0);
+                assertEquals(full.specificVolumePH(x[0], x[1]), validated.specificVolumePH(x[0], x[1]), 0);
+            }
+            for (double[] x : PS) {
+                assertEquals(full.specificEnthalpyPS(x[0], x[1]), validated.specificEnthalpyPS(x[0], x[1]), 0);
+            }
+            for (double[] x : HS) {
+                assertEquals(full.pressureHS(x[0], x[1]), validated.pressureHS(x[0], x[1]), 0);
+            }
+            assertEquals(full.specificEnthalpySaturatedVapourP(10), validated.specificEnthalpySaturatedVapourP(10), 0);
+        }
+
+        // boundaries only: constant limits are still checked, envelopes aren't
+        validated.setValidationLevel(IF97.ValidationLevel.BOUNDARY_ONLY);
+
+        try {
+            full.specificEnthalpyPS(1, 20);
+            fail("Entropy above the region 2 limit should be rejected.");
+
+        } catch (OutOfRangeException e) {
+        }
+        validated.specificEnthalpyPS(1, 11);
+
+        try {
+            validated.specificEnthalpyPS(1, 20);
+            fail("Entropy above the overall maximum should be rejected.");
+
+        } catch (OutOfRangeException e) {
+            assertEquals(Region.s0T25, e.getLimit(), 0);
+        }
+
+        try {
+            validated.specificEnthalpyPS(200, 5);
+            fail("Pressure above 100 MPa should be rejected.");
+
+        } catch (OutOfRangeException e) {
+            assertEquals(Region.p132, e.getLimit(), 0);
+        }
+
+        // no validation: NaN on garbage
+        validated.setValidationLevel(IF97.ValidationLevel.NONE);
+
+        assertTrue(Double.isNaN(validated.specificEntropyPT(-1, 300)));
+        assertTrue(Double.isNaN(validated.temperaturePH(Double.NaN, 2000)));
+        assertTrue(Double.isNaN(validated.saturationTemperatureP(-1)));
+        assertTrue(Double.isNaN(validated.specificEnthalpyPT(-1, 500)));
+        assertTrue(Double.isNaN(validated.specificEnthalpyPT(1, 100)));
+        assertTrue(Double.isNaN(validated.temperaturePH(1, 1e5)));
+        assertTrue(Double.isNaN(validated.temperaturePH(200, 3000)));
+        assertTrue(Double.isNaN(validated.pressureHS(5000, 1)));
+        assertTrue(Double.isNaN(validated.specificEnthalpyPS(1, 20)));
+        assertTrue(Double.isNaN(validated.specificEnthalpySaturatedLiquidP(30)));
+
+        try {
+            validated.setValidationLevel(null);
+            fail("Null validation level should be rejected.");
+
+        } catch (IllegalArgumentException e) {
+        }
+    }
+
     @Test
     public void testViscosityPT() {
 
@@ -30,14 +30,28 @@ import org.junit.runners.Suite;
  */
 @RunWith(Suite.class)
 @Suite.SuiteClasses({
+    com.hummeling.if97.AdaptiveTableTest.class,
+    com.hummeling.if97.BulkProcessorTest.class,
+    com.hummeling.if97.DiagramGeneratorTest.class,
+    com.hummeling.if97.DualTest.class,
     com.hummeling.if97.IF97Test.class,
+    com.hummeling.if97.IsobarEvaluatorTest.class,
+    com.hummeling.if97.ProcessStepsTest.class,
+    com.hummeling.if97.PropertyServerTest.class,
+    com.hummeling.if97.PropertyTableTest.class,
     com.hummeling.if97.Region1Test.class,
     com.hummeling.if97.Region2MetaTest.class,
     com.hummeling.if97.Region2Test.class,
     com.hummeling.if97.Region3Test.class,
     com.hummeling.if97.Region4Test.class,
     com.hummeling.if97.Region5Test.class,
-    com.hummeling.if97.RegionTest.class
+    com.hummeling.if97.RegionTest.class,
+    com.hummeling.if97.RequestCoalescerTest.class,
+    com.hummeling.if97.ResidualSeriesTest.class,
+    com.hummeling.if97.SaturationStateTest.class,
+    com.hummeling.if97.ShadowSamplerTest.class,
+    com.hummeling.if97.StateBlockTest.class,
+    com.hummeling.if97.StateCodecTest.class
 })
 public class If97Suite {
 }
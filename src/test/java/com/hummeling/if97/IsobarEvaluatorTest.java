@@ -0,0 +1,147 @@
+/*
+ * IsobarEvaluatorTest.java
+ *
+ * This file is part of IF97.
+ *
+ * IF97 is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option)
+ * any later version.
+ *
+ * IF97 is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with IF97. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Copyright 2009-2022 Hummeling Engineering BV (www.hummeling.com)
+ */
+package com.hummeling.if97;
+
+import com.hummeling.if97.IF97.Quantity;
+import com.hummeling.if97.IF97.UnitSystem;
+import java.util.PrimitiveIterator;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * Isobar evaluator tests.
+ *
+ * @author Ralph Hummeling
+ * (<a href="https://www.hummeling.com">www.hummeling.com</a>)
+ */
+public class IsobarEvaluatorTest {
+
+    static final double[] PRESSURES = {0.01, 1, 3, 10, Region.ps13, 17, 21, 30, 60};
+    static IF97 if97;
+
+    @BeforeClass
+    public static void setUpClass() throws Exception {
+        if97 = new IF97();
+    }
+
+    private static void assertRelative(double expected, double actual) {
+        assertEquals(expected, actual, 1e-10 * Math.abs(expected));
+    }
+
+    @Test
+    public void testPH() {
+
+        for (double p : PRESSURES) {
+            IsobarEvaluator isobar = if97.isobar(p);
+
+            for (double h = 100; h < 3500; h += 50) {
+                assertRelative(if97.temperaturePH(p, h), isobar.temperatureH(h));
+                assertRelative(if97.specificVolumePH(p, h), isobar.specificVolumeH(h));
+                assertRelative(if97.densityPH(p, h), isobar.value(Quantity.rho, Quantity.h, h));
+                assertRelative(if97.specificEntropyPH(p, h), isobar.value(Quantity.s, Quantity.h, h));
+
+                if (p > Region.ps13 && p < IF97.pc && Region.getRegionPH(p, h).NUMBER == 4) {
+                    // saturated cp from the iterated volumes, not the backward equations
+                    assertEquals(if97.isobaricHeatCapacityPH(p, h), isobar.isobaricHeatCapacityH(h), 1e-3 * if97.isobaricHeatCapacityPH(p, h));
+
+                } else {
+                    assertRelative(if97.isobaricHeatCapacityPH(p, h), isobar.isobaricHeatCapacityH(h));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testPS() {
+
+        for (double p : PRESSURES) {
+            IsobarEvaluator isobar = if97.isobar(p);
+
+            for (double s = 1; s < 6.5; s += 0.25) {
+                assertRelative(if97.temperaturePS(p, s), isobar.temperatureS(s));
+                assertRelative(if97.specificEnthalpyPS(p, s), isobar.value(Quantity.h, Quantity.s, s));
+                assertRelative(if97.specificVolumePS(p, s), isobar.value(Quantity.v, Quantity.s, s));
+            }
+        }
+    }
+
+    @Test
+    public void testPT() {
+
+        for (double p : PRESSURES) {
+            IsobarEvaluator isobar = if97.isobar(p);
+
+            for (double T = 280; T < 1900; T += 40) {
+                if (p > Region.p5 && T > Region.T25) {
+                    break;
+                }
+                assertRelative(if97.specificEnthalpyPT(p, T), isobar.specificEnthalpyT(T));
+                assertRelative(if97.specificEntropyPT(p, T), isobar.value(Quantity.s, Quantity.T, T));
+                assertRelative(if97.specificVolumePT(p, T), isobar.value(Quantity.v, Quantity.T, T));
+                assertRelative(if97.isobaricHeatCapacityPT(p, T), isobar.value(Quantity.cp, Quantity.T, T));
+            }
+        }
+    }
+
+    @Test
+    public void testSettings() {
+
+        AbstractIF97 bounded = IF97.builder().boundedLatency(true).build();
+
+        for (double p : new double[]{17, 20, 22, 22.04}) {
+            IsobarEvaluator isobar = bounded.isobar(p);
+            double hL = bounded.specificEnthalpySaturatedLiquidP(p),
+                    hV = bounded.specificEnthalpySaturatedVapourP(p);
+
+            for (int i = 1; i < 10; i++) {
+                double h = hL + (hV - hL) * i / 10;
+
+                assertRelative(bounded.saturationTemperatureP(p), isobar.temperatureH(h));
+                assertRelative(bounded.specificVolumePH(p, h), isobar.specificVolumeH(h));
+            }
+        }
+    }
+
+    @Test
+    public void testSweep() {
+
+        IF97 engineering = new IF97(UnitSystem.ENGINEERING);
+        IsobarEvaluator isobar = engineering.isobar(50);
+        PrimitiveIterator.OfDouble T = isobar.sweep(Quantity.T, Quantity.h, 200, 3000, 15);
+
+        for (int i = 0; i < 15; i++) {
+            assertRelative(engineering.temperaturePH(50, 200 + i * 200), T.nextDouble());
+        }
+        assertFalse(T.hasNext());
+    }
+
+    @Test(expected = OutOfRangeException.class)
+    public void testOutOfRange() {
+        if97.isobar(1).temperatureH(5000);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNotAvailable() {
+        if97.isobar(1).value(Quantity.eta, Quantity.h, 1000);
+    }
+}
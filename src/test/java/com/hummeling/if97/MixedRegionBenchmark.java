@@ -0,0 +1,96 @@
+/*
+ * MixedRegionBenchmark.java
+ *
+ * This file is part of IF97.
+ *
+ * IF97 is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option)
+ * any later version.
+ *
+ * IF97 is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with IF97. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Copyright 2009-2022 Hummeling Engineering BV (www.hummeling.com)
+ */
+package com.hummeling.if97;
+
+import java.util.Random;
+
+/**
+ * Mixed-region throughput benchmark, evaluates PT, PH and PS functions on
+ * states randomly spread over regions 1, 2, 3 and 5 (PT) and 1, 2, 3 and 4 (PH, PS) so that the facade's
+ * call sites see all region implementations.
+ *
+ * <p>
+ * Run from the project root after <code>mvn test-compile</code>:</p>
+ * <pre>
+ * java -cp target/classes:target/test-classes com.hummeling.if97.MixedRegionBenchmark [seconds]
+ * </pre>
+ *
+ * @author Ralph Hummeling
+ * (<a href="https://www.hummeling.com">www.hummeling.com</a>)
+ */
+public class MixedRegionBenchmark {
+
+    private static final int STATES = 4096;
+
+    public static void main(String[] args) {
+
+        double seconds = args.length > 0 ? Double.parseDouble(args[0]) : 5;
+        IF97 if97 = new IF97();
+        Random random = new Random(97);
+        double[][] PT = new double[STATES][], PH = new double[STATES][], PS = new double[STATES][];
+
+        for (int i = 0; i < STATES; i++) {
+            switch (i % 4) {
+                case 0: // region 1
+                    PT[i] = new double[]{5 + 50 * random.nextDouble(), 300 + 200 * random.nextDouble()};
+                    break;
+                case 1: // region 2
+                    PT[i] = new double[]{0.1 + 2 * random.nextDouble(), 600 + 400 * random.nextDouble()};
+                    break;
+                case 2: // region 3
+                    PT[i] = new double[]{40 + 50 * random.nextDouble(), 650 + 20 * random.nextDouble()};
+                    break;
+                default: // region 5
+                    PT[i] = new double[]{0.1 + 10 * random.nextDouble(), 1100 + 800 * random.nextDouble()};
+            }
+            double p = i % 4 == 3 ? 1 + 10 * random.nextDouble() : PT[i][0],
+                    T = i % 4 == 3 ? if97.saturationTemperatureP(p) : PT[i][1];
+
+            PH[i] = new double[]{p, i % 4 == 3 ? if97.specificEnthalpyPX(p, random.nextDouble()) : if97.specificEnthalpyPT(p, T)};
+            PS[i] = new double[]{p, i % 4 == 3 ? if97.specificEntropyPX(p, random.nextDouble()) : if97.specificEntropyPT(p, T)};
+        }
+        run("warm-up", if97, PT, PH, PS, seconds);
+        run("measure", if97, PT, PH, PS, seconds);
+    }
+
+    private static void run(String label, IF97 if97, double[][] PT, double[][] PH, double[][] PS, double seconds) {
+
+        long calls = 0, end = System.nanoTime() + (long) (seconds * 1e9), start = System.nanoTime();
+        double sink = 0;
+
+        while (System.nanoTime() < end) {
+            for (int i = 0; i < STATES; i++) {
+                double[] pt = PT[i], ph = PH[i], ps = PS[i];
+
+                sink += if97.specificEnthalpyPT(pt[0], pt[1])
+                        + if97.specificVolumePT(pt[0], pt[1])
+                        + if97.isobaricHeatCapacityPT(pt[0], pt[1])
+                        + if97.speedOfSoundPT(pt[0], pt[1])
+                        + if97.temperaturePH(ph[0], ph[1])
+                        + if97.temperaturePS(ps[0], ps[1]);
+            }
+            calls += STATES * 6;
+        }
+        double elapsed = (System.nanoTime() - start) * 1e-9;
+
+        System.out.format("%s: %.3f Mcalls/s (%.1f ns/call, sink %.3e)%n", label, calls / elapsed * 1e-6, elapsed / calls * 1e9, sink);
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * PrecisionProfileBenchmark.java
+ *
+ * This file is part of IF97.
+ *
+ * IF97 is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option)
+ * any later version.
+ *
+ * IF97 is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with IF97. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Copyright 2009-2022 Hummeling Engineering BV (www.hummeling.com)
+ */
+package com.hummeling.if97;
+
+import com.hummeling.if97.IF97.PrecisionProfile;
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * Precision profile benchmark, evaluates the saturated liquid &amp; vapour
+ * specific enthalpy &amp; specific volume on a pressure grid from 16.5292 MPa
+ * up to the critical point, where these are solved for, with each
+ * {@link PrecisionProfile}, iterative &amp; with bounded latency. Reports the
+ * mean time per call &amp; the largest deviations from the iterative
+ * reference profile up to 22 MPa; closer to the critical point the
+ * saturation curve is too ill-conditioned for a meaningful comparison.
+ *
+ * <p>
+ * Run from the project root after <code>mvn test-compile</code>:</p>
+ * <pre>
+ * java -cp target/classes:target/test-classes com.hummeling.if97.PrecisionProfileBenchmark [seconds per measurement]
+ * </pre>
+ *
+ * @author Ralph Hummeling
+ * (<a href="https://www.hummeling.com">www.hummeling.com</a>)
+ */
+public class PrecisionProfileBenchmark {
+
+    private static final int POINTS = 1000;
+    private static final double P_ACCURACY = 22;
+
+    public static void main(String[] args) {
+
+        double seconds = args.length > 0 ? Double.parseDouble(args[0]) : 1;
+        double[] p = new double[POINTS];
+
+        for (int i = 0; i < POINTS; i++) {
+            p[i] = i % 2 == 0
+                    ? Region.ps13 + (IF97.pc - Region.ps13) * i / POINTS
+                    : IF97.pc - Math.pow(10, -6 + 6.0 * i / POINTS);
+        }
+        ImmutableIF97 reference = IF97.builder().precisionProfile(PrecisionProfile.REFERENCE).build();
+        double[][] expected = evaluate(reference, p);
+
+        for (int run = 0; run < 2; run++) { // warm-up & measure
+            boolean report = run == 1;
+
+            if (report) {
+                System.out.format("%-24s %14s %14s %14s%n", "profile", "cost [ns]", "max dh [kJ/kg]", "max dv/v [-]");
+            }
+            for (boolean bounded : new boolean[]{false, true}) {
+                for (PrecisionProfile profile : PrecisionProfile.values()) {
+                    ImmutableIF97 if97 = IF97.builder().precisionProfile(profile).boundedLatency(bounded).build();
+                    long calls = 0, end = System.nanoTime() + (long) (seconds * 1e9), start = System.nanoTime();
+                    double[][] values = null;
+
+                    while (System.nanoTime() < end) {
+                        values = evaluate(if97, p);
+                        calls += 4 * POINTS;
+                    }
+                    double elapsed = System.nanoTime() - start, dh = 0, dv = 0;
+
+                    for (int i = 0; i < POINTS; i++) { // NaN deviations are skipped
+                        if (p[i] > P_ACCURACY) {
+                            continue;
+                        }
+                        dh = max(dh, values[0][i] - expected[0][i], values[1][i] - expected[1][i]);
+                        dv = max(dv, values[2][i] / expected[2][i] - 1, values[3][i] / expected[3][i] - 1);
+                    }
+                    if (report) {
+                        System.out.format("%-24s %14.1f %14.3e %14.3e%n", profile + (bounded ? ", bounded" : ""), elapsed / calls, dh, dv);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * @return largest absolute value, ignoring NaN
+     */
+    private static double max(double max, double... deviations) {
+
+        for (double deviation : deviations) {
+            if (Math.abs(deviation) > max) {
+                max = Math.abs(deviation);
+            }
+        }
+        return max;
+    }
+
+    /**
+     * @return hL, hV, vL &amp; vV at the given pressures
+     */
+    private static double[][] evaluate(AbstractIF97 if97, double[] p) {
+
+        DoubleUnaryOperator[] functions = {
+            if97::specificEnthalpySaturatedLiquidP,
+            if97::specificEnthalpySaturatedVapourP,
+            if97::specificVolumeSaturatedLiquidP,
+            if97::specificVolumeSaturatedVapourP};
+        double[][] out = new double[functions.length][p.length];
+
+        for (int j = 0; j < functions.length; j++) {
+            for (int i = 0; i < p.length; i++) {
+                out[j][i] = functions[j].applyAsDouble(p[i]);
+            }
+        }
+        return out;
+    }
+}
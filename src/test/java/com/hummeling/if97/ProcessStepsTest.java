@@ -0,0 +1,208 @@
+/*
+ * ProcessStepsTest.java
+ *
+ * This file is part of IF97.
+ *
+ * IF97 is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option)
+ * any later version.
+ *
+ * IF97 is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with IF97. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Copyright 2009-2022 Hummeling Engineering BV (www.hummeling.com)
+ */
+package com.hummeling.if97;
+
+import com.hummeling.if97.IF97.UnitSystem;
+import com.hummeling.if97.IF97.ValidationLevel;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * Process step tests, against the equivalent chains of facade calls.
+ *
+ * @author Ralph Hummeling
+ * (<a href="https://www.hummeling.com">www.hummeling.com</a>)
+ */
+public class ProcessStepsTest {
+
+    static final double TOLERANCE = 1e-9;
+    static IF97 if97;
+
+    @BeforeClass
+    public static void setUpClass() throws Exception {
+        if97 = new IF97();
+    }
+
+    static void assertState(AbstractIF97 if97, double p, double h, ProcessState state) {
+
+        double tolerance = TOLERANCE * Math.abs(h);
+
+        assertEquals(p, state.getPressure(), TOLERANCE);
+        assertEquals(h, state.getSpecificEnthalpy(), tolerance);
+        assertEquals(if97.temperaturePH(p, h), state.getTemperature(), 1e-9);
+        assertEquals(if97.specificEntropyPH(p, h), state.getSpecificEntropy(), 1e-9);
+        assertEquals(if97.specificVolumePH(p, h), state.getSpecificVolume(), 1e-9 * state.getSpecificVolume());
+        assertEquals(1 / state.getSpecificVolume(), state.getDensity(), 0);
+
+        if (state.getRegion() == 4) {
+            assertEquals(if97.vapourFractionPH(p, h), state.getVapourFraction(), 1e-9);
+        }
+        assertEquals(if97.getUnitSystem(), state.getUnitSystem());
+    }
+
+    static double chain(double p1, double h1, double p2, double eta) {
+
+        double s1 = if97.specificEntropyPH(p1, h1),
+                h2s = if97.specificEnthalpyPS(p2, s1);
+
+        return h1 - eta * (h1 - h2s);
+    }
+
+    @Test
+    public void testAdiabaticMix() {
+
+        ProcessState outlet = new ProcessState();
+        double h = if97.adiabaticMix(1, 3, 400, 1, 2800, outlet);
+
+        assertEquals(1000, h, TOLERANCE);
+        assertState(if97, 1, h, outlet);
+        assertEquals(4, outlet.getRegion());
+    }
+
+    @Test
+    public void testIsentropicCompression() {
+
+        ProcessState outlet = new ProcessState();
+        double p1 = 0.01, h1 = if97.specificEnthalpySaturatedLiquidP(p1), p2 = 15,
+                h2s = if97.specificEnthalpyPS(p2, if97.specificEntropyPH(p1, h1)),
+                h2 = if97.isentropicCompression(p1, h1, p2, 0.8, outlet);
+
+        assertEquals(h1 + (h2s - h1) / 0.8, h2, TOLERANCE * h2);
+        assertState(if97, p2, h2, outlet);
+        assertEquals(1, outlet.getRegion());
+        assertEquals(0, outlet.getVapourFraction(), 0);
+    }
+
+    @Test
+    public void testIsentropicExpansion() {
+
+        double[][] cases = {
+            // p1, h1, p2, eta
+            {16, 3400, 4, 0.88}, // region 2 to 2
+            {16, 3400, 0.005, 0.85}, // region 2 to 4
+            {4, 2900, 0.2, 0.9}, // region 2 to 4
+            {25, 3300, 18, 0.9}, // above ps13, general path
+            {30, 2000, 1, 1}, // region 3 to 4
+            {5, 1000, 0.1, 1}, // region 1 to 4
+            {1, 500, 0.5, 0.7}}; // region 1 to 1
+        ProcessState outlet = new ProcessState();
+
+        for (double[] c : cases) {
+            double h2 = if97.isentropicExpansion(c[0], c[1], c[2], c[3], outlet);
+
+            assertEquals(chain(c[0], c[1], c[2], c[3]), h2, TOLERANCE * h2);
+            assertEquals(h2, if97.isentropicExpansion(c[0], c[1], c[2], c[3]), 0);
+            assertState(if97, c[2], h2, outlet);
+        }
+    }
+
+    @Test
+    public void testIsobaricHeat() {
+
+        ProcessState outlet = new ProcessState();
+        double p = 10, h1 = if97.specificEnthalpyPT(p, 300),
+                h2 = if97.isobaricHeat(p, h1, 2800, outlet);
+
+        assertEquals(h1 + 2800, h2, TOLERANCE);
+        assertState(if97, p, h2, outlet);
+        assertEquals(2, outlet.getRegion());
+        assertEquals(1, outlet.getVapourFraction(), 0);
+    }
+
+    @Test
+    public void testOutOfRange() {
+
+        try {
+            if97.isentropicExpansion(1, 3000, 0.1, 0);
+            fail("Zero efficiency should be rejected.");
+
+        } catch (IllegalArgumentException e) {
+            assertTrue(!(e instanceof OutOfRangeException));
+        }
+        try {
+            if97.isobaricHeat(1, 3000, 2000);
+            fail("Outlet beyond region 2 should be rejected.");
+
+        } catch (OutOfRangeException e) {
+            assertEquals(if97.specificEnthalpyPT(1, Region.T25), e.getLimit(), 1e-9);
+        }
+        try {
+            new IF97(UnitSystem.ENGINEERING).throttle(10, 3000, 0.001);
+            fail("Outlet pressure below the triple point should be rejected.");
+
+        } catch (OutOfRangeException e) {
+            assertEquals(IF97.p0 * 10, e.getLimit(), 1e-12); // bar
+        }
+    }
+
+    @Test
+    public void testSettings() {
+
+        AbstractIF97 configured = IF97.builder().boundedLatency(true).residualTolerance(1e-12).build();
+        ProcessState outlet = new ProcessState();
+        double[][] cases = {
+            // p1, h1, p2, eta
+            {16, 3400, 0.005, 0.85}, // region 2 to 4
+            {25, 3300, Region.ps13, 0.9}, // to the highest isobar shortcut
+            {30, 2000, 1, 1}}; // region 3 to 4
+
+        for (double[] c : cases) {
+            double h1 = c[1], p2 = c[2], eta = c[3],
+                    h2s = configured.specificEnthalpyPS(p2, configured.specificEntropyPH(c[0], h1)),
+                    h2 = configured.isentropicExpansion(c[0], h1, p2, eta, outlet);
+
+            assertEquals(h1 - eta * (h1 - h2s), h2, TOLERANCE * h2);
+            assertState(configured, p2, h2, outlet);
+        }
+        AbstractIF97 unchecked = IF97.builder().validationLevel(ValidationLevel.NONE).build();
+
+        assertEquals(4158, unchecked.isobaricHeat(1, 3000, 1158), 0); // beyond region 2, envelope not checked
+        assertEquals(4158, unchecked.isobaricHeat(20, 3000, 1158), 0);
+        assertTrue(Double.isNaN(unchecked.isobaricHeat(1, 3000, 2000))); // beyond the overall maximum
+    }
+
+    @Test
+    public void testThrottle() {
+
+        ProcessState outlet = new ProcessState();
+        double h = if97.specificEnthalpySaturatedLiquidP(5);
+
+        assertEquals(h, if97.throttle(5, h, 0.1, outlet), 0);
+        assertState(if97, 0.1, h, outlet);
+        assertEquals(4, outlet.getRegion());
+        assertTrue(outlet.getVapourFraction() > 0.1);
+    }
+
+    @Test
+    public void testUnitSystem() {
+
+        IF97 engineering = new IF97(UnitSystem.ENGINEERING);
+        ProcessState outlet = new ProcessState();
+        double h2 = engineering.isentropicExpansion(160, 3400, 0.05, 0.85, outlet); // bar, kJ/kg
+
+        assertEquals(if97.isentropicExpansion(16, 3400, 0.005, 0.85), h2, TOLERANCE * h2);
+        assertState(engineering, 0.05, h2, outlet);
+        assertEquals(engineering.saturationTemperatureP(0.05), outlet.getTemperature(), 1e-9); // deg C
+    }
+}
@@ -0,0 +1,179 @@
+/*
+ * PropertyServerTest.java
+ *
+ * This file is part of IF97.
+ *
+ * IF97 is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option)
+ * any later version.
+ *
+ * IF97 is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with IF97. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Copyright 2009-2022 Hummeling Engineering BV (www.hummeling.com)
+ */
+package com.hummeling.if97;
+
+import com.hummeling.if97.IF97.UnitSystem;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * Property server tests, on localhost.
+ *
+ * @author Ralph Hummeling
+ * (<a href="https://www.hummeling.com">www.hummeling.com</a>)
+ */
+public class PropertyServerTest {
+
+    static IF97 if97;
+    static PropertyServer server;
+
+    @BeforeClass
+    public static void setUpClass() throws Exception {
+        if97 = new IF97();
+        server = new PropertyServer(UnitSystem.DEFAULT, 0);
+    }
+
+    @AfterClass
+    public static void tearDownClass() throws Exception {
+        server.close();
+    }
+
+    private static void request(DataOutputStream out, int id, String output, String input1, String input2, double... values) throws IOException {
+
+        out.writeInt(4 + 3 + output.length() + input1.length() + input2.length() + 4 + 8 * values.length);
+        out.writeInt(id);
+
+        for (String name : new String[]{output, input1, input2}) {
+            out.writeByte(name.length());
+            out.write(name.getBytes(StandardCharsets.US_ASCII));
+        }
+        out.writeInt(values.length / 2);
+
+        for (double value : values) {
+            out.writeDouble(value);
+        }
+        out.flush();
+    }
+
+    private static double[] response(DataInputStream in, int id) throws IOException {
+
+        int length = in.readInt();
+
+        assertEquals(id, in.readInt());
+        byte status = in.readByte();
+
+        if (status != PropertyServer.OK) {
+            byte[] message = new byte[length - 5];
+
+            in.readFully(message);
+            throw new IllegalArgumentException(new String(message, StandardCharsets.UTF_8));
+        }
+        double[] out = new double[in.readInt()];
+
+        assertEquals(9 + 8 * out.length, length);
+
+        for (int i = 0; i < out.length; i++) {
+            out[i] = in.readDouble();
+        }
+        return out;
+    }
+
+    @Test
+    public void testPipelined() throws IOException {
+
+        try (Socket socket = new Socket(server.getAddress().getAddress(), server.getAddress().getPort())) {
+            DataOutputStream out = new DataOutputStream(socket.getOutputStream());
+            DataInputStream in = new DataInputStream(socket.getInputStream());
+
+            request(out, 1, "v", "p", "h", 1, 500, 10, 3000, 30, 2000);
+            request(out, 2, "h", "p", "T", 1, 300, 20, 700);
+            request(out, 3, "T", "p", "h", 101, 500, 1, 500);
+
+            double[] v = response(in, 1), h = response(in, 2), T = response(in, 3);
+
+            assertEquals(if97.specificVolumePH(1, 500), v[0], 0);
+            assertEquals(if97.specificVolumePH(10, 3000), v[1], 0);
+            assertEquals(if97.specificVolumePH(30, 2000), v[2], 0);
+            assertEquals(if97.specificEnthalpyPT(1, 300), h[0], 0);
+            assertEquals(if97.specificEnthalpyPT(20, 700), h[1], 0);
+            assertTrue(Double.isNaN(T[0]));
+            assertEquals(if97.temperaturePH(1, 500), T[1], 0);
+        }
+    }
+
+    @Test
+    public void testLarge() throws IOException {
+
+        double[] values = new double[20000];
+
+        for (int i = 0; i < values.length; i += 2) {
+            values[i] = 0.1 + i * 1e-3;
+            values[i + 1] = 300 + i * 0.01;
+        }
+        try (Socket socket = new Socket(server.getAddress().getAddress(), server.getAddress().getPort())) {
+            request(new DataOutputStream(socket.getOutputStream()), 7, "rho", "p", "T", values);
+
+            double[] rho = response(new DataInputStream(socket.getInputStream()), 7);
+
+            for (int i = 0; i < rho.length; i++) {
+                assertEquals(if97.densityPT(values[2 * i], values[2 * i + 1]), rho[i], 0);
+            }
+        }
+    }
+
+    @Test
+    public void testOversize() throws IOException {
+
+        try (Socket socket = new Socket(server.getAddress().getAddress(), server.getAddress().getPort())) {
+            DataOutputStream out = new DataOutputStream(socket.getOutputStream());
+            DataInputStream in = new DataInputStream(socket.getInputStream());
+
+            out.writeInt(PropertyServer.MAX_FRAME + 16);
+            out.writeInt(5);
+            out.write(new byte[PropertyServer.MAX_FRAME + 12]);
+            out.flush();
+
+            try {
+                response(in, 5);
+                fail("Oversize frame should be rejected.");
+
+            } catch (IllegalArgumentException e) {
+                System.out.println("oversize: " + e.getMessage());
+            }
+            // the connection remains usable
+            request(out, 6, "v", "p", "h", 1, 500);
+            assertEquals(if97.specificVolumePH(1, 500), response(in, 6)[0], 0);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNotAvailable() throws IOException {
+
+        try (Socket socket = new Socket(server.getAddress().getAddress(), server.getAddress().getPort())) {
+            request(new DataOutputStream(socket.getOutputStream()), 9, "p", "T", "h", 300, 500);
+            response(new DataInputStream(socket.getInputStream()), 9);
+        }
+    }
+
+    @Test
+    public void testVirtualThreads() {
+        assertEquals(PropertyServer.virtualThreadExecutor() != null, server.isVirtualThreads());
+    }
+}
@@ -0,0 +1,180 @@
+/*
+ * PropertyTableBenchmark.java
+ *
+ * This file is part of IF97.
+ *
+ * IF97 is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option)
+ * any later version.
+ *
+ * IF97 is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with IF97. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Copyright 2009-2022 Hummeling Engineering BV (www.hummeling.com)
+ */
+package com.hummeling.if97;
+
+import com.hummeling.if97.IF97.Quantity;
+import com.hummeling.if97.PropertyTable.Storage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+/**
+ * Property table benchmark, tabulates T, v, s &amp; x on a (p, h) grid
+ * spanning the liquid, wet &amp; vapour regions with double &amp; float
+ * storage, and looks up values at random points, where most lookups miss the
+ * CPU caches on large tables, &amp; along a sweep in h, where neighbouring
+ * lookups share cells. Reports the data size, the time per lookup, and the
+ * largest deviations from the IF97 equations &amp; between both storages.
+ *
+ * <p>
+ * This is done for two tables: one of the given number of nodes per axis, by
+ * default some 4 MB of float data, and one sized so that even its float data
+ * is twice the given last-level cache size, where random lookups are bound by
+ * memory latency and the halved footprint of float storage shows.</p>
+ *
+ * <p>
+ * Run from the project root after <code>mvn test-compile</code>:</p>
+ * <pre>
+ * java -cp target/classes:target/test-classes com.hummeling.if97.PropertyTableBenchmark [nodes per axis] [seconds per measurement] [last-level cache MB]
+ * </pre>
+ *
+ * @author Ralph Hummeling
+ * (<a href="https://www.hummeling.com">www.hummeling.com</a>)
+ */
+public class PropertyTableBenchmark {
+
+    private static final Quantity[] QUANTITIES = {Quantity.T, Quantity.v, Quantity.s, Quantity.x};
+    private static final double P_MIN = 1, P_MAX = 20, H_MIN = 100, H_MAX = 3500;
+    private static final int LOOKUPS = 1 << 16, SAMPLES = 2000;
+
+    public static void main(String[] args) throws IOException {
+
+        int nodes = args.length > 0 ? Integer.parseInt(args[0]) : 300;
+        double seconds = args.length > 1 ? Double.parseDouble(args[1]) : 1,
+                cache = args.length > 2 ? Double.parseDouble(args[2]) : 32;
+        int large = (int) Math.ceil(Math.sqrt(2 * cache * (1 << 20) / (QUANTITIES.length * 3 * Float.BYTES)));
+
+        benchmark(nodes, seconds);
+        System.out.println();
+        benchmark(large, seconds);
+    }
+
+    private static void benchmark(int nodes, double seconds) throws IOException {
+
+        Random random = new Random(97);
+        double[] p = new double[LOOKUPS], h = new double[LOOKUPS],
+                pSweep = new double[LOOKUPS], hSweep = new double[LOOKUPS];
+
+        for (int k = 0; k < LOOKUPS; k++) {
+            p[k] = P_MIN + (P_MAX - P_MIN) * random.nextDouble();
+            h[k] = H_MIN + (H_MAX - H_MIN) * random.nextDouble();
+            pSweep[k] = P_MIN + (P_MAX - P_MIN) * (k >> 8) / (LOOKUPS >> 8);
+            hSweep[k] = H_MIN + (H_MAX - H_MIN) * (k & 0xff) / 0x100;
+        }
+        Path[] files = new Path[Storage.values().length];
+        PropertyTable[] tables = new PropertyTable[files.length];
+
+        try {
+            for (Storage storage : Storage.values()) {
+                Path file = Files.createTempFile("if97-" + storage.name().toLowerCase(), ".ph");
+
+                files[storage.ordinal()] = file;
+                PropertyTable.generate(file, storage, PropertyTable.Grid.PH, P_MIN, P_MAX, nodes, H_MIN, H_MAX, nodes, QUANTITIES);
+                tables[storage.ordinal()] = PropertyTable.open(file);
+            }
+            for (int run = 0; run < 2; run++) { // warm-up & measure
+                boolean report = run == 1;
+
+                if (report) {
+                    System.out.format("%d x %d nodes, %d quantities%n", nodes, nodes, QUANTITIES.length);
+                    System.out.format("%-8s %10s %16s %16s%n", "", "data [MB]", "random [ns]", "sweep [ns]");
+                }
+                for (PropertyTable table : tables) {
+                    double scattered = time(seconds, table, p, h),
+                            sweep = time(seconds, table, pSweep, hSweep);
+
+                    if (report) {
+                        System.out.format("%-8s %10.1f %16.1f %16.1f%n", table.getStorage(),
+                                (double) QUANTITIES.length * nodes * nodes * 3 * table.getStorage().BYTES / (1 << 20), scattered, sweep);
+                    }
+                }
+            }
+            deviations(tables, random);
+
+        } finally {
+            for (Path file : files) {
+                if (file != null) {
+                    Files.delete(file);
+                }
+            }
+        }
+    }
+
+    /**
+     * Reports the largest deviations from the IF97 equations, in cells not
+     * crossing the saturation line, &amp; the largest deviation between both
+     * storages anywhere.
+     */
+    private static void deviations(PropertyTable[] tables, Random random) {
+
+        IF97 if97 = new IF97();
+        double[][] exact = new double[QUANTITIES.length][tables.length];
+        double[] storage = new double[QUANTITIES.length];
+
+        for (int k = 0; k < SAMPLES; k++) {
+            double p = P_MIN + (P_MAX - P_MIN) * random.nextDouble(),
+                    h = H_MIN + (H_MAX - H_MIN) * random.nextDouble(),
+                    hL = if97.specificEnthalpySaturatedLiquidP(p),
+                    hV = if97.specificEnthalpySaturatedVapourP(p);
+            boolean singlePhase = Math.abs(h - hL) > 50 && Math.abs(h - hV) > 50;
+
+            for (int q = 0; q < QUANTITIES.length; q++) {
+                double z = PropertyTable.Grid.PH.evaluate(if97, QUANTITIES[q], p, h),
+                        zDouble = tables[0].value(QUANTITIES[q], p, h),
+                        zFloat = tables[1].value(QUANTITIES[q], p, h);
+
+                if (singlePhase && !Double.isNaN(z)) {
+                    exact[q][0] = Math.max(exact[q][0], Math.abs(zDouble - z));
+                    exact[q][1] = Math.max(exact[q][1], Math.abs(zFloat - z));
+                }
+                storage[q] = Math.max(storage[q], Math.abs(zFloat - zDouble));
+            }
+        }
+        System.out.format("%n%-8s %16s %16s %16s%n", "", "DOUBLE vs IF97", "FLOAT vs IF97", "FLOAT vs DOUBLE");
+
+        for (int q = 0; q < QUANTITIES.length; q++) {
+            System.out.format("%-8s %16.3e %16.3e %16.3e%n", QUANTITIES[q].name(), exact[q][0], exact[q][1], storage[q]);
+        }
+    }
+
+    /**
+     * @return cost [ns/lookup]
+     */
+    private static double time(double seconds, PropertyTable table, double[] p, double[] h) {
+
+        long lookups = 0, end = System.nanoTime() + (long) (seconds * 1e9), start = System.nanoTime();
+        double sink = 0;
+
+        while (System.nanoTime() < end) {
+            for (int k = 0; k < LOOKUPS; k++) {
+                sink += table.value(QUANTITIES[k % QUANTITIES.length], p[k], h[k]);
+            }
+            lookups += LOOKUPS;
+        }
+        double elapsed = System.nanoTime() - start;
+
+        if (sink == 0) {
+            System.out.println("sink: " + sink);
+        }
+        return elapsed / lookups;
+    }
+}
@@ -0,0 +1,215 @@
+/*
+ * PropertyTableTest.java
+ *
+ * This file is part of IF97.
+ *
+ * IF97 is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option)
+ * any later version.
+ *
+ * IF97 is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with IF97. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Copyright 2009-2022 Hummeling Engineering BV (www.hummeling.com)
+ */
+package com.hummeling.if97;
+
+import com.hummeling.if97.IF97.Quantity;
+import com.hummeling.if97.IF97.UnitSystem;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import org.junit.BeforeClass;
+import org.junit.ClassRule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Property table tests.
+ *
+ * @author Ralph Hummeling
+ * (<a href="https://www.hummeling.com">www.hummeling.com</a>)
+ */
+public class PropertyTableTest {
+
+    @ClassRule
+    public static TemporaryFolder folder = new TemporaryFolder();
+    static Path file;
+    static IF97 if97;
+
+    @BeforeClass
+    public static void setUpClass() throws Exception {
+        if97 = new IF97(UnitSystem.DEFAULT);
+        file = folder.newFile("region1.ph").toPath();
+        PropertyTable.generate(file, PropertyTable.Grid.PH, 2, 10, 17, 200, 800, 25, Quantity.T, Quantity.v, Quantity.s);
+    }
+
+    @Test
+    public void testValue() throws IOException {
+
+        PropertyTable table = PropertyTable.open(file);
+
+        for (double p = 2.3; p < 10; p += 1.1) {
+            for (double h = 213; h < 800; h += 47) {
+                assertEquals(if97.temperaturePH(p, h), table.value(Quantity.T, p, h), 1e-4);
+                assertEquals(if97.specificVolumePH(p, h), table.value(Quantity.v, p, h), 1e-8);
+                assertEquals(if97.specificEntropyPH(p, h), table.value(Quantity.s, p, h), 1e-6);
+            }
+        }
+    }
+
+    @Test
+    public void testFloatStorage() throws IOException {
+
+        Path compact = folder.newFile("region1-float.ph").toPath();
+        PropertyTable.generate(compact, PropertyTable.Storage.FLOAT, PropertyTable.Grid.PH, 2, 10, 17, 200, 800, 25, Quantity.T, Quantity.v, Quantity.s);
+        PropertyTable table = PropertyTable.open(file),
+                floatTable = PropertyTable.open(compact);
+
+        assertEquals(PropertyTable.Storage.DOUBLE, table.getStorage());
+        assertEquals(PropertyTable.Storage.FLOAT, floatTable.getStorage());
+        assertEquals(3 * 17 * 25 * 3 * Float.BYTES, Files.size(file) - Files.size(compact)); // half the data
+
+        for (double p = 2.3; p < 10; p += 1.1) {
+            for (double h = 213; h < 800; h += 47) {
+                double T = floatTable.value(Quantity.T, p, h),
+                        v = floatTable.value(Quantity.v, p, h),
+                        s = floatTable.value(Quantity.s, p, h);
+
+                assertEquals(table.value(Quantity.T, p, h), T, 1e-4); // storage error budget
+                assertEquals(table.value(Quantity.v, p, h), v, 1e-7 * v);
+                assertEquals(table.value(Quantity.s, p, h), s, 1e-6);
+                assertEquals(if97.temperaturePH(p, h), T, 1e-4);
+                assertEquals(if97.specificVolumePH(p, h), v, 1e-8);
+                assertEquals(if97.specificEntropyPH(p, h), s, 1e-6);
+            }
+        }
+    }
+
+    @Test
+    public void testHeader() throws IOException {
+
+        Path compact = folder.newFile("header.ph").toPath();
+        PropertyTable.generate(compact, PropertyTable.Storage.FLOAT, PropertyTable.Grid.PT, 1, 10, 4, 300, 400, 4, Quantity.h);
+
+        try (RandomAccessFile raf = new RandomAccessFile(compact.toFile(), "rw")) {
+            byte[] storage = new byte[8];
+
+            raf.seek(56); // magic, version, header length, revision & grid
+            raf.readFully(storage);
+            assertEquals("FLOAT", new String(storage, StandardCharsets.US_ASCII).trim());
+
+            raf.seek(56);
+            raf.write(storage("HALF"));
+        }
+        try {
+            PropertyTable.open(compact);
+            fail("Unknown storage should be rejected.");
+
+        } catch (IOException e) {
+        }
+        try (RandomAccessFile raf = new RandomAccessFile(compact.toFile(), "rw")) {
+            raf.seek(56);
+            raf.write(storage("FLOAT"));
+            raf.seek(8);
+            raf.write(2); // little-endian format version 2
+        }
+        try {
+            PropertyTable.open(compact);
+            fail("Unknown format version should be rejected.");
+
+        } catch (IOException e) {
+            assertTrue(e.getMessage().contains("version 2"));
+        }
+    }
+
+    private static byte[] storage(String name) {
+        return Arrays.copyOf(name.getBytes(StandardCharsets.US_ASCII), 8);
+    }
+
+    @Test
+    public void testValueNodes() throws IOException {
+
+        PropertyTable table = PropertyTable.open(file);
+
+        assertEquals(if97.temperaturePH(2, 200), table.value(Quantity.T, 2, 200), 0);
+        assertEquals(if97.temperaturePH(10, 800), table.value(Quantity.T, 10, 800), 0);
+    }
+
+    @Test
+    public void testUnitSystem() throws IOException {
+
+        PropertyTable table = PropertyTable.open(file, UnitSystem.ENGINEERING);
+
+        assertEquals(if97.temperaturePH(5, 500) - IF97.T0, table.value(Quantity.T, 50, 500), 1e-4);
+    }
+
+    @Test
+    public void testChunks() throws IOException {
+
+        Path large = folder.newFile("large.pt").toPath();
+        PropertyTable.generate(large, PropertyTable.Grid.PT, 1, 10, 200, 300, 400, 300, Quantity.h); // data spans two write chunks
+        PropertyTable table = PropertyTable.open(large);
+
+        assertEquals(if97.specificEnthalpyPT(1, 300), table.value(Quantity.h, 1, 300), 0);
+        assertEquals(if97.specificEnthalpyPT(6.4, 400), table.value(Quantity.h, 6.4, 400), 1e-9);
+        assertEquals(if97.specificEnthalpyPT(10, 400), table.value(Quantity.h, 10, 400), 0);
+    }
+
+    @Test
+    public void testOversize() throws IOException {
+
+        Path oversize = folder.newFile("oversize.pt").toPath();
+
+        for (int nodes : new int[]{10000, 50000}) { // 7.2e9 & 1.8e11 bytes, the latter overflowing int
+            try {
+                PropertyTable.generate(oversize, PropertyTable.Grid.PT, 1, 10, nodes, 300, 400, nodes, Quantity.h, Quantity.v, Quantity.s);
+                fail("Oversize table should be rejected.");
+
+            } catch (IllegalArgumentException e) {
+                assertEquals(0, Files.size(oversize));
+            }
+        }
+    }
+
+    @Test(expected = OutOfRangeException.class)
+    public void testOutOfRange() throws IOException {
+        PropertyTable.open(file).value(Quantity.T, 11, 500);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNotTabulated() throws IOException {
+        PropertyTable.open(file).value(Quantity.cp, 5, 500);
+    }
+
+    @Test
+    public void testChecksum() throws IOException {
+
+        Path corrupt = folder.newFile("corrupt.ph").toPath();
+        PropertyTable.generate(corrupt, PropertyTable.Grid.PT, 1, 10, 4, 300, 400, 4, Quantity.h);
+
+        try (RandomAccessFile raf = new RandomAccessFile(corrupt.toFile(), "rw")) {
+            raf.seek(raf.length() - 3);
+            raf.write(0x55);
+        }
+        try {
+            PropertyTable.open(corrupt);
+            fail("Corrupt table should not open.");
+
+        } catch (IOException e) {
+            System.out.println("PropertyTable.open(corrupt): " + e.getMessage());
+        }
+    }
+}
@@ -20,7 +20,9 @@
  */
 package com.hummeling.if97;
 
+import com.hummeling.if97.IF97.PrecisionProfile;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 import org.junit.BeforeClass;
 import org.junit.Test;
 
@@ -44,6 +46,54 @@ public class Region4Test {
         region = new Region4();
     }
 
+    /**
+     * Bounded-latency solvers over a dense pressure grid up to the critical
+     * point, against the B34H &amp; region 3 equations they solve, the
+     * iterative solvers and Wagner's values.
+     */
+    @Test
+    public void testBoundedLatency() {
+
+        Region4 bounded = Region4.BOUNDED_LATENCY;
+        double[][] X = { // p, vL, vV, Wagner
+            {17, 0.00176934, 0.00836934},
+            {20, 0.00203865, 0.00585828},
+            {21.5, 0.00236016, 0.00446300},
+            {22, 0.00275039, 0.00357662}};
+
+        for (double[] x : X) {
+            assertEquals(x[1], bounded.specificVolumeSaturatedLiquidP(x[0]), 1e-8);
+            assertEquals(x[2], bounded.specificVolumeSaturatedVapourP(x[0]), 1e-8);
+        }
+        for (int i = 1; i < 2000; i++) {
+            // half of the points equidistant, half approaching pc geometrically
+            double p = i % 2 == 0 ? Region.ps13 + (IF97.pc - Region.ps13) * i / 2000 : IF97.pc - Math.pow(10, -6 + 6.0 * i / 2000),
+                    Ts = bounded.saturationTemperatureP(p),
+                    hL = bounded.specificEnthalpySaturatedLiquidP(p),
+                    hV = bounded.specificEnthalpySaturatedVapourP(p),
+                    vL = bounded.specificVolumeSaturatedLiquidP(p),
+                    vV = bounded.specificVolumeSaturatedVapourP(p);
+
+            assertTrue(hL <= hV && vL <= vV);
+
+            if (p < 22.0639) { // B34H has its maximum just below pc
+                assertEquals(p, bounded.saturationPressureB34H(hL), 1e-9);
+                assertEquals(p, bounded.saturationPressureB34H(hV), 1e-9);
+            }
+            assertEquals(p, Region3.INSTANCE.pressureRhoT(1 / vL, Ts), 1e-8);
+            assertEquals(p, Region3.INSTANCE.pressureRhoT(1 / vV, Ts), 1e-8);
+
+            if (p < 22) { // closer to pc the iterative solvers lose accuracy
+                assertEquals(region.specificEnthalpySaturatedLiquidP(p), hL, 1e-6);
+                assertEquals(region.specificEnthalpySaturatedVapourP(p), hV, 1e-6);
+            }
+            if (p < 22.0639) {
+                assertEquals(region.specificVolumeSaturatedLiquidP(p), vL, 1e-9);
+                assertEquals(region.specificVolumeSaturatedVapourP(p), vV, 1e-9);
+            }
+        }
+    }
+
     @Test
     public void testSaturationPressureB34H() {
 
@@ -322,6 +372,30 @@ public class Region4Test {
         }
     }
 
+    /**
+     * Near pc a bracket of the vapour root may also hold the unstable &amp;
+     * liquid roots, all profiles should still find the vapour root: the
+     * largest root of the region 3 equation at the saturation temperature.
+     */
+    @Test
+    public void testSpecificVolumeSaturatedVapourPNearCritical() {
+
+        double[][] X = {
+            {0.003447939, 22.03},
+            {0.003391991, 22.04},
+            {0.003322375, 22.05},
+            {0.003237826, 22.0585956},
+            {0.003122066, 22.0639}};
+
+        for (PrecisionProfile profile : PrecisionProfile.values()) {
+            Region4 region4 = Region4.get(false, profile);
+
+            for (double[] x : X) {
+                assertEquals(profile + " " + x[1], x[0], region4.specificVolumeSaturatedVapourP(x[1]), 1e-7);
+            }
+        }
+    }
+
 //    @Test
     public void testSpecificVolumeSaturatedVapour_fail16_53() {
 
@@ -339,8 +413,8 @@ public class Region4Test {
         for (double[] x : X) {
             double Tsat = region.saturationTemperatureP(x[1]),
                     nu = region.specificVolumeSaturatedVapourP(x[1]),
-                    nu2 = Region.REGION2.specificVolumePT(x[1], Tsat),
-                    nu3 = Region.REGION3.specificVolumePT(x[1], Tsat);
+                    nu2 = Region2.INSTANCE.specificVolumePT(x[1], Tsat),
+                    nu3 = Region3.INSTANCE.specificVolumePT(x[1], Tsat);
             System.out.format("p: %.3f, Ts: %.3f", x[1], Tsat);
             System.out.format(", specific volume: %8.6f", nu);
             System.out.format(", region 2: %8.6f", nu2);
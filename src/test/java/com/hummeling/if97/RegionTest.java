@@ -30,6 +30,26 @@ import org.junit.Test;
  */
 public class RegionTest {
 
+    @Test
+    public void testConstants() {
+
+        assertEquals(Region4.INSTANCE.saturationPressureT(IF97.T0), IF97.p0, 0);
+        assertEquals(Region3.INSTANCE.specificEntropyRhoT(IF97.rhoc, IF97.Tc), IF97.sc, 0);
+        assertEquals(Region2.INSTANCE.specificEntropyPT(IF97.p0, IF97.T0), Region.s2, 0);
+        assertEquals(Region4.INSTANCE.saturationPressureT(Region.T13), Region.ps13, 0);
+        assertEquals(Region1.INSTANCE.specificEnthalpyPT(Region.ps13, Region.T13), Region.hs13, 0);
+        assertEquals(Region1.INSTANCE.specificEntropyPT(Region.ps13, Region.T13), Region.ss13, 0);
+        assertEquals(Region2.INSTANCE.specificEnthalpyPT(Region.ps13, Region.T13), Region.hs23, 0);
+        assertEquals(Region2.INSTANCE.specificEntropyPT(Region.ps13, Region.T13), Region.ss23, 0);
+        assertEquals(Region1.INSTANCE.specificEnthalpyPT(IF97.p0, IF97.T0), Region.h0T0, 0);
+        assertEquals(Region1.INSTANCE.specificEntropyPT(Region.p132, IF97.T0), Region.s132T0, 0);
+        assertEquals(Region2.INSTANCE.specificEnthalpyPT(IF97.p0, Region.T25), Region.h0T25, 0);
+        assertEquals(Region2.INSTANCE.specificEntropyPT(IF97.p0, Region.T25), Region.s0T25, 0);
+        assertEquals(Region1.INSTANCE.specificEntropyPT(Region.p132, Region.T13), Region.s132T13, 0);
+        assertEquals(Region2.INSTANCE.specificEntropyPT(Region.p132, Region.T25), Region.s132T25, 0);
+        assertEquals(Region2.INSTANCE.specificEntropyPT(Region.p132, 863.15), Region.s132B23, 0);
+    }
+
     @Test
     public void testPressureB23() {
 
@@ -40,6 +60,48 @@ public class RegionTest {
         }
     }
 
+    @Test
+    public void testRegionHint() {
+
+        /*
+         Verification only checks the boundary nearest to the hinted region,
+         confirmed hints must match the full lookup within its range.
+         */
+        for (IF97.RegionHint hint : IF97.RegionHint.values()) {
+            Region region = Region.getRegion(hint);
+
+            for (double p = 0.01; p <= 100; p += 0.99) {
+                for (double x = 100; x < 4000; x += 50) {
+                    if (Region.isRegionPH(hint, p, x)) {
+                        assertRegion(region, hint, IF97.Quantity.h, p, x);
+                    }
+                }
+                for (double x = 0.5; x < 9; x += 0.1) {
+                    if (Region.isRegionPS(hint, p, x)) {
+                        assertRegion(region, hint, IF97.Quantity.s, p, x);
+                    }
+                }
+                for (double x = 280; x < 2273; x += 20) {
+                    if (Region.isRegionPT(hint, p, x)) {
+                        assertRegion(region, hint, IF97.Quantity.T, p, x);
+                    }
+                }
+            }
+        }
+    }
+
+    private static void assertRegion(Region expected, IF97.RegionHint hint, IF97.Quantity quantity, double p, double x) {
+        try {
+            Region region = quantity == IF97.Quantity.h ? Region.getRegionPH(p, x)
+                    : quantity == IF97.Quantity.s ? Region.getRegionPS(p, x) : Region.getRegionPT(p, x);
+
+            assertEquals(hint + ", p: " + p + ", " + quantity + ": " + x, expected, region);
+
+        } catch (OutOfRangeException e) {
+            // outside the full lookup's range
+        }
+    }
+
     @Test
     public void testRegionHS() {
 
@@ -0,0 +1,155 @@
+/*
+ * RequestCoalescerTest.java
+ *
+ * This file is part of IF97.
+ *
+ * IF97 is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option)
+ * any later version.
+ *
+ * IF97 is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with IF97. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Copyright 2009-2022 Hummeling Engineering BV (www.hummeling.com)
+ */
+package com.hummeling.if97;
+
+import com.hummeling.if97.IF97.Quantity;
+import com.hummeling.if97.IF97.UnitSystem;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * Request coalescer tests.
+ *
+ * @author Ralph Hummeling
+ * (<a href="https://www.hummeling.com">www.hummeling.com</a>)
+ */
+public class RequestCoalescerTest {
+
+    static IF97 if97;
+
+    @BeforeClass
+    public static void setUpClass() throws Exception {
+        if97 = new IF97();
+    }
+
+    @Test
+    public void testConcurrent() throws Exception {
+
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+
+        try (RequestCoalescer coalescer = if97.coalescer(1, TimeUnit.MILLISECONDS, 256)) {
+            List<Future<?>> futures = new ArrayList<>();
+
+            for (int t = 0; t < 16; t++) {
+                final Random random = new Random(t);
+
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 200; i++) {
+                        double p = 0.1 + 50 * random.nextDouble(), h = 200 + 3000 * random.nextDouble();
+
+                        assertEquals(if97.specificVolumePH(p, h), coalescer.specificVolumePH(p, h).join(), 0);
+                        assertEquals(if97.temperaturePH(p, h), coalescer.submit(Quantity.T, Quantity.h, Quantity.p, h, p).join(), 0);
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            long[] histogram = coalescer.getBatchSizeHistogram();
+            long batches = 0;
+
+            for (long count : histogram) {
+                batches += count;
+            }
+            assertEquals(16 * 200 * 2, coalescer.getRequestCount());
+            assertEquals(coalescer.getBatchCount(), batches);
+            assertTrue(coalescer.getMaxBatchSize() > 1);
+            System.out.println(coalescer + ", mean batch size: " + coalescer.getMeanBatchSize());
+
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testBatch() throws Exception {
+
+        try (RequestCoalescer coalescer = if97.coalescer(100, TimeUnit.MILLISECONDS, 4)) {
+            List<CompletableFuture<Double>> futures = new ArrayList<>();
+
+            for (int i = 0; i < 8; i++) {
+                futures.add(coalescer.specificEnthalpyPT(1 + i, 300 + 100 * i));
+            }
+            for (int i = 0; i < 8; i++) {
+                assertEquals(if97.specificEnthalpyPT(1 + i, 300 + 100 * i), futures.get(i).get(), 0);
+            }
+            assertEquals(2, coalescer.getBatchCount());
+            assertEquals(4, coalescer.getMaxBatchSize());
+        }
+    }
+
+    @Test
+    public void testUnitSystem() {
+
+        try (RequestCoalescer coalescer = new IF97(UnitSystem.ENGINEERING).coalescer(0, TimeUnit.MILLISECONDS, 16)) {
+            assertEquals(if97.temperaturePH(5, 500) - IF97.T0, coalescer.temperaturePH(50, 500).join(), 1e-9);
+        }
+    }
+
+    @Test
+    public void testOutOfRange() throws InterruptedException {
+
+        try (RequestCoalescer coalescer = if97.coalescer(10, TimeUnit.MILLISECONDS, 16)) {
+            CompletableFuture<Double> invalid = coalescer.temperaturePH(101, 500),
+                    valid = coalescer.temperaturePH(1, 500);
+
+            try {
+                invalid.get();
+                fail("Out-of-range request should complete exceptionally.");
+
+            } catch (ExecutionException e) {
+                assertTrue(e.getCause() instanceof OutOfRangeException);
+            }
+            assertEquals(if97.temperaturePH(1, 500), valid.join(), 0);
+        }
+    }
+
+    @Test(expected = RejectedExecutionException.class)
+    public void testClosed() {
+
+        RequestCoalescer coalescer = if97.coalescer(0, TimeUnit.MILLISECONDS, 16);
+
+        coalescer.close();
+        coalescer.temperaturePH(1, 500);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNotAvailable() {
+
+        try (RequestCoalescer coalescer = if97.coalescer(0, TimeUnit.MILLISECONDS, 16)) {
+            coalescer.submit(Quantity.p, Quantity.T, Quantity.h, 300, 500);
+        }
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * ResidualSeriesTest.java
+ *
+ * This file is part of IF97.
+ *
+ * IF97 is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option)
+ * any later version.
+ *
+ * IF97 is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with IF97. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Copyright 2009-2023 Hummeling Engineering BV (www.hummeling.com)
+ */
+package com.hummeling.if97;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+/**
+ * Truncated residual series tests.
+ *
+ * @author Ralph Hummeling
+ * (<a href="https://www.hummeling.com">www.hummeling.com</a>)
+ */
+public class ResidualSeriesTest {
+
+    /**
+     * Asserts the (p, T) properties of the truncated region to be within twice
+     * the tolerance of the exact region.
+     */
+    private static void assertProperties(Region exact, Region truncated, double tolerance, double p, double T) {
+
+        double delta = 2 * tolerance;
+
+        assertEquals(1, truncated.specificEnthalpyPT(p, T) / exact.specificEnthalpyPT(p, T), delta);
+        assertEquals(1, truncated.specificEntropyPT(p, T) / exact.specificEntropyPT(p, T), delta);
+        assertEquals(1, truncated.specificVolumePT(p, T) / exact.specificVolumePT(p, T), delta);
+        assertEquals(1, truncated.specificIsobaricHeatCapacityPT(p, T) / exact.specificIsobaricHeatCapacityPT(p, T), delta);
+        assertEquals(1, truncated.specificIsochoricHeatCapacityPT(p, T) / exact.specificIsochoricHeatCapacityPT(p, T), delta);
+        assertEquals(1, truncated.speedOfSoundPT(p, T) / exact.speedOfSoundPT(p, T), delta);
+    }
+
+    @Test
+    public void testRegion2() {
+
+        for (double tolerance : new double[]{1e-12, 1e-9, 1e-6}) {
+            Region2 truncated = new Region2(tolerance);
+
+            for (double p : new double[]{0.0007, 0.001, 0.005, 0.02, 0.1, 0.3, 0.99, 1, 5}) {
+                double Ts = Region4.INSTANCE.saturationTemperatureP(p);
+
+                for (double T = Math.max(Ts, IF97.T0); T <= Region.T25; T += 10) {
+                    assertProperties(Region2.INSTANCE, truncated, tolerance, p, T);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testRegion2Meta() {
+
+        double tolerance = 1e-9;
+        Region2Meta exact = new Region2Meta(), truncated = new Region2Meta(tolerance);
+
+        for (double p : new double[]{0.001, 0.01, 0.1, 1, 5}) {
+            double Ts = Region4.INSTANCE.saturationTemperatureP(p);
+
+            for (double T = Ts - 20; T <= Ts; T += 2) {
+                assertProperties(exact, truncated, tolerance, p, T);
+            }
+        }
+    }
+
+    @Test
+    public void testRegion5() {
+
+        double tolerance = 1e-9;
+        Region5 truncated = new Region5(tolerance);
+
+        for (double p : new double[]{0.01, 0.1, 0.5, 1, 30}) {
+            for (double T = Region.T25; T <= Region.T5; T += 50) {
+                assertProperties(Region5.INSTANCE, truncated, tolerance, p, T);
+            }
+        }
+    }
+
+    @Test
+    public void testTerms() {
+
+        Region2 region = Region2.INSTANCE;
+        double[][] IJnr = new double[43][];
+
+        for (int k = 0; k < IJnr.length; k++) {
+            IJnr[k] = new double[]{k / 2 + 1, k, 1};
+        }
+        ResidualSeries series = new ResidualSeries(IJnr, 0.5, region.Tref / Region.T25, region.Tref / IF97.T0, tau -> 10, tau -> 1, 1e-9);
+        double tau = region.Tref / 320;
+
+        assertTrue("fewer terms at low pressure", series.terms(ResidualSeries.TAU, 0.001, tau).length < series.terms(ResidualSeries.TAU, 0.1, tau).length);
+        assertEquals("all terms from pi = 1", IJnr.length, series.terms(ResidualSeries.TAU, 1, tau).length);
+        assertEquals("all terms outside the temperature range", IJnr.length, series.terms(ResidualSeries.TAU, 0.001, 3).length);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testTolerance() {
+        new ResidualSeries(new double[][]{{1, 0, 1}}, 0.5, 0.5, 2, tau -> 10, tau -> 1, 0);
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * ResidualTruncationBenchmark.java
+ *
+ * This file is part of IF97.
+ *
+ * IF97 is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option)
+ * any later version.
+ *
+ * IF97 is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with IF97. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Copyright 2009-2022 Hummeling Engineering BV (www.hummeling.com)
+ */
+package com.hummeling.if97;
+
+import java.util.Random;
+import java.util.function.DoubleBinaryOperator;
+import java.util.function.Function;
+
+/**
+ * Truncated residual series benchmark, times region 2 (p, T) properties on
+ * low-pressure turbine &amp; condenser states (2 kPa to 0.5 MPa) for a number of
+ * residual tolerances, see {@link IF97#setResidualTolerance(double)}, and
+ * reports the largest relative deviation from the full series.
+ *
+ * <p>
+ * Run from the project root after <code>mvn test-compile</code>:</p>
+ * <pre>
+ * java -cp target/classes:target/test-classes com.hummeling.if97.ResidualTruncationBenchmark [seconds per measurement]
+ * </pre>
+ *
+ * @author Ralph Hummeling
+ * (<a href="https://www.hummeling.com">www.hummeling.com</a>)
+ */
+public class ResidualTruncationBenchmark {
+
+    private static final int STATES = 4096;
+    private static final double[] TOLERANCES = {0, 1e-12, 1e-9, 1e-6};
+
+    public static void main(String[] args) {
+
+        double seconds = args.length > 0 ? Double.parseDouble(args[0]) : 1;
+        IF97 exact = new IF97();
+        Random random = new Random(97);
+        double[][] PT = new double[STATES][];
+
+        for (int i = 0; i < STATES; i++) {
+            double p = 0.002 * Math.pow(250, random.nextDouble()),
+                    Ts = exact.saturationTemperatureP(p);
+
+            PT[i] = new double[]{p, Ts + 1e-6 + (i % 2 == 0 ? 20 : 300) * random.nextDouble()};
+        }
+        IF97[] if97 = new IF97[TOLERANCES.length];
+
+        for (int t = 0; t < TOLERANCES.length; t++) {
+            if97[t] = new IF97();
+            if97[t].setResidualTolerance(TOLERANCES[t]);
+        }
+        for (int run = 0; run < 2; run++) { // warm-up & measure
+            boolean report = run == 1;
+
+            if (report) {
+                System.out.format("%-28s", "function [ns/call]");
+
+                for (double tolerance : TOLERANCES) {
+                    System.out.format(" %10s %9s", "tol " + tolerance, "max err");
+                }
+                System.out.println();
+            }
+            measure("specificEnthalpyPT", if97x -> if97x::specificEnthalpyPT, if97, PT, seconds, report);
+            measure("specificEntropyPT", if97x -> if97x::specificEntropyPT, if97, PT, seconds, report);
+            measure("specificVolumePT", if97x -> if97x::specificVolumePT, if97, PT, seconds, report);
+            measure("isobaricHeatCapacityPT", if97x -> if97x::isobaricHeatCapacityPT, if97, PT, seconds, report);
+            measure("speedOfSoundPT", if97x -> if97x::speedOfSoundPT, if97, PT, seconds, report);
+        }
+    }
+
+    private static void measure(String label, Function<IF97, DoubleBinaryOperator> function, IF97[] if97, double[][] states, double seconds, boolean report) {
+
+        DoubleBinaryOperator reference = function.apply(if97[0]);
+
+        if (report) {
+            System.out.format("%-28s", label);
+        }
+        for (IF97 if97x : if97) {
+            DoubleBinaryOperator f = function.apply(if97x);
+            double cost = time(f, states, seconds), error = 0;
+
+            for (double[] state : states) {
+                error = Math.max(error, Math.abs(f.applyAsDouble(state[0], state[1]) / reference.applyAsDouble(state[0], state[1]) - 1));
+            }
+            if (report) {
+                System.out.format(" %10.1f %9.1e", cost, error);
+            }
+        }
+        if (report) {
+            System.out.println();
+        }
+    }
+
+    /**
+     * @return cost [ns/call]
+     */
+    private static double time(DoubleBinaryOperator function, double[][] states, double seconds) {
+
+        long calls = 0, end = System.nanoTime() + (long) (seconds * 1e9), start = System.nanoTime();
+        double sink = 0;
+
+        while (System.nanoTime() < end) {
+            for (double[] state : states) {
+                sink += function.applyAsDouble(state[0], state[1]);
+            }
+            calls += states.length;
+        }
+        double elapsed = System.nanoTime() - start;
+
+        if (Double.isNaN(sink)) {
+            System.out.println("NaN result, out-of-range state");
+        }
+        return elapsed / calls;
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * SaturationStateTest.java
+ *
+ * This file is part of IF97.
+ *
+ * IF97 is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option)
+ * any later version.
+ *
+ * IF97 is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with IF97. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Copyright 2009-2022 Hummeling Engineering BV (www.hummeling.com)
+ */
+package com.hummeling.if97;
+
+import com.hummeling.if97.IF97.Quantity;
+import com.hummeling.if97.IF97.UnitSystem;
+import static org.junit.Assert.assertEquals;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * Saturation state tests.
+ *
+ * @author Ralph Hummeling
+ * (<a href="https://www.hummeling.com">www.hummeling.com</a>)
+ */
+public class SaturationStateTest {
+
+    static IF97 if97;
+
+    @BeforeClass
+    public static void setUpClass() throws Exception {
+        if97 = new IF97();
+    }
+
+    @Test
+    public void testSaturationAtP() {
+
+        for (double p : new double[]{0.01, 0.1, 1, 10, 17, 21}) {
+            SaturationState state = if97.saturationAtP(p);
+
+            assertEquals(if97.saturationTemperatureP(p), state.getTemperature(), 0);
+            assertEquals(if97.specificVolumeSaturatedLiquidP(p), state.liquid(Quantity.v), 0);
+            assertEquals(if97.specificVolumeSaturatedVapourP(p), state.vapour(Quantity.v), 0);
+            assertEquals(if97.specificEnthalpySaturatedLiquidP(p), state.liquid(Quantity.h), 0);
+            assertEquals(if97.specificEnthalpySaturatedVapourP(p), state.vapour(Quantity.h), 0);
+            assertEquals(if97.specificEntropySaturatedLiquidP(p), state.liquid(Quantity.s), 0);
+            assertEquals(if97.specificEntropySaturatedVapourP(p), state.vapour(Quantity.s), 0);
+            assertEquals(if97.specificInternalEnergySaturatedVapourP(p), state.vapour(Quantity.u), 0);
+
+            if (p > Region.ps13) {
+                double T = state.getTemperature(),
+                        rho0 = 1 / state.liquid(Quantity.v),
+                        rho1 = 1 / state.vapour(Quantity.v);
+
+                assertEquals(Region3.INSTANCE.specificIsobaricHeatCapacityRhoT(rho0, T), state.liquid(Quantity.cp), 0);
+                assertEquals(Region3.INSTANCE.specificIsochoricHeatCapacityRhoT(rho1, T), state.vapour(Quantity.cv), 0);
+                assertEquals(Region3.INSTANCE.speedOfSoundRhoT(rho1, T), state.vapour(Quantity.w), 0);
+            }
+            for (double x = 0; x <= 1; x += 0.25) {
+                assertEquals(if97.specificEnthalpyPX(p, x), state.valueX(Quantity.h, x), 1e-9);
+                assertEquals(if97.specificEntropyPX(p, x), state.valueX(Quantity.s, x), 1e-12);
+                assertEquals(if97.specificVolumePX(p, x), state.valueX(Quantity.v, x), 1e-12);
+                assertEquals(if97.densityPX(p, x), state.valueX(Quantity.rho, x), 1e-9);
+                if (p <= Region.ps13) {
+                    assertEquals(Region4.INSTANCE.specificIsobaricHeatCapacityPX(p, x), state.valueX(Quantity.cp, x), 1e-12);
+                    assertEquals(Region4.INSTANCE.speedOfSoundPX(p, x), state.valueX(Quantity.w, x), 1e-9);
+                }
+                assertEquals(x, state.vapourFraction(Quantity.h, state.valueX(Quantity.h, x)), 1e-12);
+            }
+        }
+    }
+
+    @Test
+    public void testSaturationAtT() {
+
+        for (double T : new double[]{300, 400, 500, 600, 640}) {
+            SaturationState state = if97.saturationAtT(T);
+
+            assertEquals(T, state.getTemperature(), 0);
+            assertEquals(if97.saturationPressureT(T), state.getPressure(), 0);
+            assertEquals(if97.specificEnthalpySaturatedLiquidT(T), state.liquid(Quantity.h), 0);
+            assertEquals(if97.specificEntropyTX(T, 0.3), state.valueX(Quantity.s, 0.3), 1e-12);
+            assertEquals(if97.specificVolumeTX(T, 0.7), state.valueX(Quantity.v, 0.7), 1e-12);
+        }
+    }
+
+    @Test
+    public void testUnitSystem() {
+
+        IF97 engineering = new IF97(UnitSystem.ENGINEERING);
+        SaturationState state = engineering.saturationAtP(10);
+
+        assertEquals(engineering.saturationTemperatureP(10), state.getTemperature(), 1e-12);
+        assertEquals(engineering.specificEnthalpyPX(10, 0.4), state.valueX(Quantity.h, 0.4), 1e-9);
+        assertEquals(engineering.specificEntropySaturatedVapourP(10), state.vapour(Quantity.s), 1e-12);
+    }
+
+    @Test(expected = OutOfRangeException.class)
+    public void testOutOfRange() {
+        if97.saturationAtP(23);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNotAvailable() {
+        if97.saturationAtP(1).liquid(Quantity.eta);
+    }
+}
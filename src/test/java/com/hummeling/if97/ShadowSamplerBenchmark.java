@@ -0,0 +1,108 @@
+/*
+ * ShadowSamplerBenchmark.java
+ *
+ * This file is part of IF97.
+ *
+ * IF97 is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option)
+ * any later version.
+ *
+ * IF97 is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with IF97. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Copyright 2009-2022 Hummeling Engineering BV (www.hummeling.com)
+ */
+package com.hummeling.if97;
+
+import java.util.Random;
+
+/**
+ * Shadow sampler benchmark, evaluates T(p, h) for states in regions 1, 2
+ * &amp; 3 without a sampler &amp; with samplers of decreasing period, and
+ * reports the time per call, the samples dropped, and the deviations found.
+ *
+ * <p>
+ * Run from the project root after <code>mvn test-compile</code>:</p>
+ * <pre>
+ * java -cp target/classes:target/test-classes com.hummeling.if97.ShadowSamplerBenchmark [seconds per measurement]
+ * </pre>
+ *
+ * @author Ralph Hummeling
+ * (<a href="https://www.hummeling.com">www.hummeling.com</a>)
+ */
+public class ShadowSamplerBenchmark {
+
+    private static final int STATES = 4096;
+    private static final int[] PERIODS = {0, 10_000, 100, 1};
+
+    public static void main(String[] args) {
+
+        double seconds = args.length > 0 ? Double.parseDouble(args[0]) : 1;
+        Random random = new Random(97);
+        double[] p = new double[STATES], h = new double[STATES];
+
+        for (int k = 0; k < STATES; k++) {
+            switch (k % 3) {
+                case 0: // region 1
+                    p[k] = 1 + 50 * random.nextDouble();
+                    h[k] = 100 + 500 * random.nextDouble();
+                    break;
+
+                case 1: // region 2
+                    p[k] = 0.01 + 5 * random.nextDouble();
+                    h[k] = 2900 + 500 * random.nextDouble();
+                    break;
+
+                default: // region 3
+                    p[k] = 25 + 50 * random.nextDouble();
+                    h[k] = 1900 + 300 * random.nextDouble();
+            }
+        }
+        String summary = null;
+
+        for (int run = 0; run < 2; run++) { // warm-up & measure
+            boolean report = run == 1;
+
+            if (report) {
+                System.out.format("%-16s %12s %12s %12s%n", "period", "T(p,h) [ns]", "checked", "dropped");
+            }
+            for (int period : PERIODS) {
+                IF97 if97 = new IF97();
+                ShadowSampler sampler = period == 0 ? null : new ShadowSampler(period);
+                long calls = 0, end = System.nanoTime() + (long) (seconds * 1e9), start = System.nanoTime();
+                double sink = 0;
+
+                if97.setShadowSampler(sampler);
+
+                while (System.nanoTime() < end) {
+                    for (int k = 0; k < STATES; k++) {
+                        sink += if97.temperaturePH(p[k], h[k]);
+                    }
+                    calls += STATES;
+                }
+                double elapsed = System.nanoTime() - start;
+
+                if (sampler != null) {
+                    sampler.close();
+                }
+                if (report) {
+                    ShadowSampler.Snapshot snapshot = sampler == null ? null : sampler.snapshot();
+
+                    System.out.format("%-16s %12.1f %12d %12d%s%n", period == 0 ? "none" : "1 in " + period, elapsed / calls,
+                            snapshot == null ? 0 : snapshot.getTotalCount(), snapshot == null ? 0 : snapshot.getDroppedCount(), Double.isNaN(sink) ? " (NaN)" : "");
+
+                    if (period == 1) {
+                        summary = snapshot.toString();
+                    }
+                }
+            }
+        }
+        System.out.format("%ndeviations |h(p, T(p, h)) - h| [kJ/kg], checking every call:%n%s%n", summary);
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ * ShadowSamplerTest.java
+ *
+ * This file is part of IF97.
+ *
+ * IF97 is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option)
+ * any later version.
+ *
+ * IF97 is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with IF97. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Copyright 2009-2023 Hummeling Engineering BV (www.hummeling.com)
+ */
+package com.hummeling.if97;
+
+import com.hummeling.if97.IF97.UnitSystem;
+import com.hummeling.if97.ShadowSampler.Check;
+import com.hummeling.if97.ShadowSampler.Snapshot;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import org.junit.Test;
+
+/**
+ * Shadow sampler tests.
+ *
+ * @author Ralph Hummeling
+ * (<a href="https://www.hummeling.com">www.hummeling.com</a>)
+ */
+public class ShadowSamplerTest {
+
+    @Test
+    public void testEveryCall() {
+
+        IF97 if97 = new IF97();
+        Snapshot snapshot;
+
+        try (ShadowSampler sampler = new ShadowSampler(1)) {
+            if97.setShadowSampler(sampler);
+
+            for (int k = 0; k < 10; k++) {
+                if97.temperaturePH(3 + k, 500); // region 1
+                if97.temperaturePH(0.1 + 0.1 * k, 3000); // region 2
+                if97.temperaturePH(25 + k, 2000); // region 3
+                if97.temperaturePH(1, 1500); // region 4, not sampled
+                if97.temperaturePS(3 + k, 1.5);
+                if97.temperaturePS(0.1 + 0.1 * k, 8);
+                if97.temperaturePS(25 + k, 4.4);
+                if97.pressureHS(500 + k, 1.4);
+                if97.pressureHS(3000 + k, 7);
+            }
+            sampler.close();
+            snapshot = sampler.snapshot();
+        }
+        assertEquals(0, snapshot.getDroppedCount());
+        assertEquals(80, snapshot.getTotalCount());
+
+        for (int region = 1; region <= 3; region++) {
+            assertEquals(10, snapshot.getCount(Check.TEMPERATURE_PH, region));
+            assertEquals(10, snapshot.getCount(Check.TEMPERATURE_PS, region));
+            // IAPWS consistency: |dT| <= 25 mK in regions 1 & 3, 10 mK in region 2
+            assertTrue(snapshot.getMaxDeviation(Check.TEMPERATURE_PH, region) < 0.2);
+            assertTrue(snapshot.getMaxDeviation(Check.TEMPERATURE_PS, region) < 2e-4);
+            assertTrue(snapshot.getMeanDeviation(Check.TEMPERATURE_PH, region) <= snapshot.getMaxDeviation(Check.TEMPERATURE_PH, region));
+        }
+        assertTrue(snapshot.getMaxDeviation(Check.TEMPERATURE_PH, 1) > 0);
+        assertEquals(10, snapshot.getCount(Check.PRESSURE_HS, 1));
+        assertEquals(10, snapshot.getCount(Check.PRESSURE_HS, 2));
+        assertTrue(snapshot.getMaxDeviation(Check.PRESSURE_HS, 2) < 2e-4);
+        assertEquals(0, snapshot.getCount(Check.TEMPERATURE_PH, 4));
+        assertTrue(Double.isNaN(snapshot.getMaxDeviation(Check.TEMPERATURE_PH, 4)));
+        assertTrue(Double.isNaN(snapshot.getMeanDeviation(Check.PRESSURE_HS, 5)));
+    }
+
+    @Test
+    public void testDefaultUnits() {
+
+        ImmutableIF97 if97 = IF97.builder().unitSystem(UnitSystem.ENGINEERING).build();
+        Snapshot snapshot;
+
+        try (ShadowSampler sampler = new ShadowSampler(1)) {
+            if97 = if97.toBuilder().shadowSampler(sampler).build();
+            if97.temperaturePH(30, 500); // 3 MPa
+
+            sampler.close();
+            snapshot = sampler.snapshot();
+        }
+        assertEquals(1, snapshot.getCount(Check.TEMPERATURE_PH, 1));
+        assertEquals(ShadowSampler.deviation(Check.TEMPERATURE_PH, Region1.INSTANCE, 3, 500, new IF97().temperaturePH(3, 500)),
+                snapshot.getMaxDeviation(Check.TEMPERATURE_PH, 1), 0);
+    }
+
+    @Test
+    public void testPeriod() {
+
+        IF97 if97 = new IF97();
+        Snapshot snapshot;
+
+        try (ShadowSampler sampler = new ShadowSampler(10)) {
+            if97.setShadowSampler(sampler);
+
+            for (int k = 0; k < 10000; k++) {
+                if97.temperaturePH(3 + 1e-3 * k, 500);
+            }
+            sampler.close();
+            snapshot = sampler.snapshot();
+        }
+        long sampled = snapshot.getCount(Check.TEMPERATURE_PH, 1) + snapshot.getDroppedCount();
+
+        assertTrue("sampled: " + sampled, sampled > 800 && sampled < 1200);
+
+        // no further samples once closed
+        if97.temperaturePH(3, 500);
+        assertEquals(sampled, if97.getShadowSampler().snapshot().getCount(Check.TEMPERATURE_PH, 1) + snapshot.getDroppedCount());
+    }
+
+    @Test
+    public void testSettings() {
+
+        try (ShadowSampler sampler = new ShadowSampler(100)) {
+            ImmutableIF97 if97 = IF97.builder().shadowSampler(sampler).build();
+
+            assertSame(sampler, if97.getShadowSampler());
+            assertSame(sampler, if97.toBuilder().build().getShadowSampler());
+            assertEquals(100, sampler.getPeriod());
+        }
+        try {
+            new ShadowSampler(0);
+            fail("Period should be positive.");
+
+        } catch (IllegalArgumentException e) {
+        }
+    }
+}
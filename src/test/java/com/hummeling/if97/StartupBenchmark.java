@@ -0,0 +1,157 @@
+/*
+ * StartupBenchmark.java
+ *
+ * This file is part of IF97.
+ *
+ * IF97 is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option)
+ * any later version.
+ *
+ * IF97 is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with IF97. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Copyright 2009-2022 Hummeling Engineering BV (www.hummeling.com)
+ */
+package com.hummeling.if97;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.InputStreamReader;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Startup benchmark, measures time-to-first-result for each public IF97
+ * function in a fresh JVM.
+ *
+ * <p>
+ * Run from the project root after <code>mvn test-compile</code>:</p>
+ * <pre>
+ * java -cp target/classes:target/test-classes com.hummeling.if97.StartupBenchmark [method...]
+ * </pre>
+ *
+ * @author Ralph Hummeling
+ * (<a href="https://www.hummeling.com">www.hummeling.com</a>)
+ */
+public class StartupBenchmark {
+
+    private static final String CHILD = "-child";
+    private static final String[][] ARGUMENTS = {
+        {"RhoT", "500", "650"},
+        {"HS", "2800", "6.5"},
+        {"PH", "1", "2800"},
+        {"PS", "1", "6.5"},
+        {"PT", "10", "500"},
+        {"PX", "1", "0.5"},
+        {"TS", "400", "5"},
+        {"TX", "400", "0.5"},
+        {"P", "1"},
+        {"T", "400"}};
+
+    public static void main(String[] args) throws Exception {
+
+        if (args.length > 0 && args[0].equals(CHILD)) {
+            child(args[1]);
+            return;
+        }
+        List<String> names = new ArrayList<>(Arrays.asList(args));
+
+        if (names.isEmpty()) {
+            for (Method method : IF97.class.getMethods()) {
+                if (arguments(method) != null) {
+                    names.add(method.getName());
+                }
+            }
+            names.sort(null);
+        }
+        String java = System.getProperty("java.home") + File.separator + "bin" + File.separator + "java",
+                classPath = System.getProperty("java.class.path");
+
+        System.out.format("%-40s %12s %12s%n", "method", "first [ms]", "JVM [ms]");
+
+        for (String name : names) {
+            long start = System.nanoTime();
+            Process process = new ProcessBuilder(java, "-cp", classPath, StartupBenchmark.class.getName(), CHILD, name)
+                    .redirectErrorStream(true)
+                    .start();
+            String line;
+
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
+                line = reader.readLine();
+            }
+            process.waitFor();
+            System.out.format("%-40s %12s %12.1f%n", name, line, (System.nanoTime() - start) * 1e-6);
+        }
+    }
+
+    /**
+     * Evaluates the named function once and prints the elapsed time since
+     * entering this method, which includes loading and initializing IF97 and
+     * the regions involved.
+     */
+    private static void child(String name) throws Exception {
+
+        long start = System.nanoTime();
+        Class<?> cls = Class.forName("com.hummeling.if97.IF97", false, StartupBenchmark.class.getClassLoader());
+
+        for (Method method : cls.getMethods()) {
+            double[] arguments = arguments(method);
+
+            if (arguments != null && method.getName().equals(name)) {
+                Object if97 = Modifier.isStatic(method.getModifiers()) ? null : cls.getConstructor().newInstance();
+                Object[] values = new Object[arguments.length];
+
+                for (int i = 0; i < values.length; i++) {
+                    values[i] = arguments[i];
+                }
+                try {
+                    method.invoke(if97, values);
+
+                } catch (ReflectiveOperationException e) {
+                    System.out.println("n/a");
+                    return;
+                }
+                System.out.println(String.format(Locale.ROOT, "%.1f", (System.nanoTime() - start) * 1e-6));
+                return;
+            }
+        }
+        System.out.println("unknown");
+    }
+
+    /**
+     * Returns benchmark arguments (default units) for the given method, or
+     * null when it isn't a single-point double function.
+     */
+    private static double[] arguments(Method method) {
+
+        if (method.getReturnType() != double.class || method.getParameterCount() == 0 || method.getParameterCount() > 2) {
+            return null;
+        }
+        for (Class<?> type : method.getParameterTypes()) {
+            if (type != double.class) {
+                return null;
+            }
+        }
+        for (String[] arguments : ARGUMENTS) {
+            if (method.getName().endsWith(arguments[0]) && arguments.length - 1 == method.getParameterCount()) {
+                double[] values = new double[method.getParameterCount()];
+
+                for (int i = 0; i < values.length; i++) {
+                    values[i] = Double.parseDouble(arguments[i + 1]);
+                }
+                return values;
+            }
+        }
+        return null;
+    }
+}
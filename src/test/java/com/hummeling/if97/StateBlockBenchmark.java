@@ -0,0 +1,112 @@
+/*
+ * StateBlockBenchmark.java
+ *
+ * This file is part of IF97.
+ *
+ * IF97 is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option)
+ * any later version.
+ *
+ * IF97 is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with IF97. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Copyright 2009-2022 Hummeling Engineering BV (www.hummeling.com)
+ */
+package com.hummeling.if97;
+
+import com.hummeling.if97.IF97.Quantity;
+import java.util.Random;
+import java.util.function.DoubleBinaryOperator;
+
+/**
+ * State block benchmark, evaluates h, s &amp; v for a network of (p, T)
+ * states in regions 1 &amp; 2: all states into on-heap arrays, all states
+ * into a {@link StateBlock}, and the block again after a fraction of the
+ * states changed, as in a solver iteration. Reports the time per state of
+ * the network.
+ *
+ * <p>
+ * Run from the project root after <code>mvn test-compile</code>:</p>
+ * <pre>
+ * java -cp target/classes:target/test-classes com.hummeling.if97.StateBlockBenchmark [states] [changed fraction]
+ * </pre>
+ *
+ * @author Ralph Hummeling
+ * (<a href="https://www.hummeling.com">www.hummeling.com</a>)
+ */
+public class StateBlockBenchmark {
+
+    private static final Quantity[] OUTPUTS = {Quantity.h, Quantity.s, Quantity.v};
+
+    public static void main(String[] args) {
+
+        int states = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        double fraction = args.length > 1 ? Double.parseDouble(args[1]) : 0.01;
+        IF97 if97 = new IF97();
+        Random random = new Random(97);
+        double[] p = new double[states], T = new double[states];
+
+        for (int i = 0; i < states; i++) {
+            boolean liquid = i % 2 == 0;
+
+            p[i] = liquid ? 5 + 50 * random.nextDouble() : 0.1 + 2 * random.nextDouble();
+            T[i] = liquid ? 300 + 200 * random.nextDouble() : 600 + 400 * random.nextDouble();
+        }
+        DoubleBinaryOperator[] functions = new DoubleBinaryOperator[OUTPUTS.length];
+
+        for (int j = 0; j < OUTPUTS.length; j++) {
+            functions[j] = if97.function(OUTPUTS[j], Quantity.p, Quantity.T);
+        }
+        StateBlock block = if97.stateBlock(Quantity.p, Quantity.T, states);
+
+        block.set(0, p, T);
+
+        for (int run = 0; run < 2; run++) { // warm-up & measure
+            boolean report = run == 1;
+            long start = System.nanoTime();
+            double[][] arrays = new double[OUTPUTS.length][states];
+
+            for (int j = 0; j < OUTPUTS.length; j++) {
+                for (int i = 0; i < states; i++) {
+                    arrays[j][i] = functions[j].applyAsDouble(p[i], T[i]);
+                }
+            }
+            report(report, "arrays, all states", start, states, arrays.length);
+
+            for (int i = 0; i < states; i++) { // invalidate all
+                block.set(i, p[i], T[i] + run + 1);
+            }
+            start = System.nanoTime();
+            block.update(OUTPUTS);
+            report(report, "block, all states", start, states, block.get(Quantity.h, 0));
+
+            int changed = (int) (fraction * states);
+
+            for (int k = 0; k < changed; k++) {
+                int i = random.nextInt(states);
+
+                block.set(i, p[i], T[i] + 0.5);
+            }
+            start = System.nanoTime();
+
+            int evaluations = block.update(OUTPUTS);
+
+            report(report, "block, " + evaluations / (OUTPUTS.length + 1) + " changed", start, states, evaluations);
+        }
+    }
+
+    private static void report(boolean report, String label, long start, int states, double sink) {
+
+        double elapsed = System.nanoTime() - start;
+
+        if (report) {
+            System.out.format("%-28s %10.1f ns/state%s%n", label, elapsed / states, Double.isNaN(sink) ? " (NaN)" : "");
+        }
+    }
+}
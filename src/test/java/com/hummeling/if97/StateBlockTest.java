@@ -0,0 +1,182 @@
+/*
+ * StateBlockTest.java
+ *
+ * This file is part of IF97.
+ *
+ * IF97 is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option)
+ * any later version.
+ *
+ * IF97 is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with IF97. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Copyright 2009-2023 Hummeling Engineering BV (www.hummeling.com)
+ */
+package com.hummeling.if97;
+
+import com.hummeling.if97.IF97.Quantity;
+import com.hummeling.if97.IF97.UnitSystem;
+import java.nio.DoubleBuffer;
+import java.nio.ReadOnlyBufferException;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import org.junit.Test;
+
+/**
+ * State block tests.
+ *
+ * @author Ralph Hummeling
+ * (<a href="https://www.hummeling.com">www.hummeling.com</a>)
+ */
+public class StateBlockTest {
+
+    private static final double[][] PT = {
+        {3, 300}, // region 1
+        {0.1, 500}, // region 2
+        {50, 650}, // region 3
+        {20, 2000}, // region 5
+        {200, 300}}; // out of range
+
+    @Test
+    public void testUpdate() {
+
+        IF97 if97 = new IF97();
+        StateBlock block = if97.stateBlock(Quantity.p, Quantity.T, 1000);
+
+        for (int i = 0; i < block.size(); i++) {
+            double[] x = PT[i % PT.length];
+
+            block.set(i, x[0], x[1] + i % 7);
+        }
+        assertEquals(block.size(), block.stale(Quantity.h));
+        assertEquals(0, block.stale(Quantity.p));
+        assertEquals(3 * block.size(), block.update(Quantity.h, Quantity.s, Quantity.p));
+        assertEquals(0, block.stale(Quantity.h));
+
+        for (int i = 0; i < block.size(); i++) {
+            double p = block.get(Quantity.p, i), T = block.get(Quantity.T, i);
+
+            if (i % PT.length == 4) {
+                assertTrue(Double.isNaN(block.get(Quantity.h, i)));
+                assertEquals(0, block.region(i));
+
+            } else {
+                assertEquals(if97.specificEnthalpyPT(p, T), block.get(Quantity.h, i), 0);
+                assertEquals(if97.specificEntropyPT(p, T), block.get(Quantity.s, i), 0);
+                assertEquals(new int[]{1, 2, 3, 5}[i % PT.length], block.region(i));
+            }
+        }
+    }
+
+    @Test
+    public void testStale() {
+
+        StateBlock block = new IF97().stateBlock(Quantity.p, Quantity.h, 200);
+
+        for (int i = 0; i < block.size(); i++) {
+            block.set(i, 1 + 0.01 * i, 500 + 10 * i);
+        }
+        block.update(Quantity.T, Quantity.v);
+
+        // unchanged inputs
+        block.set(5, 1.05, 550);
+        assertEquals(0, block.update(Quantity.T, Quantity.v));
+
+        // changed inputs, only those states are evaluated
+        block.set(3, 2, 3000);
+        block.set(70, 2, 3000);
+        block.set(199, new double[]{2}, new double[]{3000});
+        assertEquals(3, block.stale(Quantity.T));
+        assertEquals(3, block.stale(Quantity.v));
+        assertEquals(9, block.update(Quantity.T, Quantity.v));
+        assertEquals(new IF97().temperaturePH(2, 3000), block.get(Quantity.T, 70), 0);
+        assertEquals(2, block.region(199));
+
+        // a new column starts stale
+        assertEquals(block.size(), block.update(Quantity.s));
+        assertEquals(0, block.update(Quantity.T, Quantity.v, Quantity.s));
+    }
+
+    @Test
+    public void testSettings() {
+
+        IF97 configured = new IF97(UnitSystem.ENGINEERING);
+
+        configured.setBoundedLatency(true);
+        configured.setValidationLevel(IF97.ValidationLevel.BOUNDARY_ONLY);
+
+        StateBlock block = configured.stateBlock(Quantity.p, Quantity.h, 4);
+
+        configured.setBoundedLatency(false); // the block keeps its copy
+
+        block.set(0, 210, 2000); // bar, two-phase above ps13
+        block.set(1, 100, 4158); // beyond region 2, envelope not checked
+        block.set(2, 100, 1000);
+        block.set(3, 1100, 1000); // out of range
+        block.update(Quantity.T, Quantity.v);
+
+        IF97 bounded = new IF97(UnitSystem.ENGINEERING);
+
+        bounded.setBoundedLatency(true);
+        bounded.setValidationLevel(IF97.ValidationLevel.BOUNDARY_ONLY);
+
+        for (int i = 0; i < 3; i++) {
+            double p = block.get(Quantity.p, i), h = block.get(Quantity.h, i);
+
+            assertEquals(bounded.temperaturePH(p, h), block.get(Quantity.T, i), 0);
+            assertEquals(bounded.specificVolumePH(p, h), block.get(Quantity.v, i), 0);
+        }
+        assertEquals(4, block.region(0));
+        assertEquals(0, block.region(1));
+        assertTrue(Double.isNaN(block.get(Quantity.T, 3)));
+    }
+
+    @Test
+    public void testColumn() {
+
+        StateBlock block = new IF97(UnitSystem.ENGINEERING).stateBlock(Quantity.x, Quantity.p, 3);
+
+        block.set(0, 0.5, 10);
+        block.set(1, 1, 1);
+        block.set(2, 1.5, 1);
+        block.update(Quantity.h);
+
+        DoubleBuffer h = block.column(Quantity.h);
+
+        assertTrue(h.isDirect());
+        assertEquals(new IF97(UnitSystem.ENGINEERING).specificEnthalpyPX(10, 0.5), h.get(0), 0);
+        assertEquals(4, block.region(0));
+        assertEquals(4, block.regions().get(1));
+        assertEquals(0, block.region(2));
+
+        try {
+            h.put(0, 0);
+            fail("Column views should be read-only.");
+
+        } catch (ReadOnlyBufferException e) {
+        }
+        try {
+            block.column(Quantity.s);
+            fail("Columns should be updated first.");
+
+        } catch (IllegalArgumentException e) {
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testEqualInputs() {
+        new IF97().stateBlock(Quantity.p, Quantity.p, 10);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testFunctionNotAvailable() {
+        new IF97().stateBlock(Quantity.p, Quantity.T, 10).update(Quantity.x);
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ * StateCodecBenchmark.java
+ *
+ * This file is part of IF97.
+ *
+ * IF97 is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option)
+ * any later version.
+ *
+ * IF97 is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with IF97. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Copyright 2009-2022 Hummeling Engineering BV (www.hummeling.com)
+ */
+package com.hummeling.if97;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+/**
+ * State codec benchmark, encodes &amp; decodes process states in bulk with
+ * {@link StateCodec} into a direct buffer, against CSV text with full
+ * precision doubles, checks that both round trips are exact, and reports the
+ * time per record &amp; the bytes per record.
+ *
+ * <p>
+ * Run from the project root after <code>mvn test-compile</code>:</p>
+ * <pre>
+ * java -cp target/classes:target/test-classes com.hummeling.if97.StateCodecBenchmark [seconds per measurement]
+ * </pre>
+ *
+ * @author Ralph Hummeling
+ * (<a href="https://www.hummeling.com">www.hummeling.com</a>)
+ */
+public class StateCodecBenchmark {
+
+    private static final int STATES = 4096;
+
+    public static void main(String[] args) {
+
+        double seconds = args.length > 0 ? Double.parseDouble(args[0]) : 1;
+        IF97 if97 = new IF97();
+        Random random = new Random(97);
+        ProcessState[] states = new ProcessState[STATES], decoded = new ProcessState[STATES];
+
+        for (int k = 0; k < STATES; k++) {
+            states[k] = new ProcessState();
+            decoded[k] = new ProcessState();
+            if97.isentropicExpansion(1 + 20 * random.nextDouble(), 2800 + 700 * random.nextDouble(), 0.005 + 0.5 * random.nextDouble(), 0.7 + 0.25 * random.nextDouble(), states[k]);
+        }
+        ByteBuffer binary = ByteBuffer.allocateDirect(STATES * StateCodec.RECORD_BYTES);
+        StringBuilder text = new StringBuilder();
+
+        for (int run = 0; run < 2; run++) { // warm-up & measure
+            boolean report = run == 1;
+            double encode = time(seconds, () -> {
+                binary.clear();
+                StateCodec.encode(states, 0, STATES, binary);
+            }),
+                    decode = time(seconds, () -> {
+                        binary.flip();
+                        StateCodec.decode(binary, decoded, 0, STATES);
+                        binary.limit(binary.capacity());
+                    }),
+                    format = time(seconds, () -> format(states, text)),
+                    parse = time(seconds, () -> parse(text, decoded));
+
+            if (report) {
+                binary.clear();
+                StateCodec.encode(states, 0, STATES, binary);
+                binary.flip();
+                StateCodec.decode(binary, decoded, 0, STATES);
+                check("binary", states, decoded);
+                format(states, text);
+                parse(text, decoded);
+                check("text", states, decoded);
+
+                System.out.format("%-8s %14s %14s %14s%n", "", "encode [ns]", "decode [ns]", "bytes/record");
+                System.out.format("%-8s %14.1f %14.1f %14d%n", "binary", encode, decode, StateCodec.RECORD_BYTES);
+                System.out.format("%-8s %14.1f %14.1f %14.1f%n", "text", format, parse, text.toString().getBytes(StandardCharsets.US_ASCII).length / (double) STATES);
+            }
+        }
+    }
+
+    private static void check(String label, ProcessState[] expected, ProcessState[] actual) {
+
+        for (int k = 0; k < expected.length; k++) {
+            if (!expected[k].toString().equals(actual[k].toString())) {
+                System.out.println(label + " round trip differs at record " + k);
+                return;
+            }
+        }
+    }
+
+    private static void format(ProcessState[] states, StringBuilder out) {
+
+        out.setLength(0);
+
+        for (ProcessState state : states) {
+            out.append(state.getRegion()).append(',').append(state.getUnitSystem().name())
+                    .append(',').append(state.getPressure())
+                    .append(',').append(state.getTemperature())
+                    .append(',').append(state.getSpecificEnthalpy())
+                    .append(',').append(state.getSpecificEntropy())
+                    .append(',').append(state.getSpecificVolume())
+                    .append(',').append(state.getVapourFraction())
+                    .append('\n');
+        }
+    }
+
+    private static void parse(CharSequence text, ProcessState[] states) {
+
+        String[] lines = text.toString().split("\n");
+
+        for (int k = 0; k < lines.length; k++) {
+            String[] fields = lines[k].split(",");
+
+            states[k].restore(IF97.UnitSystem.valueOf(fields[1]), Integer.parseInt(fields[0]),
+                    Double.parseDouble(fields[2]), Double.parseDouble(fields[3]), Double.parseDouble(fields[4]),
+                    Double.parseDouble(fields[5]), Double.parseDouble(fields[6]), Double.parseDouble(fields[7]));
+        }
+    }
+
+    /**
+     * @return cost [ns/record]
+     */
+    private static double time(double seconds, Runnable bulk) {
+
+        long records = 0, end = System.nanoTime() + (long) (seconds * 1e9), start = System.nanoTime();
+
+        while (System.nanoTime() < end) {
+            bulk.run();
+            records += STATES;
+        }
+        return (double) (System.nanoTime() - start) / records;
+    }
+}
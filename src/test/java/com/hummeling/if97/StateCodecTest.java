@@ -0,0 +1,191 @@
+/*
+ * StateCodecTest.java
+ *
+ * This file is part of IF97.
+ *
+ * IF97 is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option)
+ * any later version.
+ *
+ * IF97 is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with IF97. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Copyright 2009-2023 Hummeling Engineering BV (www.hummeling.com)
+ */
+package com.hummeling.if97;
+
+import com.hummeling.if97.IF97.UnitSystem;
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+import org.junit.Test;
+
+/**
+ * State codec tests.
+ *
+ * @author Ralph Hummeling
+ * (<a href="https://www.hummeling.com">www.hummeling.com</a>)
+ */
+public class StateCodecTest {
+
+    private static void assertStateEquals(ProcessState expected, ProcessState actual) {
+
+        assertEquals(expected.getUnitSystem(), actual.getUnitSystem());
+        assertEquals(expected.getRegion(), actual.getRegion());
+        assertEquals(expected.getPressure(), actual.getPressure(), 0);
+        assertEquals(expected.getTemperature(), actual.getTemperature(), 0);
+        assertEquals(expected.getSpecificEnthalpy(), actual.getSpecificEnthalpy(), 0);
+        assertEquals(expected.getSpecificEntropy(), actual.getSpecificEntropy(), 0);
+        assertEquals(expected.getSpecificVolume(), actual.getSpecificVolume(), 0);
+        assertEquals(expected.getVapourFraction(), actual.getVapourFraction(), 0);
+    }
+
+    @Test
+    public void testRoundTrip() {
+
+        for (UnitSystem unitSystem : UnitSystem.values()) {
+            IF97 if97 = new IF97(unitSystem);
+            double p = IF97.convertFromDefault(unitSystem.PRESSURE, 10);
+            ProcessState liquid = new ProcessState(), wet = new ProcessState(), decoded = new ProcessState();
+
+            if97.isentropicCompression(p / 10, if97.specificEnthalpyPX(p / 10, 0), p, 0.85, liquid);
+            if97.isentropicExpansion(p, if97.specificEnthalpyPT(p, IF97.convertFromDefault(unitSystem.TEMPERATURE, 800)), p / 100, 0.85, wet);
+
+            for (ByteBuffer buffer : new ByteBuffer[]{
+                ByteBuffer.allocate(2 * StateCodec.RECORD_BYTES + 3),
+                ByteBuffer.allocateDirect(2 * StateCodec.RECORD_BYTES).order(ByteOrder.LITTLE_ENDIAN)}) {
+                ByteOrder order = buffer.order();
+
+                StateCodec.encode(liquid, buffer);
+                StateCodec.encode(wet, buffer);
+                assertEquals(2 * StateCodec.RECORD_BYTES, buffer.position());
+                assertEquals(order, buffer.order());
+                buffer.flip();
+
+                StateCodec.decode(buffer, decoded);
+                assertStateEquals(liquid, decoded);
+                StateCodec.decode(buffer, decoded);
+                assertStateEquals(wet, decoded);
+                assertEquals(4, decoded.getRegion());
+                assertEquals(0, buffer.remaining());
+                assertEquals(order, buffer.order());
+            }
+        }
+    }
+
+    @Test
+    public void testLayout() {
+
+        ProcessState empty = new ProcessState(), decoded = new ProcessState();
+        ByteBuffer big = ByteBuffer.allocate(StateCodec.RECORD_BYTES), little = ByteBuffer.allocate(StateCodec.RECORD_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+
+        new IF97().isentropicExpansion(10, 3500, 1, 0.9, decoded);
+        StateCodec.encode(decoded, big);
+        StateCodec.encode(decoded, little);
+
+        assertEquals(ByteBuffer.wrap(little.array()), ByteBuffer.wrap(big.array())); // byte order independent
+        assertEquals(StateCodec.VERSION, little.get(0));
+        assertEquals(2, little.get(1));
+        assertEquals(1, little.get(2));
+        assertEquals(0x3f, StateCodec.flags(little, 0));
+        assertEquals(decoded.getPressure(), little.getDouble(8), 0);
+
+        big.clear();
+        StateCodec.encode(empty, big);
+        assertEquals(0, StateCodec.flags(big, 0));
+        big.flip();
+        StateCodec.decode(big, decoded);
+        assertNull(decoded.getUnitSystem());
+        assertEquals(0, decoded.getRegion());
+        assertEquals(Double.NaN, decoded.getPressure(), 0);
+    }
+
+    @Test
+    public void testBulk() {
+
+        IF97 if97 = new IF97();
+        ProcessState[] states = new ProcessState[100], decoded = new ProcessState[102];
+
+        for (int k = 0; k < states.length; k++) {
+            states[k] = new ProcessState();
+            if97.throttle(1 + k, 3000, 0.5 + 0.005 * k, states[k]);
+        }
+        for (int k = 0; k < decoded.length; k++) {
+            decoded[k] = new ProcessState();
+        }
+        ByteBuffer buffer = ByteBuffer.allocateDirect(states.length * StateCodec.RECORD_BYTES);
+
+        StateCodec.encode(states, 0, states.length, buffer);
+        buffer.flip();
+        StateCodec.decode(buffer, decoded, 2, states.length);
+
+        for (int k = 0; k < states.length; k++) {
+            assertStateEquals(states[k], decoded[k + 2]);
+        }
+        buffer.clear().position(StateCodec.RECORD_BYTES);
+
+        try {
+            StateCodec.encode(states, 0, states.length, buffer);
+            fail("Buffer should be too small.");
+
+        } catch (BufferOverflowException e) {
+            assertEquals(StateCodec.RECORD_BYTES, buffer.position()); // nothing written
+        }
+        try {
+            StateCodec.decode(buffer, decoded, 0, states.length);
+            fail("Buffer should be too small.");
+
+        } catch (BufferUnderflowException e) {
+            assertEquals(StateCodec.RECORD_BYTES, buffer.position());
+        }
+    }
+
+    @Test
+    public void testVersion() {
+
+        ByteBuffer buffer = ByteBuffer.allocate(StateCodec.RECORD_BYTES);
+
+        StateCodec.encode(new ProcessState(), buffer);
+        buffer.put(0, (byte) 2).flip();
+
+        try {
+            StateCodec.decode(buffer, new ProcessState());
+            fail("Unknown version should be rejected.");
+
+        } catch (IllegalArgumentException e) {
+            assertEquals(0, buffer.position());
+        }
+        buffer.put(0, StateCodec.VERSION).put(2, (byte) 9);
+
+        try {
+            StateCodec.decode(buffer, new ProcessState());
+            fail("Unknown unit system should be rejected.");
+
+        } catch (IllegalArgumentException e) {
+            assertEquals(0, buffer.position());
+        }
+        buffer.put(2, (byte) 1);
+
+        for (byte region : new byte[]{6, -1}) {
+            buffer.put(1, region);
+
+            try {
+                StateCodec.decode(buffer, new ProcessState());
+                fail("Unknown region number should be rejected.");
+
+            } catch (IllegalArgumentException e) {
+                assertEquals(0, buffer.position());
+            }
+        }
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ * ValidationBenchmark.java
+ *
+ * This file is part of IF97.
+ *
+ * IF97 is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option)
+ * any later version.
+ *
+ * IF97 is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with IF97. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Copyright 2009-2022 Hummeling Engineering BV (www.hummeling.com)
+ */
+package com.hummeling.if97;
+
+import com.hummeling.if97.IF97.ValidationLevel;
+import java.util.Random;
+import java.util.function.DoubleBinaryOperator;
+
+/**
+ * Validation overhead benchmark, times functions of each input pair at every
+ * {@link ValidationLevel} on in-range states spread over regions 1 to 4, and
+ * reports the saving relative to full validation.
+ *
+ * <p>
+ * Run from the project root after <code>mvn test-compile</code>:</p>
+ * <pre>
+ * java -cp target/classes:target/test-classes com.hummeling.if97.ValidationBenchmark [seconds per measurement]
+ * </pre>
+ *
+ * @author Ralph Hummeling
+ * (<a href="https://www.hummeling.com">www.hummeling.com</a>)
+ */
+public class ValidationBenchmark {
+
+    private static final int STATES = 4096;
+
+    public static void main(String[] args) {
+
+        double seconds = args.length > 0 ? Double.parseDouble(args[0]) : 1;
+        IF97 reference = new IF97();
+        Random random = new Random(97);
+        double[][] PT = new double[STATES][], PH = new double[STATES][], PS = new double[STATES][], HS = new double[STATES][], PX = new double[STATES][];
+
+        for (int i = 0; i < STATES; i++) {
+            double p, T;
+
+            switch (i % 4) {
+                case 0: // region 1
+                    p = 5 + 50 * random.nextDouble();
+                    T = 300 + 200 * random.nextDouble();
+                    break;
+                case 1: // region 2
+                    p = 0.1 + 2 * random.nextDouble();
+                    T = 600 + 400 * random.nextDouble();
+                    break;
+                case 2: // region 3
+                    p = 40 + 50 * random.nextDouble();
+                    T = 650 + 20 * random.nextDouble();
+                    break;
+                default: // region 4
+                    p = 0.01 + 10 * random.nextDouble();
+                    T = Double.NaN;
+            }
+            double x = random.nextDouble(),
+                    h = Double.isNaN(T) ? reference.specificEnthalpyPX(p, x) : reference.specificEnthalpyPT(p, T),
+                    s = Double.isNaN(T) ? reference.specificEntropyPX(p, x) : reference.specificEntropyPT(p, T);
+
+            PT[i] = new double[]{p, Double.isNaN(T) ? reference.saturationTemperatureP(p) + 1 : T};
+            PH[i] = new double[]{p, h};
+            PS[i] = new double[]{p, s};
+            HS[i] = new double[]{h, s};
+            PX[i] = new double[]{0.01 + 20 * random.nextDouble(), x};
+        }
+        IF97[] if97 = new IF97[ValidationLevel.values().length];
+
+        for (ValidationLevel level : ValidationLevel.values()) {
+            if97[level.ordinal()] = new IF97();
+            if97[level.ordinal()].setValidationLevel(level);
+        }
+        for (int run = 0; run < 2; run++) { // warm-up & measure
+            boolean report = run == 1;
+
+            if (report) {
+                System.out.format("%-28s %10s %14s %10s %10s%n", "function [ns/call]", "FULL", "BOUNDARY_ONLY", "NONE", "saving");
+            }
+            measure("specificEnthalpyPT", (p, T) -> if97[0].specificEnthalpyPT(p, T), (p, T) -> if97[1].specificEnthalpyPT(p, T), (p, T) -> if97[2].specificEnthalpyPT(p, T), PT, seconds, report);
+            measure("temperaturePH", (p, h) -> if97[0].temperaturePH(p, h), (p, h) -> if97[1].temperaturePH(p, h), (p, h) -> if97[2].temperaturePH(p, h), PH, seconds, report);
+            measure("specificVolumePH", (p, h) -> if97[0].specificVolumePH(p, h), (p, h) -> if97[1].specificVolumePH(p, h), (p, h) -> if97[2].specificVolumePH(p, h), PH, seconds, report);
+            measure("temperaturePS", (p, s) -> if97[0].temperaturePS(p, s), (p, s) -> if97[1].temperaturePS(p, s), (p, s) -> if97[2].temperaturePS(p, s), PS, seconds, report);
+            measure("specificEnthalpyPS", (p, s) -> if97[0].specificEnthalpyPS(p, s), (p, s) -> if97[1].specificEnthalpyPS(p, s), (p, s) -> if97[2].specificEnthalpyPS(p, s), PS, seconds, report);
+            measure("pressureHS", (h, s) -> if97[0].pressureHS(h, s), (h, s) -> if97[1].pressureHS(h, s), (h, s) -> if97[2].pressureHS(h, s), HS, seconds, report);
+            measure("temperatureHS", (h, s) -> if97[0].temperatureHS(h, s), (h, s) -> if97[1].temperatureHS(h, s), (h, s) -> if97[2].temperatureHS(h, s), HS, seconds, report);
+            measure("specificEnthalpyPX", (p, x) -> if97[0].specificEnthalpyPX(p, x), (p, x) -> if97[1].specificEnthalpyPX(p, x), (p, x) -> if97[2].specificEnthalpyPX(p, x), PX, seconds, report);
+        }
+    }
+
+    private static void measure(String label, DoubleBinaryOperator full, DoubleBinaryOperator boundaryOnly, DoubleBinaryOperator none, double[][] states, double seconds, boolean report) {
+
+        double[] cost = {
+            time(full, states, seconds),
+            time(boundaryOnly, states, seconds),
+            time(none, states, seconds)};
+
+        if (report) {
+            System.out.format("%-28s %10.1f %14.1f %10.1f %9.0f%%%n", label, cost[0], cost[1], cost[2], 100 * (1 - cost[2] / cost[0]));
+        }
+    }
+
+    /**
+     * @return cost [ns/call]
+     */
+    private static double time(DoubleBinaryOperator function, double[][] states, double seconds) {
+
+        long calls = 0, end = System.nanoTime() + (long) (seconds * 1e9), start = System.nanoTime();
+        double sink = 0;
+
+        while (System.nanoTime() < end) {
+            for (double[] state : states) {
+                sink += function.applyAsDouble(state[0], state[1]);
+            }
+            calls += states.length;
+        }
+        double elapsed = System.nanoTime() - start;
+
+        if (Double.isNaN(sink)) {
+            System.out.println("NaN result, out-of-range state");
+        }
+        return elapsed / calls;
+    }
+}
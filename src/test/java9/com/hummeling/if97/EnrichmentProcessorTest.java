@@ -0,0 +1,225 @@
+/*
+ * EnrichmentProcessorTest.java
+ *
+ * This file is part of IF97.
+ *
+ * IF97 is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option)
+ * any later version.
+ *
+ * IF97 is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with IF97. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Copyright 2009-2022 Hummeling Engineering BV (www.hummeling.com)
+ */
+package com.hummeling.if97;
+
+import com.hummeling.if97.EnrichmentProcessor.Record;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * Enrichment processor tests.
+ *
+ * @author Ralph Hummeling
+ * (<a href="https://www.hummeling.com">www.hummeling.com</a>)
+ */
+public class EnrichmentProcessorTest {
+
+    static IF97 if97;
+    static ExecutorService executor;
+
+    @BeforeClass
+    public static void setUpClass() throws Exception {
+        if97 = new IF97();
+        executor = Executors.newFixedThreadPool(4);
+    }
+
+    @AfterClass
+    public static void tearDownClass() throws Exception {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testBackpressure() throws Exception {
+
+        AtomicLong requested = new AtomicLong();
+        EnrichmentProcessor<double[]> processor = new EnrichmentProcessor<>(if97, executor, 16, 64, 1, TimeUnit.MILLISECONDS, frame -> frame[0], frame -> frame[1]);
+        List<Record<double[]>> records = new ArrayList<>();
+        Flow.Subscription[] downstream = new Flow.Subscription[1];
+
+        processor.onSubscribe(new Flow.Subscription() {
+            @Override
+            public void request(long n) {
+
+                requested.addAndGet(n);
+
+                for (long i = 0; i < n; i++) {
+                    processor.onNext(new double[]{1, 400});
+                }
+            }
+
+            @Override
+            public void cancel() {
+            }
+        });
+        processor.subscribe(new Flow.Subscriber<Record<double[]>>() {
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+                downstream[0] = subscription;
+            }
+
+            @Override
+            public void onNext(Record<double[]> item) {
+                synchronized (records) {
+                    records.add(item);
+                }
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+            }
+
+            @Override
+            public void onComplete() {
+            }
+        });
+        Thread.sleep(100);
+        assertEquals("no demand, buffer full", 64, requested.get());
+        assertTrue(records.isEmpty());
+
+        downstream[0].request(10);
+        Thread.sleep(100);
+        assertEquals(10, records.size());
+        assertEquals("replenished", 74, requested.get());
+    }
+
+    @Test
+    public void testEnrichment() throws Exception {
+
+        EnrichmentProcessor<double[]> processor = new EnrichmentProcessor<>(if97, executor, 256, 1024, 1, TimeUnit.MILLISECONDS, frame -> frame[0], frame -> frame[1]);
+        List<double[]> frames = new ArrayList<>();
+        List<Record<double[]>> records = new ArrayList<>();
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        Random random = new Random(38);
+
+        for (int i = 0; i < 20000; i++) {
+            frames.add(i % 1000 == 0
+                    ? new double[]{200, 400} // out of range
+                    : new double[]{0.01 + 50 * random.nextDouble(), 280 + 800 * random.nextDouble()});
+        }
+        processor.subscribe(new Flow.Subscriber<Record<double[]>>() {
+            Flow.Subscription subscription;
+
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+                this.subscription = subscription;
+                subscription.request(1);
+            }
+
+            @Override
+            public void onNext(Record<double[]> item) {
+                records.add(item);
+                subscription.request(1);
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                done.completeExceptionally(throwable);
+            }
+
+            @Override
+            public void onComplete() {
+                done.complete(null);
+            }
+        });
+        try (SubmissionPublisher<double[]> publisher = new SubmissionPublisher<>(executor, 256)) {
+            publisher.subscribe(processor);
+
+            for (double[] frame : frames) {
+                publisher.submit(frame);
+            }
+        }
+        done.get(60, TimeUnit.SECONDS);
+        assertEquals(frames.size(), records.size());
+
+        for (int i = 0; i < frames.size(); i++) {
+            Record<double[]> record = records.get(i);
+            double[] frame = frames.get(i);
+
+            assertTrue("order", frame == record.getFrame());
+
+            if (i % 1000 == 0) {
+                assertTrue(record.isOutOfRange());
+                assertNotNull(record.getError());
+                assertTrue(Double.isNaN(record.getSpecificEnthalpy()));
+
+            } else {
+                double h = if97.specificEnthalpyPT(frame[0], frame[1]);
+
+                assertFalse(record.isOutOfRange());
+                assertEquals(h, record.getSpecificEnthalpy(), 0);
+                assertEquals(if97.specificEntropyPT(frame[0], frame[1]), record.getSpecificEntropy(), 0);
+                assertEquals(if97.densityPT(frame[0], frame[1]), record.getDensity(), 0);
+                assertEquals(if97.vapourFractionPH(frame[0], h), record.getVapourFraction(), 0);
+            }
+        }
+    }
+
+    @Test
+    public void testPartialBatch() throws Exception {
+
+        EnrichmentProcessor<double[]> processor = new EnrichmentProcessor<>(if97, executor, 1000, 1000, 5, TimeUnit.MILLISECONDS, frame -> frame[0], frame -> frame[1]);
+        CountDownLatch latch = new CountDownLatch(3);
+
+        processor.subscribe(new Flow.Subscriber<Record<double[]>>() {
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+                subscription.request(Long.MAX_VALUE);
+            }
+
+            @Override
+            public void onNext(Record<double[]> item) {
+                latch.countDown();
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+            }
+
+            @Override
+            public void onComplete() {
+            }
+        });
+        SubmissionPublisher<double[]> publisher = new SubmissionPublisher<>(executor, 16);
+
+        publisher.subscribe(processor);
+        publisher.submit(new double[]{1, 300});
+        publisher.submit(new double[]{1, 400});
+        publisher.submit(new double[]{1, 500});
+        assertTrue("flushed before the batch is full", latch.await(5, TimeUnit.SECONDS));
+        publisher.close();
+    }
+}